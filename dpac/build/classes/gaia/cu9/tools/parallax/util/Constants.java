@@ -0,0 +1,10 @@
+package gaia.cu9.tools.parallax.util;
+
+public class Constants {
+	
+	public static final double SQRT2 = 1.41421356237;
+	public static final double SQRT_2PI = 2.506628275;
+	
+
+
+}
\ No newline at end of file
@@ -44,13 +44,28 @@ public class EcsvReader implements Closeable {
                        MessagePolicy colCheck )
             throws IOException, EcsvFormatException {
 
+        /* Prepare line reader.  ECSV 1.0 is documented as using ASCII
+         * rather than, for instance, UTF-8. */
+        this( LineReader.createAsciiLineReader( in ), yamlParser, colCheck );
+    }
+
+    /**
+     * Constructs a reader from a line reader.
+     * On exit, the header, including the column names line,
+     * has been read from the line reader.
+     *
+     * @param  lineRdr  line reader supplying ECSV text
+     * @param  yamlParser   knows how to extrace ECSV metadata from YAML
+     * @param  colCheck  what to do on CSV/YAML column name mismatches
+     */
+    public EcsvReader( LineReader lineRdr, YamlParser yamlParser,
+                       MessagePolicy colCheck )
+            throws IOException, EcsvFormatException {
+
         /* Initialise workspace. */
         words_ = new ArrayList<String>();
         wbuf_ = new StringBuilder();
-
-        /* Prepare line reader.  ECSV 1.0 is documented as using ASCII
-         * rather than, for instance, UTF-8. */
-        lineRdr_ = LineReader.createAsciiLineReader( in );
+        lineRdr_ = lineRdr;
 
         /* Parse YAML header to acquire metadata. */
         EcsvHeader header = EcsvHeader.readHeader( lineRdr_ );
@@ -72,7 +87,8 @@ public class EcsvReader implements Closeable {
         LineReader namesLineReader =
             LineReader
            .createArrayLineReader( new String[] { header.getNamesLine() } );
-        List<String> nameWords = readNextRowWords( namesLineReader );
+        List<String> nameWords =
+            readNextRowWords( namesLineReader, words_, wbuf_ );
         int nName = nameWords == null ? -1 : nameWords.size();
         if ( nName != ncol_ ) {
             throw new EcsvFormatException( "Names line/YAML column count "
@@ -122,7 +138,7 @@ public class EcsvReader implements Closeable {
      *          false if there are no more rows
      */
     public boolean next() throws IOException, EcsvFormatException {
-        cellWords_ = readNextRowWords( lineRdr_ );
+        cellWords_ = readNextRowWords( lineRdr_, words_, wbuf_ );
         if ( cellWords_ != null ) {
             int nword = cellWords_.size();
             if ( nword == ncol_ ) {
@@ -167,6 +183,46 @@ public class EcsvReader implements Closeable {
         }
     }
 
+    /**
+     * Reads and decodes the next row from a given line reader,
+     * using the metadata of this reader.
+     * The state of this reader is not used or affected,
+     * so this method may be called concurrently from different threads
+     * on different line readers.
+     * Unparseable cell values are returned as null,
+     * but are not included in the logged error count.
+     *
+     * @param  lineReader  supplies raw input lines
+     * @return  decoded row, or null if there is no more input
+     * @throws  EcsvFormatException  if the number of fields is wrong
+     */
+    public Object[] readRow( LineReader lineReader )
+            throws IOException, EcsvFormatException {
+        List<String> words =
+            readNextRowWords( lineReader, new ArrayList<String>( ncol_ ),
+                              new StringBuilder() );
+        if ( words == null ) {
+            return null;
+        }
+        int nword = words.size();
+        if ( nword != ncol_ ) {
+            throw new EcsvFormatException( "Wrong number of fields ("
+                                         + nword + " != " + ncol_ + ")" );
+        }
+        Object[] row = new Object[ ncol_ ];
+        for ( int ic = 0; ic < ncol_; ic++ ) {
+            String word = words.get( ic );
+            if ( word != null && word.length() > 0 ) {
+                try {
+                    row[ ic ] = decoders_[ ic ].decode( word );
+                }
+                catch ( NumberFormatException e ) {
+                }
+            }
+        }
+        return row;
+    }
+
     /**
      * Returns the contents of the current row, as an array
      * with one element per column.
@@ -192,13 +248,17 @@ public class EcsvReader implements Closeable {
      * word contains a newline character.
      * 
      * @param   lineReader  supplies raw input lines
+     * @param   words  workspace list, returned on success
+     * @param   wbuf   workspace buffer
      * @return  list of words read from reader,
      *          or null if there is no more input
      */
-    private List<String> readNextRowWords( LineReader lineReader )
+    private List<String> readNextRowWords( LineReader lineReader,
+                                           List<String> words,
+                                           StringBuilder wbuf )
             throws IOException {
-        words_.clear();
-        wbuf_.setLength( 0 );
+        words.clear();
+        wbuf.setLength( 0 );
         boolean inQuote = false;
         for ( String line; ( ( line = lineReader.readLine() ) != null ); ) {
             int nc = line.length();
@@ -208,11 +268,11 @@ public class EcsvReader implements Closeable {
                     case ' ':
                     case ',':
                         if ( c == delim_ && ! inQuote ) {
-                            words_.add( wbuf_.toString() );
-                            wbuf_.setLength( 0 );
+                            words.add( wbuf.toString() );
+                            wbuf.setLength( 0 );
                         }
                         else {
-                            wbuf_.append( c );
+                            wbuf.append( c );
                         }
                         break;
                     case '"':
@@ -222,27 +282,27 @@ public class EcsvReader implements Closeable {
                         else if ( line.length() > i + 1 &&
                                   line.charAt( i + 1 ) == '"' ) {
                             i++;
-                            wbuf_.append( '"' );
+                            wbuf.append( '"' );
                         }
                         else {  
                             inQuote = false;
                         }
                         break;
                     default:
-                        wbuf_.append( c );
+                        wbuf.append( c );
                 }
             }
             if ( inQuote ) {
-                wbuf_.append( '\n' );
+                wbuf.append( '\n' );
             }
             else {
-                if ( words_.size() == 0 && wbuf_.length() == 0 ) {
+                if ( words.size() == 0 && wbuf.length() == 0 ) {
                     return null;
                 }
                 else {
-                    words_.add( wbuf_.toString() );
-                    wbuf_.setLength( 0 );
-                    return words_;
+                    words.add( wbuf.toString() );
+                    wbuf.setLength( 0 );
+                    return words;
                 }
             }
         }
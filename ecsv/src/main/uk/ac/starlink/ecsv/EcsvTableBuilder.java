@@ -1,6 +1,7 @@
 package uk.ac.starlink.ecsv;
 
 import java.awt.datatransfer.DataFlavor;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -13,13 +14,17 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.table.TableFormatException;
 import uk.ac.starlink.table.TableSink;
 import uk.ac.starlink.table.formats.DocumentedTableBuilder;
+import uk.ac.starlink.table.formats.TextRowSplittable;
+import uk.ac.starlink.util.Compression;
 import uk.ac.starlink.util.ConfigMethod;
 import uk.ac.starlink.util.DataSource;
+import uk.ac.starlink.util.FileDataSource;
 import uk.ac.starlink.util.IOUtils;
 import uk.ac.starlink.util.URLUtils;
 
@@ -188,6 +193,11 @@ public class EcsvTableBuilder extends DocumentedTableBuilder {
                     }
                 };
             }
+            @Override
+            public RowSplittable getRowSplittable() throws IOException {
+                RowSplittable split = createByteSplittable( datsrc );
+                return split == null ? super.getRowSplittable() : split;
+            }
         };
     }
 
@@ -203,6 +213,57 @@ public class EcsvTableBuilder extends DocumentedTableBuilder {
         return false;
     }
 
+    /**
+     * Returns a RowSplittable which can parse byte ranges of
+     * an ECSV file concurrently, if the data source is suitable.
+     * That requires an uncompressed file with no external header.
+     *
+     * @param  datsrc  data source
+     * @return  byte range splittable, or null if not suitable
+     */
+    private RowSplittable createByteSplittable( DataSource datsrc )
+            throws IOException {
+        if ( headerLoc_ != null ||
+             ! ( datsrc instanceof FileDataSource ) ||
+             datsrc.getCompression() != Compression.NONE ) {
+            return null;
+        }
+        File file = ((FileDataSource) datsrc).getFile();
+        long leng = file.length();
+        if ( leng < 2 * TextRowSplittable.MIN_SPLIT_BYTES ) {
+            return null;
+        }
+
+        /* Read the header with an unbuffered line reader,
+         * so that the position following it is known. */
+        final EcsvReader rdr;
+        final long offset;
+        try ( TextRowSplittable.PositionInputStream in =
+                  new TextRowSplittable.PositionInputStream(
+                      new BufferedInputStream( new FileInputStream( file ) ),
+                      0 ) ) {
+            rdr = new EcsvReader( LineReader
+                                 .createUnbufferedAsciiLineReader( in ),
+                                  yamlParser_, MessagePolicy.IGNORE );
+            offset = in.getPosition();
+        }
+        catch ( EcsvFormatException e ) {
+            throw new TableFormatException( e.getMessage(), e );
+        }
+        if ( leng - offset < 2 * TextRowSplittable.MIN_SPLIT_BYTES ) {
+            return null;
+        }
+        return new TextRowSplittable( file, offset, leng, in -> {
+            try {
+                return rdr.readRow( LineReader
+                                   .createUnbufferedAsciiLineReader( in ) );
+            }
+            catch ( EcsvFormatException e ) {
+                throw new TableFormatException( e.getMessage(), e );
+            }
+        } );
+    }
+
     /**
      * Returns an input stream which is based on the supplied stream,
      * but with the content of this handler's header file, if any,
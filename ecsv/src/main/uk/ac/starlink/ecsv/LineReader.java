@@ -44,7 +44,21 @@ public abstract class LineReader implements Closeable {
      * @return   line reader
      */
     public static LineReader createAsciiLineReader( InputStream in ) {
-        return new AsciiLineReader( in );
+        return new AsciiLineReader( in, BUFSIZ );
+    }
+
+    /**
+     * Returns a LineReader instance like that from
+     * {@link #createAsciiLineReader} but which reads no further
+     * from the input stream than the end of each line it returns.
+     * This is less efficient, but leaves the stream position
+     * meaningful after each call to {@link #readLine}.
+     *
+     * @param  in  input stream, preferably buffered
+     * @return   line reader
+     */
+    public static LineReader createUnbufferedAsciiLineReader( InputStream in ) {
+        return new AsciiLineReader( in, 1 );
     }
 
     /**
@@ -87,11 +101,12 @@ public abstract class LineReader implements Closeable {
          * Constructor.
          *
          * @param  in  input stream
+         * @param  bufsiz  maximum number of bytes read at once
          */
-        public AsciiLineReader( InputStream in ) {
+        public AsciiLineReader( InputStream in, int bufsiz ) {
             super( in );
             in_ = in;
-            bbuf_ = new byte[ BUFSIZ ];
+            bbuf_ = new byte[ bufsiz ];
             sbuf_ = new StringBuilder();
         }
 
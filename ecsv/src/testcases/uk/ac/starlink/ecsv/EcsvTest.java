@@ -2,12 +2,18 @@ package uk.ac.starlink.ecsv;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.DescribedValue;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableFactory;
 import uk.ac.starlink.table.StarTableWriter;
@@ -17,6 +23,7 @@ import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.table.TestTableScheme;
 import uk.ac.starlink.util.ByteArrayDataSource;
 import uk.ac.starlink.util.DataSource;
+import uk.ac.starlink.util.FileDataSource;
 import uk.ac.starlink.util.LogUtils;
 import uk.ac.starlink.util.TestCase;
 import uk.ac.starlink.util.URLDataSource;
@@ -38,6 +45,54 @@ public class EcsvTest extends TestCase {
         assertEquals( Long.valueOf( 3L ), table.getCell( 1, 1 ) );
     }
 
+    public void testSplit() throws IOException {
+        File file = File.createTempFile( "split", ".ecsv" );
+        file.deleteOnExit();
+        int nrow = 30000;
+        try ( PrintStream out =
+                  new PrintStream( new FileOutputStream( file ) ) ) {
+            out.print( "# %ECSV 1.0\n"
+                     + "# ---\n"
+                     + "# datatype:\n"
+                     + "# - {name: a, datatype: int32}\n"
+                     + "# - {name: b, datatype: float64}\n"
+                     + "# - {name: c, datatype: string}\n"
+                     + "a b c\n" );
+            for ( int i = 0; i < nrow; i++ ) {
+                out.print( i + " " + ( i * 0.25 ) + " \"x y " + i + "\"\n" );
+            }
+        }
+        StarTable table = new EcsvTableBuilder()
+                         .makeStarTable( new FileDataSource( file ), false,
+                                         STORAGE );
+        List<RowSplittable> parts = new ArrayList<>();
+        addParts( table.getRowSplittable(), parts );
+        assertTrue( parts.size() > 1 );
+        try ( RowSequence rseq = table.getRowSequence() ) {
+            for ( RowSplittable part : parts ) {
+                while ( part.next() ) {
+                    assertTrue( rseq.next() );
+                    assertArrayEquals( rseq.getRow(), part.getRow() );
+                }
+                part.close();
+            }
+            assertFalse( rseq.next() );
+        }
+        file.delete();
+    }
+
+    private static void addParts( RowSplittable splittable,
+                                  List<RowSplittable> parts ) {
+        RowSplittable other = splittable.split();
+        if ( other == null ) {
+            parts.add( splittable );
+        }
+        else {
+            addParts( splittable, parts );
+            addParts( other, parts );
+        }
+    }
+
     private StarTable readTable( String name ) throws IOException {
         return readTable( new URLDataSource( getClass().getResource( name ) ) );
     }
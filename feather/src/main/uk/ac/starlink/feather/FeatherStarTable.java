@@ -34,6 +34,7 @@ public class FeatherStarTable extends AbstractStarTable {
     private final String name_;
     private final FeatherColumn[] fcols_;
     private final ColumnInfo[] colInfos_;
+    private final boolean[] isNumeric_;
     private final RowReader randomReader_;
 
     /** JSON key used to store UCDs in column user metadata. */
@@ -71,9 +72,13 @@ public class FeatherStarTable extends AbstractStarTable {
         name_ = ftable.getDescription();
         fcols_ = new FeatherColumn[ ncol_ ];
         colInfos_ = new ColumnInfo[ ncol_ ];
+        isNumeric_ = new boolean[ ncol_ ];
         for ( int icol = 0; icol < ncol_; icol++ ) {
             fcols_[ icol ] = ftable.getColumn( icol );
             colInfos_[ icol ] = createColumnInfo( fcols_[ icol ] );
+            isNumeric_[ icol ] = Number.class
+                                .isAssignableFrom( colInfos_[ icol ]
+                                                  .getContentClass() );
         }
         randomReader_ = new RowReader();
     }
@@ -146,6 +151,26 @@ public class FeatherStarTable extends AbstractStarTable {
                     throw new IllegalStateException();
                 }
             }
+            public double getDouble( int icol ) throws IOException {
+                return rowReader.getDouble( checkRow(), icol );
+            }
+            public long getLong( int icol ) throws IOException {
+                return rowReader.getLong( checkRow(), icol );
+            }
+            public int getInt( int icol ) throws IOException {
+                return (int) rowReader.getLong( checkRow(), icol );
+            }
+            public boolean isNull( int icol ) throws IOException {
+                return rowReader.isNull( checkRow(), icol );
+            }
+            private long checkRow() {
+                if ( hasData_ ) {
+                    return irow_;
+                }
+                else {
+                    throw new IllegalStateException();
+                }
+            }
             public void close() {
             }
         };
@@ -164,6 +189,18 @@ public class FeatherStarTable extends AbstractStarTable {
             public Object[] getRow() throws IOException {
                 return rowReader.getRow( irow_ );
             }
+            public double getDouble( int icol ) throws IOException {
+                return rowReader.getDouble( irow_, icol );
+            }
+            public long getLong( int icol ) throws IOException {
+                return rowReader.getLong( irow_, icol );
+            }
+            public int getInt( int icol ) throws IOException {
+                return (int) rowReader.getLong( irow_, icol );
+            }
+            public boolean isNull( int icol ) throws IOException {
+                return rowReader.isNull( irow_, icol );
+            }
             public void close() {
             }
         };
@@ -283,6 +320,65 @@ public class FeatherStarTable extends AbstractStarTable {
             return getReader( icol ).getObject( irow );
         }
 
+        /**
+         * Returns a cell value as a floating point number.
+         * Blank or non-numeric values give NaN.
+         *
+         * @param  irow  row index
+         * @param  icol  column index
+         * @return  numeric cell value
+         */
+        double getDouble( long irow, int icol ) throws IOException {
+            if ( isNumeric_[ icol ] ) {
+                return getReader( icol ).getDouble( irow );
+            }
+            else {
+                Object value = getCell( irow, icol );
+                return value instanceof Number
+                     ? ((Number) value).doubleValue()
+                     : Double.NaN;
+            }
+        }
+
+        /**
+         * Returns a cell value as an integer.
+         * Blank or non-numeric values give zero.
+         *
+         * @param  irow  row index
+         * @param  icol  column index
+         * @return  numeric cell value
+         */
+        long getLong( long irow, int icol ) throws IOException {
+            if ( isNumeric_[ icol ] ) {
+                Reader<?> rdr = getReader( icol );
+                return rdr.isNull( irow ) ? 0L : rdr.getLong( irow );
+            }
+            else {
+                Object value = getCell( irow, icol );
+                return value instanceof Number
+                     ? ((Number) value).longValue()
+                     : 0L;
+            }
+        }
+
+        /**
+         * Indicates whether a cell value is blank.
+         *
+         * @param  irow  row index
+         * @param  icol  column index
+         * @return  true iff the cell is blank
+         */
+        boolean isNull( long irow, int icol ) throws IOException {
+            if ( isNumeric_[ icol ] ) {
+                Reader<?> rdr = getReader( icol );
+                return rdr.isNull( irow )
+                    || Double.isNaN( rdr.getDouble( irow ) );
+            }
+            else {
+                return Tables.isBlank( getCell( irow, icol ) );
+            }
+        }
+
         /**
          * Returns an array of objects giving the cells in a row.
          *
@@ -14,6 +14,8 @@ import java.util.Locale;
 import java.util.TimeZone;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.MultiStarTableWriter;
+import uk.ac.starlink.table.ParallelStarTableWriter;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableOutput;
 import uk.ac.starlink.table.StreamStarTableWriter;
@@ -50,8 +52,9 @@ import uk.ac.starlink.util.IOUtils;
  * @author   Mark Taylor
  * @since    27 Jun 2006
  */
-public abstract class AbstractFitsTableWriter extends StreamStarTableWriter
-                                              implements MultiStarTableWriter {
+public abstract class AbstractFitsTableWriter
+        extends StreamStarTableWriter
+        implements MultiStarTableWriter, ParallelStarTableWriter {
 
     private String formatName_;
     private boolean writeDate_;
@@ -59,6 +62,7 @@ public abstract class AbstractFitsTableWriter extends StreamStarTableWriter
     private boolean allowZeroLengthString_;
     private WideFits wide_;
     private byte padChar_;
+    private RowRunner rowRunner_;
     private static final Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.fits" );
 
@@ -192,6 +196,7 @@ public abstract class AbstractFitsTableWriter extends StreamStarTableWriter
         final boolean allowZeroLengthString = getAllowZeroLengthString();
         final WideFits wide = getWide();
         final byte padChar = getPadCharacter();
+        final RowRunner rowRunner = getRowRunner();
         return new FitsTableSerializerConfig() {
             public boolean allowSignedByte() {
                 return allowSignedByte;
@@ -205,6 +210,9 @@ public abstract class AbstractFitsTableWriter extends StreamStarTableWriter
             public byte getPadCharacter() {
                 return padChar;
             }
+            public RowRunner getRowRunner() {
+                return rowRunner;
+            }
         };
     }
 
@@ -361,6 +369,21 @@ public abstract class AbstractFitsTableWriter extends StreamStarTableWriter
         return padChar_;
     }
 
+    /**
+     * Sets the runner used to control parallel encoding of row data.
+     * If null, rows are encoded sequentially.
+     * The output is the same in either case.
+     *
+     * @param  runner  row runner, or null for sequential output
+     */
+    public void setRowRunner( RowRunner runner ) {
+        rowRunner_ = runner;
+    }
+
+    public RowRunner getRowRunner() {
+        return rowRunner_;
+    }
+
     /**
      * Returns an ISO-8601 data string representing the time at which this
      * method is called.
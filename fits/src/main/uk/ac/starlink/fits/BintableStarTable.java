@@ -448,6 +448,34 @@ public abstract class BintableStarTable extends AbstractStarTable {
         return colReaders_[ icol ].readValue( stream );
     }
 
+    /**
+     * Reads a numeric cell from a given column from the current position
+     * in a stream as a floating point value.
+     * Blank or non-numeric values give NaN.
+     *
+     * @param  icol  the column index corresponding to the cell to be read
+     * @param  stream  a stream containing the byte data, positioned to
+     *                 the right place
+     */
+    protected double readDoubleCell( BasicInput stream, int icol )
+            throws IOException {
+        return colReaders_[ icol ].readDouble( stream );
+    }
+
+    /**
+     * Reads a numeric cell from a given column from the current position
+     * in a stream as an integer value.
+     * Blank or non-numeric values give zero.
+     *
+     * @param  icol  the column index corresponding to the cell to be read
+     * @param  stream  a stream containing the byte data, positioned to
+     *                 the right place
+     */
+    protected long readLongCell( BasicInput stream, int icol )
+            throws IOException {
+        return colReaders_[ icol ].readLong( stream );
+    }
+
     /**
      * Reads a whole row of the table from the current position in a stream,
      * returning a new Object[] array.
@@ -499,6 +527,22 @@ public abstract class BintableStarTable extends AbstractStarTable {
                                                  InputFactory inputFact,
                                                  WideFits wide )
             throws IOException {
+        if ( CompressedBintable.isCompressedTable( hdr ) ) {
+            InputFactory zfact = inputFact;
+            if ( ! zfact.isRandom() ) {
+                BasicInput in = zfact.createInput( true );
+                try {
+                    zfact = CompressedBintable.cacheData( hdr, in );
+                }
+                finally {
+                    in.close();
+                }
+                inputFact.close();
+            }
+            return new RandomBintableStarTable(
+                CompressedBintable.createUncompressedHeader( hdr ),
+                CompressedBintable.createInputFactory( hdr, zfact ), wide );
+        }
         return inputFact.isRandom()
              ? new RandomBintableStarTable( hdr, inputFact, wide )
              : new SequentialBintableStarTable( hdr, inputFact, wide );
@@ -518,6 +562,13 @@ public abstract class BintableStarTable extends AbstractStarTable {
     public static void streamStarTable( FitsHeader hdr, BasicInput input,
                                         WideFits wide, TableSink sink )
             throws IOException {
+        if ( CompressedBintable.isCompressedTable( hdr ) ) {
+            InputFactory zfact = CompressedBintable.cacheData( hdr, input );
+            try ( BintableStarTable table = createTable( hdr, zfact, wide ) ) {
+                Tables.streamStarTable( table, sink );
+            }
+            return;
+        }
         InputFactory dummyFact = new InputFactory() {
             public boolean isRandom() {
                 return false;
@@ -863,6 +914,26 @@ public abstract class BintableStarTable extends AbstractStarTable {
                         throw new IllegalStateException();
                     }
                 }
+                public double getDouble( int icol ) throws IOException {
+                    seekCell( icol );
+                    return readDoubleCell( input, icol );
+                }
+                public long getLong( int icol ) throws IOException {
+                    seekCell( icol );
+                    return readLongCell( input, icol );
+                }
+                public int getInt( int icol ) throws IOException {
+                    seekCell( icol );
+                    return (int) readLongCell( input, icol );
+                }
+                private void seekCell( int icol ) throws IOException {
+                    if ( pos >= 0 && pos < endPos ) {
+                        input.seek( pos + colOffsets_[ icol ] );
+                    }
+                    else {
+                        throw new IllegalStateException();
+                    }
+                }
                 public void close() throws IOException {
                     input.close();
                 }
@@ -885,6 +956,18 @@ public abstract class BintableStarTable extends AbstractStarTable {
                     input.seek( irow_ * rowLength_ );
                     return readRow( input );
                 }
+                public double getDouble( int icol ) throws IOException {
+                    input.seek( irow_ * rowLength_ + colOffsets_[ icol ] );
+                    return readDoubleCell( input, icol );
+                }
+                public long getLong( int icol ) throws IOException {
+                    input.seek( irow_ * rowLength_ + colOffsets_[ icol ] );
+                    return readLongCell( input, icol );
+                }
+                public int getInt( int icol ) throws IOException {
+                    input.seek( irow_ * rowLength_ + colOffsets_[ icol ] );
+                    return (int) readLongCell( input, icol );
+                }
                 public void close() throws IOException {
                     input.close();
                 }
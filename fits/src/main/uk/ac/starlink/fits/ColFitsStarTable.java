@@ -485,6 +485,18 @@ public class ColFitsStarTable extends AbstractStarTable {
                              ? null
                              : Short.valueOf( (short) ( val & 0xff ) );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        byte val = in.readByte();
+                        return ( hasBad && val == badval )
+                             ? Double.NaN
+                             : val & 0xff;
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        byte val = in.readByte();
+                        return ( hasBad && val == badval )
+                             ? 0L
+                             : val & 0xff;
+                    }
                 };
             }
 
@@ -500,6 +512,18 @@ public class ColFitsStarTable extends AbstractStarTable {
                              ? null
                              : Short.valueOf( (short) val );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        byte val = in.readByte();
+                        return ( hasBad && val == badval )
+                             ? Double.NaN
+                             : val;
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        byte val = in.readByte();
+                        return ( hasBad && val == badval )
+                             ? 0L
+                             : val;
+                    }
                 };
             }
 
@@ -515,6 +539,18 @@ public class ColFitsStarTable extends AbstractStarTable {
                              ? null
                              : Short.valueOf( val );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        short val = in.readShort();
+                        return ( hasBad && val == badval )
+                             ? Double.NaN
+                             : val;
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        short val = in.readShort();
+                        return ( hasBad && val == badval )
+                             ? 0L
+                             : val;
+                    }
                 };
             }
 
@@ -530,6 +566,18 @@ public class ColFitsStarTable extends AbstractStarTable {
                              ? null
                              : Integer.valueOf( val );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        int val = in.readInt();
+                        return ( hasBad && val == badval )
+                             ? Double.NaN
+                             : val;
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        int val = in.readInt();
+                        return ( hasBad && val == badval )
+                             ? 0L
+                             : val;
+                    }
                 };
             }
 
@@ -545,6 +593,18 @@ public class ColFitsStarTable extends AbstractStarTable {
                              ? null
                              : Long.valueOf( val );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        long val = in.readLong();
+                        return ( hasBad && val == badval )
+                             ? Double.NaN
+                             : val;
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        long val = in.readLong();
+                        return ( hasBad && val == badval )
+                             ? 0L
+                             : val;
+                    }
                 };
             }
 
@@ -554,6 +614,12 @@ public class ColFitsStarTable extends AbstractStarTable {
                     Object readValue( BasicInput in ) throws IOException {
                         return Float.valueOf( in.readFloat() );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        return in.readFloat();
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        return (long) in.readFloat();
+                    }
                 };
             }
 
@@ -563,6 +629,12 @@ public class ColFitsStarTable extends AbstractStarTable {
                     Object readValue( BasicInput in ) throws IOException {
                         return Double.valueOf( in.readDouble() );
                     }
+                    double readDouble( BasicInput in ) throws IOException {
+                        return in.readDouble();
+                    }
+                    long readLong( BasicInput in ) throws IOException {
+                        return (long) in.readDouble();
+                    }
                 };
             }
         }
@@ -912,6 +984,18 @@ public class ColFitsStarTable extends AbstractStarTable {
             return row_;
         }
 
+        public double getDouble( int icol ) throws IOException {
+            return colReaders_[ icol ].readIndexedDouble( irow_ );
+        }
+
+        public long getLong( int icol ) throws IOException {
+            return colReaders_[ icol ].readIndexedLong( irow_ );
+        }
+
+        public int getInt( int icol ) throws IOException {
+            return (int) colReaders_[ icol ].readIndexedLong( irow_ );
+        }
+
         public void close() throws IOException {
             for ( ColumnReader colReader : colReaders_ ) {
                 colReader.close();
@@ -953,6 +1037,34 @@ public class ColFitsStarTable extends AbstractStarTable {
          */
         abstract Object readValue( BasicInput in ) throws IOException;
 
+        /**
+         * Reads a floating point value from a byte buffer.
+         * Blank or non-numeric values give NaN.
+         * The default implementation calls <code>readValue</code>.
+         *
+         * @param    in   input stream, positioned at read point
+         * @throws   IOException  in case of a read error
+         */
+        double readDouble( BasicInput in ) throws IOException {
+            Object value = readValue( in );
+            return value instanceof Number ? ((Number) value).doubleValue()
+                                           : Double.NaN;
+        }
+
+        /**
+         * Reads an integer value from a byte buffer.
+         * Blank or non-numeric values give zero.
+         * The default implementation calls <code>readValue</code>.
+         *
+         * @param    in   input stream, positioned at read point
+         * @throws   IOException  in case of a read error
+         */
+        long readLong( BasicInput in ) throws IOException {
+            Object value = readValue( in );
+            return value instanceof Number ? ((Number) value).longValue()
+                                           : 0L;
+        }
+
         /**
          * Returns the number of bytes for a single cell of this type.
          *
@@ -1008,6 +1120,30 @@ public class ColFitsStarTable extends AbstractStarTable {
             return valReader_.readValue( input );
         }
 
+        /**
+         * Reads the value for a given row as a floating point number.
+         *
+         * @param  irow  row index
+         * @return  numeric cell value, or NaN
+         */
+        double readIndexedDouble( long irow ) throws IOException {
+            BasicInput input = getInput();
+            input.seek( irow * itemBytes_ );
+            return valReader_.readDouble( input );
+        }
+
+        /**
+         * Reads the value for a given row as an integer.
+         *
+         * @param  irow  row index
+         * @return  numeric cell value, or zero
+         */
+        long readIndexedLong( long irow ) throws IOException {
+            BasicInput input = getInput();
+            input.seek( irow * itemBytes_ );
+            return valReader_.readLong( input );
+        }
+
         /**
          * Reads the next cell value.
          *
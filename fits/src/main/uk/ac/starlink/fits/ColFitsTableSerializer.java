@@ -2,14 +2,19 @@ package uk.ac.starlink.fits;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.DescribedValue;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
 
@@ -28,6 +33,10 @@ public class ColFitsTableSerializer implements FitsTableSerializer {
     private final int ncol_;
     private final long nrow_;
     private final String tname_;
+
+    /** Number of rows read at a time for parallel column storage. */
+    private static final int PARALLEL_BLOCK_ROWS = 16 * 1024;
+
     private final static Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.fits" );
 
@@ -66,20 +75,16 @@ public class ColFitsTableSerializer implements FitsTableSerializer {
 
         /* Store the table data into these storage objects. */
         boolean ok = false;
-        RowSequence rseq = table.getRowSequence();
+        RowRunner runner = config.getRowRunner();
+        RowSequence rseq = runner == null ? table.getRowSequence()
+                                          : runner.createRowSplittable( table );
         try {
-            long lrow = 0L;
-            while ( rseq.next() ) {
-                Object[] row = rseq.getRow();
-                for ( int icol = 0; icol < ncol_; icol++ ) {
-                    ColumnStore colStore = colStores_[ icol ];
-                    if ( colStore != null ) {
-                        colStore.storeValue( row[ icol ] ); 
-                    }
-                }
-                lrow++;
-            }
-            nrow_ = lrow;
+            boolean isParallel =
+                runner != null && nUseCol > 1 &&
+                runner.getSplitProcessor()
+                      .willAttemptSplit( (RowSplittable) rseq );
+            nrow_ = isParallel ? storeColumnsParallel( rseq )
+                               : storeRows( rseq );
             ok = true;
         }
         finally {
@@ -108,6 +113,108 @@ public class ColFitsTableSerializer implements FitsTableSerializer {
         }
     }
 
+    /**
+     * Stores all the rows of a row sequence in the column stores.
+     *
+     * @param  rseq  row sequence
+     * @return  number of rows stored
+     */
+    private long storeRows( RowSequence rseq ) throws IOException {
+        long lrow = 0L;
+        while ( rseq.next() ) {
+            Object[] row = rseq.getRow();
+            for ( int icol = 0; icol < ncol_; icol++ ) {
+                ColumnStore colStore = colStores_[ icol ];
+                if ( colStore != null ) {
+                    colStore.storeValue( row[ icol ] );
+                }
+            }
+            lrow++;
+        }
+        return lrow;
+    }
+
+    /**
+     * Stores all the rows of a row sequence in the column stores,
+     * with the values for different columns stored on different threads.
+     * Rows are read in blocks on the current thread; while one block
+     * is being read, the previous one is being stored.
+     *
+     * @param  rseq  row sequence
+     * @return  number of rows stored
+     */
+    private long storeColumnsParallel( RowSequence rseq ) throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        long lrow = 0L;
+        try {
+            for ( boolean more = true; more; ) {
+                List<Object[]> rows = new ArrayList<>( PARALLEL_BLOCK_ROWS );
+                while ( rows.size() < PARALLEL_BLOCK_ROWS &&
+                        ( more = rseq.next() ) ) {
+                    rows.add( rseq.getRow().clone() );
+                }
+                awaitAll( futures );
+                futures.clear();
+                for ( int icol = 0; icol < ncol_; icol++ ) {
+                    final ColumnStore colStore = colStores_[ icol ];
+                    final int jcol = icol;
+                    if ( colStore != null && rows.size() > 0 ) {
+                        futures.add( CompletableFuture.runAsync( () -> {
+                            try {
+                                for ( Object[] row : rows ) {
+                                    colStore.storeValue( row[ jcol ] );
+                                }
+                            }
+                            catch ( IOException e ) {
+                                throw new UncheckedIOException( e );
+                            }
+                        } ) );
+                    }
+                }
+                lrow += rows.size();
+            }
+            awaitAll( futures );
+            futures.clear();
+        }
+        finally {
+
+            /* In case of error, make sure no storage is still in progress
+             * when this method exits. */
+            for ( CompletableFuture<Void> future : futures ) {
+                try {
+                    future.join();
+                }
+                catch ( CompletionException e ) {
+                }
+            }
+        }
+        return lrow;
+    }
+
+    /**
+     * Waits for completion of a list of futures,
+     * rethrowing any IOException they have encountered.
+     *
+     * @param  futures  futures
+     */
+    private static void awaitAll( List<CompletableFuture<Void>> futures )
+            throws IOException {
+        try {
+            CompletableFuture
+           .allOf( futures.toArray( new CompletableFuture<?>[ 0 ] ) )
+           .join();
+        }
+        catch ( CompletionException e ) {
+            Throwable cause = e.getCause();
+            if ( cause instanceof UncheckedIOException ) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            else {
+                throw e;
+            }
+        }
+    }
+
     public CardImage[] getHeader() {
         WideFits wide = config_.getWide();
 
@@ -71,6 +71,42 @@ abstract class ColumnReader {
      */
     abstract Object readValue( BasicInput stream ) throws IOException;
 
+    /**
+     * Reads bytes from a stream to return a floating point value.
+     * The result is the same as the numeric value of the object that
+     * <code>readValue</code> would return, or NaN if that object
+     * is null or non-numeric.
+     * The default implementation calls <code>readValue</code>,
+     * but subclasses for scalar numeric columns override it to avoid
+     * object creation.
+     *
+     * @param  stream containing bytes to decode
+     * @return  floating point value
+     */
+    double readDouble( BasicInput stream ) throws IOException {
+        Object value = readValue( stream );
+        return value instanceof Number ? ((Number) value).doubleValue()
+                                       : Double.NaN;
+    }
+
+    /**
+     * Reads bytes from a stream to return an integer value.
+     * The result is the same as the numeric value of the object that
+     * <code>readValue</code> would return, or zero if that object
+     * is null or non-numeric.
+     * The default implementation calls <code>readValue</code>,
+     * but subclasses for scalar numeric columns override it to avoid
+     * object creation.
+     *
+     * @param  stream containing bytes to decode
+     * @return  integer value
+     */
+    long readLong( BasicInput stream ) throws IOException {
+        Object value = readValue( stream );
+        return value instanceof Number ? ((Number) value).longValue()
+                                       : 0L;
+    }
+
     /**
      * Returns the class which objects returned by <code>readValue</code>
      * will belong to.
@@ -500,6 +536,20 @@ abstract class ColumnReader {
                                         ? null
                                         : Short.valueOf( val );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            short val = stream.readShort();
+                            return ( hasBlank && val == (short) blank )
+                                        ? Double.NaN
+                                        : val;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            short val = stream.readShort();
+                            return ( hasBlank && val == (short) blank )
+                                        ? 0L
+                                        : val;
+                        }
                     };
                 }
                 return reader;
@@ -530,6 +580,20 @@ abstract class ColumnReader {
                                         ? null
                                         : Double.valueOf( val * scale + dZero );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            int val = stream.readInt();
+                            return ( hasBlank && val == (int) blank )
+                                        ? Double.NaN
+                                        : val * scale + dZero;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            int val = stream.readInt();
+                            return ( hasBlank && val == (int) blank )
+                                        ? 0L
+                                        : (long) ( val * scale + dZero );
+                        }
                     };
                 }
                 else {
@@ -542,6 +606,20 @@ abstract class ColumnReader {
                                         ? null
                                         : Integer.valueOf( val );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            int val = stream.readInt();
+                            return ( hasBlank && val == (int) blank )
+                                        ? Double.NaN
+                                        : val;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            int val = stream.readInt();
+                            return ( hasBlank && val == (int) blank )
+                                        ? 0L
+                                        : val;
+                        }
                     };
                 }
                 return reader;
@@ -628,6 +706,20 @@ abstract class ColumnReader {
                                         ? null
                                         : Double.valueOf( val * scale + dZero );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            long val = stream.readLong();
+                            return ( hasBlank && val == (long) blank )
+                                        ? Double.NaN
+                                        : val * scale + dZero;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            long val = stream.readLong();
+                            return ( hasBlank && val == (long) blank )
+                                        ? 0L
+                                        : (long) ( val * scale + dZero );
+                        }
                     };
                 }
                 else {
@@ -639,6 +731,20 @@ abstract class ColumnReader {
                                         ? null
                                         : Long.valueOf( val );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            long val = stream.readLong();
+                            return ( hasBlank && val == (long) blank )
+                                        ? Double.NaN
+                                        : val;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            long val = stream.readLong();
+                            return ( hasBlank && val == (long) blank )
+                                        ? 0L
+                                        : val;
+                        }
                     };
                 }
                 return reader;
@@ -666,6 +772,16 @@ abstract class ColumnReader {
                             return Float.valueOf( (float)
                                                   ( val * scale + dZero ) );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            float val = stream.readFloat();
+                            return (float) ( val * scale + dZero );
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            float val = stream.readFloat();
+                            return (long) (float) ( val * scale + dZero );
+                        }
                     };
                 }
                 else {
@@ -675,6 +791,14 @@ abstract class ColumnReader {
                             float val = stream.readFloat();
                             return Float.valueOf( val );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            return stream.readFloat();
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            return (long) stream.readFloat();
+                        }
                     };
                 }
                 return reader;    
@@ -689,6 +813,16 @@ abstract class ColumnReader {
                             double val = stream.readDouble();
                             return Double.valueOf( val * scale + dZero );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            double val = stream.readDouble();
+                            return val * scale + dZero;
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            double val = stream.readDouble();
+                            return (long) ( val * scale + dZero );
+                        }
                     };
                 }
                 else {
@@ -699,6 +833,14 @@ abstract class ColumnReader {
                             double val = stream.readDouble();
                             return Double.valueOf( val );
                         }
+                        double readDouble( BasicInput stream )
+                                throws IOException {
+                            return stream.readDouble();
+                        }
+                        long readLong( BasicInput stream )
+                                throws IOException {
+                            return (long) stream.readDouble();
+                        }
                     };
                 }
                 return reader;
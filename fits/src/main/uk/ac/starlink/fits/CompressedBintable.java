@@ -0,0 +1,606 @@
+package uk.ac.starlink.fits;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import uk.ac.starlink.table.ByteStore;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.TableFormatException;
+
+/**
+ * Provides read access to tile-compressed binary tables,
+ * as defined by the FITS Tiled Table Compression convention.
+ *
+ * <p>Such an HDU is a BINTABLE with <code>ZTABLE=T</code>
+ * in which each row represents a tile of <code>ZTILELEN</code> rows
+ * of the uncompressed table, and each cell is a variable-length
+ * byte array descriptor pointing to the compressed column data for
+ * that tile.  This class presents it as the uncompressed table
+ * it represents, by supplying a header for the uncompressed BINTABLE
+ * and an {@link InputFactory} which decompresses the tiles on demand,
+ * so that it can be read using the usual BINTABLE machinery.
+ *
+ * <p>Each {@link BasicInput} decompresses tiles independently,
+ * so that when the table is split for multi-threaded processing
+ * different tiles are decompressed in parallel.
+ * Sequential-mode inputs additionally decompress the next tile
+ * in the background while the current one is being read.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+class CompressedBintable {
+
+    private final int ncol_;
+    private final long nrow_;
+    private final int rowLeng_;
+    private final int tileLen_;
+    private final long ntile_;
+    private final long zrowLeng_;
+    private final long heapOffset_;
+    private final boolean[] isLongDesc_;
+    private final int[] zcolOffsets_;
+    private final int[] colOffsets_;
+    private final int[] colWidths_;
+    private final int[] elSizes_;
+    private final TileCompression[] comps_;
+
+    private static final Pattern TFORM_REGEX =
+        Pattern.compile( "([0-9]*)([LXBIJKAEDCMPQ])(.*)" );
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.fits" );
+
+    /**
+     * Constructor.
+     *
+     * @param  hdr  header of the compressed BINTABLE HDU
+     */
+    private CompressedBintable( FitsHeader hdr ) throws IOException {
+        ncol_ = hdr.getRequiredIntValue( "TFIELDS" );
+        nrow_ = hdr.getRequiredLongValue( "ZNAXIS2" );
+        rowLeng_ = hdr.getRequiredIntValue( "ZNAXIS1" );
+        tileLen_ = hdr.getRequiredIntValue( "ZTILELEN" );
+        ntile_ = hdr.getRequiredLongValue( "NAXIS2" );
+        zrowLeng_ = hdr.getRequiredLongValue( "NAXIS1" );
+        Long theap = hdr.getLongValue( "THEAP" );
+        heapOffset_ = theap == null ? zrowLeng_ * ntile_ : theap.longValue();
+        Long zpcount = hdr.getLongValue( "ZPCOUNT" );
+        if ( zpcount != null && zpcount.longValue() != 0 ) {
+            throw new TableFormatException( "Compressed tables with "
+                                          + "variable-length array columns "
+                                          + "not supported" );
+        }
+        if ( tileLen_ <= 0 ||
+             ( nrow_ + tileLen_ - 1 ) / tileLen_ != ntile_ ) {
+            throw new TableFormatException( "Inconsistent tile count: "
+                                          + "ZTILELEN=" + tileLen_
+                                          + ", ZNAXIS2=" + nrow_
+                                          + ", NAXIS2=" + ntile_ );
+        }
+        if ( (long) tileLen_ * rowLeng_ > Integer.MAX_VALUE ) {
+            throw new TableFormatException( "Tiles too large" );
+        }
+        isLongDesc_ = new boolean[ ncol_ ];
+        zcolOffsets_ = new int[ ncol_ ];
+        colOffsets_ = new int[ ncol_ ];
+        colWidths_ = new int[ ncol_ ];
+        elSizes_ = new int[ ncol_ ];
+        comps_ = new TileCompression[ ncol_ ];
+        int zoff = 0;
+        int off = 0;
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            int jcol = icol + 1;
+            String tform = hdr.getRequiredStringValue( "TFORM" + jcol ).trim();
+            char zdesc = tform.replaceFirst( "^1", "" ).charAt( 0 );
+            if ( zdesc != 'P' && zdesc != 'Q' ) {
+                throw new TableFormatException( "Compressed table TFORM" + jcol
+                                              + "=" + tform
+                                              + " not P or Q" );
+            }
+            isLongDesc_[ icol ] = zdesc == 'Q';
+            zcolOffsets_[ icol ] = zoff;
+            zoff += isLongDesc_[ icol ] ? 16 : 8;
+            String zform = hdr.getRequiredStringValue( "ZFORM" + jcol ).trim();
+            Matcher matcher = TFORM_REGEX.matcher( zform );
+            if ( ! matcher.matches() ) {
+                throw new TableFormatException( "Bad ZFORM" + jcol + "="
+                                              + zform );
+            }
+            String scount = matcher.group( 1 );
+            long count = scount.length() == 0 ? 1 : Long.parseLong( scount );
+            char fchr = matcher.group( 2 ).charAt( 0 );
+            if ( fchr == 'P' || fchr == 'Q' ) {
+                throw new TableFormatException( "Compressed tables with "
+                                              + "variable-length array columns "
+                                              + "not supported" );
+            }
+            elSizes_[ icol ] = getElementSize( fchr );
+            colWidths_[ icol ] = (int) ( fchr == 'X' ? ( count + 7 ) / 8
+                                                     : count * getTypeSize( fchr ));
+            colOffsets_[ icol ] = off;
+            off += colWidths_[ icol ];
+            String ztype = hdr.getRequiredStringValue( "ZCTYP" + jcol );
+            comps_[ icol ] = TileCompression.forName( ztype );
+            if ( comps_[ icol ] == null ) {
+                throw new TableFormatException( "Unknown tile compression "
+                                              + "ZCTYP" + jcol + "=" + ztype );
+            }
+        }
+        if ( zoff != zrowLeng_ ) {
+            throw new TableFormatException( "Compressed row length mismatch" );
+        }
+        if ( off != rowLeng_ ) {
+            throw new TableFormatException( "ZNAXIS1=" + rowLeng_
+                                          + " but ZFORMs sum to " + off );
+        }
+    }
+
+    /**
+     * Indicates whether a header describes a tile-compressed table.
+     *
+     * @param  hdr  HDU header
+     * @return  true iff hdr is a BINTABLE header with ZTABLE=T
+     */
+    public static boolean isCompressedTable( FitsHeader hdr ) {
+        return "BINTABLE".equals( hdr.getStringValue( "XTENSION" ) )
+            && Boolean.TRUE.equals( hdr.getBooleanValue( "ZTABLE" ) );
+    }
+
+    /**
+     * Returns a header describing the uncompressed table represented by
+     * a tile-compressed table header.  Compression-specific
+     * headers are removed and the structural headers are replaced
+     * by their uncompressed equivalents;
+     * other cards are retained as they are.
+     *
+     * @param  zhdr  header of compressed table
+     * @return   header of uncompressed table
+     */
+    public static FitsHeader createUncompressedHeader( FitsHeader zhdr )
+            throws IOException {
+        List<ParsedCard<?>> cards = new ArrayList<>();
+        for ( ParsedCard<?> card : zhdr.getCards() ) {
+            String key = card.getKey();
+            String zkey = key == null ? null : getUncompressedKey( key );
+            if ( zkey == null ) {
+                cards.add( card );
+            }
+            else if ( zkey.length() > 0 ) {
+                ParsedCard<?> zcard = getCard( zhdr, zkey );
+                if ( zcard == null ) {
+                    throw new TableFormatException( "No " + zkey
+                                                  + " for compressed " + key );
+                }
+                cards.add( withKey( zcard, key ) );
+            }
+        }
+        return new FitsHeader( cards.toArray( new ParsedCard<?>[ 0 ] ) );
+    }
+
+    /**
+     * Returns an input factory that provides the byte stream
+     * of the uncompressed table data represented by a tile-compressed table.
+     *
+     * @param  zhdr  header of compressed table
+     * @param  zfact  input factory for the data part of the compressed HDU;
+     *                must be random access
+     * @return  random-access input factory for uncompressed table data
+     */
+    public static InputFactory createInputFactory( FitsHeader zhdr,
+                                                   final InputFactory zfact )
+            throws IOException {
+        if ( ! zfact.isRandom() ) {
+            throw new IllegalArgumentException( "Not random" );
+        }
+        final CompressedBintable ctable = new CompressedBintable( zhdr );
+        logger_.info( "Tile-compressed table: " + ctable.ntile_ + " tiles of "
+                    + ctable.tileLen_ + " rows" );
+        return new InputFactory() {
+            public boolean isRandom() {
+                return true;
+            }
+            public BasicInput createInput( boolean isSeq ) throws IOException {
+                return ctable.new TileInput( zfact.createInput( false ),
+                                             isSeq );
+            }
+            public void close() throws IOException {
+                zfact.close();
+            }
+        };
+    }
+
+    /**
+     * Reads the data part of an HDU from a sequential input into storage
+     * and returns a random-access input factory for it.
+     *
+     * @param  hdr  HDU header
+     * @param  in   input positioned at the start of the HDU data part;
+     *              on exit it is positioned at the end of it
+     * @return   random-access input factory
+     */
+    public static InputFactory cacheData( FitsHeader hdr, BasicInput in )
+            throws IOException {
+        logger_.warning( "Caching compressed FITS table data" );
+        ByteStore byteStore = StoragePolicy.getDefaultPolicy().makeByteStore();
+        long leng = hdr.getDataByteCount();
+        byte[] buf = new byte[ 64 * 1024 ];
+        try ( OutputStream out = byteStore.getOutputStream() ) {
+            while ( leng > 0 ) {
+                int nb = (int) Math.min( leng, buf.length );
+                byte[] b = nb == buf.length ? buf : new byte[ nb ];
+                in.readBytes( b );
+                out.write( b );
+                leng -= nb;
+            }
+        }
+        return InputFactory.createByteStoreFactory( byteStore );
+    }
+
+    /**
+     * Returns the number of bytes per element for a TFORM type character,
+     * that is the unit used for byte shuffling and integer compression.
+     *
+     * @param  fchr  TFORM type character
+     * @return   element size in bytes
+     */
+    static int getElementSize( char fchr ) {
+        switch ( fchr ) {
+            case 'C':
+                return 4;
+            case 'M':
+                return 8;
+            case 'X':
+                return 1;
+            default:
+                return getTypeSize( fchr );
+        }
+    }
+
+    /**
+     * Returns the number of bytes per item for a TFORM type character.
+     *
+     * @param  fchr  TFORM type character, not X
+     * @return   item size in bytes
+     */
+    private static int getTypeSize( char fchr ) {
+        switch ( fchr ) {
+            case 'L':
+            case 'B':
+            case 'A':
+                return 1;
+            case 'I':
+                return 2;
+            case 'J':
+            case 'E':
+                return 4;
+            case 'K':
+            case 'D':
+            case 'C':
+                return 8;
+            case 'M':
+                return 16;
+            default:
+                throw new IllegalArgumentException( "Bad TFORM type "
+                                                  + fchr );
+        }
+    }
+
+    /**
+     * Indicates how a compressed table header card is treated in
+     * the uncompressed header.
+     *
+     * @param  key  compressed table header key
+     * @return  null to retain the card,
+     *          empty string to discard the card, or
+     *          otherwise the key of the compressed table header card
+     *          that supplies its value
+     */
+    private static String getUncompressedKey( String key ) {
+        switch ( key ) {
+            case "NAXIS1":
+            case "NAXIS2":
+            case "PCOUNT":
+                return "Z" + key;
+            case "ZTABLE":
+            case "ZTILELEN":
+            case "ZNAXIS1":
+            case "ZNAXIS2":
+            case "ZPCOUNT":
+            case "ZTHEAP":
+            case "THEAP":
+                return "";
+            default:
+                if ( key.startsWith( "TFORM" ) ) {
+                    return "ZFORM" + key.substring( 5 );
+                }
+                else if ( key.startsWith( "ZFORM" ) ||
+                          key.startsWith( "ZCTYP" ) ) {
+                    return "";
+                }
+                else {
+                    return null;
+                }
+        }
+    }
+
+    /**
+     * Returns the card in a header with a given key.
+     *
+     * @param  hdr  header
+     * @param  key  keyword
+     * @return  card, or null
+     */
+    private static ParsedCard<?> getCard( FitsHeader hdr, String key ) {
+        for ( ParsedCard<?> card : hdr.getCards() ) {
+            if ( key.equals( card.getKey() ) ) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a copy of a card with a different key.
+     *
+     * @param  card  template card
+     * @param  key   new key
+     * @return  new card
+     */
+    private static <T> ParsedCard<T> withKey( ParsedCard<T> card, String key ) {
+        return new ParsedCard<T>( key, card.getType(), card.getValue(),
+                                  card.getComment() );
+    }
+
+    /**
+     * Reads the compressed column data for a tile.
+     *
+     * @param  zin  random access input for the compressed HDU data
+     * @param  itile  tile index
+     * @return  per-column array of compressed byte arrays
+     */
+    private byte[][] readTileData( BasicInput zin, long itile )
+            throws IOException {
+        byte[][] zdatas = new byte[ ncol_ ][];
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            zin.seek( itile * zrowLeng_ + zcolOffsets_[ icol ] );
+            final long nbyte;
+            final long offset;
+            if ( isLongDesc_[ icol ] ) {
+                nbyte = zin.readLong();
+                offset = zin.readLong();
+            }
+            else {
+                nbyte = zin.readInt() & 0xffffffffL;
+                offset = zin.readInt() & 0xffffffffL;
+            }
+            if ( nbyte > Integer.MAX_VALUE ) {
+                throw new TableFormatException( "Compressed tile too large" );
+            }
+            byte[] zdata = new byte[ (int) nbyte ];
+            zin.seek( heapOffset_ + offset );
+            zin.readBytes( zdata );
+            zdatas[ icol ] = zdata;
+        }
+        return zdatas;
+    }
+
+    /**
+     * Decompresses the data for a tile into row-major form.
+     * This method is thread-safe.
+     *
+     * @param  itile  tile index
+     * @param  zdatas  per-column compressed data as returned by
+     *                 {@link #readTileData}
+     * @return  uncompressed row data for all the rows in the tile
+     */
+    private byte[] decodeTile( long itile, byte[][] zdatas )
+            throws IOException {
+        int nr = (int) Math.min( tileLen_, nrow_ - itile * tileLen_ );
+        byte[] rowData = new byte[ nr * rowLeng_ ];
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            int width = colWidths_[ icol ];
+            if ( width > 0 ) {
+                byte[] colData = new byte[ nr * width ];
+                comps_[ icol ].decode( zdatas[ icol ], colData,
+                                       elSizes_[ icol ] );
+                int off = colOffsets_[ icol ];
+                for ( int ir = 0; ir < nr; ir++ ) {
+                    System.arraycopy( colData, ir * width,
+                                      rowData, ir * rowLeng_ + off, width );
+                }
+            }
+        }
+        return rowData;
+    }
+
+    /**
+     * BasicInput implementation that reads the uncompressed data stream
+     * by decompressing tiles on demand.
+     * Since tiles contain whole rows, no primitive value straddles
+     * a tile boundary.
+     */
+    private class TileInput implements BasicInput {
+
+        private final BasicInput zin_;
+        private final boolean isSeq_;
+        private final long tileBytes_;
+        private final long length_;
+        private long pos_;
+        private long tileStart_;
+        private long tileEnd_;
+        private ByteBuffer tileBuf_;
+        private long iNextTile_;
+        private CompletableFuture<byte[]> nextTile_;
+
+        /**
+         * Constructor.
+         *
+         * @param  zin  random access input for compressed HDU data
+         * @param  isSeq  true if reads are expected to be sequential
+         */
+        TileInput( BasicInput zin, boolean isSeq ) {
+            zin_ = zin;
+            isSeq_ = isSeq;
+            tileBytes_ = (long) tileLen_ * rowLeng_;
+            length_ = nrow_ * rowLeng_;
+            iNextTile_ = -1;
+        }
+
+        public byte readByte() throws IOException {
+            byte v = buffer( 1 ).get( offset() );
+            pos_ += 1;
+            return v;
+        }
+
+        public short readShort() throws IOException {
+            short v = buffer( 2 ).getShort( offset() );
+            pos_ += 2;
+            return v;
+        }
+
+        public int readInt() throws IOException {
+            int v = buffer( 4 ).getInt( offset() );
+            pos_ += 4;
+            return v;
+        }
+
+        public long readLong() throws IOException {
+            long v = buffer( 8 ).getLong( offset() );
+            pos_ += 8;
+            return v;
+        }
+
+        public float readFloat() throws IOException {
+            float v = buffer( 4 ).getFloat( offset() );
+            pos_ += 4;
+            return v;
+        }
+
+        public double readDouble() throws IOException {
+            double v = buffer( 8 ).getDouble( offset() );
+            pos_ += 8;
+            return v;
+        }
+
+        public void readBytes( byte[] buf ) throws IOException {
+            int n = 0;
+            while ( n < buf.length ) {
+                ByteBuffer bbuf = buffer( 1 );
+                int off = offset();
+                int nb = (int) Math.min( buf.length - n, tileEnd_ - pos_ );
+                bbuf.position( off );
+                bbuf.get( buf, n, nb );
+                n += nb;
+                pos_ += nb;
+            }
+        }
+
+        public void skip( long nbyte ) throws IOException {
+            if ( pos_ + nbyte > length_ ) {
+                throw new EOFException();
+            }
+            pos_ += nbyte;
+        }
+
+        public boolean isRandom() {
+            return true;
+        }
+
+        public void seek( long offset ) {
+            pos_ = offset;
+        }
+
+        public long getOffset() {
+            return pos_;
+        }
+
+        public void close() throws IOException {
+            if ( nextTile_ != null ) {
+                nextTile_.cancel( false );
+                nextTile_ = null;
+            }
+            zin_.close();
+        }
+
+        /**
+         * Returns the offset into the current tile buffer of the
+         * current position.
+         */
+        private int offset() {
+            return (int) ( pos_ - tileStart_ );
+        }
+
+        /**
+         * Returns a buffer containing the tile data for the current
+         * position, loading it if necessary.
+         *
+         * @param  nbyte  number of bytes about to be read
+         * @return  buffer for the tile containing the current position
+         */
+        private ByteBuffer buffer( int nbyte ) throws IOException {
+            if ( pos_ < tileStart_ || pos_ + nbyte > tileEnd_ ) {
+                if ( pos_ < 0 || pos_ + nbyte > length_ ) {
+                    throw new EOFException();
+                }
+                loadTile( pos_ / tileBytes_ );
+            }
+            return tileBuf_;
+        }
+
+        /**
+         * Makes a given tile current.
+         *
+         * @param  itile  tile index
+         */
+        private void loadTile( long itile ) throws IOException {
+            final byte[] rowData;
+            if ( nextTile_ != null && iNextTile_ == itile ) {
+                try {
+                    rowData = nextTile_.join();
+                }
+                catch ( CompletionException e ) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof UncheckedIOException
+                        ? ((UncheckedIOException) cause).getCause()
+                        : new IOException( "Tile decompression failed", cause );
+                }
+            }
+            else {
+                if ( nextTile_ != null ) {
+                    nextTile_.cancel( false );
+                }
+                rowData = decodeTile( itile, readTileData( zin_, itile ) );
+            }
+            nextTile_ = null;
+            tileStart_ = itile * tileBytes_;
+            tileEnd_ = tileStart_ + rowData.length;
+            tileBuf_ = ByteBuffer.wrap( rowData );
+
+            /* In sequential mode, start decompressing the next tile
+             * asynchronously.  The compressed bytes must be read in
+             * this thread, since the input is not thread-safe. */
+            long inext = itile + 1;
+            if ( isSeq_ && inext < ntile_ ) {
+                final byte[][] zdatas = readTileData( zin_, inext );
+                iNextTile_ = inext;
+                nextTile_ = CompletableFuture.supplyAsync( () -> {
+                    try {
+                        return decodeTile( inext, zdatas );
+                    }
+                    catch ( IOException e ) {
+                        throw new UncheckedIOException( e );
+                    }
+                } );
+            }
+        }
+    }
+}
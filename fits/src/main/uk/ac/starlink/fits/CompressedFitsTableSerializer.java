@@ -0,0 +1,303 @@
+package uk.ac.starlink.fits;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ByteStore;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.util.DataBufferedOutputStream;
+
+/**
+ * FitsTableSerializer that writes a tile-compressed binary table
+ * according to the FITS Tiled Table Compression convention.
+ * The table data is generated by a {@link StandardFitsTableSerializer},
+ * and compressed tile by tile into temporary storage
+ * at construction time, since the size of the compressed heap
+ * must be known before the header can be written.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+class CompressedFitsTableSerializer implements FitsTableSerializer {
+
+    private final StandardFitsTableSerializer base_;
+    private final int ncol_;
+    private final int[] widths_;
+    private final int[] elSizes_;
+    private final TileCompression[] comps_;
+    private final int rowLeng_;
+    private final int tileLen_;
+    private final long ntile_;
+    private final ByteStore heapStore_;
+    private final long[] zcounts_;
+    private final long[] zoffsets_;
+    private final boolean isLongDesc_;
+    private long maxCount_;
+
+    /** Approximate number of uncompressed bytes per tile. */
+    private static final int TILE_BYTES = 1024 * 1024;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.fits" );
+
+    /**
+     * Constructor.  The table data is compressed during construction.
+     *
+     * @param  base  serializer for the uncompressed table
+     * @param  comp  preferred compression algorithm; columns for which it
+     *               is not applicable will use GZIP_2
+     * @param  storage  storage policy for caching compressed data
+     */
+    CompressedFitsTableSerializer( StandardFitsTableSerializer base,
+                                   TileCompression comp,
+                                   StoragePolicy storage )
+            throws IOException {
+        base_ = base;
+        List<ColumnWriter> writers = new ArrayList<>();
+        for ( ColumnWriter writer : base.getColumnWriters() ) {
+            if ( writer != null ) {
+                writers.add( writer );
+            }
+        }
+        ncol_ = writers.size();
+        WideFits wide = base.getConfig().getWide();
+        if ( wide != null && ncol_ > wide.getContainerColumnIndex() ) {
+            throw new IOException( "Too many columns (" + ncol_ + ")"
+                                 + " for compressed FITS table" );
+        }
+        widths_ = new int[ ncol_ ];
+        elSizes_ = new int[ ncol_ ];
+        comps_ = new TileCompression[ ncol_ ];
+        int rowLeng = 0;
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            ColumnWriter writer = writers.get( icol );
+            char fchr = writer.getFormatChar();
+            widths_[ icol ] = writer.getLength();
+            elSizes_[ icol ] = CompressedBintable.getElementSize( fchr );
+            comps_[ icol ] = comp.canEncode( fchr ) ? comp
+                                                    : TileCompression.GZIP_2;
+            rowLeng += widths_[ icol ];
+        }
+        if ( rowLeng == 0 ) {
+            throw new IOException( "Can't compress zero-width table" );
+        }
+        rowLeng_ = rowLeng;
+        long nrow = base.getRowCount();
+        tileLen_ = (int) Math.max( 1, Math.min( Math.max( nrow, 1 ),
+                                                TILE_BYTES / rowLeng ) );
+        ntile_ = ( nrow + tileLen_ - 1 ) / tileLen_;
+        if ( ntile_ * ncol_ > Integer.MAX_VALUE ) {
+            throw new IOException( "Too many tiles" );
+        }
+        zcounts_ = new long[ (int) ( ntile_ * ncol_ ) ];
+        zoffsets_ = new long[ (int) ( ntile_ * ncol_ ) ];
+
+        /* Compress the table data into the heap store. */
+        heapStore_ = storage.makeByteStore();
+        try ( OutputStream heapOut = heapStore_.getOutputStream();
+              TileOutputStream tileOut = new TileOutputStream( heapOut ) ) {
+            DataBufferedOutputStream dout =
+                new DataBufferedOutputStream( tileOut );
+            base.writeDataOnly( dout );
+            dout.flush();
+        }
+        isLongDesc_ = heapStore_.getLength() > Integer.MAX_VALUE;
+        logger_.info( "Compressed " + nrow + " rows into " + ntile_
+                    + " tiles: " + ( nrow * rowLeng_ ) + " -> "
+                    + heapStore_.getLength() + " bytes" );
+    }
+
+    public CardImage[] getHeader() {
+        CardFactory cfact = CardFactory.DEFAULT;
+        List<CardImage> cards = new ArrayList<>();
+        int descLeng = isLongDesc_ ? 16 : 8;
+        String descForm = "1" + ( isLongDesc_ ? 'Q' : 'P' ) + "B("
+                        + maxCount_ + ")";
+        for ( CardImage card : base_.getHeader() ) {
+            ParsedCard<?> pcard = FitsUtil.parseCard( card.getBytes() );
+            String key = pcard.getKey();
+            if ( "NAXIS1".equals( key ) ) {
+                cards.add( cfact.createIntegerCard( "NAXIS1",
+                                                    ncol_ * descLeng,
+                                                    "width of table in bytes"));
+            }
+            else if ( "NAXIS2".equals( key ) ) {
+                cards.add( cfact.createIntegerCard( "NAXIS2", ntile_,
+                                                    "number of tiles" ) );
+            }
+            else if ( "PCOUNT".equals( key ) ) {
+                cards.add( cfact.createIntegerCard( "PCOUNT",
+                                                    heapStore_.getLength(),
+                                                    "size of heap" ) );
+            }
+            else if ( "TFIELDS".equals( key ) ) {
+                cards.add( card );
+                cards.add( cfact.createLogicalCard( "ZTABLE", true,
+                                                    "tile-compressed table" ));
+                cards.add( cfact.createIntegerCard( "ZTILELEN", tileLen_,
+                                                    "rows per tile" ) );
+                cards.add( cfact.createIntegerCard( "ZNAXIS1", rowLeng_,
+                                                    "uncompressed row width" ));
+                cards.add( cfact.createIntegerCard( "ZNAXIS2",
+                                                    base_.getRowCount(),
+                                                    "uncompressed row count" ));
+                cards.add( cfact.createIntegerCard( "ZPCOUNT", 0,
+                                                    "uncompressed heap size" ));
+            }
+            else if ( key != null && key.matches( "TFORM[0-9]+" ) ) {
+                String jcol = key.substring( 5 );
+                int icol = Integer.parseInt( jcol ) - 1;
+                cards.add( cfact.createStringCard( key, descForm,
+                                                   "compressed data" ) );
+                cards.add( cfact.createStringCard( "ZFORM" + jcol,
+                                                   pcard.getValue().toString(),
+                                                   pcard.getComment() ) );
+                cards.add( cfact.createStringCard( "ZCTYP" + jcol,
+                                                   comps_[ icol ].name(),
+                                                   "compression algorithm" ) );
+            }
+            else {
+                cards.add( card );
+            }
+        }
+        return cards.toArray( new CardImage[ 0 ] );
+    }
+
+    public void writeData( DataOutput out ) throws IOException {
+        long nWritten = 0;
+
+        /* Write the tile descriptors. */
+        int iz = 0;
+        for ( long itile = 0; itile < ntile_; itile++ ) {
+            for ( int icol = 0; icol < ncol_; icol++ ) {
+                if ( isLongDesc_ ) {
+                    out.writeLong( zcounts_[ iz ] );
+                    out.writeLong( zoffsets_[ iz ] );
+                    nWritten += 16;
+                }
+                else {
+                    out.writeInt( (int) zcounts_[ iz ] );
+                    out.writeInt( (int) zoffsets_[ iz ] );
+                    nWritten += 8;
+                }
+                iz++;
+            }
+        }
+
+        /* Write the heap. */
+        try {
+            heapStore_.copy( FitsUtil.toStream( out ) );
+            nWritten += heapStore_.getLength();
+        }
+        finally {
+            heapStore_.close();
+        }
+
+        /* Write padding. */
+        int extra = (int) ( nWritten % (long) 2880 );
+        if ( extra > 0 ) {
+            out.write( new byte[ 2880 - extra ] );
+        }
+    }
+
+    public long getRowCount() {
+        return base_.getRowCount();
+    }
+
+    public int[] getDimensions( int icol ) {
+        return base_.getDimensions( icol );
+    }
+
+    public char getFormatChar( int icol ) {
+        return base_.getFormatChar( icol );
+    }
+
+    public String getBadValue( int icol ) {
+        return base_.getBadValue( icol );
+    }
+
+    /**
+     * OutputStream that accepts row-major uncompressed table data,
+     * and writes compressed tiles to the heap.
+     */
+    private class TileOutputStream extends OutputStream {
+
+        private final OutputStream heapOut_;
+        private final byte[] tileBuf_;
+        private int nbuf_;
+        private int itile_;
+        private long heapLeng_;
+
+        /**
+         * Constructor.
+         *
+         * @param  heapOut  destination stream for compressed data
+         */
+        TileOutputStream( OutputStream heapOut ) {
+            heapOut_ = heapOut;
+            tileBuf_ = new byte[ tileLen_ * rowLeng_ ];
+        }
+
+        @Override
+        public void write( int b ) throws IOException {
+            tileBuf_[ nbuf_++ ] = (byte) b;
+            if ( nbuf_ == tileBuf_.length ) {
+                flushTile();
+            }
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len ) throws IOException {
+            while ( len > 0 ) {
+                int nb = Math.min( len, tileBuf_.length - nbuf_ );
+                System.arraycopy( b, off, tileBuf_, nbuf_, nb );
+                nbuf_ += nb;
+                off += nb;
+                len -= nb;
+                if ( nbuf_ == tileBuf_.length ) {
+                    flushTile();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if ( nbuf_ > 0 ) {
+                flushTile();
+            }
+            if ( itile_ != ntile_ ) {
+                throw new IOException( "Row count mismatch" );
+            }
+        }
+
+        /**
+         * Compresses the currently buffered rows as a tile.
+         */
+        private void flushTile() throws IOException {
+            int nr = nbuf_ / rowLeng_;
+            int off = 0;
+            for ( int icol = 0; icol < ncol_; icol++ ) {
+                int width = widths_[ icol ];
+                byte[] colData = new byte[ nr * width ];
+                for ( int ir = 0; ir < nr; ir++ ) {
+                    System.arraycopy( tileBuf_, ir * rowLeng_ + off,
+                                      colData, ir * width, width );
+                }
+                off += width;
+                byte[] zdata = comps_[ icol ].encode( colData,
+                                                      elSizes_[ icol ] );
+                int iz = itile_ * ncol_ + icol;
+                zcounts_[ iz ] = zdata.length;
+                zoffsets_[ iz ] = heapLeng_;
+                maxCount_ = Math.max( maxCount_, zdata.length );
+                heapOut_.write( zdata );
+                heapLeng_ += zdata.length;
+            }
+            itile_++;
+            nbuf_ = 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package uk.ac.starlink.fits;
 
+import uk.ac.starlink.table.RowRunner;
+
 /**
  * Aggregates configuration options for FITS table serialization.
  *
@@ -44,4 +46,15 @@ public interface FitsTableSerializerConfig {
      * @return  padding value for character array data
      */
     byte getPadCharacter();
+
+    /**
+     * Returns the runner used to control parallel encoding of row data.
+     * If null, rows are encoded sequentially.
+     * The output is the same in either case.
+     *
+     * @return  row runner, or null for sequential output
+     */
+    default RowRunner getRowRunner() {
+        return null;
+    }
 }
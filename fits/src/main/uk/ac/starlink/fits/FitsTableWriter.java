@@ -2,6 +2,7 @@ package uk.ac.starlink.fits;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.logging.Logger;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.table.TableSequence;
@@ -46,10 +47,14 @@ import uk.ac.starlink.util.IOConsumer;
  */
 public class FitsTableWriter extends AbstractFitsTableWriter {
 
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.fits" );
+
     private boolean isColfits_ = false;
     private PrimaryType primaryType_ = PrimaryType.BASIC;
     private VarArrayMode varArray_ = VarArrayMode.FALSE;
     private StoragePolicy storage_ = StoragePolicy.getDefaultPolicy();
+    private TileCompression compression_;
 
     /**
      * Default constructor.
@@ -155,10 +160,10 @@ public class FitsTableWriter extends AbstractFitsTableWriter {
 
     /**
      * Sets the storage policy to use where required.
-     * This is only relevant for column-oriented output,
+     * This is only relevant for column-oriented or compressed output,
      * for which data has to be cached before rewriting it.
      *
-     * @param  storage  storage policy to use when writing colfits
+     * @param  storage  storage policy to use for cached data
      */
     public void setStoragePolicy( StoragePolicy storage ) {
         storage_ = storage;
@@ -173,6 +178,30 @@ public class FitsTableWriter extends AbstractFitsTableWriter {
         return storage_;
     }
 
+    /**
+     * Sets the tile compression algorithm to use for output tables.
+     * If non-null, tables are written as tile-compressed binary tables
+     * following the FITS Tiled Table Compression convention.
+     * This only applies to row-oriented output
+     * with fixed-length array storage.
+     *
+     * @param  compression  preferred compression algorithm,
+     *                      or null for uncompressed output
+     */
+    public void setCompression( TileCompression compression ) {
+        compression_ = compression;
+    }
+
+    /**
+     * Returns the tile compression algorithm used for output tables.
+     *
+     * @return  preferred compression algorithm,
+     *          or null for uncompressed output
+     */
+    public TileCompression getCompression() {
+        return compression_;
+    }
+
     @Override
     public boolean getAllowSignedByte() {
         return super.getAllowSignedByte() && primaryType_.allowSignedByte();
@@ -181,6 +210,10 @@ public class FitsTableWriter extends AbstractFitsTableWriter {
     public FitsTableSerializer createSerializer( StarTable table )
             throws IOException {
         FitsTableSerializerConfig config = getConfig();
+        if ( compression_ != null && ( isColfits_ || varArray_.isVarArray_ ) ) {
+            logger_.warning( "Ignoring tile compression option"
+                           + " for column-oriented or variable array output" );
+        }
         if ( isColfits_ ) {
             // I could add vararray config for ColFits
             return new ColFitsTableSerializer( config, table );
@@ -195,6 +228,11 @@ public class FitsTableWriter extends AbstractFitsTableWriter {
                 }
                 return fitser;
             }
+            else if ( compression_ != null ) {
+                return new CompressedFitsTableSerializer(
+                    new StandardFitsTableSerializer( config, table ),
+                    compression_, storage_ );
+            }
             else {
                 return new StandardFitsTableSerializer( config, table );
             }
@@ -1,5 +1,6 @@
 package uk.ac.starlink.fits;
 
+import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -336,4 +337,30 @@ public class FitsUtil {
             return null;
         }
     }
+
+    /**
+     * Gets an OutputStream based on a given DataOutput.
+     *
+     * @param   dataOut  data output object
+     * @return   stream which writes to the same place as <code>dataOut</code>
+     */
+    static OutputStream toStream( final DataOutput dataOut ) {
+        if ( dataOut instanceof OutputStream ) {
+            return (OutputStream) dataOut;
+        }
+        else {
+            return new OutputStream() {
+                public void write( int b ) throws IOException {
+                    dataOut.write( b );
+                }
+                public void write( byte[] buf ) throws IOException {
+                    dataOut.write( buf );
+                }
+                public void write( byte[] buf, int off, int leng )
+                        throws IOException {
+                    dataOut.write( buf, off, leng );
+                }
+            };
+        }
+    }
 }
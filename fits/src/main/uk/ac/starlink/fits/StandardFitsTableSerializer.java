@@ -8,12 +8,15 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.CountCheckRowSequence;
 import uk.ac.starlink.table.DescribedValue;
 import uk.ac.starlink.table.HealpixTableInfo;
+import uk.ac.starlink.table.RowBlockWriter;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.TableFormatException;
@@ -43,6 +46,7 @@ public class StandardFitsTableSerializer implements FitsTableSerializer {
     private final FitsTableSerializerConfig config_;
     private StarTable table_;
     private ColumnWriter[] colWriters_;
+    private Supplier<ColumnWriter[]> colWritersFactory_;
     private ColumnInfo[] colInfos_;
     private long rowCount_;
 
@@ -302,27 +306,33 @@ public class StandardFitsTableSerializer implements FitsTableSerializer {
          * write values to the stream.  For columns which can't be 
          * written in FITS format store a null in the writers array
          * and log a message. */
-        colWriters_ = new ColumnWriter[ ncol ];
-        int rbytes = 0;
+        colWritersFactory_ = () -> {
+            ColumnWriter[] writers = new ColumnWriter[ ncol ];
+            for ( int icol = 0; icol < ncol; icol++ ) {
+                if ( useCols[ icol ] ) {
+                    writers[ icol ] =
+                        createColumnWriter( colInfos_[ icol ], shapes[ icol ],
+                                            varShapes[ icol ], maxChars[ icol ],
+                                            maxElements[ icol ],
+                                            totalElements[ icol ],
+                                            mayHaveNullableInts[ icol ]
+                                            && hasNulls[ icol ] );
+                }
+            }
+            return writers;
+        };
+        colWriters_ = colWritersFactory_.get();
         int nUseCol = 0;
         for ( int icol = 0; icol < ncol; icol++ ) {
             if ( useCols[ icol ] ) {
-                ColumnInfo cinfo = colInfos_[ icol ];
-                ColumnWriter writer =
-                    createColumnWriter( cinfo, shapes[ icol ],
-                                        varShapes[ icol ], maxChars[ icol ],
-                                        maxElements[ icol ],
-                                        totalElements[ icol ],
-                                        mayHaveNullableInts[ icol ] 
-                                        && hasNulls[ icol ] );
-                if ( writer == null ) {
-                    logger.warning( "Ignoring column " + cinfo.getName() +
-                                    " - don't know how to write to FITS" );
+                if ( colWriters_[ icol ] == null ) {
+                    logger.warning( "Ignoring column "
+                                  + colInfos_[ icol ].getName()
+                                  + " - don't know how to write to FITS" );
                 }
                 else {
                     nUseCol++;
                 }
-                colWriters_[ icol ] = writer;
             }
         }
 
@@ -341,6 +351,19 @@ public class StandardFitsTableSerializer implements FitsTableSerializer {
         return colWriters_;
     }
 
+    /**
+     * Returns a new array of column writers equivalent to those
+     * returned by {@link #getColumnWriters}, but which do not share
+     * any state with them, so that they may be used to encode data
+     * concurrently.
+     * If that is not possible, null is returned.
+     *
+     * @return  new column writer array, or null
+     */
+    ColumnWriter[] createIndependentColumnWriters() {
+        return colWritersFactory_.get();
+    }
+
     public CardImage[] getHeader() {
 
         /* Work out the dimensions in columns and bytes of the table. */
@@ -575,6 +598,28 @@ public class StandardFitsTableSerializer implements FitsTableSerializer {
             }
         }
 
+        /* If a parallel runner is available, and writers can be used
+         * concurrently, encode the rows in blocks. */
+        RowRunner runner = config_.getRowRunner();
+        if ( runner != null && rowBytes > 0 &&
+             createIndependentColumnWriters() != null ) {
+            Supplier<RowBlockWriter.RowEncoder> encoderFactory = () -> {
+                ColumnWriter[] writers = createIndependentColumnWriters();
+                return ( row, out ) -> {
+                    for ( int icol = 0; icol < ncol; icol++ ) {
+                        ColumnWriter writer = writers[ icol ];
+                        if ( writer != null ) {
+                            writer.writeValue( out, row[ icol ] );
+                        }
+                    }
+                };
+            };
+            new RowBlockWriter( runner )
+               .writeRows( table_, rowCount_, rowBytes, encoderFactory,
+                           FitsUtil.toStream( strm ) );
+            return rowCount_ * rowBytes;
+        }
+
         /* Write the data cells, delegating the item in each column to
          * the writer that knows how to handle it. */
         long nWritten = 0L;
@@ -0,0 +1,497 @@
+package uk.ac.starlink.fits;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression algorithms for the column data of tile-compressed
+ * binary tables, as defined in the FITS Tiled Table Compression
+ * convention (FITS Standard v4.0 section 10.3).
+ * The name of each instance is the value of the corresponding
+ * <code>ZCTYPn</code> header.
+ *
+ * <p>In a tile-compressed table each tile of <code>ZTILELEN</code>
+ * rows is stored as one row of a BINTABLE, and for each column
+ * the values from all the rows in the tile are concatenated,
+ * in the usual big-endian FITS encoding, and compressed as a single
+ * byte array stored in the heap.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ * @see  <a href="https://fits.gsfc.nasa.gov/registry/tiletablecompress.html"
+ *          >Tiled Table Compression convention</a>
+ */
+public enum TileCompression {
+
+    /** No compression; bytes are stored as is. */
+    NOCOMPRESS() {
+        byte[] encode( byte[] data, int elSize ) {
+            return data;
+        }
+        void decode( byte[] zdata, byte[] data, int elSize )
+                throws IOException {
+            if ( zdata.length < data.length ) {
+                throw new EOFException( "Tile data too short" );
+            }
+            System.arraycopy( zdata, 0, data, 0, data.length );
+        }
+    },
+
+    /** Gzip compression of the bytes. */
+    GZIP_1() {
+        byte[] encode( byte[] data, int elSize ) throws IOException {
+            return gzip( data );
+        }
+        void decode( byte[] zdata, byte[] data, int elSize )
+                throws IOException {
+            gunzip( zdata, data );
+        }
+    },
+
+    /**
+     * Gzip compression of the bytes after shuffling them so that
+     * the most significant bytes of all the values come first,
+     * then the next most significant, etc.
+     * This typically compresses numeric data better than GZIP_1.
+     */
+    GZIP_2() {
+        byte[] encode( byte[] data, int elSize ) throws IOException {
+            return gzip( elSize > 1 ? shuffle( data, elSize ) : data );
+        }
+        void decode( byte[] zdata, byte[] data, int elSize )
+                throws IOException {
+            if ( elSize > 1 ) {
+                byte[] sdata = new byte[ data.length ];
+                gunzip( zdata, sdata );
+                unshuffle( sdata, data, elSize );
+            }
+            else {
+                gunzip( zdata, data );
+            }
+        }
+    },
+
+    /**
+     * Rice compression of differences between successive integer values,
+     * with a block size of 32.
+     * Only applicable to 1-, 2- and 4-byte integer columns.
+     */
+    RICE_1() {
+        @Override
+        boolean canEncode( char formatChar ) {
+            return formatChar == 'B' || formatChar == 'I' || formatChar == 'J';
+        }
+        byte[] encode( byte[] data, int elSize ) {
+            return riceEncode( data, elSize );
+        }
+        void decode( byte[] zdata, byte[] data, int elSize )
+                throws IOException {
+            if ( elSize != 1 && elSize != 2 && elSize != 4 ) {
+                throw new IOException( "RICE_1 not supported for "
+                                     + elSize + "-byte values" );
+            }
+            riceDecode( zdata, data, elSize );
+        }
+    };
+
+    /** Rice block size mandated for tiled table compression. */
+    private static final int RICE_NBLOCK = 32;
+
+    /**
+     * Indicates whether this algorithm can be used on a column with
+     * a given FITS data type.
+     *
+     * @param  formatChar  TFORM data type character
+     * @return  true iff this compression can be used for the column
+     */
+    boolean canEncode( char formatChar ) {
+        return true;
+    }
+
+    /**
+     * Compresses the data for a column tile.
+     *
+     * @param  data  uncompressed byte data
+     * @param  elSize  size in bytes of the elementary values in the data
+     * @return   compressed data
+     */
+    abstract byte[] encode( byte[] data, int elSize ) throws IOException;
+
+    /**
+     * Decompresses the data for a column tile.
+     *
+     * @param  zdata  compressed data
+     * @param  data   destination array, the length of which
+     *                gives the number of uncompressed bytes required
+     * @param  elSize  size in bytes of the elementary values in the data
+     */
+    abstract void decode( byte[] zdata, byte[] data, int elSize )
+            throws IOException;
+
+    /**
+     * Returns the compression algorithm for a given ZCTYPn value.
+     *
+     * @param  ztype  ZCTYPn header value
+     * @return  compression instance, or null if not known
+     */
+    static TileCompression forName( String ztype ) {
+        for ( TileCompression comp : values() ) {
+            if ( comp.name().equalsIgnoreCase( ztype.trim() ) ) {
+                return comp;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gzips a byte array.
+     *
+     * @param  data  input data
+     * @return  gzip stream content
+     */
+    private static byte[] gzip( byte[] data ) throws IOException {
+        ByteArrayOutputStream bout =
+            new ByteArrayOutputStream( data.length / 4 + 64 );
+        try ( GZIPOutputStream zout = new GZIPOutputStream( bout, 8192 ) ) {
+            zout.write( data );
+        }
+        return bout.toByteArray();
+    }
+
+    /**
+     * Decompresses a gzip (or zlib) stream into a byte array.
+     *
+     * @param  zdata  compressed data
+     * @param  data   destination array, to be filled
+     */
+    private static void gunzip( byte[] zdata, byte[] data )
+            throws IOException {
+        InputStream bin = new ByteArrayInputStream( zdata );
+        boolean isGzip = zdata.length >= 2
+                      && ( zdata[ 0 ] & 0xff ) == 0x1f
+                      && ( zdata[ 1 ] & 0xff ) == 0x8b;
+        try ( InputStream zin = isGzip ? new GZIPInputStream( bin, 8192 )
+                                       : new InflaterInputStream( bin ) ) {
+            int n = 0;
+            while ( n < data.length ) {
+                int nr = zin.read( data, n, data.length - n );
+                if ( nr < 0 ) {
+                    throw new EOFException( "Compressed tile data too short" );
+                }
+                n += nr;
+            }
+        }
+    }
+
+    /**
+     * Reorders bytes so that byte <code>b</code> of value <code>i</code>
+     * is moved to position <code>b*nel+i</code>.
+     *
+     * @param  data  input bytes
+     * @param  elSize  number of bytes per value
+     * @return  shuffled bytes
+     */
+    private static byte[] shuffle( byte[] data, int elSize ) {
+        int nel = data.length / elSize;
+        byte[] sdata = new byte[ data.length ];
+        for ( int i = 0; i < nel; i++ ) {
+            for ( int b = 0; b < elSize; b++ ) {
+                sdata[ b * nel + i ] = data[ i * elSize + b ];
+            }
+        }
+        return sdata;
+    }
+
+    /**
+     * Inverts the {@link #shuffle} operation.
+     *
+     * @param  sdata  shuffled bytes
+     * @param  data   destination array for unshuffled bytes
+     * @param  elSize  number of bytes per value
+     */
+    private static void unshuffle( byte[] sdata, byte[] data, int elSize ) {
+        int nel = data.length / elSize;
+        for ( int i = 0; i < nel; i++ ) {
+            for ( int b = 0; b < elSize; b++ ) {
+                data[ i * elSize + b ] = sdata[ b * nel + i ];
+            }
+        }
+    }
+
+    /**
+     * Reads a big-endian signed integer from a byte array.
+     *
+     * @param  data  byte array
+     * @param  off   offset of first byte
+     * @param  elSize  number of bytes (1, 2 or 4)
+     * @return  integer value
+     */
+    private static int readInt( byte[] data, int off, int elSize ) {
+        int v = data[ off ];
+        for ( int b = 1; b < elSize; b++ ) {
+            v = ( v << 8 ) | ( data[ off + b ] & 0xff );
+        }
+        return v;
+    }
+
+    /**
+     * Writes a big-endian integer to a byte array.
+     *
+     * @param  data  byte array
+     * @param  off   offset of first byte
+     * @param  elSize  number of bytes (1, 2 or 4)
+     * @param  v  value to write; excess high bits are ignored
+     */
+    private static void writeInt( byte[] data, int off, int elSize, int v ) {
+        for ( int b = elSize - 1; b >= 0; b-- ) {
+            data[ off + b ] = (byte) v;
+            v >>= 8;
+        }
+    }
+
+    /**
+     * Performs Rice compression.  The algorithm and encoding is that of
+     * <code>fits_rcomp</code> in CFITSIO.
+     *
+     * @param  data  big-endian integer data
+     * @param  elSize  bytes per integer (1, 2 or 4)
+     * @return  compressed bytes
+     */
+    private static byte[] riceEncode( byte[] data, int elSize ) {
+        int nel = data.length / elSize;
+        int bbits = elSize * 8;
+        int fsbits = elSize == 4 ? 5 : elSize == 2 ? 4 : 3;
+        int fsmax = elSize == 4 ? 25 : elSize == 2 ? 14 : 6;
+        long mask = ( 1L << bbits ) - 1;
+        BitWriter out = new BitWriter( data.length / 2 + 16 );
+        if ( nel == 0 ) {
+            return new byte[ 0 ];
+        }
+        int lastpix = readInt( data, 0, elSize );
+        out.putBits( bbits, lastpix & mask );
+        long[] diffs = new long[ RICE_NBLOCK ];
+        for ( int i0 = 0; i0 < nel; i0 += RICE_NBLOCK ) {
+            int nb = Math.min( RICE_NBLOCK, nel - i0 );
+            double pixelsum = 0;
+            for ( int j = 0; j < nb; j++ ) {
+                int nextpix = readInt( data, ( i0 + j ) * elSize, elSize );
+                int pdiff = ( nextpix - lastpix ) << ( 32 - bbits )
+                                                  >> ( 32 - bbits );
+                long zig = ( ( pdiff << 1 ) ^ ( pdiff >> 31 ) ) & mask;
+                diffs[ j ] = zig;
+                pixelsum += zig;
+                lastpix = nextpix;
+            }
+            double dpsum = Math.max( 0, ( pixelsum - ( nb / 2 ) - 1 ) / nb );
+            long psum = ( (long) dpsum ) >> 1;
+            int fs = 0;
+            while ( psum > 0 ) {
+                fs++;
+                psum >>= 1;
+            }
+            if ( fs >= fsmax ) {
+                out.putBits( fsbits, fsmax + 1 );
+                for ( int j = 0; j < nb; j++ ) {
+                    out.putBits( bbits, diffs[ j ] );
+                }
+            }
+            else if ( fs == 0 && pixelsum == 0 ) {
+                out.putBits( fsbits, 0 );
+            }
+            else {
+                out.putBits( fsbits, fs + 1 );
+                long fsmask = ( 1L << fs ) - 1;
+                for ( int j = 0; j < nb; j++ ) {
+                    long v = diffs[ j ];
+                    out.putZeros( v >>> fs );
+                    out.putBits( 1, 1 );
+                    if ( fs > 0 ) {
+                        out.putBits( fs, v & fsmask );
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Performs Rice decompression.  The algorithm and encoding is that of
+     * <code>fits_rdecomp</code> in CFITSIO.
+     *
+     * @param  zdata  compressed bytes
+     * @param  data   destination array for big-endian integer data
+     * @param  elSize  bytes per integer (1, 2 or 4)
+     */
+    private static void riceDecode( byte[] zdata, byte[] data, int elSize )
+            throws IOException {
+        int nel = data.length / elSize;
+        if ( nel == 0 ) {
+            return;
+        }
+        int bbits = elSize * 8;
+        int fsbits = elSize == 4 ? 5 : elSize == 2 ? 4 : 3;
+        int fsmax = elSize == 4 ? 25 : elSize == 2 ? 14 : 6;
+        BitReader in = new BitReader( zdata );
+        int lastpix = (int) in.getBits( bbits );
+        for ( int i0 = 0; i0 < nel; i0 += RICE_NBLOCK ) {
+            int nb = Math.min( RICE_NBLOCK, nel - i0 );
+            int fs = (int) in.getBits( fsbits ) - 1;
+            for ( int j = 0; j < nb; j++ ) {
+                final long zig;
+                if ( fs < 0 ) {
+                    zig = 0;
+                }
+                else if ( fs == fsmax ) {
+                    zig = in.getBits( bbits );
+                }
+                else {
+                    long nzero = in.countZeros();
+                    zig = fs > 0 ? ( nzero << fs ) | in.getBits( fs )
+                                 : nzero;
+                }
+                int diff = (int) ( zig >>> 1 ) ^ -(int) ( zig & 1 );
+                lastpix += diff;
+                writeInt( data, ( i0 + j ) * elSize, elSize, lastpix );
+            }
+        }
+    }
+
+    /**
+     * Writes a most-significant-bit-first bit stream to a byte array.
+     */
+    private static class BitWriter {
+        private byte[] buf_;
+        private int nbyte_;
+        private long acc_;
+        private int nacc_;
+
+        /**
+         * Constructor.
+         *
+         * @param  size  initial buffer size
+         */
+        BitWriter( int size ) {
+            buf_ = new byte[ Math.max( size, 16 ) ];
+        }
+
+        /**
+         * Appends bits.
+         *
+         * @param  nbits  number of bits, &lt;=32
+         * @param  value  value whose <code>nbits</code> least significant
+         *                bits are written
+         */
+        void putBits( int nbits, long value ) {
+            acc_ = ( acc_ << nbits ) | ( value & ( ( 1L << nbits ) - 1 ) );
+            nacc_ += nbits;
+            while ( nacc_ >= 8 ) {
+                nacc_ -= 8;
+                putByte( (byte) ( acc_ >>> nacc_ ) );
+            }
+            acc_ &= ( 1L << nacc_ ) - 1;
+        }
+
+        /**
+         * Appends a run of zero bits.
+         *
+         * @param  nzero  number of zero bits
+         */
+        void putZeros( long nzero ) {
+            while ( nzero > 24 ) {
+                putBits( 24, 0 );
+                nzero -= 24;
+            }
+            putBits( (int) nzero, 0 );
+        }
+
+        /**
+         * Returns the written bytes, with any partial final byte
+         * padded with zero bits.
+         *
+         * @return  byte array
+         */
+        byte[] toByteArray() {
+            if ( nacc_ > 0 ) {
+                putBits( 8 - nacc_, 0 );
+            }
+            return Arrays.copyOf( buf_, nbyte_ );
+        }
+
+        private void putByte( byte b ) {
+            if ( nbyte_ == buf_.length ) {
+                buf_ = Arrays.copyOf( buf_, buf_.length * 2 );
+            }
+            buf_[ nbyte_++ ] = b;
+        }
+    }
+
+    /**
+     * Reads a most-significant-bit-first bit stream from a byte array.
+     */
+    private static class BitReader {
+        private final byte[] buf_;
+        private int ipos_;
+        private long acc_;
+        private int nacc_;
+
+        /**
+         * Constructor.
+         *
+         * @param  buf  input bytes
+         */
+        BitReader( byte[] buf ) {
+            buf_ = buf;
+        }
+
+        /**
+         * Reads an unsigned value.
+         *
+         * @param  nbits  number of bits, &lt;=32
+         * @return  value
+         */
+        long getBits( int nbits ) throws IOException {
+            while ( nacc_ < nbits ) {
+                fill();
+            }
+            nacc_ -= nbits;
+            long value = acc_ >>> nacc_;
+            acc_ &= ( 1L << nacc_ ) - 1;
+            return value;
+        }
+
+        /**
+         * Reads bits up to and including the next set bit,
+         * and returns the number of zero bits preceding it.
+         *
+         * @return  number of zeros skipped
+         */
+        long countZeros() throws IOException {
+            long nzero = 0;
+            while ( acc_ == 0 ) {
+                nzero += nacc_;
+                nacc_ = 0;
+                fill();
+            }
+            int nlead = nacc_ - ( 64 - Long.numberOfLeadingZeros( acc_ ) );
+            nzero += nlead;
+            nacc_ -= nlead + 1;
+            acc_ &= ( 1L << nacc_ ) - 1;
+            return nzero;
+        }
+
+        private void fill() throws IOException {
+            if ( ipos_ >= buf_.length ) {
+                throw new EOFException( "Rice-compressed data too short" );
+            }
+            acc_ = ( acc_ << 8 ) | ( buf_[ ipos_++ ] & 0xff );
+            nacc_ += 8;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package uk.ac.starlink.fits;
 
 import java.io.DataOutput;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -129,7 +128,7 @@ public class VariableFitsTableSerializer extends StandardFitsTableSerializer {
 
             /* Write the heap. */
             dataOut.flush();
-            byteStore.copy( toStream( out ) );
+            byteStore.copy( FitsUtil.toStream( out ) );
             nWritten += byteStore.getLength();
             assert byteStore.getLength() == getHeapSize();
         }
@@ -169,29 +168,11 @@ public class VariableFitsTableSerializer extends StandardFitsTableSerializer {
     }
 
     /**
-     * Gets an OutputStream based on a given DataOutput.
-     *
-     * @param   dataOut  data output object
-     * @return   stream which writes to the same place as <code>dataOut</code>
+     * Returns null, since the heap writers are stateful.
      */
-    private static OutputStream toStream( final DataOutput dataOut ) {
-        if ( dataOut instanceof OutputStream ) {
-            return (OutputStream) dataOut;
-        }
-        else {
-            return new OutputStream() {
-                public void write( int b ) throws IOException {
-                    dataOut.write( b );
-                }
-                public void write( byte[] buf ) throws IOException {
-                    dataOut.write( buf );
-                }
-                public void write( byte[] buf, int off, int leng )
-                        throws IOException {
-                    dataOut.write( buf, off, leng );
-                }
-            };
-        }
+    @Override
+    ColumnWriter[] createIndependentColumnWriters() {
+        return null;
     }
 
     /**
@@ -0,0 +1,237 @@
+package uk.ac.starlink.fits;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Random;
+import java.util.logging.Level;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.RowListStarTable;
+import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.Tables;
+import uk.ac.starlink.table.RowStore;
+import uk.ac.starlink.util.ByteArrayDataSource;
+import uk.ac.starlink.util.FileDataSource;
+import uk.ac.starlink.util.LogUtils;
+import uk.ac.starlink.util.TestCase;
+import uk.ac.starlink.util.URLDataSource;
+
+public class CompressedTableTest extends TestCase {
+
+    public CompressedTableTest() {
+        LogUtils.getLogger( "uk.ac.starlink.fits" ).setLevel( Level.WARNING );
+    }
+
+    public void testCodecs() throws IOException {
+        Random rnd = new Random( 9012 );
+        for ( int elSize : new int[] { 1, 2, 4, 8 } ) {
+            for ( int nel : new int[] { 0, 1, 31, 32, 33, 1000 } ) {
+                for ( int spread : new int[] { 0, 3, 1000, -1 } ) {
+                    byte[] data = createIntData( rnd, elSize, nel, spread );
+                    for ( TileCompression comp : TileCompression.values() ) {
+                        if ( comp != TileCompression.RICE_1 || elSize <= 4 ) {
+                            byte[] zdata = comp.encode( data.clone(), elSize );
+                            byte[] data1 = new byte[ data.length ];
+                            comp.decode( zdata, data1, elSize );
+                            assertArrayEquals( comp + " " + elSize + " " + nel,
+                                               data, data1 );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void testRoundTrip() throws IOException {
+        StarTable t0 = createTestTable( 5000 );
+        for ( TileCompression comp : TileCompression.values() ) {
+            FitsTableWriter writer = new FitsTableWriter();
+            writer.setCompression( comp );
+            byte[] buf = toBytes( t0, writer );
+            assertTrue( buf.length > 0 );
+
+            /* Read from memory. */
+            StarTable t1 = new FitsTableBuilder()
+                          .makeStarTable( new ByteArrayDataSource( "t", buf ),
+                                          false, StoragePolicy.PREFER_MEMORY );
+            assertTrue( t1.isRandom() );
+            assertSameData( t0, t1 );
+            Tables.checkTable( t1 );
+            checkSplit( t0, t1 );
+
+            /* Read from file. */
+            File file = File.createTempFile( "ztab", ".fits" );
+            file.deleteOnExit();
+            try ( OutputStream out = new FileOutputStream( file ) ) {
+                out.write( buf );
+            }
+            StarTable t2 = new FitsTableBuilder()
+                          .makeStarTable( new FileDataSource( file ), false,
+                                          StoragePolicy.PREFER_MEMORY );
+            assertSameData( t0, t2 );
+            checkSplit( t0, t2 );
+            t2.close();
+            file.delete();
+
+            /* Stream. */
+            RowStore store = StoragePolicy.PREFER_MEMORY.makeRowStore();
+            new FitsTableBuilder()
+               .streamStarTable( new ByteArrayInputStream( buf ), store, null );
+            assertSameData( t0, store.getStarTable() );
+        }
+
+        /* Compressed output should be smaller for this fairly
+         * redundant data. */
+        FitsTableWriter writer = new FitsTableWriter();
+        int nplain = toBytes( t0, writer ).length;
+        writer.setCompression( TileCompression.GZIP_2 );
+        int ngzip = toBytes( t0, writer ).length;
+        assertTrue( ngzip < nplain / 2 );
+    }
+
+    /**
+     * Reads a tile-compressed table that was not written by this package.
+     *
+     * <p>The file ztable.fits was written by a standalone script
+     * independent of this code, following the layout produced by
+     * CFITSIO's <code>fits_compress_table</code>:
+     * 1QB descriptors, a heap written column by column,
+     * a short final tile, RICE_1 for short and int columns,
+     * GZIP_2 for other numeric columns and GZIP_1 for the rest,
+     * and TZEROn/TNULLn headers referring to the uncompressed data.
+     */
+    public void testReadExternal() throws IOException {
+        URL url = CompressedTableTest.class.getResource( "ztable.fits" );
+        StarTable table = new FitsTableBuilder()
+                         .makeStarTable( new URLDataSource( url ), false,
+                                         StoragePolicy.PREFER_MEMORY );
+        assertTrue( table.isRandom() );
+        assertEquals( 250, table.getRowCount() );
+        assertEquals( 10, table.getColumnCount() );
+        assertEquals( "ZTEST", table.getName() );
+        String[] names = { "ID", "U", "N", "K", "E", "D",
+                           "NAME", "FLAG", "V", "B" };
+        for ( int ic = 0; ic < names.length; ic++ ) {
+            assertEquals( names[ ic ], table.getColumnInfo( ic ).getName() );
+        }
+        for ( int i = 0; i < 250; i++ ) {
+            Object[] row = table.getRow( i );
+            assertEquals( Integer.valueOf( i * 3 + 1 ), row[ 0 ] );
+            assertEquals( Integer.valueOf( i * 263 ), row[ 1 ] );
+            Short nval = Short.valueOf( (short) ( i % 50 - 25 ) );
+            assertEquals( i % 17 == 5 ? null : nval, row[ 2 ] );
+            assertEquals( Long.valueOf( i * 10000000019L - 7 ), row[ 3 ] );
+            assertEquals( Float.valueOf( i == 13 ? Float.NaN : i * 0.25f ),
+                          row[ 4 ] );
+            assertEquals( Double.valueOf( Math.sqrt( i ) ), row[ 5 ] );
+            assertEquals( "obj" + i, row[ 6 ] );
+            assertEquals( Boolean.valueOf( i % 3 == 0 ), row[ 7 ] );
+            assertArrayEquals( new int[] { i, -i, i * i }, row[ 8 ] );
+            assertEquals( Short.valueOf( (short) i ), row[ 9 ] );
+        }
+        Tables.checkTable( table );
+        checkSplit( table, table );
+    }
+
+    private static byte[] toBytes( StarTable table, FitsTableWriter writer )
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeStarTable( table, out );
+        return out.toByteArray();
+    }
+
+    private static void checkSplit( StarTable t0, StarTable t1 )
+            throws IOException {
+        RowSplittable split = t1.getRowSplittable();
+        RowSplittable s2 = split.split();
+        long nrow = 0;
+        for ( RowSplittable s : new RowSplittable[] { s2, split } ) {
+            if ( s != null ) {
+                while ( s.next() ) {
+                    long irow = s.rowIndex().getAsLong();
+                    assertEquals( t0.getCell( irow, 3 ), s.getCell( 3 ) );
+                    nrow++;
+                }
+                s.close();
+            }
+        }
+        assertEquals( t0.getRowCount(), nrow );
+    }
+
+    private void assertSameData( StarTable t0, StarTable t1 )
+            throws IOException {
+        int nc = t0.getColumnCount();
+        long nr = t0.getRowCount();
+        assertEquals( nc, t1.getColumnCount() );
+        assertEquals( nr, t1.getRowCount() );
+        for ( int ic = 0; ic < nc; ic++ ) {
+            assertEquals( t0.getColumnInfo( ic ).getName(),
+                          t1.getColumnInfo( ic ).getName() );
+        }
+        for ( long ir = 0; ir < nr; ir++ ) {
+            Object[] row0 = t0.getRow( ir );
+            Object[] row1 = t1.getRow( ir );
+            for ( int ic = 0; ic < nc; ic++ ) {
+                Object v0 = row0[ ic ];
+                Object v1 = row1[ ic ];
+                if ( v0 != null && v0.getClass().isArray() ) {
+                    assertArrayEquals( v0, v1 );
+                }
+                else {
+                    assertEquals( v0, v1 );
+                }
+            }
+        }
+    }
+
+    private static StarTable createTestTable( int nrow ) {
+        RowListStarTable table = new RowListStarTable( new ColumnInfo[] {
+            new ColumnInfo( "b", Byte.class, null ),
+            new ColumnInfo( "s", Short.class, null ),
+            new ColumnInfo( "i", Integer.class, null ),
+            new ColumnInfo( "l", Long.class, null ),
+            new ColumnInfo( "f", Float.class, null ),
+            new ColumnInfo( "d", Double.class, null ),
+            new ColumnInfo( "flag", Boolean.class, null ),
+            new ColumnInfo( "txt", String.class, null ),
+            new ColumnInfo( "iv", int[].class, null ),
+        } );
+        table.getColumnInfo( 8 ).setShape( new int[] { 3 } );
+        Random rnd = new Random( 23L );
+        for ( int i = 0; i < nrow; i++ ) {
+            table.addRow( new Object[] {
+                Byte.valueOf( (byte) ( i % 7 ) ),
+                Short.valueOf( (short) ( 1000 - i ) ),
+                Integer.valueOf( i * 1000 + rnd.nextInt( 10 ) ),
+                Long.valueOf( i * 1000000007L ),
+                Float.valueOf( i * 0.25f ),
+                Double.valueOf( Math.sqrt( i ) ),
+                Boolean.valueOf( i % 3 == 0 ),
+                "row " + ( i % 100 ),
+                new int[] { i, -i, rnd.nextInt() },
+            } );
+        }
+        return table;
+    }
+
+    private static byte[] createIntData( Random rnd, int elSize, int nel,
+                                         int spread ) {
+        byte[] data = new byte[ elSize * nel ];
+        long v = rnd.nextInt();
+        for ( int i = 0; i < nel; i++ ) {
+            v = spread < 0 ? rnd.nextLong()
+                           : v + ( spread > 0 ? rnd.nextInt( spread ) : 0 );
+            for ( int b = 0; b < elSize; b++ ) {
+                data[ i * elSize + b ] =
+                    (byte) ( v >> ( 8 * ( elSize - 1 - b ) ) );
+            }
+        }
+        return data;
+    }
+}
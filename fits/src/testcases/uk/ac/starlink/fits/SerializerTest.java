@@ -2,10 +2,13 @@ package uk.ac.starlink.fits;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import junit.framework.TestCase;
+import uk.ac.starlink.table.ArrayColumn;
 import uk.ac.starlink.table.LoopStarTable;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableWriter;
 import uk.ac.starlink.table.StoragePolicy;
@@ -61,6 +64,44 @@ public class SerializerTest extends TestCase {
         assertEquals( nrow0, t2r.getRowCount() );
     }
 
+    public void testParallel() throws IOException {
+        int nrow = 400000;
+        LoopStarTable t0 = new LoopStarTable( "i", 0, nrow, 1, true );
+        double[] dvals = new double[ nrow ];
+        String[] svals = new String[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            dvals[ i ] = Math.sqrt( i );
+            svals[ i ] = i % 5 == 0 ? null : Integer.toHexString( i );
+        }
+        t0.addColumn( ArrayColumn.makeColumn( "d", dvals ) );
+        t0.addColumn( ArrayColumn.makeColumn( "s", svals ) );
+        StarTable t1 = new WrapperStarTable( t0 ) {
+            @Override
+            public long getRowCount() {
+                return nrow - 3;
+            }
+        };
+        for ( AbstractFitsTableWriter writer :
+              new AbstractFitsTableWriter[] { new FitsTableWriter(),
+                                              new ColFitsTableWriter() } ) {
+            writer.setWriteDate( false );
+            for ( StarTable table : new StarTable[] { t0, t1 } ) {
+                writer.setRowRunner( null );
+                byte[] seqBytes = toBytes( table, writer );
+                writer.setRowRunner( RowRunner.PARTEST );
+                byte[] parBytes = toBytes( table, writer );
+                assertTrue( Arrays.equals( seqBytes, parBytes ) );
+            }
+        }
+    }
+
+    private static byte[] toBytes( StarTable table, StarTableWriter writer )
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeStarTable( table, out );
+        return out.toByteArray();
+    }
+
     public static StarTable roundTrip( StarTable table,
                                        StarTableWriter outHandler,
                                        TableBuilder inHandler )
@@ -28,9 +28,13 @@ import org.apache.parquet.io.api.GroupConverter;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
 import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnPermutedStarTable;
+import uk.ac.starlink.table.ColumnProjectable;
 import uk.ac.starlink.table.RowAccess;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.WrapperStarTable;
 import uk.ac.starlink.table.storage.Codec;
 import uk.ac.starlink.table.storage.ColumnStore;
 import uk.ac.starlink.table.storage.ColumnStoreStarTable;
@@ -40,16 +44,25 @@ import uk.ac.starlink.util.IOSupplier;
 
 /**
  * ParquetStarTable implementation that does a parallel read of
- * all the column data at construction time.
+ * the column data into a random-access cache.
+ *
+ * <p>The cache is populated the first time that data is requested,
+ * rather than at construction time.  Column-projected views obtained
+ * using {@link #projectColumns projectColumns} before then will only
+ * cache the columns they actually use, which can save a great deal of
+ * time and disk space for wide tables.
  *
  * @author   Mark Taylor
  * @since    2 Mar 2021
  */
-public class CachedParquetStarTable extends ParquetStarTable {
+public class CachedParquetStarTable extends ParquetStarTable
+                                    implements ColumnProjectable {
 
-    private final ColumnStoreStarTable dataTable_;
+    private final int nthread_;
+    private final ColumnStore[] colStores_;
     private final Path basePath_;
     private final Collection<File> tmpFiles_; 
+    private volatile ColumnStoreStarTable dataTable_;
     private static final Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.parquet" );
 
@@ -80,37 +93,8 @@ public class CachedParquetStarTable extends ParquetStarTable {
             Collections.newSetFromMap( new ConcurrentHashMap<File,Boolean>() );
         logger_.info( "Will cache parquet data in " + basePath_ );
 
-        /* Submit one job to read each column.  Parquet is column-oriented,
-         * so this makes sense in terms of file access.  The ExecutorService
-         * will manage things so that only a fixed number of these jobs
-         * is executing concurrently. */
-        ExecutorService executor = Executors.newFixedThreadPool( nthread );
-        List<Future<ColumnStore>> futures = new ArrayList<>();
-        int ncol = getColumnCount();
-        for ( int icol = 0; icol < ncol; icol++ ) {
-            final int ic = icol;
-            Callable<ColumnStore> reader = () -> readColumn( ic );
-            futures.add( executor.submit( reader ) );
-        }
-
-        /* Read the column data concurrently.  This will block until all
-         * the results are in. */
-        List<ColumnStore> colStores = new ArrayList<>();
-        try {
-            for ( Future<ColumnStore> future : futures ) {
-                colStores.add( future.get() );
-            }
-        }
-        catch ( InterruptedException | ExecutionException e ) {
-            executor.shutdownNow();
-            deleteFiles();
-            throw new IOException( "Parallel read failure", e );
-        }
-        executor.shutdown();
-
-        /* Prepare an object that manages access to the cached column data. */
-        ColumnStore[] cstores = colStores.toArray( new ColumnStore[ 0 ] );
-        dataTable_ = new ColumnStoreStarTable( this, getRowCount(), cstores );
+        nthread_ = nthread;
+        colStores_ = new ColumnStore[ getColumnCount() ];
     }
 
     public boolean isRandom() {
@@ -118,23 +102,33 @@ public class CachedParquetStarTable extends ParquetStarTable {
     }
 
     public RowSequence getRowSequence() throws IOException {
-        return dataTable_.getRowSequence();
+        return getDataTable().getRowSequence();
     }
 
     public RowAccess getRowAccess() throws IOException {
-        return dataTable_.getRowAccess();
+        return getDataTable().getRowAccess();
     }
 
     public RowSplittable getRowSplittable() throws IOException {
-        return dataTable_.getRowSplittable();
+        return getDataTable().getRowSplittable();
     }
 
     public Object getCell( long irow, int icol ) throws IOException {
-        return dataTable_.getCell( irow, icol );
+        return getDataTable().getCell( irow, icol );
     }
 
     public Object[] getRow( long irow ) throws IOException {
-        return dataTable_.getRow( irow );
+        return getDataTable().getRow( irow );
+    }
+
+    /**
+     * Returns a view of this table containing only the given columns.
+     * If the data for some of those columns has not yet been cached,
+     * it will be read when the view's data is first accessed,
+     * but columns not in the view will not be read.
+     */
+    public StarTable projectColumns( int[] colMap ) {
+        return new ProjectedTable( colMap );
     }
 
     @Override
@@ -147,6 +141,86 @@ public class CachedParquetStarTable extends ParquetStarTable {
         }
     }
 
+    /**
+     * Returns a table giving access to the cached data for all columns,
+     * reading it if necessary.
+     *
+     * @return   table containing cached data
+     */
+    private ColumnStoreStarTable getDataTable() throws IOException {
+        ColumnStoreStarTable dataTable = dataTable_;
+        if ( dataTable == null ) {
+            synchronized ( this ) {
+                dataTable = dataTable_;
+                if ( dataTable == null ) {
+                    int ncol = getColumnCount();
+                    int[] icols = new int[ ncol ];
+                    for ( int ic = 0; ic < ncol; ic++ ) {
+                        icols[ ic ] = ic;
+                    }
+                    dataTable =
+                        new ColumnStoreStarTable( this, getRowCount(),
+                                                  cacheColumns( icols ) );
+                    dataTable_ = dataTable;
+                }
+            }
+        }
+        return dataTable;
+    }
+
+    /**
+     * Returns cached data for a given list of columns,
+     * reading any that have not already been cached.
+     *
+     * @param  icols  column indices, may contain duplicates
+     * @return   array of column stores, one for each element of
+     *           <code>icols</code>
+     */
+    private synchronized ColumnStore[] cacheColumns( int[] icols )
+            throws IOException {
+
+        /* Submit one job to read each uncached column.  Parquet is
+         * column-oriented, so this makes sense in terms of file access.
+         * The ExecutorService will manage things so that only a fixed
+         * number of these jobs is executing concurrently. */
+        List<Integer> readCols = new ArrayList<>();
+        for ( int icol : icols ) {
+            if ( colStores_[ icol ] == null && ! readCols.contains( icol ) ) {
+                readCols.add( icol );
+            }
+        }
+        if ( readCols.size() > 0 ) {
+            logger_.info( "Caching " + readCols.size() + "/"
+                        + getColumnCount() + " parquet columns with "
+                        + nthread_ + " threads" );
+            ExecutorService executor =
+                Executors.newFixedThreadPool( nthread_ );
+            List<Future<ColumnStore>> futures = new ArrayList<>();
+            for ( int icol : readCols ) {
+                Callable<ColumnStore> reader = () -> readColumn( icol );
+                futures.add( executor.submit( reader ) );
+            }
+
+            /* Read the column data concurrently.  This will block until all
+             * the results are in. */
+            try {
+                for ( int i = 0; i < readCols.size(); i++ ) {
+                    colStores_[ readCols.get( i ) ] = futures.get( i ).get();
+                }
+            }
+            catch ( InterruptedException | ExecutionException e ) {
+                executor.shutdownNow();
+                throw new IOException( "Parallel read failure", e );
+            }
+            executor.shutdown();
+        }
+        ColumnStore[] stores = new ColumnStore[ icols.length ];
+        for ( int i = 0; i < icols.length; i++ ) {
+            stores[ i ] = colStores_[ icols[ i ] ];
+        }
+        return stores;
+    }
+
     /**
      * Reads the contents of a column from this table's parquet file
      * into a random-access data structure.
@@ -264,6 +338,78 @@ public class CachedParquetStarTable extends ParquetStarTable {
         }
     }
 
+    /**
+     * Column-projected view of this table.
+     */
+    private class ProjectedTable extends WrapperStarTable {
+
+        private final int[] colMap_;
+        private volatile ColumnStoreStarTable viewData_;
+
+        /**
+         * Constructor.
+         *
+         * @param  colMap  indices of this table's columns in the view
+         */
+        ProjectedTable( int[] colMap ) {
+            super( new ColumnPermutedStarTable( CachedParquetStarTable.this,
+                                                colMap ) );
+            colMap_ = colMap.clone();
+        }
+
+        /**
+         * Returns a table giving access to the cached data for the
+         * columns of this view, reading it if necessary.
+         *
+         * @return  table containing cached data
+         */
+        private ColumnStoreStarTable getViewData() throws IOException {
+            ColumnStoreStarTable viewData = viewData_;
+            if ( viewData == null ) {
+                synchronized ( this ) {
+                    viewData = viewData_;
+                    if ( viewData == null ) {
+                        viewData =
+                            new ColumnStoreStarTable( this, getRowCount(),
+                                                      cacheColumns( colMap_ ) );
+                        viewData_ = viewData;
+                    }
+                }
+            }
+            return viewData;
+        }
+
+        @Override
+        public boolean isRandom() {
+            return true;
+        }
+
+        @Override
+        public RowSequence getRowSequence() throws IOException {
+            return getViewData().getRowSequence();
+        }
+
+        @Override
+        public RowAccess getRowAccess() throws IOException {
+            return getViewData().getRowAccess();
+        }
+
+        @Override
+        public RowSplittable getRowSplittable() throws IOException {
+            return getViewData().getRowSplittable();
+        }
+
+        @Override
+        public Object getCell( long irow, int icol ) throws IOException {
+            return getViewData().getCell( irow, icol );
+        }
+
+        @Override
+        public Object[] getRow( long irow ) throws IOException {
+            return getViewData().getRow( irow );
+        }
+    }
+
     /**
      * Returns the default number of read threads if not specified explicitly.
      *
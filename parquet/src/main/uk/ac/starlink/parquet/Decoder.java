@@ -47,4 +47,35 @@ public interface Decoder<T> {
      * @return   value of the most recently read column cell
      */
     T getValue();
+
+    /**
+     * Returns the value that has been read into this reader as a
+     * floating point number.
+     * Null and non-numeric values give NaN.
+     * The default implementation unwraps the result of {@link #getValue},
+     * but implementations for primitive numeric columns may override it
+     * to avoid object creation.
+     *
+     * @return   numeric value of the most recently read column cell
+     */
+    default double getDoubleValue() {
+        T value = getValue();
+        return value instanceof Number ? ((Number) value).doubleValue()
+                                       : Double.NaN;
+    }
+
+    /**
+     * Returns the value that has been read into this reader as an integer.
+     * Null and non-numeric values give zero.
+     * The default implementation unwraps the result of {@link #getValue},
+     * but implementations for primitive numeric columns may override it
+     * to avoid object creation.
+     *
+     * @return   numeric value of the most recently read column cell
+     */
+    default long getLongValue() {
+        T value = getValue();
+        return value instanceof Number ? ((Number) value).longValue()
+                                       : 0L;
+    }
 }
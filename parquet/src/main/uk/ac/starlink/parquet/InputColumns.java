@@ -5,8 +5,12 @@ import java.util.BitSet;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
 import java.util.function.Function;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnReader;
 import org.apache.parquet.schema.LogicalTypeAnnotation;
@@ -231,43 +235,49 @@ public class InputColumns {
                     isSigned = true;
                 }
                 if ( nbit == 8 && isSigned ) {
-                    return new ScalarCol<Byte>(
+                    return new LongScalarCol<Byte>(
                                Byte.class,
-                               rdr -> Byte.valueOf( (byte) rdr.getInteger() ) );
+                               rdr -> (byte) rdr.getInteger(),
+                               lval -> Byte.valueOf( (byte) lval ) );
                 }
                 else if ( nbit == 16 && isSigned ||
                           nbit == 8 && ! isSigned ) {
-                    return new ScalarCol<Short>(
+                    return new LongScalarCol<Short>(
                                Short.class,
-                               rdr -> Short.valueOf( (short) rdr.getInteger()));
+                               rdr -> (short) rdr.getInteger(),
+                               lval -> Short.valueOf( (short) lval ) );
                 }
                 else if ( nbit == 32 && isSigned ||
                           nbit == 16 && ! isSigned ) {
-                    return new ScalarCol<Integer>(
+                    return new LongScalarCol<Integer>(
                                Integer.class,
-                               rdr -> Integer.valueOf( rdr.getInteger() ) );
+                               rdr -> rdr.getInteger(),
+                               lval -> Integer.valueOf( (int) lval ) );
                 }
                 else if ( nbit == 32 || ! isSigned ) {
-                    return new ScalarCol<Long>(
+                    return new LongScalarCol<Long>(
                         Long.class,
-                        rdr -> Long.valueOf(
-                               Integer.toUnsignedLong( rdr.getInteger() ) ) );
+                        rdr -> Integer.toUnsignedLong( rdr.getInteger() ),
+                        Long::valueOf );
                 }
                 else {
                     return null;
                 }
             case INT64:
-                return new ScalarCol<Long>(
+                return new LongScalarCol<Long>(
                            Long.class,
-                           rdr -> Long.valueOf( rdr.getLong() ) );
+                           rdr -> rdr.getLong(),
+                           Long::valueOf );
             case FLOAT:
-                return new ScalarCol<Float>(
+                return new DoubleScalarCol<Float>(
                            Float.class,
-                           rdr -> Float.valueOf( rdr.getFloat() ) );
+                           rdr -> rdr.getFloat(),
+                           dval -> Float.valueOf( (float) dval ) );
             case DOUBLE:
-                return new ScalarCol<Double>(
+                return new DoubleScalarCol<Double>(
                            Double.class,
-                           rdr -> Double.valueOf( rdr.getDouble() ) );
+                           rdr -> rdr.getDouble(),
+                           Double::valueOf );
             case BINARY:
                 if ( logType instanceof LogicalTypeAnnotation
                                        .StringLogicalTypeAnnotation ) {
@@ -532,6 +542,133 @@ public class InputColumns {
         }
     }
 
+    /**
+     * Col implementation for scalar integer-valued columns.
+     * Values are held as primitives, and only turned into objects
+     * if the object value is requested.
+     */
+    private static class LongScalarCol<T> implements Col<T> {
+        final Class<T> clazz_;
+        final ToLongFunction<ColumnReader> readFunc_;
+        final LongFunction<T> boxFunc_;
+
+        /**
+         * Constructor.
+         *
+         * @param   clazz  content class
+         * @param   readFunc   takes a primitive value from a ColumnReader
+         * @param   boxFunc    turns a primitive value into a content object
+         */
+        LongScalarCol( Class<T> clazz, ToLongFunction<ColumnReader> readFunc,
+                       LongFunction<T> boxFunc ) {
+            clazz_ = clazz;
+            readFunc_ = readFunc;
+            boxFunc_ = boxFunc;
+        }
+
+        public Class<T> getContentClass() {
+            return clazz_;
+        }
+
+        public Decoder<T> createDecoder() {
+            return new Decoder<T>() {
+                boolean hasValue_;
+                long lval_;
+                T value_;
+                public Class<T> getContentClass() {
+                    return clazz_;
+                }
+                public void clearValue() {
+                    hasValue_ = false;
+                    value_ = null;
+                }
+                public void readItem( ColumnReader crdr ) {
+                    lval_ = readFunc_.applyAsLong( crdr );
+                    hasValue_ = true;
+                }
+                public void readNull() {
+                    assert ! hasValue_;
+                }
+                public T getValue() {
+                    if ( hasValue_ && value_ == null ) {
+                        value_ = boxFunc_.apply( lval_ );
+                    }
+                    return value_;
+                }
+                public double getDoubleValue() {
+                    return hasValue_ ? (double) lval_ : Double.NaN;
+                }
+                public long getLongValue() {
+                    return hasValue_ ? lval_ : 0L;
+                }
+            };
+        }
+    }
+
+    /**
+     * Col implementation for scalar floating point-valued columns.
+     * Values are held as primitives, and only turned into objects
+     * if the object value is requested.
+     */
+    private static class DoubleScalarCol<T> implements Col<T> {
+        final Class<T> clazz_;
+        final ToDoubleFunction<ColumnReader> readFunc_;
+        final DoubleFunction<T> boxFunc_;
+
+        /**
+         * Constructor.
+         *
+         * @param   clazz  content class
+         * @param   readFunc   takes a primitive value from a ColumnReader
+         * @param   boxFunc    turns a primitive value into a content object
+         */
+        DoubleScalarCol( Class<T> clazz,
+                         ToDoubleFunction<ColumnReader> readFunc,
+                         DoubleFunction<T> boxFunc ) {
+            clazz_ = clazz;
+            readFunc_ = readFunc;
+            boxFunc_ = boxFunc;
+        }
+
+        public Class<T> getContentClass() {
+            return clazz_;
+        }
+
+        public Decoder<T> createDecoder() {
+            return new Decoder<T>() {
+                boolean hasValue_;
+                double dval_;
+                T value_;
+                public Class<T> getContentClass() {
+                    return clazz_;
+                }
+                public void clearValue() {
+                    hasValue_ = false;
+                    value_ = null;
+                }
+                public void readItem( ColumnReader crdr ) {
+                    dval_ = readFunc_.applyAsDouble( crdr );
+                    hasValue_ = true;
+                }
+                public void readNull() {
+                    assert ! hasValue_;
+                }
+                public T getValue() {
+                    if ( hasValue_ && value_ == null ) {
+                        value_ = boxFunc_.apply( dval_ );
+                    }
+                    return value_;
+                }
+                public double getDoubleValue() {
+                    return hasValue_ ? dval_ : Double.NaN;
+                }
+                public long getLongValue() {
+                    return hasValue_ ? (long) dval_ : 0L;
+                }
+            };
+        }
+    }
+
     /**
      * Col implementation for array valued columns.
      */
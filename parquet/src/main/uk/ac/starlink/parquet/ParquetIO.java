@@ -8,6 +8,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetFileWriter;
 import org.apache.parquet.hadoop.ParquetWriter;
@@ -21,6 +24,7 @@ import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.TableFormatException;
 import uk.ac.starlink.util.DataSource;
 import uk.ac.starlink.util.FileDataSource;
+import uk.ac.starlink.util.IOFunction;
 import uk.ac.starlink.util.IOSupplier;
 import uk.ac.starlink.util.URLUtils;
 
@@ -51,9 +55,10 @@ class ParquetIO {
                                   ParquetTableBuilder builder,
                                   boolean useCache, boolean tryUrl )
             throws IOException {
+        InputFile inFile = createInputFile( datsrc, tryUrl );
+        String name = datsrc.getName();
         IOSupplier<ParquetFileReader> pfrSupplier =
-            readerSupplier( createInputFile( datsrc, tryUrl ),
-                            datsrc.getName() );
+            readerSupplier( inFile, name );
         if ( useCache ) {
             int nThread = builder.getReadThreadCount();
             if ( nThread <= 0 ) {
@@ -70,7 +75,9 @@ class ParquetIO {
             }
         }
         logger_.info( "No parquet column caching for " + datsrc );
-        return new SequentialParquetStarTable( pfrSupplier );
+        return new SequentialParquetStarTable( pfrSupplier,
+                                               filteredReaderFunction( inFile,
+                                                                       name ) );
     }
 
     /**
@@ -132,6 +139,41 @@ class ParquetIO {
         };
     }
 
+    /**
+     * Returns a function that opens a reader for an input file
+     * which skips data not matching a filter predicate.
+     * The reader's row groups are restricted to those whose
+     * column statistics permit matches, and the
+     * <code>readFilteredRowGroup</code> methods use page-level
+     * column indexes, where present, to skip further rows.
+     * The filter is not applied to individual records.
+     *
+     * @param  inFile  input file
+     * @param  name   filename for reporting
+     * @return   function mapping a filter predicate to a ParquetFileReader
+     */
+    static IOFunction<FilterPredicate,ParquetFileReader>
+            filteredReaderFunction( final InputFile inFile,
+                                    final String name ) {
+        return pred -> {
+            ParquetReadOptions options = ParquetReadOptions.builder()
+                                        .withRecordFilter( FilterCompat
+                                                          .get( pred ) )
+                                        .useStatsFilter( true )
+                                        .useDictionaryFilter( true )
+                                        .useColumnIndexFilter( true )
+                                        .useRecordFilter( false )
+                                        .build();
+            try {
+                return ParquetFileReader.open( inFile, options );
+            }
+            catch ( RuntimeException e ) {
+                throw new TableFormatException( "Trouble opening "
+                                              + name + " as parquet", e );
+            }
+        };
+    }
+
     /**
      * Tries to turn a datasource into a Hadoop input file.
      *
@@ -1,38 +1,89 @@
 package uk.ac.starlink.parquet;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.LongSupplier;
+import java.util.logging.Logger;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnReader;
 import org.apache.parquet.column.ColumnReadStore;
 import org.apache.parquet.column.impl.ColumnReaderImpl;
 import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import uk.ac.starlink.table.ColumnPermutedStarTable;
+import uk.ac.starlink.table.ColumnProjectable;
+import uk.ac.starlink.table.ColumnRange;
+import uk.ac.starlink.table.RangeRestrictable;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.WrapperStarTable;
+import uk.ac.starlink.util.IOFunction;
 import uk.ac.starlink.util.IOSupplier;
 
 /**
  * ParquetStarTable concrete subclass that provides sequential access only.
  *
+ * <p>Column-projected views of this table read data only for
+ * the columns they use.
+ * If a filtered reader function is supplied, this table can also
+ * supply restricted views of itself that avoid reading row groups
+ * and pages whose column statistics show that they contain no rows
+ * within given column value ranges.
+ *
  * @author   Mark Taylor
  * @since    25 Feb 2021
  */
-public class SequentialParquetStarTable extends ParquetStarTable {
+public class SequentialParquetStarTable extends ParquetStarTable
+                                        implements RangeRestrictable,
+                                                   ColumnProjectable {
+
+    private final IOFunction<FilterPredicate,ParquetFileReader> pfrFilterer_;
+
+    /** Largest magnitude of long bound that converts exactly from double. */
+    private static final double MAX_EXACT_LONG = 1L << 53;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.parquet" );
 
     /**
-     * Constructor.
+     * Constructs a table without support for range restriction.
      *
      * @param  pfrSupplier  access to parquet data file
      */
     public SequentialParquetStarTable( IOSupplier<ParquetFileReader>
                                        pfrSupplier )
             throws IOException {
+        this( pfrSupplier, null );
+    }
+
+    /**
+     * Constructs a table with optional support for range restriction.
+     *
+     * @param  pfrSupplier  access to parquet data file
+     * @param  pfrFilterer  opens a reader for the same data file
+     *                      which omits row groups and pages
+     *                      that cannot match a given predicate;
+     *                      may be null
+     */
+    public SequentialParquetStarTable( IOSupplier<ParquetFileReader>
+                                       pfrSupplier,
+                                       IOFunction<FilterPredicate,
+                                                  ParquetFileReader>
+                                       pfrFilterer )
+            throws IOException {
         super( pfrSupplier );
+        pfrFilterer_ = pfrFilterer;
     }
 
     public boolean isRandom() {
@@ -40,11 +91,239 @@ public class SequentialParquetStarTable extends ParquetStarTable {
     }
 
     public RowSequence getRowSequence() throws IOException {
-        return new ParquetRowSplittable();
+        return new ParquetRowSplittable( this::getParquetFileReader, false,
+                                         null );
     }
 
     public RowSplittable getRowSplittable() throws IOException {
-        return new ParquetRowSplittable();
+        return new ParquetRowSplittable( this::getParquetFileReader, false,
+                                         null );
+    }
+
+    /**
+     * Returns a view of this table containing only the given columns.
+     * Row sequences of the view only read data for those columns
+     * from the parquet file.
+     */
+    public StarTable projectColumns( int[] colMap ) {
+        final boolean[] colFlags = new boolean[ getColumnCount() ];
+        for ( int icol : colMap ) {
+            colFlags[ icol ] = true;
+        }
+        final IOSupplier<ParquetFileReader> pfrSupplier =
+            this::getParquetFileReader;
+        StarTable projBase = new WrapperStarTable( this ) {
+            @Override
+            public RowSequence getRowSequence() throws IOException {
+                return new ParquetRowSplittable( pfrSupplier, false,
+                                                 colFlags );
+            }
+            @Override
+            public RowSplittable getRowSplittable() throws IOException {
+                return new ParquetRowSplittable( pfrSupplier, false,
+                                                 colFlags );
+            }
+        };
+        return new ColumnPermutedStarTable( projBase, colMap, false );
+    }
+
+    /**
+     * Returns a table that reads only the row groups and pages
+     * whose statistics indicate that they may contain rows
+     * within the given ranges.
+     * Ranges on columns that cannot be filtered exactly are ignored.
+     * The returned table shares this table's metadata,
+     * but does not provide row indices from its row splittables.
+     */
+    public StarTable restrictRanges( ColumnRange[] ranges )
+            throws IOException {
+        if ( pfrFilterer_ == null ) {
+            return this;
+        }
+        final FilterPredicate pred = createPredicate( ranges );
+        if ( pred == null ) {
+            return this;
+        }
+        final IOSupplier<ParquetFileReader> pfrSupplier =
+            () -> pfrFilterer_.apply( pred );
+        final long nrow;
+        final int nblock;
+        try ( ParquetFileReader pfr = pfrSupplier.get() ) {
+            nrow = pfr.getFilteredRecordCount();
+            nblock = pfr.getRowGroups().size();
+        }
+        logger_.info( "Parquet filter " + pred + " retains " + nrow + "/"
+                    + getRowCount() + " rows in " + nblock + " row groups" );
+        return new WrapperStarTable( this ) {
+            @Override
+            public long getRowCount() {
+                return nrow;
+            }
+            @Override
+            public RowSequence getRowSequence() throws IOException {
+                return new ParquetRowSplittable( pfrSupplier, true, null );
+            }
+            @Override
+            public RowSplittable getRowSplittable() throws IOException {
+                return new ParquetRowSplittable( pfrSupplier, true, null );
+            }
+        };
+    }
+
+    /**
+     * Returns a schema containing only the top-level fields
+     * required to read a given set of columns.
+     *
+     * @param  colFlags  per-column flags indicating required columns
+     * @return   projected schema
+     */
+    private MessageType getProjectedSchema( boolean[] colFlags ) {
+        MessageType schema = getSchema();
+        List<String> fieldNames = new ArrayList<>();
+        for ( int ic = 0; ic < colFlags.length; ic++ ) {
+            if ( colFlags[ ic ] ) {
+                String fname =
+                    getInputColumn( ic ).getColumnDescriptor().getPath()[ 0 ];
+                if ( ! fieldNames.contains( fname ) ) {
+                    fieldNames.add( fname );
+                }
+            }
+        }
+        List<Type> fields = new ArrayList<>();
+        for ( Type field : schema.getFields() ) {
+            if ( fieldNames.contains( field.getName() ) ) {
+                fields.add( field );
+            }
+        }
+        return new MessageType( schema.getName(), fields );
+    }
+
+    /**
+     * Converts column ranges to a parquet filter predicate.
+     * Each range is converted into a condition that is satisfied
+     * by at least all the column values within the range.
+     *
+     * @param  ranges  column ranges
+     * @return   predicate, or null if no ranges could be converted
+     */
+    private FilterPredicate createPredicate( ColumnRange[] ranges ) {
+        List<FilterPredicate> preds = new ArrayList<>();
+        for ( ColumnRange range : ranges ) {
+            int icol = range.getColumnIndex();
+            if ( icol >= 0 && icol < getColumnCount() ) {
+                ColumnDescriptor cdesc =
+                    getInputColumn( icol ).getColumnDescriptor();
+                preds.addAll( createPredicates( cdesc, range ) );
+            }
+        }
+        return preds.stream().reduce( FilterApi::and ).orElse( null );
+    }
+
+    /**
+     * Returns zero or more predicates which between them admit all
+     * the values of a given parquet column that fall within a given range.
+     * Bounds are only converted if they can be represented in the
+     * column's physical type without narrowing the range.
+     *
+     * @param  cdesc  column descriptor
+     * @param  range   value range
+     * @return   list of predicates, possibly empty
+     */
+    private static List<FilterPredicate>
+            createPredicates( ColumnDescriptor cdesc, ColumnRange range ) {
+        List<FilterPredicate> preds = new ArrayList<>();
+        String[] path = cdesc.getPath();
+        PrimitiveType ptype = cdesc.getPrimitiveType();
+        LogicalTypeAnnotation logType = ptype.getLogicalTypeAnnotation();
+
+        /* Only handle top-level scalar columns with names that
+         * FilterApi will not misinterpret as nested paths. */
+        if ( path.length != 1 || path[ 0 ].indexOf( '.' ) >= 0 ||
+             cdesc.getMaxRepetitionLevel() != 0 ) {
+            return preds;
+        }
+        String cname = path[ 0 ];
+        double lo = range.getLow();
+        double hi = range.getHigh();
+        boolean hasLo = lo > Double.NEGATIVE_INFINITY;
+        boolean hasHi = hi < Double.POSITIVE_INFINITY;
+        double ilo = range.isLowInclusive() ? Math.ceil( lo )
+                                            : Math.floor( lo ) + 1;
+        double ihi = range.isHighInclusive() ? Math.floor( hi )
+                                             : Math.ceil( hi ) - 1;
+        if ( Double.isNaN( lo ) || Double.isNaN( hi ) ) {
+            return preds;
+        }
+
+        /* Signed integers; unsigned ones use a different sort order
+         * for their statistics.  Bounds are converted to the nearest
+         * integers inside the range, which is safe since only integer
+         * values can match. */
+        boolean isSignedInt =
+            logType == null ||
+            logType instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation
+            && ((LogicalTypeAnnotation.IntLogicalTypeAnnotation) logType)
+              .isSigned();
+        switch ( ptype.getPrimitiveTypeName() ) {
+            case INT32:
+                if ( isSignedInt ) {
+                    Operators.IntColumn col = FilterApi.intColumn( cname );
+                    if ( hasLo && ilo > Integer.MIN_VALUE ) {
+                        int bound = (int) Math.min( ilo, Integer.MAX_VALUE );
+                        preds.add( FilterApi.gtEq( col, bound ) );
+                    }
+                    if ( hasHi && ihi < Integer.MAX_VALUE ) {
+                        int bound = (int) Math.max( ihi, Integer.MIN_VALUE );
+                        preds.add( FilterApi.ltEq( col, bound ) );
+                    }
+                }
+                break;
+            case INT64:
+                if ( isSignedInt ) {
+                    Operators.LongColumn col = FilterApi.longColumn( cname );
+                    if ( hasLo && Math.abs( lo ) < MAX_EXACT_LONG ) {
+                        preds.add( FilterApi.gtEq( col, (long) ilo ) );
+                    }
+                    if ( hasHi && Math.abs( hi ) < MAX_EXACT_LONG ) {
+                        preds.add( FilterApi.ltEq( col, (long) ihi ) );
+                    }
+                }
+                break;
+
+            /* Float values are compared as doubles, so widen the range
+             * slightly to cover rounding of the bounds. */
+            case FLOAT:
+                if ( logType == null ) {
+                    Operators.FloatColumn col = FilterApi.floatColumn( cname );
+                    if ( hasLo && lo > -Float.MAX_VALUE ) {
+                        float flo = Math.nextDown( (float) lo );
+                        preds.add( FilterApi.gtEq( col, flo ) );
+                    }
+                    if ( hasHi && hi < Float.MAX_VALUE ) {
+                        float fhi = Math.nextUp( (float) hi );
+                        preds.add( FilterApi.ltEq( col, fhi ) );
+                    }
+                }
+                break;
+            case DOUBLE:
+                if ( logType == null ) {
+                    Operators.DoubleColumn col =
+                        FilterApi.doubleColumn( cname );
+                    if ( hasLo ) {
+                        preds.add( range.isLowInclusive()
+                                 ? FilterApi.gtEq( col, lo )
+                                 : FilterApi.gt( col, lo ) );
+                    }
+                    if ( hasHi ) {
+                        preds.add( range.isHighInclusive()
+                                 ? FilterApi.ltEq( col, hi )
+                                 : FilterApi.lt( col, hi ) );
+                    }
+                }
+                break;
+            default:
+        }
+        return preds;
     }
 
     /**
@@ -65,6 +344,9 @@ public class SequentialParquetStarTable extends ParquetStarTable {
      */
     private class ParquetRowSplittable implements RowSplittable {
 
+        final IOSupplier<ParquetFileReader> pfrSupplier_;
+        final boolean isFiltered_;
+        final boolean[] colFlags_;
         final ParquetFileReader pfr_;
         final int ncol_;
         final MessageType schema_;
@@ -78,23 +360,52 @@ public class SequentialParquetStarTable extends ParquetStarTable {
 
         /**
          * Constructs a splittable over the whole table.
+         *
+         * @param  pfrSupplier  supplies readers for the data file
+         * @param  isFiltered  true if the readers apply a filter,
+         *                     in which case row groups are read using
+         *                     the filtered read methods
+         * @param  colFlags  per-column flags indicating which columns
+         *                   will be read, or null for all columns;
+         *                   cells of unflagged columns read as null
          */
-        public ParquetRowSplittable() throws IOException {
-            this( -1, -1 );
+        public ParquetRowSplittable( IOSupplier<ParquetFileReader>
+                                     pfrSupplier, boolean isFiltered,
+                                     boolean[] colFlags )
+                throws IOException {
+            this( pfrSupplier, isFiltered, colFlags, -1, -1 );
         }
 
         /**
          * Constructor for internal use, constructs a sub-splittable.
          *
+         * @param  pfrSupplier  supplies readers for the data file
+         * @param  isFiltered  true if the readers apply a filter
+         * @param  colFlags  per-column read flags, or null for all columns
          * @param  iblock  index before first block to be processed
          * @param  iblockEnd  index after last block to be processed,
          *                    or -1 for last block in table
          */
-        private ParquetRowSplittable( int iblock, int iblockEnd )
+        private ParquetRowSplittable( IOSupplier<ParquetFileReader>
+                                      pfrSupplier, boolean isFiltered,
+                                      boolean[] colFlags,
+                                      int iblock, int iblockEnd )
                 throws IOException {
-            pfr_ = getParquetFileReader();
+            pfrSupplier_ = pfrSupplier;
+            isFiltered_ = isFiltered;
+            colFlags_ = colFlags;
+            pfr_ = pfrSupplier.get();
             ncol_ = getColumnCount();
-            schema_ = getSchema();
+
+            /* Restrict the reader to the required columns if possible,
+             * so that data for the others is not read from the file. */
+            if ( colFlags == null ) {
+                schema_ = getSchema();
+            }
+            else {
+                schema_ = getProjectedSchema( colFlags );
+                pfr_.setRequestedSchema( schema_ );
+            }
             blockSizes_ = getBlockSizes( pfr_ );
             irows_ = new long[ ncol_ ];
             iblock_ = -1;
@@ -104,7 +415,9 @@ public class SequentialParquetStarTable extends ParquetStarTable {
         }
 
         public LongSupplier rowIndex() {
-            return () -> irow_;
+
+            /* Row positions within filtered row groups are not known. */
+            return isFiltered_ ? null : () -> irow_;
         }
 
         public ParquetRowSplittable split() {
@@ -112,7 +425,9 @@ public class SequentialParquetStarTable extends ParquetStarTable {
                 int mid = ( 1 + iblock_ + iblockEnd_ ) / 2;
                 ParquetRowSplittable split;
                 try {
-                    split = new ParquetRowSplittable( iblock_, mid );
+                    split = new ParquetRowSplittable( pfrSupplier_,
+                                                      isFiltered_, colFlags_,
+                                                      iblock_, mid );
                     skipBlocks( mid - 1 - iblock_ );
                 }
                 catch ( IOException e ) {
@@ -135,7 +450,9 @@ public class SequentialParquetStarTable extends ParquetStarTable {
 
         public boolean next() throws IOException {
             assert irow_ < irGroupEnd_;
-            if ( irow_ + 1 == irGroupEnd_ ) {
+
+            /* Loop in case of row groups that turn out to be empty. */
+            while ( irow_ + 1 == irGroupEnd_ ) {
                 assert iblock_ < iblockEnd_;
                 if ( iblock_ + 1 == iblockEnd_ ) {
                     return false;
@@ -148,6 +465,35 @@ public class SequentialParquetStarTable extends ParquetStarTable {
         }
 
         public Object getCell( int icol ) {
+            ColAccess<?> colAccess = getColAccess( icol );
+            return colAccess == null ? null : colAccess.read();
+        }
+
+        public double getDouble( int icol ) {
+            ColAccess<?> colAccess = getColAccess( icol );
+            return colAccess == null ? Double.NaN : colAccess.readDouble();
+        }
+
+        public long getLong( int icol ) {
+            ColAccess<?> colAccess = getColAccess( icol );
+            return colAccess == null ? 0L : colAccess.readLong();
+        }
+
+        public int getInt( int icol ) {
+            return (int) getLong( icol );
+        }
+
+        /**
+         * Returns the column access object for a given column,
+         * positioned ready to read the cell in the current row.
+         *
+         * @param  icol  column index
+         * @return  column access, or null if the column is not being read
+         */
+        private ColAccess<?> getColAccess( int icol ) {
+            if ( colFlags_ != null && ! colFlags_[ icol ] ) {
+                return null;
+            }
             ColAccess<?> colAccess;
             try {
                 colAccess = colAccesses_[ icol ];
@@ -169,7 +515,7 @@ public class SequentialParquetStarTable extends ParquetStarTable {
                 colAccess.clear();
             }
             irows_[ icol ] = irow_;
-            return colAccess.read();
+            return colAccess;
         }
 
         public Object[] getRow() {
@@ -189,18 +535,38 @@ public class SequentialParquetStarTable extends ParquetStarTable {
          * ready to supply its content.
          */
         private boolean nextReadStore() throws IOException {
-            PageReadStore pageStore = pfr_.readNextRowGroup();
-            if ( pageStore == null ) {
-                return false;
+            int ib = iblock_ + 1;
+            final PageReadStore pageStore;
+            if ( isFiltered_ ) {
+
+                /* The filtered reader rejects empty blocks,
+                 * and may return a page store with no rows
+                 * if the column indexes exclude all of them. */
+                pageStore = blockSizes_[ ib ] == 0
+                          ? null
+                          : pfr_.readFilteredRowGroup( ib );
+            }
+            else {
+                pageStore = pfr_.readNextRowGroup();
+                if ( pageStore == null ) {
+                    return false;
+                }
+                assert pageStore.getRowCount() == blockSizes_[ ib ];
+            }
+            iblock_ = ib;
+            long nr = pageStore == null ? 0 : pageStore.getRowCount();
+            irGroupEnd_ += nr;
+            if ( nr == 0 ) {
+                colAccesses_ = new ColAccess<?>[ ncol_ ];
+                return true;
             }
-            iblock_++;
-            assert pageStore.getRowCount() == blockSizes_[ iblock_ ];
-            irGroupEnd_ += pageStore.getRowCount();
             ColumnReadStore crstore = getColumnReadStore( pageStore, schema_ );
             colAccesses_ = new ColAccess<?>[ ncol_ ];
             for ( int ic = 0; ic < ncol_; ic++ ) {
-                colAccesses_[ ic ] =
-                    createColAccess( crstore, getInputColumn( ic ) );
+                if ( colFlags_ == null || colFlags_[ ic ] ) {
+                    colAccesses_[ ic ] =
+                        createColAccess( crstore, getInputColumn( ic ) );
+                }
             }
             return true;
         }
@@ -213,7 +579,10 @@ public class SequentialParquetStarTable extends ParquetStarTable {
          */
         private void skipBlocks( int nb ) throws IOException {
             for ( int ib = 0; ib < nb; ib++ ) {
-                if ( ! pfr_.skipNextRowGroup() ) {
+
+                /* Filtered reads are by block index, so there is no
+                 * reader position to advance. */
+                if ( ! isFiltered_ && ! pfr_.skipNextRowGroup() ) {
                     throw new IOException( "Failed to skip row group" );
                 }
                 iblock_++;
@@ -257,9 +626,11 @@ public class SequentialParquetStarTable extends ParquetStarTable {
                                    };
         return new ColAccess<T>() {
             private boolean hasValue_;
+            private boolean hasObject_;
             private T value_;
             public void clear() {
                 hasValue_ = false;
+                hasObject_ = false;
             }
             public void skip( long n ) {
                 for ( long i = 0; i < n; i++ ) {
@@ -277,6 +648,22 @@ public class SequentialParquetStarTable extends ParquetStarTable {
                 }
             }
             public T read() {
+                load();
+                if ( ! hasObject_ ) {
+                    value_ = decoder.getValue();
+                    hasObject_ = true;
+                }
+                return value_;
+            }
+            public double readDouble() {
+                load();
+                return decoder.getDoubleValue();
+            }
+            public long readLong() {
+                load();
+                return decoder.getLongValue();
+            }
+            private void load() {
                 if ( ! hasValue_ ) {
                     decoder.clearValue();
                     do {
@@ -289,10 +676,8 @@ public class SequentialParquetStarTable extends ParquetStarTable {
                         }
                         crdr.consume();
                     } while ( crdr.getCurrentRepetitionLevel() > 0 );
-                    value_ = decoder.getValue();
                     hasValue_ = true;
                 }
-                return value_;
             }
         };
     }
@@ -322,5 +707,21 @@ public class SequentialParquetStarTable extends ParquetStarTable {
          * @return  entry value
          */
         T read();
+
+        /**
+         * Returns the current value as a floating point number,
+         * reading it from the column data if it has not already been read.
+         *
+         * @return  numeric entry value, or NaN
+         */
+        double readDouble();
+
+        /**
+         * Returns the current value as an integer,
+         * reading it from the column data if it has not already been read.
+         *
+         * @return  numeric entry value, or zero
+         */
+        long readLong();
     }
 }
@@ -9,6 +9,8 @@ import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
 import org.apache.parquet.io.InputFile;
 import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnRange;
+import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.util.DataSource;
@@ -72,6 +74,67 @@ public class ExampleTest extends TestCase {
         ex.close();
     }
 
+    public void testProject() throws IOException {
+        File file = URLUtils
+                   .urlToFile( ExampleTest.class
+                              .getResource( "example-none.parquet" )
+                              .toString() );
+        IOSupplier<ParquetFileReader> pfrSupplier = getPfrSupplier( file );
+        int[] colMap = { 3, 0, 3 };
+        ParquetStarTable[] pexs = {
+            new SequentialParquetStarTable( pfrSupplier ),
+            new CachedParquetStarTable( pfrSupplier, 2 ),
+        };
+        for ( ParquetStarTable pex : pexs ) {
+            StarTable proj =
+                Tables.randomTable( Tables.projectColumns( pex, colMap ) );
+            assertEquals( 3, proj.getColumnCount() );
+            assertEquals( 3, proj.getRowCount() );
+            assertColumnLike( proj.getColumnInfo( 0 ), "strs", String.class );
+            assertColumnLike( proj.getColumnInfo( 1 ), "ints", Long.class );
+            assertArrayEquals( new Object[] { "baz", Long.valueOf( 3 ),
+                                              "baz" },
+                               proj.getRow( 2 ) );
+            assertArrayEquals( new Object[] { null, Long.valueOf( 2 ), null },
+                               proj.getRow( 1 ) );
+            pex.close();
+        }
+    }
+
+    public void testRestrict() throws IOException {
+        File file = URLUtils
+                   .urlToFile( ExampleTest.class
+                              .getResource( "example-none.parquet" )
+                              .toString() );
+        SequentialParquetStarTable pex =
+            new SequentialParquetStarTable(
+                getPfrSupplier( file ),
+                ParquetIO.filteredReaderFunction( new FileInputFile( file ),
+                                                  file.getName() ) );
+        assertSame( pex, pex.restrictRanges( new ColumnRange[ 0 ] ) );
+        assertSame( pex, pex.restrictRanges( new ColumnRange[] {
+            new ColumnRange( 3, 0, true, 1, true ),
+        } ) );
+
+        /* Statistics show that the only row group contains matches. */
+        StarTable all = pex.restrictRanges( new ColumnRange[] {
+            new ColumnRange( 0, 2, true, Double.POSITIVE_INFINITY, false ),
+        } );
+        assertEquals( 3, all.getRowCount() );
+        assertEquals( 3, Tables.randomTable( all ).getRowCount() );
+        assertEquals( "ints", all.getColumnInfo( 0 ).getName() );
+
+        /* Statistics show that no row group contains matches. */
+        StarTable none = pex.restrictRanges( new ColumnRange[] {
+            new ColumnRange( 0, 3, false, Double.POSITIVE_INFINITY, false ),
+        } );
+        assertEquals( 0, none.getRowCount() );
+        RowSequence rseq = none.getRowSequence();
+        assertFalse( rseq.next() );
+        rseq.close();
+        pex.close();
+    }
+
     private void assertColumnLike( ColumnInfo cinfo,
                                    String name, Class<?> clazz ) {
         assertEquals( name, cinfo.getName() );
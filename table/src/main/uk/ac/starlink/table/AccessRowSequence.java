@@ -54,6 +54,22 @@ public class AccessRowSequence implements RowSequence {
         }
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return racc_.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return racc_.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return racc_.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return racc_.isNull( icol );
+    }
+
     public void close() throws IOException {
         racc_.close();
     }
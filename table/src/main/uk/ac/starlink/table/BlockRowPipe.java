@@ -0,0 +1,261 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Streaming <code>RowPipe</code> implementation which provides a one-shot
+ * table, and passes rows from the writer to the reader in blocks.
+ *
+ * <p>This behaves like {@link OnceRowPipe}, but rather than
+ * synchronizing on every row written and read, the writing thread
+ * accumulates rows in a block and hands each block over to the
+ * reading thread in a single operation, so the cost of thread
+ * coordination is amortized over many rows.
+ * To avoid holding up a reader that is waiting for data,
+ * a partial block is passed on if the reader is found to be idle.
+ *
+ * <p>As for OnceRowPipe, the returned table can only return a
+ * <code>RowSequence</code> once.
+ * Any calls beyond the first to
+ * <code>waitForStarTable().getRowSequence()</code>
+ * will throw a {@link uk.ac.starlink.table.UnrepeatableSequenceException}.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class BlockRowPipe implements RowPipe, RowSequence {
+
+    private final int blockSize_;
+    private final BlockingQueue<Object[][]> blockQueue_;
+    private final CountDownLatch tableLatch_;
+    private StarTable table_;
+    private volatile IOException error_;
+    private volatile boolean seqClosed_;
+    private volatile boolean readerWaiting_;
+
+    /* Writer thread state. */
+    private Object[][] inBlock_;
+    private int inCount_;
+
+    /* Reader thread state. */
+    private Object[][] outBlock_;
+    private int outIndex_;
+    private Object[] seqRow_;
+    private boolean seqEnded_;
+
+    private static final Object[][] END_ROWS = new Object[ 0 ][];
+    private static final Object[][] WAKE_UP = new Object[ 0 ][];
+
+    /**
+     * Constructs a new streaming row store with a default buffer size.
+     */
+    public BlockRowPipe() {
+        this( 256, 16 );
+    }
+
+    /**
+     * Constructs a new streaming row store with given buffer sizes.
+     *
+     * @param  blockSize  maximum number of rows passed in each block
+     * @param  nblock  the maximum number of blocks buffered between
+     *         write and read before <code>acceptRow</code> will block
+     */
+    public BlockRowPipe( int blockSize, int nblock ) {
+        blockSize_ = blockSize;
+        blockQueue_ = new ArrayBlockingQueue<Object[][]>( nblock + 1 );
+        tableLatch_ = new CountDownLatch( 1 );
+        inBlock_ = new Object[ blockSize ][];
+    }
+
+    public void setError( IOException error ) {
+        if ( error_ == null ) {
+            error_ = error;
+        }
+
+        /* Release a writer blocked on a full queue, and a reader
+         * blocked on an empty one. */
+        blockQueue_.clear();
+        blockQueue_.offer( WAKE_UP );
+    }
+
+    public void acceptMetadata( StarTable meta ) {
+        table_ = new WrapperStarTable( meta ) {
+            RowSequence rseq_ = BlockRowPipe.this;
+            public boolean isRandom() {
+                return false;
+            }
+            public RowAccess getRowAccess() {
+                throw new UnsupportedOperationException();
+            }
+            public RowSplittable getRowSplittable() throws IOException {
+                return Tables.getDefaultRowSplittable( this );
+            }
+            public synchronized RowSequence getRowSequence()
+                    throws IOException {
+                if ( rseq_ == null ) {
+                    throw new UnrepeatableSequenceException(
+                                  "Can't re-read data from stream");
+                }
+                else {
+                    checkError();
+                    RowSequence rseq = rseq_;
+                    rseq_ = null;
+                    return rseq;
+                }
+            }
+        };
+        tableLatch_.countDown();
+    }
+
+    public void acceptRow( Object[] row ) throws IOException {
+        if ( seqClosed_ ) {
+            throw new IOException( "Stream closed at reading end" );
+        }
+        checkError();
+        inBlock_[ inCount_++ ] = row;
+        if ( inCount_ == blockSize_ || readerWaiting_ ) {
+            flushBlock();
+        }
+    }
+
+    public void endRows() throws IOException {
+        if ( inCount_ > 0 ) {
+            flushBlock();
+        }
+        putBlock( END_ROWS );
+        if ( table_ == null ) {
+            setError( new IOException( "No data in table" ) );
+        }
+        tableLatch_.countDown();
+    }
+
+    /**
+     * Returns a non-random table whose first call to
+     * <code>getRowSequence</code> will return a sequence that steps through
+     * the same rows which are being written to this sink.
+     * The <code>getRowSequence</code> method can only be called once;
+     * any subsequent attempts to call it will result in a
+     * {@link UnrepeatableSequenceException}.
+     * This method will block until {@link #acceptMetadata} has been called.
+     *
+     * @return   one-shot streaming sequential table
+     * @throws   IOException  if one has previously been set using
+     *           {@link #setError}
+     */
+    public StarTable waitForStarTable() throws IOException {
+        try {
+            tableLatch_.await();
+        }
+        catch ( InterruptedException e ) {
+            throw (IOException) new IOException( "Thread interrupted" )
+                               .initCause( e );
+        }
+        checkError();
+        return table_;
+    }
+
+    public boolean next() throws IOException {
+        checkError();
+        while ( ! seqEnded_ ) {
+            if ( outBlock_ != null && outIndex_ < outBlock_.length ) {
+                seqRow_ = outBlock_[ outIndex_++ ];
+                return true;
+            }
+            Object[][] block = blockQueue_.poll();
+            if ( block == null ) {
+                readerWaiting_ = true;
+                try {
+                    block = blockQueue_.take();
+                }
+                catch ( InterruptedException e ) {
+                    throw (IOException) new IOException( "Thread interrupted" )
+                                       .initCause( e );
+                }
+                finally {
+                    readerWaiting_ = false;
+                }
+            }
+            checkError();
+            if ( block == END_ROWS ) {
+                seqEnded_ = true;
+            }
+            else if ( block != WAKE_UP ) {
+                outBlock_ = block;
+                outIndex_ = 0;
+            }
+        }
+        return false;
+    }
+
+    public Object[] getRow() throws IOException {
+        checkError();
+        if ( seqRow_ != null ) {
+            return seqRow_;
+        }
+        else {
+            throw new IllegalStateException( "next() has not been called yet" );
+        }
+    }
+
+    public Object getCell( int icol ) throws IOException {
+        return getRow()[ icol ];
+    }
+
+    public void close() throws IOException {
+
+        /* Release a writer blocked on a full queue; its next write
+         * will fail. */
+        seqClosed_ = true;
+        blockQueue_.clear();
+        checkError();
+    }
+
+    /**
+     * Passes the rows accumulated so far by the writer to the reader.
+     */
+    private void flushBlock() throws IOException {
+        final Object[][] block;
+        if ( inCount_ == blockSize_ ) {
+            block = inBlock_;
+            inBlock_ = new Object[ blockSize_ ][];
+        }
+        else {
+            block = Arrays.copyOf( inBlock_, inCount_ );
+            Arrays.fill( inBlock_, 0, inCount_, null );
+        }
+        inCount_ = 0;
+        putBlock( block );
+    }
+
+    /**
+     * Adds a block to the queue, blocking if it is full.
+     *
+     * @param  block  block to add
+     */
+    private void putBlock( Object[][] block ) throws IOException {
+        try {
+            blockQueue_.put( block );
+        }
+        catch ( InterruptedException e ) {
+            throw (IOException) new IOException ( "Thread interrupted" )
+                               .initCause( e );
+        }
+    }
+
+    /**
+     * Throws an IOException if there is one pending.
+     */
+    private void checkError() throws IOException {
+        if ( error_ != null ) {
+            String msg = error_.getMessage();
+            if ( msg == null || msg.length() == 0 ) {
+                msg = error_.toString();
+            }
+            throw (IOException) new IOException( msg ).initCause( error_ );
+        }
+    }
+}
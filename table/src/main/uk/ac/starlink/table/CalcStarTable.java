@@ -115,9 +115,18 @@ public abstract class CalcStarTable<C> extends AbstractStarTable {
      
         private C calc_;
         private final RowSplittable baseSplit_;
+        private final RowData calcData_;
         CalcRowSplittable( RowSplittable base ) {
             super( base );
             baseSplit_ = base;
+            calcData_ = new RowData() {
+                public Object getCell( int icol ) throws IOException {
+                    return getCalculatedCell( getCalculation(), icol );
+                }
+                public Object[] getRow() throws IOException {
+                    return getCalculatedRow( getCalculation() );
+                }
+            };
         }
         public long splittableSize() {
             return baseSplit_.splittableSize();
@@ -132,11 +141,27 @@ public abstract class CalcStarTable<C> extends AbstractStarTable {
         }
         @Override
         public Object getCell( int icol ) throws IOException {
-            return getCalculatedCell( getCalculation(), icol );
+            return calcData_.getCell( icol );
         }
         @Override
         public Object[] getRow() throws IOException {
-            return getCalculatedRow( getCalculation() );
+            return calcData_.getRow();
+        }
+        @Override
+        public double getDouble( int icol ) throws IOException {
+            return calcData_.getDouble( icol );
+        }
+        @Override
+        public long getLong( int icol ) throws IOException {
+            return calcData_.getLong( icol );
+        }
+        @Override
+        public int getInt( int icol ) throws IOException {
+            return calcData_.getInt( icol );
+        }
+        @Override
+        public boolean isNull( int icol ) throws IOException {
+            return calcData_.isNull( icol );
         }
         public CalcRowSplittable split() {
             RowSplittable spl = baseSplit_.split();
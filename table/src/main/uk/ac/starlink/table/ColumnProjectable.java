@@ -0,0 +1,35 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+
+/**
+ * Mixin interface for tables which can provide a view containing
+ * only some of their columns more efficiently than by simply
+ * wrapping themselves.
+ * This is typically implemented by tables backed by column-oriented
+ * file formats, where reading, decoding or caching the data for
+ * unwanted columns can be avoided altogether.
+ *
+ * <p>Callers will usually want to use
+ * {@link Tables#projectColumns Tables.projectColumns}
+ * rather than invoking this directly.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public interface ColumnProjectable extends StarTable {
+
+    /**
+     * Returns a table containing a selection of this table's columns.
+     * The result must behave in the same way as
+     * <code>new&nbsp;ColumnPermutedStarTable(this,colMap)</code>;
+     * in particular its column metadata objects are those of this table,
+     * and it should be treated as a view of this table,
+     * so that closing it closes this table.
+     *
+     * @param  colMap  array of column indices in this table,
+     *                 one for each column of the result
+     * @return  table with columns selected from this one
+     */
+    StarTable projectColumns( int[] colMap ) throws IOException;
+}
@@ -0,0 +1,112 @@
+package uk.ac.starlink.table;
+
+/**
+ * Describes a restriction on the numeric value of a table column.
+ * A value is within the range if it is greater than (or equal to)
+ * the lower bound and less than (or equal to) the upper bound.
+ * Blank and NaN values are never within the range.
+ * Infinite bounds may be used to indicate that the range is
+ * unbounded on one side.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ * @see      RangeRestrictable
+ */
+public class ColumnRange {
+
+    private final int icol_;
+    private final double lo_;
+    private final boolean loInclusive_;
+    private final double hi_;
+    private final boolean hiInclusive_;
+
+    /**
+     * Constructor.
+     *
+     * @param  icol  index of the column to which the range applies
+     * @param  lo   lower bound, or negative infinity
+     * @param  loInclusive  true if the lower bound is part of the range
+     * @param  hi   upper bound, or positive infinity
+     * @param  hiInclusive  true if the upper bound is part of the range
+     */
+    public ColumnRange( int icol, double lo, boolean loInclusive,
+                        double hi, boolean hiInclusive ) {
+        icol_ = icol;
+        lo_ = lo;
+        loInclusive_ = loInclusive;
+        hi_ = hi;
+        hiInclusive_ = hiInclusive;
+    }
+
+    /**
+     * Returns the index of the column to which this range applies.
+     *
+     * @return  column index
+     */
+    public int getColumnIndex() {
+        return icol_;
+    }
+
+    /**
+     * Returns the lower bound.
+     *
+     * @return  lower bound, may be negative infinity
+     */
+    public double getLow() {
+        return lo_;
+    }
+
+    /**
+     * Indicates whether the lower bound is part of the range.
+     *
+     * @return  true for &gt;=, false for &gt;
+     */
+    public boolean isLowInclusive() {
+        return loInclusive_;
+    }
+
+    /**
+     * Returns the upper bound.
+     *
+     * @return  upper bound, may be positive infinity
+     */
+    public double getHigh() {
+        return hi_;
+    }
+
+    /**
+     * Indicates whether the upper bound is part of the range.
+     *
+     * @return  true for &lt;=, false for &lt;
+     */
+    public boolean isHighInclusive() {
+        return hiInclusive_;
+    }
+
+    /**
+     * Indicates whether a given value falls within this range.
+     *
+     * @param  value  value to test
+     * @return  true iff value is within range
+     */
+    public boolean contains( double value ) {
+        return ( loInclusive_ ? value >= lo_ : value > lo_ )
+            && ( hiInclusive_ ? value <= hi_ : value < hi_ );
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer sbuf = new StringBuffer();
+        if ( lo_ > Double.NEGATIVE_INFINITY ) {
+            sbuf.append( lo_ )
+                .append( loInclusive_ ? " <= " : " < " );
+        }
+        sbuf.append( "$" )
+            .append( icol_ + 1 );
+        if ( hi_ < Double.POSITIVE_INFINITY ) {
+            sbuf.append( hiInclusive_ ? " <= " : " < " )
+                .append( hi_ );
+        }
+        return sbuf.toString();
+    }
+}
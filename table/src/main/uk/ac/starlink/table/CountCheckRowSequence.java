@@ -99,6 +99,22 @@ public class CountCheckRowSequence implements RowSequence {
         return rowData_.getRow();
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return rowData_.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return rowData_.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return rowData_.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return rowData_.isNull( icol );
+    }
+
     public void close() throws IOException {
         base_.close();
     }
@@ -0,0 +1,601 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.storage.ByteStoreAccess;
+import uk.ac.starlink.table.storage.Codec;
+import uk.ac.starlink.table.storage.NioByteStoreAccess;
+import uk.ac.starlink.util.Cleaner;
+import uk.ac.starlink.util.DataBufferedOutputStream;
+
+/**
+ * Wrapper table which presents the rows of its base table sorted
+ * according to the values in some of its columns,
+ * using an external merge sort.
+ *
+ * <p>The base table is read once, sequentially, at construction time.
+ * Rows are accumulated in memory up to a fixed maximum count,
+ * sorted, and written as a sorted run to a {@link ByteStore}
+ * obtained from a {@link StoragePolicy}, using the same serialization
+ * as the storage policies' own row stores.
+ * Each row sequence of this table then performs a k-way merge of
+ * the stored runs.  If there are too many runs to merge at once,
+ * intermediate merge passes are performed at construction time.
+ * So the base table need not provide random access,
+ * and memory use is bounded by the run size rather than the table size.
+ *
+ * <p>This table does not itself provide random access.
+ * The sort is stable, and null handling is the same as for
+ * {@link Tables#sortTable}.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class ExternalSortStarTable extends WrapperStarTable {
+
+    private final int ncol_;
+    private final Comparator<Object[]> rowComparator_;
+    private final Codec[] codecs_;
+    private final StoragePolicy policy_;
+    private final List<Run> runs_;
+    private final long nrow_;
+
+    /** Default maximum number of rows held in memory for each run. */
+    public static final int DFLT_RUN_SIZE = 1_000_000;
+
+    /** Maximum number of runs merged in a single pass. */
+    private static final int MAX_MERGE = 128;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.table" );
+
+    /**
+     * Constructor.
+     *
+     * @param   baseTable  table to sort; random access is not required
+     * @param   keyCols  indices of the columns which are to act as sort
+     *          keys; first element is primary key etc
+     * @param   up  true for sorting into ascending order, false for
+     *          descending order
+     * @param   nullsLast  true if blank values should be considered
+     *          last in the collation order, false if they should
+     *          be considered first
+     * @param   runSize  maximum number of rows held in memory at once
+     * @param   policy   storage policy supplying byte stores for sorted runs,
+     *                   or null for the default policy
+     */
+    @SuppressWarnings("this-escape")
+    public ExternalSortStarTable( StarTable baseTable, int[] keyCols,
+                                  boolean up, boolean nullsLast, int runSize,
+                                  StoragePolicy policy )
+            throws IOException {
+        super( baseTable );
+        if ( runSize < 1 ) {
+            throw new IllegalArgumentException( "Bad run size " + runSize );
+        }
+        ncol_ = baseTable.getColumnCount();
+        policy_ = policy == null ? StoragePolicy.getDefaultPolicy() : policy;
+        rowComparator_ = createRowComparator( baseTable, keyCols,
+                                              up, nullsLast );
+        codecs_ = new Codec[ ncol_ ];
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            codecs_[ icol ] = Codec.getCodec( baseTable.getColumnInfo( icol ) );
+        }
+        runs_ = new ArrayList<Run>();
+
+        /* Read the input rows, writing sorted runs as we go. */
+        long nrow = 0;
+        Object[][] buf = new Object[ (int) Math.min( runSize, Math.max( 1,
+                                        baseTable.getRowCount() ) ) ][];
+        int nbuf = 0;
+        try ( RowSequence rseq = baseTable.getRowSequence() ) {
+            while ( rseq.next() ) {
+                if ( nbuf == buf.length ) {
+                    if ( nbuf < runSize ) {
+                        buf = Arrays.copyOf( buf, (int)
+                                   Math.min( runSize, 2L * buf.length ) );
+                    }
+                    else {
+                        runs_.add( storeRun( sortRows( buf, nbuf ), nbuf ) );
+                        Arrays.fill( buf, null );
+                        nbuf = 0;
+                    }
+                }
+                buf[ nbuf++ ] = rseq.getRow().clone();
+                nrow++;
+            }
+        }
+        nrow_ = nrow;
+
+        /* If everything fitted in a single run, keep it in memory. */
+        if ( runs_.isEmpty() ) {
+            runs_.add( new MemoryRun( sortRows( buf, nbuf ), nbuf ) );
+        }
+        else {
+            if ( nbuf > 0 ) {
+                runs_.add( storeRun( sortRows( buf, nbuf ), nbuf ) );
+            }
+            buf = null;
+
+            /* Reduce the number of runs until they can be merged
+             * in a single pass.  Each pass merges groups of adjacent runs,
+             * keeping the merged runs in input order so that the
+             * sort remains stable. */
+            while ( runs_.size() > MAX_MERGE ) {
+                int nrun = runs_.size();
+                List<Run> merged = new ArrayList<Run>();
+                for ( int ir = 0; ir < nrun; ir += MAX_MERGE ) {
+                    List<Run> group =
+                        runs_.subList( ir, Math.min( ir + MAX_MERGE, nrun ) );
+                    merged.add( group.size() == 1 ? group.get( 0 )
+                                                  : mergeRuns( group ) );
+                }
+                runs_.clear();
+                runs_.addAll( merged );
+            }
+        }
+        logger_.info( "External sort of " + nrow_ + " rows using "
+                    + runs_.size() + " run" + ( runs_.size() == 1 ? "" : "s" ));
+        Cleaner.getInstance()
+               .register( this, new CleanAction( new ArrayList<>( runs_ ) ) );
+    }
+
+    @Override
+    public long getRowCount() {
+        return nrow_;
+    }
+
+    @Override
+    public boolean isRandom() {
+        return false;
+    }
+
+    @Override
+    public Object getCell( long irow, int icol ) {
+        throw new UnsupportedOperationException( "No random access available" );
+    }
+
+    @Override
+    public Object[] getRow( long irow ) {
+        throw new UnsupportedOperationException( "No random access available" );
+    }
+
+    @Override
+    public RowAccess getRowAccess() {
+        throw new UnsupportedOperationException( "No random access available" );
+    }
+
+    @Override
+    public RowSplittable getRowSplittable() throws IOException {
+        return new SequentialRowSplittable( this );
+    }
+
+    @Override
+    public RowSequence getRowSequence() throws IOException {
+        final RunReader merger = createMerger( runs_ );
+        return new RowSequence() {
+            Object[] row_;
+            public boolean next() throws IOException {
+                row_ = merger.next() ? merger.getRow() : null;
+                return row_ != null;
+            }
+            public Object getCell( int icol ) {
+                return getRow()[ icol ];
+            }
+            public Object[] getRow() {
+                if ( row_ == null ) {
+                    throw new IllegalStateException( "No current row" );
+                }
+                return row_;
+            }
+            public void close() {
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        for ( Run run : runs_ ) {
+            run.close();
+        }
+        super.close();
+    }
+
+    /**
+     * Sorts an array of rows in place.
+     *
+     * @param  rows  row array
+     * @param  nrow  number of rows at the start of the array to sort
+     * @return  rows
+     */
+    private Object[][] sortRows( Object[][] rows, int nrow )
+            throws IOException {
+        try {
+            Arrays.parallelSort( rows, 0, nrow, rowComparator_ );
+        }
+        catch ( ClassCastException e ) {
+            throw new IOException( "Comparison error during sorting", e );
+        }
+        return rows;
+    }
+
+    /**
+     * Writes a sorted array of rows to a new byte store.
+     *
+     * @param  rows  sorted row array
+     * @param  nrow  number of rows at the start of the array to write
+     * @return   new stored run
+     */
+    private Run storeRun( Object[][] rows, int nrow ) throws IOException {
+        StoreRunWriter writer = new StoreRunWriter();
+        for ( int ir = 0; ir < nrow; ir++ ) {
+            writer.writeRow( rows[ ir ] );
+        }
+        return writer.endRun();
+    }
+
+    /**
+     * Merges a number of runs into a single new stored run.
+     * The input runs are closed.
+     *
+     * @param  runs  input runs
+     * @return   new stored run
+     */
+    private Run mergeRuns( List<Run> runs ) throws IOException {
+        StoreRunWriter writer = new StoreRunWriter();
+        RunReader merger = createMerger( runs );
+        while ( merger.next() ) {
+            writer.writeRow( merger.getRow() );
+        }
+        for ( Run run : runs ) {
+            run.close();
+        }
+        return writer.endRun();
+    }
+
+    /**
+     * Returns a reader which delivers the rows from a list of sorted runs
+     * in merged order.  Ties are resolved in favour of earlier runs,
+     * so that the overall sort is stable.
+     *
+     * @param  runs  runs to merge
+     * @return  merged reader
+     */
+    private RunReader createMerger( List<Run> runs ) throws IOException {
+        final int nrun = runs.size();
+        if ( nrun == 1 ) {
+            return runs.get( 0 ).createReader();
+        }
+        final PriorityQueue<Cursor> queue =
+            new PriorityQueue<Cursor>( Math.max( 1, nrun ), (c1, c2) -> {
+                int c = rowComparator_.compare( c1.row_, c2.row_ );
+                return c == 0 ? Integer.compare( c1.irun_, c2.irun_ ) : c;
+            } );
+        final RunReader[] readers = new RunReader[ nrun ];
+        for ( int ir = 0; ir < nrun; ir++ ) {
+            readers[ ir ] = runs.get( ir ).createReader();
+        }
+        return new RunReader() {
+            boolean started_;
+            Object[] row_;
+            public boolean next() throws IOException {
+                try {
+                    if ( ! started_ ) {
+                        started_ = true;
+                        for ( int ir = 0; ir < nrun; ir++ ) {
+                            RunReader rdr = readers[ ir ];
+                            if ( rdr.next() ) {
+                                queue.add( new Cursor( ir, rdr.getRow() ) );
+                            }
+                        }
+                    }
+                    Cursor cursor = queue.poll();
+                    if ( cursor == null ) {
+                        row_ = null;
+                        return false;
+                    }
+                    row_ = cursor.row_;
+                    RunReader rdr = readers[ cursor.irun_ ];
+                    if ( rdr.next() ) {
+                        cursor.row_ = rdr.getRow();
+                        queue.add( cursor );
+                    }
+                    return true;
+                }
+                catch ( ClassCastException e ) {
+                    throw new IOException( "Comparison error during sorting",
+                                           e );
+                }
+            }
+            public Object[] getRow() {
+                return row_;
+            }
+        };
+    }
+
+    /**
+     * Returns a comparator for rows of a table.
+     *
+     * @param  table  table whose rows will be compared
+     * @param   keyCols  indices of the columns which are to act as sort
+     *          keys; first element is primary key etc
+     * @param   up  true for sorting into ascending order, false for
+     *          descending order
+     * @param   nullsLast  true if blank values should be considered
+     *          last in the collation order, false if they should
+     *          be considered first
+     * @return   row comparator
+     */
+    private static Comparator<Object[]>
+            createRowComparator( StarTable table, final int[] keyCols,
+                                 final boolean up, final boolean nullsLast )
+            throws IOException {
+        for ( int icol : keyCols ) {
+            ColumnInfo info = table.getColumnInfo( icol );
+            Class<?> clazz = info.getContentClass();
+            if ( ! Comparable.class.isAssignableFrom( clazz ) &&
+                 clazz != Object.class ) {
+                throw new IOException( "Column " + info
+                                     + " has no defined sort order" );
+            }
+        }
+        final int nkey = keyCols.length;
+        return new Comparator<Object[]>() {
+            @SuppressWarnings("unchecked")
+            public int compare( Object[] row1, Object[] row2 ) {
+                for ( int ik = 0; ik < nkey; ik++ ) {
+                    int icol = keyCols[ ik ];
+                    Object v1 = row1[ icol ];
+                    Object v2 = row2[ icol ];
+                    boolean null1 = Tables.isBlank( v1 );
+                    boolean null2 = Tables.isBlank( v2 );
+                    final int c;
+                    if ( null1 && null2 ) {
+                        c = 0;
+                    }
+                    else if ( null1 ) {
+                        c = nullsLast ? +1 : -1;
+                    }
+                    else if ( null2 ) {
+                        c = nullsLast ? -1 : +1;
+                    }
+                    else {
+                        c = ((Comparable<Object>) v1).compareTo( v2 );
+                    }
+                    if ( c != 0 ) {
+                        return up ? c : -c;
+                    }
+                }
+                return 0;
+            }
+        };
+    }
+
+    /**
+     * Sequential reader for the rows of a run.
+     */
+    private interface RunReader {
+
+        /**
+         * Advances to the next row.
+         *
+         * @return  true iff there is a next row
+         */
+        boolean next() throws IOException;
+
+        /**
+         * Returns the current row.
+         * The returned array is not modified by subsequent calls.
+         *
+         * @return  row data
+         */
+        Object[] getRow();
+    }
+
+    /**
+     * Sorted sequence of rows.
+     */
+    private static abstract class Run {
+        final long nrow_;
+
+        /**
+         * Constructor.
+         *
+         * @param  nrow  number of rows in run
+         */
+        Run( long nrow ) {
+            nrow_ = nrow;
+        }
+
+        /**
+         * Returns a new reader for the rows of this run.
+         *
+         * @return  new reader
+         */
+        abstract RunReader createReader() throws IOException;
+
+        /**
+         * Releases resources.
+         */
+        abstract void close();
+    }
+
+    /**
+     * Run implementation held in memory.
+     */
+    private static class MemoryRun extends Run {
+        private Object[][] rows_;
+
+        /**
+         * Constructor.
+         *
+         * @param  rows  row array
+         * @param  nrow  number of rows at the start of the array to use
+         */
+        MemoryRun( Object[][] rows, int nrow ) {
+            super( nrow );
+            rows_ = rows;
+        }
+
+        RunReader createReader() {
+            final Object[][] rows = rows_;
+            return new RunReader() {
+                int irow_ = -1;
+                public boolean next() {
+                    return ++irow_ < nrow_;
+                }
+                public Object[] getRow() {
+                    return rows[ irow_ ];
+                }
+            };
+        }
+
+        void close() {
+            rows_ = null;
+        }
+    }
+
+    /**
+     * Run implementation held in a ByteStore.
+     */
+    private static class StoreRun extends Run {
+        private final ByteStore store_;
+        private final Codec[] codecs_;
+        private final int ncol_;
+        private final ByteBuffer[] bbufs_;
+
+        /**
+         * Constructor.
+         *
+         * @param  store   byte store to which rows have been written
+         * @param  codecs  per-column deserializers
+         * @param  nrow   number of rows written
+         */
+        StoreRun( ByteStore store, Codec[] codecs, long nrow )
+                throws IOException {
+            super( nrow );
+            store_ = store;
+            codecs_ = codecs;
+            ncol_ = codecs.length;
+            bbufs_ = store.toByteBuffers();
+        }
+
+        RunReader createReader() {
+            final ByteStoreAccess access =
+                NioByteStoreAccess
+               .createAccess( NioByteStoreAccess.copyBuffers( bbufs_ ) );
+            return new RunReader() {
+                long irow_ = -1;
+                Object[] row_;
+                public boolean next() throws IOException {
+                    if ( ++irow_ < nrow_ ) {
+                        row_ = new Object[ ncol_ ];
+                        for ( int icol = 0; icol < ncol_; icol++ ) {
+                            row_[ icol ] = codecs_[ icol ]
+                                          .decodeObject( access );
+                        }
+                        return true;
+                    }
+                    else {
+                        row_ = null;
+                        return false;
+                    }
+                }
+                public Object[] getRow() {
+                    return row_;
+                }
+            };
+        }
+
+        void close() {
+            store_.close();
+        }
+    }
+
+    /**
+     * Writes rows to a new StoreRun.
+     */
+    private class StoreRunWriter {
+        private final ByteStore store_;
+        private final DataBufferedOutputStream out_;
+        private long nrow_;
+
+        /**
+         * Constructor.
+         */
+        StoreRunWriter() throws IOException {
+            for ( int icol = 0; icol < ncol_; icol++ ) {
+                if ( codecs_[ icol ] == null ) {
+                    throw new IOException( "Can't serialize column "
+                                         + getColumnInfo( icol )
+                                         + " for external sort" );
+                }
+            }
+            store_ = policy_.makeByteStore();
+            out_ = new DataBufferedOutputStream( store_.getOutputStream() );
+        }
+
+        /**
+         * Writes a row.
+         *
+         * @param  row  row data
+         */
+        void writeRow( Object[] row ) throws IOException {
+            for ( int icol = 0; icol < ncol_; icol++ ) {
+                codecs_[ icol ].encode( row[ icol ], out_ );
+            }
+            nrow_++;
+        }
+
+        /**
+         * Completes writing and returns the run.
+         *
+         * @return  stored run
+         */
+        Run endRun() throws IOException {
+            out_.close();
+            return new StoreRun( store_, codecs_, nrow_ );
+        }
+    }
+
+    /**
+     * Current position in a run being merged.
+     */
+    private static class Cursor {
+        final int irun_;
+        Object[] row_;
+
+        /**
+         * Constructor.
+         *
+         * @param  irun  index of run
+         * @param  row   current row
+         */
+        Cursor( int irun, Object[] row ) {
+            irun_ = irun;
+            row_ = row;
+        }
+    }
+
+    /**
+     * Runnable that releases run storage when this table becomes
+     * unreachable.
+     */
+    private static class CleanAction implements Runnable {
+        private final List<Run> runs_;
+        CleanAction( List<Run> runs ) {
+            runs_ = runs;
+        }
+        public void run() {
+            for ( Run run : runs_ ) {
+                run.close();
+            }
+        }
+    }
+}
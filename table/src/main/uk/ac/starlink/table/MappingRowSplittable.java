@@ -51,6 +51,26 @@ public class MappingRowSplittable extends WrapperRowSequence
         return data_.getRow();
     }
 
+    @Override
+    public double getDouble( int icol ) throws IOException {
+        return data_.getDouble( icol );
+    }
+
+    @Override
+    public long getLong( int icol ) throws IOException {
+        return data_.getLong( icol );
+    }
+
+    @Override
+    public int getInt( int icol ) throws IOException {
+        return data_.getInt( icol );
+    }
+
+    @Override
+    public boolean isNull( int icol ) throws IOException {
+        return data_.isNull( icol );
+    }
+
     public long splittableSize() {
         return baseSplit_.splittableSize();
     }
@@ -90,6 +90,22 @@ public class OnceRowPipe implements RowPipe, RowSequence {
                                 checkError();
                                 return super.getRow();
                             }
+                            public double getDouble( int icol ) throws IOException {
+                                checkError();
+                                return super.getDouble( icol );
+                            }
+                            public long getLong( int icol ) throws IOException {
+                                checkError();
+                                return super.getLong( icol );
+                            }
+                            public int getInt( int icol ) throws IOException {
+                                checkError();
+                                return super.getInt( icol );
+                            }
+                            public boolean isNull( int icol ) throws IOException {
+                                checkError();
+                                return super.isNull( icol );
+                            }
                             public void close() throws IOException {
                                 checkError();
                                 super.close();
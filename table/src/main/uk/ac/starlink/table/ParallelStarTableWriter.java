@@ -0,0 +1,27 @@
+package uk.ac.starlink.table;
+
+/**
+ * Interface for table output handlers that can use multiple threads
+ * to encode table data.
+ * The output is the same regardless of whether parallel encoding
+ * is used or not.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public interface ParallelStarTableWriter extends StarTableWriter {
+
+    /**
+     * Sets the runner used to control parallel encoding of row data.
+     *
+     * @param  runner  row runner, or null for sequential output
+     */
+    void setRowRunner( RowRunner runner );
+
+    /**
+     * Returns the runner used to control parallel encoding of row data.
+     *
+     * @return  row runner, or null for sequential output
+     */
+    RowRunner getRowRunner();
+}
@@ -71,6 +71,22 @@ public class ProgressRowSplittable implements RowSplittable {
         return base_.getRow();
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return base_.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return base_.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return base_.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return base_.isNull( icol );
+    }
+
     public LongSupplier rowIndex() {
         return base_.rowIndex();
     }
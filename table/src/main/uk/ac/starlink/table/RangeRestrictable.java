@@ -0,0 +1,35 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+
+/**
+ * Mixin interface for tables which can cheaply skip rows whose
+ * column values are known to lie outside given ranges.
+ * This is typically implemented by tables backed by file formats
+ * that store per-block column statistics, so that a row selection
+ * can avoid reading data that cannot contribute to the result.
+ *
+ * <p>The restriction is only a hint: the returned table is permitted
+ * to contain rows that fall outside the requested ranges,
+ * so callers must still apply their own row selection.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public interface RangeRestrictable extends StarTable {
+
+    /**
+     * Returns a table with the same metadata as this one,
+     * containing a subset of this table's rows in the same order,
+     * which includes at least all the rows for which every one
+     * of the given column ranges is satisfied.
+     * If no useful restriction can be made, this table itself
+     * may be returned.
+     *
+     * @param  ranges  column value restrictions, all of which must
+     *                 be satisfied by a row for it to be required
+     * @return  table containing at least all the rows satisfying
+     *          <code>ranges</code>
+     */
+    StarTable restrictRanges( ColumnRange[] ranges ) throws IOException;
+}
@@ -0,0 +1,411 @@
+package uk.ac.starlink.table;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import uk.ac.starlink.util.DataBufferedOutputStream;
+import uk.ac.starlink.util.IOSupplier;
+
+/**
+ * Writes the rows of a table to a byte stream, encoding blocks of rows
+ * on multiple threads where the RowRunner indicates that parallel
+ * processing is appropriate.
+ *
+ * <p>Blocks of rows are read and encoded into byte buffers by worker
+ * threads, and the buffers are written to the output stream in order
+ * by the calling thread, so the output is identical to that which
+ * would result from encoding the rows one at a time in sequence.
+ * Where the table's RowSplittable can be split into sub-sequences
+ * of known position, the reading is done by the workers as well;
+ * otherwise rows are read on the calling thread and only the
+ * encoding is done in parallel.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class RowBlockWriter {
+
+    private final RowRunner runner_;
+    private final int blockBytes_;
+
+    /** Default approximate number of bytes encoded in each block. */
+    public static final int DFLT_BLOCK_BYTES = 1024 * 1024;
+
+    /** Minimum number of rows encoded in each block. */
+    private static final int MIN_BLOCK_ROWS = 64;
+
+    /**
+     * Constructs a writer with a default block size.
+     *
+     * @param  runner  row runner controlling parallelism;
+     *                 if null, output is sequential
+     */
+    public RowBlockWriter( RowRunner runner ) {
+        this( runner, DFLT_BLOCK_BYTES );
+    }
+
+    /**
+     * Constructs a writer with a given block size.
+     *
+     * @param  runner  row runner controlling parallelism;
+     *                 if null, output is sequential
+     * @param  blockBytes  approximate number of bytes encoded per block
+     */
+    public RowBlockWriter( RowRunner runner, int blockBytes ) {
+        runner_ = runner;
+        blockBytes_ = blockBytes;
+    }
+
+    /**
+     * Returns the row runner controlling parallelism.
+     *
+     * @return  runner, may be null
+     */
+    public RowRunner getRowRunner() {
+        return runner_;
+    }
+
+    /**
+     * Writes the encoded rows of a table to an output stream.
+     * If <code>nrow</code> is non-negative, exactly that many rows
+     * are written.  Where the table's rows are read sequentially,
+     * any discrepancy between the declared and actual row count is
+     * handled as by {@link CountCheckRowSequence};
+     * where they are read by parallel workers a discrepancy results
+     * in an IOException.
+     *
+     * @param  table  table supplying data
+     * @param  nrow   number of rows to write, or -1 if not known
+     * @param  rowBytes  approximate number of bytes per encoded row,
+     *                   used to determine block size
+     * @param  encoderFactory  thread-safe supplier of row encoders;
+     *                         each encoder is used by only one thread
+     *                         at a time, but may be used by different
+     *                         threads in succession
+     * @param  out   destination stream
+     */
+    public void writeRows( StarTable table, long nrow, int rowBytes,
+                           Supplier<RowEncoder> encoderFactory,
+                           OutputStream out )
+            throws IOException {
+        int ncol = table.getColumnCount();
+        RowSplittable split = runner_ == null
+                            ? null
+                            : runner_.createRowSplittable( table );
+
+        /* Sequential case. */
+        if ( split == null ||
+             ! runner_.getSplitProcessor().willAttemptSplit( split ) ) {
+            if ( split != null ) {
+                split.close();
+            }
+            RowEncoder encoder = encoderFactory.get();
+            DataBufferedOutputStream dout = new DataBufferedOutputStream( out );
+            try ( RowSequence rseq =
+                      CountCheckRowSequence
+                     .getSafeRowSequence( table.getRowSequence(), ncol,
+                                          nrow ) ) {
+                while ( rseq.next() ) {
+                    encoder.encodeRow( rseq.getRow(), dout );
+                }
+            }
+            dout.flush();
+            return;
+        }
+
+        /* Parallel case. */
+        int blockRows = Math.max( MIN_BLOCK_ROWS,
+                                  blockBytes_ / Math.max( 1, rowBytes ) );
+        boolean isOrdered = split.rowIndex() != null
+                         && nrow >= 0
+                         && table.getRowCount() == nrow;
+        final RowSequence rseq;
+        if ( isOrdered ) {
+            rseq = split;
+        }
+        else {
+            rseq = CountCheckRowSequence.getSafeRowSequence( split, ncol,
+                                                             nrow );
+        }
+        long nw = new BlockSession( encoderFactory, blockRows, out )
+                 .run( isOrdered ? split : null, rseq );
+        if ( nrow >= 0 && nw != nrow ) {
+            throw new IOException( "Row count mismatch: " + nw + " != " + nrow
+                                 + " (table row count unreliable?)" );
+        }
+    }
+
+    /**
+     * Encodes rows to a data output.
+     * Instances are not in general thread-safe.
+     */
+    @FunctionalInterface
+    public interface RowEncoder {
+
+        /**
+         * Encodes a single table row.
+         *
+         * @param  row  row data
+         * @param  out  destination
+         */
+        void encodeRow( Object[] row, DataOutput out ) throws IOException;
+    }
+
+    /**
+     * Manages the ordered output for a single parallel write operation.
+     */
+    private static class BlockSession {
+
+        private final Supplier<RowEncoder> encoderFactory_;
+        private final int blockRows_;
+        private final OutputStream out_;
+        private final Queue<RowEncoder> encoderPool_;
+        private final Deque<CompletableFuture<Block>> pending_;
+        private final int maxPending_;
+        private long nWritten_;
+
+        /**
+         * Constructor.
+         *
+         * @param  encoderFactory  supplies row encoders
+         * @param  blockRows  approximate number of rows per block
+         * @param  out   destination stream
+         */
+        BlockSession( Supplier<RowEncoder> encoderFactory, int blockRows,
+                      OutputStream out ) {
+            encoderFactory_ = encoderFactory;
+            blockRows_ = blockRows;
+            out_ = out;
+            encoderPool_ = new ConcurrentLinkedQueue<RowEncoder>();
+            pending_ = new ArrayDeque<CompletableFuture<Block>>();
+            maxPending_ = 2 * ForkJoinPool.getCommonPoolParallelism() + 2;
+        }
+
+        /**
+         * Performs the write.
+         *
+         * @param  split  splittable with known row indices that may be
+         *                split into separately processed parts,
+         *                or null if no splitting is to be done
+         * @param  rseq   row sequence to read when not splitting;
+         *                it wraps or is the same as <code>split</code>
+         * @return  number of rows written
+         */
+        long run( RowSplittable split, RowSequence rseq ) throws IOException {
+            Deque<RowSplittable> pieces = new ArrayDeque<RowSplittable>();
+            boolean done = false;
+            try {
+                if ( split != null ) {
+                    pieces.add( split );
+                    while ( ! pieces.isEmpty() ) {
+                        RowSplittable head = pieces.removeFirst();
+                        long size = head.splittableSize();
+                        if ( size > 2 * blockRows_ ) {
+                            RowSplittable other = head.split();
+                            if ( other != null ) {
+                                boolean otherFirst =
+                                    other.rowIndex().getAsLong()
+                                  < head.rowIndex().getAsLong();
+                                pieces.addFirst( otherFirst ? head : other );
+                                pieces.addFirst( otherFirst ? other : head );
+                                continue;
+                            }
+                        }
+                        if ( size >= 0 && size <= 2 * blockRows_ ) {
+                            submit( () -> encodeSequence( head ) );
+                        }
+                        else {
+                            submitRows( head );
+                        }
+                    }
+                }
+                else {
+                    submitRows( rseq );
+                }
+                while ( ! pending_.isEmpty() ) {
+                    writeNext();
+                }
+                done = true;
+            }
+            finally {
+                if ( ! done ) {
+                    for ( CompletableFuture<Block> future : pending_ ) {
+                        future.cancel( false );
+                    }
+                    for ( RowSplittable piece : pieces ) {
+                        piece.close();
+                    }
+                    rseq.close();
+                }
+            }
+            return nWritten_;
+        }
+
+        /**
+         * Reads all the rows from a sequence on the current thread,
+         * and submits blocks of them for encoding.
+         * The sequence is closed on exit.
+         *
+         * @param  rseq  row sequence
+         */
+        private void submitRows( RowSequence rseq ) throws IOException {
+            try {
+                List<Object[]> rows = new ArrayList<>( blockRows_ );
+                while ( rseq.next() ) {
+                    rows.add( rseq.getRow().clone() );
+                    if ( rows.size() == blockRows_ ) {
+                        final List<Object[]> rows0 = rows;
+                        submit( () -> encodeRows( rows0 ) );
+                        rows = new ArrayList<>( blockRows_ );
+                    }
+                }
+                if ( rows.size() > 0 ) {
+                    final List<Object[]> rows0 = rows;
+                    submit( () -> encodeRows( rows0 ) );
+                }
+            }
+            finally {
+                rseq.close();
+            }
+        }
+
+        /**
+         * Submits a block encoding task, writing completed blocks
+         * first if there are too many outstanding.
+         *
+         * @param  encodeTask  task to encode a block
+         */
+        private void submit( IOSupplier<Block> encodeTask )
+                throws IOException {
+            while ( pending_.size() >= maxPending_ ) {
+                writeNext();
+            }
+            pending_.add( CompletableFuture.supplyAsync( () -> {
+                try {
+                    return encodeTask.get();
+                }
+                catch ( IOException e ) {
+                    throw new UncheckedIOException( e );
+                }
+            } ) );
+        }
+
+        /**
+         * Waits for the oldest outstanding block and writes it to
+         * the output stream.
+         */
+        private void writeNext() throws IOException {
+            Block block;
+            try {
+                block = pending_.removeFirst().join();
+            }
+            catch ( CompletionException e ) {
+                Throwable cause = e.getCause();
+                if ( cause instanceof UncheckedIOException ) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                else if ( cause instanceof RuntimeException ) {
+                    throw (RuntimeException) cause;
+                }
+                else if ( cause instanceof Error ) {
+                    throw (Error) cause;
+                }
+                else {
+                    throw new IOException( cause );
+                }
+            }
+            block.bytes_.writeTo( out_ );
+            nWritten_ += block.nrow_;
+        }
+
+        /**
+         * Reads and encodes all the rows of a sequence.
+         * The sequence is closed on exit.
+         *
+         * @param  rseq  row sequence
+         * @return  encoded block
+         */
+        private Block encodeSequence( RowSequence rseq ) throws IOException {
+            RowEncoder encoder = acquireEncoder();
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            DataBufferedOutputStream dout = new DataBufferedOutputStream( bout );
+            long nrow = 0;
+            try {
+                while ( rseq.next() ) {
+                    encoder.encodeRow( rseq.getRow(), dout );
+                    nrow++;
+                }
+            }
+            finally {
+                rseq.close();
+                encoderPool_.add( encoder );
+            }
+            dout.flush();
+            return new Block( bout, nrow );
+        }
+
+        /**
+         * Encodes a list of rows.
+         *
+         * @param  rows  row data
+         * @return  encoded block
+         */
+        private Block encodeRows( List<Object[]> rows ) throws IOException {
+            RowEncoder encoder = acquireEncoder();
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            DataBufferedOutputStream dout = new DataBufferedOutputStream( bout );
+            try {
+                for ( Object[] row : rows ) {
+                    encoder.encodeRow( row, dout );
+                }
+            }
+            finally {
+                encoderPool_.add( encoder );
+            }
+            dout.flush();
+            return new Block( bout, rows.size() );
+        }
+
+        /**
+         * Returns an encoder for exclusive use by the current thread.
+         * It should be returned to the pool after use.
+         *
+         * @return  encoder
+         */
+        private RowEncoder acquireEncoder() {
+            RowEncoder encoder = encoderPool_.poll();
+            return encoder == null ? encoderFactory_.get() : encoder;
+        }
+    }
+
+    /**
+     * Encoded bytes for a block of rows.
+     */
+    private static class Block {
+        final ByteArrayOutputStream bytes_;
+        final long nrow_;
+
+        /**
+         * Constructor.
+         *
+         * @param  bytes  encoded data
+         * @param  nrow   number of rows encoded
+         */
+        Block( ByteArrayOutputStream bytes, long nrow ) {
+            bytes_ = bytes;
+            nrow_ = nrow;
+        }
+    }
+}
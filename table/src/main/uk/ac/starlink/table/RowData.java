@@ -5,6 +5,15 @@ import java.io.IOException;
 /**
  * Allows access to the values in a single row of a table.
  *
+ * <p>As well as the object-valued accessors, primitive-valued accessors
+ * are provided for numeric cells.  The default implementations of these
+ * just unwrap the result of {@link #getCell}, but implementations
+ * which store or decode primitive data may override them to avoid
+ * per-cell object creation.
+ * Since this interface is the common parent of {@link RowSequence},
+ * {@link RowAccess} and {@link RowSplittable}, these methods are
+ * available from all of those.
+ *
  * @author   Mark Taylor
  * @since    24 Jul 2020
  */
@@ -32,4 +41,71 @@ public interface RowData {
      *           containing cell data; may be reused by subsequent invocations
      */
     Object[] getRow() throws IOException;
+
+    /**
+     * Returns the contents of a numeric cell in this row as a
+     * double precision value.
+     * Blank and non-numeric values give NaN.
+     *
+     * <p>The default implementation calls {@link #getCell}.
+     *
+     * @param   icol  column index
+     * @return   numeric cell value, or NaN
+     * @throws   IOException  if there's a problem reading the value
+     */
+    default double getDouble( int icol ) throws IOException {
+        Object value = getCell( icol );
+        return value instanceof Number ? ((Number) value).doubleValue()
+                                       : Double.NaN;
+    }
+
+    /**
+     * Returns the contents of a numeric cell in this row as a
+     * long integer value.
+     * Blank and non-numeric values give zero, so {@link #isNull}
+     * should be used if blanks need to be distinguished.
+     *
+     * <p>The default implementation calls {@link #getCell}.
+     *
+     * @param   icol  column index
+     * @return   numeric cell value, or zero
+     * @throws   IOException  if there's a problem reading the value
+     */
+    default long getLong( int icol ) throws IOException {
+        Object value = getCell( icol );
+        return value instanceof Number ? ((Number) value).longValue()
+                                       : 0L;
+    }
+
+    /**
+     * Returns the contents of a numeric cell in this row as an
+     * integer value.
+     * Blank and non-numeric values give zero, so {@link #isNull}
+     * should be used if blanks need to be distinguished.
+     *
+     * <p>The default implementation calls {@link #getCell}.
+     *
+     * @param   icol  column index
+     * @return   numeric cell value, or zero
+     * @throws   IOException  if there's a problem reading the value
+     */
+    default int getInt( int icol ) throws IOException {
+        Object value = getCell( icol );
+        return value instanceof Number ? ((Number) value).intValue()
+                                       : 0;
+    }
+
+    /**
+     * Indicates whether a cell in this row is blank,
+     * in the sense of {@link Tables#isBlank}.
+     *
+     * <p>The default implementation calls {@link #getCell}.
+     *
+     * @param   icol  column index
+     * @return   true iff the cell value is blank
+     * @throws   IOException  if there's a problem reading the value
+     */
+    default boolean isNull( int icol ) throws IOException {
+        return Tables.isBlank( getCell( icol ) );
+    }
 }
@@ -74,6 +74,22 @@ public class SequentialRowSplittable implements RowSplittable {
         return rseq_.getRow();
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return rseq_.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return rseq_.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return rseq_.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return rseq_.isNull( icol );
+    }
+
     public void close() throws IOException {
         rseq_.close();
     }
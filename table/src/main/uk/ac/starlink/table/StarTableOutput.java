@@ -71,6 +71,7 @@ public class StarTableOutput {
 
     private List<StarTableWriter> handlers_;
     private JDBCHandler jdbcHandler_;
+    private RowRunner rowRunner_;
     private static String[] defaultHandlerClasses = {
         "uk.ac.starlink.votable.UnifiedFitsTableWriter",
         "uk.ac.starlink.votable.UnifiedFitsTableWriter$Col",
@@ -458,7 +459,7 @@ public class StarTableOutput {
             for ( StarTableWriter handler : handlers_ ) {
                 if ( handler.getFormatName().toLowerCase()
                             .startsWith( format.toLowerCase() ) ) {
-                    return handler;
+                    return configureHandler( handler );
                 }
             }
         }
@@ -482,7 +483,7 @@ public class StarTableOutput {
                 throw new TableFormatException( "Handler configuration failed: "
                                               + e, e );
             }
-            return handler;
+            return configureHandler( handler );
         }
 
         /* No luck - throw an exception. */
@@ -584,7 +585,7 @@ public class StarTableOutput {
         else {
             for ( StarTableWriter handler : handlers_ ) {
                 if ( handler.looksLikeFile( location ) ) {
-                    return handler;
+                    return configureHandler( handler );
                 }
             }
 
@@ -603,6 +604,48 @@ public class StarTableOutput {
         }
     }
 
+    /**
+     * Sets the runner used to control parallel encoding of row data
+     * by output handlers that support it.
+     * If non-null, it is passed to any
+     * {@link ParallelStarTableWriter} handlers supplied by this object.
+     * The default value is null, which means that handlers use
+     * their own configuration.
+     *
+     * @param  runner  row runner, or null
+     */
+    public void setRowRunner( RowRunner runner ) {
+        rowRunner_ = runner;
+        for ( StarTableWriter handler : handlers_ ) {
+            configureHandler( handler );
+        }
+    }
+
+    /**
+     * Returns the runner used to control parallel encoding of row data
+     * by output handlers that support it.
+     *
+     * @return  row runner, or null
+     */
+    public RowRunner getRowRunner() {
+        return rowRunner_;
+    }
+
+    /**
+     * Applies any configuration of this object to an output handler
+     * that is about to be supplied.
+     *
+     * @param  handler  output handler
+     * @return  the same handler
+     */
+    private StarTableWriter configureHandler( StarTableWriter handler ) {
+        if ( rowRunner_ != null &&
+             handler instanceof ParallelStarTableWriter ) {
+            ((ParallelStarTableWriter) handler).setRowRunner( rowRunner_ );
+        }
+        return handler;
+    }
+
     /**
      * Returns a list of the format strings which are defined by the
      * handlers registered with this object.  The elements of the returned
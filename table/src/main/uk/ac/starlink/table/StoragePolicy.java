@@ -12,6 +12,7 @@ import uk.ac.starlink.table.storage.DiscardRowStore;
 import uk.ac.starlink.table.storage.DiskRowStore;
 import uk.ac.starlink.table.storage.FileByteStore;
 import uk.ac.starlink.table.storage.MemoryByteStore;
+import uk.ac.starlink.table.storage.OffHeapRowStore;
 import uk.ac.starlink.table.storage.SidewaysRowStore;
 import uk.ac.starlink.util.Loader;
 
@@ -34,7 +35,8 @@ import uk.ac.starlink.util.Loader;
  *
  * <p>Code which wants to store data in a particular way may use one of
  * the predefined policies {@link #ADAPTIVE}, {@link #PREFER_MEMORY},
- * {@link #PREFER_DISK} {@link #SIDEWAYS} or {@link #DISCARD},
+ * {@link #PREFER_DISK} {@link #SIDEWAYS}, {@link #OFF_HEAP}
+ * or {@link #DISCARD},
  * or may implement their own policy by extending this class.
  * If you want more control, you can always create instances of the 
  * public {@link RowStore} implementations directly.
@@ -59,7 +61,7 @@ public abstract class StoragePolicy {
      * Name of the system property which can be set to indicate the
      * initial setting of the default storage policy ({@value}).
      * Currently recognised values are "adaptive", "memory", "disk",
-     * "sideways", and "discard".
+     * "sideways", "offheap", and "discard".
      * Alternatively, the classname of a StoragePolicy implementation
      * with a no-arg constructor may be supplied.
      */
@@ -86,6 +88,9 @@ public abstract class StoragePolicy {
                 else if ( "sideways".equals( pref ) ) {
                     defaultInstance_ = SIDEWAYS;
                 }
+                else if ( "offheap".equals( pref ) ) {
+                    defaultInstance_ = OFF_HEAP;
+                }
                 else if ( "discard".equals( pref ) ) {
                     defaultInstance_ = DISCARD;
                 }
@@ -265,6 +270,35 @@ public abstract class StoragePolicy {
             }
         };
 
+    /**
+     * Storage policy which will store table data in memory by column,
+     * keeping the values of scalar numeric and boolean columns
+     * in typed buffers outside of the java heap.
+     * Since no objects are retained for such cells, this is much
+     * more economical on memory than {@link #PREFER_MEMORY} for
+     * mainly numeric tables, and imposes no garbage collection overhead.
+     * Columns of other types are stored as objects on the heap.
+     * Off-heap memory is limited by the JVM's
+     * <code>-XX:MaxDirectMemorySize</code> setting,
+     * which defaults to the maximum heap size.
+     */
+    public static final StoragePolicy OFF_HEAP = new StoragePolicy() {
+        public ByteStore makeByteStore() {
+            return new MemoryByteStore();
+        }
+        public RowStore makeRowStore() {
+            return new OffHeapRowStore();
+        }
+        public RowStore makeConfiguredRowStore( StarTable meta ) {
+            OffHeapRowStore store = new OffHeapRowStore();
+            store.acceptMetadata( meta );
+            return store;
+        }
+        public String toString() {
+            return "StoragePolicy.OFF_HEAP";
+        }
+    };
+
     /**
      * Storage policy which just throws away the rows it is given.
      * Tables obtained from its row stores will have no rows.
@@ -39,7 +39,7 @@ public abstract class StreamTableSink implements TableSink {
     protected abstract void scanTable( StarTable table ) throws IOException;
 
     public void acceptMetadata( StarTable meta ) throws TableFormatException {
-        rowPipe_ = new OnceRowPipe2();
+        rowPipe_ = new BlockRowPipe();
         rowPipe_.acceptMetadata( meta );
         final StarTable outTable;
         try {
@@ -1,164 +1,567 @@
 package uk.ac.starlink.table;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 
 /**
  * Provides table sorting functionality.
  *
+ * <p>Sorting is done in two phases.  First the values of the sort keys
+ * are read from the table, using a single (potentially parallel) scan,
+ * into primitive arrays where possible.  Then an array of row indices
+ * is sorted with a stable (potentially parallel) merge sort,
+ * comparing the stored key values directly.
+ * This avoids both random access to the table and object creation
+ * during the sort itself.
+ *
+ * <p>Since the keys and the index are held in java arrays,
+ * tables with more than {@link Tables#MAX_SORT_ROWS} rows cannot be
+ * sorted like this; {@link ExternalSortStarTable} can be used instead.
+ *
  * @author   Mark Taylor (Starlink)
  * @since    8 Mar 2005
  * @see      Tables#sortTable
+ * @see      Tables#getSortedOrder
  */
 class TableSorter {
 
+    /** Number of rows below which the sort is done sequentially. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Number of rows below which insertion sort is used. */
+    private static final int INSERTION_THRESHOLD = 32;
+
     /**
      * Returns an array representing the sorted row sequence for a table.
      *
      * @param   table  table to sort
      * @param   colIndices  indices of the columns which are to act as sort
      *          keys; first element is primary key etc
-     * @param   up  true for sorting into ascending order, false for 
+     * @param   up  true for sorting into ascending order, false for
      *          descending order
-     * @param   nullsLast  true if blank values should be considered 
+     * @param   nullsLast  true if blank values should be considered
      *          last in the collation order, false if they should
      *          be considered first
      * @return  an array mapping the rows in a table to their sorted order
      * @throws  IOException  if <code>table.isRandom()</code> returns false
-     */ 
+     */
     public static long[] getSortedOrder( StarTable table, int[] colIndices,
                                          boolean up, boolean nullsLast )
             throws IOException {
         if ( ! table.isRandom() ) {
             throw new IOException( "Table does not have random access" );
         }
-        int nrow = Tables.checkedLongToInt( table.getRowCount() );
-        Number[] rowMap = new Number[ nrow ];
-        for ( int i = 0; i < nrow; i++ ) {
-            rowMap[ i ] = Integer.valueOf( i );
+        StarTable keyTable = new ColumnPermutedStarTable( table, colIndices );
+        return getSortedOrder( keyTable, up, nullsLast, RowRunner.DEFAULT );
+    }
+
+    /**
+     * Returns an array representing the sorted row sequence for a table
+     * all of whose columns are sort keys.
+     *
+     * @param   keyTable  table whose columns provide the sort keys;
+     *          first column is primary key etc
+     * @param   up  true for sorting into ascending order, false for
+     *          descending order
+     * @param   nullsLast  true if blank values should be considered
+     *          last in the collation order, false if they should
+     *          be considered first
+     * @param   runner  controls parallelism of key acquisition and sorting
+     * @return  an array mapping the rows in a table to their sorted order
+     */
+    public static long[] getSortedOrder( StarTable keyTable, boolean up,
+                                         boolean nullsLast, RowRunner runner )
+            throws IOException {
+        long lnrow = keyTable.getRowCount();
+        if ( lnrow < 0 ) {
+            throw new IOException( "Row count unknown" );
         }
-        Comparator<Number> comp =
-            new RowComparator( table, colIndices, up, nullsLast );
-        try {
-            Arrays.sort( rowMap, comp );
+        if ( lnrow > Tables.MAX_SORT_ROWS ) {
+            throw new IOException( "Too many rows (" + lnrow + ") "
+                                 + "for in-memory sort; maximum is "
+                                 + Tables.MAX_SORT_ROWS
+                                 + " - use an external sort instead" );
         }
-        catch ( SortException e ) {
-            throw e.asIOException();
+        int nrow = (int) lnrow;
+        int nkey = keyTable.getColumnCount();
+        SortKey[] keys = new SortKey[ nkey ];
+        for ( int ik = 0; ik < nkey; ik++ ) {
+            keys[ ik ] = createSortKey( keyTable.getColumnInfo( ik ), nrow,
+                                        nullsLast );
         }
+        readKeys( keyTable, keys, runner );
+        boolean isParallel = runner != RowRunner.SEQUENTIAL
+                          && nrow >= PARALLEL_THRESHOLD;
+        int[] index = sortIndex( keys, up, nrow, isParallel );
         long[] order = new long[ nrow ];
         for ( int i = 0; i < nrow; i++ ) {
-            order[ i ] = rowMap[ i ].longValue();
+            order[ i ] = index[ i ];
         }
         return order;
     }
 
     /**
-     * Helper class which can compare objects representing the rows of
-     * a table.  The objects compared using this comparator must be
-     * <code>Number</code>s containing the row index of a table.
+     * Populates sort key storage from the cells of a table.
+     *
+     * @param  keyTable  table supplying key values
+     * @param  keys   sort key storage, one for each column of keyTable
+     * @param  runner  controls parallelism
      */
-    private static class RowComparator implements Comparator<Number> {
+    private static void readKeys( StarTable keyTable, final SortKey[] keys,
+                                  RowRunner runner )
+            throws IOException {
+        final int nkey = keys.length;
+        final long nrow = keyTable.getRowCount();
+        RowSplittable splittable = runner.createRowSplittable( keyTable );
+        boolean hasIndex = splittable.rowIndex() != null;
+        splittable.close();
+        final long nread;
+        if ( hasIndex ) {
+            nread = runner.collect( new RowCollector<long[]>() {
+                public long[] createAccumulator() {
+                    return new long[ 1 ];
+                }
+                public long[] combine( long[] count1, long[] count2 ) {
+                    count1[ 0 ] += count2[ 0 ];
+                    return count1;
+                }
+                public void accumulateRows( RowSplittable rseq, long[] count )
+                        throws IOException {
+                    LongSupplier rowIndex = rseq.rowIndex();
+                    while ( rseq.next() ) {
+                        long irow = rowIndex.getAsLong();
+                        if ( irow < 0 || irow >= nrow ) {
+                            throw new IOException( "Row index " + irow
+                                                 + " out of range" );
+                        }
+                        int jrow = (int) irow;
+                        for ( int ik = 0; ik < nkey; ik++ ) {
+                            keys[ ik ].setValue( jrow, rseq.getCell( ik ) );
+                        }
+                        count[ 0 ]++;
+                    }
+                }
+            }, keyTable )[ 0 ];
+        }
+        else {
+            int irow = 0;
+            try ( RowSequence rseq = keyTable.getRowSequence() ) {
+                while ( rseq.next() ) {
+                    if ( irow >= nrow ) {
+                        throw new IOException( "Too many rows" );
+                    }
+                    for ( int ik = 0; ik < nkey; ik++ ) {
+                        keys[ ik ].setValue( irow, rseq.getCell( ik ) );
+                    }
+                    irow++;
+                }
+            }
+            nread = irow;
+        }
+        if ( nread != nrow ) {
+            throw new IOException( "Row count mismatch: read " + nread
+                                 + " rows, expected " + nrow );
+        }
+    }
+
+    /**
+     * Sorts an array of row indices according to the values held
+     * in a given set of sort keys.
+     *
+     * @param  keys   populated sort keys; first is primary etc
+     * @param  up   true for ascending order, false for descending
+     * @param  nrow   number of rows
+     * @param  isParallel  true to sort in parallel
+     * @return  sorted array of row indices
+     */
+    private static int[] sortIndex( SortKey[] keys, boolean up, int nrow,
+                                    boolean isParallel )
+            throws IOException {
+        int[] index = new int[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            index[ i ] = i;
+        }
+        int[] work = new int[ nrow ];
+        IndexComparator comp = new IndexComparator( keys, up );
+        try {
+            if ( isParallel ) {
+                ForkJoinPool pool = RowRunner.DFLT_POLICY.getForkJoinPool();
+                pool.invoke( new MergeSortTask( comp, index, work,
+                                                0, nrow ) );
+            }
+            else {
+                mergeSort( comp, index, work, 0, nrow );
+            }
+        }
+        catch ( RuntimeException e ) {
+            for ( Throwable ex = e; ex != null; ex = ex.getCause() ) {
+                if ( ex instanceof SortException ) {
+                    throw ((SortException) ex).asIOException();
+                }
+            }
+            throw e;
+        }
+        return index;
+    }
+
+    /**
+     * Performs a stable sequential merge sort on part of an index array.
+     *
+     * @param  comp  comparator
+     * @param  index   array to sort
+     * @param  work   workspace array, same size as index
+     * @param  lo    lower bound of region to sort (inclusive)
+     * @param  hi    upper bound of region to sort (exclusive)
+     */
+    private static void mergeSort( IndexComparator comp, int[] index,
+                                   int[] work, int lo, int hi ) {
+        if ( hi - lo <= INSERTION_THRESHOLD ) {
+            insertionSort( comp, index, lo, hi );
+        }
+        else {
+            int mid = ( lo + hi ) >>> 1;
+            mergeSort( comp, index, work, lo, mid );
+            mergeSort( comp, index, work, mid, hi );
+            merge( comp, index, work, lo, mid, hi );
+        }
+    }
+
+    /**
+     * Performs a stable insertion sort on part of an index array.
+     *
+     * @param  comp  comparator
+     * @param  index   array to sort
+     * @param  lo    lower bound of region to sort (inclusive)
+     * @param  hi    upper bound of region to sort (exclusive)
+     */
+    private static void insertionSort( IndexComparator comp, int[] index,
+                                       int lo, int hi ) {
+        for ( int i = lo + 1; i < hi; i++ ) {
+            int v = index[ i ];
+            int j = i - 1;
+            while ( j >= lo && comp.compare( index[ j ], v ) > 0 ) {
+                index[ j + 1 ] = index[ j ];
+                j--;
+            }
+            index[ j + 1 ] = v;
+        }
+    }
+
+    /**
+     * Merges two adjacent sorted regions of an index array.
+     *
+     * @param  comp  comparator
+     * @param  index   array containing sorted regions lo..mid and mid..hi
+     * @param  work   workspace array, same size as index
+     * @param  lo    lower bound of first region (inclusive)
+     * @param  mid   upper bound of first region, lower bound of second
+     * @param  hi    upper bound of second region (exclusive)
+     */
+    private static void merge( IndexComparator comp, int[] index, int[] work,
+                               int lo, int mid, int hi ) {
+        if ( comp.compare( index[ mid - 1 ], index[ mid ] ) <= 0 ) {
+            return;
+        }
+        System.arraycopy( index, lo, work, lo, hi - lo );
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while ( i < mid && j < hi ) {
+            index[ k++ ] = comp.compare( work[ j ], work[ i ] ) < 0
+                         ? work[ j++ ]
+                         : work[ i++ ];
+        }
+        while ( i < mid ) {
+            index[ k++ ] = work[ i++ ];
+        }
+        while ( j < hi ) {
+            index[ k++ ] = work[ j++ ];
+        }
+    }
+
+    /**
+     * Returns a SortKey suitable for storing values described by
+     * a given metadata item.
+     *
+     * @param  info  value metadata
+     * @param  nrow  number of rows
+     * @param   nullsLast  true if blank values should be considered
+     *          last in the collation order, false if they should
+     *          be considered first
+     * @return   new key storage
+     * @throws  IOException  if the values have no sort order
+     */
+    private static SortKey createSortKey( ValueInfo info, int nrow,
+                                          boolean nullsLast )
+            throws IOException {
+        Class<?> clazz = info.getContentClass();
+        if ( clazz == Double.class || clazz == Float.class ) {
+            return new DoubleSortKey( nrow, nullsLast );
+        }
+        else if ( clazz == Long.class || clazz == Integer.class ||
+                  clazz == Short.class || clazz == Byte.class ) {
+            return new LongSortKey( nrow, nullsLast );
+        }
+        else if ( Comparable.class.isAssignableFrom( clazz ) ||
+                  clazz == Object.class ) {
+            return new ObjectSortKey( nrow, nullsLast );
+        }
+        else {
+            throw new IOException( "Column " + info
+                                 + " has no defined sort order" );
+        }
+    }
+
+    /**
+     * Stores the values of a sort key for all the rows of a table,
+     * and compares them by row index.
+     * Concurrent calls of <code>setValue</code> for different rows
+     * must be permitted.
+     */
+    private static abstract class SortKey {
 
-        final StarTable table_;
-        final int[] colIndices_;
-        final boolean up_;
         final boolean nullsLast_;
-        final int ncol_;
 
         /**
          * Constructor.
          *
-         * @param   table  table whose rows will be compared
-         * @param   colIndices  indices of the columns which are to act as sort
-         *          keys; first element is primary key etc
-         * @param   up  true for sorting into ascending order, false for
-         *          descending order
          * @param   nullsLast  true if blank values should be considered
          *          last in the collation order, false if they should
          *          be considered first
          */
-        RowComparator( StarTable table, int[] colIndices, boolean up,
-                       boolean nullsLast ) throws IOException {
-            table_ = table;
-            colIndices_ = colIndices;
-            up_ = up;
+        SortKey( boolean nullsLast ) {
             nullsLast_ = nullsLast;
-            ncol_ = colIndices_.length;
-
-            for ( int icol = 0; icol < ncol_; icol++ ) {
-                ColumnInfo info = table.getColumnInfo( icol );
-                if ( ! Comparable.class
-                      .isAssignableFrom( info.getContentClass() ) ) {
-                    throw new IOException( "Column " + info + 
-                                           " has no defined sort order" );
-                }
-            }
         }
 
         /**
-         * Compares two Numbers.
+         * Stores the key value for a given row.
+         *
+         * @param  irow  row index
+         * @param  value  cell value
          */
-        public int compare( Number num1, Number num2 ) {
-            long irow1 = num1.longValue();
-            long irow2 = num2.longValue();
-            int c = 0;
-            for ( int i = 0; i < ncol_ && c == 0; i++ ) {
-                int icol = colIndices_[ i ];
-                Object val1;
-                Object val2;
-                try {
-                    val1 = table_.getCell( irow1, icol );
-                    val2 = table_.getCell( irow2, icol );
-                }
-                catch ( IOException e ) {
-                    throw new SortException( "Sort Error", e );
-                }
-                try {
-                    c = compareValues( (Comparable<?>) val1,
-                                       (Comparable<?>) val2 );
-                }
-                catch ( ClassCastException e ) {
-                    throw new SortException(
-                        "Expression comparison error during sorting", e );
-                }
-            }
-            return c;
-        }
+        abstract void setValue( int irow, Object value );
+
+        /**
+         * Compares the key values for two rows in ascending collation order.
+         *
+         * @param  irow1  first row index
+         * @param  irow2  second row index
+         * @return  negative, zero or positive according to whether the
+         *          value at row 1 comes before, the same as or after
+         *          the value at row 2
+         */
+        abstract int compare( int irow1, int irow2 );
 
         /**
-         * Compares two values.  Each value is the content of a cell in 
-         * a table - <code>o1</code> and <code>o2</code> should be from
-         * the same column.  Either or both may be null.
+         * Compares the null status of two values.
          *
-         * @param  o1  first value
-         * @param  o2  second value
-         * @return  +1, 0, or -1 according to o1 greater than, equal to, or
-         *          less than o2
+         * @param  null1  true iff first value is blank
+         * @param  null2  true iff second value is blank
+         * @return  comparison result, only meaningful if at least one
+         *          of the values is blank
          */
-        @SuppressWarnings({"rawtypes","unchecked"})
-        private int compareValues( Comparable o1, Comparable o2 ) {
-            boolean null1 = Tables.isBlank( o1 );
-            boolean null2 = Tables.isBlank( o2 );
+        int compareNulls( boolean null1, boolean null2 ) {
             if ( null1 && null2 ) {
                 return 0;
             }
             else if ( null1 ) {
-                return ( up_ ^ nullsLast_ ) ? -1 : +1;
+                return nullsLast_ ? +1 : -1;
+            }
+            else {
+                return nullsLast_ ? -1 : +1;
+            }
+        }
+    }
+
+    /**
+     * SortKey implementation for floating point values.
+     * Blank values are stored as NaN.
+     */
+    private static class DoubleSortKey extends SortKey {
+        final double[] values_;
+
+        DoubleSortKey( int nrow, boolean nullsLast ) {
+            super( nullsLast );
+            values_ = new double[ nrow ];
+        }
+
+        void setValue( int irow, Object value ) {
+            values_[ irow ] = value instanceof Number
+                            ? ((Number) value).doubleValue()
+                            : Double.NaN;
+        }
+
+        int compare( int irow1, int irow2 ) {
+            double v1 = values_[ irow1 ];
+            double v2 = values_[ irow2 ];
+            boolean null1 = Double.isNaN( v1 );
+            boolean null2 = Double.isNaN( v2 );
+            return null1 || null2 ? compareNulls( null1, null2 )
+                                  : Double.compare( v1, v2 );
+        }
+    }
+
+    /**
+     * SortKey implementation for integer values.
+     * Blank values are recorded in a bit mask.
+     */
+    private static class LongSortKey extends SortKey {
+        final long[] values_;
+        final AtomicLongArray nullMask_;
+
+        LongSortKey( int nrow, boolean nullsLast ) {
+            super( nullsLast );
+            values_ = new long[ nrow ];
+            nullMask_ = new AtomicLongArray( ( nrow + 63 ) >>> 6 );
+        }
+
+        void setValue( int irow, Object value ) {
+            if ( value instanceof Number ) {
+                values_[ irow ] = ((Number) value).longValue();
+            }
+            else {
+                int iw = irow >>> 6;
+                long bit = 1L << ( irow & 63 );
+                long word;
+                do {
+                    word = nullMask_.get( iw );
+                } while ( ! nullMask_.compareAndSet( iw, word, word | bit ) );
+            }
+        }
+
+        int compare( int irow1, int irow2 ) {
+            boolean null1 = isNull( irow1 );
+            boolean null2 = isNull( irow2 );
+            return null1 || null2
+                 ? compareNulls( null1, null2 )
+                 : Long.compare( values_[ irow1 ], values_[ irow2 ] );
+        }
+
+        private boolean isNull( int irow ) {
+            return ( nullMask_.get( irow >>> 6 ) & ( 1L << ( irow & 63 ) ) )
+                   != 0;
+        }
+    }
+
+    /**
+     * SortKey implementation for general Comparable objects.
+     */
+    private static class ObjectSortKey extends SortKey {
+        final Object[] values_;
+
+        ObjectSortKey( int nrow, boolean nullsLast ) {
+            super( nullsLast );
+            values_ = new Object[ nrow ];
+        }
+
+        void setValue( int irow, Object value ) {
+            values_[ irow ] = Tables.isBlank( value ) ? null : value;
+        }
+
+        @SuppressWarnings("unchecked")
+        int compare( int irow1, int irow2 ) {
+            Object v1 = values_[ irow1 ];
+            Object v2 = values_[ irow2 ];
+            if ( v1 == null || v2 == null ) {
+                return compareNulls( v1 == null, v2 == null );
+            }
+            try {
+                return ((Comparable<Object>) v1).compareTo( v2 );
             }
-            else if ( null2 ) {
-                return ( up_ ^ nullsLast_ ) ? +1 : -1;
+            catch ( ClassCastException e ) {
+                throw new SortException(
+                    "Expression comparison error during sorting", e );
+            }
+        }
+    }
+
+    /**
+     * Compares row indices according to the values of a list of sort keys.
+     */
+    private static class IndexComparator {
+        final SortKey[] keys_;
+        final int nkey_;
+        final boolean up_;
+
+        /**
+         * Constructor.
+         *
+         * @param  keys  sort keys; first is primary etc
+         * @param   up  true for sorting into ascending order, false for
+         *          descending order
+         */
+        IndexComparator( SortKey[] keys, boolean up ) {
+            keys_ = keys;
+            nkey_ = keys.length;
+            up_ = up;
+        }
+
+        /**
+         * Compares two rows.
+         *
+         * @param  irow1  first row index
+         * @param  irow2  second row index
+         * @return  negative, zero or positive according to whether
+         *          row 1 sorts before, equal to or after row 2
+         */
+        int compare( int irow1, int irow2 ) {
+            for ( int ik = 0; ik < nkey_; ik++ ) {
+                int c = keys_[ ik ].compare( irow1, irow2 );
+                if ( c != 0 ) {
+                    return up_ ? c : -c;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * ForkJoin task that performs a stable parallel merge sort
+     * on part of an index array.
+     */
+    private static class MergeSortTask extends RecursiveAction {
+        final IndexComparator comp_;
+        final int[] index_;
+        final int[] work_;
+        final int lo_;
+        final int hi_;
+
+        /**
+         * Constructor.
+         *
+         * @param  comp  comparator
+         * @param  index   array to sort
+         * @param  work   workspace array, same size as index
+         * @param  lo    lower bound of region to sort (inclusive)
+         * @param  hi    upper bound of region to sort (exclusive)
+         */
+        MergeSortTask( IndexComparator comp, int[] index, int[] work,
+                       int lo, int hi ) {
+            comp_ = comp;
+            index_ = index;
+            work_ = work;
+            lo_ = lo;
+            hi_ = hi;
+        }
+
+        protected void compute() {
+            if ( hi_ - lo_ <= PARALLEL_THRESHOLD ) {
+                mergeSort( comp_, index_, work_, lo_, hi_ );
             }
             else {
-                return up_ ? o1.compareTo( o2 )
-                           : o2.compareTo( o1 );
+                int mid = ( lo_ + hi_ ) >>> 1;
+                invokeAll( new MergeSortTask( comp_, index_, work_, lo_, mid ),
+                           new MergeSortTask( comp_, index_, work_, mid, hi_ ));
+                merge( comp_, index_, work_, lo_, mid, hi_ );
             }
         }
     }
 
     /**
-     * Runtime exception which can be thrown from methods invoked by 
-     * Arrays.sort.
+     * Runtime exception which can be thrown from within the sort.
      */
     private static class SortException extends RuntimeException {
 
@@ -185,5 +588,4 @@ class TableSorter {
                                 .initCause( error );
         }
     }
-
 }
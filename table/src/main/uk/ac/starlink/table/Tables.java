@@ -91,6 +91,13 @@ public class Tables {
     public static final DefaultValueInfo DEC_INFO =
         new DefaultValueInfo( "Dec", Number.class, "Declination" );
 
+    /**
+     * Maximum number of rows in a table that can be sorted in memory
+     * by {@link #sortTable} or {@link #getSortedOrder}.
+     * Larger tables can be sorted using {@link ExternalSortStarTable}.
+     */
+    public static final long MAX_SORT_ROWS = Integer.MAX_VALUE - 8;
+
     static {
         RA_INFO.setUnitString( "radians" );
         DEC_INFO.setUnitString( "radians" );
@@ -161,6 +168,29 @@ public class Tables {
         return new ColumnPermutedStarTable( startab, colmap );
     }
 
+    /**
+     * Returns a table containing a selection of the columns of a
+     * given table.
+     * The result is equivalent to a {@link ColumnPermutedStarTable},
+     * but if the table is a {@link ColumnProjectable} it is given
+     * the chance to avoid accessing data from unused columns.
+     * Note this only applies to the table supplied; no attempt is made
+     * to look through wrapper tables for a projectable base table,
+     * since wrappers may compute their columns from any of the
+     * base table's columns.
+     *
+     * @param  startab  base table
+     * @param  colMap   array of column indices in <code>startab</code>,
+     *                  one for each column of the result
+     * @return  table with columns selected from <code>startab</code>
+     */
+    public static StarTable projectColumns( StarTable startab, int[] colMap )
+            throws IOException {
+        return startab instanceof ColumnProjectable
+             ? ((ColumnProjectable) startab).projectColumns( colMap )
+             : new ColumnPermutedStarTable( startab, colMap );
+    }
+
     /**
      * Copies the data and metadata from a <code>StarTable</code> into a 
      * table sink.  
@@ -356,6 +386,29 @@ public class Tables {
                             " not a " + classes[ icol ].getName() );
                     }
                 }
+
+                /* Check the primitive accessors match the object values. */
+                if ( Number.class.isAssignableFrom( classes[ icol ] ) ) {
+                    double dval = cell instanceof Number
+                                ? ((Number) cell).doubleValue()
+                                : Double.NaN;
+                    long lval = cell instanceof Number
+                              ? ((Number) cell).longValue()
+                              : 0L;
+                    boolean isBlank = isBlank( cell );
+                    List<RowData> rdatas = new ArrayList<>();
+                    rdatas.add( rseq );
+                    rdatas.add( rsplit );
+                    if ( isRandom ) {
+                        rdatas.add( racc );
+                    }
+                    for ( RowData rdata : rdatas ) {
+                        assertTrue( Double.compare( dval, rdata
+                                                   .getDouble( icol ) ) == 0 );
+                        assertTrue( isBlank || lval == rdata.getLong( icol ) );
+                        assertTrue( isBlank == rdata.isNull( icol ) );
+                    }
+                }
             }
             lrow++;
         }
@@ -580,7 +633,8 @@ public class Tables {
      *          be considered first
      * @return  a table with the same rows as <code>table</code> but in an 
      *          order determined by the other arguments
-     * @throws  IOException if <code>table.isRandom</code> is not true
+     * @throws  IOException if <code>table.isRandom</code> is not true,
+     *          or the table has more than {@link #MAX_SORT_ROWS} rows
      */
     public static StarTable sortTable( StarTable table, int[] colIndices,
                                        boolean up, boolean nullsLast )
@@ -590,6 +644,35 @@ public class Tables {
         return new RowPermutedStarTable( table, rowMap );
     }
 
+    /**
+     * Returns the sorted order of the rows of a table all of whose
+     * columns are sort keys.
+     * The key values are read from the table in a single scan,
+     * so the table need not provide random access, but its
+     * row count must be known.
+     * The sort is stable, and is done in parallel if the supplied
+     * runner permits.
+     *
+     * @param   keyTable  table whose columns provide the sort keys;
+     *          first column is primary key etc
+     * @param   up  true for sorting into ascending order, false for
+     *          descending order
+     * @param   nullsLast  true if blank values should be considered
+     *          last in the collation order, false if they should
+     *          be considered first
+     * @param   runner  controls parallelism of key acquisition and sorting;
+     *          {@link RowRunner#SEQUENTIAL} for single-threaded operation
+     * @return  an array mapping the rows in a table to their sorted order,
+     *          suitable for use with {@link RowPermutedStarTable}
+     * @throws  IOException  if the row count is unknown or greater than
+     *          {@link #MAX_SORT_ROWS}, or the keys cannot be read or compared
+     */
+    public static long[] getSortedOrder( StarTable keyTable, boolean up,
+                                         boolean nullsLast, RowRunner runner )
+            throws IOException {
+        return TableSorter.getSortedOrder( keyTable, up, nullsLast, runner );
+    }
+
     /**
      * Returns the contents of a table as a string.
      * Only intended for small tables, for instance during debugging.
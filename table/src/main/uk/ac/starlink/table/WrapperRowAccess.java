@@ -11,6 +11,14 @@ import java.io.IOException;
  * This class is provided so that it can be extended by subclasses
  * which modify the view of the base sequence in useful ways.
  *
+ * <p>The primitive accessor methods ({@link #getDouble} etc) of
+ * instances of this class itself forward to the base object.
+ * For subclasses however they are implemented in terms of
+ * {@link #getCell}, so that subclasses which override <code>getCell</code>
+ * present consistent values.  Subclasses which do not modify cell values
+ * may override the primitive accessors to forward to the base object
+ * for efficiency.
+ *
  * @author   Mark Taylor (Starlink)
  * @since    24 Jul 2020
  * @see      WrapperStarTable
@@ -19,6 +27,7 @@ public class WrapperRowAccess implements RowAccess {
 
     private final RowAccess baseAcc_;
     private final RowData data_;
+    private final boolean forwardPrimitives_;
 
     /**
      * Constructs a new RowAccess based on a given one.
@@ -40,6 +49,7 @@ public class WrapperRowAccess implements RowAccess {
     public WrapperRowAccess( RowAccess baseAcc, RowData data ) {
         baseAcc_ = baseAcc;
         data_ = data;
+        forwardPrimitives_ = getClass() == WrapperRowAccess.class;
     }
 
     public void setRowIndex( long irow ) throws IOException {
@@ -54,6 +64,26 @@ public class WrapperRowAccess implements RowAccess {
         return data_.getRow();
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getDouble( icol )
+                                  : RowAccess.super.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getLong( icol )
+                                  : RowAccess.super.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getInt( icol )
+                                  : RowAccess.super.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.isNull( icol )
+                                  : RowAccess.super.isNull( icol );
+    }
+
     public void close() throws IOException {
         baseAcc_.close();
     }
@@ -11,6 +11,14 @@ import java.io.IOException;
  * This class is provided so that it can be extended by subclasses
  * which modify the view of the base sequence in useful ways.
  *
+ * <p>The primitive accessor methods ({@link #getDouble} etc) of
+ * instances of this class itself forward to the base object.
+ * For subclasses however they are implemented in terms of
+ * {@link #getCell}, so that subclasses which override <code>getCell</code>
+ * present consistent values.  Subclasses which do not modify cell values
+ * may override the primitive accessors to forward to the base object
+ * for efficiency.
+ *
  * @author   Mark Taylor (Starlink)
  * @see      WrapperStarTable
  */
@@ -18,6 +26,7 @@ public class WrapperRowSequence implements RowSequence {
 
     protected final RowSequence baseSeq;
     private final RowData data_;
+    private final boolean forwardPrimitives_;
 
     /**
      * Constructs a new RowSequence based on a given one.
@@ -39,6 +48,7 @@ public class WrapperRowSequence implements RowSequence {
     public WrapperRowSequence( RowSequence baseSeq, RowData data ) {
         this.baseSeq = baseSeq;
         data_ = data;
+        forwardPrimitives_ = getClass() == WrapperRowSequence.class;
     }
 
     public boolean next() throws IOException {
@@ -53,6 +63,26 @@ public class WrapperRowSequence implements RowSequence {
         return data_.getRow();
     }
 
+    public double getDouble( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getDouble( icol )
+                                  : RowSequence.super.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getLong( icol )
+                                  : RowSequence.super.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.getInt( icol )
+                                  : RowSequence.super.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return forwardPrimitives_ ? data_.isNull( icol )
+                                  : RowSequence.super.isNull( icol );
+    }
+
     public void close() throws IOException {
         baseSeq.close();
     }
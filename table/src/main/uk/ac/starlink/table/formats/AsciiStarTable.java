@@ -113,6 +113,15 @@ public class AsciiStarTable extends StreamStarTable {
         init( datsrc );
     }
 
+    /**
+     * Returns true once data rows have been seen,
+     * since records in this format never span lines.
+     */
+    @Override
+    protected boolean isByteSplittable() {
+        return dataStarted_;
+    }
+
     protected RowEvaluator.Metadata obtainMetadata()
             throws TableFormatException, IOException {
 
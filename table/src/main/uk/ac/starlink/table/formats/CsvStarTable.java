@@ -42,6 +42,8 @@ public class CsvStarTable extends StreamStarTable {
     private final Boolean fixHasHeaderLine_;
     private final int maxSample_;
     private boolean hasHeading_;
+    private boolean hasMultilineCells_;
+    private boolean isSampleLimited_;
 
     /**
      * Constructor with default options.
@@ -82,6 +84,18 @@ public class CsvStarTable extends StreamStarTable {
         return in;
     }
 
+    /**
+     * Returns true if the metadata pass read all the rows and
+     * saw no quoted cells containing line breaks.
+     * If the metadata pass was limited by the maximum sample size,
+     * multi-line cells may be present in the unread part of the file,
+     * so false is returned.
+     */
+    @Override
+    protected boolean isByteSplittable() {
+        return ! hasMultilineCells_ && ! isSampleLimited_;
+    }
+
     protected RowEvaluator.Metadata obtainMetadata()
             throws TableFormatException, IOException {
 
@@ -115,6 +129,7 @@ public class CsvStarTable extends StreamStarTable {
             }
         }
         boolean isSampleLimited = maxSample_ > 0 && lrow >= maxSample_;
+        isSampleLimited_ = isSampleLimited;
 
         /* Get a first look at the metadata (may be adjusted later). */
         RowEvaluator.Metadata meta = evaluator.getMetadata();
@@ -285,6 +300,11 @@ public class CsvStarTable extends StreamStarTable {
                 case END:
                     throw new TableFormatException(
                         "End of file within a string literal" );
+                case '\r':
+                case '\n':
+                    hasMultilineCells_ = true;
+                    buffer.append( c );
+                    break;
                 default:
                     buffer.append( c );
             }
@@ -1,6 +1,7 @@
 package uk.ac.starlink.table.formats;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.PushbackInputStream;
 import java.util.List;
@@ -8,8 +9,11 @@ import uk.ac.starlink.table.AbstractStarTable;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.ReaderRowSequence;
 import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.TableFormatException;
+import uk.ac.starlink.util.Compression;
 import uk.ac.starlink.util.DataSource;
+import uk.ac.starlink.util.FileDataSource;
 
 /**
  * Abstract superclass for tables which reads a stream of characters to
@@ -20,6 +24,11 @@ import uk.ac.starlink.util.DataSource;
  * a further pass through for each required RowSequence, using the
  * metadata obtained earlier.
  *
+ * <p>If the data comes from an uncompressed file and the subclass
+ * reports that its records can be located from line starts
+ * (see {@link #isByteSplittable}), the {@link #getRowSplittable} method
+ * divides the file into byte ranges that can be parsed concurrently.
+ *
  * @author   Mark Taylor (Starlink)
  * @since    21 Sep 2004
  * @see   RowEvaluator
@@ -31,6 +40,7 @@ public abstract class StreamStarTable extends AbstractStarTable {
     private long nrow_;
     private RowEvaluator.Decoder[] decoders_;
     private ColumnInfo[] colInfos_;
+    private long dataOffset_ = Long.MIN_VALUE;
 
     /** Char representation of -1 (as returned end-of-stream read) */
     protected final static char END = (char) -1;
@@ -111,15 +121,106 @@ public abstract class StreamStarTable extends AbstractStarTable {
         };
     }
 
+    @Override
+    public RowSplittable getRowSplittable() throws IOException {
+        if ( isByteSplittable() &&
+             datsrc_ instanceof FileDataSource &&
+             datsrc_.getCompression() == Compression.NONE ) {
+            File file = ((FileDataSource) datsrc_).getFile();
+            long leng = file.length();
+            long offset = getDataOffset();
+            if ( offset >= 0 &&
+                 leng - offset >= 2 * TextRowSplittable.MIN_SPLIT_BYTES ) {
+                return new TextRowSplittable( file, offset, leng,
+                                              in -> readRecord( in ) );
+            }
+        }
+        return super.getRowSplittable();
+    }
+
     /**
      * Convenience method which returns a buffered pushback stream based
      * on this table's data source.
+     * The returned stream is a
+     * {@link TextRowSplittable.PositionInputStream}.
      *
      * @return  input stream containing source data
      */
     protected PushbackInputStream getInputStream() throws IOException {
-        return new PushbackInputStream( 
-                   new BufferedInputStream( datsrc_.getInputStream() ) );
+        return new TextRowSplittable.PositionInputStream(
+                   new BufferedInputStream( datsrc_.getInputStream() ), 0 );
+    }
+
+    /**
+     * Indicates whether the data records of this table can be
+     * found by starting to parse at the start of any line that follows
+     * the end of a record, and whether {@link #readRow} may be
+     * called concurrently on different streams.
+     * If so, the table may be read in parallel using byte ranges
+     * of its file.
+     *
+     * <p>The default implementation returns false.
+     *
+     * @return  true if records can be located from line starts
+     */
+    protected boolean isByteSplittable() {
+        return false;
+    }
+
+    /**
+     * Returns the byte offset at which data records start,
+     * that is the position of the stream returned by
+     * {@link #getInputStream} when it is first obtained.
+     *
+     * @return   data offset, or -1 if not known
+     */
+    private synchronized long getDataOffset() throws IOException {
+        if ( dataOffset_ == Long.MIN_VALUE ) {
+            try ( PushbackInputStream in = getInputStream() ) {
+                dataOffset_ =
+                    in instanceof TextRowSplittable.PositionInputStream
+                  ? ((TextRowSplittable.PositionInputStream) in).getPosition()
+                  : -1;
+            }
+        }
+        return dataOffset_;
+    }
+
+    /**
+     * Reads and decodes a row for use by a byte range splittable.
+     * Unlike the sequential reader, this checks the field count,
+     * so that misaligned parsing can be detected.
+     *
+     * @param  in  input stream
+     * @return  decoded row, or null at end of stream
+     * @throws  TableFormatException  if the input does not look like a row
+     */
+    private Object[] readRecord( PushbackInputStream in ) throws IOException {
+        List<String> cellList = readRow( in );
+        if ( cellList == null ) {
+            return null;
+        }
+        int ncol = ncol_;
+        if ( cellList.size() != ncol ) {
+            throw new TableFormatException( "Wrong number of fields ("
+                                          + cellList.size() + " != "
+                                          + ncol + ")" );
+        }
+        Object[] row = new Object[ ncol ];
+        for ( int icol = 0; icol < ncol; icol++ ) {
+            String sval = cellList.get( icol );
+            if ( sval != null && sval.trim().length() > 0 ) {
+                try {
+                    row[ icol ] = decoders_[ icol ].decode( sval );
+                }
+                catch ( RuntimeException e ) {
+                    throw new TableFormatException( "Bad value \"" + sval
+                                                  + "\" in column "
+                                                  + ( icol + 1 ), e );
+                }
+            }
+        }
+        return row;
     }
 
     /**
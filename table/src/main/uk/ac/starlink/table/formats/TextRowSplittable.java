@@ -0,0 +1,364 @@
+package uk.ac.starlink.table.formats;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.TableFormatException;
+
+/**
+ * RowSplittable for tables stored as a sequence of text records
+ * in an uncompressed file.
+ * Splitting divides up the byte range of the data part of the file,
+ * so that different parts can be parsed concurrently.
+ *
+ * <p>To split, a byte offset about halfway through the current range
+ * is chosen, the start of the following line is located,
+ * and a few records are read from there to check that the parse
+ * is in step with the record structure.
+ * The end of the first of those records marks the boundary between
+ * the two parts; each part reads records until its end boundary is
+ * reached.  If a record turns out to straddle a boundary,
+ * the resynchronisation was wrong, and an IOException is thrown
+ * rather than delivering corrupted rows.
+ *
+ * <p>The record parser must identify the end of a record correctly
+ * when it starts reading at the start of any line that follows
+ * the end of a previous record; formats with records spanning
+ * multiple lines are only safe if such records can be detected
+ * by the check reads.
+ *
+ * <p>Row indices are not known, so {@link #rowIndex} returns null.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class TextRowSplittable implements RowSplittable {
+
+    private final File file_;
+    private final RecordReader reader_;
+    private final long start_;
+    private long end_;
+    private PositionInputStream in_;
+    private Object[] row_;
+
+    /** Byte count below which a range will not be split. */
+    public static final long MIN_SPLIT_BYTES = 256 * 1024;
+
+    /** Number of records read to check a resynchronisation point. */
+    private static final int NCHECK = 4;
+
+    /** Maximum number of candidate lines tried for each split. */
+    private static final int MAX_TRY = 64;
+
+    private static final int BUFSIZ = 64 * 1024;
+
+    /**
+     * Constructor.
+     *
+     * @param  file   uncompressed file containing the table
+     * @param  start  byte offset of the first record to read
+     * @param  end    byte offset of the end of the data
+     * @param  reader   record parser
+     */
+    public TextRowSplittable( File file, long start, long end,
+                              RecordReader reader ) {
+        file_ = file;
+        start_ = start;
+        end_ = end;
+        reader_ = reader;
+    }
+
+    public TextRowSplittable split() {
+        if ( in_ != null || end_ - start_ < MIN_SPLIT_BYTES ) {
+            return null;
+        }
+        long boundary;
+        try {
+            boundary = findBoundary( start_ + ( end_ - start_ ) / 2 );
+        }
+        catch ( IOException e ) {
+            return null;
+        }
+        if ( boundary > start_ && boundary < end_ ) {
+            TextRowSplittable other =
+                new TextRowSplittable( file_, boundary, end_, reader_ );
+            end_ = boundary;
+            return other;
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes in this splittable's range.
+     */
+    public long splittableSize() {
+        return end_ - start_;
+    }
+
+    public LongSupplier rowIndex() {
+        return null;
+    }
+
+    public boolean next() throws IOException {
+        if ( in_ == null ) {
+            in_ = openStream( start_ );
+        }
+        if ( in_.getPosition() >= end_ ) {
+            row_ = null;
+            return false;
+        }
+        Object[] row = reader_.readRecord( in_ );
+        if ( row == null ) {
+            row_ = null;
+            return false;
+        }
+        skipLineEnds( in_ );
+        if ( in_.getPosition() > end_ ) {
+            throw new TableFormatException( "Record straddles split boundary"
+                                          + " at byte " + end_
+                                          + " of " + file_ );
+        }
+        row_ = row;
+        return true;
+    }
+
+    public Object getCell( int icol ) {
+        if ( row_ != null ) {
+            return row_[ icol ];
+        }
+        else {
+            throw new IllegalStateException( "No current row" );
+        }
+    }
+
+    public Object[] getRow() {
+        if ( row_ != null ) {
+            return row_;
+        }
+        else {
+            throw new IllegalStateException( "No current row" );
+        }
+    }
+
+    public void close() throws IOException {
+        if ( in_ != null ) {
+            in_.close();
+        }
+    }
+
+    /**
+     * Locates a record boundary at or after a given byte offset.
+     *
+     * @param  pos  approximate byte offset
+     * @return  offset of the start of a record at or after the
+     *          first line start following <code>pos</code>,
+     *          or -1 if none can be found before the end of this range
+     */
+    private long findBoundary( long pos ) throws IOException {
+        long lineStart = nextLineStart( pos - 1 );
+        for ( int itry = 0; itry < MAX_TRY && lineStart >= 0
+                                         && lineStart < end_; itry++ ) {
+            long boundary = checkRecords( lineStart );
+            if ( boundary >= 0 ) {
+                return boundary;
+            }
+            lineStart = nextLineStart( lineStart );
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset of the first line start after a given offset.
+     *
+     * @param  pos  byte offset
+     * @return  offset of the first byte following the line end sequence
+     *          found at or after <code>pos</code>,
+     *          or -1 if the end of file comes first
+     */
+    private long nextLineStart( long pos ) throws IOException {
+        try ( PositionInputStream in = openStream( pos ) ) {
+            for ( int b; ( b = in.read() ) >= 0; ) {
+                if ( b == '\n' || b == '\r' ) {
+                    skipLineEnds( in );
+                    return in.getPosition();
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Tries to read a few records starting at a given offset.
+     *
+     * @param  pos  byte offset of a candidate record start
+     * @return  offset of the end of the first record read,
+     *          or -1 if the records could not be parsed
+     */
+    private long checkRecords( long pos ) throws IOException {
+        long boundary = -1;
+        try ( PositionInputStream in = openStream( pos ) ) {
+            for ( int i = 0; i < NCHECK; i++ ) {
+                if ( reader_.readRecord( in ) == null ) {
+                    break;
+                }
+                skipLineEnds( in );
+                if ( i == 0 ) {
+                    boundary = in.getPosition();
+                }
+            }
+        }
+        catch ( TableFormatException e ) {
+            return -1;
+        }
+        return boundary;
+    }
+
+    /**
+     * Opens a stream on this splittable's file.
+     *
+     * @param  pos  byte offset at which to start reading
+     * @return  new stream
+     */
+    private PositionInputStream openStream( long pos ) throws IOException {
+        FileChannel chan =
+            FileChannel.open( file_.toPath(), StandardOpenOption.READ );
+        chan.position( pos );
+        return new PositionInputStream(
+                   new BufferedInputStream( Channels.newInputStream( chan ),
+                                            BUFSIZ ), pos );
+    }
+
+    /**
+     * Reads past any carriage return or newline characters in a stream.
+     *
+     * @param  in  input stream
+     */
+    private static void skipLineEnds( PushbackInputStream in )
+            throws IOException {
+        for ( int b; ( b = in.read() ) >= 0; ) {
+            if ( b != '\n' && b != '\r' ) {
+                in.unread( b );
+                return;
+            }
+        }
+    }
+
+    /**
+     * Parses records from a byte stream.
+     * Implementations must be safe for concurrent use on different streams.
+     */
+    @FunctionalInterface
+    public interface RecordReader {
+
+        /**
+         * Reads the next record from a stream.
+         * On exit the stream must be positioned immediately after
+         * the last byte belonging to the record; any bytes read beyond
+         * that must be pushed back.
+         *
+         * @param  in  input stream
+         * @return  cell values for the record, or null at end of stream
+         * @throws  TableFormatException  if the input does not represent
+         *          a record
+         */
+        Object[] readRecord( PushbackInputStream in ) throws IOException;
+    }
+
+    /**
+     * PushbackInputStream that keeps track of the offset in its
+     * source of the next byte to be read.
+     */
+    public static class PositionInputStream extends PushbackInputStream {
+
+        private final CountInputStream counter_;
+
+        /**
+         * Constructor.
+         *
+         * @param  in   base input stream
+         * @param  pos  offset of the next byte in <code>in</code>
+         */
+        public PositionInputStream( InputStream in, long pos ) {
+            this( new CountInputStream( in, pos ) );
+        }
+
+        /**
+         * Constructs a stream on a counting base stream.
+         *
+         * @param  counter  base stream
+         */
+        private PositionInputStream( CountInputStream counter ) {
+            super( counter );
+            counter_ = counter;
+        }
+
+        /**
+         * Returns the offset of the next byte that will be read
+         * from this stream.
+         *
+         * @return  byte offset
+         */
+        public long getPosition() {
+            return counter_.pos_ - ( buf.length - pos );
+        }
+    }
+
+    /**
+     * FilterInputStream that counts the bytes read through it.
+     */
+    private static class CountInputStream extends FilterInputStream {
+
+        long pos_;
+
+        /**
+         * Constructor.
+         *
+         * @param  in   base input stream
+         * @param  pos  initial count
+         */
+        CountInputStream( InputStream in, long pos ) {
+            super( in );
+            pos_ = pos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if ( b >= 0 ) {
+                pos_++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read( byte[] b, int off, int len ) throws IOException {
+            int n = in.read( b, off, len );
+            if ( n > 0 ) {
+                pos_ += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip( long n ) throws IOException {
+            long nskip = in.skip( n );
+            pos_ += nskip;
+            return nskip;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
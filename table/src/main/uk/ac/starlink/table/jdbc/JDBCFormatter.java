@@ -17,6 +17,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.RowSequence;
@@ -41,6 +48,14 @@ public class JDBCFormatter {
     private final Map<Integer,String> typeNameMap_;
     private final SqlSyntax sqlSyntax_;
     private final boolean upperCasePreferred_;
+    private int batchSize_;
+    private Connector connector_;
+    private int nconn_;
+
+    /** Suggested batch size for bulk loading. */
+    public static final int DFLT_BATCH_SIZE = 1000;
+
+    private static final Object[][] END_BATCHES = new Object[ 0 ][];
 
     private static Logger logger = 
         Logger.getLogger( "uk.ac.starlink.table.jdbc" );
@@ -56,6 +71,8 @@ public class JDBCFormatter {
             throws SQLException, IOException {
         conn_ = conn;
         table_ = table;
+        batchSize_ = 1;
+        nconn_ = 1;
         typeNameMap_ = makeTypesMap( conn_ );
         DatabaseMetaData meta = conn_.getMetaData();
         maxColLeng_ = meta.getMaxColumnNameLength();
@@ -239,33 +256,348 @@ public class JDBCFormatter {
         PreparedStatement pstmt = conn_.prepareStatement( insert );
 
         /* Add the data. */
-        int ncol = sqlCols_.length;
+        ParamSetter[] setters = createParamSetters();
         RowSequence rseq = table_.getRowSequence();
         try {
+            if ( connector_ != null && nconn_ > 1 && batchSize_ > 1 ) {
+                pstmt.close();
+                insertRowsParallel( insert, setters, rseq );
+            }
+            else {
+                insertRows( conn_, pstmt, setters, rseq );
+                pstmt.close();
+            }
+        }
+        finally {
+            rseq.close();
+        }
+    }
+
+    /**
+     * Sets the number of rows sent to the database at once when
+     * inserting data.
+     * If greater than 1, JDBC batch updates are used where the driver
+     * supports them, and where it supports transactions
+     * a commit is made after each batch;
+     * this is usually much faster than inserting single rows
+     * with autocommit on.
+     * The default value is 1, which inserts one row at a time
+     * using the connection's autocommit setting.
+     *
+     * @param  batchSize  number of rows per batch
+     */
+    public void setBatchSize( int batchSize ) {
+        batchSize_ = Math.max( 1, batchSize );
+    }
+
+    /**
+     * Returns the number of rows sent to the database at once when
+     * inserting data.
+     *
+     * @return  number of rows per batch
+     */
+    public int getBatchSize() {
+        return batchSize_;
+    }
+
+    /**
+     * Configures insertion of rows using several database connections
+     * in parallel.  Batches of rows are shared between
+     * <code>nconn</code> connections acquired from the given connector;
+     * the connection supplied at construction time is still used for
+     * dropping and creating the table.
+     * Each batch is committed separately, so if the write fails part way
+     * through, some rows may have been written.
+     * Parallel insertion is only used if the batch size is greater than 1.
+     *
+     * @param  connector  source of connections for inserting rows,
+     *                    or null for single-connection operation
+     * @param  nconn   number of inserting connections
+     */
+    public void setParallelConnections( Connector connector, int nconn ) {
+        connector_ = connector;
+        nconn_ = Math.max( 1, nconn );
+    }
+
+    /**
+     * Inserts the rows from a row sequence into the database
+     * using a single connection.
+     *
+     * @param  conn  database connection
+     * @param  pstmt   insert statement prepared on <code>conn</code>
+     * @param  setters  per-column parameter setters
+     * @param  rseq   row sequence supplying data
+     */
+    private void insertRows( Connection conn, PreparedStatement pstmt,
+                             ParamSetter[] setters, RowSequence rseq )
+            throws IOException, SQLException {
+        if ( batchSize_ <= 1 ) {
             while ( rseq.next() ) {
-                Object[] row = rseq.getRow();
-                int pix = 0;
-                for ( int icol = 0; icol < ncol; icol++ ) {
-                    if ( sqlCols_[ icol ] != null ) {
-                        pix++;
-                        Object val = row[ icol ];
-                        if ( Tables.isBlank( val ) ) {
-                            pstmt.setNull( pix, sqlTypes_[ icol ] );
+                setParams( pstmt, setters, rseq.getRow() );
+                pstmt.executeUpdate();
+            }
+            return;
+        }
+        Transaction tx = new Transaction( conn );
+        try {
+            Object[][] batch = new Object[ batchSize_ ][];
+            int nb = 0;
+            while ( rseq.next() ) {
+
+                /* Copy the row, since the sequence may reuse its array. */
+                batch[ nb++ ] = rseq.getRow().clone();
+                if ( nb == batchSize_ ) {
+                    tx.insertBatch( pstmt, setters, batch, nb );
+                    nb = 0;
+                }
+            }
+            if ( nb > 0 ) {
+                tx.insertBatch( pstmt, setters, batch, nb );
+            }
+        }
+        catch ( IOException | SQLException | RuntimeException e ) {
+            tx.rollback();
+            throw e;
+        }
+        finally {
+            tx.end();
+        }
+    }
+
+    /**
+     * Inserts the rows from a row sequence into the database,
+     * sharing batches of rows between several connections that
+     * write concurrently.
+     *
+     * @param  insert  text of insert statement
+     * @param  setters  per-column parameter setters
+     * @param  rseq   row sequence supplying data
+     */
+    private void insertRowsParallel( final String insert,
+                                     final ParamSetter[] setters,
+                                     RowSequence rseq )
+            throws IOException, SQLException {
+        final int nconn = nconn_;
+        final BlockingQueue<Object[][]> queue =
+            new ArrayBlockingQueue<Object[][]>( 2 * nconn );
+        ExecutorService executor =
+                Executors.newFixedThreadPool( nconn, r -> {
+            Thread th = new Thread( r, "JDBC Writer" );
+            th.setDaemon( true );
+            return th;
+        } );
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        try {
+            for ( int ic = 0; ic < nconn; ic++ ) {
+                futures.add( executor.submit( () -> {
+                    try ( Connection conn = connector_.getConnection();
+                          PreparedStatement pstmt =
+                              conn.prepareStatement( insert ) ) {
+                        Transaction tx = new Transaction( conn );
+                        try {
+                            for ( Object[][] batch;
+                                  ( batch = queue.take() ) != END_BATCHES; ) {
+                                tx.insertBatch( pstmt, setters, batch,
+                                                batch.length );
+                            }
+                        }
+                        catch ( SQLException | RuntimeException e ) {
+                            tx.rollback();
+                            throw e;
                         }
-                        else {
-                            pstmt.setObject( pix, row[ icol ],
-                                             sqlTypes_[ icol ] );
+                        finally {
+                            tx.end();
                         }
                     }
+                    return null;
+                } ) );
+            }
+            List<Object[]> rows = new ArrayList<Object[]>( batchSize_ );
+            while ( rseq.next() ) {
+                rows.add( rseq.getRow().clone() );
+                if ( rows.size() == batchSize_ ) {
+                    submitBatch( queue, rows.toArray( new Object[ 0 ][] ),
+                                 futures );
+                    rows.clear();
                 }
-                pstmt.executeUpdate();
+            }
+            if ( rows.size() > 0 ) {
+                submitBatch( queue, rows.toArray( new Object[ 0 ][] ),
+                             futures );
+            }
+            for ( int ic = 0; ic < nconn; ic++ ) {
+                submitBatch( queue, END_BATCHES, futures );
+            }
+            for ( Future<?> future : futures ) {
+                checkWriter( future, true );
             }
         }
         finally {
-            rseq.close();
+            executor.shutdownNow();
         }
     }
 
+    /**
+     * Passes a batch of rows to the queue consumed by writer threads,
+     * waiting if necessary, but bailing out if any of the writers fails.
+     *
+     * @param  queue  batch queue
+     * @param  batch  batch of rows
+     * @param  futures   writer thread futures
+     */
+    private static void submitBatch( BlockingQueue<Object[][]> queue,
+                                     Object[][] batch,
+                                     List<Future<?>> futures )
+            throws IOException, SQLException {
+        try {
+            while ( ! queue.offer( batch, 100, TimeUnit.MILLISECONDS ) ) {
+                for ( Future<?> future : futures ) {
+                    checkWriter( future, false );
+                }
+            }
+        }
+        catch ( InterruptedException e ) {
+            throw (IOException)
+                  new IOException( "Interrupted" ).initCause( e );
+        }
+    }
+
+    /**
+     * Checks the status of a writer thread, rethrowing any exception
+     * that caused it to fail.
+     *
+     * @param  future  writer thread future
+     * @param  wait  true to wait for completion,
+     *               false to return immediately if it is still running
+     */
+    private static void checkWriter( Future<?> future, boolean wait )
+            throws IOException, SQLException {
+        if ( wait || future.isDone() ) {
+            try {
+                future.get();
+            }
+            catch ( InterruptedException e ) {
+                throw (IOException)
+                      new IOException( "Interrupted" ).initCause( e );
+            }
+            catch ( ExecutionException e ) {
+                Throwable cause = e.getCause();
+                if ( cause instanceof SQLException ) {
+                    throw (SQLException) cause;
+                }
+                else if ( cause instanceof RuntimeException ) {
+                    throw (RuntimeException) cause;
+                }
+                else {
+                    throw (IOException)
+                          new IOException( "JDBC write failed: " + cause )
+                         .initCause( cause );
+                }
+            }
+            if ( ! wait ) {
+                throw new IOException( "JDBC writer finished early" );
+            }
+        }
+    }
+
+    /**
+     * Sets the parameters of an insert statement from a row.
+     *
+     * @param  pstmt  insert statement
+     * @param  setters  per-column parameter setters
+     * @param  row   row data
+     */
+    private void setParams( PreparedStatement pstmt, ParamSetter[] setters,
+                            Object[] row )
+            throws SQLException {
+        int ncol = setters.length;
+        int pix = 0;
+        for ( int icol = 0; icol < ncol; icol++ ) {
+            ParamSetter setter = setters[ icol ];
+            if ( setter != null ) {
+                pix++;
+                Object val = row[ icol ];
+                if ( Tables.isBlank( val ) ) {
+                    pstmt.setNull( pix, sqlTypes_[ icol ] );
+                }
+                else {
+                    setter.setParam( pstmt, pix, val );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an array of objects which know how to set statement
+     * parameters for each column, based on the column content class.
+     * Elements are null for columns which are not written.
+     *
+     * @return  per-column parameter setter array
+     */
+    private ParamSetter[] createParamSetters() {
+        int ncol = sqlCols_.length;
+        ParamSetter[] setters = new ParamSetter[ ncol ];
+        for ( int icol = 0; icol < ncol; icol++ ) {
+            if ( sqlCols_[ icol ] != null ) {
+                final Class<?> clazz =
+                    table_.getColumnInfo( icol ).getContentClass();
+                final int sqlType = sqlTypes_[ icol ];
+                final ParamSetter objSetter =
+                    ( ps, pix, val ) -> ps.setObject( pix, val, sqlType );
+                final ParamSetter typedSetter;
+                if ( clazz.equals( Byte.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setByte( pix, (Byte) val );
+                }
+                else if ( clazz.equals( Short.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setShort( pix, (Short) val );
+                }
+                else if ( clazz.equals( Integer.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setInt( pix, (Integer) val );
+                }
+                else if ( clazz.equals( Long.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setLong( pix, (Long) val );
+                }
+                else if ( clazz.equals( Float.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setFloat( pix, (Float) val );
+                }
+                else if ( clazz.equals( Double.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setDouble( pix, (Double) val );
+                }
+                else if ( clazz.equals( Boolean.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setBoolean( pix, (Boolean) val );
+                }
+                else if ( clazz.equals( String.class ) ) {
+                    typedSetter = ( ps, pix, val ) ->
+                                  ps.setString( pix, (String) val );
+                }
+                else {
+                    typedSetter = null;
+                }
+
+                /* Fall back to setObject for values which turn out not
+                 * to have the declared class. */
+                setters[ icol ] = typedSetter == null
+                                ? objSetter
+                                : ( ps, pix, val ) -> {
+                                      if ( clazz.isInstance( val ) ) {
+                                          typedSetter.setParam( ps, pix, val );
+                                      }
+                                      else {
+                                          objSetter.setParam( ps, pix, val );
+                                      }
+                                  };
+            }
+        }
+        return setters;
+    }
+
     /**
      * Returns the SqlColumn object describing how a given column of this
      * formatter's input table will be written into the RDBMS.
@@ -568,6 +900,103 @@ public class JDBCFormatter {
         }
     }
 
+    /**
+     * Sets a parameter of a prepared statement from a non-blank value.
+     */
+    @FunctionalInterface
+    private interface ParamSetter {
+
+        /**
+         * Sets a statement parameter.
+         *
+         * @param  pstmt  statement
+         * @param  pix   1-based parameter index
+         * @param  val   non-blank value
+         */
+        void setParam( PreparedStatement pstmt, int pix, Object val )
+                throws SQLException;
+    }
+
+    /**
+     * Manages batched inserts on a connection, using explicit transactions
+     * if the database supports them.
+     */
+    private class Transaction {
+
+        private final Connection conn_;
+        private final boolean useBatch_;
+        private final boolean useTx_;
+        private final boolean autoCommit_;
+
+        /**
+         * Constructor.  Autocommit is turned off if transactions
+         * are to be used.
+         *
+         * @param  conn  connection
+         */
+        Transaction( Connection conn ) throws SQLException {
+            conn_ = conn;
+            DatabaseMetaData meta = conn.getMetaData();
+            useBatch_ = meta.supportsBatchUpdates();
+            useTx_ = meta.supportsTransactions();
+            autoCommit_ = conn.getAutoCommit();
+            if ( useTx_ && autoCommit_ ) {
+                conn.setAutoCommit( false );
+            }
+        }
+
+        /**
+         * Inserts and commits a batch of rows.
+         *
+         * @param  pstmt  insert statement
+         * @param  setters  per-column parameter setters
+         * @param  rows   array of rows
+         * @param  nrow   number of rows from the array to insert
+         */
+        void insertBatch( PreparedStatement pstmt, ParamSetter[] setters,
+                          Object[][] rows, int nrow )
+                throws SQLException {
+            for ( int ir = 0; ir < nrow; ir++ ) {
+                setParams( pstmt, setters, rows[ ir ] );
+                if ( useBatch_ ) {
+                    pstmt.addBatch();
+                }
+                else {
+                    pstmt.executeUpdate();
+                }
+            }
+            if ( useBatch_ ) {
+                pstmt.executeBatch();
+            }
+            if ( useTx_ ) {
+                conn_.commit();
+            }
+        }
+
+        /**
+         * Rolls back any uncommitted work following an error.
+         */
+        void rollback() {
+            if ( useTx_ ) {
+                try {
+                    conn_.rollback();
+                }
+                catch ( SQLException e ) {
+                    logger.warning( "Rollback failed: " + e );
+                }
+            }
+        }
+
+        /**
+         * Restores the connection's original autocommit setting.
+         */
+        void end() throws SQLException {
+            if ( useTx_ && autoCommit_ ) {
+                conn_.setAutoCommit( true );
+            }
+        }
+    }
+
     /**
      * Describes a column as it will be written to a table in an RDBMS.
      */
@@ -129,6 +129,26 @@ public class JDBCHandler {
     public void createJDBCTable( StarTable startab, String spec,
                                  WriteMode mode ) 
             throws IOException, SQLException {
+        createJDBCTable( startab, spec, mode, 1, 1 );
+    }
+
+    /**
+     * Writes a table to a database with control over bulk loading.
+     *
+     * @param  startab  table to write
+     * @param  spec   JDBC URL with table name as fragment identifier
+     * @param  mode   write mode
+     * @param  batchSize  number of rows inserted in each batch;
+     *                    1 means one row at a time
+     * @param  nconn  number of database connections used concurrently
+     *                for inserting rows; only effective if
+     *                <code>batchSize&gt;1</code>
+     * @see   JDBCFormatter#setBatchSize
+     * @see   JDBCFormatter#setParallelConnections
+     */
+    public void createJDBCTable( StarTable startab, String spec,
+                                 WriteMode mode, int batchSize, int nconn )
+            throws IOException, SQLException {
 
         /* Reject if it doesn't look like a JDBC URL. */
         if ( ! spec.startsWith( "jdbc:" ) ) { 
@@ -149,7 +169,16 @@ public class JDBCHandler {
  
         /* And write the data to the table. */
         try {
-            new JDBCFormatter( conn, startab ).createJDBCTable( frag, mode );
+            JDBCFormatter formatter = new JDBCFormatter( conn, startab );
+            formatter.setBatchSize( batchSize );
+            if ( nconn > 1 ) {
+                formatter.setParallelConnections( () -> {
+                    return user == null
+                         ? DriverManager.getConnection( url )
+                         : DriverManager.getConnection( url, user, passwd );
+                }, nconn );
+            }
+            formatter.createJDBCTable( frag, mode );
         }
         finally {
             conn.close();
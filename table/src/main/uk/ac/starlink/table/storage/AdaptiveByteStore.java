@@ -120,6 +120,7 @@ public class AdaptiveByteStore implements ByteStore {
                     logger_.info( "malloc " + count_ + " bytes" );
                 }
                 bbuf.put( byteOut.getBuf(), 0, byteOut.getCount() );
+                bbuf.flip();
             }
             return new ByteBuffer[] { bbuf };
         }
@@ -1,6 +1,7 @@
 package uk.ac.starlink.table.storage;
 
 import java.io.IOException;
+import uk.ac.starlink.table.Tables;
 
 /**
  * Accessor for stored values.
@@ -78,4 +79,18 @@ public interface ColumnReader {
      * @return   best-efforts boolean value
      */
     boolean getBooleanValue( long ix ) throws IOException;
+
+    /**
+     * Indicates whether the value at a given index is blank,
+     * in the sense of {@link uk.ac.starlink.table.Tables#isBlank}.
+     * The default implementation examines the object value;
+     * implementations which can determine this without object creation
+     * should override it.
+     *
+     * @param   ix  value index
+     * @return  true iff the value is blank
+     */
+    default boolean isNull( long ix ) throws IOException {
+        return Tables.isBlank( getObjectValue( ix ) );
+    }
 }
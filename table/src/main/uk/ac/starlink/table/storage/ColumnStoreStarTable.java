@@ -21,6 +21,7 @@ public class ColumnStoreStarTable extends WrapperStarTable {
     private final int ncol_;
     private final ColumnStore[] colStores_;
     private final ThreadLocal<ColumnReader>[] colReaders_;
+    private final boolean[] isNumeric_;
 
     /**
      * Constructor.
@@ -37,6 +38,15 @@ public class ColumnStoreStarTable extends WrapperStarTable {
         ncol_ = template.getColumnCount();
         colStores_ = colStores;
 
+        /* Note which columns can use the primitive reader accessors,
+         * which only give meaningful results for numeric content. */
+        isNumeric_ = new boolean[ ncol_ ];
+        for ( int ic = 0; ic < ncol_; ic++ ) {
+            isNumeric_[ ic ] = Number.class
+                              .isAssignableFrom( template.getColumnInfo( ic )
+                                                         .getContentClass() );
+        }
+
         /* Prepare ThreadLocals to service the thread-safe table
          * random access methods. */
         @SuppressWarnings({"unchecked","rawtypes"})
@@ -62,6 +72,20 @@ public class ColumnStoreStarTable extends WrapperStarTable {
         return nrow_;
     }
 
+    /**
+     * Returns a new reader for one of this table's columns.
+     * Depending on the column store implementation, this may provide
+     * primitive access to the cell values without object creation.
+     * The returned object is not safe for concurrent use from
+     * multiple threads.
+     *
+     * @param  icol  column index
+     * @return  new column reader
+     */
+    public ColumnReader createColumnReader( int icol ) {
+        return colStores_[ icol ].createReader();
+    }
+
     public Object getCell( long lrow, int icol ) throws IOException {
         return colReaders_[ icol ].get().getObjectValue( lrow );
     }
@@ -104,6 +128,32 @@ public class ColumnStoreStarTable extends WrapperStarTable {
                     throw new IllegalStateException();
                 }
             }
+            public double getDouble( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getDoubleValue( checkRow() )
+                     : RowSequence.super.getDouble( icol );
+            }
+            public long getLong( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getLongValue( checkRow() )
+                     : RowSequence.super.getLong( icol );
+            }
+            public int getInt( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getIntValue( checkRow() )
+                     : RowSequence.super.getInt( icol );
+            }
+            public boolean isNull( int icol ) throws IOException {
+                return readers[ icol ].isNull( checkRow() );
+            }
+            private long checkRow() {
+                if ( irow >= 0 ) {
+                    return irow;
+                }
+                else {
+                    throw new IllegalStateException();
+                }
+            }
             public void close() {
             }
         };
@@ -133,6 +183,24 @@ public class ColumnStoreStarTable extends WrapperStarTable {
                 }
                 return row;
             }
+            public double getDouble( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getDoubleValue( irow_ )
+                     : RowAccess.super.getDouble( icol );
+            }
+            public long getLong( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getLongValue( irow_ )
+                     : RowAccess.super.getLong( icol );
+            }
+            public int getInt( int icol ) throws IOException {
+                return isNumeric_[ icol ]
+                     ? readers[ icol ].getIntValue( irow_ )
+                     : RowAccess.super.getInt( icol );
+            }
+            public boolean isNull( int icol ) throws IOException {
+                return readers[ icol ].isNull( irow_ );
+            }
             public void close() {
             }
         };
@@ -0,0 +1,391 @@
+package uk.ac.starlink.table.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ColumnStore implementation which stores scalar primitive values
+ * in direct (off-heap) byte buffers.
+ * Values are packed into fixed-size chunks, each with a null bitmap
+ * that is only allocated if the chunk contains a null value,
+ * so that no per-cell objects are retained once the data is stored
+ * and the stored data does not contribute to the garbage collector's
+ * workload.
+ * The first chunk is grown as required and the last one is trimmed
+ * when writing is complete, so that short columns do not occupy
+ * a full chunk's worth of direct memory.
+ *
+ * <p>The readers supplied by this store return primitive values
+ * without object creation from the primitive accessor methods;
+ * for null cells <code>getObjectValue</code> returns null,
+ * <code>getDoubleValue</code> returns NaN
+ * and the integer accessors return zero.
+ *
+ * <p>Note that direct memory is limited by the JVM separately from heap,
+ * by default to the maximum heap size; the limit can be adjusted using
+ * the <code>-XX:MaxDirectMemorySize</code> JVM option.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class OffHeapColumnStore implements ColumnStore {
+
+    private final Type type_;
+    private final int itemSize_;
+    private final List<ByteBuffer> chunks_;
+    private final List<long[]> nullMasks_;
+    private ByteBuffer chunk_;
+    private long[] nullMask_;
+    private long nrow_;
+    private ByteBuffer[] chunkArray_;
+    private long[][] maskArray_;
+
+    /** Log base 2 of the number of items in each chunk. */
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Number of items in the initial allocation for the first chunk. */
+    private static final int INITIAL_SIZE = 1024;
+
+    /**
+     * Constructor.  The supplied class must be one for which
+     * {@link #isSupported} returns true.
+     *
+     * @param  clazz  class of objects that will be stored
+     */
+    public OffHeapColumnStore( Class<?> clazz ) {
+        type_ = getType( clazz );
+        if ( type_ == null ) {
+            throw new IllegalArgumentException( "Unsupported type " + clazz );
+        }
+        itemSize_ = type_.size_;
+        chunks_ = new ArrayList<ByteBuffer>();
+        nullMasks_ = new ArrayList<long[]>();
+    }
+
+    /**
+     * Indicates whether values of a given class can be stored by
+     * instances of this class.  This is true for the wrapper classes
+     * of the primitive numeric types and for <code>Boolean</code>.
+     *
+     * @param  clazz  content class
+     * @return  true iff <code>clazz</code> can be stored
+     */
+    public static boolean isSupported( Class<?> clazz ) {
+        return getType( clazz ) != null;
+    }
+
+    public void acceptCell( Object value ) {
+        int ioff = (int) ( nrow_ & CHUNK_MASK );
+        if ( ioff == 0 ) {
+
+            /* Start a new chunk.  The first one starts small, so that
+             * short columns don't tie up a whole chunk's worth of
+             * direct memory; later ones are full size. */
+            int nitem = nrow_ == 0 ? Math.min( INITIAL_SIZE, CHUNK_SIZE )
+                                   : CHUNK_SIZE;
+            chunk_ = ByteBuffer.allocateDirect( nitem * itemSize_ )
+                               .order( ByteOrder.nativeOrder() );
+            nullMask_ = null;
+            chunks_.add( chunk_ );
+            nullMasks_.add( null );
+        }
+        else if ( ioff * itemSize_ == chunk_.capacity() ) {
+
+            /* Grow the first chunk geometrically up to full size. */
+            int nitem = Math.min( 2 * ioff, CHUNK_SIZE );
+            chunk_ = copyChunk( chunk_, ioff * itemSize_, nitem * itemSize_ );
+            chunks_.set( chunks_.size() - 1, chunk_ );
+        }
+        if ( value == null ) {
+            if ( nullMask_ == null ) {
+                nullMask_ = new long[ CHUNK_SIZE / 64 ];
+                nullMasks_.set( chunks_.size() - 1, nullMask_ );
+            }
+            nullMask_[ ioff >>> 6 ] |= 1L << ( ioff & 63 );
+            type_.putBlank( chunk_, ioff * itemSize_ );
+        }
+        else {
+            type_.put( chunk_, ioff * itemSize_, value );
+        }
+        nrow_++;
+    }
+
+    public void endCells() {
+
+        /* Trim the final chunk if it is only partly full. */
+        if ( chunk_ != null ) {
+            int nbyte = ( (int) ( ( nrow_ - 1 ) & CHUNK_MASK ) + 1 )
+                      * itemSize_;
+            if ( nbyte < chunk_.capacity() ) {
+                chunks_.set( chunks_.size() - 1,
+                             copyChunk( chunk_, nbyte, nbyte ) );
+            }
+        }
+        chunkArray_ = chunks_.toArray( new ByteBuffer[ 0 ] );
+        maskArray_ = nullMasks_.toArray( new long[ 0 ][] );
+        chunk_ = null;
+        nullMask_ = null;
+    }
+
+    public ColumnReader createReader() {
+        final ByteBuffer[] chunks = new ByteBuffer[ chunkArray_.length ];
+        for ( int ic = 0; ic < chunks.length; ic++ ) {
+            chunks[ ic ] = chunkArray_[ ic ].duplicate()
+                                            .order( ByteOrder.nativeOrder() );
+        }
+        final long[][] masks = maskArray_;
+        final long nrow = nrow_;
+        final Type type = type_;
+        final int itemSize = itemSize_;
+        return new ColumnReader() {
+            public long getRowCount() {
+                return nrow;
+            }
+            public boolean isNull( long ix ) {
+                return isMasked( ix )
+                    || ( type.isFloating_ &&
+                         Double.isNaN( type.getDouble( chunk( ix ),
+                                                       offset( ix ) ) ) );
+            }
+            public Object getObjectValue( long ix ) {
+                return isMasked( ix )
+                     ? null
+                     : type.getObject( chunk( ix ), offset( ix ) );
+            }
+            public double getDoubleValue( long ix ) {
+                return isMasked( ix )
+                     ? Double.NaN
+                     : type.getDouble( chunk( ix ), offset( ix ) );
+            }
+            public int getIntValue( long ix ) {
+                return (int) getLongValue( ix );
+            }
+            public long getLongValue( long ix ) {
+                return isMasked( ix )
+                     ? 0L
+                     : type.getLong( chunk( ix ), offset( ix ) );
+            }
+            public boolean getBooleanValue( long ix ) {
+                return getLongValue( ix ) != 0;
+            }
+            private boolean isMasked( long ix ) {
+                long[] mask = masks[ (int) ( ix >>> CHUNK_SHIFT ) ];
+                if ( mask == null ) {
+                    return false;
+                }
+                else {
+                    int ioff = (int) ( ix & CHUNK_MASK );
+                    return ( mask[ ioff >>> 6 ] & ( 1L << ( ioff & 63 ) ) )
+                           != 0;
+                }
+            }
+            private ByteBuffer chunk( long ix ) {
+                return chunks[ (int) ( ix >>> CHUNK_SHIFT ) ];
+            }
+            private int offset( long ix ) {
+                return ( (int) ( ix & CHUNK_MASK ) ) * itemSize;
+            }
+        };
+    }
+
+    /**
+     * Returns a new direct buffer containing the initial part of
+     * an existing one.
+     *
+     * @param  chunk  buffer to copy
+     * @param  nbyte  number of bytes to copy
+     * @param  capacity  capacity of the new buffer, &gt;=nbyte
+     * @return  new buffer with position zero and limit equal to capacity
+     */
+    private static ByteBuffer copyChunk( ByteBuffer chunk, int nbyte,
+                                         int capacity ) {
+        ByteBuffer src = chunk.duplicate();
+        src.position( 0 );
+        src.limit( nbyte );
+        ByteBuffer dest = ByteBuffer.allocateDirect( capacity )
+                                    .order( ByteOrder.nativeOrder() );
+        dest.put( src );
+        dest.clear();
+        return dest;
+    }
+
+    /**
+     * Returns the storage type for a given content class.
+     *
+     * @param  clazz  content class
+     * @return  storage type, or null if not supported
+     */
+    private static Type getType( Class<?> clazz ) {
+        for ( Type type : Type.values() ) {
+            if ( type.clazz_.equals( clazz ) ) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Enumerates the supported storage types.
+     * Floating point values are stored as such,
+     * but integer and boolean values all share long-valued accessors.
+     */
+    private enum Type {
+        BYTE( Byte.class, 1 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.put( off, ((Number) value).byteValue() );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return buf.get( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Byte.valueOf( buf.get( off ) );
+            }
+        },
+        SHORT( Short.class, 2 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.putShort( off, ((Number) value).shortValue() );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return buf.getShort( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Short.valueOf( buf.getShort( off ) );
+            }
+        },
+        INT( Integer.class, 4 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.putInt( off, ((Number) value).intValue() );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return buf.getInt( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Integer.valueOf( buf.getInt( off ) );
+            }
+        },
+        LONG( Long.class, 8 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.putLong( off, ((Number) value).longValue() );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return buf.getLong( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Long.valueOf( buf.getLong( off ) );
+            }
+        },
+        FLOAT( Float.class, 4 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.putFloat( off, ((Number) value).floatValue() );
+            }
+            void putBlank( ByteBuffer buf, int off ) {
+                buf.putFloat( off, Float.NaN );
+            }
+            double getDouble( ByteBuffer buf, int off ) {
+                return buf.getFloat( off );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return (long) buf.getFloat( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Float.valueOf( buf.getFloat( off ) );
+            }
+        },
+        DOUBLE( Double.class, 8 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.putDouble( off, ((Number) value).doubleValue() );
+            }
+            void putBlank( ByteBuffer buf, int off ) {
+                buf.putDouble( off, Double.NaN );
+            }
+            double getDouble( ByteBuffer buf, int off ) {
+                return buf.getDouble( off );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return (long) buf.getDouble( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Double.valueOf( buf.getDouble( off ) );
+            }
+        },
+        BOOLEAN( Boolean.class, 1 ) {
+            void put( ByteBuffer buf, int off, Object value ) {
+                buf.put( off, ((Boolean) value).booleanValue() ? (byte) 1
+                                                              : (byte) 0 );
+            }
+            long getLong( ByteBuffer buf, int off ) {
+                return buf.get( off );
+            }
+            Object getObject( ByteBuffer buf, int off ) {
+                return Boolean.valueOf( buf.get( off ) != 0 );
+            }
+        };
+
+        final Class<?> clazz_;
+        final int size_;
+        final boolean isFloating_;
+
+        /**
+         * Constructor.
+         *
+         * @param  clazz  content class
+         * @param  size   number of bytes per stored item
+         */
+        Type( Class<?> clazz, int size ) {
+            clazz_ = clazz;
+            size_ = size;
+            isFloating_ = clazz == Float.class || clazz == Double.class;
+        }
+
+        /**
+         * Writes a non-blank value.
+         *
+         * @param  buf  buffer
+         * @param  off  byte offset into buffer
+         * @param  value  value of this type's content class
+         */
+        abstract void put( ByteBuffer buf, int off, Object value );
+
+        /**
+         * Writes a placeholder for a blank value.
+         *
+         * @param  buf  buffer
+         * @param  off  byte offset into buffer
+         */
+        void putBlank( ByteBuffer buf, int off ) {
+        }
+
+        /**
+         * Reads a value as a long integer.
+         *
+         * @param  buf  buffer
+         * @param  off  byte offset into buffer
+         * @return  value
+         */
+        abstract long getLong( ByteBuffer buf, int off );
+
+        /**
+         * Reads a value as a double precision number.
+         *
+         * @param  buf  buffer
+         * @param  off  byte offset into buffer
+         * @return  value
+         */
+        double getDouble( ByteBuffer buf, int off ) {
+            return getLong( buf, off );
+        }
+
+        /**
+         * Reads a value as an object of this type's content class.
+         *
+         * @param  buf  buffer
+         * @param  off  byte offset into buffer
+         * @return  value
+         */
+        abstract Object getObject( ByteBuffer buf, int off );
+    }
+}
@@ -0,0 +1,140 @@
+package uk.ac.starlink.table.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import uk.ac.starlink.table.RowStore;
+import uk.ac.starlink.table.StarTable;
+
+/**
+ * RowStore implementation which stores data in memory by column,
+ * keeping scalar numeric and boolean columns outside of the java heap.
+ * Such columns are stored using {@link OffHeapColumnStore}s,
+ * so no per-cell objects are retained for them.
+ * Other columns (strings, arrays etc) are stored as objects on the heap.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class OffHeapRowStore implements RowStore {
+
+    private int ncol_;
+    private StarTable template_;
+    private long lrow_;
+    private ColumnStore[] colStores_;
+    private StarTable storedTable_;
+
+    public void acceptMetadata( StarTable meta ) {
+        if ( template_ != null ) {
+            throw new IllegalStateException( "Metadata already submitted" );
+        }
+        template_ = meta;
+        ncol_ = meta.getColumnCount();
+        colStores_ = new ColumnStore[ ncol_ ];
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            Class<?> clazz = meta.getColumnInfo( icol ).getContentClass();
+            colStores_[ icol ] = OffHeapColumnStore.isSupported( clazz )
+                               ? new OffHeapColumnStore( clazz )
+                               : new ObjectColumnStore();
+        }
+    }
+
+    public void acceptRow( Object[] row ) throws IOException {
+        if ( template_ == null ) {
+            throw new IllegalStateException( "acceptMetadata not called" );
+        }
+        if ( storedTable_ != null ) {
+            throw new IllegalStateException( "endRows already called" );
+        }
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            colStores_[ icol ].acceptCell( row[ icol ] );
+        }
+        lrow_++;
+    }
+
+    public void endRows() throws IOException {
+        if ( template_ == null ) {
+            throw new IllegalStateException( "acceptMetadata not called" );
+        }
+        if ( storedTable_ != null ) {
+            throw new IllegalStateException( "endRows already called" );
+        }
+        for ( int icol = 0; icol < ncol_; icol++ ) {
+            colStores_[ icol ].endCells();
+        }
+        storedTable_ = new ColumnStoreStarTable( template_, lrow_, colStores_ );
+    }
+
+    public StarTable getStarTable() {
+        if ( storedTable_ == null ) {
+            throw new IllegalStateException( "endRows not called" );
+        }
+        return storedTable_;
+    }
+
+    /**
+     * ColumnStore implementation which stores objects in chunked
+     * arrays on the heap.
+     */
+    private static class ObjectColumnStore implements ColumnStore {
+
+        private static final int CHUNK_SHIFT = 16;
+        private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+        private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+        private final List<Object[]> chunks_;
+        private Object[] chunk_;
+        private Object[][] chunkArray_;
+        private long nrow_;
+
+        ObjectColumnStore() {
+            chunks_ = new ArrayList<Object[]>();
+        }
+
+        public void acceptCell( Object value ) {
+            int ioff = (int) ( nrow_ & CHUNK_MASK );
+            if ( ioff == 0 ) {
+                chunk_ = new Object[ CHUNK_SIZE ];
+                chunks_.add( chunk_ );
+            }
+            chunk_[ ioff ] = value;
+            nrow_++;
+        }
+
+        public void endCells() {
+            chunkArray_ = chunks_.toArray( new Object[ 0 ][] );
+            chunk_ = null;
+        }
+
+        public ColumnReader createReader() {
+            final Object[][] chunks = chunkArray_;
+            final long nrow = nrow_;
+            return new ColumnReader() {
+                public long getRowCount() {
+                    return nrow;
+                }
+                public Object getObjectValue( long ix ) {
+                    return chunks[ (int) ( ix >>> CHUNK_SHIFT ) ]
+                                 [ (int) ( ix & CHUNK_MASK ) ];
+                }
+                public double getDoubleValue( long ix ) {
+                    Object value = getObjectValue( ix );
+                    return value instanceof Number
+                         ? ((Number) value).doubleValue()
+                         : Double.NaN;
+                }
+                public int getIntValue( long ix ) {
+                    return (int) getLongValue( ix );
+                }
+                public long getLongValue( long ix ) {
+                    Object value = getObjectValue( ix );
+                    return value instanceof Number
+                         ? ((Number) value).longValue()
+                         : 0L;
+                }
+                public boolean getBooleanValue( long ix ) {
+                    return Boolean.TRUE.equals( getObjectValue( ix ) );
+                }
+            };
+        }
+    }
+}
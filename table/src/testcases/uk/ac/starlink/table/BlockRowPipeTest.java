@@ -0,0 +1,106 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+import uk.ac.starlink.util.TestCase;
+
+public class BlockRowPipeTest extends TestCase {
+
+    public void testRows() throws Exception {
+        for ( int nrow : new int[] { 0, 1, 255, 256, 257, 10000 } ) {
+            for ( int bs : new int[] { 1, 7, 256 } ) {
+                BlockRowPipe pipe = new BlockRowPipe( bs, 3 );
+                Thread writer = startWriter( pipe, nrow, null );
+                StarTable table = pipe.waitForStarTable();
+                assertEquals( 1, table.getColumnCount() );
+                RowSequence rseq = table.getRowSequence();
+                long irow = 0;
+                while ( rseq.next() ) {
+                    assertEquals( Long.valueOf( irow++ ), rseq.getCell( 0 ) );
+                }
+                assertFalse( rseq.next() );
+                rseq.close();
+                assertEquals( nrow, irow );
+                writer.join();
+                try {
+                    table.getRowSequence();
+                    fail();
+                }
+                catch ( UnrepeatableSequenceException e ) {
+                    // ok
+                }
+            }
+        }
+    }
+
+    public void testError() throws Exception {
+        BlockRowPipe pipe = new BlockRowPipe( 16, 2 );
+        Thread writer = startWriter( pipe, 1000, new IOException( "Oops" ) );
+        RowSequence rseq = pipe.waitForStarTable().getRowSequence();
+        long irow = 0;
+        try {
+            while ( rseq.next() ) {
+                irow++;
+            }
+            fail();
+        }
+        catch ( IOException e ) {
+            assertEquals( "Oops", e.getMessage() );
+        }
+        assertTrue( irow <= 1000 );
+        writer.join();
+    }
+
+    public void testClose() throws Exception {
+        BlockRowPipe pipe = new BlockRowPipe( 16, 2 );
+        IOException[] writeError = new IOException[ 1 ];
+        Thread writer = new Thread( () -> {
+            try {
+                pipe.acceptMetadata( createMeta() );
+                for ( long i = 0; i < 100000; i++ ) {
+                    pipe.acceptRow( new Object[] { Long.valueOf( i ) } );
+                }
+                pipe.endRows();
+            }
+            catch ( IOException e ) {
+                writeError[ 0 ] = e;
+            }
+        } );
+        writer.start();
+        RowSequence rseq = pipe.waitForStarTable().getRowSequence();
+        for ( int i = 0; i < 50; i++ ) {
+            assertTrue( rseq.next() );
+        }
+        rseq.close();
+        writer.join();
+        assertNotNull( writeError[ 0 ] );
+    }
+
+    private static Thread startWriter( RowPipe pipe, long nrow,
+                                       IOException error ) {
+        Thread writer = new Thread( () -> {
+            try {
+                pipe.acceptMetadata( createMeta() );
+                for ( long i = 0; i < nrow; i++ ) {
+                    pipe.acceptRow( new Object[] { Long.valueOf( i ) } );
+                }
+                if ( error == null ) {
+                    pipe.endRows();
+                }
+                else {
+                    pipe.setError( error );
+                }
+            }
+            catch ( IOException e ) {
+                throw new RuntimeException( e );
+            }
+        } );
+        writer.start();
+        return writer;
+    }
+
+    private static StarTable createMeta() {
+        ColumnStarTable meta = ColumnStarTable.makeTableWithRows( 0 );
+        meta.addColumn( ArrayColumn.makeColumn( "i", new long[ 0 ] ) );
+        return meta;
+    }
+}
@@ -0,0 +1,86 @@
+package uk.ac.starlink.table;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+import uk.ac.starlink.util.LogUtils;
+import uk.ac.starlink.util.TestCase;
+
+public class RowBlockWriterTest extends TestCase {
+
+    public RowBlockWriterTest() {
+        LogUtils.getLogger( "uk.ac.starlink.table" ).setLevel( Level.SEVERE );
+    }
+
+    public void testOrder() throws IOException {
+        for ( int nrow : new int[] { 0, 1, 19, 1000, 33333 } ) {
+            StarTable rtable = createTable( nrow );
+            StarTable stable = new WrapperStarTable( rtable ) {
+                @Override
+                public boolean isRandom() {
+                    return false;
+                }
+                @Override
+                public RowSplittable getRowSplittable() throws IOException {
+                    return new SequentialRowSplittable( this );
+                }
+            };
+            assertTrue( rtable.isRandom() );
+            byte[] seqBytes = write( null, 12, rtable, nrow );
+            assertEquals( nrow * 12, seqBytes.length );
+            for ( RowRunner runner :
+                  new RowRunner[] { RowRunner.SEQUENTIAL, RowRunner.DEFAULT,
+                                    RowRunner.PARTEST } ) {
+                for ( int blockBytes : new int[] { 1, 100, 1000000 } ) {
+                    for ( StarTable table : new StarTable[] { rtable,
+                                                              stable } ) {
+                        assertArrayEquals( seqBytes,
+                                           write( runner, blockBytes,
+                                                  table, nrow ) );
+                    }
+                }
+            }
+        }
+    }
+
+    public void testCountCheck() throws IOException {
+        StarTable table = createTable( 100 );
+        byte[] bytes = write( RowRunner.PARTEST, 120, table, 120 );
+        assertEquals( 120 * 12, bytes.length );
+        assertArrayEquals( write( null, 120, table, 120 ), bytes );
+        bytes = write( RowRunner.PARTEST, 120, table, 80 );
+        assertEquals( 80 * 12, bytes.length );
+        assertArrayEquals( write( null, 120, table, 80 ), bytes );
+    }
+
+    private static byte[] write( RowRunner runner, int blockBytes,
+                                 StarTable table, long nrow )
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new RowBlockWriter( runner, blockBytes )
+           .writeRows( table, nrow, 12, () -> ( row, dout ) -> {
+                if ( row[ 0 ] == null ) {
+                    dout.writeInt( -1 );
+                    dout.writeLong( -1L );
+                }
+                else {
+                    dout.writeInt( ((Integer) row[ 0 ]).intValue() );
+                    dout.writeLong( ((Long) row[ 1 ]).longValue() );
+                }
+            }, out );
+        return out.toByteArray();
+    }
+
+    private static StarTable createTable( int nrow ) {
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        int[] ivals = new int[ nrow ];
+        long[] lvals = new long[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ivals[ i ] = i;
+            lvals[ i ] = i * 1000003L;
+        }
+        table.addColumn( ArrayColumn.makeColumn( "i", ivals ) );
+        table.addColumn( ArrayColumn.makeColumn( "l", lvals ) );
+        return table;
+    }
+}
@@ -0,0 +1,224 @@
+package uk.ac.starlink.table;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import uk.ac.starlink.util.TestCase;
+
+public class SortTest extends TestCase {
+
+    public SortTest( String name ) {
+        super( name );
+    }
+
+    public void testSimple() throws IOException {
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( 6 );
+        table.addColumn( ArrayColumn.makeColumn( "d", new double[] {
+            3, Double.NaN, -1, 2, Double.NaN, -5,
+        } ) );
+        table.addColumn( ArrayColumn.makeColumn( "s", new String[] {
+            "c", "a", null, "b", "", "a",
+        } ) );
+        table.addColumn( ArrayColumn.makeColumn( "i", new int[] {
+            1, 1, 0, 0, 1, 0,
+        } ) );
+
+        assertArrayEquals( new long[] { 5, 2, 3, 0, 1, 4 },
+                           Tables.getSortedOrder( col( table, 0 ), true, true,
+                                                  RowRunner.SEQUENTIAL ) );
+        assertArrayEquals( new long[] { 1, 4, 5, 2, 3, 0 },
+                           Tables.getSortedOrder( col( table, 0 ), true, false,
+                                                  RowRunner.SEQUENTIAL ) );
+        assertArrayEquals( new long[] { 0, 3, 2, 5, 1, 4 },
+                           Tables.getSortedOrder( col( table, 0 ), false, false,
+                                                  RowRunner.SEQUENTIAL ) );
+        assertArrayEquals( new long[] { 1, 5, 3, 0, 2, 4 },
+                           Tables.getSortedOrder( col( table, 1 ), true, true,
+                                                  RowRunner.SEQUENTIAL ) );
+        assertArrayEquals( new long[] { 5, 2, 3, 0, 1, 4 },
+                           TableSorter.getSortedOrder( table, new int[] { 0 },
+                                                       true, true ) );
+        assertArrayEquals( new long[] { 5, 2, 3, 0, 1, 4 },
+                           TableSorter.getSortedOrder( table,
+                                                       new int[] { 2, 0 },
+                                                       true, true ) );
+    }
+
+    public void testTooLarge() {
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( 3 );
+        table.addColumn( ArrayColumn.makeColumn( "i", new int[] { 3, 2, 1 } ) );
+        StarTable bigTable = new WrapperStarTable( table ) {
+            public long getRowCount() {
+                return Tables.MAX_SORT_ROWS + 1;
+            }
+        };
+        try {
+            Tables.getSortedOrder( bigTable, true, true,
+                                   RowRunner.SEQUENTIAL );
+            fail();
+        }
+        catch ( IOException e ) {
+            assertTrue( e.getMessage().indexOf( "external" ) >= 0 );
+        }
+    }
+
+    public void testRowCountMismatch() throws IOException {
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( 3 );
+        table.addColumn( ArrayColumn.makeColumn( "i", new int[] { 3, 2, 1 } ) );
+        for ( final long nrow : new long[] { 2, 4 } ) {
+            StarTable seqTable = new WrapperStarTable( table ) {
+                public long getRowCount() {
+                    return nrow;
+                }
+                public boolean isRandom() {
+                    return false;
+                }
+                public RowAccess getRowAccess() {
+                    throw new UnsupportedOperationException();
+                }
+                public RowSplittable getRowSplittable() throws IOException {
+                    return Tables.getDefaultRowSplittable( this );
+                }
+            };
+            for ( RowRunner runner :
+                  new RowRunner[] { RowRunner.SEQUENTIAL,
+                                    RowRunner.DEFAULT } ) {
+                try {
+                    Tables.getSortedOrder( seqTable, true, true, runner );
+                    fail();
+                }
+                catch ( IOException e ) {
+                }
+            }
+        }
+    }
+
+    public void testRandom() throws IOException {
+        int nrow = 200_000;
+        Random rnd = new Random( 23001L );
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        short[] svals = new short[ nrow ];
+        float[] fvals = new float[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            svals[ i ] = (short) rnd.nextInt( 20 );
+            fvals[ i ] = rnd.nextInt( 50 ) == 0 ? Float.NaN
+                                                : (float) rnd.nextGaussian();
+        }
+        table.addColumn( ArrayColumn.makeColumn( "s", svals ) );
+        table.addColumn( ArrayColumn.makeColumn( "f", fvals ) );
+        for ( boolean up : new boolean[] { true, false } ) {
+            for ( boolean nullsLast : new boolean[] { true, false } ) {
+                long[] expected = getBoxedOrder( table, up, nullsLast );
+                assertArrayEquals(
+                    expected,
+                    Tables.getSortedOrder( table, up, nullsLast,
+                                           RowRunner.SEQUENTIAL ) );
+                assertArrayEquals(
+                    expected,
+                    Tables.getSortedOrder( table, up, nullsLast,
+                                           RowRunner.PARTEST ) );
+            }
+        }
+    }
+
+    public void testExternal() throws IOException {
+        int nrow = 20_000;
+        Random rnd = new Random( 23002L );
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        int[] ivals = new int[ nrow ];
+        String[] svals = new String[ nrow ];
+        int[] nvals = new int[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ivals[ i ] = rnd.nextInt( 100 );
+            svals[ i ] = rnd.nextInt( 20 ) == 0
+                       ? null
+                       : Integer.toString( rnd.nextInt( 10 ) );
+            nvals[ i ] = i;
+        }
+        table.addColumn( ArrayColumn.makeColumn( "s", svals ) );
+        table.addColumn( ArrayColumn.makeColumn( "i", ivals ) );
+        table.addColumn( ArrayColumn.makeColumn( "n", nvals ) );
+
+        /* The non-key column n checks stability, and the smallest run
+         * size requires more than one merge pass. */
+        int[] keyCols = new int[] { 0, 1 };
+        for ( int runSize : new int[] { 60, 100, 7000, nrow + 1 } ) {
+            for ( boolean up : new boolean[] { true, false } ) {
+                long[] order = Tables.getSortedOrder(
+                    new ColumnPermutedStarTable( table, keyCols ),
+                    up, false, RowRunner.SEQUENTIAL );
+                StarTable sorted =
+                    new ExternalSortStarTable( table, keyCols, up, false,
+                                               runSize,
+                                               StoragePolicy.PREFER_MEMORY );
+                assertFalse( sorted.isRandom() );
+                assertEquals( nrow, sorted.getRowCount() );
+                int irow = 0;
+                try ( RowSequence rseq = sorted.getRowSequence() ) {
+                    while ( rseq.next() ) {
+                        assertArrayEquals( table.getRow( order[ irow++ ] ),
+                                           rseq.getRow() );
+                    }
+                }
+                assertEquals( nrow, irow );
+                sorted.close();
+            }
+        }
+    }
+
+    private static StarTable col( StarTable table, int icol ) {
+        return new ColumnPermutedStarTable( table, new int[] { icol } );
+    }
+
+    /**
+     * Reference implementation using a stable sort of boxed row indices.
+     */
+    private static long[] getBoxedOrder( final StarTable table,
+                                         final boolean up,
+                                         final boolean nullsLast ) {
+        int nrow = (int) table.getRowCount();
+        final int ncol = table.getColumnCount();
+        Long[] rows = new Long[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            rows[ i ] = Long.valueOf( i );
+        }
+        Arrays.sort( rows, new Comparator<Long>() {
+            @SuppressWarnings("unchecked")
+            public int compare( Long r1, Long r2 ) {
+                int c = 0;
+                for ( int ic = 0; ic < ncol && c == 0; ic++ ) {
+                    Object v1;
+                    Object v2;
+                    try {
+                        v1 = table.getCell( r1.longValue(), ic );
+                        v2 = table.getCell( r2.longValue(), ic );
+                    }
+                    catch ( IOException e ) {
+                        throw new RuntimeException( e );
+                    }
+                    boolean null1 = Tables.isBlank( v1 );
+                    boolean null2 = Tables.isBlank( v2 );
+                    if ( null1 && null2 ) {
+                        c = 0;
+                    }
+                    else if ( null1 ) {
+                        c = nullsLast ? +1 : -1;
+                    }
+                    else if ( null2 ) {
+                        c = nullsLast ? -1 : +1;
+                    }
+                    else {
+                        c = ((Comparable<Object>) v1).compareTo( v2 );
+                    }
+                }
+                return up ? c : -c;
+            }
+        } );
+        long[] order = new long[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            order[ i ] = rows[ i ].longValue();
+        }
+        return order;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.ac.starlink.table;
 
+import java.io.IOException;
 import uk.ac.starlink.util.TestCase;
 
 public class TableTest extends TestCase {
@@ -60,4 +61,54 @@ public class TableTest extends TestCase {
         assertEquals( "1.234...", 
                       info.formatValue( Double.valueOf( 1.2345678e10 ), 8 ) );
     }
+
+    public void testWrapperPrimitives() throws IOException {
+        ColumnStarTable st = ColumnStarTable.makeTableWithRows( 3 );
+        st.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                          new ColumnInfo( "i", Integer.class, null ),
+                          new int[] { 10, 20, 30 } ) );
+
+        RowSequence plainSeq = new WrapperRowSequence( st.getRowSequence() );
+        RowSequence doubledSeq =
+                new WrapperRowSequence( st.getRowSequence() ) {
+            @Override
+            public Object getCell( int icol ) throws IOException {
+                int ival = ((Number) super.getCell( icol )).intValue();
+                return Integer.valueOf( ival > 20 ? 0 : 2 * ival );
+            }
+        };
+        RowAccess doubledAcc = new WrapperRowAccess( st.getRowAccess() ) {
+            @Override
+            public Object getCell( int icol ) throws IOException {
+                int ival = ((Number) super.getCell( icol )).intValue();
+                return ival > 20 ? null : Integer.valueOf( 2 * ival );
+            }
+        };
+        for ( int ir = 0; ir < 3; ir++ ) {
+            assertTrue( plainSeq.next() );
+            assertTrue( doubledSeq.next() );
+            doubledAcc.setRowIndex( ir );
+            int ival = 10 * ( ir + 1 );
+            assertEquals( ival, plainSeq.getInt( 0 ) );
+            assertEquals( ival, plainSeq.getLong( 0 ) );
+            assertEquals( (double) ival, plainSeq.getDouble( 0 ) );
+            int dval = ir < 2 ? 2 * ival : 0;
+            assertEquals( dval, doubledSeq.getInt( 0 ) );
+            assertEquals( dval, doubledSeq.getLong( 0 ) );
+            assertEquals( (double) dval, doubledSeq.getDouble( 0 ) );
+            assertFalse( doubledSeq.isNull( 0 ) );
+            if ( ir < 2 ) {
+                assertEquals( 2 * ival, doubledAcc.getInt( 0 ) );
+                assertEquals( (double) ( 2 * ival ),
+                              doubledAcc.getDouble( 0 ) );
+                assertFalse( doubledAcc.isNull( 0 ) );
+            }
+            else {
+                assertEquals( 0L, doubledAcc.getLong( 0 ) );
+                assertTrue( Double.isNaN( doubledAcc.getDouble( 0 ) ) );
+                assertTrue( doubledAcc.isNull( 0 ) );
+            }
+        }
+        assertFalse( doubledSeq.next() );
+    }
 }
@@ -1,13 +1,23 @@
 package uk.ac.starlink.table.formats;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import junit.framework.TestCase;
 import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.util.DataSource;
+import uk.ac.starlink.util.FileDataSource;
 
 public class TextTest extends TestCase {
 
@@ -70,6 +80,82 @@ public class TextTest extends TestCase {
                   <= twriter.getMaxDataWidth( Float.class ) );
     }
 
+    public void testSplit() throws IOException {
+        Random rnd = new Random( 3003L );
+        File csvFile = File.createTempFile( "split", ".csv" );
+        File asciiFile = File.createTempFile( "split", ".txt" );
+        csvFile.deleteOnExit();
+        asciiFile.deleteOnExit();
+        try ( PrintStream csv =
+                  new PrintStream( new FileOutputStream( csvFile ) );
+              PrintStream ascii =
+                  new PrintStream( new FileOutputStream( asciiFile ) ) ) {
+            csv.print( "index,x,label\r\n" );
+            ascii.print( "# index x label\n" );
+            for ( int i = 0; i < 40000; i++ ) {
+                double x = rnd.nextGaussian();
+                String label = "item, " + rnd.nextInt( 1000 );
+                csv.print( i + "," + x + ",\"" + label + "\"\r\n" );
+                if ( rnd.nextInt( 20 ) == 0 ) {
+                    csv.print( "\r\n\r\n" );
+                }
+                ascii.print( i + " " + x + " '" + label + "'\n" );
+                if ( rnd.nextInt( 20 ) == 0 ) {
+                    ascii.print( "\n# comment " + i + "\n\n" );
+                }
+            }
+        }
+        checkSplit( new CsvStarTable( new FileDataSource( csvFile ) ) );
+        checkSplit( new AsciiStarTable( new FileDataSource( asciiFile ) ) );
+
+        /* If the metadata pass is truncated, unsampled rows might
+         * contain multi-line cells, so byte splitting is not safe. */
+        assertFalse( new CsvStarTable( new FileDataSource( csvFile ),
+                                       null, 1000 )
+                    .getRowSplittable() instanceof TextRowSplittable );
+        csvFile.delete();
+        asciiFile.delete();
+    }
+
+    private void checkSplit( StarTable table ) throws IOException {
+        List<Object[]> rows0 = new ArrayList<Object[]>();
+        try ( RowSequence rseq = table.getRowSequence() ) {
+            while ( rseq.next() ) {
+                rows0.add( rseq.getRow() );
+            }
+        }
+        assertEquals( 40000, rows0.size() );
+        RowSplittable splittable = table.getRowSplittable();
+        assertTrue( splittable instanceof TextRowSplittable );
+        List<RowSplittable> parts = new ArrayList<RowSplittable>();
+        addParts( splittable, parts );
+        assertTrue( parts.size() > 2 );
+        List<Object[]> rows1 = new ArrayList<Object[]>();
+        for ( RowSplittable part : parts ) {
+            assertNull( part.rowIndex() );
+            while ( part.next() ) {
+                rows1.add( part.getRow() );
+            }
+            part.close();
+        }
+        assertEquals( rows0.size(), rows1.size() );
+        for ( int i = 0; i < rows0.size(); i++ ) {
+            assertTrue( Arrays.equals( rows0.get( i ), rows1.get( i ) ) );
+        }
+    }
+
+    private static void addParts( RowSplittable splittable,
+                                  List<RowSplittable> parts ) {
+        RowSplittable other = splittable.split();
+        if ( other == null ) {
+            parts.add( splittable );
+        }
+        else {
+            addParts( splittable, parts );
+            addParts( other, parts );
+        }
+    }
+
     private static class TableDataSource extends DataSource {
         final byte[] bbuf;
         TableDataSource() {
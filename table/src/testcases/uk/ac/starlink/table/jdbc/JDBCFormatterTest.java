@@ -0,0 +1,200 @@
+package uk.ac.starlink.table.jdbc;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ArrayColumn;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.WrapperRowSequence;
+import uk.ac.starlink.table.WrapperStarTable;
+
+public class JDBCFormatterTest extends TestCase {
+
+    private static final int NROW = 53;
+
+    public JDBCFormatterTest( String name ) {
+        super( name );
+    }
+
+    public void testReusedRows() throws Exception {
+        StarTable table = createReusingTable();
+        List<String> expected = new ArrayList<String>();
+        for ( int ir = 0; ir < NROW; ir++ ) {
+            expected.add( ir + ":" + ( ir % 5 == 0 ? null : "r" + ir ) );
+        }
+        for ( int batchSize : new int[] { 1, 7, 1000 } ) {
+            for ( int nconn : new int[] { 1, 3 } ) {
+                List<String> inserted =
+                    Collections.synchronizedList( new ArrayList<String>() );
+                JDBCFormatter formatter =
+                    new JDBCFormatter( createConnection( inserted ), table );
+                formatter.setBatchSize( batchSize );
+                formatter.setParallelConnections(
+                    () -> createConnection( inserted ), nconn );
+                formatter.createJDBCTable( "t", WriteMode.CREATE );
+                List<String> actual = new ArrayList<String>( inserted );
+                Collections.sort( actual,
+                                  (s1, s2) -> Integer.compare( key( s1 ),
+                                                               key( s2 ) ) );
+                assertEquals( expected, actual );
+            }
+        }
+    }
+
+    private static int key( String txt ) {
+        return Integer.parseInt( txt.substring( 0, txt.indexOf( ':' ) ) );
+    }
+
+    /**
+     * Returns a table whose row sequences reuse the same row array
+     * for every row.
+     */
+    private static StarTable createReusingTable() {
+        int[] ivals = new int[ NROW ];
+        String[] svals = new String[ NROW ];
+        for ( int ir = 0; ir < NROW; ir++ ) {
+            ivals[ ir ] = ir;
+            svals[ ir ] = ir % 5 == 0 ? null : "r" + ir;
+        }
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( NROW );
+        table.addColumn( ArrayColumn.makeColumn( "i", ivals ) );
+        table.addColumn( ArrayColumn.makeColumn( "s", svals ) );
+        return new WrapperStarTable( table ) {
+            @Override
+            public RowSequence getRowSequence() throws IOException {
+                final Object[] row = new Object[ getColumnCount() ];
+                return new WrapperRowSequence( super.getRowSequence() ) {
+                    @Override
+                    public Object[] getRow() throws IOException {
+                        for ( int ic = 0; ic < row.length; ic++ ) {
+                            row[ ic ] = getCell( ic );
+                        }
+                        return row;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns a minimal fake connection which records the parameters
+     * of rows inserted using prepared statements.
+     *
+     * @param  inserted  list to which "i:s" strings are added for
+     *                   each inserted row
+     * @return  connection
+     */
+    private static Connection createConnection( final List<String> inserted ) {
+        final DatabaseMetaData meta = proxy( DatabaseMetaData.class,
+                                             (p, method, args) -> {
+            switch ( method.getName() ) {
+                case "getTypeInfo":
+                    return createTypeInfo();
+                case "getIdentifierQuoteString":
+                    return "\"";
+                case "getSQLKeywords":
+                    return "";
+                case "supportsBatchUpdates":
+                case "supportsTransactions":
+                    return Boolean.TRUE;
+                default:
+                    return defaultValue( method.getReturnType() );
+            }
+        } );
+        return proxy( Connection.class, (p, method, args) -> {
+            switch ( method.getName() ) {
+                case "getMetaData":
+                    return meta;
+                case "getAutoCommit":
+                    return Boolean.TRUE;
+                case "createStatement":
+                    return proxy( Statement.class, (p1, m1, a1) ->
+                                  defaultValue( m1.getReturnType() ) );
+                case "prepareStatement":
+                    return createInsertStatement( inserted );
+                default:
+                    return defaultValue( method.getReturnType() );
+            }
+        } );
+    }
+
+    private static PreparedStatement
+            createInsertStatement( final List<String> inserted ) {
+        final Object[] params = new Object[ 2 ];
+        final List<String> pending = new ArrayList<String>();
+        return proxy( PreparedStatement.class, (p, method, args) -> {
+            String name = method.getName();
+            if ( name.equals( "setNull" ) ) {
+                params[ (Integer) args[ 0 ] - 1 ] = null;
+            }
+            else if ( name.startsWith( "set" ) && args.length == 2 &&
+                      args[ 0 ] instanceof Integer ) {
+                params[ (Integer) args[ 0 ] - 1 ] = args[ 1 ];
+            }
+            else if ( name.equals( "addBatch" ) ) {
+                pending.add( params[ 0 ] + ":" + params[ 1 ] );
+            }
+            else if ( name.equals( "executeBatch" ) ) {
+                inserted.addAll( pending );
+                int[] counts = new int[ pending.size() ];
+                pending.clear();
+                return counts;
+            }
+            else if ( name.equals( "executeUpdate" ) ) {
+                inserted.add( params[ 0 ] + ":" + params[ 1 ] );
+                return Integer.valueOf( 1 );
+            }
+            return defaultValue( method.getReturnType() );
+        } );
+    }
+
+    private static ResultSet createTypeInfo() {
+        final Object[][] types = {
+            { "INTEGER", Types.INTEGER },
+            { "VARCHAR", Types.VARCHAR },
+        };
+        final int[] irow = new int[] { -1 };
+        return proxy( ResultSet.class, (p, method, args) -> {
+            switch ( method.getName() ) {
+                case "next":
+                    return Boolean.valueOf( ++irow[ 0 ] < types.length );
+                case "getString":
+                    return types[ irow[ 0 ] ][ 0 ];
+                case "getShort":
+                    return Short.valueOf( ((Integer) types[ irow[ 0 ] ][ 1 ])
+                                         .shortValue() );
+                default:
+                    return defaultValue( method.getReturnType() );
+            }
+        } );
+    }
+
+    private static <T> T proxy( Class<T> clazz, InvocationHandler handler ) {
+        return clazz.cast( Proxy.newProxyInstance( clazz.getClassLoader(),
+                                                   new Class<?>[] { clazz },
+                                                   handler ) );
+    }
+
+    private static Object defaultValue( Class<?> clazz ) {
+        Map<Class<?>,Object> map = new HashMap<Class<?>,Object>();
+        map.put( boolean.class, Boolean.FALSE );
+        map.put( int.class, Integer.valueOf( 0 ) );
+        map.put( long.class, Long.valueOf( 0 ) );
+        map.put( short.class, Short.valueOf( (short) 0 ) );
+        return map.get( clazz );
+    }
+}
@@ -38,6 +38,7 @@ public class StorageTest extends TestCase {
         assertEquals( StoragePolicy.PREFER_MEMORY, getPolicy( "memory" ) );
         assertEquals( StoragePolicy.PREFER_DISK, getPolicy( "disk" ) );
         assertEquals( StoragePolicy.SIDEWAYS, getPolicy( "sideways" ) );
+        assertEquals( StoragePolicy.OFF_HEAP, getPolicy( "offheap" ) );
         assertEquals( StoragePolicy.DISCARD, getPolicy( "discard" ) );
         assertEquals( StoragePolicy.ADAPTIVE, getPolicy( "adaptive" ) );
 
@@ -58,6 +59,8 @@ public class StorageTest extends TestCase {
                     instanceof DiskRowStore );
         assertTrue( StoragePolicy.SIDEWAYS.makeRowStore()
                     instanceof SidewaysRowStore );
+        assertTrue( StoragePolicy.OFF_HEAP.makeRowStore()
+                    instanceof OffHeapRowStore );
         assertTrue( StoragePolicy.DISCARD.makeRowStore()
                     instanceof DiscardRowStore );
         assertTrue( StoragePolicy.ADAPTIVE.makeRowStore()
@@ -146,6 +149,9 @@ public class StorageTest extends TestCase {
         checkTables( t1, dt1, mt1, st1 );
         checkTables( t2, dt2, mt2, st2 );
         checkTables( t3, dt3, mt3, st3 );
+        StarTable ot2 = fillStore( new OffHeapRowStore(), t2 ).getStarTable();
+        fTest_.checkStarTable( ot2 );
+        fTest_.assertTableEquals( t2, ot2 );
 
         fTest_.assertTableEquals( t1, dt1 );
         fTest_.assertTableEquals( t1, mt1 );
@@ -166,6 +172,79 @@ public class StorageTest extends TestCase {
         assertTrue( err.indexOf( "sky-blue" ) > 0 );
     }
 
+    public void testOffHeap() throws IOException {
+        int nrow = 200000;
+        double[] dData = new double[ nrow ];
+        Integer[] iData = new Integer[ nrow ];
+        Boolean[] bData = new Boolean[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            dData[ i ] = i % 7 == 0 ? Double.NaN : i * 0.5;
+            iData[ i ] = i % 100000 == 3 ? null : Integer.valueOf( -i );
+            bData[ i ] = i % 5 == 0 ? null : Boolean.valueOf( i % 2 == 0 );
+        }
+        ColumnStarTable t0 = ColumnStarTable.makeTableWithRows( nrow );
+        t0.addColumn( ArrayColumn.makeColumn( "d", dData ) );
+        t0.addColumn( ArrayColumn.makeColumn( "i", iData ) );
+        t0.addColumn( ArrayColumn.makeColumn( "b", bData ) );
+        ColumnStoreStarTable t1 =
+            (ColumnStoreStarTable)
+            StoragePolicy.OFF_HEAP.copyTable( t0 );
+        assertEquals( nrow, t1.getRowCount() );
+        fTest_.assertTableEquals( t0, t1 );
+
+        ColumnReader dRdr = t1.createColumnReader( 0 );
+        ColumnReader iRdr = t1.createColumnReader( 1 );
+        ColumnReader bRdr = t1.createColumnReader( 2 );
+        assertEquals( nrow, dRdr.getRowCount() );
+        for ( int i = 0; i < nrow; i++ ) {
+            assertEquals( dData[ i ], dRdr.getDoubleValue( i ) );
+            assertEquals( Double.isNaN( dData[ i ] ), dRdr.isNull( i ) );
+            if ( iData[ i ] == null ) {
+                assertTrue( iRdr.isNull( i ) );
+                assertNull( iRdr.getObjectValue( i ) );
+                assertTrue( Double.isNaN( iRdr.getDoubleValue( i ) ) );
+            }
+            else {
+                assertFalse( iRdr.isNull( i ) );
+                assertEquals( iData[ i ].intValue(), iRdr.getIntValue( i ) );
+                assertEquals( (double) iData[ i ].intValue(),
+                              iRdr.getDoubleValue( i ) );
+            }
+            assertEquals( bData[ i ], bRdr.getObjectValue( i ) );
+        }
+        assertEquals( Double.valueOf( 0.5 ), t1.getCell( 1, 0 ) );
+        assertNull( t1.getCell( 100003, 1 ) );
+    }
+
+    public void testOffHeapSizes() throws IOException {
+        int[] nrows = { 0, 1, 1023, 1024, 1025, 4097, 65535, 65536, 65537,
+                        140000 };
+        for ( int nrow : nrows ) {
+            OffHeapColumnStore lStore = new OffHeapColumnStore( Long.class );
+            OffHeapColumnStore sStore = new OffHeapColumnStore( Short.class );
+            for ( int i = 0; i < nrow; i++ ) {
+                lStore.acceptCell( i % 1000 == 1 ? null
+                                                 : Long.valueOf( 3L * i ) );
+                sStore.acceptCell( Short.valueOf( (short) i ) );
+            }
+            lStore.endCells();
+            sStore.endCells();
+            ColumnReader lRdr = lStore.createReader();
+            ColumnReader sRdr = sStore.createReader();
+            assertEquals( nrow, lRdr.getRowCount() );
+            assertEquals( nrow, sRdr.getRowCount() );
+            for ( int i = 0; i < nrow; i++ ) {
+                if ( i % 1000 == 1 ) {
+                    assertNull( lRdr.getObjectValue( i ) );
+                }
+                else {
+                    assertEquals( 3L * i, lRdr.getLongValue( i ) );
+                }
+                assertEquals( (short) i, sRdr.getIntValue( i ) );
+            }
+        }
+    }
+
     public void testByteStorage() throws IOException {
         testByteStore( StoragePolicy.PREFER_MEMORY.makeByteStore() );
         testByteStore( StoragePolicy.PREFER_DISK.makeByteStore() );
@@ -180,6 +259,27 @@ public class StorageTest extends TestCase {
         }
     }
 
+    public void testAdaptiveDirectBuffer() throws IOException {
+
+        /* Large enough to be held in a direct buffer, but small enough
+         * to stay in memory. */
+        byte[] buf = new byte[ 200_000 ];
+        for ( int i = 0; i < buf.length; i++ ) {
+            buf[ i ] = (byte) ( i % 251 );
+        }
+        AdaptiveByteStore bs = new AdaptiveByteStore( 1_000_000 );
+        bs.getOutputStream().write( buf );
+        ByteBuffer[] bbufs = bs.toByteBuffers();
+        assertEquals( 1, bbufs.length );
+        ByteBuffer bbuf = bbufs[ 0 ];
+        assertEquals( 0, bbuf.position() );
+        assertEquals( buf.length, bbuf.limit() );
+        byte[] bbufcopy = new byte[ buf.length ];
+        bbuf.get( bbufcopy );
+        assertArrayEquals( buf, bbufcopy );
+        bs.close();
+    }
+
     public void testLimitByteStore() throws IOException {
         StoragePolicy policy = StoragePolicy.PREFER_MEMORY;
         testByteStore( new LimitByteStore( policy.makeByteStore(), 65536 ) );
@@ -109,6 +109,18 @@ public abstract class AbstractSkyMatchEngine implements MatchEngine {
 
     public abstract String toString();
 
+    /**
+     * Returns an object which can extract positional information from
+     * this engine's tuples for use with a {@link SkyMatchIndex}.
+     * The default implementation returns null,
+     * indicating that indices are not supported.
+     *
+     * @return  decoder, or null
+     */
+    SkyMatchIndex.TupleDecoder createIndexDecoder() {
+        return null;
+    }
+
     /**
      * Returns the distance along a great circle between two points.
      *
@@ -243,8 +255,12 @@ public abstract class AbstractSkyMatchEngine implements MatchEngine {
                                         double alpha2, double delta2 ) {
         double sd2 = Math.sin( 0.5 * ( delta2 - delta1 ) );
         double sa2 = Math.sin( 0.5 * ( alpha2 - alpha1 ) );
+
+        /* Group the cosine product so that the result is exactly
+         * symmetric in the two points; otherwise rounding can make
+         * scores depend on which way round a pair is compared. */
         double a = sd2 * sd2 +
-                   sa2 * sa2 * Math.cos( delta1 ) * Math.cos( delta2 );
+                   sa2 * sa2 * ( Math.cos( delta1 ) * Math.cos( delta2 ) );
         return a < 1.0 ? 2.0 * FastMath.asin( Math.sqrt( a ) )
                        : Math.PI;
     }
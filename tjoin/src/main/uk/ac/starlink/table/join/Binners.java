@@ -7,6 +7,8 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.util.IntList;
 import uk.ac.starlink.util.LongList;
@@ -64,8 +66,51 @@ class Binners {
      * @return   new LongBinner
      */
     public static LongBinner createLongBinner( boolean isIntSize ) {
-        return isIntSize ? new CombinationIntLongBinner()
-                         : new LongListLongBinner();
+        return new HashLongBinner( () -> isIntSize
+                                       ? new CombinationIntLongBinner()
+                                       : new LongListLongBinner() );
+    }
+
+    /**
+     * Returns the distinct items stored in a LongBinner under any of
+     * a given set of keys, in ascending order.
+     *
+     * @param  binner  binner
+     * @param  keys   bin keys
+     * @return   sorted array of distinct items; may be empty but not null
+     */
+    public static long[] getDistinctItems( LongBinner binner, Object[] keys ) {
+        long[] items = null;
+        int n = 0;
+        for ( Object key : keys ) {
+            long[] binItems = binner.getLongs( key );
+            if ( binItems != null ) {
+                if ( items == null ) {
+                    items = binItems.clone();
+                    n = items.length;
+                }
+                else {
+                    if ( n + binItems.length > items.length ) {
+                        items = Arrays.copyOf( items,
+                                               Math.max( 2 * items.length,
+                                                         n + binItems.length ));
+                    }
+                    System.arraycopy( binItems, 0, items, n, binItems.length );
+                    n += binItems.length;
+                }
+            }
+        }
+        if ( n == 0 ) {
+            return new long[ 0 ];
+        }
+        Arrays.sort( items, 0, n );
+        int nu = 1;
+        for ( int i = 1; i < n; i++ ) {
+            if ( items[ i ] != items[ nu - 1 ] ) {
+                items[ nu++ ] = items[ i ];
+            }
+        }
+        return nu == items.length ? items : Arrays.copyOf( items, nu );
     }
 
     /**
@@ -473,6 +518,325 @@ class Binners {
         }
     }
 
+    /**
+     * LongBinner implementation that stores bins with <code>Long</code>
+     * keys, which are what the sky pixellation-based match engines use,
+     * in an open-addressing hash table backed by primitive arrays.
+     * Bins with a single item store it in the table slot itself;
+     * items in larger bins are stored as linked chains in chunked
+     * primitive arrays.  This avoids per-bin and per-item object creation,
+     * which dominates memory usage for large matches.
+     * Bins with keys of other types are delegated to a fallback binner.
+     */
+    private static class HashLongBinner implements LongBinner {
+
+        /* Slot value marking an unused slot. */
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        /* Slot value marking a slot whose bin has been removed. */
+        private static final long REMOVED = Long.MIN_VALUE + 1;
+
+        private static final double MAX_LOAD = 0.6;
+        private static final int CHUNK_BITS = 16;
+        private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+        private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+        private final Supplier<MapLongBinner<?>> fallbackSupplier_;
+        private MapLongBinner<?> fallback_;
+        private long[] keys_;
+        private long[] vals_;
+        private int nslot_;
+        private int nbin_;
+        private int nused_;
+        private long[][] chainItems_;
+        private long[][] chainNexts_;
+        private long nchain_;
+
+        /**
+         * Constructor.
+         *
+         * @param  fallbackSupplier  supplies a binner for use with
+         *                           non-Long keys if required
+         */
+        HashLongBinner( Supplier<MapLongBinner<?>> fallbackSupplier ) {
+            fallbackSupplier_ = fallbackSupplier;
+            nslot_ = 16;
+            keys_ = new long[ nslot_ ];
+            vals_ = new long[ nslot_ ];
+            Arrays.fill( vals_, EMPTY );
+            chainItems_ = new long[ 0 ][];
+            chainNexts_ = new long[ 0 ][];
+        }
+
+        public void addItem( Object key, long item ) {
+            if ( key instanceof Long ) {
+                addLongItem( ((Long) key).longValue(), item );
+            }
+            else {
+                if ( fallback_ == null ) {
+                    fallback_ = fallbackSupplier_.get();
+                }
+                fallback_.addItem( key, item );
+            }
+        }
+
+        public long[] getLongs( Object key ) {
+            if ( key instanceof Long ) {
+                int is = findSlot( ((Long) key).longValue() );
+                return is >= 0 ? getSlotLongs( is ) : null;
+            }
+            else {
+                return fallback_ == null ? null : fallback_.getLongs( key );
+            }
+        }
+
+        public long getBinCount() {
+            return nbin_ + ( fallback_ == null ? 0 : fallback_.getBinCount() );
+        }
+
+        public Iterator<?> getKeyIterator() {
+            final Iterator<?> fallbackIt = fallback_ == null
+                                         ? null
+                                         : fallback_.getKeyIterator();
+            return new Iterator<Object>() {
+                int is_ = -1;
+                int isNext_ = nextSlot( -1 );
+                boolean isFallback_;
+                public boolean hasNext() {
+                    return isNext_ < nslot_
+                        || ( fallbackIt != null && fallbackIt.hasNext() );
+                }
+                public Object next() {
+                    if ( isNext_ < nslot_ ) {
+                        is_ = isNext_;
+                        isNext_ = nextSlot( is_ );
+                        isFallback_ = false;
+                        return Long.valueOf( keys_[ is_ ] );
+                    }
+                    else if ( fallbackIt != null ) {
+                        isFallback_ = true;
+                        return fallbackIt.next();
+                    }
+                    else {
+                        throw new NoSuchElementException();
+                    }
+                }
+                public void remove() {
+                    if ( isFallback_ ) {
+                        fallbackIt.remove();
+                    }
+                    else if ( is_ >= 0 && vals_[ is_ ] != REMOVED ) {
+                        vals_[ is_ ] = REMOVED;
+                        nbin_--;
+                    }
+                    else {
+                        throw new IllegalStateException();
+                    }
+                }
+            };
+        }
+
+        public LongBinner combine( LongBinner o ) {
+            HashLongBinner other = (HashLongBinner) o;
+            if ( this.getBinCount() > other.getBinCount() ) {
+                addBinner( other );
+                return this;
+            }
+            else {
+                other.addBinner( this );
+                return other;
+            }
+        }
+
+        /**
+         * Adds all the items from another binner to this one.
+         *
+         * @param  other  other binner
+         */
+        private void addBinner( HashLongBinner other ) {
+            for ( int is = 0; is < other.nslot_; is++ ) {
+                if ( other.vals_[ is ] > REMOVED ) {
+                    long key = other.keys_[ is ];
+                    for ( long item : other.getSlotLongs( is ) ) {
+                        addLongItem( key, item );
+                    }
+                }
+            }
+            if ( other.fallback_ != null ) {
+                if ( fallback_ == null ) {
+                    fallback_ = other.fallback_;
+                }
+                else {
+                    fallback_ = (MapLongBinner<?>)
+                                fallback_.combine( other.fallback_ );
+                }
+            }
+        }
+
+        /**
+         * Adds an item to the bin with a given primitive key.
+         *
+         * @param  key  bin key
+         * @param  item  non-negative value to add
+         */
+        private void addLongItem( long key, long item ) {
+            if ( item < 0 ) {
+                throw new IllegalArgumentException( "Negative item " + item );
+            }
+            int is = hashSlot( key );
+            while ( vals_[ is ] != EMPTY ) {
+                if ( keys_[ is ] == key && vals_[ is ] != REMOVED ) {
+                    long val = vals_[ is ];
+
+                    /* Non-negative slot values are single items;
+                     * convert to a chain. */
+                    long head = val >= 0 ? addChainLink( val, -1 )
+                                         : -1 - val;
+                    vals_[ is ] = -1 - addChainLink( item, head );
+                    return;
+                }
+                is = ( is + 1 ) & ( nslot_ - 1 );
+            }
+            keys_[ is ] = key;
+            vals_[ is ] = item;
+            nbin_++;
+            if ( ++nused_ > nslot_ * MAX_LOAD ) {
+                rehash();
+            }
+        }
+
+        /**
+         * Returns the slot index for a given key.
+         *
+         * @param  key  bin key
+         * @return   slot index, or -1 if there is no bin for key
+         */
+        private int findSlot( long key ) {
+            int is = hashSlot( key );
+            while ( vals_[ is ] != EMPTY ) {
+                if ( keys_[ is ] == key && vals_[ is ] != REMOVED ) {
+                    return is;
+                }
+                is = ( is + 1 ) & ( nslot_ - 1 );
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the index of the next occupied slot after a given one.
+         *
+         * @param  is  starting slot index (exclusive)
+         * @return  next occupied slot index, or nslot_ if none
+         */
+        private int nextSlot( int is ) {
+            do {
+                is++;
+            } while ( is < nslot_ && vals_[ is ] <= REMOVED );
+            return is;
+        }
+
+        /**
+         * Returns the items in an occupied slot, in order of addition.
+         *
+         * @param  is  slot index
+         * @return  item array
+         */
+        private long[] getSlotLongs( int is ) {
+            long val = vals_[ is ];
+            if ( val >= 0 ) {
+                return new long[] { val };
+            }
+            else {
+                long head = -1 - val;
+                int n = 0;
+                for ( long ic = head; ic >= 0; ic = chainNext( ic ) ) {
+                    n++;
+                }
+                long[] items = new long[ n ];
+                for ( long ic = head; ic >= 0; ic = chainNext( ic ) ) {
+                    items[ --n ] =
+                        chainItems_[ (int) ( ic >>> CHUNK_BITS ) ]
+                                   [ (int) ( ic & CHUNK_MASK ) ];
+                }
+                return items;
+            }
+        }
+
+        /**
+         * Adds a link to the chain storage.
+         *
+         * @param  item  item value
+         * @param  next  index of next link in chain, or -1 for none
+         * @return  index of new link
+         */
+        private long addChainLink( long item, long next ) {
+            int ichunk = (int) ( nchain_ >>> CHUNK_BITS );
+            if ( ichunk == chainItems_.length ) {
+                chainItems_ = Arrays.copyOf( chainItems_, ichunk + 1 );
+                chainNexts_ = Arrays.copyOf( chainNexts_, ichunk + 1 );
+                chainItems_[ ichunk ] = new long[ CHUNK_SIZE ];
+                chainNexts_[ ichunk ] = new long[ CHUNK_SIZE ];
+            }
+            int ioff = (int) ( nchain_ & CHUNK_MASK );
+            chainItems_[ ichunk ][ ioff ] = item;
+            chainNexts_[ ichunk ][ ioff ] = next;
+            return nchain_++;
+        }
+
+        /**
+         * Returns the index of the link following a given one in the
+         * chain storage.
+         *
+         * @param  ic  link index
+         * @return  next link index, or -1 at end of chain
+         */
+        private long chainNext( long ic ) {
+            return chainNexts_[ (int) ( ic >>> CHUNK_BITS ) ]
+                              [ (int) ( ic & CHUNK_MASK ) ];
+        }
+
+        /**
+         * Returns the initial slot index for a given key.
+         *
+         * @param  key  bin key
+         * @return  slot index
+         */
+        private int hashSlot( long key ) {
+            long h = key * 0x9e3779b97f4a7c15L;
+            return (int) ( h ^ ( h >>> 32 ) ) & ( nslot_ - 1 );
+        }
+
+        /**
+         * Doubles the size of the hash table, discarding removed entries.
+         */
+        private void rehash() {
+            long[] oldKeys = keys_;
+            long[] oldVals = vals_;
+            int oldNslot = nslot_;
+            if ( oldNslot >= 1 << 30 ) {
+                throw new OutOfMemoryError( "Too many bins" );
+            }
+            nslot_ = oldNslot * 2;
+            keys_ = new long[ nslot_ ];
+            vals_ = new long[ nslot_ ];
+            Arrays.fill( vals_, EMPTY );
+            nused_ = 0;
+            for ( int is0 = 0; is0 < oldNslot; is0++ ) {
+                long val = oldVals[ is0 ];
+                if ( val > REMOVED ) {
+                    long key = oldKeys[ is0 ];
+                    int is = hashSlot( key );
+                    while ( vals_[ is ] != EMPTY ) {
+                        is = ( is + 1 ) & ( nslot_ - 1 );
+                    }
+                    keys_[ is ] = key;
+                    vals_[ is ] = val;
+                    nused_++;
+                }
+            }
+        }
+    }
+
     /**
      * Utility class used for the list storage implementation.
      * It has to be private for use here, so that we can distinguish
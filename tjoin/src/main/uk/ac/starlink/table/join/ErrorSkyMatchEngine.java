@@ -137,6 +137,37 @@ public class ErrorSkyMatchEngine extends AbstractSkyMatchEngine {
                     .createVariableErrorCoverage( scale, coneDecoder );
     }
 
+    @Override
+    SkyMatchIndex.TupleDecoder createIndexDecoder() {
+        final ErrorSummation errorSummation = errorSummation_;
+        final CoordReader coordReader = getCoordReader();
+        return new SkyMatchIndex.TupleDecoder() {
+            public boolean decodeTuple( Object[] tuple, double[] lonLatErr ) {
+                double alpha = coordReader.getAlpha( tuple );
+                double delta = coordReader.getDelta( tuple );
+                if ( isSkyPosition( alpha, delta ) ) {
+                    double err = coordReader.getError( tuple );
+                    if ( err >= 0 ) {
+                        lonLatErr[ 0 ] = alpha;
+                        lonLatErr[ 1 ] = delta;
+                        lonLatErr[ 2 ] = err;
+                        return true;
+                    }
+                }
+                return false;
+            }
+            public double getMaxSeparation( double err1, double err2 ) {
+                return errorSummation.combine( err1, err2 );
+            }
+            public double getMatchRadius( double err ) {
+
+                /* Both summation types give a combined error no larger
+                 * than the simple sum. */
+                return err;
+            }
+        };
+    }
+
     /**
      * Returns unity.
      */
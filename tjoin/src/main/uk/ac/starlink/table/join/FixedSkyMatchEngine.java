@@ -111,6 +111,33 @@ public class FixedSkyMatchEngine extends AbstractSkyMatchEngine {
         return maxScore( getSeparation() );
     }
 
+    @Override
+    SkyMatchIndex.TupleDecoder createIndexDecoder() {
+        final double sep = getSeparation();
+        final CoordReader coordReader = getCoordReader();
+        return new SkyMatchIndex.TupleDecoder() {
+            public boolean decodeTuple( Object[] tuple, double[] lonLatErr ) {
+                double alpha = coordReader.getAlpha( tuple );
+                double delta = coordReader.getDelta( tuple );
+                if ( isSkyPosition( alpha, delta ) ) {
+                    lonLatErr[ 0 ] = alpha;
+                    lonLatErr[ 1 ] = delta;
+                    lonLatErr[ 2 ] = 0;
+                    return true;
+                }
+                else {
+                    return false;
+                }
+            }
+            public double getMaxSeparation( double err1, double err2 ) {
+                return sep;
+            }
+            public double getMatchRadius( double err ) {
+                return 0.5 * sep;
+            }
+        };
+    }
+
     public String toString() {
         return "Sky";
     }
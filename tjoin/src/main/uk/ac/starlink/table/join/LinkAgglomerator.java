@@ -0,0 +1,731 @@
+package uk.ac.starlink.table.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import uk.ac.starlink.util.LongList;
+import uk.ac.starlink.util.SplitCollector;
+import uk.ac.starlink.util.SplitPolicy;
+import uk.ac.starlink.util.SplitProcessor;
+import uk.ac.starlink.util.Splittable;
+
+/**
+ * Combines sets of links which share rows into disjoint groups,
+ * optionally in parallel.
+ *
+ * <p>Every row of every table is assigned a dense integer identifier,
+ * and links are merged using a lock-free union-find structure held
+ * in a primitive array, so that the links can be processed
+ * concurrently.  The groups are then extracted by sorting
+ * (root, row) identifiers packed into longs.
+ * Elimination of multiple entries from the same table
+ * and addition of unmatched rows are done within the same framework.
+ *
+ * <p>The result is the same as that of agglomerating the links by
+ * walking the graph of shared rows, but memory usage scales with the
+ * total number of rows in the tables rather than the number of links.
+ * Instances can only be used if the total row count is not too large;
+ * see {@link #isSupported}.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+class LinkAgglomerator {
+
+    private final int nTable_;
+    private final long[] offsets_;
+    private final int nId_;
+    private final SplitProcessor<IdRange> idProcessor_;
+    private final SplitProcessor<KeyRange> keyProcessor_;
+    private final CollectionRunner<RowLink> linkRunner_;
+    private final ProgressIndicator indicator_;
+
+    /** Maximum total number of rows that can be handled. */
+    public static final long MAX_IDS = Integer.MAX_VALUE - 8;
+
+    /**
+     * Constructor.
+     *
+     * @param  rowCounts  row counts for each table
+     * @param  policy  parallel execution policy,
+     *                 or null for sequential processing
+     * @param  indicator  progress indicator
+     * @throws  IllegalArgumentException  if the tables are too large
+     */
+    public LinkAgglomerator( long[] rowCounts, SplitPolicy policy,
+                             ProgressIndicator indicator ) {
+        if ( ! isSupported( rowCounts ) ) {
+            throw new IllegalArgumentException( "Too many rows" );
+        }
+        nTable_ = rowCounts.length;
+        offsets_ = new long[ nTable_ + 1 ];
+        for ( int it = 0; it < nTable_; it++ ) {
+            offsets_[ it + 1 ] = offsets_[ it ] + rowCounts[ it ];
+        }
+        nId_ = (int) offsets_[ nTable_ ];
+        idProcessor_ = createProcessor( policy );
+        keyProcessor_ = createProcessor( policy );
+        linkRunner_ =
+            new CollectionRunner<RowLink>( createProcessor( policy ) );
+        indicator_ = indicator;
+    }
+
+    /**
+     * Indicates whether this class can be used for tables with
+     * given row counts.
+     *
+     * @param  rowCounts  row counts for each table
+     * @return  true iff an instance can be constructed
+     */
+    public static boolean isSupported( long[] rowCounts ) {
+        long nrow = 0;
+        for ( long count : rowCounts ) {
+            if ( count < 0 ) {
+                return false;
+            }
+            nrow += count;
+        }
+        return nrow <= MAX_IDS;
+    }
+
+    /**
+     * Agglomerates a set of links.
+     * Every row which appears in one or more of the input links
+     * appears in exactly one link of the output.
+     *
+     * <p>If <code>oneRefPerTable</code> is set, links are restricted to
+     * at most one row from each table, both before and after
+     * agglomeration, retaining the earliest row in each case;
+     * links which are reduced to a single row by this are discarded.
+     * This has the same effect as calling
+     * {@link RowMatcher}'s internal link elimination
+     * on both the input and output sets.
+     *
+     * @param  links  input links, not affected by this call
+     * @param  oneRefPerTable  whether to eliminate internal links
+     * @param  addSingles  per-table flags indicating whether rows not
+     *                     present in any output link should be added
+     *                     as singleton links; may be null
+     * @param  filter   determines which output links are retained;
+     *                  may be null to retain all
+     * @param  out   link set to which output links are added
+     * @return   <code>out</code>
+     */
+    public LinkSet agglomerate( LinkSet links, final boolean oneRefPerTable,
+                                boolean[] addSingles,
+                                final Predicate<RowLink> filter,
+                                LinkSet out )
+            throws InterruptedException {
+        final AtomicIntegerArray parents = new AtomicIntegerArray( nId_ );
+        final AtomicLongArray involved = createBits( nId_ );
+        final AtomicLongArray present = createBits( nId_ );
+
+        /* Initialise the union-find structure with every row as
+         * its own root. */
+        indicator_.startStage( "Initialising row groups" );
+        idProcessor_.collect( new RangeCollector() {
+            void accumulate( int lo, int hi ) {
+                for ( int id = lo; id < hi; id++ ) {
+                    parents.lazySet( id, id );
+                }
+            }
+        }, new IdRange( 0, nId_ ) );
+        indicator_.endStage();
+
+        /* Join the rows of each link. */
+        List<RowLink> linkList = new ArrayList<RowLink>( links.size() );
+        for ( RowLink link : links ) {
+            linkList.add( link );
+        }
+        indicator_.startStage( "Joining linked rows" );
+        int[] elimCounts = linkRunner_.collect(
+                new CollectionRunner.ElementCollector<RowLink,int[]>() {
+            public int[] createAccumulator() {
+                return new int[ 2 ];
+            }
+            public void accumulate( RowLink link, int[] counts ) {
+                int nref = link.size();
+                int[] ids = new int[ nref ];
+                int nk = 0;
+                for ( int i = 0; i < nref; i++ ) {
+                    int id = toId( link.getRef( i ) );
+                    if ( ! oneRefPerTable || nref == 1 ||
+                         ! hasTable( ids, nk, id ) ) {
+                        ids[ nk++ ] = id;
+                    }
+                }
+                if ( nk < nref ) {
+                    counts[ nk > 1 ? 0 : 1 ]++;
+                }
+                if ( nk > 1 || nref == 1 ) {
+                    for ( int i = 0; i < nk; i++ ) {
+                        setBit( involved, ids[ i ] );
+                        union( parents, ids[ 0 ], ids[ i ] );
+                    }
+                }
+            }
+            public int[] combine( int[] counts1, int[] counts2 ) {
+                counts1[ 0 ] += counts2[ 0 ];
+                counts1[ 1 ] += counts2[ 1 ];
+                return counts1;
+            }
+        }, linkList, indicator_ );
+        linkList = null;
+        indicator_.endStage();
+
+        /* Prepare a sorted array of keys combining the root identifier
+         * of each linked row's group with the row identifier. */
+        indicator_.startStage( "Grouping linked rows" );
+        LongList keyList =
+            idProcessor_.collect( new KeyCollector( parents, involved ),
+                                  new IdRange( 0, nId_ ) );
+        long[] keys = keyList.getLongBuffer();
+        int nkey = keyList.size();
+        keyList = null;
+        if ( idProcessor_.willAttemptSplit( new IdRange( 0, nkey ) ) ) {
+            Arrays.parallelSort( keys, 0, nkey );
+        }
+        else {
+            Arrays.sort( keys, 0, nkey );
+        }
+        indicator_.setLevel( 0.5 );
+
+        /* Turn each run of keys with the same root into an output link. */
+        GroupCollector groupCollector =
+            new GroupCollector( keys, oneRefPerTable, present, filter );
+        LinkAccumulator groupAcc =
+            keyProcessor_.collect( groupCollector,
+                                   new KeyRange( keys, 0, nkey ) );
+        keys = null;
+        indicator_.endStage();
+        int nReplace = elimCounts[ 0 ] + groupAcc.nReplace_;
+        int nRemove = elimCounts[ 1 ] + groupAcc.nRemove_;
+        if ( nReplace > 0 ) {
+            indicator_.logMessage( "Internal links replaced: " + nReplace );
+        }
+        if ( nRemove > 0 ) {
+            indicator_.logMessage( "Internal links removed: " + nRemove );
+        }
+        List<List<RowLink>> outLists = new ArrayList<List<RowLink>>();
+        outLists.add( groupAcc.links_ );
+
+        /* Add singleton links for unrepresented rows if required. */
+        if ( addSingles != null ) {
+            for ( int it = 0; it < nTable_; it++ ) {
+                if ( addSingles[ it ] ) {
+                    IdRange range = new IdRange( (int) offsets_[ it ],
+                                                 (int) offsets_[ it + 1 ] );
+                    outLists.add( idProcessor_
+                                 .collect( new SingleCollector( present,
+                                                                filter ),
+                                           range )
+                                 .links_ );
+                }
+            }
+        }
+
+        /* Populate the output set. */
+        int nout = 0;
+        for ( List<RowLink> list : outLists ) {
+            nout += list.size();
+        }
+        ProgressTracker tracker =
+            new ProgressTracker( indicator_, nout, "Storing row groups" );
+        for ( List<RowLink> list : outLists ) {
+            for ( RowLink link : list ) {
+                out.addLink( link );
+                tracker.nextProgress();
+            }
+            list.clear();
+        }
+        tracker.close();
+        return out;
+    }
+
+    /**
+     * Returns the identifier for a row reference.
+     *
+     * @param  ref  row reference
+     * @return   dense row identifier
+     */
+    private int toId( RowRef ref ) {
+        return (int) ( offsets_[ ref.getTableIndex() ] + ref.getRowIndex() );
+    }
+
+    /**
+     * Returns the row reference for an identifier.
+     *
+     * @param  id  dense row identifier
+     * @return   row reference
+     */
+    private RowRef toRef( int id ) {
+        int itab = getTableIndex( id );
+        return new RowRef( itab, id - offsets_[ itab ] );
+    }
+
+    /**
+     * Returns the table index for an identifier.
+     *
+     * @param  id  dense row identifier
+     * @return   table index
+     */
+    private int getTableIndex( int id ) {
+        int it = 0;
+        while ( id >= offsets_[ it + 1 ] ) {
+            it++;
+        }
+        return it;
+    }
+
+    /**
+     * Indicates whether a list of identifiers includes one from the
+     * same table as a given identifier.
+     *
+     * @param  ids  array of identifiers
+     * @param  n    number of elements of ids to consider
+     * @param  id   identifier to test
+     * @return  true iff any of the first n ids is in the same table as id
+     */
+    private boolean hasTable( int[] ids, int n, int id ) {
+        int itab = getTableIndex( id );
+        for ( int i = 0; i < n; i++ ) {
+            if ( getTableIndex( ids[ i ] ) == itab ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a split processor for a given policy.
+     *
+     * @param  policy  parallel execution policy,
+     *                 or null for sequential processing
+     * @return  new processor
+     */
+    private static <S extends Splittable<S>> SplitProcessor<S>
+            createProcessor( SplitPolicy policy ) {
+        return policy == null
+             ? SplitProcessor.createSequentialProcessor()
+             : SplitProcessor.createBasicParallelProcessor( policy );
+    }
+
+    /**
+     * Returns the root of the group containing a given identifier.
+     * This may be called concurrently with other calls to this method
+     * and to {@link #union}.
+     *
+     * @param  parents  union-find parent array
+     * @param  id   identifier
+     * @return  root identifier
+     */
+    private static int find( AtomicIntegerArray parents, int id ) {
+        while ( true ) {
+            int parent = parents.get( id );
+            if ( parent == id ) {
+                return id;
+            }
+            int grandParent = parents.get( parent );
+
+            /* Path halving; failure just means that another thread
+             * has already shortened the path. */
+            if ( grandParent != parent ) {
+                parents.compareAndSet( id, parent, grandParent );
+            }
+            id = grandParent;
+        }
+    }
+
+    /**
+     * Merges the groups containing two identifiers.
+     * This may be called concurrently with other calls to this method
+     * and to {@link #find}.
+     * The root of a group is always its smallest identifier,
+     * so parent identifiers are never greater than their children.
+     *
+     * @param  parents  union-find parent array
+     * @param  id1   one identifier
+     * @param  id2   other identifier
+     */
+    private static void union( AtomicIntegerArray parents,
+                               int id1, int id2 ) {
+        while ( true ) {
+            int root1 = find( parents, id1 );
+            int root2 = find( parents, id2 );
+            if ( root1 == root2 ) {
+                return;
+            }
+            int hiRoot = Math.max( root1, root2 );
+            int loRoot = Math.min( root1, root2 );
+            if ( parents.compareAndSet( hiRoot, hiRoot, loRoot ) ) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a new thread-safe bit set.
+     *
+     * @param  nbit  number of bits
+     * @return  bit set with all bits clear
+     */
+    private static AtomicLongArray createBits( int nbit ) {
+        return new AtomicLongArray( ( nbit + 63 ) >>> 6 );
+    }
+
+    /**
+     * Sets a bit in a thread-safe bit set.
+     *
+     * @param  bits  bit set
+     * @param  ibit  bit index
+     */
+    private static void setBit( AtomicLongArray bits, int ibit ) {
+        int iw = ibit >>> 6;
+        long mask = 1L << ( ibit & 63 );
+        long word = bits.get( iw );
+        while ( ( word & mask ) == 0 &&
+                ! bits.compareAndSet( iw, word, word | mask ) ) {
+            word = bits.get( iw );
+        }
+    }
+
+    /**
+     * Tests a bit in a thread-safe bit set.
+     *
+     * @param  bits  bit set
+     * @param  ibit  bit index
+     * @return  true iff bit is set
+     */
+    private static boolean getBit( AtomicLongArray bits, int ibit ) {
+        return ( bits.get( ibit >>> 6 ) & ( 1L << ( ibit & 63 ) ) ) != 0;
+    }
+
+    /**
+     * Splittable representing a range of row identifiers.
+     */
+    private static class IdRange implements Splittable<IdRange> {
+
+        int lo_;
+        final int hi_;
+
+        /**
+         * Constructor.
+         *
+         * @param  lo  lower bound, inclusive
+         * @param  hi  upper bound, exclusive
+         */
+        IdRange( int lo, int hi ) {
+            lo_ = lo;
+            hi_ = hi;
+        }
+
+        public IdRange split() {
+            if ( hi_ - lo_ < 2 ) {
+                return null;
+            }
+
+            /* Split on a 64-element boundary so that different threads
+             * do not update the same bit set word. */
+            int mid = ( ( lo_ + ( hi_ - lo_ ) / 2 ) >>> 6 ) << 6;
+            if ( mid <= lo_ || mid >= hi_ ) {
+                return null;
+            }
+            IdRange lower = new IdRange( lo_, mid );
+            lo_ = mid;
+            return lower;
+        }
+
+        public long splittableSize() {
+            return hi_ - lo_;
+        }
+    }
+
+    /**
+     * Splittable representing a range of a sorted key array,
+     * which splits only between runs of keys with the same group root.
+     */
+    private static class KeyRange implements Splittable<KeyRange> {
+
+        final long[] keys_;
+        int lo_;
+        final int hi_;
+
+        /**
+         * Constructor.
+         *
+         * @param  keys  sorted key array
+         * @param  lo  lower bound, inclusive
+         * @param  hi  upper bound, exclusive
+         */
+        KeyRange( long[] keys, int lo, int hi ) {
+            keys_ = keys;
+            lo_ = lo;
+            hi_ = hi;
+        }
+
+        public KeyRange split() {
+            int mid = lo_ + ( hi_ - lo_ ) / 2;
+            while ( mid > lo_ && mid < hi_ &&
+                    getRoot( keys_[ mid ] ) == getRoot( keys_[ mid - 1 ] ) ) {
+                mid++;
+            }
+            if ( mid <= lo_ || mid >= hi_ ) {
+                return null;
+            }
+            KeyRange lower = new KeyRange( keys_, lo_, mid );
+            lo_ = mid;
+            return lower;
+        }
+
+        public long splittableSize() {
+            return hi_ - lo_;
+        }
+    }
+
+    /**
+     * Returns the group root identifier from a sort key.
+     *
+     * @param  key  sort key
+     * @return  root identifier
+     */
+    private static int getRoot( long key ) {
+        return (int) ( key >>> 32 );
+    }
+
+    /**
+     * Returns the row identifier from a sort key.
+     *
+     * @param  key  sort key
+     * @return  row identifier
+     */
+    private static int getId( long key ) {
+        return (int) key;
+    }
+
+    /**
+     * Collector that performs an action on each identifier range
+     * and accumulates nothing.
+     */
+    private static abstract class RangeCollector
+            implements SplitCollector<IdRange,Object> {
+
+        /**
+         * Processes a range of identifiers.
+         *
+         * @param  lo  lower bound, inclusive
+         * @param  hi  upper bound, exclusive
+         */
+        abstract void accumulate( int lo, int hi );
+
+        public Object createAccumulator() {
+            return null;
+        }
+
+        public void accumulate( IdRange range, Object acc ) {
+            accumulate( range.lo_, range.hi_ );
+        }
+
+        public Object combine( Object acc1, Object acc2 ) {
+            return null;
+        }
+    }
+
+    /**
+     * Collects sort keys for all linked rows.
+     */
+    private static class KeyCollector
+            implements SplitCollector<IdRange,LongList> {
+
+        private final AtomicIntegerArray parents_;
+        private final AtomicLongArray involved_;
+
+        /**
+         * Constructor.
+         *
+         * @param  parents  populated union-find parent array
+         * @param  involved  bit set flagging rows that appear in links
+         */
+        KeyCollector( AtomicIntegerArray parents, AtomicLongArray involved ) {
+            parents_ = parents;
+            involved_ = involved;
+        }
+
+        public LongList createAccumulator() {
+            return new LongList();
+        }
+
+        public void accumulate( IdRange range, LongList keys ) {
+            for ( int id = range.lo_; id < range.hi_; id++ ) {
+                if ( ( id & 63 ) == 0 && id + 64 <= range.hi_ &&
+                     involved_.get( id >>> 6 ) == 0 ) {
+                    id += 63;
+                }
+                else if ( getBit( involved_, id ) ) {
+                    long root = find( parents_, id );
+                    keys.add( ( root << 32 ) | id );
+                }
+            }
+        }
+
+        public LongList combine( LongList keys1, LongList keys2 ) {
+            if ( keys1.size() < keys2.size() ) {
+                LongList keys = keys1;
+                keys1 = keys2;
+                keys2 = keys;
+            }
+            keys1.addAll( keys2 );
+            return keys1;
+        }
+    }
+
+    /**
+     * Accumulates output links.
+     */
+    private static class LinkAccumulator {
+        final List<RowLink> links_ = new ArrayList<RowLink>();
+        int nReplace_;
+        int nRemove_;
+
+        /**
+         * Adds the content of another accumulator to this one.
+         *
+         * @param  other  other accumulator
+         * @return  this accumulator
+         */
+        LinkAccumulator add( LinkAccumulator other ) {
+            links_.addAll( other.links_ );
+            nReplace_ += other.nReplace_;
+            nRemove_ += other.nRemove_;
+            return this;
+        }
+    }
+
+    /**
+     * Turns runs of sort keys into output links.
+     */
+    private class GroupCollector
+            implements SplitCollector<KeyRange,LinkAccumulator> {
+
+        private final long[] keys_;
+        private final boolean oneRefPerTable_;
+        private final AtomicLongArray present_;
+        private final Predicate<RowLink> filter_;
+
+        /**
+         * Constructor.
+         *
+         * @param  keys  sorted key array
+         * @param  oneRefPerTable  whether to eliminate internal links
+         * @param  present  bit set to be updated with rows that appear
+         *                  in output links
+         * @param  filter  output link filter, or null
+         */
+        GroupCollector( long[] keys, boolean oneRefPerTable,
+                        AtomicLongArray present, Predicate<RowLink> filter ) {
+            keys_ = keys;
+            oneRefPerTable_ = oneRefPerTable;
+            present_ = present;
+            filter_ = filter;
+        }
+
+        public LinkAccumulator createAccumulator() {
+            return new LinkAccumulator();
+        }
+
+        public void accumulate( KeyRange range, LinkAccumulator acc ) {
+            List<RowRef> refs = new ArrayList<RowRef>();
+            int ik = range.lo_;
+            while ( ik < range.hi_ ) {
+                int root = getRoot( keys_[ ik ] );
+                int jk = ik;
+                refs.clear();
+                int lastTable = -1;
+                for ( ; jk < range.hi_ && getRoot( keys_[ jk ] ) == root;
+                      jk++ ) {
+
+                    /* Identifiers within a run are sorted, so the first
+                     * row from each table is the earliest. */
+                    int id = getId( keys_[ jk ] );
+                    int itab = getTableIndex( id );
+                    if ( ! oneRefPerTable_ || itab != lastTable ) {
+                        refs.add( toRef( id ) );
+                        lastTable = itab;
+                    }
+                }
+                int ngrp = jk - ik;
+                ik = jk;
+                int nref = refs.size();
+                if ( nref < ngrp ) {
+                    if ( nref > 1 ) {
+                        acc.nReplace_++;
+                    }
+                    else {
+                        acc.nRemove_++;
+                        continue;
+                    }
+                }
+                for ( RowRef ref : refs ) {
+                    setBit( present_, toId( ref ) );
+                }
+                RowLink link = RowLink.createLink( refs );
+                if ( filter_ == null || filter_.test( link ) ) {
+                    acc.links_.add( link );
+                }
+            }
+        }
+
+        public LinkAccumulator combine( LinkAccumulator acc1,
+                                        LinkAccumulator acc2 ) {
+            return acc1.links_.size() >= acc2.links_.size()
+                 ? acc1.add( acc2 )
+                 : acc2.add( acc1 );
+        }
+    }
+
+    /**
+     * Collects singleton links for rows not present in other links.
+     */
+    private class SingleCollector
+            implements SplitCollector<IdRange,LinkAccumulator> {
+
+        private final AtomicLongArray present_;
+        private final Predicate<RowLink> filter_;
+
+        /**
+         * Constructor.
+         *
+         * @param  present  bit set flagging rows already present
+         * @param  filter  output link filter, or null
+         */
+        SingleCollector( AtomicLongArray present,
+                         Predicate<RowLink> filter ) {
+            present_ = present;
+            filter_ = filter;
+        }
+
+        public LinkAccumulator createAccumulator() {
+            return new LinkAccumulator();
+        }
+
+        public void accumulate( IdRange range, LinkAccumulator acc ) {
+            for ( int id = range.lo_; id < range.hi_; id++ ) {
+                if ( ! getBit( present_, id ) ) {
+                    RowLink link = new RowLink1( toRef( id ) );
+                    if ( filter_ == null || filter_.test( link ) ) {
+                        acc.links_.add( link );
+                    }
+                }
+            }
+        }
+
+        public LinkAccumulator combine( LinkAccumulator acc1,
+                                        LinkAccumulator acc2 ) {
+            return acc1.links_.size() >= acc2.links_.size()
+                 ? acc1.add( acc2 )
+                 : acc2.add( acc1 );
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.util.SplitPolicy;
 
 /**
  * Defines some computationally intensive operations required for
@@ -126,6 +127,15 @@ interface MatchComputer {
      */
     String getDescription();
 
+    /**
+     * Returns the parallel execution policy that may be used for
+     * processing other data in the same style as this computer
+     * processes rows.
+     *
+     * @return  split policy, or null for sequential processing
+     */
+    SplitPolicy getSplitPolicy();
+
     /**
      * Aggregates results of a row binning operation.
      */
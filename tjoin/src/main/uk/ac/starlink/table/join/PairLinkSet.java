@@ -0,0 +1,719 @@
+package uk.ac.starlink.table.join;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * LinkSet implementation optimised for storing pair links between
+ * two given tables.
+ * Pair links ({@link RowLink2}s) referencing rows in the two tables
+ * nominated at construction time are stored in primitive arrays
+ * of row indices and scores, indexed by an open-addressing hash table,
+ * so that no per-link objects are retained.
+ * This is much more compact than a <code>HashSet</code> of
+ * <code>RowLink</code> objects for the large numbers of pair links
+ * that a pair match may generate.
+ * Any other links are stored in a subsidiary {@link HashSetLinkSet}.
+ *
+ * <p>Links returned by the iterator or the <code>toSorted</code>
+ * collection are created on demand, so will not in general be
+ * the same objects that were added.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+class PairLinkSet implements LinkSet {
+
+    private final int itab1_;
+    private final int itab2_;
+    private final LinkSet overflow_;
+    private long[] rows1_;
+    private long[] rows2_;
+    private double[] scores_;
+    private int[] index_;
+    private int nlink_;
+    private int npos_;
+    private int nindexUsed_;
+
+    /* Index value marking an unused slot. */
+    private static final int EMPTY = 0;
+
+    /* Index value marking a slot whose link has been removed. */
+    private static final int REMOVED = -1;
+
+    private static final double MAX_LOAD = 0.6;
+
+    /**
+     * Constructor.  The table indices must be given in natural order;
+     * they may be equal.
+     *
+     * @param  itab1  index of table for the first ref of stored pairs
+     * @param  itab2  index of table for the second ref of stored pairs
+     */
+    public PairLinkSet( int itab1, int itab2 ) {
+        if ( itab1 > itab2 ) {
+            throw new IllegalArgumentException( "Table indices out of order" );
+        }
+        itab1_ = itab1;
+        itab2_ = itab2;
+        overflow_ = new HashSetLinkSet();
+        rows1_ = new long[ 16 ];
+        rows2_ = new long[ 16 ];
+        scores_ = new double[ 16 ];
+        index_ = new int[ 32 ];
+    }
+
+    public void addLink( RowLink link ) {
+        if ( isPair( link ) ) {
+            long row1 = link.getRef( 0 ).getRowIndex();
+            long row2 = link.getRef( 1 ).getRowIndex();
+            double score = ((RowLink2) link).getScore();
+            int ipos = findPosition( row1, row2 );
+            if ( ipos >= 0 ) {
+                scores_[ ipos ] = score;
+            }
+            else {
+                addPair( row1, row2, score );
+            }
+        }
+        else {
+            overflow_.removeLink( link );
+            overflow_.addLink( link );
+        }
+    }
+
+    public boolean containsLink( RowLink link ) {
+        return isPair( link )
+             ? findPosition( link.getRef( 0 ).getRowIndex(),
+                             link.getRef( 1 ).getRowIndex() ) >= 0
+             : overflow_.containsLink( link );
+    }
+
+    public boolean removeLink( RowLink link ) {
+        if ( isPair( link ) ) {
+            int ipos = findPosition( link.getRef( 0 ).getRowIndex(),
+                                     link.getRef( 1 ).getRowIndex() );
+            if ( ipos >= 0 ) {
+                removePosition( ipos );
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
+        else {
+            return overflow_.removeLink( link );
+        }
+    }
+
+    public int size() {
+        return nlink_ + overflow_.size();
+    }
+
+    public Iterator<RowLink> iterator() {
+        final Iterator<RowLink> overIt = overflow_.iterator();
+        return new Iterator<RowLink>() {
+            int ipos_ = -1;
+            int iposNext_ = nextPosition( -1 );
+            boolean isOver_;
+            public boolean hasNext() {
+                return iposNext_ < npos_ || overIt.hasNext();
+            }
+            public RowLink next() {
+                if ( iposNext_ < npos_ ) {
+                    ipos_ = iposNext_;
+                    iposNext_ = nextPosition( ipos_ );
+                    isOver_ = false;
+                    return createLink( ipos_ );
+                }
+                else {
+                    isOver_ = true;
+                    return overIt.next();
+                }
+            }
+            public void remove() {
+                if ( isOver_ ) {
+                    overIt.remove();
+                }
+                else if ( ipos_ >= 0 && rows1_[ ipos_ ] >= 0 ) {
+                    removePosition( ipos_ );
+                }
+                else {
+                    throw new IllegalStateException();
+                }
+            }
+        };
+    }
+
+    /**
+     * Sorts the pair storage in place and returns a view which merges
+     * it with the sorted overflow links.
+     * The returned collection should not be used after this set
+     * is modified.
+     */
+    public Collection<RowLink> toSorted() {
+        compact();
+        sort( 0, npos_ - 1, 2 * ( 32 - Integer.numberOfLeadingZeros( npos_ ) ));
+        rebuildIndex( index_.length );
+        final Collection<RowLink> overSorted = overflow_.toSorted();
+        final int npair = npos_;
+        final int size = npair + overSorted.size();
+        return new AbstractCollection<RowLink>() {
+            public int size() {
+                return size;
+            }
+            public Iterator<RowLink> iterator() {
+                final Iterator<RowLink> overIt = overSorted.iterator();
+                return new Iterator<RowLink>() {
+                    int ipos_;
+                    RowLink nextOver_ = overIt.hasNext() ? overIt.next()
+                                                         : null;
+                    RowLink nextPair_ = npair > 0 ? createLink( 0 ) : null;
+                    public boolean hasNext() {
+                        return nextOver_ != null || nextPair_ != null;
+                    }
+                    public RowLink next() {
+                        final RowLink link;
+                        if ( nextPair_ != null &&
+                             ( nextOver_ == null ||
+                               nextPair_.compareTo( nextOver_ ) <= 0 ) ) {
+                            link = nextPair_;
+                            nextPair_ = ++ipos_ < npair ? createLink( ipos_ )
+                                                        : null;
+                        }
+                        else if ( nextOver_ != null ) {
+                            link = nextOver_;
+                            nextOver_ = overIt.hasNext() ? overIt.next()
+                                                         : null;
+                        }
+                        else {
+                            throw new NoSuchElementException();
+                        }
+                        return link;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns a new set containing only the best pair for each row,
+     * as required by {@link RowMatcher#eliminateMultipleRowEntries}.
+     * Pairs are considered in order of ascending score, and a pair is
+     * retained only if neither of its rows has been seen before.
+     * This works on the primitive pair storage, so that no per-link
+     * objects are created.
+     * If this set cannot be processed in this way, because it contains
+     * links other than pairs between the given tables or because
+     * the row indices are too large, null is returned.
+     *
+     * <p>This set may be affected by this method.
+     *
+     * @param  itab1  required index of first table
+     * @param  itab2  required index of second table
+     * @param  indicator  progress indicator
+     * @return  new set with multiple row entries eliminated, or null
+     * @throws  IllegalArgumentException  if any score is negative or NaN
+     */
+    PairLinkSet eliminateMultipleRowEntries( int itab1, int itab2,
+                                             ProgressIndicator indicator )
+            throws InterruptedException {
+        if ( itab1 != itab1_ || itab2 != itab2_ || itab1 == itab2 ||
+             overflow_.size() > 0 ) {
+            return null;
+        }
+        compact();
+        rebuildIndex( index_.length );
+        long max1 = -1;
+        long max2 = -1;
+        for ( int ipos = 0; ipos < npos_; ipos++ ) {
+            double score = scores_[ ipos ];
+            if ( Double.isNaN( score ) || score < 0.0 ) {
+                throw new IllegalArgumentException( "Bad score " + score );
+            }
+            max1 = Math.max( max1, rows1_[ ipos ] );
+            max2 = Math.max( max2, rows2_[ ipos ] );
+        }
+        if ( Math.max( max1, max2 ) / 64 >= Integer.MAX_VALUE ) {
+            return null;
+        }
+
+        /* Sort a permutation of the positions in ascending score order,
+         * so that better links are favoured over worse ones. */
+        int[] perm = new int[ npos_ ];
+        for ( int i = 0; i < npos_; i++ ) {
+            perm[ i ] = i;
+        }
+        sortPermutation( perm, 0, npos_ - 1,
+                         2 * ( 32 - Integer.numberOfLeadingZeros( npos_ ) ) );
+
+        /* Copy pairs whose rows have not been seen before to the output. */
+        long[] seen1 = new long[ (int) ( max1 / 64 ) + 1 ];
+        long[] seen2 = new long[ (int) ( max2 / 64 ) + 1 ];
+        PairLinkSet out = new PairLinkSet( itab1_, itab2_ );
+        try ( ProgressTracker tracker =
+                  new ProgressTracker( indicator, npos_,
+                                       "Eliminating multiple row "
+                                     + "references" ) ) {
+            for ( int i = 0; i < npos_; i++ ) {
+                int ipos = perm[ i ];
+                long row1 = rows1_[ ipos ];
+                long row2 = rows2_[ ipos ];
+                boolean seen = testAndSet( seen1, row1 );
+                seen = testAndSet( seen2, row2 ) || seen;
+                if ( ! seen ) {
+                    out.addPair( row1, row2, scores_[ ipos ] );
+                }
+                tracker.nextProgress();
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Indicates whether a given link can be stored in the pair storage.
+     *
+     * @param  link  link
+     * @return  true iff link is a RowLink2 between this set's tables
+     */
+    private boolean isPair( RowLink link ) {
+        return link instanceof RowLink2
+            && link.getRef( 0 ).getTableIndex() == itab1_
+            && link.getRef( 1 ).getTableIndex() == itab2_;
+    }
+
+    /**
+     * Creates a link object corresponding to a pair storage position.
+     *
+     * @param  ipos  occupied position
+     * @return  new link
+     */
+    private RowLink2 createLink( int ipos ) {
+        RowLink2 link = new RowLink2( new RowRef( itab1_, rows1_[ ipos ] ),
+                                      new RowRef( itab2_, rows2_[ ipos ] ) );
+        link.setScore( scores_[ ipos ] );
+        return link;
+    }
+
+    /**
+     * Adds a pair known not to be present to the pair storage.
+     *
+     * @param  row1  first row index
+     * @param  row2  second row index
+     * @param  score  link score
+     */
+    private void addPair( long row1, long row2, double score ) {
+        if ( npos_ == rows1_.length ) {
+            if ( npos_ > nlink_ * 2 ) {
+                compact();
+                rebuildIndex( index_.length );
+            }
+            else {
+                int nalloc = rows1_.length * 2;
+                if ( nalloc < 0 ) {
+                    throw new OutOfMemoryError( "Too many links" );
+                }
+                rows1_ = Arrays.copyOf( rows1_, nalloc );
+                rows2_ = Arrays.copyOf( rows2_, nalloc );
+                scores_ = Arrays.copyOf( scores_, nalloc );
+            }
+        }
+        int ipos = npos_++;
+        rows1_[ ipos ] = row1;
+        rows2_[ ipos ] = row2;
+        scores_[ ipos ] = score;
+        nlink_++;
+        if ( ++nindexUsed_ > index_.length * MAX_LOAD ) {
+            rebuildIndex( index_.length * 2 );
+        }
+        else {
+            insertIndex( ipos );
+        }
+    }
+
+    /**
+     * Removes the link at a given pair storage position.
+     * The position is left as a hole, marked by a negative row index.
+     *
+     * @param  ipos  occupied position
+     */
+    private void removePosition( int ipos ) {
+        int mask = index_.length - 1;
+        int is = hashSlot( rows1_[ ipos ], rows2_[ ipos ] );
+        while ( index_[ is ] != ipos + 1 ) {
+            is = ( is + 1 ) & mask;
+        }
+        index_[ is ] = REMOVED;
+        rows1_[ ipos ] = -1;
+        nlink_--;
+    }
+
+    /**
+     * Returns the pair storage position of a given pair.
+     *
+     * @param  row1  first row index
+     * @param  row2  second row index
+     * @return  position, or -1 if absent
+     */
+    private int findPosition( long row1, long row2 ) {
+        int mask = index_.length - 1;
+        for ( int is = hashSlot( row1, row2 ); index_[ is ] != EMPTY;
+              is = ( is + 1 ) & mask ) {
+            int ipos = index_[ is ] - 1;
+            if ( ipos >= 0 && rows1_[ ipos ] == row1
+                           && rows2_[ ipos ] == row2 ) {
+                return ipos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the next occupied pair storage position
+     * after a given one.
+     *
+     * @param  ipos  starting position (exclusive)
+     * @return  next occupied position, or npos_ if none
+     */
+    private int nextPosition( int ipos ) {
+        do {
+            ipos++;
+        } while ( ipos < npos_ && rows1_[ ipos ] < 0 );
+        return ipos;
+    }
+
+    /**
+     * Adds an entry for a pair storage position to the hash index.
+     *
+     * @param  ipos  occupied position
+     */
+    private void insertIndex( int ipos ) {
+        int mask = index_.length - 1;
+        int is = hashSlot( rows1_[ ipos ], rows2_[ ipos ] );
+        while ( index_[ is ] != EMPTY ) {
+            is = ( is + 1 ) & mask;
+        }
+        index_[ is ] = ipos + 1;
+    }
+
+    /**
+     * Recreates the hash index from the current pair storage.
+     *
+     * @param  nslot  minimum index size, a power of two
+     */
+    private void rebuildIndex( int nslot ) {
+        while ( nlink_ > nslot * MAX_LOAD ) {
+            nslot *= 2;
+        }
+        if ( nslot <= 0 ) {
+            throw new OutOfMemoryError( "Too many links" );
+        }
+        index_ = new int[ nslot ];
+        nindexUsed_ = 0;
+        for ( int ipos = 0; ipos < npos_; ipos++ ) {
+            if ( rows1_[ ipos ] >= 0 ) {
+                insertIndex( ipos );
+                nindexUsed_++;
+            }
+        }
+    }
+
+    /**
+     * Removes holes from the pair storage.
+     * The hash index must be rebuilt following this call.
+     */
+    private void compact() {
+        int n = 0;
+        for ( int ipos = 0; ipos < npos_; ipos++ ) {
+            if ( rows1_[ ipos ] >= 0 ) {
+                rows1_[ n ] = rows1_[ ipos ];
+                rows2_[ n ] = rows2_[ ipos ];
+                scores_[ n ] = scores_[ ipos ];
+                n++;
+            }
+        }
+        assert n == nlink_;
+        npos_ = n;
+    }
+
+    /**
+     * Returns the initial hash index slot for a given pair.
+     *
+     * @param  row1  first row index
+     * @param  row2  second row index
+     * @return  slot index
+     */
+    private int hashSlot( long row1, long row2 ) {
+        long h = ( row1 * 0x9e3779b97f4a7c15L + row2 ) * 0xc2b2ae3d27d4eb4fL;
+        return (int) ( h ^ ( h >>> 32 ) ) & ( index_.length - 1 );
+    }
+
+    /**
+     * Sorts a range of the pair storage in place.
+     * This is an introsort: quicksort, falling back to heapsort
+     * if the recursion gets too deep.
+     *
+     * @param  lo  lowest position (inclusive)
+     * @param  hi  highest position (inclusive)
+     * @param  depth  remaining recursion budget
+     */
+    private void sort( int lo, int hi, int depth ) {
+        while ( hi - lo > 16 ) {
+            if ( depth-- <= 0 ) {
+                heapSort( lo, hi );
+                return;
+            }
+            int mid = ( lo + hi ) >>> 1;
+            if ( compare( mid, lo ) < 0 ) {
+                swap( mid, lo );
+            }
+            if ( compare( hi, lo ) < 0 ) {
+                swap( hi, lo );
+            }
+            if ( compare( hi, mid ) < 0 ) {
+                swap( hi, mid );
+            }
+            long p1 = rows1_[ mid ];
+            long p2 = rows2_[ mid ];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( compare( i, p1, p2 ) < 0 ) {
+                    i++;
+                }
+                while ( compare( j, p1, p2 ) > 0 ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    swap( i++, j-- );
+                }
+            }
+
+            /* Recurse on the smaller part, loop on the larger. */
+            if ( j - lo < hi - i ) {
+                sort( lo, j, depth );
+                lo = i;
+            }
+            else {
+                sort( i, hi, depth );
+                hi = j;
+            }
+        }
+        for ( int i = lo + 1; i <= hi; i++ ) {
+            for ( int j = i; j > lo && compare( j, j - 1 ) < 0; j-- ) {
+                swap( j, j - 1 );
+            }
+        }
+    }
+
+    /**
+     * Heapsorts a range of the pair storage in place.
+     *
+     * @param  lo  lowest position (inclusive)
+     * @param  hi  highest position (inclusive)
+     */
+    private void heapSort( int lo, int hi ) {
+        int n = hi - lo + 1;
+        for ( int i = n / 2 - 1; i >= 0; i-- ) {
+            siftDown( lo, i, n );
+        }
+        for ( int i = n - 1; i > 0; i-- ) {
+            swap( lo, lo + i );
+            siftDown( lo, 0, i );
+        }
+    }
+
+    /**
+     * Heap sift-down operation for heapsort.
+     *
+     * @param  lo  position offset of heap
+     * @param  i   heap node index
+     * @param  n   heap size
+     */
+    private void siftDown( int lo, int i, int n ) {
+        while ( 2 * i + 1 < n ) {
+            int c = 2 * i + 1;
+            if ( c + 1 < n && compare( lo + c, lo + c + 1 ) < 0 ) {
+                c++;
+            }
+            if ( compare( lo + i, lo + c ) >= 0 ) {
+                return;
+            }
+            swap( lo + i, lo + c );
+            i = c;
+        }
+    }
+
+    /**
+     * Sorts a range of a permutation of pair storage positions
+     * in ascending order of score, then of pair.
+     * The algorithm is the same as for {@link #sort}.
+     *
+     * @param  perm  permutation array
+     * @param  lo  lowest index (inclusive)
+     * @param  hi  highest index (inclusive)
+     * @param  depth  remaining recursion budget
+     */
+    private void sortPermutation( int[] perm, int lo, int hi, int depth ) {
+        while ( hi - lo > 16 ) {
+            if ( depth-- <= 0 ) {
+                heapSortPermutation( perm, lo, hi );
+                return;
+            }
+            int mid = ( lo + hi ) >>> 1;
+            if ( compareScored( perm[ mid ], perm[ lo ] ) < 0 ) {
+                swap( perm, mid, lo );
+            }
+            if ( compareScored( perm[ hi ], perm[ lo ] ) < 0 ) {
+                swap( perm, hi, lo );
+            }
+            if ( compareScored( perm[ hi ], perm[ mid ] ) < 0 ) {
+                swap( perm, hi, mid );
+            }
+            int pivot = perm[ mid ];
+            int i = lo;
+            int j = hi;
+            while ( i <= j ) {
+                while ( compareScored( perm[ i ], pivot ) < 0 ) {
+                    i++;
+                }
+                while ( compareScored( perm[ j ], pivot ) > 0 ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    swap( perm, i++, j-- );
+                }
+            }
+            if ( j - lo < hi - i ) {
+                sortPermutation( perm, lo, j, depth );
+                lo = i;
+            }
+            else {
+                sortPermutation( perm, i, hi, depth );
+                hi = j;
+            }
+        }
+        for ( int i = lo + 1; i <= hi; i++ ) {
+            for ( int j = i;
+                  j > lo && compareScored( perm[ j ], perm[ j - 1 ] ) < 0;
+                  j-- ) {
+                swap( perm, j, j - 1 );
+            }
+        }
+    }
+
+    /**
+     * Heapsorts a range of a permutation of pair storage positions.
+     *
+     * @param  perm  permutation array
+     * @param  lo  lowest index (inclusive)
+     * @param  hi  highest index (inclusive)
+     */
+    private void heapSortPermutation( int[] perm, int lo, int hi ) {
+        int n = hi - lo + 1;
+        for ( int i = n / 2 - 1; i >= 0; i-- ) {
+            siftDownPermutation( perm, lo, i, n );
+        }
+        for ( int i = n - 1; i > 0; i-- ) {
+            swap( perm, lo, lo + i );
+            siftDownPermutation( perm, lo, 0, i );
+        }
+    }
+
+    /**
+     * Heap sift-down operation for permutation heapsort.
+     *
+     * @param  perm  permutation array
+     * @param  lo  index offset of heap
+     * @param  i   heap node index
+     * @param  n   heap size
+     */
+    private void siftDownPermutation( int[] perm, int lo, int i, int n ) {
+        while ( 2 * i + 1 < n ) {
+            int c = 2 * i + 1;
+            if ( c + 1 < n &&
+                 compareScored( perm[ lo + c ], perm[ lo + c + 1 ] ) < 0 ) {
+                c++;
+            }
+            if ( compareScored( perm[ lo + i ], perm[ lo + c ] ) >= 0 ) {
+                return;
+            }
+            swap( perm, lo + i, lo + c );
+            i = c;
+        }
+    }
+
+    /**
+     * Compares the pairs at two positions by score, then by pair.
+     */
+    private int compareScored( int ip1, int ip2 ) {
+        double score1 = scores_[ ip1 ];
+        double score2 = scores_[ ip2 ];
+        if ( score1 < score2 ) {
+            return -1;
+        }
+        else if ( score1 > score2 ) {
+            return +1;
+        }
+        else {
+            return compare( ip1, ip2 );
+        }
+    }
+
+    /**
+     * Swaps two elements of an int array.
+     */
+    private static void swap( int[] array, int i1, int i2 ) {
+        int v = array[ i1 ];
+        array[ i1 ] = array[ i2 ];
+        array[ i2 ] = v;
+    }
+
+    /**
+     * Sets a bit in a bit set, returning its previous value.
+     *
+     * @param  bits  bit set
+     * @param  ibit  bit index
+     * @return  true iff the bit was already set
+     */
+    private static boolean testAndSet( long[] bits, long ibit ) {
+        int iw = (int) ( ibit >>> 6 );
+        long mask = 1L << ( ibit & 63 );
+        boolean wasSet = ( bits[ iw ] & mask ) != 0;
+        bits[ iw ] |= mask;
+        return wasSet;
+    }
+
+    /**
+     * Compares the pairs at two positions.
+     */
+    private int compare( int ip1, int ip2 ) {
+        return compare( ip1, rows1_[ ip2 ], rows2_[ ip2 ] );
+    }
+
+    /**
+     * Compares the pair at a given position with a given pair.
+     */
+    private int compare( int ipos, long row1, long row2 ) {
+        int c = Long.compare( rows1_[ ipos ], row1 );
+        return c != 0 ? c : Long.compare( rows2_[ ipos ], row2 );
+    }
+
+    /**
+     * Swaps the pairs at two positions.
+     */
+    private void swap( int ip1, int ip2 ) {
+        long r1 = rows1_[ ip1 ];
+        rows1_[ ip1 ] = rows1_[ ip2 ];
+        rows1_[ ip2 ] = r1;
+        long r2 = rows2_[ ip1 ];
+        rows2_[ ip1 ] = rows2_[ ip2 ];
+        rows2_[ ip2 ] = r2;
+        double s = scores_[ ip1 ];
+        scores_[ ip1 ] = scores_[ ip2 ];
+        scores_[ ip2 ] = s;
+    }
+}
@@ -2,10 +2,7 @@ package uk.ac.starlink.table.join;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -16,6 +13,7 @@ import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
+import uk.ac.starlink.util.SplitPolicy;
 
 /**
  * Multithreaded MatchComputer implementation.
@@ -40,6 +38,10 @@ class ParallelMatchComputer implements MatchComputer {
         return "Split, " + runner_.getSplitProcessor();
     }
 
+    public SplitPolicy getSplitPolicy() {
+        return runner_.getSplitProcessor().getSplitPolicy();
+    }
+
     public BinnedRows binRowIndices( Supplier<MatchKit> kitFact,
                                      Supplier<Predicate<Object[]>> rowSelector,
                                      StarTable tableR,
@@ -411,32 +413,15 @@ class ParallelMatchComputer implements MatchComputer {
             assert rowIndexS != null;
             try ( RowAccess accessR = tableR_.getRowAccess() ) {
                 List<RowLink2> linkList = new ArrayList<>();
-                Set<Long> rrowSet = new HashSet<>();
                 while ( rseqS.next() ) {
                     Object[] rowS = rseqS.getRow();
                     if ( inclusion.test( rowS ) ) {
 
                         /* Identify rows from table R which may match table S.*/
                         Object[] keys = matchKit.getBins( rowS );
-                        rrowSet.clear();
-                        for ( Object key : keys ) {
-                            long[] rrows = binnerR_.getLongs( key );
-                            if ( rrows != null ) {
-                                for ( long lrow : rrows ) {
-                                    rrowSet.add( Long.valueOf( lrow ) );
-                                }
-                            }
-                        }
-                        int nr = rrowSet.size();
-                        if ( nr > 0 ) {
-                            // there are probably faster ways of doing
-                            // this accumulate/sort
-                            long[] rrows = new long[ nr ];
-                            int ir = 0;
-                            for ( Long rr : rrowSet ) {
-                                rrows[ ir++ ] = rr.longValue();
-                            }
-                            Arrays.sort( rrows );
+                        long[] rrows =
+                            Binners.getDistinctItems( binnerR_, keys );
+                        if ( rrows.length > 0 ) {
 
                             /* Score and accumulate matched links. */
                             long irS = rowIndexS.getAsLong();
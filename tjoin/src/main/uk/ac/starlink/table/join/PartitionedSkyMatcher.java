@@ -0,0 +1,822 @@
+package uk.ac.starlink.table.join;
+
+import cds.healpix.FlatHashIterator;
+import cds.healpix.Healpix;
+import cds.healpix.HealpixNested;
+import cds.healpix.HealpixNestedBMOC;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ByteStore;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.PrimitiveArrayColumn;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.Tables;
+import uk.ac.starlink.util.DataBufferedInputStream;
+import uk.ac.starlink.util.DataBufferedOutputStream;
+
+/**
+ * Performs pair matches between two sky tables which may be too large
+ * to match in memory.
+ *
+ * <p>Each input table is read once, sequentially.  Every row with a
+ * legal position is written to one or more on-disk partitions,
+ * one for each coarse HEALPix tile overlapped by a cone round the
+ * row position whose radius is the row's
+ * {@link SkyMatchIndex.TupleDecoder#getMatchRadius match radius}.
+ * Any two matching rows are therefore guaranteed to share at least one
+ * partition.  Partitions too large for the memory budget are
+ * recursively split into smaller tiles in the same way.
+ * Each resulting partition is then matched independently using
+ * a normal in-memory {@link RowMatcher}, with several partitions
+ * processed in parallel, and the pairs found are merged,
+ * discarding duplicates from rows that appear in more than one tile.
+ * Finally the requested {@link PairMode} is applied to the merged
+ * pair set, so the result is the same as that of
+ * {@link RowMatcher#findPairMatches} for the same tables.
+ *
+ * <p>Only match engines supported by {@link SkyMatchIndex}
+ * may be used; see {@link #isSupported}.
+ * The input tables do not need random access.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class PartitionedSkyMatcher {
+
+    private final MatchEngine engine_;
+    private final StarTable[] tables_;
+    private final StoragePolicy storage_;
+    private final int parallelism_;
+    private final long maxLeafRows_;
+    private final SkyMatchIndex.TupleDecoder decoder_;
+    private final ColumnInfo[][] tupleInfos_;
+    private ProgressIndicator indicator_;
+
+    /** Maximum HEALPix order used for partitioning. */
+    public static final int MAX_ORDER = 20;
+
+    /** Maximum HEALPix order used for top-level partitioning. */
+    private static final int MAX_TOP_ORDER = 2;
+
+    /** Maximum number of orders by which a partition is split at once. */
+    private static final int MAX_SPLIT_DEPTH = 3;
+
+    /** Approximate memory per matched row in addition to tuple values. */
+    private static final int ROW_OVERHEAD = 256;
+
+    /** Minimum number of rows in a partition considered for splitting. */
+    private static final int MIN_LEAF_ROWS = 16;
+
+    /**
+     * Factor by which a partition that cannot be split may exceed
+     * the leaf row budget before matching fails.
+     */
+    private static final int MAX_LEAF_EXCESS = 64;
+
+    /** HEALPix pixel size at order zero in radians. */
+    private static final double PIXSIZE0 = Math.sqrt( Math.PI / 3.0 );
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.table.join" );
+
+    /**
+     * Constructor.
+     *
+     * @param  engine  match engine; must be supported
+     * @param  tables  two-element array of tables to match
+     * @param  storage  storage policy for partition data
+     * @param  memBudget  approximate number of bytes of memory
+     *                    available for matching partitions
+     * @param  parallelism  maximum number of partitions to match
+     *                      concurrently
+     * @throws  IllegalArgumentException  if the engine is not supported
+     */
+    public PartitionedSkyMatcher( MatchEngine engine, StarTable[] tables,
+                                  StoragePolicy storage, long memBudget,
+                                  int parallelism ) {
+        decoder_ = SkyMatchIndex.getDecoder( engine );
+        if ( decoder_ == null ) {
+            throw new IllegalArgumentException( "Engine " + engine
+                                              + " not supported" );
+        }
+        if ( tables.length != 2 ) {
+            throw new IllegalArgumentException( "Need two tables" );
+        }
+        engine_ = engine;
+        tables_ = tables.clone();
+        storage_ = storage;
+        parallelism_ = Math.max( 1, parallelism );
+        tupleInfos_ = new ColumnInfo[ 2 ][];
+        int maxNcol = 0;
+        for ( int it = 0; it < 2; it++ ) {
+            int ncol = tables[ it ].getColumnCount();
+            maxNcol = Math.max( maxNcol, ncol );
+            tupleInfos_[ it ] = new ColumnInfo[ ncol ];
+            for ( int ic = 0; ic < ncol; ic++ ) {
+                ColumnInfo info =
+                    new ColumnInfo( tables[ it ].getColumnInfo( ic ) );
+                info.setContentClass( Double.class );
+                tupleInfos_[ it ][ ic ] = info;
+            }
+        }
+        long rowBytes = ROW_OVERHEAD + 8 * maxNcol;
+        maxLeafRows_ = Math.max( MIN_LEAF_ROWS,
+                                 memBudget / ( parallelism_ * rowBytes ) );
+        indicator_ = new NullProgressIndicator();
+    }
+
+    /**
+     * Sets the progress indicator for this matcher.
+     *
+     * @param  indicator  progress indicator
+     */
+    public void setIndicator( ProgressIndicator indicator ) {
+        indicator_ = indicator;
+    }
+
+    /**
+     * Returns the maximum number of rows that will be matched in memory
+     * in a single partition, if the geometry permits.
+     *
+     * @return  maximum partition row count
+     */
+    public long getMaxLeafRows() {
+        return maxLeafRows_;
+    }
+
+    /**
+     * Indicates whether a given match engine can be used with this class.
+     *
+     * @param  engine  match engine
+     * @return  true iff engine is supported
+     */
+    public static boolean isSupported( MatchEngine engine ) {
+        return SkyMatchIndex.getDecoder( engine ) != null;
+    }
+
+    /**
+     * Finds pair matches between the two tables.
+     *
+     * @param  pairMode  pair matching mode
+     * @return  links representing matched pairs
+     */
+    public LinkSet findPairMatches( PairMode pairMode )
+            throws IOException, InterruptedException {
+        long nrow = 0;
+        for ( StarTable table : tables_ ) {
+            nrow += Math.max( 0, table.getRowCount() );
+        }
+        int order = 0;
+        while ( order < MAX_TOP_ORDER &&
+                nrow > 12L * ( 1L << ( 2 * order ) ) * maxLeafRows_ ) {
+            order++;
+        }
+        Scatterer scatterer = new Scatterer( order, -1, 0 );
+        List<Partition> parts;
+        try {
+            for ( int it = 0; it < 2; it++ ) {
+                scatterTable( it, scatterer );
+            }
+            parts = scatterer.finish();
+        }
+        catch ( IOException | InterruptedException | RuntimeException e ) {
+            scatterer.closeAll();
+            throw e;
+        }
+        logger_.info( "Partitioned " + nrow + " rows into " + parts.size()
+                    + " tiles at HEALPix order " + order );
+        PairLinkSet pairs = new PairLinkSet( 0, 1 );
+        matchPartitions( parts, pairs );
+        switch ( pairMode ) {
+            case ALL:
+                return pairs;
+            case BEST:
+                RowMatcher matcher =
+                    RowMatcher.createMatcher( engine_, tables_, null );
+                matcher.setIndicator( indicator_ );
+                return matcher.eliminateMultipleRowEntries( pairs );
+            case BEST1:
+                return bestPerRow( pairs, 0 );
+            case BEST2:
+                return bestPerRow( pairs, 1 );
+            default:
+                throw new IllegalArgumentException( "Unknown pair mode "
+                                                  + pairMode );
+        }
+    }
+
+    /**
+     * Reads all the rows of one input table and writes them to
+     * top-level partitions.
+     *
+     * @param  itab  table index
+     * @param  scatterer  partition writer
+     */
+    private void scatterTable( int itab, Scatterer scatterer )
+            throws IOException, InterruptedException {
+        StarTable table = tables_[ itab ];
+        long nrow = table.getRowCount();
+        int ncol = table.getColumnCount();
+        double[] lonLatErr = new double[ 3 ];
+        double[] values = new double[ ncol ];
+        try ( ProgressTracker tracker =
+                  new ProgressTracker( indicator_, nrow,
+                                       "Partitioning rows for table "
+                                     + ( itab + 1 ) );
+              RowSequence rseq = table.getRowSequence() ) {
+            for ( long irow = 0; rseq.next(); irow++ ) {
+                Object[] row = rseq.getRow();
+                if ( decoder_.decodeTuple( row, lonLatErr ) ) {
+                    for ( int ic = 0; ic < ncol; ic++ ) {
+                        Object val = row[ ic ];
+                        values[ ic ] = val instanceof Number
+                                     ? ((Number) val).doubleValue()
+                                     : Double.NaN;
+                    }
+                    double radius = decoder_.getMatchRadius( lonLatErr[ 2 ] );
+                    scatterer.addRecord( itab, irow, lonLatErr[ 0 ],
+                                         lonLatErr[ 1 ], radius, values );
+                }
+                tracker.nextProgress();
+            }
+        }
+    }
+
+    /**
+     * Matches a list of partitions in parallel, accumulating the
+     * resulting pairs.  All the partitions are disposed of by the
+     * time this method exits.
+     *
+     * @param  parts  partitions
+     * @param  pairs  link set to which pairs are added
+     */
+    private void matchPartitions( List<Partition> parts,
+                                  final PairLinkSet pairs )
+            throws IOException, InterruptedException {
+
+        /* Submit the largest partitions first for better load balancing. */
+        Collections.sort( parts,
+                          ( p1, p2 ) -> Long.compare( p2.getRecordCount(),
+                                                      p1.getRecordCount() ) );
+        ExecutorService executor =
+            Executors.newFixedThreadPool( parallelism_, r -> {
+                Thread th = new Thread( r, "Partition matcher" );
+                th.setDaemon( true );
+                return th;
+            } );
+        List<Future<?>> futures = new ArrayList<>();
+        try ( ProgressTracker tracker =
+                  new ProgressTracker( indicator_, parts.size(),
+                                       "Matching " + parts.size()
+                                     + " partitions" ) ) {
+            for ( final Partition part : parts ) {
+                futures.add( executor.submit( () -> {
+                    processPartition( part, pairs );
+                    return null;
+                } ) );
+            }
+            for ( Future<?> future : futures ) {
+                try {
+                    future.get();
+                }
+                catch ( ExecutionException e ) {
+                    Throwable cause = e.getCause();
+                    if ( cause instanceof IOException ) {
+                        throw (IOException) cause;
+                    }
+                    else if ( cause instanceof InterruptedException ) {
+                        throw (InterruptedException) cause;
+                    }
+                    else if ( cause instanceof RuntimeException ) {
+                        throw (RuntimeException) cause;
+                    }
+                    else if ( cause instanceof Error ) {
+                        throw (Error) cause;
+                    }
+                    else {
+                        throw new IOException( "Partition match failed",
+                                               cause );
+                    }
+                }
+                tracker.nextProgress();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+            for ( Partition part : parts ) {
+                part.close();
+            }
+        }
+    }
+
+    /**
+     * Matches a single partition, splitting it further first if it is
+     * too large.  The partition is disposed of by the time this
+     * method exits.
+     *
+     * @param  part  partition
+     * @param  pairs  link set to which pairs are added
+     */
+    private void processPartition( Partition part, PairLinkSet pairs )
+            throws IOException, InterruptedException {
+        try {
+            if ( Thread.interrupted() ) {
+                throw new InterruptedException();
+            }
+            if ( part.nrecs_[ 0 ] == 0 || part.nrecs_[ 1 ] == 0 ) {
+                return;
+            }
+            int depth = getSplitDepth( part );
+            if ( depth > 0 ) {
+                Scatterer scatterer =
+                    new Scatterer( part.order_ + depth, part.pixel_, depth );
+                List<Partition> subParts;
+                try {
+                    readPartition( part, scatterer );
+                    part.close();
+                    subParts = scatterer.finish();
+                }
+                catch ( IOException | RuntimeException e ) {
+                    scatterer.closeAll();
+                    throw e;
+                }
+                try {
+                    for ( Partition subPart : subParts ) {
+                        processPartition( subPart, pairs );
+                    }
+                }
+                finally {
+                    for ( Partition subPart : subParts ) {
+                        subPart.close();
+                    }
+                }
+            }
+            else {
+                checkLeafSize( part );
+                matchLeaf( part, pairs );
+            }
+        }
+        finally {
+            part.close();
+        }
+    }
+
+    /**
+     * Returns the number of HEALPix orders by which a partition
+     * should be split.  Splitting is avoided if the child tiles would
+     * be small compared to the match radii, since in that case most
+     * rows would just be duplicated into several tiles.
+     *
+     * @param  part  partition
+     * @return   number of orders to split by, or 0 for no split
+     */
+    private int getSplitDepth( Partition part ) {
+        long nrec = part.getRecordCount();
+        if ( nrec <= maxLeafRows_ ) {
+            return 0;
+        }
+        int depth = 1;
+        while ( depth < MAX_SPLIT_DEPTH &&
+                nrec > ( 1L << ( 2 * depth ) ) * maxLeafRows_ ) {
+            depth++;
+        }
+        depth = Math.min( depth, MAX_ORDER - part.order_ );
+        while ( depth > 0 &&
+                getPixelSize( part.order_ + depth ) < 4 * part.maxRadius_ ) {
+            depth--;
+        }
+        return depth;
+    }
+
+    /**
+     * Checks that a partition which cannot be split further is
+     * small enough to match in memory.
+     * If it is over budget a warning is logged, and if it is
+     * far over budget an exception is thrown.
+     *
+     * @param  part  leaf partition
+     * @throws  IOException  if the partition is much too large
+     */
+    private void checkLeafSize( Partition part ) throws IOException {
+        long nrec = part.getRecordCount();
+        if ( nrec > maxLeafRows_ ) {
+            String msg = new StringBuffer()
+                .append( "Sky partition " )
+                .append( part.order_ )
+                .append( "/" )
+                .append( part.pixel_ )
+                .append( " has " )
+                .append( nrec )
+                .append( " rows, more than the budget of " )
+                .append( maxLeafRows_ )
+                .append( ", but can't be split further for match radius " )
+                .append( (float) Math.toDegrees( part.maxRadius_ ) )
+                .append( " degrees" )
+                .toString();
+            if ( nrec / MAX_LEAF_EXCESS > maxLeafRows_ ) {
+                throw new IOException( msg + "; increase available memory"
+                                     + " or reduce the match radius" );
+            }
+            else {
+                logger_.warning( msg );
+            }
+        }
+    }
+
+    /**
+     * Matches the contents of a partition in memory.
+     *
+     * @param  part  partition
+     * @param  pairs  link set to which pairs are added
+     */
+    private void matchLeaf( Partition part, PairLinkSet pairs )
+            throws IOException, InterruptedException {
+        int[] nrecs = new int[ 2 ];
+        long[][] rowIds = new long[ 2 ][];
+        double[][][] data = new double[ 2 ][][];
+        for ( int it = 0; it < 2; it++ ) {
+            int n = Tables.checkedLongToInt( part.nrecs_[ it ] );
+            rowIds[ it ] = new long[ n ];
+            data[ it ] = new double[ tupleInfos_[ it ].length ][ n ];
+        }
+        try ( DataBufferedInputStream in = part.openInput() ) {
+            long nrec = part.getRecordCount();
+            for ( long ir = 0; ir < nrec; ir++ ) {
+                int it = in.readByte();
+                int ix = nrecs[ it ]++;
+                rowIds[ it ][ ix ] = in.readLong();
+                in.readDouble();
+                in.readDouble();
+                in.readDouble();
+                double[][] cols = data[ it ];
+                for ( int ic = 0; ic < cols.length; ic++ ) {
+                    cols[ ic ][ ix ] = in.readDouble();
+                }
+            }
+        }
+        StarTable[] leafTables = new StarTable[ 2 ];
+        for ( int it = 0; it < 2; it++ ) {
+            ColumnStarTable table =
+                ColumnStarTable.makeTableWithRows( nrecs[ it ] );
+            for ( int ic = 0; ic < tupleInfos_[ it ].length; ic++ ) {
+                table.addColumn( PrimitiveArrayColumn
+                                .makePrimitiveColumn( tupleInfos_[ it ][ ic ],
+                                                      data[ it ][ ic ] ) );
+            }
+            leafTables[ it ] = table;
+        }
+        LinkSet leafPairs =
+            RowMatcher.createMatcher( engine_, leafTables, null )
+                      .findPairMatches( PairMode.ALL );
+        List<RowLink2> links = new ArrayList<>( leafPairs.size() );
+        for ( RowLink link : leafPairs ) {
+            RowLink2 leafPair = (RowLink2) link;
+            RowRef ref0 = leafPair.getRef( 0 );
+            RowRef ref1 = leafPair.getRef( 1 );
+            int it0 = ref0.getTableIndex();
+            int it1 = ref1.getTableIndex();
+            long irow0 = rowIds[ it0 ][ (int) ref0.getRowIndex() ];
+            long irow1 = rowIds[ it1 ][ (int) ref1.getRowIndex() ];
+            RowLink2 pair = new RowLink2( new RowRef( it0, irow0 ),
+                                          new RowRef( it1, irow1 ) );
+            pair.setScore( leafPair.getScore() );
+            links.add( pair );
+        }
+
+        /* Pairs found in more than one tile are discarded here,
+         * since PairLinkSet only holds one entry for each row pair. */
+        synchronized ( pairs ) {
+            for ( RowLink2 pair : links ) {
+                pairs.addLink( pair );
+            }
+        }
+    }
+
+    /**
+     * Feeds the records of a partition to a scatterer.
+     *
+     * @param  part  partition to read
+     * @param  scatterer  destination for records
+     */
+    private void readPartition( Partition part, Scatterer scatterer )
+            throws IOException {
+        double[][] values = new double[][] {
+            new double[ tupleInfos_[ 0 ].length ],
+            new double[ tupleInfos_[ 1 ].length ],
+        };
+        try ( DataBufferedInputStream in = part.openInput() ) {
+            long nrec = part.getRecordCount();
+            for ( long ir = 0; ir < nrec; ir++ ) {
+                int it = in.readByte();
+                long irow = in.readLong();
+                double lon = in.readDouble();
+                double lat = in.readDouble();
+                double radius = in.readDouble();
+                double[] vals = values[ it ];
+                for ( int ic = 0; ic < vals.length; ic++ ) {
+                    vals[ ic ] = in.readDouble();
+                }
+                scatterer.addRecord( it, irow, lon, lat, radius, vals );
+            }
+        }
+    }
+
+    /**
+     * Returns the set containing the best pair for each row of
+     * one of the tables.  Ties are resolved in favour of the
+     * row in the other table with the lowest index.
+     *
+     * @param  pairs  input pairs
+     * @param  itab   index of table whose rows must appear only once
+     * @return   filtered pair set
+     */
+    private LinkSet bestPerRow( LinkSet pairs, int itab )
+            throws InterruptedException {
+        Map<Long,RowLink2> bestMap = new HashMap<>();
+        int jtab = 1 - itab;
+        try ( ProgressTracker tracker =
+                  new ProgressTracker( indicator_, pairs.size(),
+                                       "Selecting best matches for table "
+                                     + ( itab + 1 ) ) ) {
+            for ( RowLink link : pairs ) {
+                RowLink2 pair = (RowLink2) link;
+                Long key = Long.valueOf( pair.getRef( itab ).getRowIndex() );
+                RowLink2 best = bestMap.get( key );
+                if ( best == null ||
+                     pair.getScore() < best.getScore() ||
+                     ( pair.getScore() == best.getScore() &&
+                       pair.getRef( jtab ).getRowIndex()
+                       < best.getRef( jtab ).getRowIndex() ) ) {
+                    bestMap.put( key, pair );
+                }
+                tracker.nextProgress();
+            }
+        }
+        LinkSet result = new PairLinkSet( 0, 1 );
+        for ( RowLink2 pair : bestMap.values() ) {
+            result.addLink( pair );
+        }
+        return result;
+    }
+
+    /**
+     * Returns the approximate linear size of a HEALPix pixel.
+     *
+     * @param  order  HEALPix order
+     * @return   pixel size in radians
+     */
+    private static double getPixelSize( int order ) {
+        return PIXSIZE0 / ( 1L << order );
+    }
+
+    /**
+     * Writes records to the partitions belonging to the HEALPix tiles
+     * they overlap.
+     */
+    private class Scatterer {
+
+        private final int order_;
+        private final long parentPixel_;
+        private final int depth_;
+        private final HealpixNested hpx_;
+        private final Map<Long,Partition> partMap_;
+
+        /**
+         * Constructor.
+         *
+         * @param  order  HEALPix order of output tiles
+         * @param  parentPixel  index of the tile of which all output tiles
+         *                      must be descendants, or -1 for no restriction
+         * @param  depth  difference in order between output tiles and
+         *                parent tile
+         */
+        Scatterer( int order, long parentPixel, int depth ) {
+            order_ = order;
+            parentPixel_ = parentPixel;
+            depth_ = depth;
+            hpx_ = Healpix.getNested( order );
+            partMap_ = new HashMap<>();
+        }
+
+        /**
+         * Writes a record to all the partitions it overlaps.
+         *
+         * @param  itab  table index
+         * @param  irow  row index in input table
+         * @param  lon   longitude in radians
+         * @param  lat   latitude in radians
+         * @param  radius  match radius in radians
+         * @param  values  numeric tuple values
+         */
+        void addRecord( int itab, long irow, double lon, double lat,
+                        double radius, double[] values )
+                throws IOException {
+            if ( radius > 0 ) {
+                HealpixNestedBMOC bmoc =
+                    hpx_.newConeComputerApprox( radius )
+                        .overlappingCells( lon, lat );
+                for ( FlatHashIterator flit = bmoc.flatHashIterator();
+                      flit.hasNext(); ) {
+                    writeRecord( flit.next(), itab, irow, lon, lat, radius,
+                                 values );
+                }
+            }
+            else {
+                writeRecord( hpx_.hash( lon, lat ), itab, irow, lon, lat,
+                             radius, values );
+            }
+        }
+
+        /**
+         * Writes a record to a single partition.
+         *
+         * @param  pixel  tile index
+         * @param  itab  table index
+         * @param  irow  row index in input table
+         * @param  lon   longitude in radians
+         * @param  lat   latitude in radians
+         * @param  radius  match radius in radians
+         * @param  values  numeric tuple values
+         */
+        private void writeRecord( long pixel, int itab, long irow,
+                                  double lon, double lat, double radius,
+                                  double[] values )
+                throws IOException {
+            if ( parentPixel_ >= 0 &&
+                 ( pixel >>> ( 2 * depth_ ) ) != parentPixel_ ) {
+                return;
+            }
+            Long key = Long.valueOf( pixel );
+            Partition part = partMap_.get( key );
+            if ( part == null ) {
+                part = new Partition( order_, pixel,
+                                      storage_.makeByteStore() );
+                partMap_.put( key, part );
+            }
+            DataBufferedOutputStream out = part.out_;
+            out.writeByte( itab );
+            out.writeLong( irow );
+            out.writeDouble( lon );
+            out.writeDouble( lat );
+            out.writeDouble( radius );
+            for ( double value : values ) {
+                out.writeDouble( value );
+            }
+            part.nrecs_[ itab ]++;
+            part.maxRadius_ = Math.max( part.maxRadius_, radius );
+        }
+
+        /**
+         * Completes writing and returns the partitions written.
+         *
+         * @return  list of partitions
+         */
+        List<Partition> finish() throws IOException {
+            List<Partition> parts = new ArrayList<>( partMap_.values() );
+            for ( Partition part : parts ) {
+                part.out_.flush();
+            }
+            partMap_.clear();
+            return parts;
+        }
+
+        /**
+         * Disposes of all partitions written so far.
+         */
+        void closeAll() {
+            for ( Partition part : partMap_.values() ) {
+                part.close();
+            }
+            partMap_.clear();
+        }
+    }
+
+    /**
+     * Holds the records for a single HEALPix tile.
+     */
+    private static class Partition {
+
+        final int order_;
+        final long pixel_;
+        final ByteStore store_;
+        final DataBufferedOutputStream out_;
+        final long[] nrecs_;
+        double maxRadius_;
+        private boolean isClosed_;
+
+        /**
+         * Constructor.
+         *
+         * @param  order  HEALPix order
+         * @param  pixel  tile index
+         * @param  store  byte store for record data
+         */
+        Partition( int order, long pixel, ByteStore store ) {
+            order_ = order;
+            pixel_ = pixel;
+            store_ = store;
+            out_ = new DataBufferedOutputStream( store.getOutputStream() );
+            nrecs_ = new long[ 2 ];
+        }
+
+        /**
+         * Returns the total number of records written to this partition.
+         *
+         * @return  record count
+         */
+        long getRecordCount() {
+            return nrecs_[ 0 ] + nrecs_[ 1 ];
+        }
+
+        /**
+         * Returns a stream from which the records written to this
+         * partition can be read.
+         *
+         * @return  input stream
+         */
+        DataBufferedInputStream openInput() throws IOException {
+            return new DataBufferedInputStream(
+                new BuffersInputStream( store_.toByteBuffers() ) );
+        }
+
+        /**
+         * Discards the resources held by this partition.
+         * Calling this method more than once has no effect.
+         */
+        synchronized void close() {
+            if ( ! isClosed_ ) {
+                isClosed_ = true;
+                store_.close();
+            }
+        }
+    }
+
+    /**
+     * InputStream that reads from a sequence of byte buffers.
+     */
+    private static class BuffersInputStream extends InputStream {
+
+        private final Iterator<ByteBuffer> bufIt_;
+        private ByteBuffer buf_;
+
+        /**
+         * Constructor.
+         *
+         * @param  bufs  buffers
+         */
+        BuffersInputStream( ByteBuffer[] bufs ) {
+            bufIt_ = Arrays.asList( bufs ).iterator();
+            buf_ = ByteBuffer.allocate( 0 );
+        }
+
+        public int read() {
+            return nextBuffer() ? buf_.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read( byte[] b, int off, int len ) {
+            if ( len == 0 ) {
+                return 0;
+            }
+            if ( ! nextBuffer() ) {
+                return -1;
+            }
+            int n = Math.min( len, buf_.remaining() );
+            buf_.get( b, off, n );
+            return n;
+        }
+
+        /**
+         * Ensures that the current buffer has data available if possible.
+         *
+         * @return  false iff the end of the data has been reached
+         */
+        private boolean nextBuffer() {
+            while ( ! buf_.hasRemaining() ) {
+                if ( bufIt_.hasNext() ) {
+                    buf_ = bufIt_.next();
+                }
+                else {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
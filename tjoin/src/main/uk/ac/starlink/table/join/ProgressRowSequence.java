@@ -66,6 +66,26 @@ public class ProgressRowSequence extends WrapperRowSequence {
         }
     }
 
+    @Override
+    public double getDouble( int icol ) throws IOException {
+        return baseSeq.getDouble( icol );
+    }
+
+    @Override
+    public long getLong( int icol ) throws IOException {
+        return baseSeq.getLong( icol );
+    }
+
+    @Override
+    public int getInt( int icol ) throws IOException {
+        return baseSeq.getInt( icol );
+    }
+
+    @Override
+    public boolean isNull( int icol ) throws IOException {
+        return baseSeq.isNull( icol );
+    }
+
     /**
      * Indicates that progress is at an end.  Must be called to end the
      * progress indicator's stage.
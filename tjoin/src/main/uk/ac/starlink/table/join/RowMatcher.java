@@ -50,6 +50,7 @@ public class RowMatcher {
     private final StarTable[] tables_;
     private final MatchComputer computer_;
     private final int nTable_;
+    private final SkyMatchIndex[] indexes_;
     private ProgressIndicator indicator_;
     private long startTime_;
 
@@ -86,6 +87,7 @@ public class RowMatcher {
         tables_ = tables;
         computer_ = computer;
         nTable_ = tables.length;
+        indexes_ = new SkyMatchIndex[ nTable_ ];
         indicator_ = new NullProgressIndicator();
     }
 
@@ -107,6 +109,25 @@ public class RowMatcher {
         return indicator_;
     }
 
+    /**
+     * Supplies a persistent sky index for one of this matcher's tables.
+     * If the index is usable, pair matches in which that table is
+     * accessed randomly will look up candidate rows in the index
+     * rather than scanning and binning the table's rows.
+     *
+     * <p>The index must have been built from the table in question,
+     * as presented to this matcher.  An index which is not compatible
+     * with this matcher's engine, or whose row count does not match
+     * the table, will be ignored.
+     *
+     * @param  itab  index of table
+     * @param  index  sky index for table, or null to clear
+     * @see   SkyMatchIndex#writeIndex
+     */
+    public void setMatchIndex( int itab, SkyMatchIndex index ) {
+        indexes_[ itab ] = index;
+    }
+
     /**
      * Constructs a new empty LinkSet for use by this matcher.
      * The current implementation returns one based on a HashSet,
@@ -119,6 +140,20 @@ public class RowMatcher {
         return new HashSetLinkSet();
     }
 
+    /**
+     * Constructs a new empty LinkSet for use by this matcher,
+     * optimised for holding pair links between two given tables.
+     * Other links may also be stored in it.
+     *
+     * @param  itab1  index of one table
+     * @param  itab2  index of the other table
+     * @return  new LinkSet
+     */
+    LinkSet createPairLinkSet( int itab1, int itab2 ) {
+        return new PairLinkSet( Math.min( itab1, itab2 ),
+                                Math.max( itab1, itab2 ) );
+    }
+
     /**
      * Returns a set of RowLink objects corresponding to a pairwise match
      * between this matcher's two tables performed with its match engine.
@@ -168,6 +203,22 @@ public class RowMatcher {
             throw new IllegalArgumentException( "Neither table random-access" );
         }
 
+        /* If one table has a usable index, use that as table R;
+         * calculating the coverage would require a scan of it,
+         * which is what the index is there to avoid. */
+        else if ( getUsableIndex( index2 ) != null &&
+                  tables_[ index2 ].isRandom() ) {
+            indexS = index1;
+            indexR = index2;
+            coverage = Coverage.FULL;
+        }
+        else if ( getUsableIndex( index1 ) != null &&
+                  tables_[ index1 ].isRandom() ) {
+            indexS = index2;
+            indexR = index1;
+            coverage = Coverage.FULL;
+        }
+
         /* If only one table has random access, use that as table R. */
         else if ( ! tables_[ index1 ].isRandom() ) {
             assert tables_[ index2 ].isRandom();
@@ -232,36 +283,87 @@ public class RowMatcher {
                           boolean bestOnly )
             throws IOException, InterruptedException {
 
-        /* Bin the row indices for the random table. */
-        MatchComputer.BinnedRows binned =
-            computer_
-           .binRowIndices( engine_.createMatchKitFactory(),
-                           rowSelector, tables_[ indexR ],
-                           indicator_, "Binning rows for table " + (indexR+1) );
-        LongBinner binnerR = binned.getLongBinner();
-        long nbin = binnerR.getBinCount();
-        long nexclude = binned.getNexclude();
-        long nref = binned.getNref();
-        long nrow = tables_[ indexR ].getRowCount();
-        if ( nexclude > 0 ) {
-            indicator_.logMessage( nexclude + "/" + nrow + " rows excluded "
-                                 + "(out of match region)" );
+        /* If the random table has an index, use that to identify
+         * candidate rows. */
+        SkyMatchIndex skyIndex = getUsableIndex( indexR );
+        final Supplier<MatchKit> kitFact;
+        final LongBinner binnerR;
+        if ( skyIndex != null ) {
+            indicator_.logMessage( "Using sky index " + skyIndex.getFile()
+                                 + " for table " + ( indexR + 1 ) );
+            indicator_.logMessage( skyIndex.getIndexedCount() + "/"
+                                 + skyIndex.getRowCount() + " rows in "
+                                 + skyIndex.getPixelCount()
+                                 + " pixels at HEALPix order "
+                                 + skyIndex.getOrder() );
+            kitFact = skyIndex.createMatchKitFactory( engine_ );
+            binnerR = skyIndex.createBinner();
+        }
+
+        /* Otherwise bin the row indices for the random table. */
+        else {
+            MatchComputer.BinnedRows binned =
+                computer_
+               .binRowIndices( engine_.createMatchKitFactory(),
+                               rowSelector, tables_[ indexR ], indicator_,
+                               "Binning rows for table " + (indexR+1) );
+            binnerR = binned.getLongBinner();
+            long nbin = binnerR.getBinCount();
+            long nexclude = binned.getNexclude();
+            long nref = binned.getNref();
+            long nrow = tables_[ indexR ].getRowCount();
+            if ( nexclude > 0 ) {
+                indicator_.logMessage( nexclude + "/" + nrow
+                                     + " rows excluded "
+                                     + "(out of match region)" );
+            }
+            indicator_.logMessage( nref + " row refs for " + nrow
+                                 + " rows in " + nbin + " bins" );
+            indicator_.logMessage( "(average bin occupancy " +
+                                   ( (float) nref / (float) nbin ) + ")" );
+            kitFact = engine_.createMatchKitFactory();
         }
-        indicator_.logMessage( nref + " row refs for " + nrow + " rows in "
-                             + nbin + " bins" );
-        indicator_.logMessage( "(average bin occupancy " +
-                               ( (float) nref / (float) nbin ) + ")" );
 
         /* Scan the rows for the sequential table. */
         return computer_
-              .scanBinsForPairs( engine_.createMatchKitFactory(), rowSelector,
+              .scanBinsForPairs( kitFact, rowSelector,
                                  tables_[ indexR ], indexR,
                                  tables_[ indexS ], indexS,
-                                 bestOnly, binnerR, this::createLinkSet,
+                                 bestOnly, binnerR,
+                                 () -> createPairLinkSet( indexR, indexS ),
                                  indicator_,
                                  "Scanning rows for table " + ( indexS + 1 ) );
     }
 
+    /**
+     * Returns the sky index for a given table if one has been supplied
+     * and it is suitable for use with this matcher.
+     *
+     * @param  itab  table index
+     * @return  usable index, or null
+     */
+    private SkyMatchIndex getUsableIndex( int itab ) {
+        SkyMatchIndex index = indexes_[ itab ];
+        if ( index == null ) {
+            return null;
+        }
+        else if ( ! index.isCompatible( engine_ ) ) {
+            indicator_.logMessage( "Sky index " + index.getFile()
+                                 + " not compatible with matcher; ignored" );
+            indexes_[ itab ] = null;
+            return null;
+        }
+        else if ( index.getRowCount() != tables_[ itab ].getRowCount() ) {
+            indicator_.logMessage( "Sky index " + index.getFile()
+                                 + " row count mismatch; ignored" );
+            indexes_[ itab ] = null;
+            return null;
+        }
+        else {
+            return index;
+        }
+    }
+
     /**
      * Returns a set of RowLink objects each of which represents matches
      * between one of the rows of a reference table and any of the other tables
@@ -360,8 +462,24 @@ public class RowMatcher {
         /* Get all the possible pairs. */
         LinkSet pairs = findPairs( getAllPossibleLinks() );
 
-        /* Exclude any pairs which represent links between different rows
-         * of the same table. */
+        /* If possible, join the pairs into groups, eliminate internal
+         * links, add unmatched rows and filter the result in parallel. */
+        LinkAgglomerator agglomerator = createAgglomerator();
+        if ( agglomerator != null ) {
+            boolean[] addSingles = new boolean[ nTable_ ];
+            for ( int i = 0; i < nTable_; i++ ) {
+                addSingles[ i ] = joinTypes[ i ] == MultiJoinType.ALWAYS;
+            }
+            LinkSet links =
+                agglomerator.agglomerate( pairs, true, addSingles,
+                                          link -> acceptRow( link, joinTypes ),
+                                          createLinkSet() );
+            endMatch();
+            return links;
+        }
+
+        /* Otherwise, exclude any pairs which represent links between
+         * different rows of the same table. */
         eliminateInternalLinks( pairs );
 
         /* Join up pairs into larger groupings. */
@@ -427,7 +545,17 @@ public class RowMatcher {
         /* Locate all the pairs. */
         LinkSet links = findPairs( getAllPossibleInternalLinks( 0 ) );
 
-        /* Join up pairs into larger groupings. */
+        /* If possible, join up pairs and add unmatched rows in parallel. */
+        LinkAgglomerator agglomerator = createAgglomerator();
+        if ( agglomerator != null ) {
+            links = agglomerator.agglomerate( links, false,
+                                              new boolean[] { includeSingles },
+                                              null, createLinkSet() );
+            endMatch();
+            return links;
+        }
+
+        /* Otherwise join up pairs into larger groupings. */
         links = agglomerateLinks( links );
 
         /* Add unmatched rows if required. */
@@ -620,6 +748,23 @@ public class RowMatcher {
         }
     }
 
+    /**
+     * Returns an object that can agglomerate links between this
+     * matcher's tables using its computer's parallel processing.
+     *
+     * @return  agglomerator, or null if the tables are too large
+     */
+    private LinkAgglomerator createAgglomerator() {
+        long[] rowCounts = new long[ nTable_ ];
+        for ( int i = 0; i < nTable_; i++ ) {
+            rowCounts[ i ] = tables_[ i ].getRowCount();
+        }
+        return LinkAgglomerator.isSupported( rowCounts )
+             ? new LinkAgglomerator( rowCounts, computer_.getSplitPolicy(),
+                                     indicator_ )
+             : null;
+    }
+
     /**
      * Removes any links in a set between different rows of the same table.
      * More precisely, every RowLink in the given set is checked and 
@@ -984,6 +1129,17 @@ public class RowMatcher {
     LinkSet eliminateMultipleRowEntries( LinkSet pairs ) 
             throws InterruptedException {
 
+        /* If the pairs are held in primitive pair storage, process them
+         * there to avoid creating per-link objects. */
+        if ( pairs instanceof PairLinkSet ) {
+            LinkSet bestPairs =
+                ((PairLinkSet) pairs)
+               .eliminateMultipleRowEntries( 0, 1, indicator_ );
+            if ( bestPairs != null ) {
+                return bestPairs;
+            }
+        }
+
         /* Sort the input pairs in ascending score order.  In this way,
          * better links will be favoured (inserted into the output set)
          * over worse ones. */
@@ -2,13 +2,11 @@ package uk.ac.starlink.table.join;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.util.SplitPolicy;
 
 /**
  * Sequential MatchComputer implementation.
@@ -22,6 +20,10 @@ class SequentialMatchComputer implements MatchComputer {
         return "Sequential";
     }
 
+    public SplitPolicy getSplitPolicy() {
+        return null;
+    }
+
     public BinnedRows binRowIndices( Supplier<MatchKit> kitFact,
                                      Supplier<Predicate<Object[]>> rowSelector,
                                      StarTable tableR,
@@ -117,34 +119,18 @@ class SequentialMatchComputer implements MatchComputer {
         try ( ProgressRowSequence sseq =
                   new ProgressRowSequence( tableS, indicator, stageTxt ) ) {
             List<RowLink2> linkList = new ArrayList<>();
-            Set<Long> rrowSet = new HashSet<>();
             for ( long isrow = 0; sseq.nextProgress(); isrow++ ) {
                 Object[] srowData = sseq.getRow();
                 if ( inclusion.test( srowData ) ) {
 
                     /* Identify rows from table R which may match table S. */
                     Object[] keys = matchKit.getBins( srowData );
-                    int nkey = keys.length;
-                    rrowSet.clear();
-                    for ( int ikey = 0; ikey < nkey; ikey++ ) {
-                        long[] rrows = binnerR.getLongs( keys[ ikey ] );
-                        if ( rrows != null ) {
-                            for ( int ir = 0; ir < rrows.length; ir++ ) {
-                                rrowSet.add( Long.valueOf( rrows[ ir ] ) );
-                            }
-                        }
-                    }
-                    long[] rrows = new long[ rrowSet.size() ];
-                    int ir = 0;
-                    for ( Long rr : rrowSet ) {
-                        rrows[ ir++ ] = rr.longValue();
-                    }
-                    Arrays.sort( rrows );
+                    long[] rrows = Binners.getDistinctItems( binnerR, keys );
 
                     /* Score and accumulate matched links. */
                     linkList.clear();
                     double bestScore = Double.MAX_VALUE;
-                    for ( ir = 0; ir < rrows.length; ir++ ) {
+                    for ( int ir = 0; ir < rrows.length; ir++ ) {
                         long irrow = rrows[ ir ];
                         Object[] rrowData = tableR.getRow( irrow );
                         double score =
@@ -0,0 +1,719 @@
+package uk.ac.starlink.table.join;
+
+import cds.healpix.FlatHashIterator;
+import cds.healpix.Healpix;
+import cds.healpix.HealpixNested;
+import cds.healpix.HealpixNestedBMOC;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.Tables;
+
+/**
+ * Persistent index of the rows of a table by sky position,
+ * for use in repeated sky matches against the same table.
+ *
+ * <p>Row indices are bucketed by the HEALPix NESTED pixel at a fixed
+ * order in which each row's position falls.  The index is written
+ * to a file containing the sorted list of occupied pixels,
+ * the start offset of each pixel's rows, and the row indices themselves.
+ * Reading the index maps the file rather than loading it,
+ * so an index for a very large table can be used without
+ * scanning or binning that table.
+ *
+ * <p>An index is specific to the tuple table it was built from and
+ * to the kind of match engine used to interpret the tuples.
+ * It does not depend on the match radius, so the same index may be
+ * used for matches with different tolerances.
+ * Use {@link RowMatcher#setMatchIndex} to make an index available
+ * to a matcher.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class SkyMatchIndex {
+
+    private final File file_;
+    private final int order_;
+    private final long nrow_;
+    private final long nref_;
+    private final long npix_;
+    private final double maxError_;
+    private final String engineId_;
+    private final LongArray pixels_;
+    private final LongArray starts_;
+    private final LongArray rows_;
+
+    /** Maximum supported HEALPix order. */
+    public static final int MAX_ORDER = 11;
+
+    private static final long MAGIC = 0x534b594958303031L;  // "SKYIX001"
+    private static final int HEADER_BYTES = 48;
+
+    /**
+     * Constructor.
+     *
+     * @param  file  index file
+     * @param  order  HEALPix order
+     * @param  nrow   row count of indexed table
+     * @param  nref   number of rows present in the index
+     * @param  maxError  maximum per-row error radius in radians
+     * @param  engineId  identifier for the tuple interpretation
+     * @param  pixels   sorted array of occupied pixel indices
+     * @param  starts   offsets into rows array for each pixel,
+     *                  with one extra trailing element
+     * @param  rows    row indices grouped by pixel
+     */
+    private SkyMatchIndex( File file, int order, long nrow, long nref,
+                           double maxError, String engineId,
+                           LongArray pixels, LongArray starts,
+                           LongArray rows ) {
+        file_ = file;
+        order_ = order;
+        nrow_ = nrow;
+        nref_ = nref;
+        npix_ = pixels.size_;
+        maxError_ = maxError;
+        engineId_ = engineId;
+        pixels_ = pixels;
+        starts_ = starts;
+        rows_ = rows;
+    }
+
+    /**
+     * Returns the file from which this index was read.
+     *
+     * @return  index file
+     */
+    public File getFile() {
+        return file_;
+    }
+
+    /**
+     * Returns the HEALPix order at which rows are bucketed.
+     *
+     * @return  HEALPix order
+     */
+    public int getOrder() {
+        return order_;
+    }
+
+    /**
+     * Returns the row count of the table from which this index was built.
+     *
+     * @return   table row count
+     */
+    public long getRowCount() {
+        return nrow_;
+    }
+
+    /**
+     * Returns the number of rows present in the index.
+     * Rows without a legal sky position are omitted.
+     *
+     * @return  indexed row count
+     */
+    public long getIndexedCount() {
+        return nref_;
+    }
+
+    /**
+     * Returns the number of non-empty pixels.
+     *
+     * @return  occupied pixel count
+     */
+    public long getPixelCount() {
+        return npix_;
+    }
+
+    /**
+     * Returns the largest per-row error radius of any row in the index.
+     * For match engines with no per-row errors, this is zero.
+     *
+     * @return  maximum error in radians
+     */
+    public double getMaxError() {
+        return maxError_;
+    }
+
+    /**
+     * Indicates whether this index can be used with a given match engine.
+     *
+     * @param  engine  match engine
+     * @return  true iff this index was built for tuples of the kind
+     *          used by <code>engine</code>
+     */
+    public boolean isCompatible( MatchEngine engine ) {
+        return isSupported( engine )
+            && engineId_.equals( getEngineId( engine ) );
+    }
+
+    /**
+     * Returns the indices of the rows whose positions fall in a given pixel.
+     *
+     * @param  pixel  HEALPix NESTED index at this index's order
+     * @return  row indices, or null if there are none
+     */
+    public long[] getRows( long pixel ) {
+        long ip = findPixel( pixel );
+        if ( ip < 0 ) {
+            return null;
+        }
+        long start = starts_.get( ip );
+        int n = Tables.checkedLongToInt( starts_.get( ip + 1 ) - start );
+        long[] rows = new long[ n ];
+        for ( int i = 0; i < n; i++ ) {
+            rows[ i ] = rows_.get( start + i );
+        }
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuffer()
+            .append( "SkyMatchIndex(" )
+            .append( "order=" )
+            .append( order_ )
+            .append( ", nrow=" )
+            .append( nrow_ )
+            .append( ", npix=" )
+            .append( npix_ )
+            .append( ")" )
+            .toString();
+    }
+
+    /**
+     * Returns a binner view of this index.
+     * The binner is read-only.
+     *
+     * @return  binner with pixel keys and row index values
+     */
+    LongBinner createBinner() {
+        return new IndexBinner();
+    }
+
+    /**
+     * Returns a factory for match kits that can be used to match
+     * tuples against the rows of this index.
+     * The <code>matchScore</code> method is that of the engine,
+     * but the <code>getBins</code> method returns the pixels
+     * of this index that might contain matches.
+     *
+     * @param  engine  compatible match engine
+     * @return  match kit factory
+     */
+    Supplier<MatchKit> createMatchKitFactory( MatchEngine engine ) {
+        final Supplier<MatchKit> baseFact = engine.createMatchKitFactory();
+        final TupleDecoder decoder = getDecoder( engine );
+        final HealpixNested hpx = Healpix.getNested( order_ );
+        final double maxError = maxError_;
+        return () -> new IndexMatchKit( baseFact.get(), decoder, hpx,
+                                        maxError );
+    }
+
+    /**
+     * Locates a pixel in the occupied pixels array.
+     *
+     * @param  pixel  pixel index
+     * @return  position in array, or -1 if absent
+     */
+    private long findPixel( long pixel ) {
+        long lo = 0;
+        long hi = npix_ - 1;
+        while ( lo <= hi ) {
+            long mid = ( lo + hi ) >>> 1;
+            long p = pixels_.get( mid );
+            if ( p < pixel ) {
+                lo = mid + 1;
+            }
+            else if ( p > pixel ) {
+                hi = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indicates whether a match engine is able to make use of
+     * sky match indices.
+     *
+     * @param  engine  match engine
+     * @return  true iff indices can be built and used for engine
+     */
+    public static boolean isSupported( MatchEngine engine ) {
+        return getDecoder( engine ) != null;
+    }
+
+    /**
+     * Returns a suggested HEALPix order for indexing a table with
+     * a given number of rows.  This aims for a few rows per pixel.
+     *
+     * @param  nrow  row count
+     * @return  HEALPix order
+     */
+    public static int getDefaultOrder( long nrow ) {
+        int order = 0;
+        while ( order < MAX_ORDER && ( 12L << ( 2 * order ) ) * 4 < nrow ) {
+            order++;
+        }
+        return order;
+    }
+
+    /**
+     * Scans a table and writes an index file for it.
+     * The table's rows must be tuples suitable for the given engine.
+     * The table is read sequentially twice; memory use is dominated
+     * by a 4-byte counter for each pixel at the chosen order.
+     *
+     * <p>The file is written in place; callers wishing to avoid
+     * partially written files being visible should write to a
+     * temporary location and rename.
+     *
+     * @param  tupleTable  table of match tuples
+     * @param  engine   match engine, which must be supported
+     * @param  order   HEALPix order, in the range 0..{@link #MAX_ORDER}
+     * @param  file   destination file
+     * @param  indicator  progress indicator
+     */
+    public static void writeIndex( StarTable tupleTable, MatchEngine engine,
+                                   int order, File file,
+                                   ProgressIndicator indicator )
+            throws IOException, InterruptedException {
+        TupleDecoder decoder = getDecoder( engine );
+        if ( decoder == null ) {
+            throw new IllegalArgumentException( "Engine " + engine
+                                              + " not supported" );
+        }
+        if ( order < 0 || order > MAX_ORDER ) {
+            throw new IllegalArgumentException( "Order " + order
+                                              + " out of range 0.."
+                                              + MAX_ORDER );
+        }
+        HealpixNested hpx = Healpix.getNested( order );
+        int npixTotal = 12 << ( 2 * order );
+        long nrow = tupleTable.getRowCount();
+        double[] lonLatErr = new double[ 3 ];
+
+        /* First pass: count rows in each pixel. */
+        int[] counts = new int[ npixTotal ];
+        long irow = 0;
+        long nref = 0;
+        double maxError = 0;
+        indicator.startStage( "Counting rows for sky index" );
+        try ( RowSequence rseq = tupleTable.getRowSequence() ) {
+            while ( rseq.next() ) {
+                if ( decoder.decodeTuple( rseq.getRow(), lonLatErr ) ) {
+                    counts[ (int) hpx.hash( lonLatErr[ 0 ],
+                                            lonLatErr[ 1 ] ) ]++;
+                    maxError = Math.max( maxError, lonLatErr[ 2 ] );
+                    nref++;
+                }
+                if ( ++irow % 100000 == 0 && nrow > 0 ) {
+                    indicator.setLevel( 0.5 * irow / nrow );
+                }
+            }
+        }
+        if ( nrow < 0 ) {
+            nrow = irow;
+        }
+        else if ( nrow != irow ) {
+            throw new IOException( "Row count mismatch: " + irow
+                                 + " != " + nrow );
+        }
+        if ( nref > Integer.MAX_VALUE ) {
+            throw new IOException( "Too many rows to index (" + nref + ")" );
+        }
+        long npix = 0;
+        for ( int count : counts ) {
+            if ( count > 0 ) {
+                npix++;
+            }
+        }
+
+        /* Lay out the file. */
+        byte[] idBytes = getEngineId( engine )
+                        .getBytes( StandardCharsets.UTF_8 );
+        long pixOff = HEADER_BYTES + ( ( idBytes.length + 7 ) / 8 ) * 8;
+        long startOff = pixOff + 8 * npix;
+        long rowOff = startOff + 8 * ( npix + 1 );
+        long leng = rowOff + 8 * nref;
+        try ( RandomAccessFile raf = new RandomAccessFile( file, "rw" );
+              FileChannel chan = raf.getChannel() ) {
+            raf.setLength( 0 );
+            raf.setLength( leng );
+            ByteBuffer hdr = ByteBuffer.allocate( (int) pixOff );
+            hdr.putLong( MAGIC );
+            hdr.putInt( order );
+            hdr.putInt( idBytes.length );
+            hdr.putLong( nrow );
+            hdr.putLong( nref );
+            hdr.putLong( npix );
+            hdr.putDouble( maxError );
+            hdr.put( idBytes );
+            hdr.rewind();
+            while ( hdr.hasRemaining() ) {
+                chan.write( hdr, hdr.position() );
+            }
+
+            /* Write pixel and start arrays, and convert the counts
+             * to running positions in the rows array. */
+            LongArray pixels =
+                LongArray.map( chan, FileChannel.MapMode.READ_WRITE,
+                               pixOff, npix );
+            LongArray starts =
+                LongArray.map( chan, FileChannel.MapMode.READ_WRITE,
+                               startOff, npix + 1 );
+            long ip = 0;
+            int pos = 0;
+            for ( int ipix = 0; ipix < npixTotal; ipix++ ) {
+                int count = counts[ ipix ];
+                if ( count > 0 ) {
+                    pixels.put( ip, ipix );
+                    starts.put( ip, pos );
+                    ip++;
+                }
+                counts[ ipix ] = pos;
+                pos += count;
+            }
+            assert ip == npix;
+            starts.put( npix, pos );
+
+            /* Second pass: write row indices into position. */
+            LongArray rows =
+                LongArray.map( chan, FileChannel.MapMode.READ_WRITE,
+                               rowOff, nref );
+            irow = 0;
+            try ( RowSequence rseq = tupleTable.getRowSequence() ) {
+                while ( rseq.next() ) {
+                    if ( decoder.decodeTuple( rseq.getRow(), lonLatErr ) ) {
+                        int ipix = (int) hpx.hash( lonLatErr[ 0 ],
+                                                   lonLatErr[ 1 ] );
+                        rows.put( counts[ ipix ]++, irow );
+                    }
+                    if ( ++irow % 100000 == 0 && nrow > 0 ) {
+                        indicator.setLevel( 0.5 + 0.5 * irow / nrow );
+                    }
+                }
+            }
+            pixels.force();
+            starts.force();
+            rows.force();
+        }
+        finally {
+            indicator.endStage();
+        }
+        indicator.logMessage( "Indexed " + nref + "/" + nrow + " rows in "
+                            + npix + " pixels at HEALPix order " + order );
+    }
+
+    /**
+     * Reads an index from a file written by {@link #writeIndex}.
+     * The file is mapped, not read into memory.
+     *
+     * @param  file  index file
+     * @return  index
+     */
+    public static SkyMatchIndex readIndex( File file ) throws IOException {
+        try ( RandomAccessFile raf = new RandomAccessFile( file, "r" );
+              FileChannel chan = raf.getChannel() ) {
+            ByteBuffer hdr = ByteBuffer.allocate( HEADER_BYTES );
+            while ( hdr.hasRemaining() ) {
+                if ( chan.read( hdr, hdr.position() ) < 0 ) {
+                    throw new IOException( "Not a sky index file: " + file );
+                }
+            }
+            hdr.rewind();
+            if ( hdr.getLong() != MAGIC ) {
+                throw new IOException( "Not a sky index file: " + file );
+            }
+            int order = hdr.getInt();
+            int nid = hdr.getInt();
+            long nrow = hdr.getLong();
+            long nref = hdr.getLong();
+            long npix = hdr.getLong();
+            double maxError = hdr.getDouble();
+            if ( order < 0 || order > MAX_ORDER || nid < 0 || nid > 1024 ||
+                 nref < 0 || npix < 0 || npix > ( 12L << ( 2 * order ) ) ) {
+                throw new IOException( "Bad sky index header: " + file );
+            }
+            ByteBuffer idBuf = ByteBuffer.allocate( nid );
+            while ( idBuf.hasRemaining() ) {
+                if ( chan.read( idBuf, HEADER_BYTES + idBuf.position() )
+                     < 0 ) {
+                    throw new IOException( "Sky index truncated: " + file );
+                }
+            }
+            String engineId = new String( idBuf.array(),
+                                          StandardCharsets.UTF_8 );
+            long pixOff = HEADER_BYTES + ( ( nid + 7 ) / 8 ) * 8;
+            long startOff = pixOff + 8 * npix;
+            long rowOff = startOff + 8 * ( npix + 1 );
+            if ( rowOff + 8 * nref != chan.size() ) {
+                throw new IOException( "Sky index wrong length: " + file );
+            }
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            return new SkyMatchIndex( file, order, nrow, nref, maxError,
+                                      engineId,
+                                      LongArray.map( chan, mode, pixOff,
+                                                     npix ),
+                                      LongArray.map( chan, mode, startOff,
+                                                     npix + 1 ),
+                                      LongArray.map( chan, mode, rowOff,
+                                                     nref ) );
+        }
+    }
+
+    /**
+     * Returns the tuple decoder for a given engine.
+     *
+     * @param  engine  match engine
+     * @return  decoder, or null if indices are not supported
+     */
+    static TupleDecoder getDecoder( MatchEngine engine ) {
+        return engine instanceof AbstractSkyMatchEngine
+             ? ((AbstractSkyMatchEngine) engine).createIndexDecoder()
+             : null;
+    }
+
+    /**
+     * Returns a string identifying the way that a match engine
+     * interprets its tuples.
+     *
+     * @param  engine  match engine
+     * @return  identifier
+     */
+    private static String getEngineId( MatchEngine engine ) {
+        return engine.getClass().getName();
+    }
+
+    /**
+     * Extracts positional information from tuples for use with an index.
+     */
+    interface TupleDecoder {
+
+        /**
+         * Extracts sky position and error radius from a tuple.
+         * This method must be thread-safe.
+         *
+         * @param  tuple  tuple
+         * @param  lonLatErr  3-element array into which longitude and
+         *                    latitude in radians, and error radius in
+         *                    radians (zero if not applicable)
+         *                    are written on success
+         * @return  true iff the tuple represents a legal sky position
+         */
+        boolean decodeTuple( Object[] tuple, double[] lonLatErr );
+
+        /**
+         * Returns an upper bound for the separation of two tuples
+         * that can count as a match, given their error radii.
+         * This must be a non-decreasing function of both arguments.
+         *
+         * @param  err1  error radius of first tuple in radians
+         * @param  err2  error radius of second tuple in radians
+         * @return  maximum matching separation in radians
+         */
+        double getMaxSeparation( double err1, double err2 );
+
+        /**
+         * Returns a radius associated with a tuple such that any two
+         * matching tuples are separated by no more than the sum of
+         * their radii.
+         *
+         * @param  err  error radius of tuple in radians
+         * @return  match radius in radians
+         */
+        double getMatchRadius( double err );
+    }
+
+    /**
+     * MatchKit which returns index pixels as bins.
+     */
+    private static class IndexMatchKit implements MatchKit {
+
+        private final MatchKit baseKit_;
+        private final TupleDecoder decoder_;
+        private final HealpixNested hpx_;
+        private final double maxError_;
+        private final double[] lonLatErr_;
+
+        /**
+         * Constructor.
+         *
+         * @param  baseKit  engine match kit
+         * @param  decoder  tuple decoder
+         * @param  hpx   HEALPix scheme at index order
+         * @param  maxError  maximum error radius of indexed rows
+         */
+        IndexMatchKit( MatchKit baseKit, TupleDecoder decoder,
+                       HealpixNested hpx, double maxError ) {
+            baseKit_ = baseKit;
+            decoder_ = decoder;
+            hpx_ = hpx;
+            maxError_ = maxError;
+            lonLatErr_ = new double[ 3 ];
+        }
+
+        public Object[] getBins( Object[] tuple ) {
+            if ( ! decoder_.decodeTuple( tuple, lonLatErr_ ) ) {
+                return NO_BINS;
+            }
+            double lon = lonLatErr_[ 0 ];
+            double lat = lonLatErr_[ 1 ];
+            double radius =
+                decoder_.getMaxSeparation( lonLatErr_[ 2 ], maxError_ );
+            if ( ! ( radius > 0 ) ) {
+                return new Long[] { Long.valueOf( hpx_.hash( lon, lat ) ) };
+            }
+            HealpixNestedBMOC bmoc = hpx_.newConeComputerApprox( radius )
+                                         .overlappingCells( lon, lat );
+            int npix = Tables.checkedLongToInt( bmoc.computeDeepSize() );
+            Long[] pixels = new Long[ npix ];
+            FlatHashIterator flit = bmoc.flatHashIterator();
+            for ( int ipix = 0; ipix < npix; ipix++ ) {
+                pixels[ ipix ] = Long.valueOf( flit.next() );
+            }
+            return pixels;
+        }
+
+        public double matchScore( Object[] tuple1, Object[] tuple2 ) {
+            return baseKit_.matchScore( tuple1, tuple2 );
+        }
+    }
+
+    /**
+     * Read-only LongBinner view of this index.
+     */
+    private class IndexBinner implements LongBinner {
+
+        public void addItem( Object key, long item ) {
+            throw new UnsupportedOperationException();
+        }
+
+        public long[] getLongs( Object key ) {
+            return key instanceof Long ? getRows( ((Long) key).longValue() )
+                                       : null;
+        }
+
+        public Iterator<Long> getKeyIterator() {
+            return new Iterator<Long>() {
+                long ip_;
+                public boolean hasNext() {
+                    return ip_ < npix_;
+                }
+                public Long next() {
+                    if ( ip_ < npix_ ) {
+                        return Long.valueOf( pixels_.get( ip_++ ) );
+                    }
+                    else {
+                        throw new NoSuchElementException();
+                    }
+                }
+            };
+        }
+
+        public long getBinCount() {
+            return npix_;
+        }
+
+        public LongBinner combine( LongBinner other ) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Array of long values mapped from a file,
+     * not subject to the 2Gbyte limit of a single buffer.
+     */
+    private static class LongArray {
+
+        private final long size_;
+        private final MappedByteBuffer[] maps_;
+        private final LongBuffer[] bufs_;
+
+        private static final int BLOCK_SHIFT = 27;
+        private static final long BLOCK_MASK = ( 1L << BLOCK_SHIFT ) - 1;
+
+        /**
+         * Constructor.
+         *
+         * @param  size  element count
+         * @param  maps  mapped buffers each containing 2^BLOCK_SHIFT
+         *               elements apart from the last
+         */
+        LongArray( long size, MappedByteBuffer[] maps ) {
+            size_ = size;
+            maps_ = maps;
+            bufs_ = new LongBuffer[ maps.length ];
+            for ( int ib = 0; ib < maps.length; ib++ ) {
+                bufs_[ ib ] = maps[ ib ].asLongBuffer();
+            }
+        }
+
+        /**
+         * Returns an element.
+         *
+         * @param  i  index
+         * @return   value
+         */
+        long get( long i ) {
+            return bufs_[ (int) ( i >>> BLOCK_SHIFT ) ]
+                  .get( (int) ( i & BLOCK_MASK ) );
+        }
+
+        /**
+         * Sets an element.
+         *
+         * @param  i  index
+         * @param  value  value
+         */
+        void put( long i, long value ) {
+            bufs_[ (int) ( i >>> BLOCK_SHIFT ) ]
+                 .put( (int) ( i & BLOCK_MASK ), value );
+        }
+
+        /**
+         * Forces any changes to be written to the file.
+         */
+        void force() {
+            for ( MappedByteBuffer map : maps_ ) {
+                map.force();
+            }
+        }
+
+        /**
+         * Maps a region of a file as a long array.
+         *
+         * @param  chan  file channel
+         * @param  mode  map mode
+         * @param  offset   offset in bytes of start of region
+         * @param  size   number of elements
+         * @return  new array
+         */
+        static LongArray map( FileChannel chan, FileChannel.MapMode mode,
+                              long offset, long size ) throws IOException {
+            long blockSize = 1L << BLOCK_SHIFT;
+            int nbuf = (int) ( ( size + blockSize - 1 ) >>> BLOCK_SHIFT );
+            MappedByteBuffer[] maps = new MappedByteBuffer[ nbuf ];
+            for ( int ib = 0; ib < nbuf; ib++ ) {
+                long start = ib * blockSize;
+                long n = Math.min( blockSize, size - start );
+                maps[ ib ] = chan.map( mode, offset + 8 * start, 8 * n );
+            }
+            return new LongArray( size, maps );
+        }
+    }
+}
@@ -23,6 +23,69 @@ public class BinnerTest extends TestCase {
         }
     }
 
+    public void testLongKeys() {
+        for ( boolean isInt : new boolean[] { true, false } ) {
+            LongBinner b1 = Binners.createLongBinner( isInt );
+            LongBinner b2 = Binners.createLongBinner( isInt );
+            int nkey = 5000;
+            for ( int ik = 0; ik < nkey; ik++ ) {
+                Long key = Long.valueOf( ik * 1000003L );
+                for ( int j = 0; j < ik % 4; j++ ) {
+                    ( j % 2 == 0 ? b1 : b2 ).addItem( key, ik + j );
+                }
+            }
+            b1.addItem( "S", 23 );
+            b2.addItem( "S", 24 );
+            LongBinner binner = b1.combine( b2 );
+            assertEquals( nkey * 3 / 4 + 1, binner.getBinCount() );
+            assertArrayEquals( new long[] { 23, 24 },
+                               sorted( binner.getLongs( "S" ) ) );
+            for ( int ik = 0; ik < nkey; ik++ ) {
+                long[] items = binner.getLongs( Long.valueOf( ik * 1000003L ) );
+                if ( ik % 4 == 0 ) {
+                    assertNull( items );
+                }
+                else {
+                    long[] expected = new long[ ik % 4 ];
+                    for ( int j = 0; j < expected.length; j++ ) {
+                        expected[ j ] = ik + j;
+                    }
+                    assertArrayEquals( expected, sorted( items ) );
+                }
+            }
+            assertArrayEquals( new long[] { 5, 23, 24 },
+                Binners.getDistinctItems( binner, new Object[] {
+                    Long.valueOf( 5 * 1000003L ), "S", "X",
+                    Long.valueOf( 5 * 1000003L ), Long.valueOf( -1 ),
+                } ) );
+
+            int nb = 0;
+            for ( Iterator<?> it = binner.getKeyIterator(); it.hasNext(); ) {
+                Object key = it.next();
+                if ( key instanceof Long &&
+                     ((Long) key).longValue() % 2 == 0 ) {
+                    it.remove();
+                }
+                else {
+                    nb++;
+                }
+            }
+            assertEquals( nb, binner.getBinCount() );
+            assertNull( binner.getLongs( Long.valueOf( 2 * 1000003L ) ) );
+            assertArrayEquals( new long[] { 3, 4, 5 },
+                sorted( binner.getLongs( Long.valueOf( 3 * 1000003L ) ) ) );
+            binner.addItem( Long.valueOf( 2 * 1000003L ), 99 );
+            assertArrayEquals( new long[] { 99 },
+                               binner.getLongs( Long.valueOf( 2 * 1000003L ) ));
+        }
+    }
+
+    private static long[] sorted( long[] array ) {
+        long[] copy = array.clone();
+        Arrays.sort( copy );
+        return copy;
+    }
+
     private void exerciseLongBinner( LongBinner binner, int count ) {
         String[] keys = new String[] { "A", "B", };
         long[] a1 = new long[ count * 2 ];
@@ -0,0 +1,180 @@
+package uk.ac.starlink.table.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.RowRunner;
+import uk.ac.starlink.util.SplitPolicy;
+
+public class LinkAgglomeratorTest extends TestCase {
+
+    private static final long[] NROWS = { 2000, 1500, 3000 };
+
+    public LinkAgglomeratorTest( String name ) {
+        super( name );
+    }
+
+    public void testAgglomerate() throws Exception {
+        Random rnd = new Random( 230977 );
+        LinkSet links = new HashSetLinkSet();
+        for ( int i = 0; i < 2500; i++ ) {
+            links.addLink( new RowLink2( randomRef( rnd ),
+                                         randomRef( rnd ) ) );
+        }
+        for ( int i = 0; i < 50; i++ ) {
+            List<RowRef> refs = new ArrayList<>();
+            for ( int j = 0; j < 4; j++ ) {
+                refs.add( randomRef( rnd ) );
+            }
+            links.addLink( RowLink.createLink( refs ) );
+            links.addLink( new RowLink1( randomRef( rnd ) ) );
+        }
+        Predicate<RowLink> filter =
+            link -> link.size() > 2 || link.getRef( 0 ).getTableIndex() == 1;
+        SplitPolicy[] policies = {
+            null,
+            RowRunner.DEFAULT.getSplitProcessor().getSplitPolicy(),
+            RowRunner.PARTEST.getSplitProcessor().getSplitPolicy(),
+        };
+        for ( SplitPolicy policy : policies ) {
+            LinkAgglomerator agglomerator =
+                new LinkAgglomerator( NROWS, policy,
+                                      new NullProgressIndicator() );
+            for ( boolean oneRef : new boolean[] { false, true } ) {
+                for ( boolean[] singles :
+                      new boolean[][] { null, { true, false, true } } ) {
+                    for ( Predicate<RowLink> filt :
+                          Arrays.asList( null, filter ) ) {
+                        Set<RowLink> expected =
+                            agglomerateWalk( links, oneRef, singles, filt );
+                        Set<RowLink> actual =
+                            toSet( agglomerator
+                                  .agglomerate( links, oneRef, singles, filt,
+                                                new HashSetLinkSet() ) );
+                        assertEquals( expected, actual );
+                        if ( filt == null ) {
+                            assertTrue( expected.size() > 500 );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void testSupported() {
+        assertTrue( LinkAgglomerator.isSupported( NROWS ) );
+        assertFalse( LinkAgglomerator.isSupported( new long[] { 10, -1 } ) );
+        assertFalse( LinkAgglomerator
+                    .isSupported( new long[] { Integer.MAX_VALUE, 1000 } ) );
+    }
+
+    private static RowRef randomRef( Random rnd ) {
+        int itab = rnd.nextInt( NROWS.length );
+        return new RowRef( itab, rnd.nextInt( (int) NROWS[ itab ] ) );
+    }
+
+    private static Set<RowLink> toSet( LinkSet links ) {
+        Set<RowLink> set = new HashSet<>();
+        for ( RowLink link : links ) {
+            assertTrue( set.add( link ) );
+        }
+        return set;
+    }
+
+    /**
+     * Reference implementation which walks the graph of links sharing
+     * rows, as RowMatcher does without an agglomerator.
+     */
+    private static Set<RowLink> agglomerateWalk( LinkSet links,
+                                                 boolean oneRef,
+                                                 boolean[] singles,
+                                                 Predicate<RowLink> filter ) {
+        List<RowLink> inLinks = new ArrayList<>();
+        for ( RowLink link : links ) {
+            RowLink link1 = oneRef ? eliminateInternal( link ) : link;
+            if ( link1 != null ) {
+                inLinks.add( link1 );
+            }
+        }
+        Map<RowRef,List<RowLink>> refMap = new HashMap<>();
+        for ( RowLink link : inLinks ) {
+            for ( int i = 0; i < link.size(); i++ ) {
+                refMap.computeIfAbsent( link.getRef( i ),
+                                        r -> new ArrayList<RowLink>() )
+                      .add( link );
+            }
+        }
+        Set<RowRef> done = new HashSet<>();
+        Set<RowLink> groups = new HashSet<>();
+        for ( RowRef ref0 : refMap.keySet() ) {
+            if ( done.add( ref0 ) ) {
+                Set<RowRef> group = new TreeSet<>();
+                LinkedList<RowRef> queue = new LinkedList<>();
+                queue.add( ref0 );
+                group.add( ref0 );
+                while ( ! queue.isEmpty() ) {
+                    for ( RowLink link : refMap.get( queue.removeFirst() ) ) {
+                        for ( int i = 0; i < link.size(); i++ ) {
+                            RowRef ref = link.getRef( i );
+                            if ( group.add( ref ) ) {
+                                done.add( ref );
+                                queue.add( ref );
+                            }
+                        }
+                    }
+                }
+                RowLink glink = RowLink.createLink( group );
+                if ( oneRef ) {
+                    glink = eliminateInternal( glink );
+                }
+                if ( glink != null ) {
+                    groups.add( glink );
+                }
+            }
+        }
+        if ( singles != null ) {
+            Set<RowRef> present = new HashSet<>();
+            for ( RowLink link : groups ) {
+                for ( int i = 0; i < link.size(); i++ ) {
+                    present.add( link.getRef( i ) );
+                }
+            }
+            for ( int it = 0; it < NROWS.length; it++ ) {
+                if ( singles[ it ] ) {
+                    for ( int ir = 0; ir < NROWS[ it ]; ir++ ) {
+                        RowRef ref = new RowRef( it, ir );
+                        if ( ! present.contains( ref ) ) {
+                            groups.add( new RowLink1( ref ) );
+                        }
+                    }
+                }
+            }
+        }
+        if ( filter != null ) {
+            groups.removeIf( filter.negate() );
+        }
+        return groups;
+    }
+
+    private static RowLink eliminateInternal( RowLink link ) {
+        if ( link.size() < 2 ) {
+            return link;
+        }
+        Map<Integer,RowRef> refs = new HashMap<>();
+        for ( int i = 0; i < link.size(); i++ ) {
+            RowRef ref = link.getRef( i );
+            refs.putIfAbsent( ref.getTableIndex(), ref );
+        }
+        return refs.size() > 1 ? RowLink.createLink( refs.values() )
+                               : null;
+    }
+}
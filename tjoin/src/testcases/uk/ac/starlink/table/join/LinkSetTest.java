@@ -0,0 +1,111 @@
+package uk.ac.starlink.table.join;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.StarTable;
+
+public class LinkSetTest extends TestCase {
+
+    public LinkSetTest( String name ) {
+        super( name );
+    }
+
+    public void testPairLinkSet() {
+        Random rnd = new Random( 2300811L );
+        LinkSet pset = new PairLinkSet( 1, 3 );
+        LinkSet hset = new HashSetLinkSet();
+        for ( int i = 0; i < 20000; i++ ) {
+            RowLink link = createLink( rnd );
+            if ( link instanceof RowLink2 ) {
+                ((RowLink2) link).setScore( i );
+            }
+            if ( rnd.nextInt( 5 ) == 0 ) {
+                assertEquals( hset.removeLink( link ), pset.removeLink( link ));
+            }
+            else {
+                hset.removeLink( link );
+                hset.addLink( link );
+                pset.addLink( link );
+            }
+            assertEquals( hset.size(), pset.size() );
+        }
+        for ( Iterator<RowLink> it = pset.iterator(); it.hasNext(); ) {
+            RowLink link = it.next();
+            assertTrue( hset.containsLink( link ) );
+            if ( link.getRef( 0 ).getRowIndex() % 3 == 0 ) {
+                it.remove();
+                hset.removeLink( link );
+                assertFalse( pset.containsLink( link ) );
+            }
+        }
+        assertEquals( hset.size(), pset.size() );
+
+        List<RowLink> hlist = new ArrayList<>( hset.toSorted() );
+        List<RowLink> plist = new ArrayList<>( pset.toSorted() );
+        assertEquals( hlist, plist );
+        for ( int i = 0; i < hlist.size(); i++ ) {
+            RowLink hlink = hlist.get( i );
+            if ( hlink instanceof RowLink2 ) {
+                assertEquals( ((RowLink2) hlink).getScore(),
+                              ((RowLink2) plist.get( i )).getScore() );
+            }
+        }
+        for ( RowLink link : hlist ) {
+            assertTrue( pset.containsLink( link ) );
+        }
+    }
+
+    public void testEliminateMultipleRowEntries() throws Exception {
+        Random rnd = new Random( 4422901L );
+        RowMatcher matcher =
+            RowMatcher.createMatcher( new EqualsMatchEngine(),
+                                      new StarTable[ 2 ], null );
+        for ( int npair : new int[] { 0, 1, 30, 5000 } ) {
+            LinkSet pset = new PairLinkSet( 0, 1 );
+            LinkSet hset = new HashSetLinkSet();
+            for ( int i = 0; i < npair; i++ ) {
+                RowLink2 link =
+                    new RowLink2( new RowRef( 0, rnd.nextInt( 800 ) ),
+                                  new RowRef( 1, rnd.nextInt( 1000 ) ) );
+
+                /* Include tied scores. */
+                link.setScore( rnd.nextInt( 50 ) * 0.25 );
+                pset.addLink( link );
+                hset.removeLink( link );
+                hset.addLink( link );
+            }
+            LinkSet pbest = matcher.eliminateMultipleRowEntries( pset );
+            LinkSet hbest = matcher.eliminateMultipleRowEntries( hset );
+            assertTrue( pbest instanceof PairLinkSet );
+            assertFalse( hbest instanceof PairLinkSet );
+            List<RowLink> plist = new ArrayList<>( pbest.toSorted() );
+            List<RowLink> hlist = new ArrayList<>( hbest.toSorted() );
+            assertEquals( hlist, plist );
+            for ( int i = 0; i < hlist.size(); i++ ) {
+                assertEquals( ((RowLink2) hlist.get( i )).getScore(),
+                              ((RowLink2) plist.get( i )).getScore() );
+            }
+            if ( npair > 1000 ) {
+                assertTrue( hlist.size() > 400 );
+                assertTrue( hlist.size() < npair );
+            }
+        }
+    }
+
+    private static RowLink createLink( Random rnd ) {
+        RowRef ref1 = new RowRef( 1, rnd.nextInt( 200 ) );
+        switch ( rnd.nextInt( 10 ) ) {
+            case 0:
+                return new RowLink1( ref1 );
+            case 1:
+                return new RowLink2( ref1,
+                                     new RowRef( 2, rnd.nextInt( 200 ) ) );
+            default:
+                return new RowLink2( ref1,
+                                     new RowRef( 3, rnd.nextInt( 200 ) ) );
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package uk.ac.starlink.table.join;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.PrimitiveArrayColumn;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+
+public class PartitionedSkyMatcherTest extends TestCase {
+
+    private static final double ARCSEC = Math.PI / 180 / 3600;
+
+    public PartitionedSkyMatcherTest( String name ) {
+        super( name );
+    }
+
+    public void testFixed() throws Exception {
+        Random rnd = new Random( 90210 );
+        StarTable t1 = createTable( rnd, 3000, false );
+        StarTable t2 = createTable( rnd, 4000, false );
+        MatchEngine engine =
+            new FixedSkyMatchEngine( new CdsHealpixSkyPixellator(),
+                                     300 * ARCSEC );
+        checkMatches( engine, t1, t2, StoragePolicy.PREFER_DISK );
+        checkMatches( engine, t2, t1, StoragePolicy.PREFER_MEMORY );
+    }
+
+    public void testErrors() throws Exception {
+        Random rnd = new Random( 1123 );
+        StarTable t1 = createTable( rnd, 2500, true );
+        StarTable t2 = createTable( rnd, 3500, true );
+        for ( ErrorSummation errSum : ErrorSummation.values() ) {
+            MatchEngine engine =
+                new ErrorSkyMatchEngine( new CdsHealpixSkyPixellator(),
+                                         errSum, 300 * ARCSEC );
+            checkMatches( engine, t1, t2, StoragePolicy.PREFER_MEMORY );
+        }
+    }
+
+    public void testOversizeLeaf() throws Exception {
+        StarTable[] tables = new StarTable[ 2 ];
+        for ( int it = 0; it < 2; it++ ) {
+            int nrow = 800;
+            double[] ras = new double[ nrow ];
+            double[] decs = new double[ nrow ];
+            for ( int i = 0; i < nrow; i++ ) {
+                ras[ i ] = 0.1 + 1e-6 * i;
+                decs[ i ] = 0.2;
+            }
+            ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+            table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                                 new ColumnInfo( "ra", Double.class, null ),
+                                 ras ) );
+            table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                                 new ColumnInfo( "dec", Double.class, null ),
+                                 decs ) );
+            tables[ it ] = table;
+        }
+        MatchEngine engine =
+            new FixedSkyMatchEngine( new CdsHealpixSkyPixellator(),
+                                     300 * ARCSEC );
+
+        /* A dense cluster which can't be split far exceeds the budget. */
+        PartitionedSkyMatcher matcher =
+            new PartitionedSkyMatcher( engine, tables,
+                                       StoragePolicy.PREFER_MEMORY, 1000, 1 );
+        try {
+            matcher.findPairMatches( PairMode.ALL );
+            fail();
+        }
+        catch ( IOException e ) {
+            assertTrue( e.getMessage().indexOf( "can't be split" ) >= 0 );
+        }
+    }
+
+    public void testUnsupported() {
+        MatchEngine engine = new EqualsMatchEngine();
+        assertFalse( PartitionedSkyMatcher.isSupported( engine ) );
+        try {
+            new PartitionedSkyMatcher( engine, new StarTable[ 2 ],
+                                       StoragePolicy.PREFER_MEMORY,
+                                       1000000, 1 );
+            fail();
+        }
+        catch ( IllegalArgumentException e ) {
+        }
+    }
+
+    private static void checkMatches( MatchEngine engine, StarTable t1,
+                                      StarTable t2, StoragePolicy storage )
+            throws Exception {
+        StarTable[] tables = new StarTable[] { t1, t2 };
+        assertTrue( PartitionedSkyMatcher.isSupported( engine ) );
+        for ( PairMode mode : PairMode.values() ) {
+            Set<String> expected =
+                toStrings( RowMatcher.createMatcher( engine, tables, null )
+                                     .findPairMatches( mode ) );
+            if ( mode == PairMode.ALL ) {
+                assertTrue( expected.size() > 200 );
+            }
+            for ( long budget : new long[] { 100000, 100000000 } ) {
+                PartitionedSkyMatcher matcher =
+                    new PartitionedSkyMatcher( engine, tables, storage,
+                                               budget, 4 );
+                if ( budget < 1000000 ) {
+                    assertTrue( matcher.getMaxLeafRows() < 200 );
+                }
+                assertEquals( expected,
+                              toStrings( matcher.findPairMatches( mode ) ) );
+            }
+        }
+    }
+
+    private static Set<String> toStrings( LinkSet links ) {
+        Set<String> set = new HashSet<>();
+        for ( Iterator<RowLink> it = links.iterator(); it.hasNext(); ) {
+            RowLink2 link = (RowLink2) it.next();
+            StringBuffer sbuf = new StringBuffer();
+            for ( int i = 0; i < link.size(); i++ ) {
+                RowRef ref = link.getRef( i );
+                sbuf.append( ref.getTableIndex() )
+                    .append( ':' )
+                    .append( ref.getRowIndex() )
+                    .append( ' ' );
+            }
+            sbuf.append( link.getScore() );
+            set.add( sbuf.toString() );
+        }
+        return set;
+    }
+
+    private static StarTable createTable( Random rnd, int nrow,
+                                          boolean hasErrors ) {
+        double[] ras = new double[ nrow ];
+        double[] decs = new double[ nrow ];
+        double[] errs = new double[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+
+            /* Include a tight cluster of positions, which cannot
+             * be separated by splitting partitions. */
+            if ( i % 40 == 0 ) {
+                ras[ i ] = 0.1 + 1e-6 * rnd.nextDouble();
+                decs[ i ] = 0.05 + 1e-6 * rnd.nextDouble();
+            }
+            else {
+                ras[ i ] = 0.4 * rnd.nextDouble();
+                decs[ i ] = 0.4 * ( rnd.nextDouble() - 0.5 );
+            }
+            errs[ i ] = rnd.nextDouble() * 200 * ARCSEC;
+        }
+        ras[ nrow / 2 ] = Double.NaN;
+        errs[ nrow / 3 ] = 0;
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                             new ColumnInfo( "ra", Double.class, null ),
+                             ras ) );
+        table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                             new ColumnInfo( "dec", Double.class, null ),
+                             decs ) );
+        if ( hasErrors ) {
+            table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                                 new ColumnInfo( "err", Double.class, null ),
+                                 errs ) );
+        }
+        return table;
+    }
+}
@@ -0,0 +1,151 @@
+package uk.ac.starlink.table.join;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.PrimitiveArrayColumn;
+import uk.ac.starlink.table.RowRunner;
+import uk.ac.starlink.table.StarTable;
+
+public class SkyMatchIndexTest extends TestCase {
+
+    private static final double ARCSEC = Math.PI / 180 / 3600;
+
+    public SkyMatchIndexTest( String name ) {
+        super( name );
+    }
+
+    public void testFixed() throws Exception {
+        Random rnd = new Random( 3321 );
+        StarTable ref = createTable( rnd, 20000, false );
+        StarTable in = createTable( rnd, 2000, false );
+        FixedSkyMatchEngine engine =
+            new FixedSkyMatchEngine( new CdsHealpixSkyPixellator(),
+                                     30 * ARCSEC );
+        File file = File.createTempFile( "skyix", ".bin" );
+        file.deleteOnExit();
+        try {
+            SkyMatchIndex.writeIndex( ref, engine, 7, file,
+                                      new NullProgressIndicator() );
+            SkyMatchIndex index = SkyMatchIndex.readIndex( file );
+            assertEquals( 7, index.getOrder() );
+            assertEquals( ref.getRowCount(), index.getRowCount() );
+            assertEquals( ref.getRowCount() - 1, index.getIndexedCount() );
+            assertEquals( 0.0, index.getMaxError() );
+            assertTrue( index.isCompatible( engine ) );
+            assertFalse( index.isCompatible(
+                new FixedSkyMatchEngine.InDegrees(
+                        new CdsHealpixSkyPixellator(), 1.0 ) ) );
+            long nrow = 0;
+            for ( Iterator<?> it = index.createBinner().getKeyIterator();
+                  it.hasNext(); ) {
+                nrow += index.getRows( ((Long) it.next()).longValue() )
+                       .length;
+            }
+            assertEquals( index.getIndexedCount(), nrow );
+
+            for ( PairMode mode : PairMode.values() ) {
+                checkMatches( engine, in, ref, index, mode );
+            }
+
+            /* The index doesn't depend on the match radius. */
+            engine.setSeparation( 200 * ARCSEC );
+            checkMatches( engine, in, ref, index, PairMode.ALL );
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    public void testErrors() throws Exception {
+        Random rnd = new Random( 55012 );
+        StarTable ref = createTable( rnd, 15000, true );
+        StarTable in = createTable( rnd, 1500, true );
+        ErrorSkyMatchEngine engine =
+            new ErrorSkyMatchEngine( new CdsHealpixSkyPixellator(),
+                                     ErrorSummation.QUADRATURE, 20 * ARCSEC );
+        File file = File.createTempFile( "skyix", ".bin" );
+        file.deleteOnExit();
+        try {
+            SkyMatchIndex
+           .writeIndex( ref, engine, SkyMatchIndex.getDefaultOrder( 15000 ),
+                        file, new NullProgressIndicator() );
+            SkyMatchIndex index = SkyMatchIndex.readIndex( file );
+            assertTrue( index.getMaxError() > 0 );
+            checkMatches( engine, in, ref, index, PairMode.ALL );
+            checkMatches( engine, in, ref, index, PairMode.BEST1 );
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    private static void checkMatches( MatchEngine engine, StarTable in,
+                                      StarTable ref, SkyMatchIndex index,
+                                      PairMode mode )
+            throws Exception {
+        StarTable[] tables = new StarTable[] { in, ref };
+        for ( RowRunner runner :
+              new RowRunner[] { null, RowRunner.DEFAULT } ) {
+            RowMatcher plain =
+                RowMatcher.createMatcher( engine, tables, runner );
+            RowMatcher indexed =
+                RowMatcher.createMatcher( engine, tables, runner );
+            indexed.setMatchIndex( 1, index );
+            Set<String> expected = toStrings( plain.findPairMatches( mode ) );
+            Set<String> actual = toStrings( indexed.findPairMatches( mode ) );
+            assertEquals( expected, actual );
+            if ( mode == PairMode.ALL ) {
+                assertTrue( expected.size() > 10 );
+            }
+        }
+    }
+
+    private static Set<String> toStrings( LinkSet links ) {
+        Set<String> set = new HashSet<>();
+        for ( Iterator<RowLink> it = links.iterator(); it.hasNext(); ) {
+            RowLink link = it.next();
+            StringBuffer sbuf = new StringBuffer();
+            for ( int i = 0; i < link.size(); i++ ) {
+                RowRef ref = link.getRef( i );
+                sbuf.append( ref.getTableIndex() )
+                    .append( ':' )
+                    .append( ref.getRowIndex() )
+                    .append( ' ' );
+            }
+            set.add( sbuf.toString() );
+        }
+        return set;
+    }
+
+    private static StarTable createTable( Random rnd, int nrow,
+                                          boolean hasErrors ) {
+        double[] ras = new double[ nrow ];
+        double[] decs = new double[ nrow ];
+        double[] errs = new double[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ras[ i ] = 0.05 * ( rnd.nextDouble() - 0.5 );
+            decs[ i ] = 0.05 * ( rnd.nextDouble() - 0.5 );
+            errs[ i ] = rnd.nextDouble() * 15 * ARCSEC;
+        }
+        ras[ nrow / 2 ] = Double.NaN;
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                             new ColumnInfo( "ra", Double.class, null ),
+                             ras ) );
+        table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                             new ColumnInfo( "dec", Double.class, null ),
+                             decs ) );
+        if ( hasErrors ) {
+            table.addColumn( PrimitiveArrayColumn.makePrimitiveColumn(
+                                 new ColumnInfo( "err", Double.class, null ),
+                                 errs ) );
+        }
+        return table;
+    }
+}
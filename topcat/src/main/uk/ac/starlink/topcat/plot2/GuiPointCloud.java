@@ -63,6 +63,18 @@ public class GuiPointCloud {
         return tclouds_;
     }
 
+    /**
+     * Returns the data store supplying the position data.
+     * Unlike the result of {@link #createGuiDataStore}, this is the
+     * same object for clouds based on the same data, so it may be used
+     * as a key for caching information about the data.
+     *
+     * @return  base data store
+     */
+    public DataStore getBaseDataStore() {
+        return baseDataStore_;
+    }
+
     /**
      * Returns a data store that can be used for iterating over
      * this point cloud.
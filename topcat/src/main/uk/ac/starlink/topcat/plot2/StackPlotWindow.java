@@ -17,6 +17,7 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.geom.Rectangle2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
@@ -94,6 +95,7 @@ import uk.ac.starlink.ttools.plot2.PlotMetric;
 import uk.ac.starlink.ttools.plot2.PlotType;
 import uk.ac.starlink.ttools.plot2.PlotUtil;
 import uk.ac.starlink.ttools.plot2.Plotter;
+import uk.ac.starlink.ttools.plot2.PointIndex;
 import uk.ac.starlink.ttools.plot2.ReportKey;
 import uk.ac.starlink.ttools.plot2.ReportMap;
 import uk.ac.starlink.ttools.plot2.ReportMeta;
@@ -1375,7 +1377,9 @@ public class StackPlotWindow<P,A> extends AuxWindow {
             indexMap.put( tcloud.getTopcatModel(), null );
         }
 
-        /* Iterate over each sub point cloud distinct positions. */
+        /* Iterate over each sub point cloud distinct positions.
+         * A spatial index for each cloud is cached against the
+         * base data store, so that repeated picking is fast. */
         for ( int ic = 0; ic < tclouds.length; ic++ ) {
             TableCloud tcloud = tclouds[ ic ];
             DataGeom geom = tcloud.getDataGeom();
@@ -1385,7 +1389,9 @@ public class StackPlotWindow<P,A> extends AuxWindow {
             IndicatedRow indicated =
                 PlotUtil
                .getClosestRow( surface, geom, iPosCoord, tupleSupplier,
-                               dataStore.getTupleRunner(), pos );
+                               dataStore.getTupleRunner(), pos,
+                               pointCloud.getBaseDataStore(),
+                               tcloud.getCloudKey() );
             if ( indicated != null ) {
                 long index = indicated.getIndex();
                 double distance = indicated.getDistance();
@@ -1528,7 +1534,8 @@ public class StackPlotWindow<P,A> extends AuxWindow {
             if ( surface != null ) {
                 GuiPointCloud fullCloud = plotPanel_.createGuiPointCloud( iz );
                 if ( fullCloud.getTableClouds().length > 0 ) {
-                    list.add( new Inclusion( fullCloud ) {
+                    list.add( new Inclusion( fullCloud, surface,
+                                             surface.getPlotBounds() ) {
                         public PositionCriterion createCriterion() {
                             return PositionCriterion
                                   .createBoundsCriterion( surface );
@@ -1539,7 +1546,7 @@ public class StackPlotWindow<P,A> extends AuxWindow {
                     GuiPointCloud partialCloud =
                         plotPanel_.createPartialGuiPointCloud( iz );
                     if ( partialCloud.getTableClouds().length > 0 ) {
-                        list.add( new Inclusion( partialCloud ) {
+                        list.add( new Inclusion( partialCloud, null, null ) {
                             public PositionCriterion createCriterion() {
                                 return PositionCriterion
                                       .createPartialBoundsCriterion( surface );
@@ -1569,7 +1576,8 @@ public class StackPlotWindow<P,A> extends AuxWindow {
             if ( surface != null &&
                  blob.intersects( surface.getPlotBounds() ) ) {
                 inclusions.add( new Inclusion( plotPanel_
-                                              .createGuiPointCloud( iz ) ) {
+                                              .createGuiPointCloud( iz ),
+                                               surface, blob.getBounds2D() ) {
                     public PositionCriterion createCriterion() {
                         return PositionCriterion
                               .createBlobCriterion( surface, blob );
@@ -1603,10 +1611,23 @@ public class StackPlotWindow<P,A> extends AuxWindow {
             TopcatModel tcModel = tcloud.getTopcatModel();
             int nr =
                 Tables.checkedLongToInt( tcModel.getDataModel().getRowCount() );
-            BitSet cloudMask =
-                dataStore.getTupleRunner()
-               .collectPool( new InclusionMasker( tcloud, inclusion, nr ),
-                             () -> tcloud.createTupleSequence( dataStore ) );
+            PointIndex index = inclusion.getIndex( tcloud, dataStore );
+            final BitSet cloudMask;
+            if ( index != null ) {
+                cloudMask = new BitSet( nr );
+                PositionCriterion criterion = inclusion.createCriterion();
+                index.visitPoints( inclusion.dataBounds_, ( irow, dpos ) -> {
+                    if ( criterion.isIncluded( dpos ) ) {
+                        cloudMask.set( Tables.checkedLongToInt( irow ) );
+                    }
+                } );
+            }
+            else {
+                cloudMask =
+                    dataStore.getTupleRunner()
+                   .collectPool( new InclusionMasker( tcloud, inclusion, nr ),
+                                 () -> tcloud.createTupleSequence( dataStore ) );
+            }
             if ( maskMap.containsKey( tcModel ) ) {
                 maskMap.get( tcModel ).or( cloudMask );
             }
@@ -1674,15 +1695,26 @@ public class StackPlotWindow<P,A> extends AuxWindow {
     private static long[] countPoints( Inclusion inclusion,
                                        DataStore dataStore ) {
         TableCloud[] tclouds = inclusion.pointCloud_.getTableClouds();
-        PositionCriterion criterion = inclusion.createCriterion();
         long count = 0;
         long total = 0;
         for ( int ic = 0; ic < tclouds.length; ic++ ) {
             TableCloud tcloud = tclouds[ ic ];
-            long[] acc =
-                dataStore.getTupleRunner()
-               .collect( new InclusionCounter( tcloud, inclusion ),
-                         () -> tcloud.createTupleSequence( dataStore ) );
+            PointIndex index = inclusion.getIndex( tcloud, dataStore );
+            final long[] acc;
+            if ( index != null ) {
+                acc = new long[ 1 ];
+                PositionCriterion criterion = inclusion.createCriterion();
+                index.visitPoints( inclusion.dataBounds_, ( irow, dpos ) -> {
+                    if ( criterion.isIncluded( dpos ) ) {
+                        acc[ 0 ]++;
+                    }
+                } );
+            }
+            else {
+                acc = dataStore.getTupleRunner()
+                     .collect( new InclusionCounter( tcloud, inclusion ),
+                               () -> tcloud.createTupleSequence( dataStore ) );
+            }
             count += acc[ 0 ];
             total += tcloud.getTopcatModel().getDataModel().getRowCount();
         }
@@ -2278,14 +2310,57 @@ public class StackPlotWindow<P,A> extends AuxWindow {
      */
     private static abstract class Inclusion {
         final GuiPointCloud pointCloud_;
+        final double[][] dataBounds_;
 
         /**
-         * Constructor.
+         * Constructor.  If a graphics region is supplied which bounds
+         * all the included points, it may be used to restrict the
+         * search to a small part of the data using a spatial index.
          *
          * @param  pointCloud  set of data points
+         * @param  surface   plot surface, or null
+         * @param  gbox   region in graphics coordinates outside which
+         *                no points are included, or null
          */
-        Inclusion( GuiPointCloud pointCloud ) {
+        Inclusion( GuiPointCloud pointCloud, Surface surface,
+                   Rectangle2D gbox ) {
             pointCloud_ = pointCloud;
+
+            /* Pad the region a little, since inclusion criteria may
+             * quantise graphics positions. */
+            dataBounds_ =
+                  surface == null || gbox == null
+                ? null
+                : PointIndex.getDataBounds( surface,
+                                            new Rectangle2D.Double(
+                                                gbox.getX() - 1,
+                                                gbox.getY() - 1,
+                                                gbox.getWidth() + 2,
+                                                gbox.getHeight() + 2 ) );
+        }
+
+        /**
+         * Returns a spatial index that can be used to find the points
+         * of a given table cloud included by this object, if possible.
+         *
+         * @param  tcloud  table cloud, one of those in this object's
+         *                 point cloud
+         * @param  dataStore  data store for iteration
+         * @return  spatial index covering the cloud's points, or null
+         */
+        @Slow
+        PointIndex getIndex( TableCloud tcloud, DataStore dataStore ) {
+            DataGeom geom = tcloud.getDataGeom();
+            if ( dataBounds_ == null ||
+                 dataBounds_.length != geom.getDataDimCount() ) {
+                return null;
+            }
+            return PointIndex
+                  .getIndex( pointCloud_.getBaseDataStore(),
+                             tcloud.getCloudKey(), geom,
+                             tcloud.getPosCoordIndex(),
+                             () -> tcloud.createTupleSequence( dataStore ),
+                             dataStore.getTupleRunner() );
         }
 
         /**
@@ -114,6 +114,16 @@ public abstract class TableCloud {
      */
     public abstract TupleSequence createTupleSequence( DataStore dataStore );
 
+    /**
+     * Returns an object which identifies the points in this cloud.
+     * Two clouds with equal keys will yield the same positions
+     * from the same data store, so the key may be used for caching
+     * per-cloud information such as a spatial index.
+     *
+     * @return  key object with suitable equality semantics
+     */
+    public abstract Object getCloudKey();
+
     /**
      * Returns a list of TableClouds from a given list of SubClouds.
      * This collects together subclouds corresponding to each set of
@@ -313,6 +323,11 @@ public abstract class TableCloud {
             return dataStore.getTupleSequence( dataSpec_ );
         }
 
+        public Object getCloudKey() {
+            return Arrays.asList( getDataGeom(), dataSpec_,
+                                  Integer.valueOf( getPosCoordIndex() ) );
+        }
+
         public long getReadRowCount() {
             return dataSpec_.getRowCount();
         }
@@ -362,6 +377,11 @@ public abstract class TableCloud {
             return new UnionTupleSequence( dataStore, dataSpecs_, nrow_ );
         }
 
+        public Object getCloudKey() {
+            return Arrays.asList( getDataGeom(), Arrays.asList( dataSpecs_ ),
+                                  Integer.valueOf( iPosCoord0_ ) );
+        }
+
         public long getReadRowCount() {
             long nr = 0;
             for ( int i = 0; i < dataSpecs_.length; i++ ) {
@@ -1,7 +1,7 @@
 package uk.ac.starlink.ttools.calc;
 
 import java.io.IOException;
-import uk.ac.starlink.table.OnceRowPipe;
+import uk.ac.starlink.table.BlockRowPipe;
 import uk.ac.starlink.table.RowPipe;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.TableFormatException;
@@ -12,7 +12,7 @@ import uk.ac.starlink.table.Tables;
  * StarTable.
  *
  * <p>The current implementation simply delegates to a
- * {@link uk.ac.starlink.table.OnceRowPipe} and caches the result before
+ * {@link uk.ac.starlink.table.BlockRowPipe} and caches the result before
  * returning it from <code>waitForStarTable</code>.  This is crude,
  * and means that the output rows don't start to come until all the input
  * rows have been written to the pipe (so there's not much point using a pipe).
@@ -29,7 +29,7 @@ public class CacheRowPipe implements RowPipe {
      * Constructor.
      */
     public CacheRowPipe() {
-        basePipe_ = new OnceRowPipe();
+        basePipe_ = new BlockRowPipe();
     }
 
     public void acceptMetadata( StarTable meta ) throws TableFormatException {
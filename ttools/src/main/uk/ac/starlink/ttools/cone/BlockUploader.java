@@ -1,6 +1,15 @@
 package uk.ac.starlink.ttools.cone;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.JoinFixAction;
@@ -18,6 +27,11 @@ import uk.ac.starlink.table.WrapperStarTable;
  * uploading them separately to produce an arbitrarily large result
  * while each upload/match operation is of a limited size.
  *
+ * <p>By default blocks are uploaded one after another.
+ * If the {@link #setParallelism parallelism} is set greater than one,
+ * several blocks may be in flight to the service at once;
+ * the results are still assembled in input order.
+ *
  * @author   Mark Taylor
  * @since    15 May 2014
  */
@@ -33,6 +47,7 @@ public class BlockUploader {
     private final boolean oneToOne_;
     private final boolean uploadEmpty_;
     private String truncationAdvice_;
+    private int parallelism_;
 
     private static final Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.ttools.task" );
@@ -66,6 +81,7 @@ public class BlockUploader {
         serviceMode_ = serviceMode;
         oneToOne_ = oneToOne;
         uploadEmpty_ = uploadEmpty;
+        parallelism_ = 1;
         if ( oneToOne_ && ! serviceMode.supportsOneToOne() ) {
             throw new IllegalArgumentException( "Mode " + serviceMode
                                               + " doesn't support 1:1" );
@@ -114,40 +130,15 @@ public class BlockUploader {
          * Each block takes its input from the next lot of rows from the
          * complete input query sequence, and appends its output to the
          * same single row store. */
-        int nOverflow = 0;
-        long totOut = 0;
-        boolean done = false;
-        int iblock = 0;
-        while ( ! done && ( maxrec_ < 0 || totOut < maxrec_ ) ) {
-            PreviewBlockSequence blockSeq =
-                new PreviewBlockSequence( coneSeq, blocksize_ );
-            boolean isFirst = iblock == 0;
-            boolean hasNext = blockSeq.hasNext();
-            if ( isFirst && ! hasNext && ! uploadEmpty_ ) {
-                throw new IOException( "No candidate rows for upload match" );
-            }
-            if ( hasNext || isFirst ) {
-                BlockSink blockSink = new BlockSink( rawResultStore, isFirst );
-                long nRemain = maxrec_ >= 0 ? maxrec_ - totOut : -1;
-                boolean over =
-                    umatcher_.streamRawResult( blockSeq, blockSink, rowMapper,
-                                               nRemain );
-                int nIn = blockSeq.getProducedCount();
-                long nOut = blockSink.getCount();
-                nOverflow += over ? 1 : 0;
-                logger_.info( "Match block " + ( iblock + 1 ) + ": "
-                            + nIn + " uploaded, " + nOut + " received"
-                            + ( over ? " (truncated)" : "" ) );
-                if ( over ) {
-                    logger_.warning( "Block " + ( iblock + 1 )
-                                   + " truncated at " + nOut + " rows" );
-                }
-                totOut += nOut;
-                iblock++;
-            }
-            done = ! hasNext;
-        };
-        int nblock = iblock;
+        BlockCounter counter = new BlockCounter( rawResultStore );
+        if ( parallelism_ > 1 ) {
+            uploadConcurrent( coneSeq, counter, rowMapper );
+        }
+        else {
+            uploadSequential( coneSeq, counter, rowMapper );
+        }
+        int nblock = counter.nblock_;
+        int nOverflow = counter.nOverflow_;
         coneSeq.close();
         rawResultStore.endRows();
         if ( nOverflow > 0 ) {
@@ -252,6 +243,184 @@ public class BlockUploader {
         truncationAdvice_ = truncationAdvice;
     }
 
+    /**
+     * Sets the number of blocks that may be uploaded to the service
+     * concurrently.  The default value is 1, which means that each block
+     * is uploaded only when the result of the previous one has been
+     * received.
+     *
+     * <p>If a value greater than 1 is set, the positional queries for
+     * each block are read into memory before upload,
+     * and the query sequence presented to the <code>UploadMatcher</code>
+     * supplies only the positional (RA, Dec, radius and index) values,
+     * not the other cells of the input table.
+     * If a maximum record count is in force, concurrently uploaded blocks
+     * may request more rows than are finally retained,
+     * but the output is the same as for sequential upload.
+     *
+     * @param  parallelism  maximum number of blocks in flight at once
+     */
+    public void setParallelism( int parallelism ) {
+        if ( parallelism <= 0 ) {
+            throw new IllegalArgumentException( "Non-positive parallelism" );
+        }
+        parallelism_ = parallelism;
+    }
+
+    /**
+     * Returns the number of blocks that may be uploaded concurrently.
+     *
+     * @return  parallelism
+     */
+    public int getParallelism() {
+        return parallelism_;
+    }
+
+    /**
+     * Uploads blocks one at a time, streaming each block's queries
+     * directly from the input sequence.
+     *
+     * @param  coneSeq  input query sequence
+     * @param  counter  accumulates block results
+     * @param  rowMapper  row mapper
+     */
+    private void uploadSequential( ConeQueryRowSequence coneSeq,
+                                   BlockCounter counter,
+                                   RowMapper<?> rowMapper )
+            throws IOException {
+        boolean done = false;
+        while ( ! done && ! counter.isFull() ) {
+            PreviewBlockSequence blockSeq =
+                new PreviewBlockSequence( coneSeq, blocksize_ );
+            boolean isFirst = counter.nblock_ == 0;
+            boolean hasNext = blockSeq.hasNext();
+            if ( isFirst && ! hasNext && ! uploadEmpty_ ) {
+                throw new IOException( "No candidate rows for upload match" );
+            }
+            if ( hasNext || isFirst ) {
+                BlockSink blockSink =
+                    new BlockSink( counter.resultSink_, isFirst );
+                boolean over =
+                    umatcher_.streamRawResult( blockSeq, blockSink, rowMapper,
+                                               counter.getRemaining() );
+                counter.blockDone( blockSeq.getProducedCount(),
+                                   blockSink.getCount(), over );
+            }
+            done = ! hasNext;
+        }
+    }
+
+    /**
+     * Uploads blocks with up to the configured parallelism in flight
+     * at once.  Queries are read from the input sequence on the calling
+     * thread, and block results are appended to the output in input order.
+     *
+     * @param  coneSeq  input query sequence
+     * @param  counter  accumulates block results
+     * @param  rowMapper  row mapper
+     */
+    private void uploadConcurrent( ConeQueryRowSequence coneSeq,
+                                   BlockCounter counter,
+                                   final RowMapper<?> rowMapper )
+            throws IOException {
+        ExecutorService executor =
+            Executors.newFixedThreadPool( parallelism_, r -> {
+                Thread thread = new Thread( r, "Block upload" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+        Deque<Future<BlockResult>> pending =
+            new ArrayDeque<Future<BlockResult>>();
+        try {
+            boolean done = false;
+            int nsub = 0;
+            while ( ! done && ! counter.isFull() ) {
+                final QueryBlock qblock =
+                    QueryBlock.readBlock( coneSeq, blocksize_ );
+                boolean isFirst = nsub == 0;
+                boolean hasNext = qblock.nq_ > 0;
+                if ( isFirst && ! hasNext && ! uploadEmpty_ ) {
+                    throw new IOException( "No candidate rows for upload match" );
+                }
+                if ( hasNext || isFirst ) {
+
+                    /* Wait for the oldest block to complete if there are
+                     * already enough in flight. */
+                    while ( pending.size() >= parallelism_ &&
+                            ! counter.isFull() ) {
+                        counter.appendResult( waitForResult( pending
+                                                            .remove() ) );
+                    }
+                    if ( counter.isFull() ) {
+                        break;
+                    }
+                    final long nRemain = counter.getRemaining();
+                    pending.add( executor.submit( () -> {
+                        BlockResult result = new BlockResult();
+                        result.nIn_ = qblock.nq_;
+                        result.over_ =
+                            umatcher_.streamRawResult( qblock.createSequence(),
+                                                       result, rowMapper,
+                                                       nRemain );
+                        return result;
+                    } ) );
+                    nsub++;
+                }
+                done = ! hasNext;
+            }
+            while ( ! pending.isEmpty() && ! counter.isFull() ) {
+                counter.appendResult( waitForResult( pending.remove() ) );
+            }
+
+            /* Any blocks still outstanding are not required once the
+             * maximum record count has been reached.  They are cancelled
+             * below, and do not contribute to the block counts. */
+            if ( ! pending.isEmpty() ) {
+                logger_.info( "Record limit reached; discarding "
+                            + pending.size() + " outstanding block"
+                            + ( pending.size() == 1 ? "" : "s" ) );
+            }
+        }
+        finally {
+            for ( Future<BlockResult> future : pending ) {
+                future.cancel( true );
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a block upload to complete and returns its result.
+     *
+     * @param  future  future representing block upload
+     * @return  block result
+     */
+    private static BlockResult waitForResult( Future<BlockResult> future )
+            throws IOException {
+        try {
+            return future.get();
+        }
+        catch ( InterruptedException e ) {
+            throw (IOException) new IOException( "Interrupted" ).initCause( e );
+        }
+        catch ( ExecutionException e ) {
+            Throwable cause = e.getCause();
+            if ( cause instanceof IOException ) {
+                throw (IOException) cause;
+            }
+            else if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            }
+            else if ( cause instanceof Error ) {
+                throw (Error) cause;
+            }
+            else {
+                throw (IOException) new IOException( cause.getMessage() )
+                                   .initCause( cause );
+            }
+        }
+    }
+
     /**
      * Turns a rowId value into an index into the upload table.
      *
@@ -544,6 +713,236 @@ public class BlockUploader {
         }
     }
 
+    /**
+     * Accumulates the results of block uploads in order,
+     * keeping track of counts and the overall row limit.
+     */
+    private class BlockCounter {
+        final TableSink resultSink_;
+        int nblock_;
+        int nOverflow_;
+        long totOut_;
+
+        /**
+         * Constructor.
+         *
+         * @param  resultSink  destination for raw result rows;
+         *                     endRows is not called
+         */
+        BlockCounter( TableSink resultSink ) {
+            resultSink_ = resultSink;
+        }
+
+        /**
+         * Indicates whether the maximum record count has been reached.
+         *
+         * @return  true iff no more rows are required
+         */
+        boolean isFull() {
+            return maxrec_ >= 0 && totOut_ >= maxrec_;
+        }
+
+        /**
+         * Returns the number of further output rows required.
+         *
+         * @return  remaining row limit, or -1 for no limit
+         */
+        long getRemaining() {
+            return maxrec_ >= 0 ? maxrec_ - totOut_ : -1;
+        }
+
+        /**
+         * Records that a block has been written to the result sink.
+         *
+         * @param  nIn  number of rows uploaded
+         * @param  nOut  number of result rows received
+         * @param  over  true iff the block result was truncated
+         */
+        void blockDone( int nIn, long nOut, boolean over ) {
+            nOverflow_ += over ? 1 : 0;
+            logger_.info( "Match block " + ( nblock_ + 1 ) + ": "
+                        + nIn + " uploaded, " + nOut + " received"
+                        + ( over ? " (truncated)" : "" ) );
+            if ( over ) {
+                logger_.warning( "Block " + ( nblock_ + 1 )
+                               + " truncated at " + nOut + " rows" );
+            }
+            totOut_ += nOut;
+            nblock_++;
+        }
+
+        /**
+         * Appends the buffered result of a block upload to the result sink.
+         * Rows beyond the maximum record count are discarded,
+         * in which case the block counts as truncated.
+         *
+         * @param  result  block result
+         */
+        void appendResult( BlockResult result ) throws IOException {
+            if ( nblock_ == 0 ) {
+                resultSink_.acceptMetadata( result.meta_ );
+            }
+            List<Object[]> rows = result.rows_;
+            int nOut = rows.size();
+            boolean over = result.over_;
+            long nRemain = getRemaining();
+            if ( nRemain >= 0 && nOut > nRemain ) {
+                nOut = (int) nRemain;
+                over = true;
+            }
+            for ( int ir = 0; ir < nOut; ir++ ) {
+                resultSink_.acceptRow( rows.get( ir ) );
+            }
+            blockDone( result.nIn_, nOut, over );
+        }
+    }
+
+    /**
+     * TableSink implementation that buffers the result of a single
+     * block upload in memory.
+     */
+    private static class BlockResult implements TableSink {
+        final List<Object[]> rows_;
+        StarTable meta_;
+        int nIn_;
+        boolean over_;
+
+        /**
+         * Constructor.
+         */
+        BlockResult() {
+            rows_ = new ArrayList<Object[]>();
+        }
+        public void acceptMetadata( StarTable meta ) {
+            meta_ = meta;
+        }
+        public void acceptRow( Object[] row ) {
+            rows_.add( row.clone() );
+        }
+        public void endRows() {
+            // no action
+        }
+    }
+
+    /**
+     * Stores the positional queries for one block of rows in memory,
+     * so that they can be uploaded on a thread other than the one
+     * reading the input sequence.
+     */
+    private static class QueryBlock {
+        private static final String CELL_MSG =
+            "Only positional values available for concurrent block upload";
+        final int nq_;
+        final double[] ras_;
+        final double[] decs_;
+        final double[] radii_;
+        final long[] indices_;
+
+        /**
+         * Constructor.
+         *
+         * @param  nq  number of queries
+         * @param  ras  right ascension array
+         * @param  decs  declination array
+         * @param  radii  search radius array
+         * @param  indices  row index array
+         */
+        QueryBlock( int nq, double[] ras, double[] decs, double[] radii,
+                    long[] indices ) {
+            nq_ = nq;
+            ras_ = ras;
+            decs_ = decs;
+            radii_ = radii;
+            indices_ = indices;
+        }
+
+        /**
+         * Reads the next block of possibly matching queries from
+         * a query sequence.
+         *
+         * @param  coneSeq  input query sequence, not closed
+         * @param  maxrow  maximum number of queries in block
+         * @return  new block, empty if the input is exhausted
+         */
+        static QueryBlock readBlock( ConeQueryRowSequence coneSeq,
+                                     int maxrow ) throws IOException {
+            BlockSequence blockSeq = new BlockSequence( coneSeq, maxrow );
+            int n = Math.min( maxrow, 1024 );
+            double[] ras = new double[ n ];
+            double[] decs = new double[ n ];
+            double[] radii = new double[ n ];
+            long[] indices = new long[ n ];
+            int iq = 0;
+            while ( blockSeq.next() ) {
+                if ( iq == ras.length ) {
+                    n = (int) Math.min( maxrow, 2L * n );
+                    ras = Arrays.copyOf( ras, n );
+                    decs = Arrays.copyOf( decs, n );
+                    radii = Arrays.copyOf( radii, n );
+                    indices = Arrays.copyOf( indices, n );
+                }
+                ras[ iq ] = blockSeq.getRa();
+                decs[ iq ] = blockSeq.getDec();
+                radii[ iq ] = blockSeq.getRadius();
+                indices[ iq ] = blockSeq.getIndex();
+                iq++;
+            }
+            return new QueryBlock( iq, ras, decs, radii, indices );
+        }
+
+        /**
+         * Returns a sequence over the queries in this block.
+         * Only the positional methods
+         * (<code>getRa</code>, <code>getDec</code>, <code>getRadius</code>
+         * and <code>getIndex</code>) are supported;
+         * the cell values of the input table are not stored,
+         * so the <code>getCell</code> and <code>getRow</code> methods
+         * throw an UnsupportedOperationException.
+         * This is sufficient for the {@link UploadMatcher} contract.
+         *
+         * @return  new query sequence
+         */
+        ConeQueryRowSequence createSequence() {
+            return new ConeQueryRowSequence() {
+                int iq_ = -1;
+                public boolean next() {
+                    if ( iq_ < nq_ ) {
+                        iq_++;
+                    }
+                    return iq_ < nq_;
+                }
+                public double getRa() {
+                    return ras_[ checkRow() ];
+                }
+                public double getDec() {
+                    return decs_[ checkRow() ];
+                }
+                public double getRadius() {
+                    return radii_[ checkRow() ];
+                }
+                public long getIndex() {
+                    return indices_[ checkRow() ];
+                }
+                public Object getCell( int icol ) {
+                    throw new UnsupportedOperationException( CELL_MSG );
+                }
+                public Object[] getRow() {
+                    throw new UnsupportedOperationException( CELL_MSG );
+                }
+                public void close() {
+                }
+                private int checkRow() {
+                    if ( iq_ >= 0 && iq_ < nq_ ) {
+                        return iq_;
+                    }
+                    else {
+                        throw new IllegalStateException( "No current row" );
+                    }
+                }
+            };
+        }
+    }
+
     /**
      * RowMapper that uses Integer objects as IDs.
      */
@@ -6,13 +6,13 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.logging.Logger;
+import uk.ac.starlink.table.BlockRowPipe;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.ColumnPermutedStarTable;
 import uk.ac.starlink.table.DefaultValueInfo;
 import uk.ac.starlink.table.DescribedValue;
 import uk.ac.starlink.table.EmptyStarTable;
 import uk.ac.starlink.table.JoinFixAction;
-import uk.ac.starlink.table.OnceRowPipe;
 import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.RowListStarTable;
 import uk.ac.starlink.table.RowPipe;
@@ -512,7 +512,7 @@ public class ConeMatcher {
             coneFixAct_ = coneFixAct;
             extrasFixAct_ = extrasFixAct;
             strmOut_ = strmOut;
-            rowPipe_ = new OnceRowPipe();
+            rowPipe_ = new BlockRowPipe();
         }
 
         /**
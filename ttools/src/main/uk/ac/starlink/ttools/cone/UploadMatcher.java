@@ -37,7 +37,12 @@ public interface UploadMatcher {
      * row sequence, and the ColumnPlan knows where the special and other
      * columns are in the result table.
      *
-     * @param  coneSeq  sequence of cone-like positional queries
+     * @param  coneSeq  sequence of cone-like positional queries;
+     *                  only the positional methods (<code>getRa</code>,
+     *                  <code>getDec</code>, <code>getRadius</code>,
+     *                  <code>getIndex</code>) may be used,
+     *                  since the cell access methods are not supported
+     *                  for sequences supplied by concurrent block upload
      * @param  rawResultSink   destination for result rows obtained from
      *                         the target matcher service
      * @param  rowMapper   used to label rows; queries are labelled with the
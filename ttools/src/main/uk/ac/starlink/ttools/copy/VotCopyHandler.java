@@ -18,7 +18,7 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.ext.LexicalHandler;
 import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
-import uk.ac.starlink.table.OnceRowPipe;
+import uk.ac.starlink.table.BlockRowPipe;
 import uk.ac.starlink.table.RowStore;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
@@ -463,12 +463,12 @@ public class VotCopyHandler
     private class StreamTableHandler implements TableHandler {
 
         private Thread streamThread_;
-        private OnceRowPipe streamStore_;
+        private BlockRowPipe streamStore_;
         private IOException error_;
 
         public void startTable( final StarTable meta ) throws SAXException {
             assert streamThread_ == null;
-            streamStore_ = new OnceRowPipe();
+            streamStore_ = new BlockRowPipe();
             streamStore_.acceptMetadata( meta );
             streamThread_ = new Thread( "Table Streamer" ) {
                 public void run() {
@@ -495,10 +495,15 @@ public class VotCopyHandler
         }
 
         public void endTable() throws SAXException {
-            streamStore_.endRows();
             try {
+                streamStore_.endRows();
                 streamThread_.join();
             }
+            catch ( IOException e ) {
+                throw (SAXException)
+                      new SAXParseException( e.getMessage(), locator_ )
+                     .initCause( e );
+            }
             catch ( InterruptedException e ) {
                 throw (SAXException)
                       new SAXParseException( "Interrupted", locator_ )
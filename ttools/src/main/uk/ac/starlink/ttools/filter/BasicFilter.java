@@ -114,4 +114,39 @@ public abstract class BasicFilter implements ProcessingFilter {
             .append( "</p>\n" );
         return sbuf.toString();
     }
+
+    /**
+     * Parses a byte count, which may have a k, M or G multiplier suffix.
+     *
+     * @param  txt  text
+     * @return  byte count
+     */
+    public static long parseByteCount( String txt ) throws ArgException {
+        String t = txt.trim();
+        long factor = 1;
+        if ( t.length() > 0 ) {
+            switch ( Character.toUpperCase( t.charAt( t.length() - 1 ) ) ) {
+                case 'K':
+                    factor = 1L << 10;
+                    break;
+                case 'M':
+                    factor = 1L << 20;
+                    break;
+                case 'G':
+                    factor = 1L << 30;
+                    break;
+                default:
+                    factor = 1;
+            }
+            if ( factor > 1 ) {
+                t = t.substring( 0, t.length() - 1 );
+            }
+        }
+        try {
+            return Long.parseLong( t ) * factor;
+        }
+        catch ( NumberFormatException e ) {
+            throw new ArgException( "Bad byte count: " + txt );
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import uk.ac.starlink.table.ColumnPermutedStarTable;
 import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.ttools.jel.ColumnIdentifier;
 
 /**
@@ -23,6 +24,13 @@ public class DeleteColumnFilter extends BasicFilter {
             "<p>Delete the specified columns.",
             "The same column may harmlessly be specified more than once.",
             "</p>",
+            "<p>If this is the first step applied to a column-oriented",
+            "input table such as Parquet,",
+            "data for the deleted columns will not be read at all,",
+            "which can make processing of wide tables much faster.",
+            "This saving does not apply if any other filter steps",
+            "come before it.",
+            "</p>",
             explainSyntax( new String[] { "colid-list", } ),
         };
     }
@@ -49,7 +57,9 @@ public class DeleteColumnFilter extends BasicFilter {
         public StarTable wrap( StarTable base ) throws IOException {
             int[] idels = new ColumnIdentifier( base )
                          .getColumnIndices( colidList_ );
-            return ColumnPermutedStarTable.deleteColumns( base, idels );
+            int[] colMap = ColumnPermutedStarTable
+                          .deleteColumns( base, idels ).getColumnMap();
+            return Tables.projectColumns( base, colMap );
         }
     }
 }
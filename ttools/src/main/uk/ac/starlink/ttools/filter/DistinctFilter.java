@@ -0,0 +1,1055 @@
+package uk.ac.starlink.ttools.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.DefaultValueInfo;
+import uk.ac.starlink.table.RowCollector;
+import uk.ac.starlink.table.RowRunner;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.RowStore;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.Tables;
+import uk.ac.starlink.table.ValueInfo;
+import uk.ac.starlink.table.WrapperStarTable;
+import uk.ac.starlink.table.storage.Codec;
+import uk.ac.starlink.ttools.jel.ColumnIdentifier;
+
+/**
+ * Filters out rows which are identical in some or all columns
+ * anywhere in the table, not just adjacent ones.
+ *
+ * <p>Rows are identified by hashing the key column values,
+ * so only a single pass through the input data is required.
+ * The hash space is divided into a fixed number of partitions,
+ * and rows may be accumulated in parallel.
+ * If the estimated memory used by the distinct rows accumulated
+ * so far exceeds a given budget, the in-memory partitions are spilled
+ * to temporary files, and the partitions are merged one at a time
+ * at the end of the pass.  A spilled partition which is itself too
+ * large for the budget is split again using a differently salted hash,
+ * recursively, so that merging does not need much more than
+ * the budgeted memory.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class DistinctFilter extends BasicFilter {
+
+    private static final ValueInfo COUNT_INFO =
+        new DefaultValueInfo( "DupCount", Long.class,
+                              "Number of duplicate rows" );
+
+    /** Base 2 logarithm of the number of hash partitions. */
+    private static final int PART_BITS = 6;
+
+    /** Number of hash partitions. */
+    private static final int NPART = 1 << PART_BITS;
+
+    /** Maximum depth of recursive re-partitioning during merge. */
+    private static final int MAX_LEVEL = 4;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.filter" );
+
+    /**
+     * Constructor.
+     */
+    public DistinctFilter() {
+        super( "distinct",
+               "[-count] [-order first|any] [-maxmem <nbytes>]\n" +
+               "[-[no]parallel] [<colid-list>]" );
+    }
+
+    protected String[] getDescriptionLines() {
+        return new String[] {
+            "<p>Eliminates rows which have the same values as some",
+            "earlier row anywhere in the table.",
+            "If used with no arguments, then only the first of any set",
+            "of identical rows is retained.",
+            "</p>",
+            "<p>If the <code>&lt;colid-list&gt;</code> parameter is given",
+            "then only the values in the specified columns must be equal",
+            "in order for rows to count as duplicates.",
+            "</p>",
+            "<p>If the <code>-count</code> flag is given, then an additional",
+            "column with the name " + COUNT_INFO.getName() + " will be",
+            "prepended to the table giving a count of the number of",
+            "input rows represented by each output row.  A unique row",
+            "has a " + COUNT_INFO.getName() + " value of 1.",
+            "</p>",
+            "<p>The <code>-order</code> flag determines the order of",
+            "the output rows.",
+            "If it has the value <code>first</code>, the default,",
+            "output rows appear in the order in which they first",
+            "occurred in the input table.",
+            "If it has the value <code>any</code> the order is undefined,",
+            "which may be a bit faster.",
+            "</p>",
+            "<p>Unlike the <ref id='uniq'><code>uniq</code></ref> filter,",
+            "which only compares adjacent rows and so normally requires",
+            "the table to be sorted first,",
+            "this filter works by hashing the key values",
+            "and requires only a single pass through the data.",
+            "The work may be done in parallel unless the",
+            "<code>-noparallel</code> flag is given.",
+            "If the distinct rows do not fit into the memory budget,",
+            "which may be set in bytes using the <code>-maxmem</code> flag",
+            "and by default is a quarter of the maximum heap size,",
+            "partial results are written to temporary files",
+            "and merged at the end.",
+            "</p>",
+            explainSyntax( new String[] { "colid-list", } ),
+        };
+    }
+
+    public ProcessingStep createStep( Iterator<String> argIt )
+            throws ArgException {
+        String testIds = null;
+        boolean count = false;
+        boolean isOrdered = true;
+        boolean isParallel = true;
+        long maxMem = -1;
+        while ( argIt.hasNext() && testIds == null ) {
+            String arg = argIt.next();
+            if ( arg.equals( "-count" ) ) {
+                argIt.remove();
+                count = true;
+            }
+            else if ( arg.equals( "-order" ) && argIt.hasNext() ) {
+                argIt.remove();
+                String order = argIt.next();
+                argIt.remove();
+                if ( order.equalsIgnoreCase( "first" ) ) {
+                    isOrdered = true;
+                }
+                else if ( order.equalsIgnoreCase( "any" ) ) {
+                    isOrdered = false;
+                }
+                else {
+                    throw new ArgException( "Unknown -order value \"" + order
+                                          + "\" (should be first or any)" );
+                }
+            }
+            else if ( arg.equals( "-maxmem" ) && argIt.hasNext() ) {
+                argIt.remove();
+                String memTxt = argIt.next();
+                argIt.remove();
+                maxMem = parseByteCount( memTxt );
+                if ( maxMem <= 0 ) {
+                    throw new ArgException( "Bad -maxmem value: " + memTxt );
+                }
+            }
+            else if ( arg.equals( "-parallel" ) ) {
+                argIt.remove();
+                isParallel = true;
+            }
+            else if ( arg.equals( "-noparallel" ) ) {
+                argIt.remove();
+                isParallel = false;
+            }
+            else {
+                argIt.remove();
+                testIds = arg;
+            }
+        }
+        final String tids = testIds;
+        final boolean doCount = count;
+        final boolean ordered = isOrdered;
+        final RowRunner runner = isParallel ? RowRunner.DEFAULT
+                                            : RowRunner.SEQUENTIAL;
+        final long budget = maxMem > 0 ? maxMem
+                                       : Runtime.getRuntime().maxMemory() / 4;
+        return new ProcessingStep() {
+            public StarTable wrap( StarTable base ) throws IOException {
+                boolean[] keyFlags;
+                if ( tids == null ) {
+                    keyFlags = new boolean[ base.getColumnCount() ];
+                    Arrays.fill( keyFlags, true );
+                }
+                else {
+                    keyFlags = new ColumnIdentifier( base )
+                              .getColumnFlags( tids );
+                }
+                return distinctRows( base, keyFlags, doCount, ordered,
+                                     runner, budget );
+            }
+        };
+    }
+
+    /**
+     * Returns a table containing only the distinct rows of an input table.
+     * The result is a random-access table stored according to the
+     * default storage policy.
+     *
+     * @param  base  input table
+     * @param  keyFlags  per-column flags indicating which columns
+     *                   must be equal for rows to count as duplicates
+     * @param  doCount  if true, a duplicate count column is prepended
+     *                  to the output
+     * @param  isOrdered  if true, output rows are in order of first
+     *                    occurrence; if false, the order is undefined
+     * @param  runner   controls sequential/parallel processing
+     * @param  maxMem   approximate number of bytes of heap that may be
+     *                  used for accumulating distinct rows before
+     *                  spilling to disk
+     * @return  table of distinct rows
+     */
+    public static StarTable distinctRows( StarTable base, boolean[] keyFlags,
+                                          boolean doCount, boolean isOrdered,
+                                          RowRunner runner, long maxMem )
+            throws IOException {
+        final int ncol = base.getColumnCount();
+        int nkey = 0;
+        int[] keyIcols = new int[ ncol ];
+        ColumnInfo[] infos = new ColumnInfo[ ncol ];
+        for ( int ic = 0; ic < ncol; ic++ ) {
+            infos[ ic ] = base.getColumnInfo( ic );
+            if ( keyFlags[ ic ] ) {
+                keyIcols[ nkey++ ] = ic;
+            }
+        }
+        keyIcols = Arrays.copyOf( keyIcols, nkey );
+
+        /* Prepare serializers for spilled records; each record is
+         * the first occurrence index, the count, and the row data. */
+        Codec[] rowCodecs = RowSpill.getCodecs( infos );
+        final Codec[] spillCodecs;
+        if ( rowCodecs == null ) {
+            logger_.info( "Some columns not serializable;"
+                        + " distinct rows will not spill to disk" );
+            spillCodecs = null;
+        }
+        else {
+            spillCodecs = new Codec[ 2 + ncol ];
+            spillCodecs[ 0 ] = Codec.LONG;
+            spillCodecs[ 1 ] = Codec.LONG;
+            System.arraycopy( rowCodecs, 0, spillCodecs, 2, ncol );
+        }
+
+        /* Ordering by first occurrence requires global row indices;
+         * if the parallel sequence can't supply them, go sequential. */
+        if ( isOrdered && runner != RowRunner.SEQUENTIAL ) {
+            RowSplittable rsplit = runner.createRowSplittable( base );
+            boolean hasIndex = rsplit.rowIndex() != null;
+            rsplit.close();
+            if ( ! hasIndex ) {
+                runner = RowRunner.SEQUENTIAL;
+            }
+        }
+
+        /* Accumulate distinct rows. */
+        DistinctCollector collector =
+            new DistinctCollector( keyIcols, spillCodecs, maxMem );
+        PartitionSet parts = runner.collect( collector, base );
+
+        /* Write the distinct rows to an output table. */
+        final int ioff = doCount ? 1 : 0;
+        StarTable meta = new WrapperStarTable( base ) {
+            public int getColumnCount() {
+                return ncol + ioff;
+            }
+            public ColumnInfo getColumnInfo( int icol ) {
+                return icol < ioff ? new ColumnInfo( COUNT_INFO )
+                                   : super.getColumnInfo( icol - ioff );
+            }
+            public long getRowCount() {
+                return -1L;
+            }
+        };
+        RowStore store =
+            StoragePolicy.getDefaultPolicy().makeConfiguredRowStore( meta );
+        long nout;
+        try {
+            nout = isOrdered ? parts.writeOrdered( store, doCount )
+                             : parts.writeUnordered( store, doCount );
+        }
+        finally {
+            parts.close();
+        }
+        store.endRows();
+        logger_.info( "Distinct rows: " + nout + "/" + parts.nrow_
+                    + ( parts.nSpill_ > 0
+                            ? " (spilled " + parts.nSpill_ + " times)"
+                            : "" ) );
+        return store.getStarTable();
+    }
+
+    /**
+     * Returns the partition index for a given key hash.
+     * Uses the high bits of a multiplicative hash, so that partition
+     * membership is decorrelated from HashMap bucket selection.
+     *
+     * @param  hash  key hash code
+     * @return  partition index in range 0..NPART-1
+     */
+    private static int partitionIndex( int hash ) {
+        return ( hash * 0x9e3779b9 ) >>> ( 32 - PART_BITS );
+    }
+
+    /**
+     * Returns the sub-partition index for a given key hash at a given
+     * level of re-partitioning.
+     * The hash is salted with the level and mixed, so that keys which
+     * share a partition at one level are spread out at the next.
+     *
+     * @param  hash  key hash code
+     * @param  level  re-partitioning level, greater than zero
+     * @return  sub-partition index in range 0..NPART-1
+     */
+    private static int partitionIndex( int hash, int level ) {
+        int h = hash ^ ( level * 0x85ebca6b );
+        h = ( h ^ ( h >>> 16 ) ) * 0x7feb352d;
+        h = ( h ^ ( h >>> 15 ) ) * 0x846ca68b;
+        return partitionIndex( h ^ ( h >>> 16 ) );
+    }
+
+    /**
+     * Returns a rough estimate of the heap used by a retained row.
+     *
+     * @param  row  row data
+     * @param  nkey  number of key columns
+     * @return  approximate size in bytes
+     */
+    private static long estimateSize( Object[] row, int nkey ) {
+
+        /* Entry, row array, key object and array, hash map node. */
+        long size = 40 + ( 16 + 8 * row.length ) + ( 40 + 8 * nkey ) + 48;
+        for ( Object value : row ) {
+            size += RowSpill.estimateHeapSize( value );
+        }
+        return size;
+    }
+
+    /**
+     * Tests whether two values are equal for the purposes of this filter.
+     * Nulls and blank values are all considered equal to each other,
+     * and arrays are compared by content.
+     *
+     * @param  o1  object 1
+     * @param  o2  object 2
+     * @return  true iff o1 is equivalent to o2
+     */
+    private static boolean equalValues( Object o1, Object o2 ) {
+        boolean blank1 = Tables.isBlank( o1 );
+        boolean blank2 = Tables.isBlank( o2 );
+        return blank1 || blank2 ? blank1 && blank2
+                                : Objects.deepEquals( o1, o2 );
+    }
+
+    /**
+     * Returns a hash code for a value consistent with
+     * {@link #equalValues}.
+     *
+     * @param  value  value
+     * @return  hash code
+     */
+    private static int valueHash( Object value ) {
+        if ( Tables.isBlank( value ) ) {
+            return 0;
+        }
+        else if ( value.getClass().isArray() ) {
+            return Arrays.deepHashCode( new Object[] { value } );
+        }
+        else {
+            return value.hashCode();
+        }
+    }
+
+    /**
+     * Map key representing the key column values of a row.
+     */
+    private static class DistinctKey {
+        final Object[] values_;
+        final int hash_;
+
+        /**
+         * Constructor.
+         *
+         * @param  values  key column values
+         */
+        DistinctKey( Object[] values ) {
+            values_ = values;
+            int h = 1;
+            for ( Object value : values ) {
+                h = 31 * h + valueHash( value );
+            }
+            hash_ = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash_;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( o instanceof DistinctKey ) {
+                DistinctKey other = (DistinctKey) o;
+                if ( other.hash_ != hash_ ) {
+                    return false;
+                }
+                for ( int i = 0; i < values_.length; i++ ) {
+                    if ( ! equalValues( values_[ i ], other.values_[ i ] ) ) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Records a distinct row along with its first occurrence and
+     * duplicate count.
+     */
+    private static class Entry {
+        Object[] row_;
+        long index_;
+        long count_;
+
+        /**
+         * Constructor.
+         *
+         * @param  row  row data
+         * @param  index  row index of first occurrence
+         * @param  count  number of occurrences
+         */
+        Entry( Object[] row, long index, long count ) {
+            row_ = row;
+            index_ = index;
+            count_ = count;
+        }
+
+        /**
+         * Merges another entry representing the same key into this one.
+         *
+         * @param  other  other entry
+         */
+        void absorb( Entry other ) {
+            if ( other.index_ < index_ ) {
+                index_ = other.index_;
+                row_ = other.row_;
+            }
+            count_ += other.count_;
+        }
+
+        /**
+         * Returns the spill record representing this entry.
+         *
+         * @return  record array
+         */
+        Object[] toRecord() {
+            Object[] rec = new Object[ 2 + row_.length ];
+            rec[ 0 ] = Long.valueOf( index_ );
+            rec[ 1 ] = Long.valueOf( count_ );
+            System.arraycopy( row_, 0, rec, 2, row_.length );
+            return rec;
+        }
+
+        /**
+         * Returns the output table row representing this entry.
+         *
+         * @param  doCount  whether to prepend the count
+         * @return  output row
+         */
+        Object[] toOutputRow( boolean doCount ) {
+            if ( doCount ) {
+                Object[] out = new Object[ 1 + row_.length ];
+                out[ 0 ] = Long.valueOf( count_ );
+                System.arraycopy( row_, 0, out, 1, row_.length );
+                return out;
+            }
+            else {
+                return row_;
+            }
+        }
+
+        /**
+         * Reconstructs an entry from a spill record.
+         *
+         * @param  rec  record array
+         * @return  entry
+         */
+        static Entry fromRecord( Object[] rec ) {
+            return new Entry( Arrays.copyOfRange( rec, 2, rec.length ),
+                              ((Long) rec[ 0 ]).longValue(),
+                              ((Long) rec[ 1 ]).longValue() );
+        }
+    }
+
+    /**
+     * Receives blocks of merged distinct entries.
+     */
+    private interface EntryHandler {
+
+        /**
+         * Accepts a block of entries.  The entries may be discarded
+         * after this method returns.
+         *
+         * @param  entries  distinct entries
+         */
+        void handleEntries( Collection<Entry> entries ) throws IOException;
+    }
+
+    /**
+     * Accumulator for distinct rows, divided into hash partitions.
+     * Each partition has an in-memory map and a list of zero or more
+     * spill files.
+     */
+    private static class PartitionSet {
+        final DistinctCollector collector_;
+        final List<Map<DistinctKey,Entry>> maps_;
+        final List<List<RowSpill>> spills_;
+        final RowSpill[] ownSpills_;
+        long memSize_;
+        long nrow_;
+        int nSpill_;
+        boolean isOverBudget_;
+
+        /**
+         * Constructor.
+         *
+         * @param  collector  collector that owns this accumulator
+         */
+        PartitionSet( DistinctCollector collector ) {
+            collector_ = collector;
+            maps_ = new ArrayList<Map<DistinctKey,Entry>>( NPART );
+            spills_ = new ArrayList<List<RowSpill>>( NPART );
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                maps_.add( new HashMap<DistinctKey,Entry>() );
+                spills_.add( new ArrayList<RowSpill>() );
+            }
+            ownSpills_ = new RowSpill[ NPART ];
+        }
+
+        /**
+         * Submits a row to this accumulator.
+         *
+         * @param  row  row data; will be cloned if retained
+         * @param  index  row index
+         */
+        void submit( Object[] row, long index ) throws IOException {
+            nrow_++;
+            DistinctKey key = collector_.createKey( row );
+            Map<DistinctKey,Entry> map =
+                maps_.get( partitionIndex( key.hash_ ) );
+            Entry entry = map.get( key );
+            if ( entry == null ) {
+                Object[] row1 = row.clone();
+                map.put( key, new Entry( row1, index, 1 ) );
+                long size = estimateSize( row1, key.values_.length );
+                memSize_ += size;
+                if ( collector_.addMemory( size ) && canSpill() ) {
+                    spill();
+                }
+            }
+            else {
+                entry.count_++;
+                if ( index < entry.index_ ) {
+                    entry.index_ = index;
+                    entry.row_ = row.clone();
+                }
+            }
+        }
+
+        /**
+         * Indicates whether this accumulator is capable of spilling
+         * its contents to disk.
+         *
+         * @return  true iff spilling is possible
+         */
+        boolean canSpill() {
+            return collector_.spillCodecs_ != null;
+        }
+
+        /**
+         * Writes all in-memory entries to per-partition spill files,
+         * and empties the in-memory maps.
+         */
+        void spill() throws IOException {
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                Map<DistinctKey,Entry> map = maps_.get( ip );
+                if ( map.size() > 0 ) {
+                    RowSpill spill = ownSpills_[ ip ];
+                    if ( spill == null ) {
+                        spill = new RowSpill( collector_.spillCodecs_ );
+                        ownSpills_[ ip ] = spill;
+                        spills_.get( ip ).add( spill );
+                    }
+                    for ( Entry entry : map.values() ) {
+                        spill.write( entry.toRecord() );
+                    }
+                    maps_.set( ip, new HashMap<DistinctKey,Entry>() );
+                }
+            }
+            collector_.addMemory( -memSize_ );
+            memSize_ = 0;
+            nSpill_++;
+        }
+
+        /**
+         * Finishes writing to any spill files opened by this accumulator,
+         * releasing their file descriptors.
+         * If more data is spilled later, new files will be used.
+         */
+        void endWrite() throws IOException {
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                if ( ownSpills_[ ip ] != null ) {
+                    ownSpills_[ ip ].endWrite();
+                    ownSpills_[ ip ] = null;
+                }
+            }
+        }
+
+        /**
+         * Merges the contents of another accumulator into this one.
+         *
+         * @param  other  other accumulator, not used after this call
+         */
+        void add( PartitionSet other ) {
+            long dropped = 0;
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                Map<DistinctKey,Entry> mapA = maps_.get( ip );
+                Map<DistinctKey,Entry> mapB = other.maps_.get( ip );
+                if ( mapA.size() < mapB.size() ) {
+                    Map<DistinctKey,Entry> m = mapA;
+                    mapA = mapB;
+                    mapB = m;
+                    maps_.set( ip, mapA );
+                }
+                for ( Map.Entry<DistinctKey,Entry> me : mapB.entrySet() ) {
+                    Entry entryB = me.getValue();
+                    Entry entryA = mapA.putIfAbsent( me.getKey(), entryB );
+                    if ( entryA != null ) {
+                        entryA.absorb( entryB );
+                        dropped += estimateSize( entryB.row_,
+                                                 me.getKey().values_.length );
+                    }
+                }
+                spills_.get( ip ).addAll( other.spills_.get( ip ) );
+            }
+            memSize_ += other.memSize_ - dropped;
+            collector_.addMemory( -dropped );
+            nrow_ += other.nrow_;
+            nSpill_ += other.nSpill_;
+        }
+
+        /**
+         * Passes the final merged entries for a partition to a handler,
+         * reading back and discarding any spilled data.
+         * The in-memory map for the partition is released.
+         * If the merged partition would exceed the memory budget,
+         * it is split into sub-partitions which are handled
+         * one at a time, so the handler may be called more than once.
+         *
+         * @param  ip  partition index
+         * @param  handler  receives disjoint blocks of distinct entries
+         */
+        void takePartition( int ip, EntryHandler handler )
+                throws IOException {
+            Map<DistinctKey,Entry> map = maps_.get( ip );
+            maps_.set( ip, new HashMap<DistinctKey,Entry>() );
+            List<RowSpill> spills = spills_.get( ip );
+            spills_.set( ip, new ArrayList<RowSpill>() );
+            mergeSpills( map, spills, 1, handler );
+        }
+
+        /**
+         * Merges spilled entries into an in-memory map and passes the
+         * result to a handler.  If the memory budget is exceeded while
+         * reading, the entries are instead re-partitioned at the given
+         * level and each sub-partition is merged separately.
+         * The spills are closed by this method.
+         *
+         * @param  map  in-memory entries, not included in memory accounting
+         * @param  spills  spill files containing further entries
+         * @param  level  re-partitioning level to use if required
+         * @param  handler  receives disjoint blocks of distinct entries
+         */
+        private void mergeSpills( Map<DistinctKey,Entry> map,
+                                  List<RowSpill> spills, int level,
+                                  EntryHandler handler ) throws IOException {
+            long size = 0;
+            try {
+                for ( int is = 0; is < spills.size(); is++ ) {
+                    RowSequence rseq = spills.get( is ).createRowSequence();
+                    try {
+                        while ( rseq.next() ) {
+                            Entry entry = Entry.fromRecord( rseq.getRow() );
+                            DistinctKey key =
+                                collector_.createKey( entry.row_ );
+                            Entry entry0 = map.putIfAbsent( key, entry );
+                            if ( entry0 != null ) {
+                                entry0.absorb( entry );
+                            }
+                            else {
+                                long esize =
+                                    estimateSize( entry.row_,
+                                                  key.values_.length );
+                                size += esize;
+                                if ( collector_.addMemory( esize ) &&
+                                     map.size() > 1 ) {
+                                    if ( level <= MAX_LEVEL ) {
+                                        collector_.addMemory( -size );
+                                        size = 0;
+                                        repartition( map, rseq, spills, is,
+                                                     level, handler );
+                                        return;
+                                    }
+                                    else if ( ! isOverBudget_ ) {
+                                        isOverBudget_ = true;
+                                        logger_.warning( "Distinct rows "
+                                                       + "partition exceeds "
+                                                       + "memory budget" );
+                                    }
+                                }
+                            }
+                        }
+                    }
+                    finally {
+                        rseq.close();
+                    }
+                    spills.get( is ).close();
+                }
+                handler.handleEntries( map.values() );
+            }
+            finally {
+                collector_.addMemory( -size );
+                for ( RowSpill spill : spills ) {
+                    spill.close();
+                }
+            }
+        }
+
+        /**
+         * Writes the entries from a partial merge into new sub-partition
+         * spill files using a salted hash, discards the original spills,
+         * and merges each sub-partition in turn.
+         *
+         * @param  map  entries merged so far; emptied by this method
+         * @param  rseq  partly read sequence over spill number
+         *               <code>is</code>
+         * @param  spills  spill files for the partition
+         * @param  is  index of the spill currently being read
+         * @param  level  re-partitioning level
+         * @param  handler  receives disjoint blocks of distinct entries
+         */
+        private void repartition( Map<DistinctKey,Entry> map,
+                                  RowSequence rseq, List<RowSpill> spills,
+                                  int is, int level, EntryHandler handler )
+                throws IOException {
+            logger_.info( "Re-partitioning distinct rows at level " + level );
+            RowSpill[] subSpills = new RowSpill[ NPART ];
+            try {
+                for ( Entry entry : map.values() ) {
+                    writeSubRecord( subSpills, entry.toRecord(), level );
+                }
+                map.clear();
+                while ( rseq.next() ) {
+                    writeSubRecord( subSpills, rseq.getRow(), level );
+                }
+                rseq.close();
+                for ( int js = is + 1; js < spills.size(); js++ ) {
+                    RowSequence rseq1 = spills.get( js ).createRowSequence();
+                    try {
+                        while ( rseq1.next() ) {
+                            writeSubRecord( subSpills, rseq1.getRow(), level );
+                        }
+                    }
+                    finally {
+                        rseq1.close();
+                    }
+                }
+                for ( RowSpill spill : spills ) {
+                    spill.close();
+                }
+                for ( RowSpill subSpill : subSpills ) {
+                    if ( subSpill != null ) {
+                        subSpill.endWrite();
+                    }
+                }
+                for ( int jp = 0; jp < NPART; jp++ ) {
+                    if ( subSpills[ jp ] != null ) {
+                        List<RowSpill> subList = new ArrayList<RowSpill>( 1 );
+                        subList.add( subSpills[ jp ] );
+                        subSpills[ jp ] = null;
+                        mergeSpills( new HashMap<DistinctKey,Entry>(),
+                                     subList, level + 1, handler );
+                    }
+                }
+            }
+            finally {
+                for ( RowSpill subSpill : subSpills ) {
+                    if ( subSpill != null ) {
+                        subSpill.close();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes a spill record to the appropriate sub-partition spill,
+         * creating it if necessary.
+         *
+         * @param  subSpills  per-sub-partition spills, null until used
+         * @param  rec  spill record
+         * @param  level  re-partitioning level
+         */
+        private void writeSubRecord( RowSpill[] subSpills, Object[] rec,
+                                     int level ) throws IOException {
+            Object[] row = Arrays.copyOfRange( rec, 2, rec.length );
+            int jp = partitionIndex( collector_.createKey( row ).hash_,
+                                     level );
+            if ( subSpills[ jp ] == null ) {
+                subSpills[ jp ] = new RowSpill( collector_.spillCodecs_ );
+            }
+            subSpills[ jp ].write( rec );
+        }
+
+        /**
+         * Prepares for merging partitions.  If any spilling has taken
+         * place, the remaining in-memory entries are spilled too,
+         * so that the whole memory budget is available for merging
+         * one partition at a time.
+         */
+        private void prepareMerge() throws IOException {
+            if ( nSpill_ > 0 && memSize_ > 0 ) {
+                spill();
+                endWrite();
+            }
+        }
+
+        /**
+         * Writes all distinct rows to a row store in undefined order.
+         *
+         * @param  store  destination
+         * @param  doCount  whether to prepend counts
+         * @return  number of rows written
+         */
+        long writeUnordered( RowStore store, boolean doCount )
+                throws IOException {
+            prepareMerge();
+            long[] nout = new long[ 1 ];
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                takePartition( ip, entries -> {
+                    for ( Entry entry : entries ) {
+                        store.acceptRow( entry.toOutputRow( doCount ) );
+                        nout[ 0 ]++;
+                    }
+                } );
+            }
+            return nout[ 0 ];
+        }
+
+        /**
+         * Writes all distinct rows to a row store in order of
+         * first occurrence.  If spilling has taken place, each partition
+         * (or sub-partition) is sorted individually and written to
+         * a run file, and the runs are then merged.
+         *
+         * @param  store  destination
+         * @param  doCount  whether to prepend counts
+         * @return  number of rows written
+         */
+        long writeOrdered( RowStore store, boolean doCount )
+                throws IOException {
+            Comparator<Entry> indexOrder =
+                Comparator.comparingLong( e -> e.index_ );
+            long nout = 0;
+            if ( nSpill_ == 0 ) {
+                List<Entry> entries = new ArrayList<Entry>();
+                for ( int ip = 0; ip < NPART; ip++ ) {
+                    takePartition( ip, entries::addAll );
+                }
+                entries.sort( indexOrder );
+                for ( Entry entry : entries ) {
+                    store.acceptRow( entry.toOutputRow( doCount ) );
+                    nout++;
+                }
+                return nout;
+            }
+            List<RowSpill> runs = new ArrayList<RowSpill>();
+            PriorityQueue<RunCursor> queue =
+                new PriorityQueue<RunCursor>( NPART,
+                    Comparator.comparingLong( c -> c.entry_.index_ ) );
+            prepareMerge();
+            EntryHandler runWriter = block -> {
+                if ( block.size() > 0 ) {
+                    List<Entry> entries = new ArrayList<Entry>( block );
+                    entries.sort( indexOrder );
+                    RowSpill run = new RowSpill( collector_.spillCodecs_ );
+                    runs.add( run );
+                    for ( Entry entry : entries ) {
+                        run.write( entry.toRecord() );
+                    }
+                    run.endWrite();
+                }
+            };
+            try {
+                for ( int ip = 0; ip < NPART; ip++ ) {
+                    takePartition( ip, runWriter );
+                }
+                for ( RowSpill run : runs ) {
+                    RunCursor cursor =
+                        new RunCursor( run.createRowSequence() );
+                    if ( cursor.advance() ) {
+                        queue.add( cursor );
+                    }
+                }
+                while ( ! queue.isEmpty() ) {
+                    RunCursor cursor = queue.poll();
+                    store.acceptRow( cursor.entry_.toOutputRow( doCount ) );
+                    nout++;
+                    if ( cursor.advance() ) {
+                        queue.add( cursor );
+                    }
+                }
+            }
+            finally {
+                for ( RunCursor cursor : queue ) {
+                    cursor.rseq_.close();
+                }
+                for ( RowSpill run : runs ) {
+                    run.close();
+                }
+            }
+            return nout;
+        }
+
+        /**
+         * Releases any resources held by this accumulator.
+         */
+        void close() {
+            for ( List<RowSpill> spills : spills_ ) {
+                for ( RowSpill spill : spills ) {
+                    spill.close();
+                }
+                spills.clear();
+            }
+        }
+    }
+
+    /**
+     * Iterates over the entries in a sorted spill run.
+     */
+    private static class RunCursor {
+        final RowSequence rseq_;
+        Entry entry_;
+
+        /**
+         * Constructor.
+         *
+         * @param  rseq  sequence over spill records
+         */
+        RunCursor( RowSequence rseq ) {
+            rseq_ = rseq;
+        }
+
+        /**
+         * Moves to the next entry.
+         *
+         * @return  true iff a new entry is available
+         */
+        boolean advance() throws IOException {
+            if ( rseq_.next() ) {
+                entry_ = Entry.fromRecord( rseq_.getRow() );
+                return true;
+            }
+            else {
+                entry_ = null;
+                rseq_.close();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * RowCollector that accumulates distinct rows into partition sets.
+     */
+    private static class DistinctCollector extends RowCollector<PartitionSet> {
+        final int[] keyIcols_;
+        final Codec[] spillCodecs_;
+        final long maxMem_;
+        final AtomicLong memTotal_;
+
+        /**
+         * Constructor.
+         *
+         * @param  keyIcols  indices of columns forming the distinct key
+         * @param  spillCodecs  codecs for spill records,
+         *                      or null if spilling is not possible
+         * @param  maxMem   memory budget in bytes
+         */
+        DistinctCollector( int[] keyIcols, Codec[] spillCodecs,
+                           long maxMem ) {
+            keyIcols_ = keyIcols;
+            spillCodecs_ = spillCodecs;
+            maxMem_ = maxMem;
+            memTotal_ = new AtomicLong();
+        }
+
+        public PartitionSet createAccumulator() {
+            return new PartitionSet( this );
+        }
+
+        public void accumulateRows( RowSplittable rseq, PartitionSet acc )
+                throws IOException {
+            LongSupplier rowIndex = rseq.rowIndex();
+            long irow = -1;
+            while ( rseq.next() ) {
+                irow++;
+                long index = rowIndex == null ? irow : rowIndex.getAsLong();
+                acc.submit( rseq.getRow(), index );
+            }
+            acc.endWrite();
+        }
+
+        public PartitionSet combine( PartitionSet acc1, PartitionSet acc2 ) {
+            acc1.add( acc2 );
+            return acc1;
+        }
+
+        /**
+         * Creates a key object for a given row.
+         *
+         * @param  row  row data
+         * @return  key
+         */
+        DistinctKey createKey( Object[] row ) {
+            int nkey = keyIcols_.length;
+            Object[] values = new Object[ nkey ];
+            for ( int ik = 0; ik < nkey; ik++ ) {
+                values[ ik ] = row[ keyIcols_[ ik ] ];
+            }
+            return new DistinctKey( values );
+        }
+
+        /**
+         * Records a change in the memory used by accumulated rows.
+         *
+         * @param  size  number of bytes added (may be negative)
+         * @return  true iff the total now exceeds the budget
+         */
+        boolean addMemory( long size ) {
+            return memTotal_.addAndGet( size ) > maxMem_;
+        }
+    }
+}
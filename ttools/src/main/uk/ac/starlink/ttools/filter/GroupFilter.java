@@ -24,7 +24,9 @@ public class GroupFilter extends BasicFilter {
      * Constructor.
      */
     public GroupFilter() {
-        super( "group", "[-[no]parallel] <key> [<key> ...] [<aggcol> ...]" );
+        super( "group",
+               "[-[no]parallel] [-maxmem <nbytes>]\n" +
+               "<key> [<key> ...] [<aggcol> ...]" );
     }
 
     public String[] getDescriptionLines() {
@@ -50,6 +52,14 @@ public class GroupFilter extends BasicFilter {
             "See the <ref id='tgroup'><code>tgroup</code></ref> documentation",
             "for a full explanation of the syntax and functionality.",
             "</p>",
+            "<p>The <code>-maxmem</code> flag gives the approximate",
+            "number of bytes of heap memory that may be used to hold",
+            "the groups; if it is exceeded, rows for further groups",
+            "are spilled to temporary files.",
+            "It corresponds to the <code>maxmem</code> parameter of",
+            "<code>tgroup</code>, and by default is half the maximum",
+            "heap size.",
+            "</p>",
             "<p>The syntax here is rather cramped,",
             "so in many cases it will be more comfortable to use",
             "<code>tgroup</code> instead,",
@@ -66,6 +76,7 @@ public class GroupFilter extends BasicFilter {
         List<String> keyList = new ArrayList<>();
         List<TableGroup.AggSpec> aggList = new ArrayList<>();
         boolean isParallel = true;
+        long maxMem = TableGroup.getDefaultMaxMemory();
         while ( argIt.hasNext() ) {
             String arg = argIt.next();
             if ( "-parallel".equals( arg ) ) {
@@ -76,6 +87,15 @@ public class GroupFilter extends BasicFilter {
                 isParallel = false;
                 argIt.remove();
             }
+            else if ( "-maxmem".equals( arg ) && argIt.hasNext() ) {
+                argIt.remove();
+                String memTxt = argIt.next();
+                argIt.remove();
+                maxMem = parseByteCount( memTxt );
+                if ( maxMem <= 0 ) {
+                    throw new ArgException( "Bad -maxmem value: " + memTxt );
+                }
+            }
             else if ( arg.indexOf( delimChr_ ) >= 0 ) {
                 try {
                     aggList.add( TableGroup.parseAggSpec( arg, delimChr_ ) );
@@ -101,6 +121,7 @@ public class GroupFilter extends BasicFilter {
                                             : RowRunner.SEQUENTIAL;
         final boolean isCache = true;
         final boolean isSort = true;
+        final long budget = maxMem;
 
         /* Return wrapped table. */
         return new ProcessingStep() {
@@ -108,7 +129,7 @@ public class GroupFilter extends BasicFilter {
                 try {
                     return TableGroup
                           .aggregateRows( base, keys, aggs, runner,
-                                          isSort, isCache );
+                                          isSort, isCache, budget );
                 }
                 catch ( TaskException e ) {
                     throw new IOException( e.getMessage(), e );
@@ -0,0 +1,299 @@
+package uk.ac.starlink.ttools.filter;
+
+import java.util.Arrays;
+
+/**
+ * Approximate distinct value counter using the HyperLogLog algorithm
+ * of Flajolet et al.
+ *
+ * <p>Small cardinalities are counted exactly by retaining the
+ * submitted hash values in a compact open-addressed table;
+ * once that table would occupy as much memory as the register array,
+ * it is converted to the usual HyperLogLog register representation,
+ * so that memory use is bounded at about 2<sup>precision</sup> bytes
+ * regardless of the number of values submitted.
+ * The relative standard error of the estimate is then about
+ * 1.04/sqrt(2<sup>precision</sup>).
+ *
+ * <p>Instances can be merged, so that counting can be done in parallel.
+ * Collisions between 64-bit hashes are ignored.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ * @see <a href="https://algo.inria.fr/flajolet/Publications/FlFuGaMe07.pdf"
+ *         >Flajolet et al. 2007</a>
+ */
+public class HyperLogLog {
+
+    private final int precision_;
+    private final int nreg_;
+    private long[] hashes_;
+    private int nhash_;
+    private boolean hasZero_;
+    private byte[] registers_;
+
+    /** Default precision (number of index bits). */
+    public static final int DFLT_PRECISION = 12;
+
+    /**
+     * Constructor.
+     *
+     * @param  precision  number of bits used for register index,
+     *                    in the range 4..18
+     */
+    public HyperLogLog( int precision ) {
+        if ( precision < 4 || precision > 18 ) {
+            throw new IllegalArgumentException( "Precision " + precision
+                                              + " out of range 4..18" );
+        }
+        precision_ = precision;
+        nreg_ = 1 << precision;
+        hashes_ = new long[ 8 ];
+    }
+
+    /**
+     * Constructs an instance with default precision.
+     */
+    public HyperLogLog() {
+        this( DFLT_PRECISION );
+    }
+
+    /**
+     * Returns the precision of this counter.
+     *
+     * @return  number of register index bits
+     */
+    public int getPrecision() {
+        return precision_;
+    }
+
+    /**
+     * Submits a value in the form of a 64-bit hash.
+     * The hash should be well mixed, for instance as produced by
+     * {@link #hashValue}.
+     *
+     * @param  hash  hashed value
+     */
+    public void addHash( long hash ) {
+        if ( registers_ != null ) {
+            addRegister( hash );
+        }
+        else if ( hash == 0 ) {
+            hasZero_ = true;
+        }
+        else if ( insertHash( hash ) && 2 * nhash_ > hashes_.length ) {
+
+            /* Grow the table, unless that would make it bigger than
+             * the registers. */
+            if ( 2 * hashes_.length * 8 > nreg_ ) {
+                toRegisters();
+            }
+            else {
+                rehash( 2 * hashes_.length );
+            }
+        }
+    }
+
+    /**
+     * Submits an object value.
+     * Null values are ignored.
+     *
+     * @param  value  value to count
+     */
+    public void addValue( Object value ) {
+        if ( value != null ) {
+            addHash( hashValue( value ) );
+        }
+    }
+
+    /**
+     * Merges the state of another compatible counter into this one;
+     * the effect is as if all the values submitted to <code>other</code>
+     * had been submitted to this one.
+     *
+     * @param  other  counter with the same precision as this one
+     */
+    public void merge( HyperLogLog other ) {
+        if ( other.precision_ != precision_ ) {
+            throw new IllegalArgumentException( "Precision mismatch" );
+        }
+        if ( other.registers_ != null ) {
+            if ( registers_ == null ) {
+                toRegisters();
+            }
+            for ( int i = 0; i < nreg_; i++ ) {
+                registers_[ i ] = (byte) Math.max( registers_[ i ],
+                                                   other.registers_[ i ] );
+            }
+        }
+        else {
+            for ( long hash : other.hashes_ ) {
+                if ( hash != 0 ) {
+                    addHash( hash );
+                }
+            }
+            if ( other.hasZero_ ) {
+                addHash( 0 );
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the count returned by this object is exact,
+     * that is, the number of distinct hashes submitted is small
+     * enough that they have all been retained.
+     *
+     * @return  true iff {@link #getCount} is exact
+     */
+    public boolean isExact() {
+        return registers_ == null;
+    }
+
+    /**
+     * Returns the estimated number of distinct values submitted.
+     *
+     * @return  distinct count estimate
+     */
+    public long getCount() {
+        if ( registers_ == null ) {
+            return nhash_ + ( hasZero_ ? 1 : 0 );
+        }
+        double sum = 0;
+        int nzero = 0;
+        for ( int i = 0; i < nreg_; i++ ) {
+            int r = registers_[ i ];
+            sum += 1.0 / ( 1L << r );
+            if ( r == 0 ) {
+                nzero++;
+            }
+        }
+        double m = nreg_;
+        double alpha = 0.7213 / ( 1.0 + 1.079 / m );
+        double estimate = alpha * m * m / sum;
+
+        /* Small range correction (linear counting). */
+        if ( estimate <= 2.5 * m && nzero > 0 ) {
+            estimate = m * Math.log( m / nzero );
+        }
+        return Math.round( estimate );
+    }
+
+    /**
+     * Returns a well-mixed 64-bit hash of a value.
+     * Numeric values of integer type hash the same as each other
+     * if they have the same value, as do floating point values.
+     * Arrays are hashed by content.
+     *
+     * @param  value  non-null value
+     * @return  hash
+     */
+    public static long hashValue( Object value ) {
+        long h;
+        if ( value instanceof Double || value instanceof Float ) {
+            double d = ((Number) value).doubleValue();
+            h = Double.doubleToLongBits( d == 0 ? 0.0 : d );
+        }
+        else if ( value instanceof Number ) {
+            h = ((Number) value).longValue();
+        }
+        else if ( value instanceof String ) {
+            String s = (String) value;
+            h = 1125899906842597L;
+            for ( int i = 0; i < s.length(); i++ ) {
+                h = 31 * h + s.charAt( i );
+            }
+        }
+        else if ( value.getClass().isArray() ) {
+            h = Arrays.deepHashCode( new Object[] { value } );
+        }
+        else {
+            h = value.hashCode();
+        }
+        return mix64( h );
+    }
+
+    /**
+     * Finalisation mixer from MurmurHash3, which gives good avalanche
+     * behaviour.
+     *
+     * @param  h  input value
+     * @return  mixed value
+     */
+    private static long mix64( long h ) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Updates the register array with a given hash.
+     *
+     * @param  hash  hash value
+     */
+    private void addRegister( long hash ) {
+        int index = (int) ( hash >>> ( 64 - precision_ ) );
+        long w = ( hash << precision_ ) | ( 1L << ( precision_ - 1 ) );
+        byte rho = (byte) ( Long.numberOfLeadingZeros( w ) + 1 );
+        if ( rho > registers_[ index ] ) {
+            registers_[ index ] = rho;
+        }
+    }
+
+    /**
+     * Inserts a non-zero hash into the exact hash table.
+     *
+     * @param  hash  non-zero hash value
+     * @return  true iff the hash was not already present
+     */
+    private boolean insertHash( long hash ) {
+        int mask = hashes_.length - 1;
+        for ( int i = (int) hash & mask; ; i = ( i + 1 ) & mask ) {
+            long h = hashes_[ i ];
+            if ( h == 0 ) {
+                hashes_[ i ] = hash;
+                nhash_++;
+                return true;
+            }
+            else if ( h == hash ) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Resizes the exact hash table.
+     *
+     * @param  size  new table size, a power of 2
+     */
+    private void rehash( int size ) {
+        long[] old = hashes_;
+        hashes_ = new long[ size ];
+        nhash_ = 0;
+        for ( long hash : old ) {
+            if ( hash != 0 ) {
+                insertHash( hash );
+            }
+        }
+    }
+
+    /**
+     * Converts from the exact representation to the register array.
+     */
+    private void toRegisters() {
+        registers_ = new byte[ nreg_ ];
+        for ( long hash : hashes_ ) {
+            if ( hash != 0 ) {
+                addRegister( hash );
+            }
+        }
+        if ( hasZero_ ) {
+            addRegister( 0 );
+        }
+        hashes_ = null;
+        nhash_ = 0;
+        hasZero_ = false;
+    }
+}
@@ -149,6 +149,7 @@ public class JELColumnSupplement implements ColumnSupplement {
 
     /**
      * JEL row reader which also functions as a SupplementData.
+     * Like the RowData it uses, instances of this class are not thread-safe.
      */
     private static class JELSupplementData extends StarTableJELRowReader
                                            implements SupplementData {
@@ -184,6 +185,12 @@ public class JELColumnSupplement implements ColumnSupplement {
             return rdata_.getCell( icol );
         }
 
+        // StarTableJELRowReader method
+        @Override
+        protected RowData getRowData() {
+            return rdata_;
+        }
+
         // SupplementData method
         public Object getCell( long irow, int icol ) throws IOException {
             lrow_ = irow;
@@ -209,7 +216,7 @@ public class JELColumnSupplement implements ColumnSupplement {
         private Object evaluateAtCurrentRow( CompiledExpression compex )
                 throws IOException {
             try {
-                return evaluate( compex );
+                return evaluateUnsynchronized( compex );
             }
             catch ( RuntimeException e ) {
                 return null;
@@ -192,5 +192,25 @@ public class JELSelectorTable extends WrapperStarTable {
             }
             return false;
         }
+
+        @Override
+        public double getDouble( int icol ) throws IOException {
+            return baseSeq.getDouble( icol );
+        }
+
+        @Override
+        public long getLong( int icol ) throws IOException {
+            return baseSeq.getLong( icol );
+        }
+
+        @Override
+        public int getInt( int icol ) throws IOException {
+            return baseSeq.getInt( icol );
+        }
+
+        @Override
+        public boolean isNull( int icol ) throws IOException {
+            return baseSeq.isNull( icol );
+        }
     }
 }
@@ -0,0 +1,340 @@
+package uk.ac.starlink.ttools.filter;
+
+import gnu.jel.CompilationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import uk.ac.starlink.table.ColumnRange;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.ttools.jel.DummyJELRowReader;
+import uk.ac.starlink.ttools.jel.JELUtils;
+import uk.ac.starlink.ttools.jel.StarTableJELRowReader;
+
+/**
+ * Identifies simple numeric column range restrictions implied by a
+ * boolean JEL expression.
+ * The expression is split into its top-level conjuncts
+ * (terms joined by <code>&amp;&amp;</code> or <code>&amp;</code>),
+ * and any conjunct of the form <code>column op literal</code>
+ * or <code>literal op column</code>, where <code>op</code> is one of
+ * <code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code>,
+ * <code>&gt;=</code> or <code>==</code>, gives a range.
+ * Every row for which the expression is true satisfies all the
+ * returned ranges; other parts of the expression are ignored.
+ *
+ * <p>This is deliberately conservative: anything it does not
+ * understand yields no range rather than a wrong one.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class RangeExtractor {
+
+    private static final String IDENT_REGEX = "[A-Za-z_$][A-Za-z0-9_$]*";
+    private static final String NUMBER_REGEX =
+        "[-+]?(?:[0-9]+\\.?[0-9]*|\\.[0-9]+)(?:[eE][-+]?[0-9]+)?[fFdDlL]?";
+    private static final String OP_REGEX = "<=|>=|==|<|>";
+    private static final Pattern COL_OP_NUM_REGEX =
+        Pattern.compile( "\\s*(" + IDENT_REGEX + ")\\s*(" + OP_REGEX + ")"
+                       + "\\s*(" + NUMBER_REGEX + ")\\s*" );
+    private static final Pattern NUM_OP_COL_REGEX =
+        Pattern.compile( "\\s*(" + NUMBER_REGEX + ")\\s*(" + OP_REGEX + ")"
+                       + "\\s*(" + IDENT_REGEX + ")\\s*" );
+
+    /**
+     * Private constructor prevents instantiation.
+     */
+    private RangeExtractor() {
+    }
+
+    /**
+     * Returns column ranges that must be satisfied by all rows for
+     * which a given boolean expression evaluates true.
+     * If the expression refers to the row index, no ranges are returned,
+     * since restricting the rows would change its value.
+     *
+     * @param  table  table providing expression context
+     * @param  expr   boolean JEL expression
+     * @return   array of ranges, possibly empty
+     */
+    public static ColumnRange[] getRanges( StarTable table, String expr ) {
+        List<String> terms = splitConjuncts( expr );
+        if ( terms == null ) {
+            return new ColumnRange[ 0 ];
+        }
+        StarTableJELRowReader rdr = new DummyJELRowReader( table );
+        try {
+            JELUtils.checkExpressionType( JELUtils.getLibrary( rdr ), table,
+                                          expr, boolean.class );
+        }
+        catch ( CompilationException e ) {
+            return new ColumnRange[ 0 ];
+        }
+        if ( rdr.requiresRowIndex() ) {
+            return new ColumnRange[ 0 ];
+        }
+        List<ColumnRange> ranges = new ArrayList<>();
+        for ( String term : terms ) {
+            ColumnRange range = parseTerm( table, rdr, term );
+            if ( range != null ) {
+                ranges.add( range );
+            }
+        }
+        return ranges.toArray( new ColumnRange[ 0 ] );
+    }
+
+    /**
+     * Splits an expression into top-level conjuncts.
+     * Enclosing parentheses are removed, and parenthesised conjuncts
+     * are split recursively.
+     *
+     * @param  expr  expression
+     * @return  list of conjuncts, or null if the expression has
+     *          top-level operators of lower precedence than AND
+     */
+    static List<String> splitConjuncts( String expr ) {
+        String txt = stripParens( expr.trim() );
+        List<String> terms = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        int n = txt.length();
+        for ( int i = 0; i < n; i++ ) {
+            char c = txt.charAt( i );
+            if ( c == '"' || c == '\'' ) {
+                i = skipQuoted( txt, i );
+                if ( i < 0 ) {
+                    return null;
+                }
+            }
+            else if ( c == '(' ) {
+                depth++;
+            }
+            else if ( c == ')' ) {
+                depth--;
+            }
+            else if ( depth == 0 ) {
+                if ( c == '|' || c == '^' || c == '?' ) {
+                    return null;
+                }
+                else if ( c == '&' ) {
+                    addConjuncts( terms, txt.substring( start, i ) );
+                    if ( i + 1 < n && txt.charAt( i + 1 ) == '&' ) {
+                        i++;
+                    }
+                    start = i + 1;
+                }
+            }
+        }
+        if ( depth != 0 ) {
+            return null;
+        }
+        if ( terms.isEmpty() ) {
+            terms.add( txt );
+        }
+        else {
+            addConjuncts( terms, txt.substring( start ) );
+        }
+        return terms;
+    }
+
+    /**
+     * Adds the conjuncts of a term to a list.  If the term cannot be
+     * split further, it is added as is.
+     *
+     * @param  terms  list to add to
+     * @param  term   conjunct, which may itself contain conjuncts
+     */
+    private static void addConjuncts( List<String> terms, String term ) {
+        List<String> subTerms = splitConjuncts( term );
+        if ( subTerms == null ) {
+            terms.add( term );
+        }
+        else {
+            terms.addAll( subTerms );
+        }
+    }
+
+    /**
+     * Removes parentheses enclosing a whole expression.
+     *
+     * @param  txt  trimmed expression text
+     * @return  text without enclosing parentheses
+     */
+    private static String stripParens( String txt ) {
+        while ( txt.length() > 1 && txt.charAt( 0 ) == '('
+                                 && matchingParen( txt, 0 )
+                                    == txt.length() - 1 ) {
+            txt = txt.substring( 1, txt.length() - 1 ).trim();
+        }
+        return txt;
+    }
+
+    /**
+     * Returns the index of the parenthesis that closes one at a given
+     * position.
+     *
+     * @param  txt  text
+     * @param  iopen  index of an open parenthesis
+     * @return  index of matching close parenthesis, or -1
+     */
+    private static int matchingParen( String txt, int iopen ) {
+        int depth = 0;
+        for ( int i = iopen; i >= 0 && i < txt.length(); i++ ) {
+            char c = txt.charAt( i );
+            if ( c == '"' || c == '\'' ) {
+                i = skipQuoted( txt, i );
+            }
+            else if ( c == '(' ) {
+                depth++;
+            }
+            else if ( c == ')' && --depth == 0 ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the closing quote of a quoted literal.
+     *
+     * @param  txt  text
+     * @param  iquote  index of opening quote character
+     * @return  index of closing quote, or -1 if unterminated
+     */
+    private static int skipQuoted( String txt, int iquote ) {
+        char quote = txt.charAt( iquote );
+        for ( int i = iquote + 1; i < txt.length(); i++ ) {
+            char c = txt.charAt( i );
+            if ( c == '\\' ) {
+                i++;
+            }
+            else if ( c == quote ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Attempts to interpret a single conjunct as a column range.
+     *
+     * @param  table  context table
+     * @param  rdr   row reader used to resolve column names
+     * @param  term  conjunct text
+     * @return  range, or null if the term is not a simple comparison
+     */
+    private static ColumnRange parseTerm( StarTable table,
+                                          StarTableJELRowReader rdr,
+                                          String term ) {
+        term = stripParens( term.trim() );
+        String name;
+        String op;
+        String num;
+        Matcher colFirst = COL_OP_NUM_REGEX.matcher( term );
+        Matcher numFirst = NUM_OP_COL_REGEX.matcher( term );
+        if ( colFirst.matches() ) {
+            name = colFirst.group( 1 );
+            op = colFirst.group( 2 );
+            num = colFirst.group( 3 );
+        }
+        else if ( numFirst.matches() ) {
+            name = numFirst.group( 3 );
+            op = reverseOperator( numFirst.group( 2 ) );
+            num = numFirst.group( 1 );
+        }
+        else {
+            return null;
+        }
+
+        /* Identify the column using the same rules as expression
+         * compilation, so that specials and prefixed names are not
+         * mistaken for columns. */
+        Object ref = rdr.translate( name );
+        if ( ! ( ref instanceof Integer ) ) {
+            return null;
+        }
+        int icol = ((Integer) ref).intValue();
+        if ( icol < 0 || icol >= table.getColumnCount() ) {
+            return null;
+        }
+        Class<?> clazz = table.getColumnInfo( icol ).getContentClass();
+        if ( ! Number.class.isAssignableFrom( clazz ) ) {
+            return null;
+        }
+        double value = parseLiteral( num );
+        if ( Double.isNaN( value ) ) {
+            return null;
+        }
+        final double ninf = Double.NEGATIVE_INFINITY;
+        final double pinf = Double.POSITIVE_INFINITY;
+        switch ( op ) {
+            case "<":
+                return new ColumnRange( icol, ninf, false, value, false );
+            case "<=":
+                return new ColumnRange( icol, ninf, false, value, true );
+            case ">":
+                return new ColumnRange( icol, value, false, pinf, false );
+            case ">=":
+                return new ColumnRange( icol, value, true, pinf, false );
+            case "==":
+                return new ColumnRange( icol, value, true, value, true );
+            default:
+                assert false;
+                return null;
+        }
+    }
+
+    /**
+     * Returns the operator that gives the same result when the
+     * operands of a comparison are swapped.
+     *
+     * @param  op  comparison operator
+     * @return  reversed operator
+     */
+    private static String reverseOperator( String op ) {
+        switch ( op ) {
+            case "<":
+                return ">";
+            case "<=":
+                return ">=";
+            case ">":
+                return "<";
+            case ">=":
+                return "<=";
+            default:
+                return op;
+        }
+    }
+
+    /**
+     * Parses a numeric literal the way the expression compiler would.
+     * Literals whose value might be interpreted differently,
+     * such as octal integers, give NaN.
+     *
+     * @param  num  literal text
+     * @return  numeric value, or NaN
+     */
+    private static double parseLiteral( String num ) {
+        String digits = num.replaceFirst( "^[-+]", "" );
+        if ( digits.matches( "0[0-9]+[lL]?" ) ) {
+            return Double.NaN;
+        }
+        char suffix = num.charAt( num.length() - 1 );
+        try {
+            if ( suffix == 'f' || suffix == 'F' ) {
+                return Float.parseFloat( num );
+            }
+            else if ( suffix == 'l' || suffix == 'L' ) {
+                return Long.parseLong( num.substring( 0, num.length() - 1 )
+                                          .replaceFirst( "^\\+", "" ) );
+            }
+            else {
+                return Double.parseDouble( num );
+            }
+        }
+        catch ( NumberFormatException e ) {
+            return Double.NaN;
+        }
+    }
+}
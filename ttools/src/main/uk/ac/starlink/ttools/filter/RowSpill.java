@@ -0,0 +1,317 @@
+package uk.ac.starlink.ttools.filter;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ByteStore;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.ValueInfo;
+import uk.ac.starlink.table.storage.ByteStoreAccess;
+import uk.ac.starlink.table.storage.Codec;
+import uk.ac.starlink.table.storage.FileByteStore;
+import uk.ac.starlink.table.storage.NioByteStoreAccess;
+import uk.ac.starlink.util.DataBufferedOutputStream;
+
+/**
+ * Append-only sequential store for rows that do not fit in memory.
+ * Rows are serialized using a fixed array of {@link Codec}s,
+ * one per column, to a temporary file-backed {@link ByteStore},
+ * and can be read back in order any number of times.
+ * It is intended for temporary spill data during out-of-core
+ * processing, so there is no random access and no table metadata.
+ *
+ * <p>Instances of this class are not thread-safe.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class RowSpill {
+
+    private final Codec[] codecs_;
+    private final int ncol_;
+    private final ByteStore byteStore_;
+    private final DataBufferedOutputStream out_;
+    private long nrow_;
+    private long nbyte_;
+    private boolean isWriteEnded_;
+    private boolean isClosed_;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.filter" );
+
+    /**
+     * Constructor.  A new temporary file is created to hold the data.
+     *
+     * @param  codecs  per-column serializers
+     */
+    public RowSpill( Codec[] codecs ) throws IOException {
+        codecs_ = codecs.clone();
+        ncol_ = codecs.length;
+        byteStore_ = new FileByteStore();
+        out_ = new DataBufferedOutputStream( byteStore_.getOutputStream() );
+    }
+
+    /**
+     * Appends a row to this store.
+     *
+     * @param  row  row data, with one element per codec
+     */
+    public void write( Object[] row ) throws IOException {
+        if ( isWriteEnded_ ) {
+            throw new IllegalStateException( "Writing has ended" );
+        }
+        for ( int ic = 0; ic < ncol_; ic++ ) {
+            nbyte_ += codecs_[ ic ].encode( row[ ic ], out_ );
+        }
+        nrow_++;
+    }
+
+    /**
+     * Indicates that no more rows will be written.
+     * This releases the file descriptor used for output,
+     * which may be important if many instances are in existence,
+     * but the data remains available for reading.
+     */
+    public void endWrite() throws IOException {
+        if ( ! isWriteEnded_ ) {
+            isWriteEnded_ = true;
+            out_.close();
+        }
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return  row count
+     */
+    public long getRowCount() {
+        return nrow_;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return  byte count
+     */
+    public long getByteCount() {
+        return nbyte_;
+    }
+
+    /**
+     * Returns a sequence over the rows written so far.
+     * Rows written after this call will not appear in the sequence.
+     * Each call to <code>next</code> returns a new row array,
+     * so rows may be retained by the caller without cloning.
+     *
+     * @return  new row sequence
+     */
+    public RowSequence createRowSequence() throws IOException {
+        if ( ! isWriteEnded_ ) {
+            out_.flush();
+        }
+        final long nrow = nrow_;
+        final ByteStoreAccess access =
+            NioByteStoreAccess.createAccess( byteStore_.toByteBuffers() );
+        return new RowSequence() {
+            long irow_;
+            Object[] row_;
+            public boolean next() throws IOException {
+                if ( irow_ < nrow ) {
+                    irow_++;
+                    row_ = new Object[ ncol_ ];
+                    for ( int ic = 0; ic < ncol_; ic++ ) {
+                        row_[ ic ] = codecs_[ ic ].decodeObject( access );
+                    }
+                    return true;
+                }
+                else {
+                    row_ = null;
+                    return false;
+                }
+            }
+            public Object[] getRow() {
+                if ( row_ != null ) {
+                    return row_;
+                }
+                else {
+                    throw new IllegalStateException( "No current row" );
+                }
+            }
+            public Object getCell( int icol ) {
+                return getRow()[ icol ];
+            }
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Discards the data in this store and deletes its backing file.
+     * This object may not be used following a call to this method.
+     * Calling this method more than once has no further effect.
+     */
+    public void close() {
+        if ( isClosed_ ) {
+            return;
+        }
+        isClosed_ = true;
+        try {
+            endWrite();
+        }
+        catch ( IOException e ) {
+            logger_.warning( "Spill close error: " + e );
+        }
+        byteStore_.close();
+    }
+
+    /**
+     * Returns an array of codecs suitable for spilling rows with
+     * the given metadata, if possible.
+     *
+     * @param  infos  per-column metadata
+     * @return  per-column codecs, or null if any column
+     *          cannot be serialized
+     */
+    public static Codec[] getCodecs( ValueInfo[] infos ) {
+        Codec[] codecs = new Codec[ infos.length ];
+        for ( int ic = 0; ic < infos.length; ic++ ) {
+            codecs[ ic ] = getCodec( infos[ ic ] );
+            if ( codecs[ ic ] == null ) {
+                return null;
+            }
+        }
+        return codecs;
+    }
+
+    /**
+     * Returns a codec suitable for spilling values with the given
+     * metadata, if possible.
+     * This is like {@link Codec#getCodec}, except that null values
+     * are preserved for String and floating point columns,
+     * so that they remain distinct from empty strings and NaNs,
+     * and strings are never truncated to the declared element size.
+     *
+     * @param  info  value metadata
+     * @return  codec, or null if values cannot be serialized
+     */
+    public static Codec getCodec( ValueInfo info ) {
+        Class<?> clazz = info.getContentClass();
+        if ( clazz == String.class ) {
+            return new NullFlagCodec( Codec.STRING, "" );
+        }
+        else if ( clazz == Double.class || clazz == Float.class ) {
+            return new NullFlagCodec( Codec.getCodec( info ), null );
+        }
+        else {
+            return Codec.getCodec( info );
+        }
+    }
+
+    /**
+     * Returns a rough estimate of the heap used by a cell value,
+     * for use in deciding when to spill.
+     *
+     * @param  value  cell value
+     * @return  approximate size in bytes
+     */
+    public static long estimateHeapSize( Object value ) {
+        if ( value == null ) {
+            return 0;
+        }
+        else if ( value instanceof String ) {
+            return 40 + 2 * ((String) value).length();
+        }
+        else if ( value.getClass().isArray() ) {
+            int n = Array.getLength( value );
+            Class<?> clazz = value.getClass().getComponentType();
+            long size = 16;
+            if ( clazz == byte.class || clazz == boolean.class ) {
+                size += n;
+            }
+            else if ( clazz == short.class || clazz == char.class ) {
+                size += 2 * n;
+            }
+            else if ( clazz == int.class || clazz == float.class ) {
+                size += 4 * n;
+            }
+            else if ( clazz.isPrimitive() ) {
+                size += 8 * n;
+            }
+            else {
+                for ( int i = 0; i < n; i++ ) {
+                    size += 8 + estimateHeapSize( Array.get( value, i ) );
+                }
+            }
+            return size;
+        }
+        else {
+            return 24;
+        }
+    }
+
+    /**
+     * Codec which wraps another one, preceding each item with a flag byte
+     * so that null values can be distinguished from any value
+     * that the base codec may decode in their place.
+     */
+    private static class NullFlagCodec extends Codec {
+
+        private final Codec base_;
+        private final Object empty_;
+
+        /**
+         * Constructor.
+         *
+         * @param  base  codec for non-null values
+         * @param  empty  value to return for a non-null item
+         *                which the base codec decodes as null
+         */
+        NullFlagCodec( Codec base, Object empty ) {
+            base_ = base;
+            empty_ = empty;
+        }
+
+        public int encode( Object value, DataOutput out ) throws IOException {
+            if ( value == null ) {
+                out.writeByte( 0 );
+                return 1;
+            }
+            else {
+                out.writeByte( 1 );
+                return 1 + base_.encode( value, out );
+            }
+        }
+
+        public Object decodeObject( ByteStoreAccess in ) throws IOException {
+            if ( in.readByte() == 0 ) {
+                return null;
+            }
+            else {
+                Object value = base_.decodeObject( in );
+                return value == null ? empty_ : value;
+            }
+        }
+
+        public int decodeInt( ByteStoreAccess in ) throws IOException {
+            return in.readByte() == 0 ? 0 : base_.decodeInt( in );
+        }
+
+        public long decodeLong( ByteStoreAccess in ) throws IOException {
+            return in.readByte() == 0 ? 0 : base_.decodeLong( in );
+        }
+
+        public double decodeDouble( ByteStoreAccess in ) throws IOException {
+            return in.readByte() == 0 ? Double.NaN : base_.decodeDouble( in );
+        }
+
+        public boolean decodeBoolean( ByteStoreAccess in )
+                throws IOException {
+            return in.readByte() != 0 && base_.decodeBoolean( in );
+        }
+
+        public int getItemSize() {
+            return -1;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package uk.ac.starlink.ttools.filter;
 import gnu.jel.CompilationException;
 import java.io.IOException;
 import java.util.Iterator;
+import uk.ac.starlink.table.ColumnRange;
+import uk.ac.starlink.table.RangeRestrictable;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.ttools.jel.JELUtils;
 
@@ -47,6 +49,16 @@ public class SelectFilter extends BasicFilter {
             expr_ = expr;
         }
         public StarTable wrap( StarTable base ) throws IOException {
+
+            /* If the base table can skip rows cheaply, give it the chance
+             * to discard rows that the expression is bound to reject. */
+            if ( base instanceof RangeRestrictable ) {
+                ColumnRange[] ranges =
+                    RangeExtractor.getRanges( base, expr_ );
+                if ( ranges.length > 0 ) {
+                    base = ((RangeRestrictable) base).restrictRanges( ranges );
+                }
+            }
             try {
                 return new JELSelectorTable( base, expr_ );
             }
@@ -1,19 +1,18 @@
 package uk.ac.starlink.ttools.filter;
 
 import gnu.jel.CompilationException;
-import java.io.Closeable;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ColumnPermutedStarTable;
+import uk.ac.starlink.table.ExternalSortStarTable;
 import uk.ac.starlink.table.RowPermutedStarTable;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.task.TaskException;
 import uk.ac.starlink.ttools.Tokenizer;
-import uk.ac.starlink.ttools.jel.RandomJELEvaluator;
+import uk.ac.starlink.ttools.jel.JELTable;
 
 /**
  * Processing filter which sorts on one or more JEL expressions.
@@ -23,12 +22,16 @@ import uk.ac.starlink.ttools.jel.RandomJELEvaluator;
  */
 public class SortFilter extends BasicFilter {
 
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.filter" );
+
     /** Boundary for default sequential/parallel sort behaviour threshold. */
     private static final int PARALLEL_THRESHOLD = 100_000;
 
     public SortFilter() {
         super( "sort",
-               "[-down] [-nullsfirst] [-[no]parallel] " 
+               "[-down] [-nullsfirst] [-[no]parallel] "
+             + "[-external] [-runsize <nrows>] "
              + "<key-list>" );
     }
 
@@ -56,6 +59,23 @@ public class SortFilter extends BasicFilter {
             "and in parallel for large tables, but this can be controlled",
             "with the <code>-parallel</code> or <code>-noparallel</code> flag.",
             "</p>",
+            "<p>By default the whole table is cached in random-access storage",
+            "and sorted in memory.",
+            "If the <code>-external</code> flag is given, an external",
+            "merge sort is done instead:",
+            "the input is read once sequentially,",
+            "sorted runs of at most <code>&lt;nrows&gt;</code> rows",
+            "are written to temporary storage,",
+            "and the output rows are produced by merging those runs.",
+            "This bounds the memory required by the sort,",
+            "and may be a good idea for very large streamed inputs,",
+            "but the output table does not provide random access.",
+            "Tables with more than " + Tables.MAX_SORT_ROWS + " rows",
+            "are always sorted externally.",
+            "The run size can be set with the <code>-runsize</code> flag,",
+            "which implies <code>-external</code>;",
+            "the default is " + ExternalSortStarTable.DFLT_RUN_SIZE + ".",
+            "</p>",
             explainSyntax( new String[] { "key-list", } ),
         };
     }
@@ -65,6 +85,7 @@ public class SortFilter extends BasicFilter {
         boolean up = true;
         boolean nullsLast = true;
         Boolean isParallel = null;
+        int runSize = -1;
         String exprs = null;
         while ( argIt.hasNext() && exprs == null ) {
             String arg = argIt.next();
@@ -84,6 +105,27 @@ public class SortFilter extends BasicFilter {
                 argIt.remove();
                 isParallel = Boolean.FALSE;
             }
+            else if ( arg.equals( "-external" ) ) {
+                argIt.remove();
+                if ( runSize < 0 ) {
+                    runSize = ExternalSortStarTable.DFLT_RUN_SIZE;
+                }
+            }
+            else if ( arg.equals( "-runsize" ) && argIt.hasNext() ) {
+                argIt.remove();
+                String runTxt = argIt.next();
+                argIt.remove();
+                try {
+                    runSize = Integer.parseInt( runTxt );
+                }
+                catch ( NumberFormatException e ) {
+                    throw new ArgException( "<nrows> not numeric: " + runTxt );
+                }
+                if ( runSize <= 0 ) {
+                    throw new ArgException( "Non-positive <nrows>: "
+                                          + runSize );
+                }
+            }
             else if ( exprs == null ) {
                 argIt.remove();
                 exprs = arg;
@@ -106,7 +148,9 @@ public class SortFilter extends BasicFilter {
         }
 
         /* Return the appropriate step implementation. */
-        return new SortStep( keys, up, nullsLast, isParallel );
+        return runSize > 0
+             ? new ExternalSortStep( keys, up, nullsLast, runSize )
+             : new SortStep( keys, up, nullsLast, isParallel );
     }
 
     /**
@@ -127,157 +171,78 @@ public class SortFilter extends BasicFilter {
         }
 
         public StarTable wrap( StarTable baseTable ) throws IOException {
-            baseTable = Tables.randomTable( baseTable );
-            long lnrow = baseTable.getRowCount();
-            if ( lnrow > Integer.MAX_VALUE ) {
-                throw new UnsupportedOperationException( 
-                    "Sorry, can't sort tables with >2^31 rows" );
+
+            /* Tables too large to sort in memory are sorted externally. */
+            if ( baseTable.getRowCount() > Tables.MAX_SORT_ROWS ) {
+                logger_.info( "Too many rows for in-memory sort ("
+                            + baseTable.getRowCount() + ")"
+                            + " - using external sort" );
+                return new ExternalSortStep( keys_, up_, nullsLast_,
+                                             ExternalSortStarTable
+                                            .DFLT_RUN_SIZE )
+                      .wrap( baseTable );
             }
-            int nrow = (int) lnrow;
+            baseTable = Tables.randomTable( baseTable );
+            long nrow = baseTable.getRowCount();
             boolean isParallel = isParallel_ == null
                                ? nrow > PARALLEL_THRESHOLD
                                : isParallel_.booleanValue();
-            Number[] rowMap = new Number[ nrow ];
-            for ( int i = 0; i < nrow; i++ ) {
-                rowMap[ i ] = Integer.valueOf( i );
-            }
-            RowComparator keyComparator;
+            StarTable keyTable;
             try {
-                keyComparator = new RowComparator( baseTable, keys_, up_,
-                                                   nullsLast_, isParallel );
+                keyTable = JELTable.createJELTable( baseTable, keys_ );
             }
             catch ( CompilationException e ) {
                 throw (IOException) new IOException( "Bad sort key(s)" )
                                    .initCause( e );
             }
-            try {
-                if ( isParallel ) {
-                    Arrays.parallelSort( rowMap, keyComparator );
-                }
-                else {
-                    Arrays.sort( rowMap, keyComparator );
-                }
-            }
-            catch ( SortException e ) {
-                throw e.asIOException();
-            }
-            finally {
-                keyComparator.close();
-            }
-            long[] rmap = new long[ nrow ];
-            for ( int i = 0; i < nrow; i++ ) {
-                rmap[ i ] = rowMap[ i ].longValue();
-            }
+            RowRunner runner = isParallel ? RowRunner.DEFAULT
+                                          : RowRunner.SEQUENTIAL;
+            long[] rmap =
+                Tables.getSortedOrder( keyTable, up_, nullsLast_, runner );
             return new RowPermutedStarTable( baseTable, rmap );
         }
     }
 
-    /** 
-     * Comparator which will compare two objects which are Numbers 
-     * representing row indices of a given table.
+    /**
+     * Step implementation which sorts rows using an external merge sort.
      */
-    private static class RowComparator
-            implements Comparator<Number>, Closeable {
-
-        final int nexpr_;
-        final RandomJELEvaluator[] evaluators_;
+    private static class ExternalSortStep implements ProcessingStep {
+        final String[] keys_;
         final boolean up_;
         final boolean nullsLast_;
+        final int runSize_;
 
-        /**
-         * Constructor.
-         *
-         * @param  table  table whose rows are to be examined
-         * @param  keys   array of column identifiers; first is most
-         *                significant for ordering, second next, etc
-         * @param   up  true for sorting into ascending order, false for
-         *          descending order
-         * @param   nullsLast  true if blank values should be considered
-         *          last in the collation order, false if they should
-         *          be considered first
-         */
-        public RowComparator( StarTable table, String[] keys, boolean up,
-                              boolean nullsLast, boolean isParallel )
-                throws CompilationException, IOException {
-            nexpr_ = keys.length;
+        ExternalSortStep( String[] keys, boolean up, boolean nullsLast,
+                          int runSize ) {
+            keys_ = keys;
             up_ = up;
             nullsLast_ = nullsLast;
-            evaluators_ = new RandomJELEvaluator[ nexpr_ ];
-            for ( int ie = 0; ie < nexpr_; ie++ ) {
-                evaluators_[ ie ] =
-                    RandomJELEvaluator
-                   .createEvaluator( table, keys[ ie ], isParallel );
-            }
+            runSize_ = runSize;
         }
 
-        public void close() throws IOException {
-            for ( RandomJELEvaluator rev : evaluators_ ) {
-                rev.close();
-            }
-        }
-
-        public int compare( Number o1, Number o2 ) {
-            long row1 = o1.longValue();
-            long row2 = o2.longValue();
-            int c = 0;
-            for ( int i = 0; i < nexpr_ && c == 0; i++ ) { 
-                RandomJELEvaluator evaluator = evaluators_[ i ];
-                Object val1;
-                Object val2;
-                try {
-                    val1 = evaluator.evaluateObject( row1 );
-                    val2 = evaluator.evaluateObject( row2 );
-                }
-                catch ( IOException e ) {
-                    throw new SortException( "Sort error", e );
-                }
-                try {
-                    c = compareValues( val1, val2 );
-                }
-                catch ( ClassCastException e ) {
-                    throw new SortException( 
-                        "Expression comparison error during sorting", e );
-                }
-            }
-            return up_ ? c : -c;
-        }
-
-        /**
-         * Compares the actual cell values.
-         */
-        @SuppressWarnings("unchecked")
-        private int compareValues( Object o1, Object o2 ) {
-            boolean null1 = Tables.isBlank( o1 );
-            boolean null2 = Tables.isBlank( o2 );
-            if ( null1 && null2 ) {
-                return 0;
-            }
-            else if ( null1 ) {
-                return nullsLast_ ? +1 : -1;
-            }
-            else if ( null2 ) {
-                return nullsLast_ ? -1 : +1;
-            }
-            else {
-                return ((Comparable<Object>) o1).compareTo( (Comparable) o2 );
-            }
-        }
-    }
+        public StarTable wrap( StarTable baseTable ) throws IOException {
 
-    /**
-     * Helper class defining private exception type.
-     * Used to smuggle a checked exception out of a sort comparison.
-     */
-    private static class SortException extends RuntimeException {
-        SortException( String msg, Throwable e ) {
-            super( msg, e );
-        }
-        IOException asIOException() {
-            Throwable error = getCause();
-            return error instanceof IOException
-                 ? (IOException) error
-                 : (IOException) new IOException( error.getMessage() )
-                                .initCause( error );
+            /* Append the key values as extra columns, so that they are
+             * calculated only once and stored along with the rows. */
+            int ncol = baseTable.getColumnCount();
+            int nkey = keys_.length;
+            ColumnSupplement keySup =
+                new JELColumnSupplement( baseTable, keys_, null );
+            StarTable keyedTable = new AddColumnsTable( baseTable, keySup );
+            int[] keyCols = new int[ nkey ];
+            for ( int ik = 0; ik < nkey; ik++ ) {
+                keyCols[ ik ] = ncol + ik;
+            }
+
+            /* Sort, then remove the key columns. */
+            StarTable sortedTable =
+                new ExternalSortStarTable( keyedTable, keyCols, up_,
+                                           nullsLast_, runSize_, null );
+            int[] colMap = new int[ ncol ];
+            for ( int ic = 0; ic < ncol; ic++ ) {
+                colMap[ ic ] = ic;
+            }
+            return new ColumnPermutedStarTable( sortedTable, colMap );
         }
     }
 }
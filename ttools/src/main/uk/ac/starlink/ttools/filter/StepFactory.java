@@ -44,6 +44,7 @@ public class StepFactory {
         filterFactory_.register( "colmeta", pkg + "ColumnMetadataFilter" );
         filterFactory_.register( "constcol", pkg + "ConstFilter" );
         filterFactory_.register( "delcols", pkg + "DeleteColumnFilter" );
+        filterFactory_.register( "distinct", pkg + "DistinctFilter" );
         filterFactory_.register( "every", pkg + "EveryFilter" );
         filterFactory_.register( "explodecols", pkg + "ExplodeColsFilter" );
         filterFactory_.register( "explodeall", pkg + "ExplodeAllFilter" );
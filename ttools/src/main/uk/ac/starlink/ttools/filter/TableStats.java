@@ -119,13 +119,10 @@ public class TableStats {
                 while ( rseq.next() ) {
                     for ( int jc = 0; jc < njc; jc++ ) {
                         int ic = madIcols[ jc ];
-                        Object value = rseq.getCell( ic );
-                        if ( value instanceof Number ) {
-                            double dval = ((Number) value).doubleValue();
-                            if ( !Double.isNaN( dval ) ) {
-                                double dm = Math.abs( dval - medians[ ic ] );
-                                qs[ ic ].acceptDatum( dm );
-                            }
+                        double dval = rseq.getDouble( ic );
+                        if ( !Double.isNaN( dval ) ) {
+                            double dm = Math.abs( dval - medians[ ic ] );
+                            qs[ ic ].acceptDatum( dm );
                         }
                     }
                 }
@@ -196,10 +193,9 @@ public class TableStats {
             long nr = 0;
             while ( rseq.next() ) {
                 nr++;
-                Object[] row = rseq.getRow();
                 long irow = rowIndex == null ? -1 : rowIndex.getAsLong();
                 for ( int icol = 0; icol < ncol_; icol++ ) {
-                    colStats[ icol ].acceptDatum( row[ icol ], irow );
+                    colStats[ icol ].acceptCell( rseq, icol, irow );
                 }
             }
             tstats.nrow_ += nr;
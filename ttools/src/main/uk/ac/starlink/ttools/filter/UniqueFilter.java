@@ -46,6 +46,10 @@ public class UniqueFilter extends BasicFilter {
             "input rows represented by each output row.  A unique row",
             "has a " + COUNT_INFO.getName() + " value of 1.",
             "</p>",
+            "<p>To eliminate duplicate rows wherever they occur in the table,",
+            "rather than only adjacent ones, use the",
+            "<ref id='distinct'><code>distinct</code></ref> filter.",
+            "</p>",
             explainSyntax( new String[] { "colid-list", } ),
         };
     }
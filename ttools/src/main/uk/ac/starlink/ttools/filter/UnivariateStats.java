@@ -1,8 +1,11 @@
 package uk.ac.starlink.ttools.filter;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.DoubleFunction;
 import java.util.function.Supplier;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.ValueInfo;
 import uk.ac.starlink.table.Tables;
 
@@ -30,6 +33,21 @@ public abstract class UnivariateStats {
      */
     public abstract void acceptDatum( Object value, long irow );
 
+    /**
+     * Submits the value of a cell in a row to the statistics accumulator.
+     * The default implementation calls {@link #acceptDatum acceptDatum}
+     * with the cell's object value, but implementations may
+     * override it to avoid object creation.
+     *
+     * @param   row   row data
+     * @param   icol  index of column in <code>row</code> to accumulate
+     * @param   irow    row index of input value
+     */
+    public void acceptCell( RowData row, int icol, long irow )
+            throws IOException {
+        acceptDatum( row.getCell( icol ), irow );
+    }
+
     /**
      * Adds the accumulated content of a second UnivariateStats object
      * to this one.
@@ -147,7 +165,7 @@ public abstract class UnivariateStats {
                                                boolean doCard ) {
  
         if ( Number.class.isAssignableFrom( clazz ) ) {
-            return new NumberStats( qSupplier, doCard );
+            return new NumberStats( clazz, qSupplier, doCard );
         }
         else if ( clazz == Boolean.class ) {
             return new BooleanStats();
@@ -449,6 +467,7 @@ public abstract class UnivariateStats {
         private Number max_;
         private long minPos_ = -1L;
         private long maxPos_ = -1L;
+        private final DoubleFunction<Number> boxer_;
         private final Quantiler quantiler_;
         private Set<Object> distincts_;
         private int ndistinct_;
@@ -457,11 +476,14 @@ public abstract class UnivariateStats {
         /**
          * Constructor.
          *
+         * @param  clazz  numeric value class
          * @param  qSupplier  quantile supplier if quantiles are required,
          *                    null if they are not
          * @param  doCard  whether to try to count distinct values
          */
-        public NumberStats( Supplier<Quantiler> qSupplier, boolean doCard ) {
+        public NumberStats( Class<?> clazz, Supplier<Quantiler> qSupplier,
+                            boolean doCard ) {
+            boxer_ = getBoxer( clazz );
             quantiler_ = qSupplier == null ? null : qSupplier.get();
             distincts_ = doCard ? new HashSet<Object>() : null;
             maxCard_ = MAX_CARDINALITY;
@@ -472,39 +494,103 @@ public abstract class UnivariateStats {
                 Number val = (Number) obj;
                 double dval = val.doubleValue();
                 if ( ! Double.isNaN( dval ) ) {
-                    nGood_++;
-                    double s1 = dval;
-                    double s2 = dval * s1;
-                    double s3 = dval * s2;
-                    double s4 = dval * s3;
-                    sum1_ += s1;
-                    sum2_ += s2;
-                    sum3_ += s3;
-                    sum4_ += s4;
-                    if ( ! ( dval >= dmin_ ) ) {  // note NaN handling
-                        dmin_ = dval;
-                        min_ = val;
-                        minPos_ = irow;
-                    }
-                    if ( ! ( dval <= dmax_ ) ) {  // note NaN handling
-                        dmax_ = dval;
-                        max_ = val;
-                        maxPos_ = irow;
-                    }
-                    if ( distincts_ != null ) {
-                        if ( ndistinct_ < maxCard_ ) {
-                            if ( distincts_.add( val ) ) {
-                                ndistinct_++;
-                            }
-                        }
-                        else {
-                            distincts_ = null;
-                        }
-                    }
-                    if ( quantiler_ != null ) {
-                        quantiler_.acceptDatum( dval );
+                    acceptGood( dval, val, irow );
+                }
+            }
+        }
+
+        /**
+         * Avoids creating a value object except where it is required
+         * for counting distinct values or recording a new extremum.
+         * The cell is only read once, since its value is not
+         * guaranteed to be the same on subsequent reads
+         * (for instance it may be a random expression).
+         */
+        @Override
+        public void acceptCell( RowData row, int icol, long irow )
+                throws IOException {
+            if ( distincts_ != null || boxer_ == null ) {
+                acceptDatum( row.getCell( icol ), irow );
+            }
+            else {
+                double dval = row.getDouble( icol );
+                if ( ! Double.isNaN( dval ) ) {
+                    Number val = ( dval >= dmin_ && dval <= dmax_ )
+                               ? null
+                               : boxer_.apply( dval );
+                    acceptGood( dval, val, irow );
+                }
+            }
+        }
+
+        /**
+         * Returns a function which turns a double value into a Number of
+         * a given class, if that can be done without loss of precision.
+         *
+         * @param  clazz  numeric class
+         * @return  boxing function, or null
+         */
+        private static DoubleFunction<Number> getBoxer( Class<?> clazz ) {
+            if ( clazz == Double.class ) {
+                return Double::valueOf;
+            }
+            else if ( clazz == Float.class ) {
+                return d -> Float.valueOf( (float) d );
+            }
+            else if ( clazz == Integer.class ) {
+                return d -> Integer.valueOf( (int) d );
+            }
+            else if ( clazz == Short.class ) {
+                return d -> Short.valueOf( (short) d );
+            }
+            else if ( clazz == Byte.class ) {
+                return d -> Byte.valueOf( (byte) d );
+            }
+            else {
+                return null;
+            }
+        }
+
+        /**
+         * Accumulates a non-blank value.
+         *
+         * @param  dval  numeric value, not NaN
+         * @param  val   object value; may be null only if it is not
+         *               required for extremum or distinct value recording
+         * @param  irow  row index of input value
+         */
+        private void acceptGood( double dval, Number val, long irow ) {
+            nGood_++;
+            double s1 = dval;
+            double s2 = dval * s1;
+            double s3 = dval * s2;
+            double s4 = dval * s3;
+            sum1_ += s1;
+            sum2_ += s2;
+            sum3_ += s3;
+            sum4_ += s4;
+            if ( ! ( dval >= dmin_ ) ) {  // note NaN handling
+                dmin_ = dval;
+                min_ = val;
+                minPos_ = irow;
+            }
+            if ( ! ( dval <= dmax_ ) ) {  // note NaN handling
+                dmax_ = dval;
+                max_ = val;
+                maxPos_ = irow;
+            }
+            if ( distincts_ != null ) {
+                if ( ndistinct_ < maxCard_ ) {
+                    if ( distincts_.add( val ) ) {
+                        ndistinct_++;
                     }
                 }
+                else {
+                    distincts_ = null;
+                }
+            }
+            if ( quantiler_ != null ) {
+                quantiler_.acceptDatum( dval );
             }
         }
 
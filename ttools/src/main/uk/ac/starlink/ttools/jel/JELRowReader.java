@@ -326,11 +326,67 @@ public abstract class JELRowReader extends DVMap {
      * The returned value is wrapped up as an object if the result of
      * the expression is a primitive.
      *
+     * <p>This method is synchronized, so that it can be called from
+     * multiple threads; subclasses whose instances are only used from
+     * a single thread may override it to call
+     * {@link #evaluateUnsynchronized} instead.
+     *
      * @param  compEx  compiled expression
      * @return   expression value at current row
      */
     public synchronized Object evaluate( CompiledExpression compEx )
              throws Throwable {
+        return evaluateUnsynchronized( compEx );
+    }
+
+    /**
+     * Evaluates a given compiled expression at the current row under the
+     * assumption that the expression represents a boolean value.
+     * The returned value is a boolean.  If a null value was encountered
+     * during evaluation, or the expression is not boolean-valued,
+     * false is returned.
+     *
+     * <p>This method is synchronized, so that it can be called from
+     * multiple threads; subclasses whose instances are only used from
+     * a single thread may override it to call
+     * {@link #evaluateBooleanUnsynchronized} instead.
+     *
+     * @param  compEx  numeric-valued compiled expression
+     * @return   expression value at current row
+     */
+    public synchronized boolean evaluateBoolean( CompiledExpression compEx )
+            throws Throwable {
+        return evaluateBooleanUnsynchronized( compEx );
+    }
+
+    /**
+     * Evaluates a given compiled expression at the current row under the 
+     * assumption that the expression represents a numeric value.
+     * The returned value is a double.  If a null value was encountered
+     * during evaluation, or the expression is not numeric, a NaN is returned.
+     *
+     * <p>This method is synchronized, so that it can be called from
+     * multiple threads; subclasses whose instances are only used from
+     * a single thread may override it to call
+     * {@link #evaluateDoubleUnsynchronized} instead.
+     *
+     * @param  compEx  numeric-valued compiled expression
+     * @return   expression value at current row
+     */
+    public synchronized double evaluateDouble( CompiledExpression compEx )
+             throws Throwable {
+        return evaluateDoubleUnsynchronized( compEx );
+    }
+
+    /**
+     * Does the work for {@link #evaluate} without acquiring this object's
+     * monitor.  It must only be called from a single thread at a time.
+     *
+     * @param  compEx  compiled expression
+     * @return   expression value at current row
+     */
+    protected final Object evaluateUnsynchronized( CompiledExpression compEx )
+             throws Throwable {
          try {
              isNullExpression_ = false;
              Object result = compEx.evaluate( args_ );
@@ -342,16 +398,15 @@ public abstract class JELRowReader extends DVMap {
     }
 
     /**
-     * Evaluates a given compiled expression at the current row under the
-     * assumption that the expression represents a boolean value.
-     * The returned value is a boolean.  If a null value was encountered
-     * during evaluation, or the expression is not boolean-valued,
-     * false is returned.
+     * Does the work for {@link #evaluateBoolean} without acquiring this
+     * object's monitor.  It must only be called from a single thread
+     * at a time.
      *
-     * @param  compEx  numeric-valued compiled expression
+     * @param  compEx  boolean-valued compiled expression
      * @return   expression value at current row
      */
-    public synchronized boolean evaluateBoolean( CompiledExpression compEx )
+    protected final boolean
+            evaluateBooleanUnsynchronized( CompiledExpression compEx )
             throws Throwable {
         if ( compEx.getType() == 0 ) {
             try {
@@ -369,15 +424,15 @@ public abstract class JELRowReader extends DVMap {
     }
 
     /**
-     * Evaluates a given compiled expression at the current row under the 
-     * assumption that the expression represents a numeric value.
-     * The returned value is a double.  If a null value was encountered
-     * during evaluation, or the expression is not numeric, a NaN is returned.
+     * Does the work for {@link #evaluateDouble} without acquiring this
+     * object's monitor.  It must only be called from a single thread
+     * at a time.
      *
      * @param  compEx  numeric-valued compiled expression
      * @return   expression value at current row
      */
-    public synchronized double evaluateDouble( CompiledExpression compEx )
+    protected final double
+            evaluateDoubleUnsynchronized( CompiledExpression compEx )
              throws Throwable {
         try {
             isNullExpression_ = false;
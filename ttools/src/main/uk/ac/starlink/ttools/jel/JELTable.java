@@ -199,6 +199,29 @@ public class JELTable extends WrapperStarTable {
                 }
                 return row_;
             }
+            @Override
+            public double getDouble( int icol ) throws IOException {
+                CompiledExpression compex = accCompexs[ icol ];
+
+                /* For numeric expressions, avoid wrapping the result
+                 * (char-valued expressions are not Numbers). */
+                int type = compex.getType();
+                if ( type >= 1 && type <= 7 && type != 2 ) {
+                    try {
+                        return jelReader.evaluateDouble( compex );
+                    }
+                    catch ( IOException | RuntimeException | Error e ) {
+                        throw e;
+                    }
+                    catch ( Throwable e ) {
+                        throw (IOException) new IOException( e.getMessage() )
+                                           .initCause( e );
+                    }
+                }
+                else {
+                    return RowData.super.getDouble( icol );
+                }
+            }
         };
     }
 
@@ -10,6 +10,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import uk.ac.starlink.table.RowAccess;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.StarTable;
 
 /**
@@ -200,6 +201,11 @@ public abstract class RandomJELEvaluator implements Closeable {
             return rowAccess_.getCell( icol );
         }
 
+        @Override
+        protected RowData getRowData() {
+            return rowAccess_;
+        }
+
         public void close() throws IOException {
             rowAccess_.close();
         }
@@ -211,7 +217,7 @@ public abstract class RandomJELEvaluator implements Closeable {
          */
         public Object evaluateObject() throws IOException {
             try {
-                return evaluate( compEx_ );
+                return evaluateUnsynchronized( compEx_ );
             }
             catch ( IOException e ) {
                 throw e;
@@ -228,7 +234,7 @@ public abstract class RandomJELEvaluator implements Closeable {
          */
         public double evaluateDouble() throws IOException {
             try {
-                return evaluateDouble( compEx_ );
+                return evaluateDoubleUnsynchronized( compEx_ );
             }
             catch ( IOException e ) {
                 throw e;
@@ -245,7 +251,7 @@ public abstract class RandomJELEvaluator implements Closeable {
          */
         public boolean evaluateBoolean() throws IOException {
             try {
-                return evaluateBoolean( compEx_ );
+                return evaluateBooleanUnsynchronized( compEx_ );
             }
             catch ( IOException e ) {
                 throw e;
@@ -3,6 +3,7 @@ package uk.ac.starlink.ttools.jel;
 import gnu.jel.CompiledExpression;
 import java.io.IOException;
 import uk.ac.starlink.table.RowAccess;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.StarTable;
 
 /**
@@ -68,7 +69,7 @@ public abstract class RandomJELRowReader extends StarTableJELRowReader {
     /**
      * Returns an instance that uses a RowAccess object from the table
      * for supplying data values.  This is only suitable for use from
-     * a single thread.
+     * a single thread, and evaluations do not synchronize.
      *
      * @param  table  table object
      * @param  racc   row access previously obtained from table
@@ -84,6 +85,25 @@ public abstract class RandomJELRowReader extends StarTableJELRowReader {
             public Object getCell( int icol ) throws IOException {
                 return racc.getCell( icol );
             }
+            @Override
+            protected RowData getRowData() {
+                return racc;
+            }
+            @Override
+            public Object evaluate( CompiledExpression compEx )
+                    throws Throwable {
+                return evaluateUnsynchronized( compEx );
+            }
+            @Override
+            public boolean evaluateBoolean( CompiledExpression compEx )
+                    throws Throwable {
+                return evaluateBooleanUnsynchronized( compEx );
+            }
+            @Override
+            public double evaluateDouble( CompiledExpression compEx )
+                    throws Throwable {
+                return evaluateDoubleUnsynchronized( compEx );
+            }
             public Object evaluateAtRow( CompiledExpression compEx, long lrow )
                     throws Throwable {
                 if ( lrow != lrow_ ) {
@@ -1,7 +1,9 @@
 package uk.ac.starlink.ttools.jel;
 
+import gnu.jel.CompiledExpression;
 import java.io.IOException;
 import java.util.function.LongSupplier;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
@@ -13,6 +15,12 @@ import uk.ac.starlink.table.StarTable;
  * taken out on its table, that is iteration should proceed using the
  * <code>next</code> and <code>close</code> methods.
  *
+ * <p>Like other row sequences, instances of this class are not
+ * safe for use from multiple threads, so the evaluation methods
+ * do not synchronize.  Where a table is processed in parallel,
+ * one instance should be used for each
+ * {@link uk.ac.starlink.table.RowSplittable} split.
+ *
  * @author   Mark Taylor (Starlink)
  * @since    8 Feb 2005
  */
@@ -67,6 +75,44 @@ public class SequentialJELRowReader extends StarTableJELRowReader
         return rseq_.getRow();
     } 
 
+    public double getDouble( int icol ) throws IOException {
+        return rseq_.getDouble( icol );
+    }
+
+    public long getLong( int icol ) throws IOException {
+        return rseq_.getLong( icol );
+    }
+
+    public int getInt( int icol ) throws IOException {
+        return rseq_.getInt( icol );
+    }
+
+    public boolean isNull( int icol ) throws IOException {
+        return rseq_.isNull( icol );
+    }
+
+    @Override
+    protected RowData getRowData() {
+        return rseq_;
+    }
+
+    @Override
+    public Object evaluate( CompiledExpression compEx ) throws Throwable {
+        return evaluateUnsynchronized( compEx );
+    }
+
+    @Override
+    public boolean evaluateBoolean( CompiledExpression compEx )
+            throws Throwable {
+        return evaluateBooleanUnsynchronized( compEx );
+    }
+
+    @Override
+    public double evaluateDouble( CompiledExpression compEx )
+            throws Throwable {
+        return evaluateDoubleUnsynchronized( compEx );
+    }
+
     public boolean next() throws IOException {
         lrow_++;
         return rseq_.next();
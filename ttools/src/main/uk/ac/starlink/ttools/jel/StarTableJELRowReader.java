@@ -10,6 +10,7 @@ import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.DescribedValue;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
 
@@ -82,6 +83,7 @@ import uk.ac.starlink.table.Tables;
 public abstract class StarTableJELRowReader extends JELRowReader {
 
     private final StarTable table_;
+    private final RowData cellData_;
     private Map<String,ColMeta> colMetaMap_;
     private static final AtomicInteger seeder_ = new AtomicInteger();
     private static final Logger logger_ =
@@ -119,6 +121,19 @@ public abstract class StarTableJELRowReader extends JELRowReader {
      */
     public StarTableJELRowReader( StarTable table ) {
         table_ = table;
+        cellData_ = new RowData() {
+            public Object getCell( int icol ) throws IOException {
+                return StarTableJELRowReader.this.getCell( icol );
+            }
+            public Object[] getRow() throws IOException {
+                int ncol = table_.getColumnCount();
+                Object[] row = new Object[ ncol ];
+                for ( int icol = 0; icol < ncol; icol++ ) {
+                    row[ icol ] = getCell( icol );
+                }
+                return row;
+            }
+        };
     }
 
     /**
@@ -139,6 +154,25 @@ public abstract class StarTableJELRowReader extends JELRowReader {
      */
     protected abstract Object getCell( int icol ) throws IOException;
 
+    /**
+     * Returns an object supplying the cell values in this reader's table
+     * at the current row.
+     * Numeric column values referenced by expressions are acquired
+     * using its primitive accessor methods, such as
+     * {@link RowData#getDouble}.
+     *
+     * <p>The default implementation returns an object whose methods
+     * all delegate to {@link #getCell}.  Implementations which are
+     * backed by a RowData should override this method to return it,
+     * which avoids per-cell object creation for table implementations
+     * that can supply primitive values directly.
+     *
+     * @return  row data for the current row
+     */
+    protected RowData getRowData() {
+        return cellData_;
+    }
+
     /**
      * Returns the index of the row on which evaluations are currently
      * taking place.
@@ -280,7 +314,7 @@ public abstract class StarTableJELRowReader extends JELRowReader {
 
     protected boolean isBlank( int icol ) {
         try {
-            return Tables.isBlank( getCell( icol ) );
+            return getRowData().isNull( icol );
         }
         catch ( IOException e ) {
             e.printStackTrace();
@@ -547,25 +581,25 @@ public abstract class StarTableJELRowReader extends JELRowReader {
         return getBooleanValue( (Boolean) getCellValue( icol ) );
     }
     protected byte getByteColumnValue( int icol ) {
-        return getByteValue( (Byte) getCellValue( icol ) );
+        return (byte) getLongCellValue( icol );
     }
     protected char getCharColumnValue( int icol ) {
         return getCharValue( (Character) getCellValue( icol ) );
     }
     protected short getShortColumnValue( int icol ) {
-        return getShortValue( (Short) getCellValue( icol ) );
+        return (short) getLongCellValue( icol );
     }
     protected int getIntColumnValue( int icol ) {
-        return getIntValue( (Integer) getCellValue( icol ) );
+        return (int) getLongCellValue( icol );
     }
     protected long getLongColumnValue( int icol ) {
-        return getLongValue( (Long) getCellValue( icol ) );
+        return getLongCellValue( icol );
     }
     protected float getFloatColumnValue( int icol ) {
-        return getFloatValue( (Float) getCellValue( icol ) );
+        return (float) getDoubleCellValue( icol );
     }
     protected double getDoubleColumnValue( int icol ) {
-        return getDoubleValue( (Double) getCellValue( icol ) );
+        return getDoubleCellValue( icol );
     }
     protected Object getObjectColumnValue( int icol ) {
         return getCellValue( icol );
@@ -588,6 +622,50 @@ public abstract class StarTableJELRowReader extends JELRowReader {
         }
     }
 
+    /**
+     * Returns the numeric value of a cell in the current row without
+     * throwing checked errors.
+     *
+     * @param   icol  column index
+     * @return  cell value, or NaN
+     */
+    private double getDoubleCellValue( int icol ) {
+        try {
+            return getRowData().getDouble( icol );
+        }
+        catch ( IOException e ) {
+            logger_.warning( "Expression evaluation error: " + e );
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Returns the integer value of a cell in the current row without
+     * throwing checked errors.
+     * If the cell is blank, {@link #foundNull} is called.
+     *
+     * @param   icol  column index
+     * @return  cell value, or zero
+     */
+    private long getLongCellValue( int icol ) {
+        try {
+            RowData rdata = getRowData();
+            long value = rdata.getLong( icol );
+
+            /* Blank values are reported as zero, so only zero values
+             * need to be checked for nullness. */
+            if ( value == 0 && rdata.isNull( icol ) ) {
+                foundNull();
+            }
+            return value;
+        }
+        catch ( IOException e ) {
+            logger_.warning( "Expression evaluation error: " + e );
+            foundNull();
+            return 0L;
+        }
+    }
+
     /**
      * Returns a ColMeta object corresponding to the supplied column name.
      * There are no lexical restrictions on the form of the name,
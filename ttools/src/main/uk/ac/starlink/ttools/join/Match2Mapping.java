@@ -6,6 +6,7 @@ import java.util.Collection;
 import uk.ac.starlink.table.JoinFixAction;
 import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.table.ValueInfo;
 import uk.ac.starlink.table.join.JoinType;
@@ -13,14 +14,17 @@ import uk.ac.starlink.table.join.LinkSet;
 import uk.ac.starlink.table.join.MatchEngine;
 import uk.ac.starlink.table.join.MatchStarTables;
 import uk.ac.starlink.table.join.PairMode;
+import uk.ac.starlink.table.join.PartitionedSkyMatcher;
 import uk.ac.starlink.table.join.ProgressIndicator;
 import uk.ac.starlink.table.join.RowLink;
 import uk.ac.starlink.table.join.RowMatcher;
+import uk.ac.starlink.table.join.SkyMatchIndex;
 import uk.ac.starlink.task.ExecutionException;
 import uk.ac.starlink.task.TaskException;
 import uk.ac.starlink.ttools.jel.JELTable;
 import uk.ac.starlink.ttools.task.InputTableSpec;
 import uk.ac.starlink.ttools.task.TableMapping;
+import uk.ac.starlink.util.SplitPolicy;
 
 /**
  * TableMapping implementation which does the work of matching two tables.
@@ -40,6 +44,13 @@ public class Match2Mapping implements TableMapping {
     final ProgressIndicator progger_;
     final RowRunner runner_;
 
+    /**
+     * Name of system property which, if set "true", causes sky matches
+     * to be performed out of core by partitioning the input tables
+     * on disk, if the match engine permits.
+     */
+    public static final String PARTITION_PROP = "stilts.matchpartition";
+
     /**
      * Constructor.
      *
@@ -107,20 +118,38 @@ public class Match2Mapping implements TableMapping {
         makeSubTable( inTable1, exprTuple1_ );
         makeSubTable( inTable2, exprTuple2_ );
 
-        /* Now randomise the tables (currently required for the rest
-         * of the matching) and create the subtables for real. */
-        inTable1 = Tables.randomTable( inTable1 );
-        inTable2 = Tables.randomTable( inTable2 );
-        StarTable subTable1 = makeSubTable( inTable1, exprTuple1_ );
-        StarTable subTable2 = makeSubTable( inTable2, exprTuple2_ );
-
-        /* Do the match. */
-        RowMatcher matcher =
-            RowMatcher
-           .createMatcher( matchEngine_,
-                           new StarTable[] { subTable1, subTable2 }, runner_ );
-        matcher.setIndicator( progger_ );
-        LinkSet matches = matcher.findPairMatches( pairMode_ );
+        /* Do the match.  A partitioned match only needs to read each
+         * input sequentially, so in that case randomise the tables,
+         * as required for assembling the output, only afterwards. */
+        LinkSet matches;
+        if ( isPartitioned() &&
+             PartitionedSkyMatcher.isSupported( matchEngine_ ) ) {
+            StarTable[] subTables = new StarTable[] {
+                makeSubTable( inTable1, exprTuple1_ ),
+                makeSubTable( inTable2, exprTuple2_ ),
+            };
+            Runtime runtime = Runtime.getRuntime();
+            SplitPolicy policy = runner_ == null
+                               ? null
+                               : runner_.getSplitProcessor().getSplitPolicy();
+            int parallelism = policy == null
+                            ? 1
+                            : policy.getForkJoinPool().getParallelism();
+            PartitionedSkyMatcher pmatcher =
+                new PartitionedSkyMatcher( matchEngine_, subTables,
+                                           StoragePolicy.getDefaultPolicy(),
+                                           runtime.maxMemory() / 4,
+                                           parallelism );
+            pmatcher.setIndicator( progger_ );
+            matches = pmatcher.findPairMatches( pairMode_ );
+            inTable1 = Tables.randomTable( inTable1 );
+            inTable2 = Tables.randomTable( inTable2 );
+        }
+        else {
+            inTable1 = Tables.randomTable( inTable1 );
+            inTable2 = Tables.randomTable( inTable2 );
+            matches = findInMemoryMatches( inSpecs, inTable1, inTable2 );
+        }
         boolean addGroups = pairMode_.mayProduceGroups();
 
         /* Process the row link lists according to the chosen join type.
@@ -146,6 +175,63 @@ public class Match2Mapping implements TableMapping {
               .makeJoinTable( tables, links, addGroups, fixacts_, scoreInfo_ );
     }
 
+    /**
+     * Performs the match in memory using random-access tables.
+     *
+     * @param  inSpecs  input table specifications
+     * @param  inTable1  random-access first input table
+     * @param  inTable2  random-access second input table
+     * @return  pair matches
+     */
+    private LinkSet findInMemoryMatches( InputTableSpec[] inSpecs,
+                                         StarTable inTable1,
+                                         StarTable inTable2 )
+            throws IOException, TaskException, InterruptedException {
+        StarTable subTable1 = makeSubTable( inTable1, exprTuple1_ );
+        StarTable subTable2 = makeSubTable( inTable2, exprTuple2_ );
+
+        /* Do the match. */
+        RowMatcher matcher =
+            RowMatcher
+           .createMatcher( matchEngine_,
+                           new StarTable[] { subTable1, subTable2 }, runner_ );
+        matcher.setIndicator( progger_ );
+
+        /* Use persistent sky indexes for large inputs if enabled. */
+        MatchIndexCache indexCache = MatchIndexCache.getDefaultInstance();
+        if ( indexCache != null ) {
+            StarTable[] subTables = new StarTable[] { subTable1, subTable2 };
+            String[][] exprTuples =
+                new String[][] { exprTuple1_, exprTuple2_ };
+            for ( int i = 0; i < 2; i++ ) {
+                SkyMatchIndex index =
+                    indexCache.getIndex( inSpecs[ i ], subTables[ i ],
+                                         matchEngine_, exprTuples[ i ],
+                                         progger_ );
+                if ( index != null ) {
+                    matcher.setMatchIndex( i, index );
+                }
+            }
+        }
+        return matcher.findPairMatches( pairMode_ );
+    }
+
+    /**
+     * Indicates whether partitioned matching has been requested
+     * using the {@link #PARTITION_PROP} system property.
+     *
+     * @return  true iff partitioned matching is enabled
+     */
+    private static boolean isPartitioned() {
+        try {
+            return Boolean
+                  .parseBoolean( System.getProperty( PARTITION_PROP ) );
+        }
+        catch ( SecurityException e ) {
+            return false;
+        }
+    }
+
     /**
      * Creates a table containing the values which are required by the
      * matcher.  This typically consists of a few of the columns from
@@ -0,0 +1,151 @@
+package uk.ac.starlink.ttools.join;
+
+import java.io.File;
+import java.io.IOException;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.join.MatchEngine;
+import uk.ac.starlink.table.join.ProgressIndicator;
+import uk.ac.starlink.table.join.SkyMatchIndex;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+import uk.ac.starlink.ttools.task.DerivedFileCache;
+import uk.ac.starlink.ttools.task.InputTableSpec;
+
+/**
+ * Persistent cache of sky match indexes for large input tables.
+ *
+ * <p>When the same large reference catalogue is used repeatedly in
+ * sky matches, most of the work of each match goes into reading and
+ * binning the reference table.  This class builds a
+ * {@link SkyMatchIndex} for such a table on first use and stores it in
+ * a {@link DiskCache} directory, so that subsequent matches can
+ * look up candidate rows directly in the mapped index file.
+ *
+ * <p>Index files are managed by a {@link DerivedFileCache}, keyed by
+ * the input file along with the tuple expressions and match engine type.
+ * Only unfiltered local file inputs with at least {@link #MIN_ROWS}
+ * rows are indexed.
+ *
+ * <p>Caching is opt-in; the default instance is only available if
+ * the {@link #CACHE_PROP} system property is set to "true".
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class MatchIndexCache {
+
+    private final DerivedFileCache fileCache_;
+
+    /**
+     * Name of system property which, if set "true", enables
+     * persistent sky match indexes in the default cache directory.
+     */
+    public static final String CACHE_PROP = "stilts.matchindex";
+
+    /** Minimum row count for which a table will be indexed. */
+    public static final long MIN_ROWS = 1_000_000;
+
+    private static final String DIRNAME = "match-index";
+    private static final String SUFFIX = ".skyix";
+    private static MatchIndexCache dfltInstance_;
+    private static boolean dfltInit_;
+
+    /**
+     * Constructor.
+     *
+     * @param  cache  disk cache in which to store index files
+     */
+    public MatchIndexCache( DiskCache cache ) {
+        fileCache_ = new DerivedFileCache( cache, "X-", SUFFIX );
+    }
+
+    /**
+     * Returns the disk cache used by this object.
+     *
+     * @return  disk cache
+     */
+    public DiskCache getDiskCache() {
+        return fileCache_.getDiskCache();
+    }
+
+    /**
+     * Returns a sky match index for a given input table,
+     * building and storing it first if necessary.
+     * If the input is not suitable for indexing, or the index cannot
+     * be written, null is returned.
+     *
+     * @param  inSpec  input table specification
+     * @param  tupleTable  table of match tuples derived from the input
+     * @param  engine   match engine
+     * @param  tupleExprs  expressions defining the tuple table columns
+     * @param  progger   progress indicator
+     * @return  index for tupleTable, or null
+     */
+    public SkyMatchIndex getIndex( InputTableSpec inSpec, StarTable tupleTable,
+                                   MatchEngine engine, String[] tupleExprs,
+                                   ProgressIndicator progger )
+            throws IOException, InterruptedException {
+        if ( ! SkyMatchIndex.isSupported( engine ) ||
+             inSpec.getSteps().length > 0 ||
+             tupleTable.getRowCount() < MIN_ROWS ) {
+            return null;
+        }
+        File inFile = new File( inSpec.getLocation() );
+        if ( ! inFile.isFile() ) {
+            return null;
+        }
+        final long nrow = tupleTable.getRowCount();
+        final int order = SkyMatchIndex.getDefaultOrder( nrow );
+        StringBuffer dbuf = new StringBuffer()
+            .append( engine.getClass().getName() )
+            .append( "|" )
+            .append( order );
+        for ( String expr : tupleExprs ) {
+            dbuf.append( "|" )
+                .append( expr == null ? "" : expr.trim() );
+        }
+
+        /* An index file which does not match the table is rejected and
+         * rebuilt.  If the index can't be written, null is returned
+         * so that the match proceeds without it. */
+        return fileCache_.readCached(
+            inFile, dbuf.toString(),
+            f -> {
+                SkyMatchIndex index = SkyMatchIndex.readIndex( f );
+                return index.getRowCount() == nrow ? index : null;
+            },
+            f -> SkyMatchIndex.writeIndex( tupleTable, engine, order, f,
+                                           progger ) );
+    }
+
+    /**
+     * Returns a suitable cache directory for use with this class,
+     * given a base directory.
+     *
+     * @param   baseDir  base directory; if null, java.io.tmpdir is used
+     * @return  directory to which cache files can be written
+     */
+    public static File toCacheDir( File baseDir ) {
+        return DiskCache.toCacheDir( baseDir, DIRNAME );
+    }
+
+    /**
+     * Returns the default instance of this class,
+     * if match index caching has been enabled using the
+     * {@link #CACHE_PROP} system property.
+     *
+     * @return  default cache, or null if caching is not enabled
+     */
+    public static synchronized MatchIndexCache getDefaultInstance() {
+        if ( ! dfltInit_ ) {
+            dfltInit_ = true;
+            DiskCache cache =
+                DerivedFileCache
+               .createDefaultDiskCache( CACHE_PROP, DIRNAME,
+                                        "sky match index" );
+            if ( cache != null ) {
+                dfltInstance_ = new MatchIndexCache( cache );
+            }
+        }
+        return dfltInstance_;
+    }
+}
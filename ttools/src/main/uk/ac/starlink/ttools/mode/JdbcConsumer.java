@@ -21,6 +21,8 @@ public class JdbcConsumer implements TableConsumer {
     private final String url_;
     private final JDBCHandler handler_;
     private final WriteMode mode_;
+    private final int batchSize_;
+    private final int nconn_;
 
     /**
      * Constructs a new consumer from a location and a JDBC handler.
@@ -30,9 +32,25 @@ public class JdbcConsumer implements TableConsumer {
      * @param   mode   write mode
      */
     public JdbcConsumer( String url, JDBCHandler handler, WriteMode mode ) {
+        this( url, handler, mode, 1, 1 );
+    }
+
+    /**
+     * Constructs a new consumer with bulk loading options.
+     *
+     * @param   url  destination (jdbc:) URL for table
+     * @param   handler  JDBC handler
+     * @param   mode   write mode
+     * @param   batchSize  number of rows inserted per batch
+     * @param   nconn   number of concurrent inserting connections
+     */
+    public JdbcConsumer( String url, JDBCHandler handler, WriteMode mode,
+                         int batchSize, int nconn ) {
         url_ = url;
         handler_ = handler;
         mode_ = mode;
+        batchSize_ = batchSize;
+        nconn_ = nconn;
     }
 
     /**
@@ -51,7 +69,7 @@ public class JdbcConsumer implements TableConsumer {
 
     public void consume( StarTable table ) throws IOException {
         try {
-            handler_.createJDBCTable( table, url_, mode_ );
+            handler_.createJDBCTable( table, url_, mode_, batchSize_, nconn_ );
         }
         catch ( SQLException e ) {
             String msg = e.getMessage();
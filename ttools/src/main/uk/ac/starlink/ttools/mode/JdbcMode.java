@@ -3,10 +3,12 @@ package uk.ac.starlink.ttools.mode;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.jdbc.JDBCAuthenticator;
+import uk.ac.starlink.table.jdbc.JDBCFormatter;
 import uk.ac.starlink.table.jdbc.JDBCHandler;
 import uk.ac.starlink.table.jdbc.WriteMode;
 import uk.ac.starlink.task.ChoiceParameter;
 import uk.ac.starlink.task.Environment;
+import uk.ac.starlink.task.IntegerParameter;
 import uk.ac.starlink.task.Parameter;
 import uk.ac.starlink.task.StringParameter;
 import uk.ac.starlink.task.TaskException;
@@ -28,6 +30,8 @@ public class JdbcMode implements ProcessingMode {
     private final ChoiceParameter<WriteMode> writeParam_;
     private final StringParameter userParam_;
     private final StringParameter passwdParam_;
+    private final IntegerParameter batchParam_;
+    private final IntegerParameter nconnParam_;
 
     private final static Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.table.jdbc" );
@@ -128,6 +132,41 @@ public class JdbcMode implements ProcessingMode {
             "<p>Password for the SQL connection to the database.",
             "</p>",
         } );
+
+        batchParam_ = new IntegerParameter( "batch" );
+        batchParam_.setPrompt( "Number of rows inserted per batch" );
+        batchParam_.setMinimum( 1 );
+        batchParam_.setIntDefault( JDBCFormatter.DFLT_BATCH_SIZE );
+        batchParam_.setDescription( new String[] {
+            "<p>Number of rows sent to the database in each batch",
+            "when inserting data.",
+            "If greater than 1, JDBC batch updates are used,",
+            "and each batch is committed as a separate transaction",
+            "(where the driver supports these features),",
+            "which is usually much faster than inserting rows",
+            "one at a time.",
+            "If set to 1, each row is inserted with a separate",
+            "statement in autocommit mode.",
+            "</p>",
+        } );
+
+        nconnParam_ = new IntegerParameter( "nconn" );
+        nconnParam_.setPrompt( "Number of concurrent inserting connections" );
+        nconnParam_.setMinimum( 1 );
+        nconnParam_.setIntDefault( 1 );
+        nconnParam_.setDescription( new String[] {
+            "<p>Number of database connections used concurrently",
+            "to insert rows.",
+            "If greater than 1, batches of rows are shared between",
+            "several connections, which may speed up loading",
+            "large tables.",
+            "Since each batch is committed separately,",
+            "a failure part way through may leave some rows written.",
+            "This has no effect unless",
+            "<code>" + batchParam_.getName() + "</code>",
+            "is greater than 1.",
+            "</p>",
+        } );
     }
 
     public Parameter<?>[] getAssociatedParameters() {
@@ -139,6 +178,8 @@ public class JdbcMode implements ProcessingMode {
             writeParam_,
             userParam_,
             passwdParam_,
+            batchParam_,
+            nconnParam_,
         };
     }
 
@@ -166,11 +207,14 @@ public class JdbcMode implements ProcessingMode {
         final String user = userParam_.stringValue( env );
         final String passwd = passwdParam_.stringValue( env );
         final WriteMode mode = writeParam_.objectValue( env );
+        int batchSize = batchParam_.intValue( env );
+        int nconn = nconnParam_.intValue( env );
         JDBCAuthenticator auth = new JDBCAuthenticator() {
             public String[] authenticate() {
                 return new String[] { user, passwd };
             }
         };
-        return new JdbcConsumer( url, new JDBCHandler( auth ), mode );
+        return new JdbcConsumer( url, new JDBCHandler( auth ), mode,
+                                 batchSize, nconn );
     }
 }
@@ -559,7 +559,9 @@ public class PlotScene<P,A> {
 
         /* For each distinct point cloud that we're dealing with,
          * identify the closest plotted data point to the requested
-         * reference position. */
+         * reference position.  A spatial index is built and cached
+         * on first use, so that subsequent calls with the same data
+         * store are fast. */
         for ( SubCloud cloud : cloudMap.keySet() ) {
             DataGeom geom = cloud.getDataGeom();
             int iPosCoord = cloud.getPosCoordIndex();
@@ -569,7 +571,7 @@ public class PlotScene<P,A> {
                           PlotUtil.getClosestRow( surface, geom, iPosCoord,
                                                   tupleSupplier,
                                                   dataStore.getTupleRunner(),
-                                                  point ) );
+                                                  point, dataStore, cloud ) );
         }
 
         /* Go back to the list of clouds per layer and work out the closest
@@ -700,7 +700,72 @@ public class PlotUtil {
                                  ixdist.bestDpos_ );
     }
 
-    /**     
+    /**
+     * Identifies the data point which is plotted closest to a given
+     * graphics position, using a cached spatial index where possible.
+     * If the surface and data positions permit, a {@link PointIndex}
+     * for the point cloud is obtained (and built on first use)
+     * and only points within {@link #NEAR_PIXELS} of the reference
+     * position are examined; in this case null is returned if there
+     * are no points that near.  Otherwise, this behaves like the
+     * {@link #getClosestRow(Surface,DataGeom,int,Supplier,TupleRunner,Point2D)
+     * scanning} variant.
+     *
+     * @param  surface  plot surface
+     * @param  geom     maps data positions to graphics positions
+     * @param  iPosCoord   coordinate index of positional coords in tseq
+     * @param  tupleSupplier    iterable over tuples
+     * @param  runner    manages tuple iteration
+     * @param  point    reference graphics position
+     * @param  keyStore   data store from which the tuples are obtained,
+     *                    used as a cache key for the index
+     * @param  cloudKey   object identifying the point cloud within
+     *                    the data store, with suitable equality semantics
+     * @return   object giving row index and distance;
+     *           null is returned if no (near enough) points are present
+     */
+    @Slow
+    public static IndicatedRow
+            getClosestRow( Surface surface, DataGeom geom, int iPosCoord,
+                           Supplier<TupleSequence> tupleSupplier,
+                           TupleRunner runner, Point2D point,
+                           DataStore keyStore, Object cloudKey ) {
+        double[][] bounds =
+            PointIndex.getDataBounds( surface, point, NEAR_PIXELS + 1 );
+        PointIndex index =
+              bounds == null || bounds.length != geom.getDataDimCount()
+            ? null
+            : PointIndex.getIndex( keyStore, cloudKey, geom, iPosCoord,
+                                   tupleSupplier, runner );
+        if ( index == null ) {
+            return getClosestRow( surface, geom, iPosCoord, tupleSupplier,
+                                  runner, point );
+        }
+        IndexDist ixdist = new IndexDist();
+        Point2D.Double gp = new Point2D.Double();
+        double px = point.getX();
+        double py = point.getY();
+        index.visitPoints( bounds, ( irow, dpos ) -> {
+            if ( surface.dataToGraphics( dpos, true, gp ) ) {
+                double dx = gp.x - px;
+                double dy = gp.y - py;
+                double dist2 = dx * dx + dy * dy;
+                if ( dist2 < ixdist.bestDist2_ ) {
+                    ixdist.bestIndex_ = irow;
+                    ixdist.bestDist2_ = dist2;
+                    ixdist.bestDpos_ = dpos.clone();
+                }
+            }
+        } );
+        return ixdist.bestIndex_ < 0 ||
+               Thread.currentThread().isInterrupted()
+             ? null
+             : new IndicatedRow( ixdist.bestIndex_,
+                                 Math.sqrt( ixdist.bestDist2_ ),
+                                 ixdist.bestDpos_ );
+    }
+
+    /**
      * Creates an icon which will paint a surface and the layers on it.
      * If the <code>storedPlans</code> object is supplied, it may contain
      * plans from previous plots.  On exit, it will contain the plans
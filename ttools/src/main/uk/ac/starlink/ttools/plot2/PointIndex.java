@@ -0,0 +1,744 @@
+package uk.ac.starlink.ttools.plot2;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import uk.ac.starlink.ttools.plot2.data.DataStore;
+import uk.ac.starlink.ttools.plot2.data.TupleRunner;
+import uk.ac.starlink.ttools.plot2.data.TupleSequence;
+import uk.ac.starlink.ttools.plot2.geom.PlanarSurface;
+import uk.ac.starlink.ttools.plot2.geom.SkySurface;
+import uk.ac.starlink.util.SplitCollector;
+
+/**
+ * Spatial index over the data positions of a point cloud.
+ *
+ * <p>Positions are binned into a regular grid of cells covering their
+ * bounding box in data coordinates, and stored grouped by cell,
+ * so that the points within a given data-space box can be found
+ * with effort that scales roughly with the number of points in the box
+ * rather than the number in the whole cloud.
+ * For sky positions, which are unit vectors, the grid is sized on the
+ * assumption that only the cells near the surface of the unit sphere
+ * are occupied.
+ *
+ * <p>Building an index requires a full scan of the data, and it
+ * occupies about <code>8*ndim+4</code> bytes per point,
+ * so it is only worth it if the same cloud will be queried repeatedly,
+ * for instance by interactive point picking.
+ * Row indices are stored as 32-bit integers, so clouds containing
+ * rows beyond the 2<sup>31</sup>th cannot be indexed.
+ * The number of points that can be indexed is limited by the
+ * heap size; see {@link #getMaxPointCount}.
+ * The {@link #getIndex getIndex} method caches indices for this purpose.
+ *
+ * <p>Instances of this class are immutable and may be queried from
+ * multiple threads.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class PointIndex {
+
+    private final int ndim_;
+    private final int ncellDim_;
+    private final double[] lo_;
+    private final double[] hi_;
+    private final double[] cellScale_;
+    private final long[] cellIds_;
+    private final int[] cellStarts_;
+    private final int[] rowIndices_;
+    private final double[] coords_;
+
+    /** Approximate target number of points per occupied grid cell. */
+    private static final int POINTS_PER_CELL = 8;
+
+    /** Maximum number of grid cells along each dimension. */
+    private static final int MAX_CELLS_PER_DIM = 1 << 20;
+
+    /** Fraction of the maximum heap size that an index build may use. */
+    private static final double HEAP_FRACTION = 0.5;
+
+    /** Cache of indices by data store and cloud key. */
+    private static final Map<DataStore,Map<Object,Reference<PointIndex>>>
+        cache_ = new WeakHashMap<DataStore,Map<Object,Reference<PointIndex>>>();
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.plot2" );
+
+    /**
+     * Constructor.
+     *
+     * @param  points  accumulated point positions
+     */
+    private PointIndex( PointList points ) {
+        ndim_ = points.ndim_;
+        int np = points.np_;
+        double[] coords = points.coords_;
+        int[] rows = points.rows_;
+
+        /* Determine grid geometry. */
+        boolean isSphere = ndim_ == 3 && points.maxSphereDev_ < 1e-6;
+        int dEff = isSphere ? 2 : ndim_;
+        double ncellTarget = Math.max( 1.0, np / (double) POINTS_PER_CELL );
+        ncellDim_ =
+            (int) Math.max( 1,
+                            Math.min( MAX_CELLS_PER_DIM,
+                                      Math.ceil( Math.pow( ncellTarget,
+                                                           1.0 / dEff ) ) ) );
+        lo_ = points.lo_.clone();
+        hi_ = points.hi_.clone();
+        cellScale_ = new double[ ndim_ ];
+        for ( int id = 0; id < ndim_; id++ ) {
+            double lo = points.lo_[ id ];
+            double hi = points.hi_[ id ];
+            double width = hi > lo ? hi - lo : 1.0;
+            cellScale_[ id ] = ncellDim_ / width;
+        }
+
+        /* Assign each point to a cell, and identify the occupied cells. */
+        long[] pointCells = new long[ np ];
+        double[] dpos = new double[ ndim_ ];
+        for ( int ip = 0; ip < np; ip++ ) {
+            System.arraycopy( coords, ip * ndim_, dpos, 0, ndim_ );
+            pointCells[ ip ] = getCellId( dpos );
+        }
+        long[] sortedCells = pointCells.clone();
+        Arrays.parallelSort( sortedCells );
+        int nc = 0;
+        for ( int ip = 0; ip < np; ip++ ) {
+            if ( nc == 0 || sortedCells[ ip ] != sortedCells[ nc - 1 ] ) {
+                sortedCells[ nc++ ] = sortedCells[ ip ];
+            }
+        }
+        cellIds_ = Arrays.copyOf( sortedCells, nc );
+        sortedCells = null;
+
+        /* Counting sort the points by cell. */
+        int[] pointCellIndex = new int[ np ];
+        cellStarts_ = new int[ nc + 1 ];
+        for ( int ip = 0; ip < np; ip++ ) {
+            int ic = Arrays.binarySearch( cellIds_, pointCells[ ip ] );
+            pointCellIndex[ ip ] = ic;
+            cellStarts_[ ic + 1 ]++;
+        }
+        pointCells = null;
+        for ( int ic = 0; ic < nc; ic++ ) {
+            cellStarts_[ ic + 1 ] += cellStarts_[ ic ];
+        }
+        int[] fill = Arrays.copyOf( cellStarts_, nc );
+        rowIndices_ = new int[ np ];
+        coords_ = new double[ np * ndim_ ];
+        for ( int ip = 0; ip < np; ip++ ) {
+            int jp = fill[ pointCellIndex[ ip ] ]++;
+            rowIndices_[ jp ] = rows[ ip ];
+            System.arraycopy( coords, ip * ndim_, coords_, jp * ndim_, ndim_ );
+        }
+    }
+
+    /**
+     * Returns the dimensionality of the data positions indexed.
+     *
+     * @return  number of data coordinates per point
+     */
+    public int getDimCount() {
+        return ndim_;
+    }
+
+    /**
+     * Returns the number of points in this index.
+     *
+     * @return  point count
+     */
+    public long getPointCount() {
+        return rowIndices_.length;
+    }
+
+    /**
+     * Passes every point within a given box in data coordinates
+     * to a supplied visitor.
+     * The effort is roughly proportional to the number of points
+     * in the box.
+     *
+     * @param  bounds   ndim-element array of (lo,hi) pairs
+     *                  giving inclusive data coordinate bounds
+     * @param  visitor  callback for each point in the box
+     */
+    public void visitPoints( double[][] bounds, PointVisitor visitor ) {
+        int[] clo = new int[ ndim_ ];
+        int[] chi = new int[ ndim_ ];
+        long nbox = 1;
+        for ( int id = 0; id < ndim_; id++ ) {
+            double lo = bounds[ id ][ 0 ];
+            double hi = bounds[ id ][ 1 ];
+            if ( ! ( hi >= lo ) || hi < lo_[ id ] || lo > hi_[ id ] ) {
+                return;
+            }
+            clo[ id ] = getCellCoord( id, lo );
+            chi[ id ] = getCellCoord( id, hi );
+            nbox *= chi[ id ] - clo[ id ] + 1;
+        }
+        double[] dpos = new double[ ndim_ ];
+
+        /* If the box covers fewer grid cells than are occupied,
+         * look up each cell in the box. */
+        if ( nbox <= cellIds_.length ) {
+            int[] cpos = clo.clone();
+            for ( long ib = 0; ib < nbox; ib++ ) {
+                long cellId = 0;
+                for ( int id = ndim_ - 1; id >= 0; id-- ) {
+                    cellId = cellId * ncellDim_ + cpos[ id ];
+                }
+                int ic = Arrays.binarySearch( cellIds_, cellId );
+                if ( ic >= 0 ) {
+                    visitCell( ic, bounds, dpos, visitor );
+                }
+                for ( int id = 0; id < ndim_; id++ ) {
+                    if ( ++cpos[ id ] <= chi[ id ] ) {
+                        break;
+                    }
+                    cpos[ id ] = clo[ id ];
+                }
+            }
+        }
+
+        /* Otherwise, check each occupied cell against the box. */
+        else {
+            for ( int ic = 0; ic < cellIds_.length; ic++ ) {
+                long cellId = cellIds_[ ic ];
+                boolean isIn = true;
+                for ( int id = 0; id < ndim_ && isIn; id++ ) {
+                    int c = (int) ( cellId % ncellDim_ );
+                    cellId /= ncellDim_;
+                    isIn = c >= clo[ id ] && c <= chi[ id ];
+                }
+                if ( isIn ) {
+                    visitCell( ic, bounds, dpos, visitor );
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the points of a given cell that fall within a box
+     * to a visitor.
+     *
+     * @param  ic  index into occupied cell list
+     * @param  bounds   box bounds
+     * @param  dpos   workspace array of length ndim
+     * @param  visitor  callback
+     */
+    private void visitCell( int ic, double[][] bounds, double[] dpos,
+                            PointVisitor visitor ) {
+        for ( int ip = cellStarts_[ ic ]; ip < cellStarts_[ ic + 1 ]; ip++ ) {
+            boolean isIn = true;
+            for ( int id = 0; id < ndim_ && isIn; id++ ) {
+                double d = coords_[ ip * ndim_ + id ];
+                dpos[ id ] = d;
+                isIn = d >= bounds[ id ][ 0 ] && d <= bounds[ id ][ 1 ];
+            }
+            if ( isIn ) {
+                visitor.visitPoint( rowIndices_[ ip ], dpos );
+            }
+        }
+    }
+
+    /**
+     * Returns the grid cell identifier for a data position.
+     *
+     * @param  dpos  data position
+     * @return  cell identifier
+     */
+    private long getCellId( double[] dpos ) {
+        long cellId = 0;
+        for ( int id = ndim_ - 1; id >= 0; id-- ) {
+            cellId = cellId * ncellDim_ + getCellCoord( id, dpos[ id ] );
+        }
+        return cellId;
+    }
+
+    /**
+     * Returns the grid cell index along one dimension for a coordinate
+     * value.  Values outside the data range are clamped to the
+     * first or last cell.
+     *
+     * @param  id  dimension index
+     * @param  d   coordinate value
+     * @return   cell index in the range 0..ncellDim-1
+     */
+    private int getCellCoord( int id, double d ) {
+        double c = Math.floor( ( d - lo_[ id ] ) * cellScale_[ id ] );
+        return (int) Math.max( 0, Math.min( ncellDim_ - 1, c ) );
+    }
+
+    /**
+     * Returns the largest number of points that will be indexed
+     * for a given dimensionality, given the current maximum heap size.
+     * While an index is built, the accumulated positions,
+     * the index itself and some temporary arrays are held in memory
+     * together; this amounts to at most about
+     * <code>24*ndim+16</code> bytes per point,
+     * allowing for unused capacity in the growable accumulation arrays.
+     * The limit is set so that this fits into a fixed fraction of
+     * the heap.
+     *
+     * @param  ndim  number of data coordinates per point
+     * @return  maximum point count
+     */
+    public static long getMaxPointCount( int ndim ) {
+        long bytesPerPoint = 24 * ndim + 16;
+        long heapBytes =
+            (long) ( Runtime.getRuntime().maxMemory() * HEAP_FRACTION );
+        return Math.min( Integer.MAX_VALUE / ndim, heapBytes / bytesPerPoint );
+    }
+
+    /**
+     * Builds an index by scanning the positions in a point cloud.
+     * Null is returned if the index cannot be built, for instance
+     * because the data positions have an unsuitable dimensionality,
+     * there are too many points to fit comfortably in memory
+     * (see {@link #getMaxPointCount}), row indices are too large,
+     * or the thread is interrupted.
+     *
+     * @param  geom   maps tuples to data positions
+     * @param  iPosCoord  coordinate index of positional coords in tuples
+     * @param  tupleSupplier  iterable over tuples
+     * @param  runner   manages tuple iteration
+     * @return   new index, or null
+     */
+    @Slow
+    public static PointIndex createIndex( DataGeom geom, int iPosCoord,
+                                          Supplier<TupleSequence>
+                                              tupleSupplier,
+                                          TupleRunner runner ) {
+        int ndim = geom.getDataDimCount();
+        if ( ndim < 1 || ndim > 3 ) {
+            return null;
+        }
+
+        /* Limit the size so that the index and the temporary arrays
+         * used to build it fit in a fraction of the heap. */
+        long maxPoints = getMaxPointCount( ndim );
+        long start = System.currentTimeMillis();
+        PointIndex index;
+        try {
+            PointList points =
+                runner.collect( new PointCollector( geom, iPosCoord,
+                                                    maxPoints ),
+                                tupleSupplier );
+            if ( points.isOverflow_ ) {
+                logger_.info( "Too many points to index (>" + maxPoints
+                            + " for " + ndim + "-d positions"
+                            + " with current heap size of "
+                            + Runtime.getRuntime().maxMemory() / 1024 / 1024
+                            + "Mb); no index used" );
+                return null;
+            }
+            if ( points.isRowOverflow_ ) {
+                logger_.info( "Row indices too large to index"
+                            + " (>" + Integer.MAX_VALUE + "); no index used" );
+                return null;
+            }
+            if ( Thread.currentThread().isInterrupted() ) {
+                return null;
+            }
+            index = new PointIndex( points );
+            PlotUtil.logTimeFromStart( logger_,
+                                       "Index " + points.np_ + " points",
+                                       start );
+        }
+        catch ( OutOfMemoryError e ) {
+            logger_.info( "Out of memory building point index;"
+                        + " no index used" );
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Returns an index for a point cloud, using a cached copy if one
+     * is available.  Indices are cached per data store, with entries
+     * that may be discarded under memory pressure, so that repeated
+     * queries on the same data are fast but the index is rebuilt
+     * if the data store changes.
+     *
+     * @param  dataStore  data store to which the index relates;
+     *                    used only as a cache key
+     * @param  cloudKey  object identifying the point cloud within
+     *                   the data store, for instance a {@link SubCloud};
+     *                   must implement equality appropriately
+     * @param  geom   maps tuples to data positions
+     * @param  iPosCoord  coordinate index of positional coords in tuples
+     * @param  tupleSupplier  iterable over tuples
+     * @param  runner   manages tuple iteration
+     * @return   index, or null if none can be built
+     */
+    @Slow
+    public static PointIndex getIndex( DataStore dataStore, Object cloudKey,
+                                       DataGeom geom, int iPosCoord,
+                                       Supplier<TupleSequence> tupleSupplier,
+                                       TupleRunner runner ) {
+        synchronized ( cache_ ) {
+            Map<Object,Reference<PointIndex>> storeMap =
+                cache_.get( dataStore );
+            Reference<PointIndex> ref =
+                storeMap == null ? null : storeMap.get( cloudKey );
+            PointIndex index = ref == null ? null : ref.get();
+            if ( index != null ) {
+                return index;
+            }
+        }
+        PointIndex index =
+            createIndex( geom, iPosCoord, tupleSupplier, runner );
+        if ( index != null ) {
+            synchronized ( cache_ ) {
+                cache_.computeIfAbsent( dataStore,
+                                        ds -> new HashMap<Object,
+                                                  Reference<PointIndex>>() )
+                      .put( cloudKey, new SoftReference<PointIndex>( index ) );
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns a box in data coordinates that contains all the data
+     * positions which a given surface plots within a given rectangle
+     * in graphics coordinates.
+     * This is only possible for some surface types;
+     * if it cannot be done, null is returned.
+     *
+     * @param  surface  plot surface
+     * @param  gbox   region in graphics coordinates
+     * @return   ndim-element array of (lo,hi) data coordinate bounds,
+     *           or null
+     */
+    public static double[][] getDataBounds( Surface surface,
+                                            Rectangle2D gbox ) {
+
+        /* For planar surfaces the axes are independent and monotonic,
+         * so the corners of the graphics box bound the data box. */
+        if ( surface instanceof PlanarSurface ) {
+            double[][] bounds = new double[ 2 ][];
+            double[] xs = { gbox.getMinX(), gbox.getMaxX() };
+            double[] ys = { gbox.getMinY(), gbox.getMaxY() };
+            for ( double gx : xs ) {
+                for ( double gy : ys ) {
+                    double[] dpos =
+                        surface.graphicsToData( new Point2D.Double( gx, gy ),
+                                                null );
+                    if ( dpos == null || dpos.length != 2 ) {
+                        return null;
+                    }
+                    for ( int id = 0; id < 2; id++ ) {
+                        double d = dpos[ id ];
+                        if ( Double.isNaN( d ) ) {
+                            return null;
+                        }
+                        if ( bounds[ id ] == null ) {
+                            bounds[ id ] = new double[] { d, d };
+                        }
+                        else {
+                            bounds[ id ][ 0 ] = Math.min( bounds[ id ][ 0 ], d );
+                            bounds[ id ][ 1 ] = Math.max( bounds[ id ][ 1 ], d );
+                        }
+                    }
+                }
+            }
+            return bounds;
+        }
+
+        /* For sky surfaces, bound the region by a cone about its centre.
+         * The angular radius is the largest distance from the centre
+         * of a point on the region's boundary, sampled at intervals
+         * and padded by the sample spacing.  If any part of the boundary
+         * is off the sky, give up, since the region may then span
+         * a discontinuity in the projection. */
+        else if ( surface instanceof SkySurface ) {
+            double[] c =
+                surface.graphicsToData( new Point2D.Double( gbox.getCenterX(),
+                                                            gbox.getCenterY() ),
+                                        null );
+            if ( c == null ) {
+                return null;
+            }
+            int nside = 16;
+            double[] xs = new double[ 4 * nside ];
+            double[] ys = new double[ 4 * nside ];
+            double x0 = gbox.getMinX();
+            double y0 = gbox.getMinY();
+            double w = gbox.getWidth();
+            double h = gbox.getHeight();
+            for ( int i = 0; i < nside; i++ ) {
+                double f = i / (double) nside;
+                xs[ i ] = x0 + f * w;
+                ys[ i ] = y0;
+                xs[ nside + i ] = x0 + w;
+                ys[ nside + i ] = y0 + f * h;
+                xs[ 2 * nside + i ] = x0 + ( 1 - f ) * w;
+                ys[ 2 * nside + i ] = y0 + h;
+                xs[ 3 * nside + i ] = x0;
+                ys[ 3 * nside + i ] = y0 + ( 1 - f ) * h;
+            }
+            double maxAng = 0;
+            double maxStep = 0;
+            double[] d0 = null;
+            double[] dFirst = null;
+            for ( int is = 0; is <= xs.length; is++ ) {
+                int js = is % xs.length;
+                double[] d = is < xs.length
+                           ? surface.graphicsToData(
+                                 new Point2D.Double( xs[ js ], ys[ js ] ),
+                                 null )
+                           : dFirst;
+                if ( d == null ) {
+                    return null;
+                }
+                maxAng = Math.max( maxAng, angle( c, d ) );
+                if ( d0 != null ) {
+                    maxStep = Math.max( maxStep, angle( d0, d ) );
+                }
+                if ( dFirst == null ) {
+                    dFirst = d;
+                }
+                d0 = d;
+            }
+            double ang = Math.min( Math.PI, maxAng + maxStep + 1e-9 );
+            double chord = 2 * Math.sin( 0.5 * ang );
+            double[][] bounds = new double[ 3 ][];
+            for ( int id = 0; id < 3; id++ ) {
+                bounds[ id ] = new double[] { Math.max( -1, c[ id ] - chord ),
+                                              Math.min( +1, c[ id ] + chord ) };
+            }
+            return bounds;
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a box in data coordinates that contains all the data
+     * positions which a given surface plots within a given distance
+     * of a graphics position.
+     * This is only possible for some surface types and positions;
+     * if it cannot be done, null is returned.
+     *
+     * @param  surface  plot surface
+     * @param  gpos   central graphics position
+     * @param  gradius   radius in graphics coordinates
+     * @return   ndim-element array of (lo,hi) data coordinate bounds,
+     *           or null
+     */
+    public static double[][] getDataBounds( Surface surface, Point2D gpos,
+                                            double gradius ) {
+        return getDataBounds( surface,
+                              new Rectangle2D.Double( gpos.getX() - gradius,
+                                                      gpos.getY() - gradius,
+                                                      2 * gradius,
+                                                      2 * gradius ) );
+    }
+
+    /**
+     * Returns the angle between two unit vectors.
+     *
+     * @param  r1  first vector
+     * @param  r2  second vector
+     * @return  angle in radians
+     */
+    private static double angle( double[] r1, double[] r2 ) {
+        double cx = r1[ 1 ] * r2[ 2 ] - r1[ 2 ] * r2[ 1 ];
+        double cy = r1[ 2 ] * r2[ 0 ] - r1[ 0 ] * r2[ 2 ];
+        double cz = r1[ 0 ] * r2[ 1 ] - r1[ 1 ] * r2[ 0 ];
+        double dot = r1[ 0 ] * r2[ 0 ] + r1[ 1 ] * r2[ 1 ] + r1[ 2 ] * r2[ 2 ];
+        return Math.atan2( Math.sqrt( cx * cx + cy * cy + cz * cz ), dot );
+    }
+
+    /**
+     * Callback interface for receiving indexed points.
+     */
+    @FunctionalInterface
+    public interface PointVisitor {
+
+        /**
+         * Receives a point.
+         *
+         * @param  irow   row index of the point
+         * @param  dpos   data position of the point; the contents of this
+         *                array are only valid for the duration of the call
+         */
+        void visitPoint( long irow, double[] dpos );
+    }
+
+    /**
+     * Growable list of point positions, used as accumulator for
+     * building the index.
+     */
+    private static class PointList {
+        final int ndim_;
+        final double[] lo_;
+        final double[] hi_;
+        int[] rows_;
+        double[] coords_;
+        int np_;
+        double maxSphereDev_;
+        boolean isOverflow_;
+        boolean isRowOverflow_;
+
+        /**
+         * Constructor.
+         *
+         * @param  ndim  dimensionality
+         */
+        PointList( int ndim ) {
+            ndim_ = ndim;
+            lo_ = new double[ ndim ];
+            hi_ = new double[ ndim ];
+            Arrays.fill( lo_, Double.POSITIVE_INFINITY );
+            Arrays.fill( hi_, Double.NEGATIVE_INFINITY );
+            rows_ = new int[ 1024 ];
+            coords_ = new double[ 1024 * ndim ];
+        }
+
+        /**
+         * Appends a point.
+         *
+         * @param  irow  row index, which must fit in an int
+         * @param  dpos  data position
+         */
+        void add( int irow, double[] dpos ) {
+            ensureCapacity( np_ + 1 );
+            rows_[ np_ ] = irow;
+            System.arraycopy( dpos, 0, coords_, np_ * ndim_, ndim_ );
+            np_++;
+            double r2 = 0;
+            for ( int id = 0; id < ndim_; id++ ) {
+                double d = dpos[ id ];
+                lo_[ id ] = Math.min( lo_[ id ], d );
+                hi_[ id ] = Math.max( hi_[ id ], d );
+                r2 += d * d;
+            }
+            maxSphereDev_ = Math.max( maxSphereDev_, Math.abs( r2 - 1 ) );
+        }
+
+        /**
+         * Appends the contents of another list to this one.
+         *
+         * @param  other  other list
+         */
+        void addAll( PointList other ) {
+            ensureCapacity( np_ + other.np_ );
+            System.arraycopy( other.rows_, 0, rows_, np_, other.np_ );
+            System.arraycopy( other.coords_, 0, coords_, np_ * ndim_,
+                              other.np_ * ndim_ );
+            np_ += other.np_;
+            for ( int id = 0; id < ndim_; id++ ) {
+                lo_[ id ] = Math.min( lo_[ id ], other.lo_[ id ] );
+                hi_[ id ] = Math.max( hi_[ id ], other.hi_[ id ] );
+            }
+            maxSphereDev_ = Math.max( maxSphereDev_, other.maxSphereDev_ );
+            isOverflow_ = isOverflow_ || other.isOverflow_;
+            isRowOverflow_ = isRowOverflow_ || other.isRowOverflow_;
+        }
+
+        /**
+         * Ensures that the storage arrays can hold a given number of points.
+         *
+         * @param  n  required capacity
+         */
+        private void ensureCapacity( int n ) {
+            if ( n > rows_.length ) {
+                int size = (int) Math.min( Integer.MAX_VALUE / ndim_,
+                                           Math.max( n,
+                                                     2L * rows_.length ) );
+                rows_ = Arrays.copyOf( rows_, size );
+                coords_ = Arrays.copyOf( coords_, size * ndim_ );
+            }
+        }
+    }
+
+    /**
+     * Collector that reads data positions into a PointList.
+     */
+    private static class PointCollector
+            implements SplitCollector<TupleSequence,PointList> {
+
+        private final DataGeom geom_;
+        private final int iPosCoord_;
+        private final int ndim_;
+        private final long maxPoints_;
+        private final AtomicLong count_;
+
+        /**
+         * Constructor.
+         *
+         * @param  geom   maps tuples to data positions
+         * @param  iPosCoord  coordinate index of positional coords
+         * @param  maxPoints  maximum number of points to accumulate
+         */
+        PointCollector( DataGeom geom, int iPosCoord, long maxPoints ) {
+            geom_ = geom;
+            iPosCoord_ = iPosCoord;
+            ndim_ = geom.getDataDimCount();
+            maxPoints_ = maxPoints;
+            count_ = new AtomicLong();
+        }
+
+        public PointList createAccumulator() {
+            return new PointList( ndim_ );
+        }
+
+        public void accumulate( TupleSequence tseq, PointList points ) {
+            double[] dpos = new double[ ndim_ ];
+            while ( tseq.next() ) {
+                if ( geom_.readDataPos( tseq, iPosCoord_, dpos ) &&
+                     isFinite( dpos ) ) {
+                    if ( count_.incrementAndGet() > maxPoints_ ) {
+                        points.isOverflow_ = true;
+                        return;
+                    }
+                    long irow = tseq.getRowIndex();
+                    if ( irow > Integer.MAX_VALUE ) {
+                        points.isRowOverflow_ = true;
+                        return;
+                    }
+                    points.add( (int) irow, dpos );
+                }
+            }
+        }
+
+        public PointList combine( PointList points1, PointList points2 ) {
+            if ( points1.np_ < points2.np_ ) {
+                points2.addAll( points1 );
+                return points2;
+            }
+            else {
+                points1.addAll( points2 );
+                return points1;
+            }
+        }
+
+        /**
+         * Indicates whether all elements of a position are finite.
+         *
+         * @param  dpos  data position
+         * @return  true iff no element is infinite or NaN
+         */
+        private static boolean isFinite( double[] dpos ) {
+            for ( double d : dpos ) {
+                if ( Double.isNaN( d ) || Double.isInfinite( d ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
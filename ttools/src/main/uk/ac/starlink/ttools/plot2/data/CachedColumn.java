@@ -26,6 +26,22 @@ public interface CachedColumn {
      */
     void add( Object value ) throws IOException;
 
+    /**
+     * Adds a floating point entry to this vector data container.
+     * This may only be called for columns with
+     * {@link StorageType#DOUBLE} or {@link StorageType#FLOAT} storage,
+     * and has the same effect as calling {@link #add} with a
+     * corresponding Number, but may avoid object creation.
+     *
+     * <p>The default implementation boxes the value and calls
+     * {@link #add}.
+     *
+     * @param  value  value to store
+     */
+    default void addDouble( double value ) throws IOException {
+        add( Double.valueOf( value ) );
+    }
+
     /**
      * Indicates that no more calls to {@link #add} will be made
      */
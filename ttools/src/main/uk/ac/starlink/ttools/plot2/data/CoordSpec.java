@@ -25,6 +25,7 @@ public class CoordSpec {
     private final String coordId_;
     private final StorageType storageType_;
     private final Function<Object[],?> inputStorage_;
+    private final boolean isNumericInput_;
 
     /**
      * Constructor.
@@ -42,6 +43,8 @@ public class CoordSpec {
         ValueInfo[] infos = dataSpec.getUserCoordInfos( icoord );
         DomainMapper[] dms = dataSpec.getUserCoordMappers( icoord );
         inputStorage_ = coord.inputStorage( infos, dms );
+        isNumericInput_ = coord instanceof FloatingCoord
+                       && ((FloatingCoord) coord).isNumericInput( infos, dms );
     }
 
     /**
@@ -80,13 +83,31 @@ public class CoordSpec {
      */
     public Reader valueReader( final RowData rdata ) {
         final UserDataReader dataReader = dataSpec_.createUserDataReader();
-        return irow -> {
-            Object[] userCoords =
-                dataReader.getUserCoordValues( rdata, irow, icoord_ );
-            Object value = inputStorage_.apply( userCoords );
-            assert value != null;
-            return value;
-        };
+        if ( isNumericInput_ ) {
+            return new Reader() {
+                public Object readValue( long irow ) throws IOException {
+                    return Double.valueOf( dataReader
+                                          .getUserCoordDouble( rdata, irow,
+                                                               icoord_ ) );
+                }
+                @Override
+                public void addValue( CachedColumn column, long irow )
+                        throws IOException {
+                    column.addDouble( dataReader
+                                     .getUserCoordDouble( rdata, irow,
+                                                          icoord_ ) );
+                }
+            };
+        }
+        else {
+            return irow -> {
+                Object[] userCoords =
+                    dataReader.getUserCoordValues( rdata, irow, icoord_ );
+                Object value = inputStorage_.apply( userCoords );
+                assert value != null;
+                return value;
+            };
+        }
     }
 
     @Override
@@ -128,5 +149,20 @@ public class CoordSpec {
          * @return  coordinate stored value
          */
         Object readValue( long irow ) throws IOException;
+
+        /**
+         * Reads a value as for {@link #readValue} and adds it to
+         * a given column.
+         * The default implementation calls
+         * {@link CachedColumn#add}<code>(readValue(irow))</code>,
+         * but implementations may avoid object creation.
+         *
+         * @param  column  column with this coord's storage type
+         * @param  irow   row index
+         */
+        default void addValue( CachedColumn column, long irow )
+                throws IOException {
+            column.add( readValue( irow ) );
+        }
     }
 }
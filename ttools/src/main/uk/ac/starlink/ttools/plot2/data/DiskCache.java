@@ -31,6 +31,7 @@ public class DiskCache {
 
     private final File dir_;
     private final Map<File,Long> createdFiles_;
+    private final String label_;
     private final Level logLevel_;
     private final Logger logger_;
     private long limit_;
@@ -40,7 +41,7 @@ public class DiskCache {
     private static final String UTF8 = "UTF-8";
 
     /**
-     * Constructor.
+     * Constructs a cache for plot data.
      *
      * @param  dir  directory into which cache files will be written
      * @param  limit  cache size indicator;
@@ -50,8 +51,25 @@ public class DiskCache {
      *                if zero, it's something adaptive
      */
     public DiskCache( File dir, long limit ) {
+        this( dir, limit, "plot" );
+    }
+
+    /**
+     * Constructs a cache with a given label.
+     *
+     * @param  dir  directory into which cache files will be written
+     * @param  limit  cache size indicator;
+     *                if positive, it's the maximum cache size in bytes;
+     *                if negative, it's the amount of space on the
+     *                disk that cache usage tries to keep free;
+     *                if zero, it's something adaptive
+     * @param  label  short lower-case description of the cache content,
+     *                used in log messages, for instance "plot"
+     */
+    public DiskCache( File dir, long limit, String label ) {
         dir_ = dir;
         limit_ = limit;
+        label_ = label;
         logger_ = Logger.getLogger( "uk.ac.starlink.ttools.plot2.data" );
         logLevel_ = Level.WARNING;
         createdFiles_ = new ConcurrentHashMap<File,Long>();
@@ -76,6 +94,15 @@ public class DiskCache {
         return dir_;
     }
 
+    /**
+     * Returns the label describing the content of this cache.
+     *
+     * @return  short lower-case description, for instance "plot"
+     */
+    public String getLabel() {
+        return label_;
+    }
+
     /**
      * Records that a file has been added to the cache.
      * This record is used to report persistently added files at shutdown.
@@ -93,7 +120,8 @@ public class DiskCache {
      */
     public void ready() throws IOException {
         if ( mkdirs( dir_, false ) ) {
-            logger_.log( logLevel_, "Created plot cache directory " + dir_ );
+            logger_.log( logLevel_, "Created " + label_ + " cache directory "
+                                   + dir_ );
             initBaseCacheDir( getNamedAncestor( dir_, CACHE_DIRNAME ) ); 
         }
         if ( ! dir_.isDirectory() || ! dir_.canWrite() ) {
@@ -118,6 +146,18 @@ public class DiskCache {
      * data than the configured cache limit.
      */
     public void tidy() {
+        tidy( null );
+    }
+
+    /**
+     * Removes files other than a given one from this cache's directory
+     * if it contains more data than the configured cache limit.
+     * This can be used to make sure that a newly added file,
+     * which has not been used yet, is not removed.
+     *
+     * @param  retainFile  file which will not be removed; may be null
+     */
+    public void tidy( File retainFile ) {
         if ( limit_ == 0 ) {
             limit_ = getDefaultCacheLimit( dir_ );
         }
@@ -129,7 +169,8 @@ public class DiskCache {
          * and there is more than that free, then no action is required. */
         if ( limit_ < 0 && freeSpace > -limit_ ) {
             logger_.log( logLevel_,
-                         "Plot cache filesystem free space "
+                         getCapitalisedLabel()
+                       + " cache filesystem free space "
                        + formatByteSize( freeSpace ) + " > "
                        + formatByteSize( -limit_ ) );
             return;
@@ -150,7 +191,8 @@ public class DiskCache {
         long maxSize = limit_ > 0
                      ? limit_
                      : freeSpace + totsize + limit_;
-        log( "Plot cache usage: " + formatByteSize( totsize )
+        log( getCapitalisedLabel()
+           + " cache usage: " + formatByteSize( totsize )
                           + " / " + formatByteSize( maxSize ) );
 
         /* If actual usage exceeds maximum size, delete files oldest first
@@ -167,13 +209,17 @@ public class DiskCache {
                 }
                 File file = fm.file_;
                 long size = fm.size_;
+                if ( file.equals( retainFile ) ) {
+                    continue;
+                }
                 if ( file.delete() ) {
                     overSize -= size;
-                    log( "Drop plot cache file " + file
+                    log( "Drop " + label_ + " cache file " + file
                        + " (" + formatByteSize( size ) + ")" );
                 }
                 else {
-                    logger_.warning( "Failed to drop plot cache file " + file );
+                    logger_.warning( "Failed to drop " + label_
+                                   + " cache file " + file );
                 }
             }
         }
@@ -191,7 +237,9 @@ public class DiskCache {
         }
         int nfile = createdFiles_.size();
         return new StringBuffer()
-           .append( "Persistent plot cache data written: " )
+           .append( "Persistent " )
+           .append( label_ )
+           .append( " cache data written: " )
            .append( nfile )
            .append( " " )
            .append( nfile == 1 ? "file" : "files" )
@@ -213,6 +261,19 @@ public class DiskCache {
         }
     }
 
+    /**
+     * Returns this cache's label with an initial capital,
+     * for use at the start of a log message.
+     *
+     * @return  capitalised label
+     */
+    private String getCapitalisedLabel() {
+        return label_.isEmpty()
+             ? label_
+             : Character.toUpperCase( label_.charAt( 0 ) )
+               + label_.substring( 1 );
+    }
+
     /**
      * Intialises a cache directory by writing a readme file explaining
      * its status.
@@ -66,6 +66,29 @@ public class FloatingCoord extends SingleCoord {
         };
     }
 
+    /**
+     * Indicates whether the storage value for this coordinate is
+     * just the numeric value of its single user value,
+     * so that it can be read using
+     * {@link UserDataReader#getUserCoordDouble}.
+     *
+     * @param  infos  user value metadata
+     * @param  dms    user value domain mappers
+     * @return  true iff the input storage function is a numeric identity
+     */
+    public boolean isNumericInput( ValueInfo[] infos, DomainMapper[] dms ) {
+        if ( infos.length == 1 && infos[ 0 ] != null ) {
+            Class<?> clazz = infos[ 0 ].getContentClass();
+            return Number.class.isAssignableFrom( clazz )
+                || ( clazz.isPrimitive() && clazz != boolean.class
+                                         && clazz != char.class
+                                         && clazz != void.class );
+        }
+        else {
+            return false;
+        }
+    }
+
     /**
      * Reads a floating point value from an appropriate field
      * in a given Tuple.
@@ -117,6 +140,11 @@ public class FloatingCoord extends SingleCoord {
                     return userValues -> Double.NaN;
                 }
             }
+            @Override
+            public boolean isNumericInput( ValueInfo[] infos,
+                                           DomainMapper[] dms ) {
+                return false;
+            }
         };
     }
 }
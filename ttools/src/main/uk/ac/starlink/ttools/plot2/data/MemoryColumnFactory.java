@@ -345,6 +345,11 @@ public class MemoryColumnFactory implements CachedColumnFactory {
             data_[ irow_++ ] = toDouble( value );
         }
 
+        @Override
+        public void addDouble( double value ) {
+            data_[ irow_++ ] = value;
+        }
+
         public void endAdd() {
         }
 
@@ -382,6 +387,11 @@ public class MemoryColumnFactory implements CachedColumnFactory {
             data_[ irow_++ ] = toFloat( value );
         }
 
+        @Override
+        public void addDouble( double value ) {
+            data_[ irow_++ ] = (float) value;
+        }
+
         public void endAdd() {
         }
 
@@ -760,6 +770,11 @@ public class MemoryColumnFactory implements CachedColumnFactory {
             list_.add( toDouble( value ) );
         }
 
+        @Override
+        public void addDouble( double value ) {
+            list_.add( value );
+        }
+
         public void endAdd() {
             data_ = list_.toDoubleArray();
             list_ = null;
@@ -789,6 +804,11 @@ public class MemoryColumnFactory implements CachedColumnFactory {
             list_.add( toFloat( value ) );
         }
 
+        @Override
+        public void addDouble( double value ) {
+            list_.add( (float) value );
+        }
+
         public void endAdd() {
             data_ = list_.toFloatArray();
             list_ = null;
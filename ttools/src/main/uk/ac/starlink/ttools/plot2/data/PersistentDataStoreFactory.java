@@ -176,7 +176,7 @@ public class PersistentDataStoreFactory implements DataStoreFactory {
             try {
                 for ( long irow = 0; rseq.next(); irow++ ) {
                     for ( int ient = 0; ient < nent; ient++ ) {
-                        wcols[ ient ].add( objRdrs[ ient ].readValue( irow ) );
+                        objRdrs[ ient ].addValue( wcols[ ient ], irow );
                     }
                 }
                 for ( int ient = 0; ient < nent; ient++ ) {
@@ -408,10 +408,36 @@ public class PersistentDataStoreFactory implements DataStoreFactory {
         };
     }
 
+    /**
+     * Returns the file in which a derived data product may be stored.
+     *
+     * @param  dspec  data specification
+     * @param  productId   product identifier
+     * @return  product file in the cache directory
+     */
+    private File createProductFile( DataSpec dspec, String productId ) {
+        StringBuffer pbuf = new StringBuffer( productId );
+        for ( int ic = 0; ic < dspec.getCoordCount(); ic++ ) {
+            pbuf.append( ';' )
+                .append( dspec.isCoordBlank( ic )
+                             ? ""
+                             : getCoordId( new CoordSpec( dspec, ic ) ) );
+        }
+        String id = new StringBuffer()
+           .append( "T-" )
+           .append( DiskCache.hashText( getTableId( dspec.getSourceTable() ) ) )
+           .append( "-M-" )
+           .append( DiskCache.hashText( getMaskId( new MaskSpec( dspec ) ) ) )
+           .append( "-P-" )
+           .append( DiskCache.hashText( pbuf.toString() ) )
+           .toString();
+        return new File( cache_.getDir(), id );
+    }
+
     /**
      * DataStore implementation.  One instance per factory.
      */
-    private class PersistentDataStore implements DataStore {
+    private class PersistentDataStore implements ProductDataStore {
 
         private final CachedReader TRUE_READER = createTrueReader();
         private final CachedReader BLANK_READER = createBlankReader();
@@ -486,6 +512,22 @@ public class PersistentDataStoreFactory implements DataStoreFactory {
             return new CachedTupleSequence( maskSupplier, coordsSupplier,
                                             nrow );
         }
+
+        public File getProductFile( DataSpec dspec, String productId ) {
+            File file = createProductFile( dspec, productId );
+
+            /* Touch existing files so that the last modified time
+             * reflects usage for LRU cache management. */
+            if ( file.isFile() ) {
+                cache_.touch( file );
+            }
+            return file;
+        }
+
+        public void productWritten( File file ) {
+            cache_.fileAdded( file );
+            cache_.tidy();
+        }
     }
 
     /**
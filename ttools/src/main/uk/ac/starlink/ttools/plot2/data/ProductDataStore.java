@@ -0,0 +1,44 @@
+package uk.ac.starlink.ttools.plot2.data;
+
+import java.io.File;
+
+/**
+ * DataStore which can additionally keep data products derived from
+ * its data in persistent storage.
+ * Layers for which the calculations based on the raw data are expensive
+ * can use this to avoid repeating them for subsequent plots of the
+ * same data, possibly in a different JVM.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public interface ProductDataStore extends DataStore {
+
+    /**
+     * Returns the file in which a data product derived from the data
+     * described by a given DataSpec is, or may be, stored.
+     * The file may or may not exist.  If it does, it was written
+     * by a previous caller using the same <code>productId</code>.
+     *
+     * <p>Callers writing to the returned file should do so atomically,
+     * for instance by writing to a temporary file in the same directory
+     * and then renaming it, and should call {@link #productWritten}
+     * when done.
+     *
+     * @param  dataSpec  specification of the data from which the product
+     *                   is derived
+     * @param  productId  string identifying the type and any relevant
+     *                    parameters of the product; this should be
+     *                    consistent between JVMs
+     * @return  storage file
+     */
+    File getProductFile( DataSpec dataSpec, String productId );
+
+    /**
+     * Records that a file obtained from {@link #getProductFile}
+     * has been written.  This may be used for cache management.
+     *
+     * @param  file  file that has been written
+     */
+    void productWritten( File file );
+}
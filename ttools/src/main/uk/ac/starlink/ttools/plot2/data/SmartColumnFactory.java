@@ -184,6 +184,19 @@ public class SmartColumnFactory implements CachedColumnFactory {
             }
         }
 
+        @Override
+        public void addDouble( double value ) throws IOException {
+
+            /* Only box values while they might all be the same. */
+            if ( bulkCol_ != null ) {
+                count_++;
+                bulkCol_.addDouble( value );
+            }
+            else {
+                add( Double.valueOf( value ) );
+            }
+        }
+
         public void endAdd() throws IOException {
             ( bulkCol_ != null ? bulkCol_ : constCol_ ).endAdd();
         }
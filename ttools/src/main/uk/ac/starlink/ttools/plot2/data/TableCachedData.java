@@ -113,8 +113,7 @@ public class TableCachedData {
                     maskCols[ im ].add( Boolean.valueOf( include ) );
                 }
                 for ( int ic = 0; ic < nc; ic++ ) {
-                    Object value = coordRdrs[ ic ].readValue( irow );
-                    coordCols[ ic ].add( value );
+                    coordRdrs[ ic ].addValue( coordCols[ ic ], irow );
                 }
                 nr++;
             }
@@ -199,8 +198,7 @@ public class TableCachedData {
                         maskCols[ im ].add( Boolean.valueOf( include ) );
                     }
                     for ( int ic = 0; ic < nc; ic++ ) {
-                        Object value = coordRdrs[ ic ].readValue( irow );
-                        coordCols[ ic ].add( value );
+                        coordRdrs[ ic ].addValue( coordCols[ ic ], irow );
                     }
                     nr++;
                 }
@@ -41,4 +41,25 @@ public interface UserDataReader {
      */
     Object[] getUserCoordValues( RowData rdata, long irow, int icoord )
             throws IOException;
+
+    /**
+     * Returns the single user value for a given coordinate in a row
+     * as a floating point number.
+     * This may be used in place of {@link #getUserCoordValues}
+     * for coordinates with a single numeric user value,
+     * and implementations may be able to avoid object creation.
+     *
+     * <p>The default implementation calls {@link #getUserCoordValues}.
+     *
+     * @param   rdata row data
+     * @param   irow  row index corresponding to the row
+     * @param   icoord   coordinate index to read
+     * @return  numeric user value, or NaN if it is blank or non-numeric
+     */
+    default double getUserCoordDouble( RowData rdata, long irow, int icoord )
+            throws IOException {
+        Object value = getUserCoordValues( rdata, irow, icoord )[ 0 ];
+        return value instanceof Number ? ((Number) value).doubleValue()
+                                       : Double.NaN;
+    }
 }
@@ -0,0 +1,739 @@
+package uk.ac.starlink.ttools.plot2.layer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import uk.ac.starlink.ttools.plot2.DataGeom;
+import uk.ac.starlink.ttools.plot2.PlotUtil;
+import uk.ac.starlink.ttools.plot2.Slow;
+import uk.ac.starlink.ttools.plot2.data.DataSpec;
+import uk.ac.starlink.ttools.plot2.data.DataStore;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+import uk.ac.starlink.ttools.plot2.data.FloatingCoord;
+import uk.ac.starlink.ttools.plot2.data.ProductDataStore;
+import uk.ac.starlink.ttools.plot2.data.TupleSequence;
+import uk.ac.starlink.util.SplitCollector;
+
+/**
+ * Multi-resolution summary of weighted sky positions binned on the
+ * HEALPix NESTED grid.
+ *
+ * <p>Summary statistics (count, and for weighted data sum, sum of squares,
+ * minimum and maximum of the weights) are held for each non-empty pixel
+ * at a maximum HEALPix level, and at every coarser level down to zero,
+ * in the manner of a HiPS tile hierarchy.
+ * Once built, binned results for any supported {@link Combiner}
+ * at any level up to the maximum can be obtained without reference to
+ * the original data, in time that depends only on the number of
+ * non-empty pixels at the requested level.
+ *
+ * <p>Pyramids can be written to and read from a file;
+ * reading maps the file rather than loading it into memory.
+ * The {@link #getPyramid getPyramid} method uses this to keep
+ * pyramids in persistent storage when the data store supports it.
+ *
+ * <p>Quantile-like combiners cannot be answered from the
+ * stored statistics; see {@link #isSupported}.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class HealpixPyramid {
+
+    private final int maxLevel_;
+    private final boolean isWeighted_;
+    private final LevelData[] levels_;
+
+    /** Default maximum level for pyramids, memory permitting. */
+    public static final int DFLT_LEVEL = 10;
+
+    /** Index of pixel count statistic. */
+    private static final int ICOUNT = 0;
+
+    /** Index of weight sum statistic. */
+    private static final int ISUM = 1;
+
+    /** Index of weight sum of squares statistic. */
+    private static final int ISUM2 = 2;
+
+    /** Index of weight minimum statistic. */
+    private static final int IMIN = 3;
+
+    /** Index of weight maximum statistic. */
+    private static final int IMAX = 4;
+
+    private static final long MAGIC = 0x4850585059523031L;  // "HPXPYR01"
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.plot2.layer" );
+
+    /**
+     * Constructor.
+     *
+     * @param  isWeighted  true if weight statistics are present
+     * @param  levels   per-level data for levels 0..maxLevel
+     */
+    private HealpixPyramid( boolean isWeighted, LevelData[] levels ) {
+        isWeighted_ = isWeighted;
+        levels_ = levels;
+        maxLevel_ = levels.length - 1;
+    }
+
+    /**
+     * Returns the deepest HEALPix level available from this pyramid.
+     *
+     * @return  maximum level
+     */
+    public int getMaxLevel() {
+        return maxLevel_;
+    }
+
+    /**
+     * Indicates whether this pyramid holds statistics on a weighting
+     * quantity.  If not, all weights are taken to be unity.
+     *
+     * @return  true for weighted data
+     */
+    public boolean isWeighted() {
+        return isWeighted_;
+    }
+
+    /**
+     * Returns the number of non-empty pixels at a given level.
+     *
+     * @param  level  HEALPix level, not greater than the maximum level
+     * @return  non-empty pixel count
+     */
+    public long getPixelCount( int level ) {
+        return levels_[ level ].npix_;
+    }
+
+    /**
+     * Returns binned results at a given level for a given combiner.
+     * The values are the same, to within rounding errors,
+     * as if the original data had been binned directly at that level
+     * using the same combiner.
+     *
+     * @param  combiner   combiner, which must be supported
+     * @param  level   HEALPix level, not greater than the maximum level
+     * @return   bin result
+     * @throws  IllegalArgumentException  if the combiner is not supported
+     *          or the level is out of range
+     */
+    public BinList.Result getResult( Combiner combiner, int level ) {
+        StatFunction func = getStatFunction( combiner );
+        if ( func == null ) {
+            throw new IllegalArgumentException( "Combiner " + combiner
+                                              + " not supported" );
+        }
+        if ( level < 0 || level > maxLevel_ ) {
+            throw new IllegalArgumentException( "Level " + level
+                                              + " out of range 0.."
+                                              + maxLevel_ );
+        }
+        return new PyramidResult( levels_[ level ], func );
+    }
+
+    /**
+     * Writes this pyramid to a file.
+     *
+     * @param  file  destination file
+     */
+    public void writePyramid( File file ) throws IOException {
+        int nstat = isWeighted_ ? 5 : 1;
+        try ( DataOutputStream out =
+                  new DataOutputStream(
+                      new BufferedOutputStream(
+                          new FileOutputStream( file ), 64 * 1024 ) ) ) {
+            out.writeLong( MAGIC );
+            out.writeInt( maxLevel_ );
+            out.writeInt( nstat );
+            for ( LevelData level : levels_ ) {
+                out.writeLong( level.npix_ );
+            }
+            for ( LevelData level : levels_ ) {
+                int npix = level.npix_;
+                for ( int i = 0; i < npix; i++ ) {
+                    out.writeLong( level.pixels_.get( i ) );
+                }
+                for ( int is = 0; is < nstat; is++ ) {
+                    DoubleBuffer stat = level.stats_[ is ];
+                    for ( int i = 0; i < npix; i++ ) {
+                        out.writeDouble( stat.get( i ) );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a pyramid from a file written by {@link #writePyramid}.
+     * The file is mapped, not read into memory.
+     *
+     * @param  file  file
+     * @return  pyramid
+     */
+    public static HealpixPyramid readPyramid( File file ) throws IOException {
+        try ( RandomAccessFile raf = new RandomAccessFile( file, "r" );
+              FileChannel chan = raf.getChannel() ) {
+            if ( raf.readLong() != MAGIC ) {
+                throw new IOException( "Not a pyramid file: " + file );
+            }
+            int maxLevel = raf.readInt();
+            int nstat = raf.readInt();
+            if ( maxLevel < 0 || maxLevel > 29 ||
+                 ( nstat != 1 && nstat != 5 ) ) {
+                throw new IOException( "Bad pyramid file header: " + file );
+            }
+            long[] npixs = new long[ maxLevel + 1 ];
+            for ( int il = 0; il <= maxLevel; il++ ) {
+                npixs[ il ] = raf.readLong();
+            }
+            long offset = raf.getFilePointer();
+            LevelData[] levels = new LevelData[ maxLevel + 1 ];
+            for ( int il = 0; il <= maxLevel; il++ ) {
+                long npix = npixs[ il ];
+                if ( npix < 0 || npix > Integer.MAX_VALUE / 8 ) {
+                    throw new IOException( "Bad pixel count " + npix );
+                }
+                int nbyte = (int) npix * 8;
+                LongBuffer pixels =
+                    chan.map( FileChannel.MapMode.READ_ONLY, offset, nbyte )
+                        .asLongBuffer();
+                offset += nbyte;
+                DoubleBuffer[] stats = new DoubleBuffer[ nstat ];
+                for ( int is = 0; is < nstat; is++ ) {
+                    stats[ is ] =
+                        chan.map( FileChannel.MapMode.READ_ONLY, offset, nbyte )
+                            .asDoubleBuffer();
+                    offset += nbyte;
+                }
+                levels[ il ] = new LevelData( (int) npix, pixels, stats );
+            }
+            if ( offset != chan.size() ) {
+                throw new IOException( "Pyramid file wrong length: " + file );
+            }
+            return new HealpixPyramid( nstat > 1, levels );
+        }
+    }
+
+    /**
+     * Indicates whether a given combiner can be used with pyramids.
+     *
+     * @param  combiner  combiner
+     * @return  true iff {@link #getResult} can be used with combiner
+     */
+    public static boolean isSupported( Combiner combiner ) {
+        return getStatFunction( combiner ) != null;
+    }
+
+    /**
+     * Returns the deepest level at which it is reasonable to build
+     * a pyramid, given the current JVM memory configuration.
+     *
+     * @param  nrow  number of rows in the input data, or -1 if not known
+     * @param  isWeighted  whether weights will be accumulated
+     * @return   maximum sensible pyramid level
+     */
+    public static int getMaxBuildLevel( long nrow, boolean isWeighted ) {
+        long budget = Runtime.getRuntime().maxMemory() / 8;
+        int pixBytes = 8 + 8 * ( isWeighted ? 5 : 1 );
+        int level = 0;
+        while ( level < 29 ) {
+            long npix = 12L << ( 2 * ( level + 1 ) );
+            long nocc = nrow >= 0 ? Math.min( npix, nrow ) : npix;
+            if ( nocc * pixBytes * 4 / 3 > budget ) {
+                break;
+            }
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Builds a pyramid by scanning data.
+     *
+     * @param  maxLevel   maximum HEALPix level of pyramid
+     * @param  geom   sky data geom, supplying unit vectors
+     * @param  icPos   index of position coordinate in data
+     * @param  weightCoord   weight coordinate, or null for unweighted
+     * @param  icWeight   index of weight coordinate in data,
+     *                    or -1 for unweighted
+     * @param  dataSpec   data specification
+     * @param  dataStore   data store
+     * @return  new pyramid, or null if the thread was interrupted
+     */
+    @Slow
+    public static HealpixPyramid createPyramid( int maxLevel, DataGeom geom,
+                                                int icPos,
+                                                FloatingCoord weightCoord,
+                                                int icWeight,
+                                                DataSpec dataSpec,
+                                                DataStore dataStore ) {
+        long start = System.currentTimeMillis();
+        boolean isWeighted = weightCoord != null && icWeight >= 0
+                          && ! dataSpec.isCoordBlank( icWeight );
+        BinList[] binLists =
+            PlotUtil.tupleCollect( new StatCollector( maxLevel, geom, icPos,
+                                                      isWeighted ? weightCoord
+                                                                 : null,
+                                                      icWeight ),
+                                   dataSpec, dataStore );
+        if ( Thread.currentThread().isInterrupted() ) {
+            return null;
+        }
+
+        /* Extract the populated pixels in order. */
+        BinList.Result[] results = new BinList.Result[ binLists.length ];
+        for ( int is = 0; is < binLists.length; is++ ) {
+            results[ is ] = binLists[ is ].getResult();
+        }
+        long nbin = results[ ICOUNT ].getBinCount();
+        if ( nbin > Integer.MAX_VALUE / 8 ) {
+            return null;
+        }
+        int npix = (int) nbin;
+        long[] pixels = new long[ npix ];
+        Iterator<Long> it = results[ ICOUNT ].indexIterator();
+        for ( int i = 0; i < npix; i++ ) {
+            pixels[ i ] = it.next().longValue();
+        }
+        Arrays.parallelSort( pixels );
+        double[][] stats = new double[ binLists.length ][ npix ];
+        for ( int is = 0; is < binLists.length; is++ ) {
+            BinList.Result result = results[ is ];
+            double[] stat = stats[ is ];
+            for ( int i = 0; i < npix; i++ ) {
+                stat[ i ] = result.getBinValue( pixels[ i ] );
+            }
+        }
+
+        /* Degrade to successively coarser levels. */
+        LevelData[] levels = new LevelData[ maxLevel + 1 ];
+        levels[ maxLevel ] = new LevelData( pixels, stats );
+        for ( int il = maxLevel - 1; il >= 0; il-- ) {
+            levels[ il ] = levels[ il + 1 ].degrade();
+        }
+        PlotUtil.logTimeFromStart( logger_,
+                                   "HEALPix pyramid level " + maxLevel, start );
+        return new HealpixPyramid( isWeighted, levels );
+    }
+
+    /**
+     * Returns a pyramid for given data covering at least a given level,
+     * building it if necessary.
+     * If the data store is a {@link ProductDataStore}, a previously
+     * stored pyramid will be used if available, and a newly built one
+     * will be stored for later use.
+     * If the requested level is deeper than can reasonably be held,
+     * null is returned.
+     *
+     * @param  level   minimum required maximum level
+     * @param  geom   sky data geom, supplying unit vectors
+     * @param  icPos   index of position coordinate in data
+     * @param  weightCoord   weight coordinate, or null for unweighted
+     * @param  icWeight   index of weight coordinate in data,
+     *                    or -1 for unweighted
+     * @param  dataSpec   data specification
+     * @param  dataStore   data store
+     * @return  pyramid with maximum level &gt;= <code>level</code>, or null
+     */
+    @Slow
+    public static HealpixPyramid getPyramid( int level, DataGeom geom,
+                                             int icPos,
+                                             FloatingCoord weightCoord,
+                                             int icWeight, DataSpec dataSpec,
+                                             DataStore dataStore ) {
+        boolean isWeighted = weightCoord != null && icWeight >= 0
+                          && ! dataSpec.isCoordBlank( icWeight );
+
+        /* Try persistent storage. */
+        final ProductDataStore productStore;
+        final File file;
+        if ( dataStore instanceof ProductDataStore ) {
+            productStore = (ProductDataStore) dataStore;
+            String productId = new StringBuffer()
+                .append( "hpxpyramid-1" )
+                .append( isWeighted ? "-w" : "-u" )
+                .append( ':' )
+                .append( geom.getVariantName() )
+                .append( ':' )
+                .append( icPos )
+                .append( ':' )
+                .append( isWeighted ? icWeight : -1 )
+                .toString();
+            file = productStore.getProductFile( dataSpec, productId );
+            if ( file.isFile() ) {
+                try {
+                    HealpixPyramid pyramid = readPyramid( file );
+                    if ( pyramid.getMaxLevel() >= level &&
+                         pyramid.isWeighted() == isWeighted ) {
+                        return pyramid;
+                    }
+                }
+                catch ( IOException e ) {
+                    logger_.log( Level.WARNING,
+                                 "Failed to read pyramid " + file, e );
+                }
+            }
+        }
+        else {
+            productStore = null;
+            file = null;
+        }
+
+        /* Otherwise build one, if it will fit. */
+        long nrow = dataSpec.getSourceTable().getRowCount();
+        int maxLevel = getMaxBuildLevel( nrow, isWeighted );
+        if ( level > maxLevel ) {
+            return null;
+        }
+        HealpixPyramid pyramid =
+            createPyramid( Math.max( level, Math.min( DFLT_LEVEL, maxLevel ) ),
+                           geom, icPos, weightCoord, icWeight,
+                           dataSpec, dataStore );
+
+        /* Store it if possible. */
+        if ( pyramid != null && file != null ) {
+            File workFile = DiskCache.toWorkFilename( file );
+            try {
+                pyramid.writePyramid( workFile );
+                if ( workFile.renameTo( file ) ) {
+                    productStore.productWritten( file );
+                }
+                else {
+                    workFile.delete();
+                }
+            }
+            catch ( IOException e ) {
+                logger_.log( Level.WARNING,
+                             "Failed to write pyramid " + file, e );
+                workFile.delete();
+            }
+        }
+        return pyramid;
+    }
+
+    /**
+     * Returns the function which calculates a combiner's result from
+     * the pixel statistics.
+     *
+     * @param  combiner  combiner
+     * @return  function, or null if the combiner is not supported
+     */
+    private static StatFunction getStatFunction( Combiner combiner ) {
+        if ( combiner == Combiner.COUNT || combiner == Combiner.DENSITY ) {
+            return ( n, s1, s2, lo, hi ) -> n;
+        }
+        else if ( combiner == Combiner.SUM ||
+                  combiner == Combiner.WEIGHTED_DENSITY ) {
+            return ( n, s1, s2, lo, hi ) -> s1;
+        }
+        else if ( combiner == Combiner.MEAN ) {
+            return ( n, s1, s2, lo, hi ) -> s1 / n;
+        }
+        else if ( combiner == Combiner.MIN ) {
+            return ( n, s1, s2, lo, hi ) -> lo;
+        }
+        else if ( combiner == Combiner.MAX ) {
+            return ( n, s1, s2, lo, hi ) -> hi;
+        }
+        else if ( combiner == Combiner.HIT ) {
+            return ( n, s1, s2, lo, hi ) -> 1;
+        }
+        else if ( combiner == Combiner.POP_STDEV ||
+                  combiner == Combiner.SAMPLE_STDEV ) {
+            final boolean isSample = combiner == Combiner.SAMPLE_STDEV;
+            return ( n, s1, s2, lo, hi ) -> {
+                if ( n < ( isSample ? 2 : 1 ) ) {
+                    return Double.NaN;
+                }
+                else {
+                    double nvar = s2 - s1 * s1 / n;
+                    return Math.sqrt( nvar / ( isSample ? n - 1 : n ) );
+                }
+            };
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Calculates a bin value from pixel statistics.
+     */
+    @FunctionalInterface
+    private interface StatFunction {
+
+        /**
+         * Returns the combined value.
+         *
+         * @param  n  number of values
+         * @param  s1  sum of values
+         * @param  s2  sum of squared values
+         * @param  lo  minimum value
+         * @param  hi  maximum value
+         * @return  combined value
+         */
+        double getValue( double n, double s1, double s2, double lo, double hi );
+    }
+
+    /**
+     * Holds the statistics for the non-empty pixels at a single level.
+     */
+    private static class LevelData {
+        final int npix_;
+        final LongBuffer pixels_;
+        final DoubleBuffer[] stats_;
+
+        /**
+         * Constructs an instance from buffers.
+         *
+         * @param  npix  number of non-empty pixels
+         * @param  pixels   sorted pixel indices
+         * @param  stats   per-statistic values, each aligned with pixels
+         */
+        LevelData( int npix, LongBuffer pixels, DoubleBuffer[] stats ) {
+            npix_ = npix;
+            pixels_ = pixels;
+            stats_ = stats;
+        }
+
+        /**
+         * Constructs an instance from arrays.
+         *
+         * @param  pixels   sorted pixel indices
+         * @param  stats   per-statistic values, each aligned with pixels
+         */
+        LevelData( long[] pixels, double[][] stats ) {
+            this( pixels.length, LongBuffer.wrap( pixels ),
+                  Arrays.stream( stats )
+                        .map( DoubleBuffer::wrap )
+                        .toArray( n -> new DoubleBuffer[ n ] ) );
+        }
+
+        /**
+         * Returns the position of a given pixel index.
+         *
+         * @param  ipix  pixel index
+         * @return  position in arrays, or negative if not present
+         */
+        int find( long ipix ) {
+            int lo = 0;
+            int hi = npix_ - 1;
+            while ( lo <= hi ) {
+                int mid = ( lo + hi ) >>> 1;
+                long p = pixels_.get( mid );
+                if ( p < ipix ) {
+                    lo = mid + 1;
+                }
+                else if ( p > ipix ) {
+                    hi = mid - 1;
+                }
+                else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the data for the next level up.
+         * Since pixels are sorted in NESTED order, the four children of
+         * each parent pixel are contiguous.
+         *
+         * @return  level data with each pixel aggregating its children
+         */
+        LevelData degrade() {
+            int nstat = stats_.length;
+            long[] pixels = new long[ npix_ ];
+            double[][] stats = new double[ nstat ][ npix_ ];
+            int np = -1;
+            for ( int i = 0; i < npix_; i++ ) {
+                long parent = pixels_.get( i ) >>> 2;
+                if ( np < 0 || pixels[ np ] != parent ) {
+                    np++;
+                    pixels[ np ] = parent;
+                    for ( int is = 0; is < nstat; is++ ) {
+                        stats[ is ][ np ] = stats_[ is ].get( i );
+                    }
+                }
+                else {
+                    for ( int is = 0; is < nstat; is++ ) {
+                        double v = stats_[ is ].get( i );
+                        double[] stat = stats[ is ];
+                        if ( is == IMIN ) {
+                            stat[ np ] = Math.min( stat[ np ], v );
+                        }
+                        else if ( is == IMAX ) {
+                            stat[ np ] = Math.max( stat[ np ], v );
+                        }
+                        else {
+                            stat[ np ] += v;
+                        }
+                    }
+                }
+            }
+            np++;
+            for ( int is = 0; is < nstat; is++ ) {
+                stats[ is ] = Arrays.copyOf( stats[ is ], np );
+            }
+            return new LevelData( Arrays.copyOf( pixels, np ), stats );
+        }
+    }
+
+    /**
+     * BinList.Result implementation based on a pyramid level.
+     */
+    private static class PyramidResult implements BinList.Result {
+        private final LevelData level_;
+        private final StatFunction func_;
+
+        /**
+         * Constructor.
+         *
+         * @param  level  level data
+         * @param  func   bin value calculator
+         */
+        PyramidResult( LevelData level, StatFunction func ) {
+            level_ = level;
+            func_ = func;
+        }
+
+        public double getBinValue( long index ) {
+            int i = level_.find( index );
+            if ( i < 0 ) {
+                return Double.NaN;
+            }
+            DoubleBuffer[] stats = level_.stats_;
+            double n = stats[ ICOUNT ].get( i );
+            return stats.length > 1
+                 ? func_.getValue( n, stats[ ISUM ].get( i ),
+                                   stats[ ISUM2 ].get( i ),
+                                   stats[ IMIN ].get( i ),
+                                   stats[ IMAX ].get( i ) )
+                 : func_.getValue( n, n, n, 1, 1 );
+        }
+
+        public long getBinCount() {
+            return level_.npix_;
+        }
+
+        public Iterator<Long> indexIterator() {
+            return new Iterator<Long>() {
+                int i_;
+                public boolean hasNext() {
+                    return i_ < level_.npix_;
+                }
+                public Long next() {
+                    if ( i_ < level_.npix_ ) {
+                        return Long.valueOf( level_.pixels_.get( i_++ ) );
+                    }
+                    else {
+                        throw new NoSuchElementException();
+                    }
+                }
+            };
+        }
+
+        public BinList.Result compact() {
+            return this;
+        }
+    }
+
+    /**
+     * Collector that accumulates per-pixel statistics into an array
+     * of bin lists, one for each statistic.
+     */
+    private static class StatCollector
+            implements SplitCollector<TupleSequence,BinList[]> {
+
+        private final int level_;
+        private final long npix_;
+        private final DataGeom geom_;
+        private final int icPos_;
+        private final FloatingCoord weightCoord_;
+        private final int icWeight_;
+
+        /**
+         * Constructor.
+         *
+         * @param  level   HEALPix level
+         * @param  geom   sky data geom
+         * @param  icPos   index of position coordinate
+         * @param  weightCoord   weight coordinate, or null for unweighted
+         * @param  icWeight   index of weight coordinate
+         */
+        StatCollector( int level, DataGeom geom, int icPos,
+                       FloatingCoord weightCoord, int icWeight ) {
+            level_ = level;
+            npix_ = new SkyPixer( level ).getPixelCount();
+            geom_ = geom;
+            icPos_ = icPos;
+            weightCoord_ = weightCoord;
+            icWeight_ = icWeight;
+        }
+
+        public BinList[] createAccumulator() {
+            Combiner[] combiners = weightCoord_ == null
+                ? new Combiner[] { Combiner.COUNT }
+                : new Combiner[] { Combiner.COUNT, Combiner.SUM, Combiner.SUM,
+                                   Combiner.MIN, Combiner.MAX };
+            BinList[] binLists = new BinList[ combiners.length ];
+            for ( int is = 0; is < combiners.length; is++ ) {
+                binLists[ is ] = BinListCollector
+                                .createDefaultBinList( combiners[ is ], npix_ );
+            }
+            return binLists;
+        }
+
+        public void accumulate( TupleSequence tseq, BinList[] binLists ) {
+            SkyPixer skyPixer = new SkyPixer( level_ );
+            double[] v3 = new double[ 3 ];
+            if ( weightCoord_ == null ) {
+                BinList counts = binLists[ ICOUNT ];
+                while ( tseq.next() ) {
+                    if ( geom_.readDataPos( tseq, icPos_, v3 ) ) {
+                        counts.submitToBin( skyPixer.getIndex( v3 ), 1 );
+                    }
+                }
+            }
+            else {
+                while ( tseq.next() ) {
+                    if ( geom_.readDataPos( tseq, icPos_, v3 ) ) {
+                        double w =
+                            weightCoord_.readDoubleCoord( tseq, icWeight_ );
+                        if ( ! Double.isNaN( w ) ) {
+                            long ihpx = skyPixer.getIndex( v3 );
+                            binLists[ ICOUNT ].submitToBin( ihpx, 1 );
+                            binLists[ ISUM ].submitToBin( ihpx, w );
+                            binLists[ ISUM2 ].submitToBin( ihpx, w * w );
+                            binLists[ IMIN ].submitToBin( ihpx, w );
+                            binLists[ IMAX ].submitToBin( ihpx, w );
+                        }
+                    }
+                }
+            }
+        }
+
+        public BinList[] combine( BinList[] binLists1, BinList[] binLists2 ) {
+            for ( int is = 0; is < binLists1.length; is++ ) {
+                binLists1[ is ] = BinListCollector
+                                 .mergeBinLists( binLists1[ is ],
+                                                 binLists2[ is ] );
+            }
+            return binLists1;
+        }
+    }
+}
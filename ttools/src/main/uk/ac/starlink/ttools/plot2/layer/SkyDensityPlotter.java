@@ -59,6 +59,7 @@ import uk.ac.starlink.ttools.plot2.data.CoordGroup;
 import uk.ac.starlink.ttools.plot2.data.DataSpec;
 import uk.ac.starlink.ttools.plot2.data.DataStore;
 import uk.ac.starlink.ttools.plot2.data.FloatingCoord;
+import uk.ac.starlink.ttools.plot2.data.ProductDataStore;
 import uk.ac.starlink.ttools.plot2.data.TupleSequence;
 import uk.ac.starlink.ttools.plot2.geom.Rotation;
 import uk.ac.starlink.ttools.plot2.geom.SkyDataGeom;
@@ -109,6 +110,12 @@ public class SkyDensityPlotter
 
     private static final AuxScale SCALE = AuxScale.COLOR;
 
+    /**
+     * Minimum row count for which a HEALPix pyramid is built in memory
+     * to serve subsequent plots at different levels.
+     */
+    private static final long PYRAMID_MIN_ROWS = 1_000_000;
+
     private static final RampKeySet RAMP_KEYS = StyleKeys.AUX_RAMP;
     private static final ConfigKey<Integer> LEVEL_KEY =
         IntegerConfigKey.createSpinnerPairKey(
@@ -493,9 +500,19 @@ public class SkyDensityPlotter
                                                   getBinFactor( level ) );
                     }
                     else {
+
+                        /* Use a pyramid only if it is persistent,
+                         * otherwise it would have to be built again
+                         * for the plan. */
+                        HealpixPyramid pyramid =
+                              dataStore instanceof ProductDataStore
+                            ? getPyramid( level, dataSpec, dataStore )
+                            : null;
                         BinList.Result binResult =
-                            readBins( ssurf, dataSpec, dataStore )
-                           .getResult();
+                              pyramid != null
+                            ? pyramid.getResult( dstyle_.combiner_, level )
+                            : readBins( ssurf, dataSpec, dataStore )
+                             .getResult();
                         createTileRenderer( ssurf )
                        .extendAuxRange( ranger, binResult );
                     }
@@ -594,9 +611,45 @@ public class SkyDensityPlotter
             return PlotUtil.tupleCollect( collector, dataSpec, dataStore );
         }
 
+        /**
+         * Returns a HEALPix pyramid from which bins for this layer
+         * can be obtained at a given level, if it is appropriate to do so.
+         * Pyramids are used if the combiner permits and if either
+         * the data store can keep the pyramid in persistent storage,
+         * or the data set is large enough that the cost of building
+         * and retaining the pyramid in memory is likely to be repaid
+         * by avoiding rebinning for plots at other levels.
+         *
+         * @param  level  required HEALPix level
+         * @param  dataSpec  data specification
+         * @param  dataStore  data storage
+         * @return   pyramid covering the requested level, or null
+         * @slow
+         */
+        private HealpixPyramid getPyramid( int level, DataSpec dataSpec,
+                                           DataStore dataStore ) {
+            if ( ! HealpixPyramid.isSupported( dstyle_.combiner_ ) ) {
+                return null;
+            }
+            long nrow = dataSpec.getSourceTable().getRowCount();
+            if ( dataStore instanceof ProductDataStore ||
+                 nrow < 0 || nrow >= PYRAMID_MIN_ROWS ) {
+                int icPos = coordGrp_.getPosCoordIndex( 0, geom_ );
+                return HealpixPyramid
+                      .getPyramid( level, geom_, icPos, weightCoord_,
+                                   icWeight_, dataSpec, dataStore );
+            }
+            else {
+                return null;
+            }
+        }
+
         /**
          * Identifies and returns a plan object that can be used for
          * this layer from a list of precalculated plans.
+         * As well as plans for exactly the requested configuration,
+         * plans holding a HEALPix pyramid for the same data may be used
+         * to generate a new plan at a different level.
          * If none of the supplied plans is suitable, null is returned.
          *
          * @param  knownPlans  available pre-calculated plans
@@ -615,6 +668,25 @@ public class SkyDensityPlotter
                     }
                 }
             }
+            if ( HealpixPyramid.isSupported( combiner ) ) {
+                for ( Object plan : knownPlans ) {
+                    if ( plan instanceof SkyDensityPlan ) {
+                        SkyDensityPlan skyPlan = (SkyDensityPlan) plan;
+                        HealpixPyramid pyramid = skyPlan.pyramid_;
+                        if ( pyramid != null &&
+                             pyramid.getMaxLevel() >= level &&
+                             skyPlan.dataSpec_.equals( dataSpec ) &&
+                             skyPlan.geom_.equals( geom_ ) ) {
+                            return new SkyDensityPlan( level, combiner,
+                                                       pyramid
+                                                      .getResult( combiner,
+                                                                  level ),
+                                                       dataSpec, geom_,
+                                                       pyramid );
+                        }
+                    }
+                }
+            }
             return null;
         }
 
@@ -689,11 +761,15 @@ public class SkyDensityPlotter
                     return knownPlan;
                 }
                 else {
+                    HealpixPyramid pyramid =
+                        getPyramid( level_, dataSpec, dataStore );
                     BinList.Result binResult =
-                        readBins( surface_, dataSpec, dataStore )
-                       .getResult().compact();
+                          pyramid != null
+                        ? pyramid.getResult( combiner, level_ )
+                        : readBins( surface_, dataSpec, dataStore )
+                         .getResult().compact();
                     return new SkyDensityPlan( level_, combiner, binResult,
-                                               dataSpec, geom_ );
+                                               dataSpec, geom_, pyramid );
                 }
             }
 
@@ -885,6 +961,7 @@ public class SkyDensityPlotter
         final BinList.Result binResult_;
         final DataSpec dataSpec_;
         final SkyDataGeom geom_;
+        final HealpixPyramid pyramid_;
         int pixelLevel_;
 
         /**
@@ -895,14 +972,18 @@ public class SkyDensityPlotter
          * @param   binResult  data structure containing sky pixel values
          * @param   dataSpec  data specification used to generate binList
          * @param   geom   sky geometry used to generate binList
+         * @param   pyramid   pyramid from which binResult was obtained,
+         *                    or null
          */
         SkyDensityPlan( int level, Combiner combiner, BinList.Result binResult,
-                        DataSpec dataSpec, SkyDataGeom geom ) {
+                        DataSpec dataSpec, SkyDataGeom geom,
+                        HealpixPyramid pyramid ) {
             level_ = level;
             combiner_ = combiner;
             binResult_ = binResult;
             dataSpec_ = dataSpec;
             geom_ = geom;
+            pyramid_ = pyramid;
             pixelLevel_ = Integer.MIN_VALUE;
         }
 
@@ -31,6 +31,7 @@ import javax.swing.SwingUtilities;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.Domain;
 import uk.ac.starlink.table.DomainMapper;
+import uk.ac.starlink.table.RowData;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
@@ -3074,6 +3075,14 @@ public abstract class AbstractPlot2Task implements Task, DynamicTask {
                 rseq_ = null;
                 return new WrapperRowSequence( baseSeq ) {
                     long irow = -1;
+                    final RowData row0Data = new RowData() {
+                        public Object getCell( int icol ) {
+                            return row0_[ icol ];
+                        }
+                        public Object[] getRow() {
+                            return row0_;
+                        }
+                    };
                     @Override
                     public boolean next() throws IOException {
                         return ++irow == 0 || super.next();
@@ -3087,6 +3096,26 @@ public abstract class AbstractPlot2Task implements Task, DynamicTask {
                     public Object[] getRow() throws IOException {
                         return irow == 0 ? row0_ : super.getRow();
                     }
+                    @Override
+                    public double getDouble( int icol ) throws IOException {
+                        return irow == 0 ? row0Data.getDouble( icol )
+                                         : super.getDouble( icol );
+                    }
+                    @Override
+                    public long getLong( int icol ) throws IOException {
+                        return irow == 0 ? row0Data.getLong( icol )
+                                         : super.getLong( icol );
+                    }
+                    @Override
+                    public int getInt( int icol ) throws IOException {
+                        return irow == 0 ? row0Data.getInt( icol )
+                                         : super.getInt( icol );
+                    }
+                    @Override
+                    public boolean isNull( int icol ) throws IOException {
+                        return irow == 0 ? row0Data.isNull( icol )
+                                         : super.isNull( icol );
+                    }
                 };
             }
         }
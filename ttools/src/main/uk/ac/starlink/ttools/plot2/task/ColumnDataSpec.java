@@ -165,6 +165,12 @@ public class ColumnDataSpec extends AbstractDataSpec {
                 }
                 return userRow;
             }
+            @Override
+            public double getUserCoordDouble( RowData rdata, long irow,
+                                              int icoord )
+                    throws IOException {
+                return rdata.getDouble( userCoordColIndices_[ icoord ][ 0 ] );
+            }
         };
     }
 
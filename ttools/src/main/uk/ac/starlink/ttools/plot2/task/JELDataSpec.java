@@ -282,6 +282,14 @@ public class JELDataSpec extends AbstractDataSpec {
             }
             return userRow;
         }
+
+        @Override
+        public double getUserCoordDouble( RowData rdata, long irow,
+                                          int icoord )
+                throws IOException {
+            return userCoordReaders_[ icoord ][ 0 ]
+                  .readDouble( rdata, irow );
+        }
     }
 
     /**
@@ -358,6 +366,21 @@ public class JELDataSpec extends AbstractDataSpec {
          */
         Object readValue( RowData rdata, long irow ) throws IOException;
 
+        /**
+         * Acquires a numeric value from a given RowData.
+         * The default implementation calls {@link #readValue}.
+         *
+         * @param   rdata  row data
+         * @param   irow   row index for rdata
+         * @return  expression value, or NaN if blank or non-numeric
+         */
+        default double readDouble( RowData rdata, long irow )
+                throws IOException {
+            Object value = readValue( rdata, irow );
+            return value instanceof Number ? ((Number) value).doubleValue()
+                                           : Double.NaN;
+        }
+
         /**
          * Returns metadata associated with the column if known.
          *
@@ -409,6 +432,12 @@ public class JELDataSpec extends AbstractDataSpec {
             return rdata.getCell( icol_ );
         }
 
+        @Override
+        public double readDouble( RowData rdata, long irow )
+                throws IOException {
+            return rdata.getDouble( icol_ );
+        }
+
         public ValueInfo getValueInfo() {
             return info_;
         }
@@ -422,6 +451,7 @@ public class JELDataSpec extends AbstractDataSpec {
         private final RowDataEvaluator evaluator_;
         private final CompiledExpression compex_;
         private final ValueInfo info_;
+        private final boolean isPrimitiveNumeric_;
         private long irow_;
 
         /**
@@ -436,6 +466,12 @@ public class JELDataSpec extends AbstractDataSpec {
             evaluator_ = evaluator;
             compex_ = compex;
             info_ = new DefaultValueInfo( expr, compex.getTypeC(), null );
+
+            /* JEL type codes 1-7 are the primitive numeric types,
+             * including char, which is excluded here since its object
+             * value is not a Number. */
+            int type = compex.getType();
+            isPrimitiveNumeric_ = type >= 1 && type <= 7 && type != 2;
         }
 
         public Object readValue( RowData rdata, long irow )
@@ -443,6 +479,14 @@ public class JELDataSpec extends AbstractDataSpec {
             return evaluator_.evaluateObject( compex_, rdata, irow );
         }
 
+        @Override
+        public double readDouble( RowData rdata, long irow )
+                throws IOException {
+            return isPrimitiveNumeric_
+                 ? evaluator_.evaluateDouble( compex_, rdata, irow )
+                 : ValueReader.super.readDouble( rdata, irow );
+        }
+
         public ValueInfo getValueInfo() {
             return info_;
         }
@@ -477,6 +521,11 @@ public class JELDataSpec extends AbstractDataSpec {
             return rdata_.getCell( icol );
         }
 
+        @Override
+        protected RowData getRowData() {
+            return rdata_;
+        }
+
         /**
          * Evaluates a compiled expression using a given RowData.
          *
@@ -497,7 +546,7 @@ public class JELDataSpec extends AbstractDataSpec {
 
             /* Perform the evaluation. */
             try {
-                return evaluate( compex );
+                return evaluateUnsynchronized( compex );
             }
             catch ( IOException e ) {
                 throw e;
@@ -506,6 +555,31 @@ public class JELDataSpec extends AbstractDataSpec {
                 return null;
             }
         }
+
+        /**
+         * Evaluates a compiled numeric expression using a given RowData.
+         *
+         * @param   compex   expression to evaluate,
+         *                   of primitive numeric type
+         * @param   rdata   object supplying row data
+         * @param   irow   index of the row of interest
+         * @return  expression value, or NaN if it could not be evaluated
+         */
+        public double evaluateDouble( CompiledExpression compex,
+                                      RowData rdata, long irow )
+                throws IOException {
+            rdata_ = rdata;
+            irow_ = irow;
+            try {
+                return evaluateDoubleUnsynchronized( compex );
+            }
+            catch ( IOException e ) {
+                throw e;
+            }
+            catch ( Throwable e ) {
+                return Double.NaN;
+            }
+        }
     }
 
     /**
@@ -0,0 +1,383 @@
+package uk.ac.starlink.ttools.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Size-bounded least-recently-used cache with explicit size accounting.
+ *
+ * <p>Each value is assigned a size (typically an estimate of the
+ * number of bytes it occupies) when it is inserted.
+ * When the total size exceeds the configured limit,
+ * least recently accessed entries are evicted until it fits again.
+ * A value which is too large to fit on its own is not cached at all.
+ * If values can change size while cached, {@link #updateSize}
+ * should be called to keep the accounting correct.
+ * Entries may also be given an idle lifetime, after which they
+ * are discarded even if there is room for them.
+ * Unlike {@link java.lang.ref.SoftReference}-based caches,
+ * memory use and eviction are therefore predictable and independent
+ * of garbage collector behaviour.
+ *
+ * <p>Counts of hits, misses, evictions and expiries are maintained
+ * for monitoring purposes.
+ *
+ * <p>All methods are synchronized, so instances of this class are
+ * safe for use from multiple threads.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class LruCache<K,V> {
+
+    private final long maxSize_;
+    private final long ttlMillis_;
+    private final ToLongFunction<? super V> sizer_;
+    private final LongSupplier clock_;
+    private final LinkedHashMap<K,Entry<V>> map_;
+    private long totalSize_;
+    private long nHit_;
+    private long nMiss_;
+    private long nEvict_;
+    private long nExpire_;
+
+    /**
+     * Constructor.
+     *
+     * @param  maxSize  maximum total size of entries;
+     *                  if non-positive there is no limit
+     * @param  ttlMillis  time in milliseconds after its last access
+     *                    at which an entry expires;
+     *                    if non-positive entries do not expire
+     * @param  sizer   determines the size of each value inserted
+     */
+    public LruCache( long maxSize, long ttlMillis,
+                     ToLongFunction<? super V> sizer ) {
+        this( maxSize, ttlMillis, sizer, System::currentTimeMillis );
+    }
+
+    /**
+     * Constructor with configurable clock.
+     *
+     * @param  maxSize  maximum total size of entries;
+     *                  if non-positive there is no limit
+     * @param  ttlMillis  time in milliseconds after its last access
+     *                    at which an entry expires;
+     *                    if non-positive entries do not expire
+     * @param  sizer   determines the size of each value inserted
+     * @param  clock   supplies the current time in milliseconds
+     */
+    LruCache( long maxSize, long ttlMillis, ToLongFunction<? super V> sizer,
+              LongSupplier clock ) {
+        maxSize_ = maxSize;
+        ttlMillis_ = ttlMillis;
+        sizer_ = sizer;
+        clock_ = clock;
+        map_ = new LinkedHashMap<K,Entry<V>>( 16, 0.75f, true );
+    }
+
+    /**
+     * Returns the value associated with a given key, if present and
+     * not expired.  A successful retrieval marks the entry as
+     * most recently used.
+     *
+     * @param  key  key
+     * @return   value, or null if absent
+     */
+    public synchronized V get( K key ) {
+        Entry<V> entry = map_.get( key );
+        long now = clock_.getAsLong();
+        if ( entry != null && isExpired( entry, now ) ) {
+            removeEntry( key );
+            nExpire_++;
+            entry = null;
+        }
+        if ( entry == null ) {
+            nMiss_++;
+            return null;
+        }
+        else {
+            nHit_++;
+            entry.accessTime_ = now;
+            return entry.value_;
+        }
+    }
+
+    /**
+     * Adds an entry to this cache, replacing any existing value
+     * for the same key.  Other entries may be evicted as a result.
+     * If the size of the new value on its own exceeds the limit,
+     * it is not retained and no other entries are affected,
+     * though any existing value for the same key is still removed.
+     *
+     * @param  key  key
+     * @param  value  value
+     * @return  list of values evicted from the cache as a result
+     *          of this operation, not including any replaced value
+     *          for the same key
+     */
+    public synchronized List<V> put( K key, V value ) {
+        long now = clock_.getAsLong();
+        removeEntry( key );
+        List<V> removed = new ArrayList<V>();
+        long size = Math.max( 0, sizer_.applyAsLong( value ) );
+        if ( ! isCacheable( size ) ) {
+            return removed;
+        }
+        expire( now, removed );
+        map_.put( key, new Entry<V>( value, size, now ) );
+        totalSize_ += size;
+        evict( removed );
+        return removed;
+    }
+
+    /**
+     * Re-evaluates the size of the value currently held for a given key.
+     * This should be called if the value may have changed size since
+     * it was inserted.  Other entries may be evicted as a result,
+     * and if the value no longer fits in the cache on its own,
+     * it is removed.
+     *
+     * @param  key  key
+     * @return  list of values removed from the cache as a result
+     *          of this operation
+     */
+    public synchronized List<V> updateSize( K key ) {
+        List<V> removed = new ArrayList<V>();
+        Entry<V> entry = map_.get( key );
+        if ( entry != null ) {
+            long size = Math.max( 0, sizer_.applyAsLong( entry.value_ ) );
+            totalSize_ += size - entry.size_;
+            entry.size_ = size;
+            if ( isCacheable( size ) ) {
+                evict( removed );
+            }
+            else {
+                removeEntry( key );
+                nEvict_++;
+                removed.add( entry.value_ );
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the entry for a given key, if any.
+     *
+     * @param  key  key
+     * @return  removed value, or null
+     */
+    public synchronized V remove( K key ) {
+        Entry<V> entry = removeEntry( key );
+        return entry == null ? null : entry.value_;
+    }
+
+    /**
+     * Discards all entries that have passed their idle lifetime.
+     *
+     * @return  list of values removed
+     */
+    public synchronized List<V> purge() {
+        List<V> removed = new ArrayList<V>();
+        expire( clock_.getAsLong(), removed );
+        return removed;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        map_.clear();
+        totalSize_ = 0;
+    }
+
+    /**
+     * Returns the number of entries currently in this cache.
+     *
+     * @return  entry count
+     */
+    public synchronized int size() {
+        return map_.size();
+    }
+
+    /**
+     * Returns the total size of entries currently in this cache.
+     *
+     * @return  sum of entry sizes
+     */
+    public synchronized long getTotalSize() {
+        return totalSize_;
+    }
+
+    /**
+     * Returns the size limit of this cache.
+     *
+     * @return  maximum total size, or non-positive for no limit
+     */
+    public long getMaxSize() {
+        return maxSize_;
+    }
+
+    /**
+     * Returns the number of <code>get</code> calls that found a value.
+     *
+     * @return  hit count
+     */
+    public synchronized long getHitCount() {
+        return nHit_;
+    }
+
+    /**
+     * Returns the number of <code>get</code> calls that found no value.
+     *
+     * @return  miss count
+     */
+    public synchronized long getMissCount() {
+        return nMiss_;
+    }
+
+    /**
+     * Returns the number of entries that have been evicted
+     * to keep within the size limit.
+     *
+     * @return  eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return nEvict_;
+    }
+
+    /**
+     * Returns the number of entries that have been discarded
+     * because their idle lifetime was exceeded.
+     *
+     * @return  expiry count
+     */
+    public synchronized long getExpiryCount() {
+        return nExpire_;
+    }
+
+    /**
+     * Returns a short human-readable summary of the state of this cache.
+     *
+     * @return  statistics summary
+     */
+    public synchronized String getStatsSummary() {
+        return new StringBuffer()
+              .append( "entries=" )
+              .append( map_.size() )
+              .append( ", size=" )
+              .append( totalSize_ )
+              .append( maxSize_ > 0 ? "/" + maxSize_ : "" )
+              .append( ", hits=" )
+              .append( nHit_ )
+              .append( ", misses=" )
+              .append( nMiss_ )
+              .append( ", evictions=" )
+              .append( nEvict_ )
+              .append( ", expiries=" )
+              .append( nExpire_ )
+              .toString();
+    }
+
+    /**
+     * Removes expired entries.
+     *
+     * @param  now  current time
+     * @param  removed  list to which removed values are appended
+     */
+    private void expire( long now, List<V> removed ) {
+        if ( ttlMillis_ > 0 ) {
+            for ( Iterator<Entry<V>> it = map_.values().iterator();
+                  it.hasNext(); ) {
+                Entry<V> entry = it.next();
+                if ( isExpired( entry, now ) ) {
+                    it.remove();
+                    totalSize_ -= entry.size_;
+                    nExpire_++;
+                    removed.add( entry.value_ );
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates whether a value of a given size can be held by this cache.
+     *
+     * @param  size  value size
+     * @return  true iff size does not exceed the limit
+     */
+    private boolean isCacheable( long size ) {
+        return maxSize_ <= 0 || size <= maxSize_;
+    }
+
+    /**
+     * Evicts least recently used entries until the total size is
+     * within the limit.  The most recently used entry is never evicted,
+     * since it is assumed to fit on its own.
+     *
+     * @param  removed  list to which evicted values are appended
+     */
+    private void evict( List<V> removed ) {
+        if ( maxSize_ > 0 ) {
+            for ( Iterator<Entry<V>> it = map_.values().iterator();
+                  totalSize_ > maxSize_ && map_.size() > 1; ) {
+                Entry<V> entry = it.next();
+                it.remove();
+                totalSize_ -= entry.size_;
+                nEvict_++;
+                removed.add( entry.value_ );
+            }
+        }
+    }
+
+    /**
+     * Removes an entry and updates the size accounting.
+     *
+     * @param  key  key
+     * @return  removed entry, or null
+     */
+    private Entry<V> removeEntry( Object key ) {
+        Entry<V> entry = map_.remove( key );
+        if ( entry != null ) {
+            totalSize_ -= entry.size_;
+        }
+        return entry;
+    }
+
+    /**
+     * Indicates whether an entry has passed its idle lifetime.
+     *
+     * @param  entry  entry
+     * @param  now   current time
+     * @return  true iff expired
+     */
+    private boolean isExpired( Entry<V> entry, long now ) {
+        return ttlMillis_ > 0 && now - entry.accessTime_ > ttlMillis_;
+    }
+
+    /**
+     * Aggregates a cached value with its accounting information.
+     */
+    private static class Entry<V> {
+        final V value_;
+        long size_;
+        long accessTime_;
+
+        /**
+         * Constructor.
+         *
+         * @param  value  value
+         * @param  size   size of value
+         * @param  accessTime  time of last access
+         */
+        Entry( V value, long size, long accessTime ) {
+            value_ = value;
+            size_ = size;
+            accessTime_ = accessTime;
+        }
+    }
+}
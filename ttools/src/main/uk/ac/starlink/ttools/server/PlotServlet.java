@@ -20,6 +20,7 @@ import java.util.Set;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import javax.servlet.ServletConfig;
@@ -70,7 +71,7 @@ public class PlotServlet extends HttpServlet {
     private DiskCache imgCache_;
     private StarTableOutput tableOutput_;
     private JDBCAuthenticator jdbcAuth_;
-    private SoftCache<String,PlotSession<?,?>> sessionCache_;
+    private LruCache<String,PlotSession<?,?>> sessionCache_;
     private String servletId_;
     private String acao_;
     private Logger logger_;
@@ -105,7 +106,11 @@ public class PlotServlet extends HttpServlet {
         dataStoreFactory_ = sContext.getDataStoreFactory();
         imgCache_ = sContext.getImageCache();
         tableOutput_ = new StarTableOutput();
-        sessionCache_ = new SoftCache<String,PlotSession<?,?>>();
+        sessionCache_ =
+            new LruCache<String,PlotSession<?,?>>(
+                sContext.getSessionCacheLimit(),
+                sContext.getSessionTimeoutMillis(),
+                PlotSession::getSizeEstimate );
         servletId_ = createId( this );
         String acao = sContext.getAllowOrigins();
         acao_ = acao == null ? DFLT_ALLOWORIGINS : acao;
@@ -287,12 +292,32 @@ public class PlotServlet extends HttpServlet {
                 response.sendError( 400, "Bad plot request" );
                 return;
             }
-            sessionCache_.put( sessionId, session );
-            sessionCache_.purge();
+            logDiscards( sessionCache_.put( sessionId, session ) );
         }
 
         /* Service the session-specific request. */
         service.sessionRespond( session, request, response );
+
+        /* The request may have changed the session's memory footprint,
+         * for instance by resizing the plot, so update the accounting. */
+        logDiscards( sessionCache_.updateSize( sessionId ) );
+    }
+
+    /**
+     * Logs the result of an operation on the session cache.
+     *
+     * @param  discards  sessions removed from the cache by the operation
+     */
+    private void logDiscards( List<PlotSession<?,?>> discards ) {
+        int nDiscard = discards.size();
+        if ( nDiscard > 0 ) {
+            logger_.info( "Discarded " + nDiscard + " cached session"
+                        + ( nDiscard == 1 ? "" : "s" ) );
+        }
+        if ( logger_.isLoggable( Level.FINE ) ) {
+            logger_.fine( "Session cache: "
+                        + sessionCache_.getStatsSummary() );
+        }
     }
 
     /**
@@ -161,6 +161,40 @@ public class PlotSession<P,A> {
         highlights_ = new ArrayList<HighlightPosition>();
     }
 
+    /**
+     * Returns an estimate of the number of bytes of memory associated
+     * with this session.
+     * This includes the cached plot images and per-layer plans,
+     * which scale with the plot area, and the cached coordinate
+     * columns of the data store, which scale with the table row counts.
+     * It is only an approximation, intended for cache accounting.
+     *
+     * @return  approximate memory footprint in bytes
+     */
+    public long getSizeEstimate() {
+        long npix = (long) size_.width * (long) size_.height;
+        int nz = scene_.getGanger().getZoneCount();
+        long imageBytes = 0;
+        long dataBytes = 0;
+        Set<DataSpec> dataSpecs = new HashSet<DataSpec>();
+        for ( int iz = 0; iz < nz; iz++ ) {
+            PlotLayer[] layers = scene_.getLayers( iz );
+
+            /* One ARGB image per zone, and a plan (for instance
+             * a grid of bin counts) per layer. */
+            imageBytes += npix * ( 4 + 8 * layers.length );
+            for ( PlotLayer layer : layers ) {
+                DataSpec dataSpec = layer.getDataSpec();
+                if ( dataSpec != null && dataSpecs.add( dataSpec ) ) {
+                    long nrow =
+                        Math.max( 0, dataSpec.getSourceTable().getRowCount() );
+                    dataBytes += nrow * ( 8 * dataSpec.getCoordCount() + 1 );
+                }
+            }
+        }
+        return imageBytes + dataBytes;
+    }
+
     /**
      * Writes the bytes containing the image file for the current
      * state of this session to a given output stream.
@@ -102,6 +102,22 @@ public class StiltsContext {
      */
     public static final String ALLOWORIGINS_PARAM = "allowOrigins";
 
+    /**
+     * Name of a servlet initialisation parameter giving the approximate
+     * maximum number of bytes of memory to be used by cached plot sessions.
+     * If not supplied, or not positive, a quarter of the maximum
+     * heap size is used.
+     */
+    public static final String SESSIONCACHELIMIT_PARAM = "sessionCacheLimit";
+
+    /**
+     * Name of a servlet initialisation parameter giving the number of
+     * seconds after its last use at which a cached plot session expires.
+     * If not supplied, or not positive, sessions are only discarded
+     * when required to keep within the session cache limit.
+     */
+    public static final String SESSIONTIMEOUT_PARAM = "sessionTimeout";
+
     /** 
      * Constructor.
      *
@@ -183,6 +199,49 @@ public class StiltsContext {
         return context_.getInitParameter( ALLOWORIGINS_PARAM );
     }
 
+    /**
+     * Returns the approximate maximum number of bytes to be occupied
+     * by cached plot sessions.
+     *
+     * @return  session cache limit in bytes
+     */
+    public long getSessionCacheLimit() throws ServletException {
+        long limit = getLongParameter( SESSIONCACHELIMIT_PARAM );
+        return limit > 0 ? limit : Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    /**
+     * Returns the idle time after which cached plot sessions expire.
+     *
+     * @return  session timeout in milliseconds, or non-positive for none
+     */
+    public long getSessionTimeoutMillis() throws ServletException {
+        return getLongParameter( SESSIONTIMEOUT_PARAM ) * 1000;
+    }
+
+    /**
+     * Returns the value of an integer-valued initialisation parameter.
+     *
+     * @param  paramName  parameter name
+     * @return  parameter value, or zero if absent
+     * @throws  ServletException  if the value cannot be parsed
+     */
+    private long getLongParameter( String paramName ) throws ServletException {
+        String txt = context_.getInitParameter( paramName );
+        if ( txt == null || txt.trim().length() == 0 ) {
+            return 0;
+        }
+        else {
+            try {
+                return Long.parseLong( txt.trim() );
+            }
+            catch ( RuntimeException e ) {
+                throw new ServletException( "Unsuitable value \"" + txt
+                                          + "\" for " + paramName );
+            }
+        }
+    }
+
     /**
      * Returns a TupleRunner for use with server tasks.
      *
@@ -6,7 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.logging.Logger;
-import uk.ac.starlink.table.OnceRowPipe;
+import uk.ac.starlink.table.BlockRowPipe;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.RowSplittable;
 import uk.ac.starlink.table.StarTable;
@@ -175,6 +175,13 @@ public abstract class AbstractInputTableParameter<T> extends Parameter<T> {
                                      fmt );
         }
         else {
+            TextTableCache textCache = TextTableCache.getDefaultInstance();
+            if ( textCache != null ) {
+                StarTable table = textCache.makeStarTable( loc, fmt, tfact );
+                if ( table != null ) {
+                    return table;
+                }
+            }
             return tfact.makeStarTable( loc, fmt );
         }
     }
@@ -251,7 +258,7 @@ public abstract class AbstractInputTableParameter<T> extends Parameter<T> {
         }
         final TableBuilder tbuilder = tfact.getTableBuilder( inFmt );
         assert tbuilder != null;
-        final OnceRowPipe streamStore = new OnceRowPipe( 1024 );
+        final BlockRowPipe streamStore = new BlockRowPipe();
         Thread streamer = new Thread( "Table Streamer" ) {
             public void run() {
                 try {
@@ -2,14 +2,18 @@ package uk.ac.starlink.ttools.task;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.function.Supplier;
 import uk.ac.starlink.table.DefaultValueInfo;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.table.ValueInfo;
+import uk.ac.starlink.ttools.filter.GKArray;
+import uk.ac.starlink.ttools.filter.HyperLogLog;
 import uk.ac.starlink.ttools.filter.StatsFilter;
 import uk.ac.starlink.ttools.plot2.layer.Combiner;
+import uk.ac.starlink.ttools.plot2.layer.QuantileCombiner;
 import uk.ac.starlink.util.ByteList;
 import uk.ac.starlink.util.DoubleList;
 import uk.ac.starlink.util.FloatList;
@@ -64,6 +68,18 @@ public class Aggregators {
 
     /** Aggregator for counting non-blank items, with long-valued counter. */
     public static final Aggregator NGOOD_LONG;
+
+    /** Aggregator that estimates the median in bounded memory. */
+    public static final Aggregator MEDIAN_APPROX;
+
+    /** Aggregator that estimates the number of distinct non-blank values. */
+    public static final Aggregator NDISTINCT_APPROX;
+
+    /** Suffix for quantile specifiers indicating approximate calculation. */
+    public static final String APPROX_SUFFIX = "-approx";
+
+    /** Rank accuracy of quantile sketches used by approximate aggregators. */
+    public static final double SKETCH_RANK_ACCURACY = 0.01;
  
     /** Useful instances. */
     private static final Aggregator[] INSTANCES = {
@@ -80,6 +96,10 @@ public class Aggregators {
         ARRAY_WITHBLANKS = new ArrayAggregator( "array-withblanks", true ),
         COUNT_LONG = new CountAggregator( "count-long", true ),
         NGOOD_LONG = new CountGoodAggregator( "ngood-long", true ),
+        MEDIAN_APPROX = new SketchQuantileAggregator( "median" + APPROX_SUFFIX,
+                                                      "the median", 0.5 ),
+        NDISTINCT_APPROX =
+            new DistinctCountAggregator( "ndistinct" + APPROX_SUFFIX ),
     };
 
     /**
@@ -112,6 +132,14 @@ public class Aggregators {
                 return agg;
             }
         }
+        if ( aggTxt.toLowerCase().endsWith( APPROX_SUFFIX ) ) {
+            String qTxt =
+                aggTxt.substring( 0, aggTxt.length() - APPROX_SUFFIX.length() );
+            double quant = StatsFilter.parseQuantileSpecifier( qTxt );
+            if ( ! Double.isNaN( quant ) ) {
+                return new SketchQuantileAggregator( aggTxt, null, quant );
+            }
+        }
         double quant = StatsFilter.parseQuantileSpecifier( aggTxt );
         if ( ! Double.isNaN( quant ) ) {
             Combiner qcombiner =
@@ -148,10 +176,50 @@ public class Aggregators {
         sbuf.append( "<li><code>Q.nnn</code>: " )
             .append( "quantile nnn (e.g. Q.05 is the fifth percentile)" )
             .append( "</li>\n" );
+        sbuf.append( "<li><code>Q.nnn" + APPROX_SUFFIX + "</code>: " )
+            .append( "approximate quantile nnn calculated in bounded memory" )
+            .append( "</li>\n" );
         sbuf.append( "</ul>\n" );
         return sbuf.toString();
     }
 
+    /**
+     * Indicates whether the memory used by the accumulators of a given
+     * aggregator is bounded, that is independent of the number of
+     * values submitted.
+     * This is true for most aggregators, but not for instance for
+     * exact quantiles or array accumulation, which have to store
+     * all submitted values.
+     * If not known, false is returned.
+     *
+     * @param  aggregator  aggregator
+     * @return  true iff accumulator memory use is known to be bounded
+     */
+    public static boolean isMemoryBounded( Aggregator aggregator ) {
+        if ( aggregator instanceof CombinerAggregator ) {
+            return ! ( ((CombinerAggregator) aggregator).combiner_
+                       instanceof QuantileCombiner );
+        }
+        else {
+            return aggregator instanceof CountAggregator
+                || aggregator instanceof CountGoodAggregator
+                || aggregator instanceof ExtremumAggregator
+                || aggregator instanceof SketchQuantileAggregator
+                || aggregator instanceof DistinctCountAggregator;
+        }
+    }
+
+    /**
+     * Indicates whether a given aggregator ignores the values submitted
+     * to it, depending only on the number of rows in the group.
+     *
+     * @param  aggregator  aggregator
+     * @return  true iff submitted data values do not affect the result
+     */
+    public static boolean ignoresValues( Aggregator aggregator ) {
+        return aggregator instanceof CountAggregator;
+    }
+
     /**
      * Partial aggregator implementation.
      */
@@ -840,6 +908,218 @@ public class Aggregators {
         }
     }
 
+    /**
+     * Aggregator that estimates a quantile in bounded memory.
+     * Values are retained exactly for small groups,
+     * but once there are more than a fixed number of them
+     * a Greenwald-Khanna quantile sketch is used instead.
+     */
+    private static class SketchQuantileAggregator extends AbstractAggregator {
+        final String descrip_;
+        final double quantile_;
+
+        /**
+         * Constructor.
+         *
+         * @param  name   aggregator name
+         * @param  descrip  minimal description, or null
+         * @param  quantile  quantile point, between 0 and 1
+         */
+        SketchQuantileAggregator( String name, String descrip,
+                                  double quantile ) {
+            super( name,
+                   ( descrip == null
+                         ? "value below which " + quantile
+                         + " of the values fall"
+                         : descrip + " of the values" )
+                 + ", approximated to a rank accuracy of "
+                 + SKETCH_RANK_ACCURACY + " in bounded memory" );
+            descrip_ = descrip == null ? quantile + " quantile" : descrip;
+            quantile_ = quantile;
+        }
+
+        public Aggregation createAggregation( ValueInfo inInfo ) {
+            if ( Number.class.isAssignableFrom( inInfo.getContentClass() ) ) {
+                DefaultValueInfo outInfo = new DefaultValueInfo( inInfo );
+                outInfo.setContentClass( Double.class );
+                outInfo.setDescription( ( inInfo.getDescription() == null
+                                              ? inInfo.getName()
+                                              : inInfo.getDescription() )
+                                      + ", approximate " + descrip_ );
+                return new DefaultAggregation( outInfo,
+                           () -> new SketchQuantileAccumulator( quantile_ ) );
+            }
+            else {
+                return null;
+            }
+        }
+
+        /**
+         * Accumulator for SketchQuantileAggregator.
+         */
+        private static class SketchQuantileAccumulator implements Accumulator {
+            final double quantile_;
+            double[] values_;
+            int nval_;
+            GKArray sketch_;
+
+            /** Maximum number of values stored exactly. */
+            static final int MAX_EXACT =
+                (int) Math.round( 1.0 / SKETCH_RANK_ACCURACY );
+
+            /**
+             * Constructor.
+             *
+             * @param  quantile  quantile point, between 0 and 1
+             */
+            SketchQuantileAccumulator( double quantile ) {
+                quantile_ = quantile;
+                values_ = new double[ 4 ];
+            }
+
+            public void submit( Object datum ) {
+                if ( datum instanceof Number ) {
+                    double dval = ((Number) datum).doubleValue();
+                    if ( ! Double.isNaN( dval ) ) {
+                        submitValue( dval );
+                    }
+                }
+            }
+
+            public Object getResult() {
+                final double result;
+                if ( sketch_ != null ) {
+                    result = sketch_.isEmpty()
+                           ? Double.NaN
+                           : sketch_.getValueAtQuantile( quantile_ );
+                }
+                else if ( nval_ == 0 ) {
+                    result = Double.NaN;
+                }
+                else {
+                    double[] sorted = Arrays.copyOf( values_, nval_ );
+                    Arrays.sort( sorted );
+                    double dpos = quantile_ * ( nval_ - 1 );
+                    int ipos = (int) dpos;
+                    double frac = dpos - ipos;
+                    double value = sorted[ ipos ];
+                    if ( frac > 0 ) {
+                        value += frac * ( sorted[ ipos + 1 ] - sorted[ ipos ] );
+                    }
+                    result = value;
+                }
+                return Double.valueOf( result );
+            }
+
+            public void add( Accumulator other ) {
+                SketchQuantileAccumulator acc =
+                    (SketchQuantileAccumulator) other;
+                if ( acc.sketch_ != null ) {
+                    if ( sketch_ == null ) {
+                        toSketch();
+                    }
+                    sketch_.mergeWith( acc.sketch_ );
+                }
+                else {
+                    for ( int i = 0; i < acc.nval_; i++ ) {
+                        submitValue( acc.values_[ i ] );
+                    }
+                }
+            }
+
+            /**
+             * Accepts a non-blank value.
+             *
+             * @param  dval  value
+             */
+            private void submitValue( double dval ) {
+                if ( sketch_ != null ) {
+                    sketch_.accept( dval );
+                }
+                else if ( nval_ < MAX_EXACT ) {
+                    if ( nval_ == values_.length ) {
+                        values_ = Arrays.copyOf( values_,
+                                                 Math.min( 2 * nval_,
+                                                           MAX_EXACT ) );
+                    }
+                    values_[ nval_++ ] = dval;
+                }
+                else {
+                    toSketch();
+                    sketch_.accept( dval );
+                }
+            }
+
+            /**
+             * Converts from exact value storage to the sketch.
+             */
+            private void toSketch() {
+                sketch_ = new GKArray( SKETCH_RANK_ACCURACY );
+                for ( int i = 0; i < nval_; i++ ) {
+                    sketch_.accept( values_[ i ] );
+                }
+                values_ = null;
+                nval_ = 0;
+            }
+        }
+    }
+
+    /**
+     * Aggregator that estimates the number of distinct non-blank values
+     * using a HyperLogLog counter.
+     */
+    private static class DistinctCountAggregator extends AbstractAggregator {
+
+        /**
+         * Constructor.
+         *
+         * @param  name  aggregator name
+         */
+        DistinctCountAggregator( String name ) {
+            super( name,
+                   "estimates the number of distinct non-blank values"
+                 + " in bounded memory (exact for small counts)" );
+        }
+
+        public Aggregation createAggregation( ValueInfo inInfo ) {
+            String inName = inInfo.getName();
+            ValueInfo outInfo =
+                new DefaultValueInfo( "ndistinct_" + inName, Long.class,
+                                      "Approximate number of distinct"
+                                    + " non-blank values of " + inName );
+            return new DefaultAggregation( outInfo,
+                                           DistinctCountAccumulator::new );
+        }
+
+        /**
+         * Accumulator for DistinctCountAggregator.
+         */
+        private static class DistinctCountAccumulator implements Accumulator {
+            final HyperLogLog counter_;
+
+            /**
+             * Constructor.
+             */
+            DistinctCountAccumulator() {
+                counter_ = new HyperLogLog();
+            }
+
+            public void submit( Object datum ) {
+                if ( ! Tables.isBlank( datum ) ) {
+                    counter_.addValue( datum );
+                }
+            }
+
+            public Object getResult() {
+                return Long.valueOf( counter_.getCount() );
+            }
+
+            public void add( Accumulator other ) {
+                counter_.merge( ((DistinctCountAccumulator) other).counter_ );
+            }
+        }
+    }
+
     /**
      * PrimitiveList-like object that can store a sequence of boolean values.
      * This is built on top of java.util.BitSet, but needs a bit more work
@@ -26,6 +26,7 @@ import uk.ac.starlink.ttools.cone.Coverage;
 import uk.ac.starlink.ttools.cone.CoverageQuerySequenceFactory;
 import uk.ac.starlink.ttools.cone.HealpixSortedQuerySequenceFactory;
 import uk.ac.starlink.ttools.cone.JELQuerySequenceFactory;
+import uk.ac.starlink.ttools.cone.ParallelResultRowSequence;
 import uk.ac.starlink.ttools.cone.QuerySequenceFactory;
 import uk.ac.starlink.ttools.cone.ServiceFindMode;
 import uk.ac.starlink.ttools.cone.UploadMatcher;
@@ -46,6 +47,7 @@ public class CdsUploadSkyMatch extends SingleMapperTask {
     private final StringParameter cdstableParam_;
     private final ChoiceParameter<UserFindMode> findParam_;
     private final IntegerParameter chunkParam_;
+    private final IntegerParameter parallelParam_;
     private final IntegerParameter maxrecParam_;
     private final ContentCodingParameter codingParam_;
     private final URLParameter urlParam_;
@@ -177,6 +179,30 @@ public class CdsUploadSkyMatch extends SingleMapperTask {
         paramList.add( findParam_ );
         paramList.add( chunkParam_ );
 
+        parallelParam_ = new IntegerParameter( "parallel" );
+        parallelParam_.setIntDefault( 1 );
+        parallelParam_.setPrompt( "Number of blocks to upload in parallel" );
+        parallelParam_.setUsage( "<n>" );
+        parallelParam_.setMinimum( 1 );
+        parallelParam_.setMaximum( ParallelResultRowSequence
+                                  .getMaxParallelism() );
+        parallelParam_.setDescription( new String[] {
+            "<p>Allows multiple blocks to be uploaded to",
+            "the CDS Xmatch service concurrently.",
+            "If set to the default value, 1, each block is only sent",
+            "when the result for the previous one has been received.",
+            "If set to <code>&lt;n&gt;</code>, up to <code>&lt;n&gt;</code>",
+            "blocks may be in progress at any one time,",
+            "which can reduce the total time taken for a large match.",
+            "The output is the same regardless of this setting.",
+            "</p>",
+            "<p>Setting this to a large value may overload the service;",
+            "the maximum permitted value is controlled by the",
+            ParallelResultRowSequence.MAXPAR_PROP + " system property.",
+            "</p>",
+        } );
+        paramList.add( parallelParam_ );
+
         maxrecParam_ = new IntegerParameter( "maxrec" );
         maxrecParam_.setPrompt( "Maximum number of output rows" );
         maxrecParam_.setDescription( new String[] {
@@ -364,6 +390,7 @@ public class CdsUploadSkyMatch extends SingleMapperTask {
         ServiceFindMode serviceMode = userMode.getServiceMode();
         boolean oneToOne = userMode.isOneToOne();
         int blocksize = chunkParam_.intValue( env );
+        int parallelism = parallelParam_.intValue( env );
         long maxrec = maxrecParam_.intValue( env );
         ContentCoding coding = codingParam_.codingValue( env );
         URL url = urlParam_.objectValue( env );
@@ -386,6 +413,7 @@ public class CdsUploadSkyMatch extends SingleMapperTask {
             new BlockUploader( umatcher, blocksize, maxrec, tableName,
                                inFixAct, cdsFixAct, serviceMode, oneToOne,
                                uploadEmpty );
+        blocker.setParallelism( parallelism );
         blocker.setTruncationAdvice( "Reduce " + chunkParam_.getName() + "?" );
 
         /* Create and return an object which will produce the result. */
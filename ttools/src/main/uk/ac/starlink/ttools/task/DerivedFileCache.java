@@ -0,0 +1,246 @@
+package uk.ac.starlink.ttools.task;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+
+/**
+ * Persistent cache of files derived from local input files,
+ * stored in a {@link DiskCache} directory.
+ *
+ * <p>Cache files are keyed by the canonical path, size and modification
+ * time of the input file, along with a caller-supplied string
+ * describing how the cached content is derived from it,
+ * so that any change to the input or the way it is processed
+ * results in a new cache entry.
+ * New entries are assembled in a workspace file, which is only renamed
+ * into place once it is complete, so that a partially written file
+ * is never visible in the cache.
+ * Old entries are removed according to the usual DiskCache tidying
+ * rules, but only once a new entry has been opened.
+ *
+ * <p>Failure to write the cache is not fatal; a warning is logged
+ * and the caller is expected to proceed without the cache.
+ *
+ * @author   Mark Taylor
+ * @since    17 Oct 2026
+ */
+public class DerivedFileCache {
+
+    private final DiskCache cache_;
+    private final String prefix_;
+    private final String suffix_;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.task" );
+
+    /**
+     * Constructor.
+     *
+     * @param  cache  disk cache in which to store derived files
+     * @param  prefix  filename prefix for cache files
+     * @param  suffix  filename suffix for cache files
+     */
+    public DerivedFileCache( DiskCache cache, String prefix, String suffix ) {
+        cache_ = cache;
+        prefix_ = prefix;
+        suffix_ = suffix;
+    }
+
+    /**
+     * Returns the disk cache used by this object.
+     *
+     * @return  disk cache
+     */
+    public DiskCache getDiskCache() {
+        return cache_;
+    }
+
+    /**
+     * Returns the cache file which corresponds to a given input file
+     * and derivation.  The file may or may not exist.
+     *
+     * @param  inFile  input file
+     * @param  derivation  text identifying how the cache file content
+     *                     is derived from the input file
+     * @return  cache file
+     */
+    public File getCacheFile( File inFile, String derivation )
+            throws IOException {
+        inFile = inFile.getCanonicalFile();
+        String key = new StringBuffer()
+            .append( inFile.getPath() )
+            .append( "|" )
+            .append( inFile.length() )
+            .append( "|" )
+            .append( inFile.lastModified() )
+            .append( "|" )
+            .append( derivation )
+            .toString();
+        return new File( cache_.getDir(),
+                         prefix_ + DiskCache.hashText( key ) + suffix_ );
+    }
+
+    /**
+     * Returns an object read from the cache file for a given input file,
+     * writing the cache file first if necessary.
+     * If an existing cache file cannot be read, or is rejected by the
+     * reader, it is replaced.
+     * If a new cache file cannot be written or read, or is rejected,
+     * a warning is logged and null is returned.
+     *
+     * @param  inFile  input file
+     * @param  derivation  text identifying how the cache file content
+     *                     is derived from the input file
+     * @param  reader   reads objects from cache files
+     * @param  writer   writes cache file content
+     * @return  object read from the cache file, or null if the cache
+     *          could not be used
+     */
+    public <T> T readCached( File inFile, String derivation,
+                             CacheReader<T> reader, CacheWriter writer )
+            throws IOException, InterruptedException {
+        inFile = inFile.getCanonicalFile();
+        File cacheFile = getCacheFile( inFile, derivation );
+        if ( cacheFile.exists() ) {
+            cache_.touch( cacheFile );
+            try {
+                T item = reader.readCacheFile( cacheFile );
+                if ( item != null ) {
+                    cache_.log( "Using cached " + cache_.getLabel() + " "
+                              + cacheFile + " for " + inFile );
+                    return item;
+                }
+            }
+            catch ( InterruptedIOException e ) {
+                throw e;
+            }
+            catch ( IOException e ) {
+                logger_.log( Level.WARNING,
+                             "Failed to read cache file " + cacheFile, e );
+            }
+            cacheFile.delete();
+        }
+        T item;
+        try {
+            cache_.ready();
+            writeCacheFile( writer, cacheFile );
+            cache_.fileAdded( cacheFile );
+            item = reader.readCacheFile( cacheFile );
+        }
+        catch ( InterruptedIOException e ) {
+            throw e;
+        }
+        catch ( IOException e ) {
+            logger_.warning( "Failed to cache " + cache_.getLabel()
+                           + " for " + inFile + " (" + e
+                           + "); continuing without cache" );
+            return null;
+        }
+        if ( item == null ) {
+            logger_.warning( "Rejected new " + cache_.getLabel()
+                           + " cache file " + cacheFile
+                           + "; continuing without cache" );
+            cacheFile.delete();
+            return null;
+        }
+
+        /* Tidy only once the new file is open, and make sure it's not
+         * one of the files discarded. */
+        cache_.tidy( cacheFile );
+        return item;
+    }
+
+    /**
+     * Writes a cache file via a workspace file.
+     *
+     * @param  writer  writes cache file content
+     * @param  cacheFile  destination file
+     */
+    private void writeCacheFile( CacheWriter writer, File cacheFile )
+            throws IOException, InterruptedException {
+        File workFile = DiskCache.toWorkFilename( cacheFile );
+        cache_.log( "Writing " + cache_.getLabel() + " cache file "
+                  + cacheFile );
+        boolean ok = false;
+        try {
+            writer.writeCacheFile( workFile );
+            ok = workFile.renameTo( cacheFile );
+            if ( ! ok ) {
+                throw new IOException( "Failed to rename " + workFile
+                                     + " to " + cacheFile );
+            }
+        }
+        finally {
+            if ( ! ok ) {
+                workFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Returns a disk cache in the default location, if caching has been
+     * enabled by setting a given system property to "true".
+     *
+     * @param  enableProp  name of system property that enables caching
+     * @param  dirName   name of cache subdirectory
+     * @param  label   short lower-case description of cache content
+     * @return   new disk cache, or null if caching is not enabled
+     */
+    public static DiskCache createDefaultDiskCache( String enableProp,
+                                                    String dirName,
+                                                    String label ) {
+        boolean isEnabled;
+        try {
+            isEnabled = Boolean.parseBoolean( System
+                                             .getProperty( enableProp ) );
+        }
+        catch ( SecurityException e ) {
+            isEnabled = false;
+        }
+        if ( isEnabled ) {
+            DiskCache cache =
+                new DiskCache( DiskCache.toCacheDir( null, dirName ), 0,
+                               label );
+            logger_.info( "Caching enabled for " + label + " files in "
+                        + cache.getDir() );
+            return cache;
+        }
+        else {
+            return null;
+        }
+    }
+
+    /**
+     * Reads objects from cache files.
+     */
+    @FunctionalInterface
+    public interface CacheReader<T> {
+
+        /**
+         * Reads an object from a cache file.
+         *
+         * @param  file  existing cache file
+         * @return  object read, or null if the file is unsuitable
+         */
+        T readCacheFile( File file ) throws IOException;
+    }
+
+    /**
+     * Writes cache files.
+     */
+    @FunctionalInterface
+    public interface CacheWriter {
+
+        /**
+         * Writes cache content to a given file.
+         *
+         * @param  file  destination file
+         */
+        void writeCacheFile( File file )
+                throws IOException, InterruptedException;
+    }
+}
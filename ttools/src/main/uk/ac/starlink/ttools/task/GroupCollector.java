@@ -0,0 +1,449 @@
+package uk.ac.starlink.ttools.task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.RowCollector;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.storage.Codec;
+import uk.ac.starlink.ttools.filter.RowSpill;
+
+/**
+ * RowCollector that performs grouped aggregation in bounded memory.
+ *
+ * <p>Input rows consist of the grouping key values followed by the
+ * values to be aggregated.
+ * Groups are held in a fixed number of in-memory hash partitions.
+ * If the estimated memory used by the groups exceeds a given budget,
+ * the accumulator is frozen: rows for groups already in memory
+ * continue to be aggregated there, but rows for new groups are
+ * written unaggregated to per-partition spill files instead.
+ * When the results are read out, each partition with spilled rows
+ * is completed by replaying those rows into its in-memory groups,
+ * recursively partitioning again with a different hash if they
+ * still do not fit.
+ *
+ * <p>Memory use is therefore bounded by the budget, except for the
+ * growth of accumulators of groups already in memory;
+ * that growth is itself bounded if only aggregators for which
+ * {@link Aggregators#isMemoryBounded} is true are used.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+class GroupCollector extends RowCollector<GroupCollector.Partitions> {
+
+    private final int nkey_;
+    private final int nagg_;
+    private final Aggregator.Aggregation[] aggregations_;
+    private final Codec[] codecs_;
+    private final long maxMem_;
+    private final long datumSize_;
+    private final int level_;
+    private final AtomicLong memTotal_;
+    private final AtomicBoolean isSpillLogged_;
+
+    /** Base 2 logarithm of the number of hash partitions. */
+    private static final int PART_BITS = 6;
+
+    /** Number of hash partitions. */
+    private static final int NPART = 1 << PART_BITS;
+
+    /** Maximum depth of recursive repartitioning. */
+    private static final int MAX_LEVEL = 4;
+
+    private static final Logger logger_ =
+        Logger.getLogger( "uk.ac.starlink.ttools.task" );
+
+    /**
+     * Constructor.
+     *
+     * @param  nkey  number of columns in the input rows,
+     *               starting at the first one,
+     *               which together constitute the grouping key
+     * @param  aggregations   list of aggregations to be performed
+     *                        for each group
+     * @param  codecs   per-column serializers for input rows,
+     *                  or null if spilling is not possible
+     * @param  maxMem   approximate budget in bytes for in-memory groups;
+     *                  if non-positive there is no limit
+     * @param  datumSize  approximate number of bytes by which
+     *                    accumulators grow for each row submitted
+     *                    to a group
+     */
+    GroupCollector( int nkey, Aggregator.Aggregation[] aggregations,
+                    Codec[] codecs, long maxMem, long datumSize ) {
+        this( nkey, aggregations, codecs, maxMem, datumSize, 0 );
+    }
+
+    /**
+     * Constructor with recursion level.
+     *
+     * @param  nkey  number of key columns
+     * @param  aggregations   list of aggregations
+     * @param  codecs   per-column serializers, or null
+     * @param  maxMem   memory budget in bytes
+     * @param  datumSize  accumulator growth per row
+     * @param  level   repartitioning depth, zero at top level
+     */
+    private GroupCollector( int nkey, Aggregator.Aggregation[] aggregations,
+                            Codec[] codecs, long maxMem, long datumSize,
+                            int level ) {
+        nkey_ = nkey;
+        nagg_ = aggregations.length;
+        aggregations_ = aggregations;
+        codecs_ = maxMem > 0 && level < MAX_LEVEL ? codecs : null;
+        maxMem_ = maxMem;
+        datumSize_ = datumSize;
+        level_ = level;
+        memTotal_ = new AtomicLong();
+        isSpillLogged_ = new AtomicBoolean();
+    }
+
+    public Partitions createAccumulator() {
+        return new Partitions();
+    }
+
+    public void accumulateRows( RowSplittable rseq, Partitions parts )
+            throws IOException {
+        while ( rseq.next() ) {
+            parts.submit( rseq.getRow() );
+        }
+        parts.endWrite();
+    }
+
+    public Partitions combine( Partitions parts1, Partitions parts2 ) {
+        parts1.add( parts2 );
+        return parts1;
+    }
+
+    /**
+     * Returns the partition index for a key at this collector's level.
+     *
+     * @param  hash  key hash code
+     * @return  partition index in range 0..NPART-1
+     */
+    private int partitionIndex( int hash ) {
+        int h = hash * 0x9e3779b9;
+        return ( h >>> ( 32 - PART_BITS * ( level_ + 1 ) ) ) & ( NPART - 1 );
+    }
+
+    /**
+     * Records a change in the memory used by in-memory groups.
+     *
+     * @param  size  number of bytes added (may be negative)
+     * @return  true iff the total now exceeds the budget
+     */
+    private boolean addMemory( long size ) {
+        long total = memTotal_.addAndGet( size );
+        return maxMem_ > 0 && total > maxMem_;
+    }
+
+    /**
+     * Returns an array of new Aggregator.Accumulators,
+     * suitable for accumulating all the aggregated values.
+     *
+     * @return  new accumulator array
+     */
+    private Aggregator.Accumulator[] createAggregateAccumulators() {
+        Aggregator.Accumulator[] aggaccs =
+            new Aggregator.Accumulator[ nagg_ ];
+        for ( int ia = 0; ia < nagg_; ia++ ) {
+            aggaccs[ ia ] = aggregations_[ ia ].createAccumulator();
+        }
+        return aggaccs;
+    }
+
+    /**
+     * Returns a rough estimate of the heap used by a new group.
+     *
+     * @param  keys  key values
+     * @return  approximate size in bytes
+     */
+    private long estimateGroupSize( Object[] keys ) {
+
+        /* Map node, key list and array, accumulator array and objects. */
+        long size = 48 + 16 + ( 16 + 8 * nkey_ ) + ( 16 + 8 * nagg_ )
+                  + 32 * nagg_;
+        for ( Object key : keys ) {
+            size += RowSpill.estimateHeapSize( key );
+        }
+        return size;
+    }
+
+    /**
+     * Callback interface for receiving aggregated groups.
+     */
+    interface GroupConsumer {
+
+        /**
+         * Accepts a completed group.
+         *
+         * @param  keys  grouping key values
+         * @param  aggaccs  accumulators containing aggregated results
+         */
+        void acceptGroup( List<Object> keys, Aggregator.Accumulator[] aggaccs )
+                throws IOException;
+    }
+
+    /**
+     * Accumulator for GroupCollector.
+     */
+    class Partitions {
+        final List<Map<List<Object>,Aggregator.Accumulator[]>> maps_;
+        final List<List<RowSpill>> spills_;
+        final RowSpill[] ownSpills_;
+        final long[] partMem_;
+        boolean isFrozen_;
+        long nSpillRow_;
+
+        /**
+         * Constructor.
+         */
+        Partitions() {
+            maps_ = new ArrayList<Map<List<Object>,
+                                      Aggregator.Accumulator[]>>( NPART );
+            spills_ = new ArrayList<List<RowSpill>>( NPART );
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                maps_.add( new HashMap<List<Object>,
+                                       Aggregator.Accumulator[]>() );
+                spills_.add( new ArrayList<RowSpill>() );
+            }
+            ownSpills_ = new RowSpill[ NPART ];
+            partMem_ = new long[ NPART ];
+        }
+
+        /**
+         * Submits an input row.
+         *
+         * @param  row  row containing key values followed by
+         *              aggregation input values
+         */
+        void submit( Object[] row ) throws IOException {
+            Object[] keys = Arrays.copyOf( row, nkey_ );
+            List<Object> keyList = Arrays.asList( keys );
+            int ip = partitionIndex( keyList.hashCode() );
+            Map<List<Object>,Aggregator.Accumulator[]> map = maps_.get( ip );
+            Aggregator.Accumulator[] aggaccs = map.get( keyList );
+            long size = datumSize_;
+            if ( aggaccs == null ) {
+                if ( isFrozen_ ) {
+                    RowSpill spill = ownSpills_[ ip ];
+                    if ( spill == null ) {
+                        spill = new RowSpill( codecs_ );
+                        ownSpills_[ ip ] = spill;
+                        spills_.get( ip ).add( spill );
+                    }
+                    spill.write( row );
+                    nSpillRow_++;
+                    return;
+                }
+                aggaccs = createAggregateAccumulators();
+                map.put( keyList, aggaccs );
+                size += estimateGroupSize( keys );
+            }
+            for ( int ia = 0; ia < nagg_; ia++ ) {
+                aggaccs[ ia ].submit( row[ nkey_ + ia ] );
+            }
+            partMem_[ ip ] += size;
+            if ( addMemory( size ) && codecs_ != null && ! isFrozen_ ) {
+                isFrozen_ = true;
+                if ( level_ == 0 && ! isSpillLogged_.getAndSet( true ) ) {
+                    logger_.info( "Group memory budget " + maxMem_
+                                + " exceeded; spilling new groups to disk" );
+                }
+            }
+        }
+
+        /**
+         * Finishes writing to any spill files opened by this accumulator,
+         * so that file descriptors are not held for the rest of
+         * the collection.  If further rows are spilled, new files
+         * will be used.
+         */
+        void endWrite() throws IOException {
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                if ( ownSpills_[ ip ] != null ) {
+                    ownSpills_[ ip ].endWrite();
+                    ownSpills_[ ip ] = null;
+                }
+            }
+        }
+
+        /**
+         * Merges the contents of another accumulator into this one.
+         *
+         * @param  other  other accumulator, not used after this call
+         */
+        void add( Partitions other ) {
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                Map<List<Object>,Aggregator.Accumulator[]> mapA =
+                    maps_.get( ip );
+                Map<List<Object>,Aggregator.Accumulator[]> mapB =
+                    other.maps_.get( ip );
+                if ( mapA.size() < mapB.size() ) {
+                    Map<List<Object>,Aggregator.Accumulator[]> m = mapA;
+                    mapA = mapB;
+                    mapB = m;
+                    maps_.set( ip, mapA );
+                }
+                for ( Map.Entry<List<Object>,Aggregator.Accumulator[]> entry :
+                      mapB.entrySet() ) {
+                    Aggregator.Accumulator[] aggaccsB = entry.getValue();
+                    Aggregator.Accumulator[] aggaccsA =
+                        mapA.putIfAbsent( entry.getKey(), aggaccsB );
+                    if ( aggaccsA != null ) {
+                        for ( int ia = 0; ia < nagg_; ia++ ) {
+                            aggaccsA[ ia ].add( aggaccsB[ ia ] );
+                        }
+                    }
+                }
+                spills_.get( ip ).addAll( other.spills_.get( ip ) );
+                partMem_[ ip ] += other.partMem_[ ip ];
+            }
+            nSpillRow_ += other.nSpillRow_;
+        }
+
+        /**
+         * Indicates whether any rows have been spilled to disk.
+         *
+         * @return  true iff some partitions have spill data
+         */
+        boolean hasSpilled() {
+            return nSpillRow_ > 0;
+        }
+
+        /**
+         * Returns a single map containing all the groups.
+         * Only permitted if no spilling has taken place.
+         *
+         * @return  map from key list to accumulators
+         */
+        Map<List<Object>,Aggregator.Accumulator[]> toMap() {
+            if ( hasSpilled() ) {
+                throw new IllegalStateException( "Spilled" );
+            }
+            Map<List<Object>,Aggregator.Accumulator[]> map = maps_.get( 0 );
+            for ( int ip = 1; ip < NPART; ip++ ) {
+                map.putAll( maps_.get( ip ) );
+                maps_.set( ip, null );
+            }
+            return map;
+        }
+
+        /**
+         * Passes all the completed groups to a consumer,
+         * reading back and discarding any spilled data.
+         * Partitions without spilled data are output first,
+         * so that their memory can be released before the spilled
+         * ones are completed.
+         *
+         * @param  consumer  destination for groups
+         */
+        void writeGroups( GroupConsumer consumer ) throws IOException {
+            long retained = 0;
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                if ( spills_.get( ip ).isEmpty() ) {
+                    writeMap( maps_.get( ip ), consumer );
+                    maps_.set( ip, null );
+                }
+                else {
+                    retained += partMem_[ ip ];
+                }
+            }
+            for ( int ip = 0; ip < NPART; ip++ ) {
+                List<RowSpill> spills = spills_.get( ip );
+                if ( ! spills.isEmpty() ) {
+                    retained -= partMem_[ ip ];
+                    long subMem = Math.max( maxMem_ - retained,
+                                            maxMem_ / NPART );
+                    GroupCollector subCollector =
+                        new GroupCollector( nkey_, aggregations_, codecs_,
+                                            subMem, datumSize_, level_ + 1 );
+                    Partitions subParts = subCollector.createAccumulator();
+                    subParts.seed( maps_.get( ip ), partMem_[ ip ] );
+                    maps_.set( ip, null );
+                    for ( RowSpill spill : spills ) {
+                        RowSequence rseq = spill.createRowSequence();
+                        try {
+                            while ( rseq.next() ) {
+                                subParts.submit( rseq.getRow() );
+                            }
+                        }
+                        finally {
+                            rseq.close();
+                        }
+                        spill.close();
+                    }
+                    spills.clear();
+                    try {
+                        subParts.endWrite();
+                        subParts.writeGroups( consumer );
+                    }
+                    finally {
+                        subParts.close();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Populates this accumulator with existing groups.
+         *
+         * @param  map  groups to add
+         * @param  mem  estimated memory used by the groups
+         */
+        private void seed( Map<List<Object>,Aggregator.Accumulator[]> map,
+                           long mem ) {
+            for ( Map.Entry<List<Object>,Aggregator.Accumulator[]> entry :
+                  map.entrySet() ) {
+                List<Object> keyList = entry.getKey();
+                int ip = partitionIndex( keyList.hashCode() );
+                maps_.get( ip ).put( keyList, entry.getValue() );
+            }
+            if ( map.size() > 0 ) {
+                long groupMem = mem / map.size();
+                for ( int ip = 0; ip < NPART; ip++ ) {
+                    partMem_[ ip ] = groupMem * maps_.get( ip ).size();
+                }
+            }
+            if ( addMemory( mem ) && codecs_ != null ) {
+                isFrozen_ = true;
+            }
+        }
+
+        /**
+         * Passes the contents of a group map to a consumer.
+         *
+         * @param  map  groups
+         * @param  consumer  destination
+         */
+        private void writeMap( Map<List<Object>,Aggregator.Accumulator[]> map,
+                               GroupConsumer consumer )
+                throws IOException {
+            for ( Map.Entry<List<Object>,Aggregator.Accumulator[]> entry :
+                  map.entrySet() ) {
+                consumer.acceptGroup( entry.getKey(), entry.getValue() );
+            }
+        }
+
+        /**
+         * Releases any resources held by this accumulator.
+         */
+        void close() {
+            for ( List<RowSpill> spills : spills_ ) {
+                for ( RowSpill spill : spills ) {
+                    spill.close();
+                }
+                spills.clear();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.ac.starlink.ttools.task;
 
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTableFactory;
 import uk.ac.starlink.table.StarTableOutput;
 import uk.ac.starlink.table.StoragePolicy;
@@ -58,6 +59,7 @@ public class LineTableEnvironment extends LineEnvironment
     public StarTableOutput getTableOutput() {
         if ( tout_ == null ) {
             tout_ = new StarTableOutput();
+            tout_.setRowRunner( RowRunner.DEFAULT );
         }
         return tout_;
     }
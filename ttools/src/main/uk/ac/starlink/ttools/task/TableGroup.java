@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -15,20 +14,23 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import uk.ac.starlink.table.AbstractStarTable;
 import uk.ac.starlink.table.ColumnInfo;
-import uk.ac.starlink.table.RowCollector;
+import uk.ac.starlink.table.ExternalSortStarTable;
 import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSequence;
-import uk.ac.starlink.table.RowSplittable;
+import uk.ac.starlink.table.RowStore;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.table.ValueInfo;
+import uk.ac.starlink.table.storage.Codec;
 import uk.ac.starlink.task.BooleanParameter;
 import uk.ac.starlink.task.Environment;
 import uk.ac.starlink.task.ExecutionException;
+import uk.ac.starlink.task.LongParameter;
 import uk.ac.starlink.task.Parameter;
 import uk.ac.starlink.task.ParameterValueException;
 import uk.ac.starlink.task.TaskException;
 import uk.ac.starlink.task.UsageException;
+import uk.ac.starlink.ttools.filter.RowSpill;
 import uk.ac.starlink.ttools.jel.JELTable;
 
 /**
@@ -45,6 +47,7 @@ public class TableGroup extends SingleMapperTask {
     private final RowRunnerParameter runnerParam_;
     private final BooleanParameter sortParam_;
     private final BooleanParameter cacheParam_;
+    private final LongParameter maxmemParam_;
     private static final Logger logger_ =
         Logger.getLogger( "uk.ac.starlink.ttools.task" );
 
@@ -146,12 +149,39 @@ public class TableGroup extends SingleMapperTask {
             "</p>",
         } );
 
+        maxmemParam_ = new LongParameter( "maxmem" );
+        maxmemParam_.setUsage( "<nbytes>" );
+        maxmemParam_.setPrompt( "Memory budget for groups in bytes" );
+        maxmemParam_.setDescription( new String[] {
+            "<p>Approximate number of bytes of heap memory that may be used",
+            "to hold the groups while they are being aggregated.",
+            "If the groups do not fit in this budget,",
+            "input rows for groups not already in memory",
+            "are written to temporary files",
+            "and aggregated in smaller batches at the end,",
+            "so that tables with very many distinct keys can be processed.",
+            "If no value is given, half the maximum heap size is used.",
+            "</p>",
+            "<p>The budget can only be respected if the per-group",
+            "memory usage of the aggregators is bounded.",
+            "Aggregators such as <code>median</code>, the exact quantiles",
+            "and <code>array</code> store every value in the group,",
+            "so for very large groups the approximate",
+            "<code>median-approx</code> and <code>Q.nnn-approx</code>",
+            "aggregators, which use a fixed-size sketch,",
+            "are preferred.",
+            "</p>",
+        } );
+        maxmemParam_.setMinimum( 1L );
+        maxmemParam_.setNullPermitted( true );
+
         getParameterList().addAll( Arrays.asList( new Parameter<?>[] {
             keysParam_,
             aggcolsParam_,
             runnerParam_,
             sortParam_,
             cacheParam_,
+            maxmemParam_,
         } ) );
     }
 
@@ -162,6 +192,9 @@ public class TableGroup extends SingleMapperTask {
         RowRunner runner = runnerParam_.objectValue( env );
         boolean isCache = cacheParam_.booleanValue( env );
         boolean isSort = sortParam_.booleanValue( env );
+        Long maxmemObj = maxmemParam_.objectValue( env );
+        long maxMem = maxmemObj == null ? getDefaultMaxMemory()
+                                        : maxmemObj.longValue();
         int nagg = aggcols.length;
         AggSpec[] aggSpecs = new AggSpec[ nagg ];
         try {
@@ -177,11 +210,20 @@ public class TableGroup extends SingleMapperTask {
         return new TableProducer() {
             public StarTable getTable() throws IOException, TaskException {
                 return aggregateRows( inProd.getTable(), keyExprs, aggSpecs,
-                                      runner, isSort, isCache );
+                                      runner, isSort, isCache, maxMem );
             }
         };
     }
 
+    /**
+     * Returns the default memory budget for aggregation.
+     *
+     * @return  default maxMem value for {@link #aggregateRows aggregateRows}
+     */
+    public static long getDefaultMaxMemory() {
+        return Runtime.getRuntime().maxMemory() / 2;
+    }
+
     /**
      * Parses an aggregate specification string to an AggSpec.
      * The returned value can be passed to the
@@ -237,11 +279,15 @@ public class TableGroup extends SingleMapperTask {
      * @param  isSort    if true, output table is sorted before return
      *                   (where possible)
      * @param  isCache   if true, output table is cached before return
+     * @param  maxMem   approximate number of bytes of heap that may be
+     *                  used for groups before rows are spilled to disk;
+     *                  if non-positive, no limit is applied
      * @return  output table containing aggregated values
      */
     public static StarTable aggregateRows( StarTable inTable, String[] keyExprs,
                                            AggSpec[] aggSpecs, RowRunner runner,
-                                           boolean isSort, boolean isCache )
+                                           boolean isSort, boolean isCache,
+                                           long maxMem )
             throws IOException, TaskException {
         final int nkey = keyExprs.length;
         final int nagg = aggSpecs.length;
@@ -299,10 +345,58 @@ public class TableGroup extends SingleMapperTask {
             outInfos[ ia0 + ia ] = cinfo;
         }
 
-        /* Iterate over the table rows to perform the aggregations. */
+        /* Work out how much memory each row may add to its group
+         * for aggregators that retain input values. */
+        long datumSize = 0;
+        for ( int ia = 0; ia < nagg; ia++ ) {
+            if ( ! Aggregators
+                  .isMemoryBounded( aggSpecs[ ia ].getAggregator() ) ) {
+                datumSize += 8;
+            }
+        }
+
+        /* Iterate over the table rows to perform the aggregations.
+         * Spilling to disk is only possible if all the input columns
+         * can be serialized.  Inputs that the aggregator ignores,
+         * such as the "null" often used with count, can be replaced
+         * by a constant that can. */
+        Codec[] codecs = getSpillCodecs( jelTable );
+        if ( codecs == null ) {
+            boolean isReplaced = false;
+            for ( int ia = 0; ia < nagg; ia++ ) {
+                if ( Aggregators.ignoresValues( aggSpecs[ ia ]
+                                               .getAggregator() ) &&
+                     RowSpill.getCodec( jelTable.getColumnInfo( ia0 + ia ) )
+                     == null ) {
+                    exprs[ ia0 + ia ] = "false";
+                    isReplaced = true;
+                }
+            }
+            if ( isReplaced ) {
+                try {
+                    jelTable = JELTable.createJELTable( inTable, exprs );
+                }
+                catch ( CompilationException e ) {
+                    throw new ExecutionException( "Bad expression", e );
+                }
+                codecs = getSpillCodecs( jelTable );
+            }
+        }
+        if ( codecs == null && maxMem > 0 ) {
+            logger_.warning( "Can't serialize aggregation inputs; "
+                           + "memory budget will not be enforced" );
+        }
+        GroupCollector collector =
+            new GroupCollector( nkey, aggregations, codecs, maxMem, datumSize );
+        GroupCollector.Partitions parts = runner.collect( collector, jelTable );
+
+        /* If any data has been spilled, write the groups to storage
+         * as they are completed. */
+        if ( parts.hasSpilled() ) {
+            return writeSpilledGroups( parts, outInfos, nkey, isSort, isCache );
+        }
         final Map<List<Object>,Aggregator.Accumulator[]> accMap =
-            runner.collect( new GroupCollector( nkey, aggregations ),
-                            jelTable );
+            parts.toMap();
 
         /* Sort rows if required. */
         final Comparator<List<Object>> keyComparator;
@@ -400,6 +494,110 @@ public class TableGroup extends SingleMapperTask {
                        : outTable;
     }
 
+    /**
+     * Returns serializers for the columns of a table, if available.
+     *
+     * @param  table  table
+     * @return  per-column codecs, or null if some columns cannot be
+     *          serialized
+     */
+    private static Codec[] getSpillCodecs( StarTable table ) {
+        int ncol = table.getColumnCount();
+        ColumnInfo[] infos = new ColumnInfo[ ncol ];
+        for ( int ic = 0; ic < ncol; ic++ ) {
+            infos[ ic ] = table.getColumnInfo( ic );
+        }
+        return RowSpill.getCodecs( infos );
+    }
+
+    /**
+     * Returns a table containing aggregated groups from a collection
+     * that has been partly spilled to disk.
+     * The groups are streamed to a row store rather than being held
+     * in memory all together, and any sorting is done externally.
+     *
+     * @param  parts   collected groups
+     * @param  outInfos   output column metadata
+     * @param  nkey    number of key columns, at the start of the output
+     * @param  isSort    if true, output table is sorted before return
+     *                   (where possible)
+     * @param  isCache   if true, output table is random-access
+     * @return  output table containing aggregated values
+     */
+    private static StarTable writeSpilledGroups( GroupCollector.Partitions
+                                                 parts,
+                                                 final ColumnInfo[] outInfos,
+                                                 final int nkey,
+                                                 boolean isSort,
+                                                 boolean isCache )
+            throws IOException {
+        final int ncol = outInfos.length;
+        StarTable meta = new AbstractStarTable() {
+            public int getColumnCount() {
+                return ncol;
+            }
+            public long getRowCount() {
+                return -1L;
+            }
+            public ColumnInfo getColumnInfo( int icol ) {
+                return outInfos[ icol ];
+            }
+            public RowSequence getRowSequence() {
+                throw new UnsupportedOperationException( "Metadata only" );
+            }
+        };
+        StoragePolicy policy = StoragePolicy.getDefaultPolicy();
+        final RowStore store = policy.makeConfiguredRowStore( meta );
+        try {
+            parts.writeGroups( new GroupCollector.GroupConsumer() {
+                public void acceptGroup( List<Object> keys,
+                                         Aggregator.Accumulator[] aggaccs )
+                        throws IOException {
+                    Object[] row = new Object[ ncol ];
+                    for ( int ik = 0; ik < nkey; ik++ ) {
+                        row[ ik ] = keys.get( ik );
+                    }
+                    for ( int ia = 0; ia < ncol - nkey; ia++ ) {
+                        row[ nkey + ia ] = aggaccs[ ia ].getResult();
+                    }
+                    store.acceptRow( row );
+                }
+            } );
+        }
+        finally {
+            parts.close();
+        }
+        store.endRows();
+        StarTable outTable = store.getStarTable();
+        if ( isSort ) {
+            boolean isComparable = RowSpill.getCodecs( outInfos ) != null;
+            for ( int ik = 0; ik < nkey; ik++ ) {
+                isComparable = isComparable
+                            && Comparable.class
+                              .isAssignableFrom( outInfos[ ik ]
+                                                .getContentClass() );
+            }
+            if ( isComparable ) {
+                int[] keyCols = new int[ nkey ];
+                for ( int ik = 0; ik < nkey; ik++ ) {
+                    keyCols[ ik ] = ik;
+                }
+                boolean nullsLast = false;
+                outTable = new ExternalSortStarTable(
+                                   outTable, keyCols, true, nullsLast,
+                                   ExternalSortStarTable.DFLT_RUN_SIZE,
+                                   policy );
+                if ( isCache ) {
+                    outTable = policy.copyTable( outTable );
+                }
+            }
+            else {
+                logger_.warning( "Can't sort keys (not Comparable)" );
+            }
+        }
+        return outTable;
+    }
+
     /**
      * Attempts to return a Comparator for sorting Lists.
      *
@@ -452,108 +650,6 @@ public class TableGroup extends SingleMapperTask {
         };
     }
 
-    /**
-     * RowCollector that performs aggregation.
-     * The collected result is a map in which
-     * each key is a List of the key column values defining a group of rows,
-     * and each value is an array of aggregated results for that group.
-     * The key is a {@link java.util.List} rather than an array since
-     * <code>List</code> has the equality semantics required for use
-     * as a {@link java.util.Map} key, which arrays do not.
-     */
-    private static class GroupCollector
-            extends RowCollector<Map<List<Object>,Aggregator.Accumulator[]>> {
-        private final int nkey_;
-        private final int nagg_;
-        private final int ia0_;
-        private final Aggregator.Aggregation[] aggregations_;
-
-        /**
-         * Constructor.
-         *
-         * @param  nkey  number of columns in the input table,
-         *               starting at the first one,
-         *               which together constitute the grouping key
-         * @param  aggregations   list of aggregations to be performed
-         *                        for each group
-         */
-        GroupCollector( int nkey, Aggregator.Aggregation[] aggregations ) {
-            nkey_ = nkey;
-            nagg_ = aggregations.length;
-            aggregations_ = aggregations;
-            ia0_ = nkey;
-        }
-
-        public Map<List<Object>,Aggregator.Accumulator[]> createAccumulator(){
-            return new HashMap<List<Object>,Aggregator.Accumulator[]>();
-        }
-
-        public void accumulateRows( RowSplittable rseq,
-                                    Map<List<Object>,
-                                        Aggregator.Accumulator[]> map )
-                throws IOException {
-            while ( rseq.next() ) {
-                Object[] row = rseq.getRow();
-                Object[] keys = new Object[ nkey_ ];
-                for ( int ik = 0; ik < nkey_; ik++ ) {
-                    keys[ ik ] = row[ ik ];
-                }
-                List<Object> keyList = Arrays.asList( keys );
-                Aggregator.Accumulator[] aggaccs =
-                    map.computeIfAbsent( keyList,
-                                         k -> createAggregateAccumulators() );
-                for ( int ia = 0; ia < nagg_; ia++ ) {
-                    aggaccs[ ia ].submit( row[ ia0_ + ia ] );
-                }
-            }
-        }
-
-        public Map<List<Object>,Aggregator.Accumulator[]>
-                combine( Map<List<Object>,Aggregator.Accumulator[]> map1,
-                         Map<List<Object>,Aggregator.Accumulator[]> map2 ) {
-            Map<List<Object>,Aggregator.Accumulator[]> mapA;
-            Map<List<Object>,Aggregator.Accumulator[]> mapB;
-            if ( map1.size() > map2.size() ) {
-                mapA = map1;
-                mapB = map2;
-            }
-            else {
-                mapA = map2;
-                mapB = map1;
-            }
-            for ( Map.Entry<List<Object>,Aggregator.Accumulator[]> entry :
-                  mapB.entrySet() ){
-                List<Object> keyList = entry.getKey();
-                Aggregator.Accumulator[] aggaccsB = entry.getValue();
-                Aggregator.Accumulator[] aggaccsA = mapA.get( keyList );
-                if ( aggaccsA == null ) {
-                    mapA.put( keyList, aggaccsB );
-                }
-                else {
-                    for ( int ia = 0; ia < nagg_; ia++ ) {
-                        aggaccsA[ ia ].add( aggaccsB[ ia ] );
-                    }
-                }
-            }
-            return mapA;
-        }
-
-        /**
-         * Returns an array of new Aggregator.Accumulators,
-         * suitable for accumulating all the aggregated values.
-         *
-         * @return  new accumulator array
-         */
-        private Aggregator.Accumulator[] createAggregateAccumulators() {
-            Aggregator.Accumulator[] aggaccs =
-                new Aggregator.Accumulator[ nagg_ ];
-            for ( int ia = 0; ia < nagg_; ia++ ) {
-                aggaccs[ ia ] = aggregations_[ ia ].createAccumulator();
-            }
-            return aggaccs;
-        }
-    }
-
     /**
      * Defines the aggregation that should be done to form an output column.
      */
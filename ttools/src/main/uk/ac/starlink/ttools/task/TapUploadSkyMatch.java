@@ -21,6 +21,7 @@ import uk.ac.starlink.task.StringParameter;
 import uk.ac.starlink.task.TaskException;
 import uk.ac.starlink.ttools.cone.BlockUploader;
 import uk.ac.starlink.ttools.cone.JELQuerySequenceFactory;
+import uk.ac.starlink.ttools.cone.ParallelResultRowSequence;
 import uk.ac.starlink.ttools.cone.QuerySequenceFactory;
 import uk.ac.starlink.ttools.cone.ServiceFindMode;
 import uk.ac.starlink.ttools.cone.TapUploadMatcher;
@@ -47,6 +48,7 @@ public class TapUploadSkyMatch extends SingleMapperTask {
     private final StringMultiParameter tapcolsParam_;
     private final ChoiceParameter<UserFindMode> findParam_;
     private final IntegerParameter chunkParam_;
+    private final IntegerParameter parallelParam_;
     private final IntegerParameter maxrecParam_;
     private final BooleanParameter syncParam_;
     private final LongParameter tapmaxrecParam_;
@@ -223,6 +225,30 @@ public class TapUploadSkyMatch extends SingleMapperTask {
         paramList.add( findParam_ );
         paramList.add( chunkParam_ );
 
+        parallelParam_ = new IntegerParameter( "parallel" );
+        parallelParam_.setIntDefault( 1 );
+        parallelParam_.setPrompt( "Number of blocks to upload in parallel" );
+        parallelParam_.setUsage( "<n>" );
+        parallelParam_.setMinimum( 1 );
+        parallelParam_.setMaximum( ParallelResultRowSequence
+                                  .getMaxParallelism() );
+        parallelParam_.setDescription( new String[] {
+            "<p>Allows multiple blocks to be uploaded to",
+            "the TAP service concurrently.",
+            "If set to the default value, 1, each block is only sent",
+            "when the result for the previous one has been received.",
+            "If set to <code>&lt;n&gt;</code>, up to <code>&lt;n&gt;</code>",
+            "blocks may be in progress at any one time,",
+            "which can reduce the total time taken for a large match.",
+            "The output is the same regardless of this setting.",
+            "</p>",
+            "<p>Setting this to a large value may overload the service;",
+            "the maximum permitted value is controlled by the",
+            ParallelResultRowSequence.MAXPAR_PROP + " system property.",
+            "</p>",
+        } );
+        paramList.add( parallelParam_ );
+
         maxrecParam_ = new IntegerParameter( "maxrec" );
         maxrecParam_.setPrompt( "Maximum number of output rows" );
         maxrecParam_.setDescription( new String[] {
@@ -308,6 +334,7 @@ public class TapUploadSkyMatch extends SingleMapperTask {
         ServiceFindMode serviceMode = userMode.getServiceMode();
         boolean oneToOne = userMode.isOneToOne();
         int blocksize = chunkParam_.intValue( env );
+        int parallelism = parallelParam_.intValue( env );
         final long maxrec = maxrecParam_.intValue( env );
         boolean isSync = syncParam_.booleanValue( env );
         Map<String,String> extraParams = new LinkedHashMap<String,String>();
@@ -337,6 +364,7 @@ public class TapUploadSkyMatch extends SingleMapperTask {
             new BlockUploader( umatcher, blocksize, maxrec, tableName,
                                inFixAct, tapFixAct, serviceMode, oneToOne,
                                uploadEmpty );
+        blocker.setParallelism( parallelism );
         blocker.setTruncationAdvice( "Reduce " + chunkParam_.getName() + "? "
                                    + "Increase " + tapmaxrecParam_.getName()
                                    + "?" );
@@ -0,0 +1,212 @@
+package uk.ac.starlink.ttools.task;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StarTableFactory;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.TableBuilder;
+import uk.ac.starlink.table.TablePreparation;
+import uk.ac.starlink.table.formats.AsciiTableBuilder;
+import uk.ac.starlink.table.formats.CsvTableBuilder;
+import uk.ac.starlink.table.formats.IpacTableBuilder;
+import uk.ac.starlink.table.formats.MrtTableBuilder;
+import uk.ac.starlink.table.formats.TstTableBuilder;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+import uk.ac.starlink.util.FileDataSource;
+import uk.ac.starlink.votable.ColFitsPlusTableBuilder;
+import uk.ac.starlink.votable.UnifiedFitsTableWriter;
+
+/**
+ * Persistent cache of text-format input tables in a binary columnar form.
+ *
+ * <p>Reading a large text table such as CSV or IPAC requires parsing
+ * the whole file, and usually parsing it twice: once to work out the
+ * column types and once to read the data.  If the same unchanged file
+ * is read repeatedly, this class can save that work by converting it
+ * on first read to a memory-mappable column-oriented FITS file
+ * (colfits-plus format, which retains the table metadata) in a
+ * {@link DiskCache} directory.  Subsequent reads map the cached file
+ * directly.
+ *
+ * <p>Cache files are managed by a {@link DerivedFileCache}, keyed by
+ * the input file along with the input format specification
+ * including any handler options.
+ *
+ * <p>Caching is opt-in; the default instance is only available if
+ * the {@link #CACHE_PROP} system property is set to "true".
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class TextTableCache {
+
+    private final DerivedFileCache fileCache_;
+
+    /**
+     * Name of system property which, if set "true", enables caching
+     * of text input tables in the default cache directory.
+     */
+    public static final String CACHE_PROP = "stilts.textcache";
+
+    private static final String DIRNAME = "text-tables";
+    private static final String SUFFIX = ".colfits";
+    private static TextTableCache dfltInstance_;
+    private static boolean dfltInit_;
+
+    /**
+     * Constructor.
+     *
+     * @param  cache  disk cache in which to store converted tables
+     */
+    public TextTableCache( DiskCache cache ) {
+        fileCache_ = new DerivedFileCache( cache, "T-", SUFFIX );
+    }
+
+    /**
+     * Returns the disk cache used by this object.
+     *
+     * @return  disk cache
+     */
+    public DiskCache getDiskCache() {
+        return fileCache_.getDiskCache();
+    }
+
+    /**
+     * Attempts to load a table from this cache, populating the cache
+     * first if necessary.
+     * If the location does not refer to a local file, or if the
+     * format is not one for which caching is appropriate,
+     * null is returned, and the caller should load the table in the
+     * usual way.
+     *
+     * @param  loc  table location
+     * @param  fmt  input handler specification
+     * @param  tfact  table factory
+     * @return  table read from cache, or null
+     */
+    public StarTable makeStarTable( String loc, String fmt,
+                                    StarTableFactory tfact )
+            throws IOException {
+        if ( fmt == null || fmt.trim().length() == 0 ||
+             StarTableFactory.AUTO_HANDLER.equals( fmt ) ) {
+            return null;
+        }
+        File locFile = new File( loc );
+        if ( ! locFile.isFile() ) {
+            return null;
+        }
+        TableBuilder builder = tfact.getTableBuilder( fmt );
+        if ( ! isCacheable( builder ) ) {
+            return null;
+        }
+        final File inFile = locFile.getCanonicalFile();
+        final StoragePolicy storage = tfact.getStoragePolicy();
+        String derivation = builder.getClass().getName() + "|" + fmt.trim();
+
+        /* If the cache file can't be written, don't fail; just
+         * return null so that the table is read in the usual way.
+         * If the problem is with the input table itself,
+         * the uncached read will report it. */
+        StarTable table;
+        try {
+            table = fileCache_.readCached(
+                inFile, derivation,
+                f -> new ColFitsPlusTableBuilder()
+                    .makeStarTable( new FileDataSource( f ), false, storage ),
+                f -> writeTable( builder.makeStarTable(
+                                     new FileDataSource( inFile ), false,
+                                     storage ), f ) );
+        }
+        catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw (IOException)
+                  new InterruptedIOException( "Interrupted" ).initCause( e );
+        }
+        if ( table == null ) {
+            return null;
+        }
+        TablePreparation prep = tfact.getPreparation();
+        if ( prep != null ) {
+            table = prep.prepareLoadedTable( table, builder );
+        }
+        table.setURL( inFile.toURI().toURL() );
+        table.setName( loc );
+        return table;
+    }
+
+    /**
+     * Writes a table to a file in colfits-plus format.
+     *
+     * @param  table  table to write
+     * @param  file  destination file
+     */
+    private static void writeTable( StarTable table, File file )
+            throws IOException {
+        UnifiedFitsTableWriter writer = new UnifiedFitsTableWriter();
+        writer.setColfits( true );
+        assert writer.getPrimaryType() ==
+               UnifiedFitsTableWriter.VOTABLE_PRIMARY_TYPE;
+        OutputStream out =
+            new BufferedOutputStream( new FileOutputStream( file ) );
+        try {
+            writer.writeStarTable( table, out );
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Indicates whether tables read by a given input handler are
+     * suitable for caching by this class.
+     * This is true for the text-based formats, which are expensive
+     * to parse.
+     *
+     * @param  builder  input handler
+     * @return  true iff caching is recommended
+     */
+    public static boolean isCacheable( TableBuilder builder ) {
+        return builder instanceof CsvTableBuilder
+            || builder instanceof AsciiTableBuilder
+            || builder instanceof IpacTableBuilder
+            || builder instanceof TstTableBuilder
+            || builder instanceof MrtTableBuilder;
+    }
+
+    /**
+     * Returns a suitable cache directory for use with this class,
+     * given a base directory.
+     *
+     * @param   baseDir  base directory; if null, java.io.tmpdir is used
+     * @return  directory to which cache files can be written
+     */
+    public static File toCacheDir( File baseDir ) {
+        return DiskCache.toCacheDir( baseDir, DIRNAME );
+    }
+
+    /**
+     * Returns the default instance of this class,
+     * if text table caching has been enabled using the
+     * {@link #CACHE_PROP} system property.
+     *
+     * @return  default cache, or null if caching is not enabled
+     */
+    public static synchronized TextTableCache getDefaultInstance() {
+        if ( ! dfltInit_ ) {
+            dfltInit_ = true;
+            DiskCache cache =
+                DerivedFileCache
+               .createDefaultDiskCache( CACHE_PROP, DIRNAME,
+                                        "text table" );
+            if ( cache != null ) {
+                dfltInstance_ = new TextTableCache( cache );
+            }
+        }
+        return dfltInstance_;
+    }
+}
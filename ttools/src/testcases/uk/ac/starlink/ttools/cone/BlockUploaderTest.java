@@ -0,0 +1,230 @@
+package uk.ac.starlink.ttools.cone;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ArrayColumn;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.JoinFixAction;
+import uk.ac.starlink.table.RowListStarTable;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.table.TableSink;
+
+public class BlockUploaderTest extends TestCase {
+
+    private final StarTable inTable_;
+
+    public BlockUploaderTest( String name ) {
+        super( name );
+        int nrow = 1000;
+        Random rnd = new Random( 230199L );
+        double[] ras = new double[ nrow ];
+        double[] decs = new double[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ras[ i ] = i % 17 == 0 ? Double.NaN : rnd.nextDouble() * 360;
+            decs[ i ] = rnd.nextDouble() * 180 - 90;
+        }
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        table.addColumn( ArrayColumn.makeColumn( "RA", ras ) );
+        table.addColumn( ArrayColumn.makeColumn( "DEC", decs ) );
+        inTable_ = table;
+    }
+
+    public void testParallel() throws IOException {
+        QuerySequenceFactory qsFact =
+            new JELQuerySequenceFactory( "RA", "DEC", "0.1" );
+        for ( ServiceFindMode mode :
+              new ServiceFindMode[] { ServiceFindMode.ALL,
+                                      ServiceFindMode.BEST } ) {
+            for ( boolean oneToOne : new boolean[] { false, true } ) {
+                if ( oneToOne && ! mode.supportsOneToOne() ) {
+                    continue;
+                }
+                for ( long maxrec : new long[] { -1, 1, 100, 555, 5000 } ) {
+                    StarTable t1 = match( qsFact, mode, oneToOne, maxrec, 1 );
+                    StarTable t4 = match( qsFact, mode, oneToOne, maxrec, 4 );
+                    assertTablesEqual( t1, t4 );
+                }
+            }
+        }
+    }
+
+    public void testTruncationCount() throws IOException {
+        QuerySequenceFactory qsFact =
+            new JELQuerySequenceFactory( "RA", "DEC", "0.1" );
+        Logger logger = Logger.getLogger( "uk.ac.starlink.ttools.task" );
+        final List<String> truncMsgs = new ArrayList<String>();
+        Handler handler = new Handler() {
+            public void publish( LogRecord record ) {
+                String msg = record.getMessage();
+                if ( msg.startsWith( "Truncations" ) ) {
+                    truncMsgs.add( msg );
+                }
+            }
+            public void flush() {
+            }
+            public void close() {
+            }
+        };
+        logger.addHandler( handler );
+        try {
+            for ( long maxrec : new long[] { 1, 100, 555 } ) {
+                truncMsgs.clear();
+                match( qsFact, ServiceFindMode.ALL, false, maxrec, 1 );
+                List<String> msgs1 = new ArrayList<String>( truncMsgs );
+                truncMsgs.clear();
+                match( qsFact, ServiceFindMode.ALL, false, maxrec, 6 );
+                assertEquals( 1, msgs1.size() );
+                assertEquals( msgs1, truncMsgs );
+            }
+        }
+        finally {
+            logger.removeHandler( handler );
+        }
+    }
+
+    public void testError() throws IOException {
+        QuerySequenceFactory qsFact =
+            new JELQuerySequenceFactory( "RA", "DEC", "0.1" );
+        BlockUploader blocker =
+            new BlockUploader( new StubMatcher( false, 20 ), 37, -1, "out",
+                               JoinFixAction.NO_ACTION,
+                               JoinFixAction.NO_ACTION,
+                               ServiceFindMode.ALL, false, true );
+        blocker.setParallelism( 3 );
+        try {
+            blocker.runMatch( inTable_, qsFact, StoragePolicy.PREFER_MEMORY );
+            fail();
+        }
+        catch ( IOException e ) {
+            assertEquals( "Service failure", e.getMessage() );
+        }
+    }
+
+    private StarTable match( QuerySequenceFactory qsFact,
+                             ServiceFindMode mode, boolean oneToOne,
+                             long maxrec, int parallelism )
+            throws IOException {
+        BlockUploader blocker =
+            new BlockUploader( new StubMatcher( mode.isBestOnly(), -1 ), 37,
+                               maxrec, "out", JoinFixAction.NO_ACTION,
+                               JoinFixAction.NO_ACTION,
+                               mode, oneToOne, true );
+        blocker.setParallelism( parallelism );
+        assertEquals( parallelism, blocker.getParallelism() );
+        return blocker.runMatch( inTable_, qsFact,
+                                 StoragePolicy.PREFER_MEMORY );
+    }
+
+    private static void assertTablesEqual( StarTable t1, StarTable t2 )
+            throws IOException {
+        int ncol = t1.getColumnCount();
+        long nrow = t1.getRowCount();
+        assertEquals( ncol, t2.getColumnCount() );
+        assertEquals( nrow, t2.getRowCount() );
+        assertTrue( nrow > 0 );
+        for ( long ir = 0; ir < nrow; ir++ ) {
+            for ( int ic = 0; ic < ncol; ic++ ) {
+                assertEquals( t1.getCell( ir, ic ), t2.getCell( ir, ic ) );
+            }
+        }
+    }
+
+    /**
+     * UploadMatcher implementation that fakes a remote service.
+     * Query row i matches (i % 3) remote rows, or the best one of them.
+     * Responses arrive after a random delay, so that concurrent blocks
+     * are likely to complete out of order.
+     */
+    private static class StubMatcher implements UploadMatcher {
+        private final boolean bestOnly_;
+        private final int failIndex_;
+        private final Random rnd_;
+
+        /**
+         * Constructor.
+         *
+         * @param  bestOnly  true to return only the best match per query
+         * @param  failIndex  index of query row at which the service fails,
+         *                    or -1 for no failure
+         */
+        StubMatcher( boolean bestOnly, int failIndex ) {
+            bestOnly_ = bestOnly;
+            failIndex_ = failIndex;
+            rnd_ = new Random( 4421L );
+        }
+
+        public boolean streamRawResult( ConeQueryRowSequence coneSeq,
+                                        TableSink sink,
+                                        RowMapper<?> rowMapper,
+                                        long maxrec )
+                throws IOException {
+            int delay;
+            synchronized ( rnd_ ) {
+                delay = rnd_.nextInt( 20 );
+            }
+            try {
+                Thread.sleep( delay );
+            }
+            catch ( InterruptedException e ) {
+                throw new IOException( "Interrupted" );
+            }
+            sink.acceptMetadata( new RowListStarTable( new ColumnInfo[] {
+                new ColumnInfo( "id", rowMapper.getIdClass(), null ),
+                new ColumnInfo( "dist", Double.class, null ),
+            } ) );
+            long nout = 0;
+            while ( coneSeq.next() ) {
+                long index = coneSeq.getIndex();
+                assertFalse( Double.isNaN( coneSeq.getRa() ) );
+                if ( index == failIndex_ ) {
+                    throw new IOException( "Service failure" );
+                }
+                int nm = (int) ( index % 3 );
+                if ( bestOnly_ ) {
+                    nm = Math.min( nm, 1 );
+                }
+                for ( int im = 0; im < nm; im++ ) {
+                    if ( maxrec >= 0 && nout >= maxrec ) {
+                        sink.endRows();
+                        return true;
+                    }
+                    sink.acceptRow( new Object[] {
+                        rowMapper.rowIndexToId( index ),
+                        Double.valueOf( coneSeq.getDec() + im ),
+                    } );
+                    nout++;
+                }
+            }
+            sink.endRows();
+            return false;
+        }
+
+        public ColumnPlan getColumnPlan( final ColumnInfo[] resultCols,
+                                         final ColumnInfo[] uploadCols ) {
+            return new ColumnPlan() {
+                public int getOutputColumnCount() {
+                    return resultCols.length + uploadCols.length;
+                }
+                public int getOutputColumnLocation( int icol ) {
+                    return icol < resultCols.length
+                         ? icol
+                         : - ( icol - resultCols.length ) - 1;
+                }
+                public int getResultIdColumnIndex() {
+                    return 0;
+                }
+                public int getResultScoreColumnIndex() {
+                    return 1;
+                }
+            };
+        }
+    }
+}
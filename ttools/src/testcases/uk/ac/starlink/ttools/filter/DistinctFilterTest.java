@@ -0,0 +1,226 @@
+package uk.ac.starlink.ttools.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.RowListStarTable;
+import uk.ac.starlink.table.RowRunner;
+import uk.ac.starlink.table.RowSequence;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
+import uk.ac.starlink.ttools.TableTestCase;
+import uk.ac.starlink.util.LogUtils;
+
+public class DistinctFilterTest extends TableTestCase {
+
+    public DistinctFilterTest( String name ) {
+        super( name );
+        LogUtils.getLogger( "uk.ac.starlink.ttools.filter" )
+                .setLevel( Level.WARNING );
+        LogUtils.getLogger( "uk.ac.starlink.table.storage" )
+                .setLevel( Level.WARNING );
+    }
+
+    private StoragePolicy policy0_;
+
+    @Override
+    protected void setUp() {
+
+        /* Keep output in memory; disk-based row stores do not distinguish
+         * null from empty strings, which would obscure the spill tests. */
+        policy0_ = StoragePolicy.getDefaultPolicy();
+        StoragePolicy.setDefaultPolicy( StoragePolicy.PREFER_MEMORY );
+    }
+
+    @Override
+    protected void tearDown() {
+        StoragePolicy.setDefaultPolicy( policy0_ );
+    }
+
+    public void testDistinct() throws IOException {
+        StarTable table = createTable( 5000, 300 );
+        boolean[] allFlags = { true, true, true };
+        boolean[] keyFlags = { false, true, true };
+        RowRunner[] runners = { RowRunner.SEQUENTIAL, RowRunner.PARTEST };
+        long[] maxMems = { Long.MAX_VALUE, 4000, 1 };
+        for ( boolean[] flags : new boolean[][] { allFlags, keyFlags } ) {
+            List<Object[]> expected = referenceDistinct( table, flags );
+            for ( RowRunner runner : runners ) {
+                for ( long maxMem : maxMems ) {
+                    StarTable ordered =
+                        DistinctFilter.distinctRows( table, flags, true, true,
+                                                     runner, maxMem );
+                    assertEquals( expected, readRows( ordered ) );
+                    StarTable unordered =
+                        DistinctFilter.distinctRows( table, flags, true, false,
+                                                     runner, maxMem );
+                    List<Object[]> urows = readRows( unordered );
+                    urows.sort( ( r1, r2 ) -> Long.compare( getIndex( r1 ),
+                                                            getIndex( r2 ) ) );
+                    assertEquals( expected, urows );
+                }
+            }
+        }
+    }
+
+    public void testRepartition() throws IOException {
+        StarTable table = createTable( 20000, 15000 );
+        boolean[] flags = { false, true, true };
+        List<Object[]> expected = referenceDistinct( table, flags );
+        List<String> msgs = new ArrayList<String>();
+        Logger logger = Logger.getLogger( "uk.ac.starlink.ttools.filter" );
+        Level level = logger.getLevel();
+        Handler handler = new Handler() {
+            public void publish( LogRecord record ) {
+                msgs.add( record.getMessage() );
+            }
+            public void flush() {
+            }
+            public void close() {
+            }
+        };
+        logger.setLevel( Level.INFO );
+        logger.setUseParentHandlers( false );
+        logger.addHandler( handler );
+        try {
+            for ( boolean isOrdered : new boolean[] { true, false } ) {
+                List<Object[]> rows =
+                    readRows( DistinctFilter
+                             .distinctRows( table, flags, true, isOrdered,
+                                            RowRunner.PARTEST, 20000 ) );
+                if ( ! isOrdered ) {
+                    rows.sort( ( r1, r2 ) ->
+                               Long.compare( getIndex( r1 ),
+                                             getIndex( r2 ) ) );
+                }
+                assertEquals( expected, rows );
+            }
+        }
+        finally {
+            logger.removeHandler( handler );
+            logger.setUseParentHandlers( true );
+            logger.setLevel( level );
+        }
+        assertTrue( msgs.stream()
+                        .anyMatch( m -> m.startsWith( "Re-partitioning" ) ) );
+    }
+
+    public void testSpill() throws IOException {
+        ColumnInfo[] infos = {
+            new ColumnInfo( "i", Integer.class, null ),
+            new ColumnInfo( "s", String.class, null ),
+            new ColumnInfo( "a", double[].class, null ),
+        };
+        RowSpill spill = new RowSpill( RowSpill.getCodecs( infos ) );
+        try {
+            List<Object[]> rows = new ArrayList<Object[]>();
+            for ( int i = 0; i < 100; i++ ) {
+                Object[] row = {
+                    i % 10 == 0 ? null : Integer.valueOf( i ),
+                    i % 7 == 0 ? "" : i % 5 == 0 ? null : "r" + i,
+                    new double[] { i, 0.5 * i },
+                };
+                rows.add( row );
+                spill.write( row );
+            }
+            assertEquals( 100, spill.getRowCount() );
+            assertTrue( spill.getByteCount() > 0 );
+            for ( int ir = 0; ir < 2; ir++ ) {
+                RowSequence rseq = spill.createRowSequence();
+                int i = 0;
+                while ( rseq.next() ) {
+                    assertTrue( Arrays.deepEquals( rows.get( i++ ),
+                                                   rseq.getRow() ) );
+                }
+                rseq.close();
+                assertEquals( 100, i );
+            }
+        }
+        finally {
+            spill.close();
+        }
+    }
+
+    private static StarTable createTable( int nrow, int nkey ) {
+        RowListStarTable table = new RowListStarTable( new ColumnInfo[] {
+            new ColumnInfo( "index", Integer.class, null ),
+            new ColumnInfo( "key", Integer.class, null ),
+            new ColumnInfo( "label", String.class, null ),
+        } );
+        Random rnd = new Random( 2300L );
+        for ( int i = 0; i < nrow; i++ ) {
+            int k = rnd.nextInt( nkey );
+            table.addRow( new Object[] {
+                Integer.valueOf( i ),
+                k % 7 == 0 ? null : Integer.valueOf( k ),
+                k % 11 == 0 ? "" : k % 13 == 0 ? null : "k" + ( k % 50 ),
+            } );
+        }
+        return table;
+    }
+
+    private static List<Object[]> referenceDistinct( StarTable table,
+                                                     boolean[] flags )
+            throws IOException {
+        Map<List<Object>,Object[]> map =
+            new LinkedHashMap<List<Object>,Object[]>();
+        RowSequence rseq = table.getRowSequence();
+        while ( rseq.next() ) {
+            Object[] row = rseq.getRow().clone();
+            List<Object> key = new ArrayList<Object>();
+            for ( int ic = 0; ic < row.length; ic++ ) {
+                if ( flags[ ic ] ) {
+
+                    /* The filter considers all blank values equal. */
+                    Object value = row[ ic ];
+                    key.add( "".equals( value ) ? null : value );
+                }
+            }
+            Object[] outRow = map.get( key );
+            if ( outRow == null ) {
+                outRow = new Object[ row.length + 1 ];
+                outRow[ 0 ] = Long.valueOf( 1 );
+                System.arraycopy( row, 0, outRow, 1, row.length );
+                map.put( key, outRow );
+            }
+            else {
+                outRow[ 0 ] = Long.valueOf( ((Long) outRow[ 0 ]) + 1 );
+            }
+        }
+        rseq.close();
+        return new ArrayList<Object[]>( map.values() );
+    }
+
+    private static List<Object[]> readRows( StarTable table )
+            throws IOException {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        RowSequence rseq = table.getRowSequence();
+        while ( rseq.next() ) {
+            rows.add( rseq.getRow().clone() );
+        }
+        rseq.close();
+        return rows;
+    }
+
+    private static long getIndex( Object[] row ) {
+        return ((Number) row[ 1 ]).longValue();
+    }
+
+    private static void assertEquals( List<Object[]> rows1,
+                                      List<Object[]> rows2 ) {
+        assertEquals( rows1.size(), rows2.size() );
+        for ( int ir = 0; ir < rows1.size(); ir++ ) {
+            assertTrue( "Row " + ir,
+                        Arrays.equals( rows1.get( ir ), rows2.get( ir ) ) );
+        }
+    }
+}
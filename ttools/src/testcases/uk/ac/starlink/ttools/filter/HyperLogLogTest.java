@@ -0,0 +1,68 @@
+package uk.ac.starlink.ttools.filter;
+
+import junit.framework.TestCase;
+
+public class HyperLogLogTest extends TestCase {
+
+    public HyperLogLogTest( String name ) {
+        super( name );
+    }
+
+    public void testExact() {
+        HyperLogLog hll = new HyperLogLog();
+        for ( int i = 0; i < 100; i++ ) {
+            hll.addValue( Integer.valueOf( i % 40 ) );
+            hll.addValue( Long.valueOf( i % 40 ) );
+            hll.addValue( null );
+        }
+        assertTrue( hll.isExact() );
+        assertEquals( 40, hll.getCount() );
+        hll.addValue( "x" );
+        hll.addValue( new String( "x" ) );
+        hll.addValue( new int[] { 1, 2 } );
+        hll.addValue( new int[] { 1, 2 } );
+        assertEquals( 42, hll.getCount() );
+    }
+
+    public void testEstimate() {
+        for ( int n : new int[] { 1000, 10000, 1000000 } ) {
+            HyperLogLog hll = new HyperLogLog();
+            for ( int i = 0; i < n; i++ ) {
+                hll.addValue( Double.valueOf( i * 0.25 ) );
+            }
+            assertFalse( hll.isExact() );
+            assertEquals( n, hll.getCount(), 0.05 * n );
+        }
+    }
+
+    public void testMerge() {
+        int n = 50000;
+        int nh = 8;
+        HyperLogLog[] hlls = new HyperLogLog[ nh ];
+        for ( int ih = 0; ih < nh; ih++ ) {
+            hlls[ ih ] = new HyperLogLog( 14 );
+        }
+        HyperLogLog all = new HyperLogLog( 14 );
+        for ( int i = 0; i < n; i++ ) {
+            Object value = "item-" + ( i % ( n / 2 ) );
+            hlls[ i % nh ].addValue( value );
+            all.addValue( value );
+        }
+        HyperLogLog merged = new HyperLogLog( 14 );
+        for ( HyperLogLog hll : hlls ) {
+            merged.merge( hll );
+        }
+        assertEquals( all.getCount(), merged.getCount() );
+        assertEquals( n / 2, merged.getCount(), 0.03 * n / 2 );
+
+        HyperLogLog small1 = new HyperLogLog();
+        HyperLogLog small2 = new HyperLogLog();
+        for ( int i = 0; i < 10; i++ ) {
+            small1.addValue( Integer.valueOf( i ) );
+            small2.addValue( Integer.valueOf( i + 5 ) );
+        }
+        small1.merge( small2 );
+        assertTrue( small1.isExact() );
+        assertEquals( 15, small1.getCount() );
+    }
+}
@@ -0,0 +1,56 @@
+package uk.ac.starlink.ttools.filter;
+
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ArrayColumn;
+import uk.ac.starlink.table.ColumnRange;
+import uk.ac.starlink.table.ColumnStarTable;
+
+public class RangeExtractorTest extends TestCase {
+
+    private final ColumnStarTable table_;
+
+    public RangeExtractorTest() {
+        table_ = ColumnStarTable.makeTableWithRows( 2 );
+        table_.addColumn( ArrayColumn.makeColumn( "x", new double[ 2 ] ) );
+        table_.addColumn( ArrayColumn.makeColumn( "n", new int[ 2 ] ) );
+        table_.addColumn( ArrayColumn.makeColumn( "s", new String[ 2 ] ) );
+    }
+
+    public void testRanges() {
+        ColumnRange[] r1 = getRanges( "x > 3" );
+        assertEquals( 1, r1.length );
+        assertEquals( 0, r1[ 0 ].getColumnIndex() );
+        assertEquals( 3.0, r1[ 0 ].getLow() );
+        assertFalse( r1[ 0 ].isLowInclusive() );
+        assertEquals( Double.POSITIVE_INFINITY, r1[ 0 ].getHigh() );
+
+        ColumnRange[] r2 =
+            getRanges( "(10 >= N && $1 < -2.5e1) & s.length() > 2" );
+        assertEquals( 2, r2.length );
+        assertEquals( 1, r2[ 0 ].getColumnIndex() );
+        assertEquals( 10.0, r2[ 0 ].getHigh() );
+        assertTrue( r2[ 0 ].isHighInclusive() );
+        assertEquals( 0, r2[ 1 ].getColumnIndex() );
+        assertEquals( -25.0, r2[ 1 ].getHigh() );
+
+        ColumnRange[] r3 = getRanges( "n == 4 && x <= 0.5f" );
+        assertEquals( 2, r3.length );
+        assertTrue( r3[ 0 ].contains( 4 ) );
+        assertFalse( r3[ 0 ].contains( 5 ) );
+        assertEquals( (double) 0.5f, r3[ 1 ].getHigh() );
+
+        assertEquals( 0, getRanges( "x > 3 || n < 2" ).length );
+        assertEquals( 0, getRanges( "x > 3 ? true : false" ).length );
+        assertEquals( 0, getRanges( "!(x > 3)" ).length );
+        assertEquals( 0, getRanges( "x > 3 && $0 < 10" ).length );
+        assertEquals( 0, getRanges( "x > 3 && index < 10" ).length );
+        assertEquals( 0, getRanges( "n > 010" ).length );
+        assertEquals( 0, getRanges( "not a valid expression" ).length );
+        assertEquals( 1, getRanges( "x > 3 && s == \"a && b || c\"" )
+                        .length );
+    }
+
+    private ColumnRange[] getRanges( String expr ) {
+        return RangeExtractor.getRanges( table_, expr );
+    }
+}
@@ -10,7 +10,10 @@ import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.ConstantColumn;
 import uk.ac.starlink.table.DefaultValueInfo;
 import uk.ac.starlink.table.LoopStarTable;
+import uk.ac.starlink.table.RowAccess;
+import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StoragePolicy;
 import uk.ac.starlink.table.Tables;
 import uk.ac.starlink.table.formats.CsvStarTable;
 import uk.ac.starlink.ttools.TableTestCase;
@@ -210,6 +213,49 @@ public class JELTest extends TableTestCase {
         assertEquals( null, rdr.evaluateAtRow( sExpr, 1 ) );
     }
 
+    public void testPrimitiveColumns() throws Throwable {
+        byte[] buf = new StringBuffer()
+            .append( "i,d\n" )
+            .append( "0,1.5\n" )
+            .append( ",\n" )
+            .append( "-3,2.5\n" )
+            .toString().getBytes( "utf-8" );
+        StarTable csvTable =
+            new CsvStarTable( new ByteArrayDataSource( "buf", buf ) );
+        Object[] expected = new Object[] {
+            Double.valueOf( 1.5 ), null, Double.valueOf( -0.5 ),
+        };
+        Object[] nullFlags = new Object[] {
+            Boolean.FALSE, Boolean.TRUE, Boolean.FALSE,
+        };
+        for ( StarTable t :
+              new StarTable[] { Tables.randomTable( csvTable ),
+                                StoragePolicy.OFF_HEAP
+                                             .copyTable( csvTable ) } ) {
+            String[] exprs = { "i+(double)d", "NULL_i" };
+            ColumnInfo[] infos = new ColumnInfo[] {
+                new ColumnInfo( "sum", Double.class, null ),
+                new ColumnInfo( "nul", Boolean.class, null ),
+            };
+            StarTable jt = new JELTable( t, infos, exprs );
+            assertArrayEquals( expected, getColData( jt, 0 ) );
+            assertArrayEquals( nullFlags, getColData( jt, 1 ) );
+            RowSequence rseq = jt.getRowSequence();
+            RowAccess racc = jt.getRowAccess();
+            for ( int ir = 0; rseq.next(); ir++ ) {
+                racc.setRowIndex( ir );
+                double exp = expected[ ir ] == null
+                           ? Double.NaN
+                           : ((Double) expected[ ir ]).doubleValue();
+                assertEquals( exp, rseq.getDouble( 0 ) );
+                assertEquals( exp, racc.getDouble( 0 ) );
+            }
+            rseq.close();
+            racc.close();
+            Tables.checkTable( jt );
+        }
+    }
+
     public void testStringComparison() throws Throwable {
 
         // This tests for presence of a bug in JEL versions 0.9.8 to 2.1.2,
@@ -0,0 +1,187 @@
+package uk.ac.starlink.ttools.plot2;
+
+import java.util.BitSet;
+import java.util.Random;
+import junit.framework.TestCase;
+import uk.ac.starlink.ttools.plot2.data.Coord;
+import uk.ac.starlink.ttools.plot2.data.Tuple;
+import uk.ac.starlink.ttools.plot2.data.TupleRunner;
+import uk.ac.starlink.ttools.plot2.data.TupleSequence;
+
+public class PointIndexTest extends TestCase {
+
+    public PointIndexTest( String name ) {
+        super( name );
+    }
+
+    public void testPlane() {
+        Random rnd = new Random( 2301 );
+        int np = 20000;
+        double[][] pts = new double[ np ][];
+        for ( int ip = 0; ip < np; ip++ ) {
+            pts[ ip ] = ip % 3 == 0
+                      ? new double[] { 5 + rnd.nextGaussian() * 0.01,
+                                       -2 + rnd.nextGaussian() * 0.01 }
+                      : new double[] { rnd.nextDouble() * 100 - 50,
+                                       rnd.nextGaussian() * 10 };
+        }
+        pts[ 99 ] = new double[] { Double.NaN, 1 };
+        PointIndex index = createIndex( pts );
+        assertEquals( 2, index.getDimCount() );
+        assertEquals( np - 1, index.getPointCount() );
+        checkBox( index, pts, new double[][] { { -1e9, 1e9 }, { -1e9, 1e9 } } );
+        checkBox( index, pts, new double[][] { { 4.99, 5.01 }, { -3, -1 } } );
+        checkBox( index, pts, new double[][] { { -10, 10 }, { 0, 2 } } );
+        checkBox( index, pts, new double[][] { { 60, 70 }, { 0, 2 } } );
+        checkBox( index, pts, new double[][] { { 1, 0 }, { 0, 2 } } );
+        for ( int i = 0; i < 50; i++ ) {
+            double x = rnd.nextDouble() * 120 - 60;
+            double y = rnd.nextGaussian() * 12;
+            double w = rnd.nextDouble() * 20;
+            double h = rnd.nextDouble() * 5;
+            checkBox( index, pts, new double[][] { { x, x + w }, { y, y + h } });
+        }
+    }
+
+    public void testSphere() {
+        Random rnd = new Random( 9922 );
+        int np = 30000;
+        double[][] pts = new double[ np ][];
+        for ( int ip = 0; ip < np; ip++ ) {
+            double x = rnd.nextGaussian();
+            double y = rnd.nextGaussian();
+            double z = rnd.nextGaussian();
+            double r = Math.sqrt( x * x + y * y + z * z );
+            pts[ ip ] = new double[] { x / r, y / r, z / r };
+        }
+        PointIndex index = createIndex( pts );
+        assertEquals( 3, index.getDimCount() );
+        assertEquals( np, index.getPointCount() );
+        for ( int i = 0; i < 50; i++ ) {
+            double[] c = pts[ rnd.nextInt( np ) ];
+            double d = rnd.nextDouble() * 0.2;
+            double[][] box = new double[ 3 ][];
+            for ( int j = 0; j < 3; j++ ) {
+                box[ j ] = new double[] { c[ j ] - d, c[ j ] + d };
+            }
+            checkBox( index, pts, box );
+        }
+    }
+
+    public void testLine() {
+        double[][] pts = new double[ 1000 ][];
+        for ( int ip = 0; ip < pts.length; ip++ ) {
+            pts[ ip ] = new double[] { ip % 10 };
+        }
+        PointIndex index = createIndex( pts );
+        checkBox( index, pts, new double[][] { { 2, 4 } } );
+        checkBox( index, pts, new double[][] { { 9, 9 } } );
+        checkBox( index, pts, new double[][] { { 10, 11 } } );
+    }
+
+    private static void checkBox( PointIndex index, double[][] pts,
+                                  double[][] box ) {
+        BitSet expected = new BitSet();
+        for ( int ip = 0; ip < pts.length; ip++ ) {
+            boolean in = true;
+            for ( int id = 0; id < box.length; id++ ) {
+                double d = pts[ ip ][ id ];
+                in = in && d >= box[ id ][ 0 ] && d <= box[ id ][ 1 ];
+            }
+            if ( in ) {
+                expected.set( ip );
+            }
+        }
+        BitSet actual = new BitSet();
+        index.visitPoints( box, ( irow, dpos ) -> {
+            assertFalse( actual.get( (int) irow ) );
+            actual.set( (int) irow );
+            for ( int id = 0; id < box.length; id++ ) {
+                assertEquals( pts[ (int) irow ][ id ], dpos[ id ] );
+            }
+        } );
+        assertEquals( expected, actual );
+    }
+
+    private static PointIndex createIndex( double[][] pts ) {
+        PointIndex index =
+            PointIndex.createIndex( new TestGeom( pts[ 0 ].length ), 0,
+                                    () -> new ArrayTupleSequence( pts ),
+                                    TupleRunner.DEFAULT );
+        assertNotNull( index );
+        return index;
+    }
+
+    private static class TestGeom implements DataGeom {
+        final int ndim_;
+        TestGeom( int ndim ) {
+            ndim_ = ndim;
+        }
+        public int getDataDimCount() {
+            return ndim_;
+        }
+        public Coord[] getPosCoords() {
+            return new Coord[ 0 ];
+        }
+        public boolean hasPosition() {
+            return true;
+        }
+        public boolean readDataPos( Tuple tuple, int icol, double[] dpos ) {
+            for ( int id = 0; id < ndim_; id++ ) {
+                dpos[ id ] = tuple.getDoubleValue( icol + id );
+            }
+            return true;
+        }
+        public String getVariantName() {
+            return "test";
+        }
+    }
+
+    private static class ArrayTupleSequence implements TupleSequence {
+        final double[][] pts_;
+        int ip_;
+        int end_;
+        ArrayTupleSequence( double[][] pts ) {
+            this( pts, -1, pts.length );
+        }
+        ArrayTupleSequence( double[][] pts, int ip, int end ) {
+            pts_ = pts;
+            ip_ = ip;
+            end_ = end;
+        }
+        public boolean next() {
+            return ++ip_ < end_;
+        }
+        public TupleSequence split() {
+            int n = end_ - ip_ - 1;
+            if ( n < 1000 ) {
+                return null;
+            }
+            int mid = ip_ + 1 + n / 2;
+            TupleSequence other = new ArrayTupleSequence( pts_, ip_, mid );
+            ip_ = mid - 1;
+            return other;
+        }
+        public long splittableSize() {
+            return end_ - ip_ - 1;
+        }
+        public long getRowIndex() {
+            return ip_;
+        }
+        public double getDoubleValue( int icol ) {
+            return pts_[ ip_ ][ icol ];
+        }
+        public Object getObjectValue( int icol ) {
+            return Double.valueOf( getDoubleValue( icol ) );
+        }
+        public int getIntValue( int icol ) {
+            throw new UnsupportedOperationException();
+        }
+        public long getLongValue( int icol ) {
+            throw new UnsupportedOperationException();
+        }
+        public boolean getBooleanValue( int icol ) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
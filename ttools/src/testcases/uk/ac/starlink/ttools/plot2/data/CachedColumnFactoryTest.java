@@ -17,6 +17,45 @@ public class CachedColumnFactoryTest extends TestCase {
                                    StoragePolicy.PREFER_MEMORY ) );
     }
 
+    public void testAddDouble() throws IOException {
+        CachedColumnFactory[] facts = {
+            new MemoryColumnFactory(),
+            new SmartColumnFactory( new MemoryColumnFactory() ),
+            new ByteStoreColumnFactory( StoragePolicy.PREFER_MEMORY ),
+        };
+        int nr = 50;
+        double[] values = new double[ nr ];
+        for ( int i = 0; i < nr; i++ ) {
+
+            /* Start with some equal values so that the smart column
+             * starts off storing a constant. */
+            values[ i ] = i < 5 ? 1.25 : i % 7 == 0 ? Double.NaN : 0.5 + i;
+        }
+        for ( CachedColumnFactory fact : facts ) {
+            for ( long nrow : new long[] { nr, -1 } ) {
+                CachedColumn dcol =
+                    fact.createColumn( StorageType.DOUBLE, nrow );
+                CachedColumn fcol =
+                    fact.createColumn( StorageType.FLOAT, nrow );
+                for ( int i = 0; i < nr; i++ ) {
+                    dcol.addDouble( values[ i ] );
+                    fcol.addDouble( values[ i ] );
+                }
+                dcol.endAdd();
+                fcol.endAdd();
+                assertEquals( nr, dcol.getRowCount() );
+                assertEquals( nr, fcol.getRowCount() );
+                CachedReader drdr = dcol.createReader();
+                CachedReader frdr = fcol.createReader();
+                for ( int i = 0; i < nr; i++ ) {
+                    assertEquals( values[ i ], drdr.getDoubleValue( i ) );
+                    assertEquals( (double) (float) values[ i ],
+                                  frdr.getDoubleValue( i ) );
+                }
+            }
+        }
+    }
+
     private void exerciseColumnFactory( CachedColumnFactory fact )
             throws IOException {
         int nr = 100;
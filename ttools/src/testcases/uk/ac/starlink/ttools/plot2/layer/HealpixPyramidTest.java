@@ -0,0 +1,169 @@
+package uk.ac.starlink.ttools.plot2.layer;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
+import uk.ac.starlink.table.DomainMapper;
+import uk.ac.starlink.table.PrimitiveArrayColumn;
+import uk.ac.starlink.ttools.plot2.data.Coord;
+import uk.ac.starlink.ttools.plot2.data.DataSpec;
+import uk.ac.starlink.ttools.plot2.data.DataStore;
+import uk.ac.starlink.ttools.plot2.data.FloatingCoord;
+import uk.ac.starlink.ttools.plot2.data.SimpleDataStoreFactory;
+import uk.ac.starlink.ttools.plot2.data.SkyCoord;
+import uk.ac.starlink.ttools.plot2.data.TupleRunner;
+import uk.ac.starlink.ttools.plot2.geom.SkyDataGeom;
+import uk.ac.starlink.ttools.plot2.task.CoordValue;
+import uk.ac.starlink.ttools.plot2.task.JELDataSpec;
+
+public class HealpixPyramidTest extends TestCase {
+
+    private static final Combiner[] COMBINERS = {
+        Combiner.COUNT, Combiner.SUM, Combiner.MEAN, Combiner.MIN,
+        Combiner.MAX, Combiner.HIT, Combiner.SAMPLE_STDEV,
+    };
+
+    public HealpixPyramidTest( String name ) {
+        super( name );
+    }
+
+    public void testPyramid() throws Exception {
+        Random rnd = new Random( 44901 );
+        int nrow = 20000;
+        double[] lons = new double[ nrow ];
+        double[] lats = new double[ nrow ];
+        double[] weights = new double[ nrow ];
+        for ( int ir = 0; ir < nrow; ir++ ) {
+            lons[ ir ] = ir % 4 == 0 ? 30 + rnd.nextGaussian()
+                                     : rnd.nextDouble() * 360;
+            lats[ ir ] = ir % 4 == 0
+                       ? -20 + rnd.nextGaussian()
+                       : Math.toDegrees( Math.asin( 2 * rnd.nextDouble() - 1 ) );
+            weights[ ir ] = ir % 100 == 7 ? Double.NaN
+                                          : rnd.nextGaussian() * 5 + 1;
+        }
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        table.addColumn( PrimitiveArrayColumn
+                        .makePrimitiveColumn( new ColumnInfo( "lon",
+                                                              Double.class,
+                                                              null ), lons ) );
+        table.addColumn( PrimitiveArrayColumn
+                        .makePrimitiveColumn( new ColumnInfo( "lat",
+                                                              Double.class,
+                                                              null ), lats ) );
+        table.addColumn( PrimitiveArrayColumn
+                        .makePrimitiveColumn( new ColumnInfo( "w",
+                                                              Double.class,
+                                                              null ),
+                                              weights ) );
+        SkyDataGeom geom = SkyDataGeom.GENERIC;
+        Coord posCoord = geom.getPosCoords()[ 0 ];
+        FloatingCoord weightCoord = FloatingCoord.WEIGHT_COORD;
+        DataSpec spec = new JELDataSpec( table, null, new CoordValue[] {
+            new CoordValue( posCoord, new String[] { "lon", "lat" },
+                            new DomainMapper[ 2 ] ),
+            new CoordValue( weightCoord, new String[] { "w" },
+                            new DomainMapper[ 1 ] ),
+        } );
+        DataStore store = new SimpleDataStoreFactory( TupleRunner.DEFAULT )
+                         .readDataStore( new DataSpec[] { spec }, null );
+
+        int maxLevel = 6;
+        HealpixPyramid wpyr =
+            HealpixPyramid.createPyramid( maxLevel, geom, 0, weightCoord, 1,
+                                          spec, store );
+        HealpixPyramid upyr =
+            HealpixPyramid.createPyramid( maxLevel, geom, 0, null, -1,
+                                          spec, store );
+        assertTrue( wpyr.isWeighted() );
+        assertFalse( upyr.isWeighted() );
+        assertEquals( maxLevel, wpyr.getMaxLevel() );
+        assertEquals( 12, upyr.getPixelCount( 0 ) );
+
+        File file = File.createTempFile( "pyr", ".bin" );
+        file.deleteOnExit();
+        try {
+            wpyr.writePyramid( file );
+            HealpixPyramid rpyr = HealpixPyramid.readPyramid( file );
+            assertEquals( maxLevel, rpyr.getMaxLevel() );
+            assertTrue( rpyr.isWeighted() );
+            for ( int level : new int[] { 0, 2, 5, maxLevel } ) {
+                for ( Combiner combiner : COMBINERS ) {
+                    BinList.Result expected =
+                        binDirect( level, combiner, lons, lats, weights );
+                    checkResult( expected, wpyr.getResult( combiner, level ) );
+                    checkResult( expected, rpyr.getResult( combiner, level ) );
+                }
+                checkResult( binDirect( level, Combiner.COUNT, lons, lats,
+                                        null ),
+                             upyr.getResult( Combiner.COUNT, level ) );
+            }
+        }
+        finally {
+            file.delete();
+        }
+
+        assertFalse( HealpixPyramid.isSupported( Combiner.MEDIAN ) );
+        try {
+            wpyr.getResult( Combiner.MEDIAN, 2 );
+            fail();
+        }
+        catch ( IllegalArgumentException e ) {
+        }
+        try {
+            wpyr.getResult( Combiner.COUNT, maxLevel + 1 );
+            fail();
+        }
+        catch ( IllegalArgumentException e ) {
+        }
+    }
+
+    private static BinList.Result binDirect( int level, Combiner combiner,
+                                             double[] lons, double[] lats,
+                                             double[] weights ) {
+        SkyPixer pixer = new SkyPixer( level );
+        BinList binList = BinListCollector
+                         .createDefaultBinList( combiner,
+                                                pixer.getPixelCount() );
+        for ( int ir = 0; ir < lons.length; ir++ ) {
+            double w = weights == null ? 1 : weights[ ir ];
+            if ( ! Double.isNaN( w ) ) {
+                double[] v3 = SkyCoord.lonLatDegreesToDouble3( lons[ ir ],
+                                                               lats[ ir ] );
+                binList.submitToBin( pixer.getIndex( v3 ), w );
+            }
+        }
+        return binList.getResult();
+    }
+
+    private static void checkResult( BinList.Result expected,
+                                     BinList.Result actual ) {
+        assertEquals( expected.getBinCount(), actual.getBinCount() );
+        Map<Long,Double> evals = new HashMap<>();
+        for ( Iterator<Long> it = expected.indexIterator(); it.hasNext(); ) {
+            Long ix = it.next();
+            evals.put( ix, expected.getBinValue( ix.longValue() ) );
+        }
+        long prev = -1;
+        for ( Iterator<Long> it = actual.indexIterator(); it.hasNext(); ) {
+            long ix = it.next().longValue();
+            assertTrue( ix > prev );
+            prev = ix;
+            double eval = evals.get( ix ).doubleValue();
+            double aval = actual.getBinValue( ix );
+            if ( Double.isNaN( eval ) ) {
+                assertTrue( Double.isNaN( aval ) );
+            }
+            else {
+                assertEquals( eval, aval,
+                              1e-8 * Math.max( 1, Math.abs( eval ) ) );
+            }
+        }
+        assertTrue( Double.isNaN( actual.getBinValue( -1 ) ) );
+    }
+}
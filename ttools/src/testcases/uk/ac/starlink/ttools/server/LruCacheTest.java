@@ -0,0 +1,108 @@
+package uk.ac.starlink.ttools.server;
+
+import java.util.Arrays;
+import java.util.Collections;
+import junit.framework.TestCase;
+
+public class LruCacheTest extends TestCase {
+
+    private long time_;
+
+    public LruCacheTest( String name ) {
+        super( name );
+    }
+
+    public void testEviction() {
+        LruCache<String,String> cache =
+            new LruCache<String,String>( 10, 0, s -> s.length(), () -> 0 );
+        assertEquals( Collections.emptyList(), cache.put( "a", "aaa" ) );
+        assertEquals( Collections.emptyList(), cache.put( "b", "bbb" ) );
+        assertEquals( Collections.emptyList(), cache.put( "c", "ccc" ) );
+        assertEquals( 9, cache.getTotalSize() );
+        assertEquals( "aaa", cache.get( "a" ) );
+        assertEquals( Arrays.asList( "bbb" ), cache.put( "d", "dd" ) );
+        assertNull( cache.get( "b" ) );
+        assertEquals( "aaa", cache.get( "a" ) );
+        assertEquals( 3, cache.size() );
+        assertEquals( 8, cache.getTotalSize() );
+        assertEquals( Collections.emptyList(), cache.put( "a", "a" ) );
+        assertEquals( 6, cache.getTotalSize() );
+
+        /* A value too large for the cache is not retained,
+         * and does not displace other entries. */
+        assertEquals( Collections.emptyList(),
+                      cache.put( "e", "eeeeeeeeeeee" ) );
+        assertNull( cache.get( "e" ) );
+        assertEquals( 3, cache.size() );
+        assertEquals( 6, cache.getTotalSize() );
+        assertEquals( "ccc", cache.get( "c" ) );
+        assertEquals( 3, cache.getHitCount() );
+        assertEquals( 2, cache.getMissCount() );
+        assertEquals( 1, cache.getEvictionCount() );
+
+        /* Replacing an entry with an oversized value removes it. */
+        assertEquals( Collections.emptyList(),
+                      cache.put( "a", "aaaaaaaaaaaa" ) );
+        assertNull( cache.get( "a" ) );
+        assertEquals( 2, cache.size() );
+        assertEquals( 5, cache.getTotalSize() );
+        assertNull( cache.remove( "x" ) );
+        cache.put( "f", "f" );
+        cache.clear();
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getTotalSize() );
+    }
+
+    public void testUpdateSize() {
+        LruCache<String,StringBuffer> cache =
+            new LruCache<String,StringBuffer>( 10, 0, s -> s.length(),
+                                               () -> 0 );
+        StringBuffer a = new StringBuffer( "aaa" );
+        StringBuffer b = new StringBuffer( "bbb" );
+        StringBuffer c = new StringBuffer( "ccc" );
+        cache.put( "a", a );
+        cache.put( "b", b );
+        cache.put( "c", c );
+        assertEquals( 9, cache.getTotalSize() );
+        assertEquals( Collections.emptyList(), cache.updateSize( "x" ) );
+
+        /* Growth of one entry evicts the least recently used other one. */
+        b.append( "bb" );
+        assertEquals( Arrays.asList( a ), cache.updateSize( "b" ) );
+        assertEquals( 8, cache.getTotalSize() );
+        assertEquals( 2, cache.size() );
+
+        /* Shrinkage is accounted for. */
+        c.setLength( 1 );
+        assertEquals( Collections.emptyList(), cache.updateSize( "c" ) );
+        assertEquals( 6, cache.getTotalSize() );
+
+        /* An entry that grows too large for the cache is removed,
+         * but other entries are not. */
+        c.append( "cccccccccccc" );
+        assertEquals( Arrays.asList( c ), cache.updateSize( "c" ) );
+        assertEquals( 1, cache.size() );
+        assertEquals( 5, cache.getTotalSize() );
+        assertSame( b, cache.get( "b" ) );
+    }
+
+    public void testExpiry() {
+        LruCache<String,String> cache =
+            new LruCache<String,String>( 0, 100, s -> s.length(),
+                                         () -> time_ );
+        time_ = 0;
+        cache.put( "a", "aaa" );
+        cache.put( "b", "bbb" );
+        time_ = 80;
+        assertEquals( "aaa", cache.get( "a" ) );
+        time_ = 150;
+        assertEquals( "aaa", cache.get( "a" ) );
+        assertNull( cache.get( "b" ) );
+        assertEquals( 1, cache.getExpiryCount() );
+        time_ = 300;
+        assertEquals( Arrays.asList( "aaa" ), cache.purge() );
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getTotalSize() );
+        assertEquals( 2, cache.getExpiryCount() );
+    }
+}
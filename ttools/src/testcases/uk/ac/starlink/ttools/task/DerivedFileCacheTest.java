@@ -0,0 +1,168 @@
+package uk.ac.starlink.ttools.task;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import junit.framework.TestCase;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+import uk.ac.starlink.util.LogUtils;
+
+public class DerivedFileCacheTest extends TestCase {
+
+    private int nWrite_;
+
+    public DerivedFileCacheTest() {
+        LogUtils.getLogger( "uk.ac.starlink" ).setLevel( Level.SEVERE );
+    }
+
+    public void testCache() throws Exception {
+        File dir = createDir();
+        File inFile = new File( dir, "in.txt" );
+        File cacheDir = new File( dir, "cache" );
+        DerivedFileCache cache =
+            new DerivedFileCache( new DiskCache( cacheDir, 10_000_000,
+                                                 "test" ), "D-", ".txt" );
+        try {
+            writeText( inFile, "abc" );
+            assertEquals( "abc:1",
+                          cache.readCached( inFile, "1", this::read,
+                                            f -> write( f, "abc:1" ) ) );
+            assertEquals( 1, nWrite_ );
+            assertEquals( "abc:1",
+                          cache.readCached( inFile, "1", this::read,
+                                            f -> write( f, "xxx" ) ) );
+            assertEquals( 1, nWrite_ );
+            assertEquals( 1, countFiles( cacheDir ) );
+
+            /* Different derivation gives a different cache entry. */
+            assertEquals( "abc:2",
+                          cache.readCached( inFile, "2", this::read,
+                                            f -> write( f, "abc:2" ) ) );
+            assertEquals( 2, nWrite_ );
+            assertEquals( 2, countFiles( cacheDir ) );
+
+            /* An existing file rejected by the reader is rewritten. */
+            assertEquals( "new",
+                          cache.readCached( inFile, "1",
+                                            f -> rejectRead( f, "abc:1" ),
+                                            f -> write( f, "new" ) ) );
+            assertEquals( 3, nWrite_ );
+            assertEquals( 2, countFiles( cacheDir ) );
+
+            /* A newly written file rejected by the reader is not used. */
+            assertNull( cache.readCached( inFile, "3",
+                                          f -> rejectRead( f, "bad" ),
+                                          f -> write( f, "bad" ) ) );
+            assertEquals( 2, countFiles( cacheDir ) );
+        }
+        finally {
+            deleteAll( dir );
+        }
+    }
+
+    public void testWriteFailure() throws Exception {
+        File dir = createDir();
+        File inFile = new File( dir, "in.txt" );
+        File cacheDir = new File( dir, "cache" );
+        DerivedFileCache cache =
+            new DerivedFileCache( new DiskCache( cacheDir, 10_000_000,
+                                                 "test" ), "D-", ".txt" );
+        try {
+            writeText( inFile, "abc" );
+            assertNull( cache.readCached( inFile, "1", this::read, f -> {
+                writeText( f, "partial" );
+                throw new IOException( "Write failed" );
+            } ) );
+            assertEquals( 0, cacheDir.listFiles().length );
+
+            /* Cache directory can't be created since its parent is a file. */
+            DerivedFileCache badCache =
+                new DerivedFileCache( new DiskCache( new File( inFile, "c" ),
+                                                     10_000_000, "test" ),
+                                      "D-", ".txt" );
+            assertNull( badCache.readCached( inFile, "1", this::read,
+                                             f -> write( f, "abc" ) ) );
+        }
+        finally {
+            deleteAll( dir );
+        }
+    }
+
+    public void testTinyCache() throws Exception {
+        File dir = createDir();
+        File inFile = new File( dir, "in.txt" );
+        File cacheDir = new File( dir, "cache" );
+
+        /* The cache limit is smaller than a single cache file,
+         * but the newly written file must not be tidied away
+         * before it is used. */
+        DerivedFileCache cache =
+            new DerivedFileCache( new DiskCache( cacheDir, 2, "test" ),
+                                  "D-", ".txt" );
+        try {
+            writeText( inFile, "abc" );
+            assertEquals( "abcdef",
+                          cache.readCached( inFile, "1", this::read,
+                                            f -> write( f, "abcdef" ) ) );
+            assertEquals( "uvwxyz",
+                          cache.readCached( inFile, "2", this::read,
+                                            f -> write( f, "uvwxyz" ) ) );
+            assertEquals( 1, countFiles( cacheDir ) );
+            assertTrue( cache.getCacheFile( inFile, "2" ).exists() );
+        }
+        finally {
+            deleteAll( dir );
+        }
+    }
+
+    private String read( File file ) throws IOException {
+        return new String( Files.readAllBytes( file.toPath() ), "UTF-8" );
+    }
+
+    private String rejectRead( File file, String reject ) throws IOException {
+        String txt = read( file );
+        return reject.equals( txt ) ? null : txt;
+    }
+
+    private void write( File file, String txt ) throws IOException {
+        nWrite_++;
+        writeText( file, txt );
+    }
+
+    private static void writeText( File file, String txt )
+            throws IOException {
+        try ( Writer out = new FileWriter( file ) ) {
+            out.write( txt );
+        }
+    }
+
+    private static File createDir() throws IOException {
+        File dir = File.createTempFile( "dfc", ".d" );
+        dir.delete();
+        assertTrue( dir.mkdir() );
+        return dir;
+    }
+
+    private static int countFiles( File cacheDir ) {
+        int n = 0;
+        for ( File f : cacheDir.listFiles() ) {
+            if ( f.getName().endsWith( ".txt" ) ) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static void deleteAll( File dir ) {
+        File[] files = dir.listFiles();
+        if ( files != null ) {
+            for ( File f : files ) {
+                deleteAll( f );
+            }
+        }
+        dir.delete();
+    }
+}
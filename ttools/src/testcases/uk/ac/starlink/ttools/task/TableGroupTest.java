@@ -1,15 +1,24 @@
 package uk.ac.starlink.ttools.task;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
+import uk.ac.starlink.table.ArrayColumn;
+import uk.ac.starlink.table.ColumnInfo;
+import uk.ac.starlink.table.ColumnStarTable;
 import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableFactory;
 import uk.ac.starlink.table.Tables;
+import uk.ac.starlink.table.storage.Codec;
 import uk.ac.starlink.task.TaskException;
 import uk.ac.starlink.ttools.TableTestCase;
+import uk.ac.starlink.ttools.filter.RowSpill;
 import uk.ac.starlink.util.LogUtils;
 
 public class TableGroupTest extends TableTestCase {
@@ -227,6 +236,151 @@ public class TableGroupTest extends TableTestCase {
                            outMap.get( "array1_boolean" ) );
     }
 
+    public void testSpill() throws IOException, TaskException {
+        MapEnvironment env0 = new MapEnvironment();
+        env0.setValue( "in", ":skysim:20000" );
+        env0.setValue( "cmd", String.join( ";",
+                           "addcol ikey (int)(ra*10)",
+                           "addcol dkey ikey%3==0?NULL:ikey%7*0.5" ) );
+        StarTable t0 = process( new TablePipe(), env0 );
+        String aggcols = String.join( " ",
+                             "gmag;count;count_g",
+                             "gmag;mean;mean_g",
+                             "gmag;median;median_g",
+                             "gmag;median-approx;amedian_g",
+                             "gmag;max;max_g",
+                             "$0;ndistinct-approx;ndist" );
+        String ocmd = "replacecol mean_g (float)mean_g";
+        RowRunner[] runners = { RowRunner.SEQUENTIAL, RowRunner.PARTEST };
+        for ( RowRunner runner : runners ) {
+            MapEnvironment env1 = new MapEnvironment();
+            env1.setValue( "in", t0 );
+            env1.setValue( "keys", "ikey dkey" );
+            env1.setValue( "aggcols", aggcols );
+            env1.setValue( "runner", runner );
+            env1.setValue( "ocmd", ocmd );
+            StarTable t1 = process( new TableGroup(), env1 );
+            assertTrue( t1.getRowCount() > 3000 );
+
+            MapEnvironment env2 = new MapEnvironment();
+            env2.setValue( "in", t0 );
+            env2.setValue( "keys", "ikey dkey" );
+            env2.setValue( "aggcols", aggcols );
+            env2.setValue( "runner", runner );
+            env2.setValue( "ocmd", ocmd );
+            env2.setValue( "maxmem", Long.valueOf( 20000 ) );
+            StarTable t2 = process( new TableGroup(), env2 );
+            assertSameData( t1, t2 );
+
+            MapEnvironment env3 = new MapEnvironment();
+            env3.setValue( "in", t0 );
+            env3.setValue( "cmd", String.join( ";",
+                               "group -maxmem 20k ikey dkey "
+                             + aggcols.replace( ';', '@' ),
+                               ocmd ) );
+            assertSameData( t1, process( new TablePipe(), env3 ) );
+        }
+    }
+
+    public void testSpillBlankKeys() throws IOException {
+
+        /* Use the collector directly, since JEL key expressions
+         * turn empty strings into nulls and nulls into NaNs. */
+        int nrow = 20000;
+        int[] ikeys = new int[ nrow ];
+        String[] skeys = new String[ nrow ];
+        Double[] dkeys = new Double[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ikeys[ i ] = i % 2000;
+            skeys[ i ] = i % 4 == 0 ? "" : i % 4 == 1 ? null : "s" + i % 4;
+            dkeys[ i ] = i % 3 == 0 ? null
+                       : i % 3 == 1 ? Double.valueOf( Double.NaN )
+                                    : Double.valueOf( 0.5 * ( i % 5 ) );
+        }
+        ColumnStarTable t0 = ColumnStarTable.makeTableWithRows( nrow );
+        t0.addColumn( ArrayColumn.makeColumn( "ikey", ikeys ) );
+        t0.addColumn( ArrayColumn.makeColumn( "skey", skeys ) );
+        t0.addColumn( ArrayColumn.makeColumn( "dkey", dkeys ) );
+        t0.addColumn( ArrayColumn.makeColumn( "sval", skeys ) );
+        t0.addColumn( ArrayColumn.makeColumn( "dval", dkeys ) );
+        ColumnInfo[] infos = Tables.getColumnInfos( t0 );
+        Codec[] codecs = RowSpill.getCodecs( infos );
+        Aggregator.Aggregation[] aggregations = {
+            Aggregators.COUNT.createAggregation( infos[ 3 ] ),
+            Aggregators.NGOOD.createAggregation( infos[ 4 ] ),
+        };
+        RowRunner[] runners = { RowRunner.SEQUENTIAL, RowRunner.PARTEST };
+        for ( RowRunner runner : runners ) {
+            Set<List<Object>> expected = null;
+            for ( long maxMem : new long[] { 0, 20000 } ) {
+                GroupCollector collector =
+                    new GroupCollector( 3, aggregations, codecs, maxMem, 0 );
+                GroupCollector.Partitions parts =
+                    runner.collect( collector, t0 );
+                assertEquals( maxMem > 0, parts.hasSpilled() );
+                Set<List<Object>> groups = new HashSet<>();
+                try {
+                    parts.writeGroups( ( keys, aggaccs ) -> {
+                        List<Object> group = new ArrayList<>( keys );
+                        for ( Aggregator.Accumulator aggacc : aggaccs ) {
+                            group.add( aggacc.getResult() );
+                        }
+                        assertTrue( groups.add( group ) );
+                    } );
+                }
+                finally {
+                    parts.close();
+                }
+                if ( expected == null ) {
+                    expected = groups;
+                    Set<Object> svals = new HashSet<>();
+                    Set<Object> dvals = new HashSet<>();
+                    for ( List<Object> group : groups ) {
+                        svals.add( group.get( 1 ) );
+                        dvals.add( group.get( 2 ) );
+                    }
+                    assertTrue( svals.contains( "" ) );
+                    assertTrue( svals.contains( null ) );
+                    assertTrue( dvals.contains( Double.NaN ) );
+                    assertTrue( dvals.contains( null ) );
+                    assertEquals( 6000, groups.size() );
+                }
+                else {
+                    assertEquals( expected, groups );
+                }
+            }
+        }
+    }
+
+    public void testApprox() throws IOException, TaskException {
+        MapEnvironment env = new MapEnvironment();
+        env.setValue( "in", ":skysim:20000" );
+        env.setValue( "icmd", "addcol ikey (int)(dec/30)" );
+        env.setValue( "keys", "ikey" );
+        env.setValue( "aggcols", String.join( " ",
+                          "gmag;count;n",
+                          "gmag;stdev;s",
+                          "gmag;median;m",
+                          "gmag;median-approx;am",
+                          "gmag;Q.9;q9",
+                          "gmag;Q.9-approx;aq9",
+                          "$0;ndistinct-approx;nd",
+                          "ikey;ndistinct-approx;nk" ) );
+        StarTable t = process( new TableGroup(), env );
+        assertTrue( t.getRowCount() > 3 );
+        for ( int ir = 0; ir < t.getRowCount(); ir++ ) {
+            Object[] row = t.getRow( ir );
+            int n = ((Number) row[ 1 ]).intValue();
+            double tol = 0.05 * ((Number) row[ 2 ]).doubleValue();
+            assertEquals( ((Number) row[ 3 ]).doubleValue(),
+                          ((Number) row[ 4 ]).doubleValue(), tol );
+            assertEquals( ((Number) row[ 5 ]).doubleValue(),
+                          ((Number) row[ 6 ]).doubleValue(), tol );
+            assertEquals( n, ((Number) row[ 7 ]).doubleValue(), 0.05 * n );
+            assertEquals( 1L, row[ 8 ] );
+        }
+    }
+
     private void checkGaussianCounts( StarTable t ) throws IOException {
         int[] keys = (int[]) unbox( getColData( t, 0 ) );
         int[] counts = (int[]) unbox( getColData( t, 1 ) );
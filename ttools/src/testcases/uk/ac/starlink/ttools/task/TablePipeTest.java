@@ -894,6 +894,19 @@ public class TablePipeTest extends TableTestCase {
         assertSameData( inTable_, apply( "sort $0" ) );
         assertSameData( inTable_, apply( "sort $1" ) );
         assertSameData( inTable_, apply( "sort '$0 $1'" ) );
+
+        assertArrayEquals(
+            box( new int[] { 4, 1, 2, 3 } ),
+            getColData( apply( "sort -external -nullsfirst b" ), 0 ) );
+        assertArrayEquals(
+            box( new int[] { 3, 2, 1, 4 } ),
+            getColData( apply( "sort -runsize 1 -nullsfirst -down b" ), 0 ) );
+        assertArrayEquals( box( new int[] { 2, 1, 3, 4 } ),
+                           getColData( apply( "sort -runsize 3 "
+                                            + "'($0+1)/2 d'" ), 0 ) );
+        assertArrayEquals( new Object[] { "Beauchamp", "Mark", "Taylor", null },
+                           getColData( apply( "sort -runsize 2 d.charAt(2)" ),
+                                       3 ) );
     }
 
     public void testSortHead() throws Exception {
@@ -1038,4 +1051,20 @@ public class TablePipeTest extends TableTestCase {
             getColNames( apply( "uniq -count" ) ) );
     }
 
+    public void testDistinct() throws Exception {
+        assertSameData( inTable_, apply( "distinct" ) );
+        assertArrayEquals(
+            new Object[] { "Mark", "Taylor" },
+            getColData( apply( "distinct c" ), 3 ) );
+        assertArrayEquals(
+            new long[] { 2, 2 },
+            unbox( getColData( apply( "distinct -count c" ), 0 ) ) );
+        assertArrayEquals(
+            new String[] { "DupCount", "a", "b", "c", "d" },
+            getColNames( apply( "distinct -count -order any" ) ) );
+        assertArrayEquals(
+            new Object[] { Boolean.TRUE, Boolean.FALSE },
+            getColData( apply( "distinct -noparallel -maxmem 1 c" ), 2 ) );
+    }
+
 }
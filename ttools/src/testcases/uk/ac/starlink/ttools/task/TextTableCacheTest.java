@@ -0,0 +1,150 @@
+package uk.ac.starlink.ttools.task;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.logging.Level;
+import uk.ac.starlink.table.StarTable;
+import uk.ac.starlink.table.StarTableFactory;
+import uk.ac.starlink.ttools.TableTestCase;
+import uk.ac.starlink.ttools.plot2.data.DiskCache;
+import uk.ac.starlink.util.LogUtils;
+
+public class TextTableCacheTest extends TableTestCase {
+
+    public TextTableCacheTest() {
+        LogUtils.getLogger( "uk.ac.starlink" ).setLevel( Level.WARNING );
+    }
+
+    public void testCache() throws IOException {
+        File dir = File.createTempFile( "ttc", ".d" );
+        dir.delete();
+        File csvFile = new File( dir, "t.csv" );
+        File cacheDir = new File( dir, "cache" );
+        TextTableCache cache =
+            new TextTableCache( new DiskCache( cacheDir, 10_000_000,
+                                               "text table" ) );
+        StarTableFactory tfact = new StarTableFactory();
+        try {
+            assertTrue( dir.mkdir() );
+            writeCsv( csvFile, 100 );
+            String loc = csvFile.getPath();
+            assertNull( cache.makeStarTable( loc, "fits", tfact ) );
+            assertNull( cache.makeStarTable( loc + "-nope", "csv", tfact ) );
+
+            StarTable t0 = tfact.makeStarTable( loc, "csv" );
+            StarTable t1 = cache.makeStarTable( loc, "csv", tfact );
+            assertEquals( 1, countFiles( cacheDir ) );
+            StarTable t2 = cache.makeStarTable( loc, "csv", tfact );
+            assertEquals( 1, countFiles( cacheDir ) );
+            assertTrue( t2.isRandom() );
+            assertSameData( t0, t1 );
+            assertSameData( t0, t2 );
+            assertEquals( "y", t2.getColumnInfo( 1 ).getName() );
+            assertEquals( t0.getColumnInfo( 1 ).getContentClass(),
+                          t2.getColumnInfo( 1 ).getContentClass() );
+
+            /* Different handler options give a different cache entry. */
+            StarTable t3 =
+                cache.makeStarTable( loc, "csv(maxSample=10)", tfact );
+            assertEquals( 2, countFiles( cacheDir ) );
+            assertSameData( t0, t3 );
+
+            /* A changed file is not read from the old cache entry. */
+            writeCsv( csvFile, 120 );
+            csvFile.setLastModified( csvFile.lastModified() + 2000 );
+            StarTable t4 = cache.makeStarTable( loc, "csv", tfact );
+            assertEquals( 3, countFiles( cacheDir ) );
+            assertEquals( 120, t4.getRowCount() );
+            assertSameData( tfact.makeStarTable( loc, "csv" ), t4 );
+        }
+        finally {
+            File[] cfiles = cacheDir.listFiles();
+            if ( cfiles != null ) {
+                for ( File f : cfiles ) {
+                    f.delete();
+                }
+            }
+            cacheDir.delete();
+            csvFile.delete();
+            dir.delete();
+        }
+    }
+
+    public void testCacheFailure() throws IOException {
+        File dir = File.createTempFile( "ttc", ".d" );
+        dir.delete();
+        File csvFile = new File( dir, "t.csv" );
+
+        /* Cache directory can't be created since its parent is a file. */
+        File cacheDir = new File( csvFile, "cache" );
+        TextTableCache cache =
+            new TextTableCache( new DiskCache( cacheDir, 10_000_000,
+                                               "text table" ) );
+        StarTableFactory tfact = new StarTableFactory();
+        try {
+            assertTrue( dir.mkdir() );
+            writeCsv( csvFile, 10 );
+            assertNull( cache.makeStarTable( csvFile.getPath(), "csv",
+                                             tfact ) );
+        }
+        finally {
+            csvFile.delete();
+            dir.delete();
+        }
+    }
+
+    public void testTinyCache() throws IOException {
+        File dir = File.createTempFile( "ttc", ".d" );
+        dir.delete();
+        File csvFile = new File( dir, "t.csv" );
+        File cacheDir = new File( dir, "cache" );
+
+        /* The cache limit is smaller than a single cache file,
+         * but the newly written file must not be tidied away
+         * before it is used. */
+        TextTableCache cache =
+            new TextTableCache( new DiskCache( cacheDir, 10,
+                                               "text table" ) );
+        StarTableFactory tfact = new StarTableFactory();
+        try {
+            assertTrue( dir.mkdir() );
+            writeCsv( csvFile, 100 );
+            String loc = csvFile.getPath();
+            StarTable t1 = cache.makeStarTable( loc, "csv", tfact );
+            assertEquals( 1, countFiles( cacheDir ) );
+            assertSameData( tfact.makeStarTable( loc, "csv" ), t1 );
+        }
+        finally {
+            File[] cfiles = cacheDir.listFiles();
+            if ( cfiles != null ) {
+                for ( File f : cfiles ) {
+                    f.delete();
+                }
+            }
+            cacheDir.delete();
+            csvFile.delete();
+            dir.delete();
+        }
+    }
+
+    private static int countFiles( File cacheDir ) {
+        int n = 0;
+        for ( File f : cacheDir.listFiles() ) {
+            if ( f.getName().endsWith( ".colfits" ) ) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static void writeCsv( File file, int nrow ) throws IOException {
+        try ( Writer out = new FileWriter( file ) ) {
+            out.write( "x,y,name\n" );
+            for ( int i = 0; i < nrow; i++ ) {
+                out.write( i + "," + ( i * 0.25 ) + ",row" + i + "\n" );
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package uk.ac.starlink.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * InputStream wrapper that reads data from its base stream in large
+ * blocks on a separate thread, so that the cost of reading and
+ * decoding the base stream (for instance base64 or gzip decoding)
+ * can overlap with the processing of the data by the consumer.
+ *
+ * <p>The first block is read synchronously on the thread of the first
+ * read call; a background thread is only started if the data does not
+ * fit in that block, so short streams incur no threading overhead.
+ * A bounded number of blocks are read ahead.
+ * Exceptions encountered by the reading thread are rethrown by
+ * the read methods of this stream.
+ *
+ * <p>Instances of this class are not thread-safe.
+ *
+ * @author   Mark Taylor
+ * @since    16 Oct 2026
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    private final InputStream base_;
+    private final int blockSize_;
+    private final BlockingQueue<Block> queue_;
+    private Block block_;
+    private int ipos_;
+    private boolean started_;
+    private Thread reader_;
+    private volatile boolean closed_;
+
+    /** Default block size in bytes. */
+    public static final int DFLT_BLOCK_SIZE = 256 * 1024;
+
+    /** Default number of blocks that may be read ahead. */
+    public static final int DFLT_NBLOCK = 8;
+
+    private static final Block EOF = new Block( new byte[ 0 ], 0, null );
+
+    /**
+     * Constructs a stream with default block size and read-ahead count.
+     *
+     * @param  base  base input stream
+     */
+    public ReadAheadInputStream( InputStream base ) {
+        this( base, DFLT_BLOCK_SIZE, DFLT_NBLOCK );
+    }
+
+    /**
+     * Constructs a stream with given block size and read-ahead count.
+     *
+     * @param  base  base input stream
+     * @param  blockSize  number of bytes in each block read
+     * @param  nblock   maximum number of blocks read ahead
+     */
+    public ReadAheadInputStream( InputStream base, int blockSize,
+                                 int nblock ) {
+        base_ = base;
+        blockSize_ = blockSize;
+        queue_ = new ArrayBlockingQueue<Block>( nblock );
+    }
+
+    @Override
+    public int read() throws IOException {
+        return ensureData() ? block_.buf_[ ipos_++ ] & 0xff : -1;
+    }
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+        if ( len == 0 ) {
+            return 0;
+        }
+        if ( ! ensureData() ) {
+            return -1;
+        }
+        int n = Math.min( len, block_.leng_ - ipos_ );
+        System.arraycopy( block_.buf_, ipos_, b, off, n );
+        ipos_ += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return block_ == null ? 0 : block_.leng_ - ipos_;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if ( ! closed_ ) {
+            closed_ = true;
+            if ( reader_ != null ) {
+                reader_.interrupt();
+                queue_.clear();
+            }
+            base_.close();
+        }
+    }
+
+    /**
+     * Ensures that the current block has unread bytes available.
+     *
+     * @return  true if there is data to read, false at end of stream
+     */
+    private boolean ensureData() throws IOException {
+        if ( closed_ ) {
+            throw new IOException( "Stream closed" );
+        }
+        while ( block_ == null || ipos_ >= block_.leng_ ) {
+            if ( block_ == EOF ) {
+                return false;
+            }
+            if ( block_ != null && block_.error_ != null ) {
+                Throwable error = block_.error_;
+                if ( error instanceof IOException ) {
+                    throw (IOException) error;
+                }
+                else if ( error instanceof RuntimeException ) {
+                    throw (RuntimeException) error;
+                }
+                else if ( error instanceof Error ) {
+                    throw (Error) error;
+                }
+                else {
+                    throw new IOException( error );
+                }
+            }
+            block_ = nextBlock();
+            ipos_ = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Acquires the next block of data.
+     *
+     * @return  next block, EOF at end of stream, or a block with
+     *          a non-null error following its data if the read failed
+     */
+    private Block nextBlock() throws IOException {
+
+        /* Read the first block synchronously; only start a background
+         * reader if there is more to come. */
+        if ( ! started_ ) {
+            started_ = true;
+            Block block = readBlock( base_, blockSize_ );
+            if ( block != EOF && block.error_ == null ) {
+                reader_ = new Thread( this::readAll, "Read-ahead" );
+                reader_.setDaemon( true );
+                reader_.start();
+            }
+            return block;
+        }
+        else {
+            try {
+                return queue_.take();
+            }
+            catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw (IOException)
+                      new InterruptedIOException( "Interrupted" )
+                     .initCause( e );
+            }
+        }
+    }
+
+    /**
+     * Reads all remaining blocks from the base stream into the queue.
+     * Runs in the reader thread.
+     */
+    private void readAll() {
+        try {
+            while ( true ) {
+                Block block = readBlock( base_, blockSize_ );
+                queue_.put( block );
+                if ( block == EOF || block.error_ != null ) {
+                    return;
+                }
+            }
+        }
+        catch ( InterruptedException e ) {
+            // closed; exit quietly
+        }
+    }
+
+    /**
+     * Reads a block of data from a stream, filling the buffer unless
+     * the end of the stream is reached.
+     *
+     * @param  in  input stream
+     * @param  size  maximum block size
+     * @return  block containing data, EOF if there is none;
+     *          if the read failed the block's error is non-null
+     */
+    private static Block readBlock( InputStream in, int size ) {
+        byte[] buf = new byte[ size ];
+        int leng = 0;
+        try {
+            while ( leng < size ) {
+                int n = in.read( buf, leng, size - leng );
+                if ( n < 0 ) {
+                    break;
+                }
+                leng += n;
+            }
+        }
+        catch ( Throwable e ) {
+            return new Block( buf, leng, e );
+        }
+        return leng == 0 ? EOF : new Block( buf, leng, null );
+    }
+
+    /**
+     * Contains a block of data read from the base stream.
+     */
+    private static class Block {
+        final byte[] buf_;
+        final int leng_;
+        final Throwable error_;
+
+        /**
+         * Constructor.
+         *
+         * @param  buf  buffer
+         * @param  leng  number of valid bytes in buffer
+         * @param  error  error encountered after the valid bytes were read,
+         *                or null
+         */
+        Block( byte[] buf, int leng, Throwable error ) {
+            buf_ = buf;
+            leng_ = leng;
+            error_ = error;
+        }
+    }
+}
@@ -59,6 +59,18 @@ public abstract class SplitProcessor<S extends Splittable<S>> {
      */
     public abstract <A> A collect( SplitCollector<S,A> collector, S content );
 
+    /**
+     * Returns the parallel execution policy used by this processor.
+     * This may be used to set up processing of other kinds of content
+     * in the same way.
+     * The default implementation returns null.
+     *
+     * @return  parallel execution policy, or null for sequential processing
+     */
+    public SplitPolicy getSplitPolicy() {
+        return null;
+    }
+
     @Override
     public String toString() {
         return name_;
@@ -223,6 +235,11 @@ public abstract class SplitProcessor<S extends Splittable<S>> {
             return policy_.willAttemptSplit( content );
         }
 
+        @Override
+        public SplitPolicy getSplitPolicy() {
+            return policy_;
+        }
+
         public <A> A collect( SplitCollector<S,A> collector, S content ) {
             AtomicInteger nfork = new AtomicInteger();
             int minSize = getMinSplitSize( content, policy_ );
@@ -347,6 +364,11 @@ public abstract class SplitProcessor<S extends Splittable<S>> {
             return policy_.willAttemptSplit( content );
         }
 
+        @Override
+        public SplitPolicy getSplitPolicy() {
+            return policy_;
+        }
+
         public <A> A collect( SplitCollector<S,A> collector, S content ) {
             Collection<A> accPool = new ArrayList<A>();
             AtomicInteger nfork = new AtomicInteger();
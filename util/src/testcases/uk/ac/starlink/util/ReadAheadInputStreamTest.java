@@ -0,0 +1,79 @@
+package uk.ac.starlink.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public class ReadAheadInputStreamTest extends TestCase {
+
+    public void testRead() throws IOException {
+        Random rnd = new Random( 552301L );
+        for ( int nbyte : new int[] { 0, 1, 99, 100, 101, 1000, 54321 } ) {
+            byte[] data = new byte[ nbyte ];
+            rnd.nextBytes( data );
+            InputStream in =
+                new ReadAheadInputStream( new ByteArrayInputStream( data ),
+                                          100, 3 );
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int b0 = in.read();
+            if ( b0 >= 0 ) {
+                out.write( b0 );
+            }
+            byte[] buf = new byte[ 37 ];
+            for ( int n; ( n = in.read( buf ) ) >= 0; ) {
+                out.write( buf, 0, n );
+            }
+            assertEquals( -1, in.read() );
+            in.close();
+            assertTrue( Arrays.equals( data, out.toByteArray() ) );
+        }
+    }
+
+    public void testError() throws IOException {
+        InputStream base = new InputStream() {
+            int count;
+            public int read() throws IOException {
+                if ( count++ < 1234 ) {
+                    return 'x';
+                }
+                throw new IOException( "Broken" );
+            }
+        };
+        InputStream in = new ReadAheadInputStream( base, 100, 2 );
+        int n = 0;
+        try {
+            while ( in.read() >= 0 ) {
+                n++;
+            }
+            fail();
+        }
+        catch ( IOException e ) {
+            assertEquals( "Broken", e.getMessage() );
+        }
+        assertEquals( 1234, n );
+    }
+
+    public void testClose() throws IOException {
+        InputStream base = new InputStream() {
+            public int read() {
+                return 'y';
+            }
+        };
+        InputStream in = new ReadAheadInputStream( base, 10, 2 );
+        for ( int i = 0; i < 100; i++ ) {
+            assertEquals( 'y', in.read() );
+        }
+        in.close();
+        try {
+            in.read();
+            fail();
+        }
+        catch ( IOException e ) {
+            // closed
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.zip.GZIPInputStream;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.util.Base64InputStream;
 import uk.ac.starlink.util.DataBufferedInputStream;
+import uk.ac.starlink.util.ReadAheadInputStream;
 
 /**
  * RowSequence implementation which reads streamed data in VOTable BINARY
@@ -23,6 +24,9 @@ class BinaryRowSequence implements RowSequence {
     private final RowReader rowReader_;
     private Object[] row_;
 
+    private static final boolean IS_MULTICORE =
+        Runtime.getRuntime().availableProcessors() > 1;
+
     /**
      * Constructs a new row sequence from a set of decoders and a
      * possibly encoded input stream.
@@ -47,6 +51,14 @@ class BinaryRowSequence implements RowSequence {
              * uk.ac.starlink.util.DataBufferedInputStream. */
             in = Base64.getMimeDecoder().wrap( in );
         }
+
+        /* Where the raw stream requires decoding, do that in a separate
+         * thread, so that it runs concurrently with decoding the rows.
+         * This only helps if there is more than one core to run on. */
+        if ( ( "gzip".equals( encoding ) || "base64".equals( encoding ) ) &&
+             IS_MULTICORE ) {
+            in = new ReadAheadInputStream( in );
+        }
         dataIn_ = new DataBufferedInputStream( in );
 
         /* Treat the zero-column case specially, otherwise we can end up
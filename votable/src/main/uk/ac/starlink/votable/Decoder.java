@@ -52,6 +52,22 @@ abstract class Decoder {
      */
     abstract public Object decodeString( String txt );
 
+    /**
+     * Returns an object array based on text held in a character buffer.
+     * The result is the same as that of {@link #decodeString} applied
+     * to the corresponding string.  This default implementation
+     * just constructs a String and calls <code>decodeString</code>,
+     * but subclasses may override it to avoid creating the String.
+     *
+     * @param   buf  buffer containing text
+     * @param   off  offset of first character in buffer
+     * @param   leng  number of characters
+     * @return  an object containing the decoded values
+     */
+    public Object decodeChars( char[] buf, int off, int leng ) {
+        return decodeString( new String( buf, off, leng ) );
+    }
+
     /**
      * Returns an object array read from the next bit of a given input
      * stream as raw bytes.  The VOTable BINARY/BINARY2 format is used.
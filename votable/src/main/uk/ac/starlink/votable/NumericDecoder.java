@@ -52,6 +52,27 @@ abstract class NumericDecoder extends Decoder {
      */
     abstract void decodeString1( Object array, int index, String txt );
 
+    /**
+     * Attempts to read a single value from a character buffer and place
+     * it in a storage array, without creating any String objects.
+     * This is only expected to succeed for simple representations
+     * of the value; if it returns false the caller must fall back to
+     * {@link #decodeString1}.  The default implementation always
+     * returns false.
+     *
+     * @param  array  array returned by a previous call to getEmptyArray
+     * @param  index  the element of this array to store the result in
+     * @param  buf   buffer containing text with no surrounding whitespace
+     * @param  off   offset of first character in buffer
+     * @param  leng  number of characters
+     * @return  true if the value was decoded and stored,
+     *          false if the text could not be handled
+     */
+    boolean decodeChars1( Object array, int index, char[] buf, int off,
+                          int leng ) {
+        return false;
+    }
+
     /**
      * Reads a single value from a stream and places it in a storage array.
      *
@@ -143,6 +164,186 @@ abstract class NumericDecoder extends Decoder {
         }
     }
 
+    /**
+     * Decodes text in a character buffer as a single scalar.
+     * The result is the same as that of {@link #scalarDecodeString},
+     * but common simple cases are handled without creating a String.
+     *
+     * @param   buf  buffer containing text
+     * @param   off  offset of first character in buffer
+     * @param   leng  number of characters
+     * @return  decoded value
+     */
+    Object scalarDecodeChars( char[] buf, int off, int leng ) {
+        int end = off + leng;
+        while ( off < end && buf[ off ] <= ' ' ) {
+            off++;
+        }
+        while ( end > off && buf[ end - 1 ] <= ' ' ) {
+            end--;
+        }
+        if ( end == off ) {
+            return null;
+        }
+        Object array = getEmptyArray( 1 );
+        return decodeChars1( array, 0, buf, off, end - off )
+             ? packageArray( array )
+             : scalarDecodeString( new String( buf, off, end - off ) );
+    }
+
+    /**
+     * Parses a plain decimal integer from a character buffer.
+     * Only an optional sign followed by up to <code>maxDigits</code>
+     * ASCII digits is accepted.
+     *
+     * @param   buf  buffer containing text
+     * @param   off  offset of first character in buffer
+     * @param   leng  number of characters
+     * @param   maxDigits  maximum number of digits, not more than 18
+     * @return  parsed value, or <code>Long.MIN_VALUE</code> if the text
+     *          is not of the accepted form
+     */
+    static long parseSimpleInteger( char[] buf, int off, int leng,
+                                    int maxDigits ) {
+        int end = off + leng;
+        boolean neg = false;
+        if ( off < end && ( buf[ off ] == '-' || buf[ off ] == '+' ) ) {
+            neg = buf[ off ] == '-';
+            off++;
+        }
+        int ndigit = end - off;
+        if ( ndigit < 1 || ndigit > maxDigits ) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for ( int i = off; i < end; i++ ) {
+            int digit = buf[ i ] - '0';
+            if ( digit < 0 || digit > 9 ) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return neg ? -value : value;
+    }
+
+    /**
+     * Parses a plain decimal floating point number from a character buffer.
+     * Only numbers with few enough significant digits and a small enough
+     * exponent that the result can be calculated exactly, as per
+     * Clinger's fast path, are accepted.  In those cases the result
+     * is the same as that of Double.parseDouble or Float.parseFloat.
+     *
+     * @param   buf  buffer containing text
+     * @param   off  offset of first character in buffer
+     * @param   leng  number of characters
+     * @param   isFloat  true for single precision, false for double
+     * @return  parsed value, or NaN if the text is not of the accepted form
+     */
+    static double parseSimpleDecimal( char[] buf, int off, int leng,
+                                      boolean isFloat ) {
+        int end = off + leng;
+        int maxSig = isFloat ? 7 : 15;
+        int maxExp = isFloat ? 10 : 22;
+        boolean neg = false;
+        if ( off < end && ( buf[ off ] == '-' || buf[ off ] == '+' ) ) {
+            neg = buf[ off ] == '-';
+            off++;
+        }
+
+        /* Mantissa digits, with optional decimal point. */
+        long mantissa = 0;
+        int nsig = 0;
+        int ndigit = 0;
+        int nfrac = 0;
+        boolean isFrac = false;
+        int i = off;
+        for ( ; i < end; i++ ) {
+            char c = buf[ i ];
+            if ( c >= '0' && c <= '9' ) {
+                ndigit++;
+                if ( isFrac ) {
+                    nfrac++;
+                }
+                if ( mantissa > 0 || c != '0' ) {
+                    if ( ++nsig > maxSig ) {
+                        return Double.NaN;
+                    }
+                    mantissa = mantissa * 10 + ( c - '0' );
+                }
+            }
+            else if ( c == '.' && ! isFrac ) {
+                isFrac = true;
+            }
+            else {
+                break;
+            }
+        }
+        if ( ndigit == 0 ) {
+            return Double.NaN;
+        }
+
+        /* Optional exponent. */
+        int exp = 0;
+        if ( i < end ) {
+            char c = buf[ i++ ];
+            if ( c != 'e' && c != 'E' ) {
+                return Double.NaN;
+            }
+            boolean expNeg = false;
+            if ( i < end && ( buf[ i ] == '-' || buf[ i ] == '+' ) ) {
+                expNeg = buf[ i ] == '-';
+                i++;
+            }
+            int nexp = end - i;
+            if ( nexp < 1 || nexp > 3 ) {
+                return Double.NaN;
+            }
+            for ( ; i < end; i++ ) {
+                int digit = buf[ i ] - '0';
+                if ( digit < 0 || digit > 9 ) {
+                    return Double.NaN;
+                }
+                exp = exp * 10 + digit;
+            }
+            if ( expNeg ) {
+                exp = -exp;
+            }
+        }
+        exp -= nfrac;
+
+        /* Calculate the value exactly rounded if possible. */
+        final double value;
+        if ( mantissa == 0 ) {
+            value = 0;
+        }
+        else if ( exp < -maxExp || exp > maxExp ) {
+            return Double.NaN;
+        }
+        else if ( isFloat ) {
+            float fm = (float) mantissa;
+            value = exp >= 0 ? fm * FLOAT_POWERS[ exp ]
+                             : fm / FLOAT_POWERS[ -exp ];
+        }
+        else {
+            double dm = (double) mantissa;
+            value = exp >= 0 ? dm * DOUBLE_POWERS[ exp ]
+                             : dm / DOUBLE_POWERS[ -exp ];
+        }
+        return neg ? -value : value;
+    }
+
+    /** Exactly representable single precision powers of ten. */
+    private static final float[] FLOAT_POWERS = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+
+    /** Exactly representable double precision powers of ten. */
+    private static final double[] DOUBLE_POWERS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22,
+    };
+
     /**
      * Interprets a string as a <code>short</code>.
      *
@@ -280,6 +481,17 @@ abstract class NumericDecoder extends Decoder {
         void decodeString1( Object array, int index, String txt ) {
             ((short[]) array)[ index ] = parseShort( txt );
         }
+        boolean decodeChars1( Object array, int index, char[] buf, int off,
+                              int leng ) {
+            long value = parseSimpleInteger( buf, off, leng, 4 );
+            if ( value >= Short.MIN_VALUE && value <= Short.MAX_VALUE ) {
+                ((short[]) array)[ index ] = (short) value;
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
         void decodeStream1( Object array, int index, DataInput strm )
                 throws IOException {
             ((short[]) array)[ index ] = strm.readShort();
@@ -303,6 +515,9 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 
     static class UnsignedByteDecoder extends ShortDecoder {
@@ -330,6 +545,9 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 
     static class IntDecoder extends NumericDecoder {
@@ -351,6 +569,17 @@ abstract class NumericDecoder extends Decoder {
         void decodeString1( Object array, int index, String txt ) {
             ((int[]) array)[ index ] = parseInt( txt );
         }
+        boolean decodeChars1( Object array, int index, char[] buf, int off,
+                              int leng ) {
+            long value = parseSimpleInteger( buf, off, leng, 9 );
+            if ( value != Long.MIN_VALUE ) {
+                ((int[]) array)[ index ] = (int) value;
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
         void decodeStream1( Object array, int index, DataInput strm )
                 throws IOException {
             ((int[]) array)[ index ] = strm.readInt();
@@ -374,6 +603,9 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 
     static class LongDecoder extends NumericDecoder {
@@ -395,6 +627,17 @@ abstract class NumericDecoder extends Decoder {
         void decodeString1( Object array, int index, String txt ) {
             ((long[]) array)[ index ] = parseLong( txt );
         }
+        boolean decodeChars1( Object array, int index, char[] buf, int off,
+                              int leng ) {
+            long value = parseSimpleInteger( buf, off, leng, 18 );
+            if ( value != Long.MIN_VALUE ) {
+                ((long[]) array)[ index ] = value;
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
         void decodeStream1( Object array, int index, DataInput strm )
                 throws IOException {
             ((long[]) array)[ index ] = strm.readLong();
@@ -418,6 +661,9 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 
     static class FloatDecoder extends NumericDecoder {
@@ -436,6 +682,17 @@ abstract class NumericDecoder extends Decoder {
         void decodeString1( Object array, int index, String txt ) {
             ((float[]) array)[ index ] = parseFloat( txt );
         }
+        boolean decodeChars1( Object array, int index, char[] buf, int off,
+                              int leng ) {
+            double value = parseSimpleDecimal( buf, off, leng, true );
+            if ( ! Double.isNaN( value ) ) {
+                ((float[]) array)[ index ] = (float) value;
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
         void decodeStream1( Object array, int index, DataInput strm )
                 throws IOException {
             ((float[]) array)[ index ] = strm.readFloat();
@@ -459,6 +716,9 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 
     static class DoubleDecoder extends NumericDecoder {
@@ -477,6 +737,17 @@ abstract class NumericDecoder extends Decoder {
         void decodeString1( Object array, int index, String txt ) {
             ((double[]) array)[ index ] = parseDouble( txt );
         }
+        boolean decodeChars1( Object array, int index, char[] buf, int off,
+                              int leng ) {
+            double value = parseSimpleDecimal( buf, off, leng, false );
+            if ( ! Double.isNaN( value ) ) {
+                ((double[]) array)[ index ] = value;
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
         void decodeStream1( Object array, int index, DataInput strm )
                 throws IOException {
             ((double[]) array)[ index ] = strm.readDouble();
@@ -500,5 +771,8 @@ abstract class NumericDecoder extends Decoder {
         public Object decodeString( String txt ) {
             return scalarDecodeString( txt );
         }
+        public Object decodeChars( char[] buf, int off, int leng ) {
+            return scalarDecodeChars( buf, off, leng );
+        }
     }
 }
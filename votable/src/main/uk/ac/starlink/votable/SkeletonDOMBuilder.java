@@ -7,6 +7,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Base64;
 import org.xml.sax.Attributes;
 import org.xml.sax.ContentHandler;
@@ -261,7 +262,8 @@ abstract class SkeletonDOMBuilder extends CustomDOMBuilder {
     private class TabledataHandler extends NullContentHandler {
         final Decoder[] decoders_;
         final int ncol_;
-        StringBuffer cell_;
+        char[] cellBuf_;
+        int cellLeng_;
         Object[] row_;
         int icol_;
         boolean inCell_;
@@ -270,7 +272,7 @@ abstract class SkeletonDOMBuilder extends CustomDOMBuilder {
             FieldElement[] fields = tableEl_.getFields();
             ncol_ = fields.length;
             decoders_ = getDecoders( fields );
-            cell_ = new StringBuffer();
+            cellBuf_ = new char[ 64 ];
             Element tabledataEl = (Element) getNewestNode();
             String comment = "Invisible data nodes were parsed directly";
             tabledataEl.appendChild( tabledataEl.getOwnerDocument()
@@ -284,7 +286,7 @@ abstract class SkeletonDOMBuilder extends CustomDOMBuilder {
                                   String qName, Attributes atts ) {
             String tagName = getVOTagName( namespaceURI, localName, qName );
             if ( "TD".equals( tagName ) ) {
-                cell_.setLength( 0 );
+                cellLeng_ = 0;
                 inCell_ = true;
             }
             else if ( "TR".equals( tagName ) ) {
@@ -295,23 +297,44 @@ abstract class SkeletonDOMBuilder extends CustomDOMBuilder {
 
         public void characters( char[] ch, int start, int length ) {
             if ( inCell_ ) {
-                cell_.append( ch, start, length );
+                appendCell( ch, start, length );
             }
         }
 
         public void ignorableWhitespace( char[] ch, int start, int length ) {
             if ( inCell_ ) {
-                cell_.append( ch, start, length );
+                appendCell( ch, start, length );
             }
         }
 
+        /**
+         * Appends characters to the content of the current cell.
+         * The cell text is accumulated in a reusable buffer rather than
+         * a string, so that numeric values can be decoded directly.
+         *
+         * @param  ch  character array
+         * @param  start  index of first character to append
+         * @param  length  number of characters to append
+         */
+        private void appendCell( char[] ch, int start, int length ) {
+            int leng1 = cellLeng_ + length;
+            if ( leng1 > cellBuf_.length ) {
+                cellBuf_ = Arrays.copyOf( cellBuf_,
+                                          Math.max( leng1,
+                                                    2 * cellBuf_.length ) );
+            }
+            System.arraycopy( ch, start, cellBuf_, cellLeng_, length );
+            cellLeng_ = leng1;
+        }
+
         public void endElement( String namespaceURI, String localName,
                                 String qName ) throws SAXException {
             String tagName = getVOTagName( namespaceURI, localName, qName );
             if ( inCell_ && "TD".equals( tagName ) && icol_ < ncol_
                          && row_ != null ) {
-                row_[ icol_ ] = cell_.length() > 0
-                         ? decoders_[ icol_ ].decodeString( cell_.toString() )
+                row_[ icol_ ] = cellLeng_ > 0
+                         ? decoders_[ icol_ ].decodeChars( cellBuf_, 0,
+                                                           cellLeng_ )
                          : null;
                 icol_++;
                 inCell_ = false;
@@ -18,6 +18,7 @@ import uk.ac.starlink.fits.FitsTableSerializerConfig;
 import uk.ac.starlink.fits.FitsTableWriter;
 import uk.ac.starlink.fits.FitsUtil;
 import uk.ac.starlink.fits.StandardFitsTableSerializer;
+import uk.ac.starlink.fits.TileCompression;
 import uk.ac.starlink.fits.VariableFitsTableSerializer;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StoragePolicy;
@@ -161,6 +162,27 @@ public class UnifiedFitsTableWriter extends FitsTableWriter
         super.setVarArray( varArray );
     }
 
+    @ConfigMethod(
+        property = "compress",
+        usage = "GZIP_1|GZIP_2|RICE_1|NOCOMPRESS",
+        sequence = 140,
+        example = "GZIP_2",
+        doc = "<p>If set, tables are written as tile-compressed binary tables\n"
+            + "following the FITS Tiled Table Compression convention,\n"
+            + "using the named algorithm for the column data.\n"
+            + "<code>GZIP_2</code> is usually a good choice for numeric data.\n"
+            + "<code>RICE_1</code> only applies to 1-, 2- and 4-byte\n"
+            + "integer columns; other columns use <code>GZIP_2</code>.\n"
+            + "This option is ignored for column-oriented or\n"
+            + "variable-length array output.\n"
+            + "By default the output is not compressed.\n"
+            + "</p>"
+    )
+    @Override
+    public void setCompression( TileCompression compression ) {
+        super.setCompression( compression );
+    }
+
     /**
      * Returns a PrimaryType that writes a FITS-plus-style VOTable primary HDU,
      * with a specified version of the VOTable standard.
@@ -25,6 +25,8 @@ import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.CountCheckRowSequence;
 import uk.ac.starlink.table.DefaultValueInfo;
 import uk.ac.starlink.table.DescribedValue;
+import uk.ac.starlink.table.RowBlockWriter;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.Tables;
@@ -63,6 +65,7 @@ public abstract class VOSerializer {
     final Map<MetaEl,String> coosysMap_;
     final Map<MetaEl,String> timesysMap_;
     private boolean isCompact_;
+    private RowRunner rowRunner_;
 
     final static Logger logger = Logger.getLogger( "uk.ac.starlink.votable" );
     private static final AtomicLong idSeq_ = new AtomicLong();
@@ -221,6 +224,26 @@ public abstract class VOSerializer {
         return isCompact_;
     }
 
+    /**
+     * Sets the runner used to control parallel encoding of row data;
+     * currently only has an effect for BINARY and BINARY2 DataFormats.
+     * The output is the same in any case.
+     *
+     * @param  runner  row runner, or null for sequential output
+     */
+    public void setRowRunner( RowRunner runner ) {
+        rowRunner_ = runner;
+    }
+
+    /**
+     * Returns the runner used to control parallel encoding of row data.
+     *
+     * @return  row runner, or null for sequential output
+     */
+    public RowRunner getRowRunner() {
+        return rowRunner_;
+    }
+
     /**
      * Writes the FIELD headers corresponding to this table on a given writer.
      *
@@ -1186,6 +1209,20 @@ public abstract class VOSerializer {
      */
     private static Encoder[] getEncoders( StarTable table,
                                           boolean magicNulls ) {
+        return getEncoders( table, magicNulls, true );
+    }
+
+    /**
+     * Returns the set of encoders used to encode a given StarTable in
+     * one of the native formats, optionally logging unusable columns.
+     *
+     * @param  table  the table to characterise
+     * @param  magicNulls  whether to use magic null values
+     * @param  warn  whether to log a warning for unserializable columns
+     * @return  an array of encoders used for encoding its data
+     */
+    private static Encoder[] getEncoders( StarTable table, boolean magicNulls,
+                                          boolean warn ) {
         int ncol = table.getColumnCount();
         Encoder[] encoders = new Encoder[ ncol ];
         for ( int icol = 0; icol < ncol; icol++ ) {
@@ -1196,7 +1233,7 @@ public abstract class VOSerializer {
                                                String.class ) );
             encoders[ icol ] =
                 Encoder.getEncoder( info, magicNulls, isUnicode );
-            if ( encoders[ icol ] == null ) {
+            if ( encoders[ icol ] == null && warn ) {
                 logger.warning( "Can't serialize column " + info + " of type " +
                                 info.getContentClass().getName() );
             }
@@ -1204,6 +1241,23 @@ public abstract class VOSerializer {
         return encoders;
     }
 
+    /**
+     * Returns a rough estimate of the number of bytes per row used
+     * by a set of encoders for binary serialization.
+     *
+     * @param  encoders  encoders (some may be null)
+     * @return  approximate row size in bytes
+     */
+    private static int estimateRowBytes( Encoder[] encoders ) {
+        int nbyte = 1;
+        for ( Encoder encoder : encoders ) {
+            if ( encoder != null ) {
+                nbyte += 8;
+            }
+        }
+        return nbyte;
+    }
+
     /**
      * Writes the FIELD elements corresponding to a set of Encoders.
      *
@@ -1486,11 +1540,13 @@ public abstract class VOSerializer {
      */
     private static class BinaryVOSerializer extends StreamableVOSerializer {
         private final Encoder[] encoders;
+        private final boolean magicNulls_;
 
         BinaryVOSerializer( StarTable table, VOTableVersion version,
                             boolean magicNulls ) {
             super( table, DataFormat.BINARY, version, "BINARY" );
             encoders = getEncoders( table, magicNulls );
+            magicNulls_ = magicNulls;
         }
 
         public void writeFields( BufferedWriter writer ) throws IOException {
@@ -1499,6 +1555,15 @@ public abstract class VOSerializer {
         }
 
         public void streamData( OutputStream out ) throws IOException {
+            RowRunner runner = getRowRunner();
+            if ( runner != null ) {
+                StarTable table = getTable();
+                new RowBlockWriter( runner )
+                   .writeRows( table, getRowCount(),
+                               estimateRowBytes( encoders ),
+                               () -> createRowEncoder( table ), out );
+                return;
+            }
             int ncol = encoders.length;
             DataBufferedOutputStream dout = new DataBufferedOutputStream( out );
             try ( RowSequence rseq = getRowSequence() ) {
@@ -1514,6 +1579,25 @@ public abstract class VOSerializer {
             }
             dout.flush();
         }
+
+        /**
+         * Returns a row encoder with its own set of cell encoders.
+         *
+         * @param  table  table being written
+         * @return  new row encoder
+         */
+        private RowBlockWriter.RowEncoder createRowEncoder( StarTable table ) {
+            Encoder[] encs = getEncoders( table, magicNulls_, false );
+            int ncol = encs.length;
+            return ( row, dout ) -> {
+                for ( int icol = 0; icol < ncol; icol++ ) {
+                    Encoder encoder = encs[ icol ];
+                    if ( encoder != null ) {
+                        encoder.encodeToStream( row[ icol ], dout );
+                    }
+                }
+            };
+        }
     }
 
     /**
@@ -1521,11 +1605,13 @@ public abstract class VOSerializer {
      */
     private static class Binary2VOSerializer extends StreamableVOSerializer {
         private final Encoder[] encoders;
+        private final boolean magicNulls_;
 
         Binary2VOSerializer( StarTable table, VOTableVersion version,
                              boolean magicNulls ) {
             super( table, DataFormat.BINARY2, version, "BINARY2" );
             encoders = getEncoders( table, magicNulls );
+            magicNulls_ = magicNulls;
         }
 
         public void writeFields( BufferedWriter writer ) throws IOException {
@@ -1534,42 +1620,68 @@ public abstract class VOSerializer {
         }
 
         public void streamData( OutputStream out ) throws IOException {
+            RowRunner runner = getRowRunner();
+            if ( runner != null ) {
+                StarTable table = getTable();
+                new RowBlockWriter( runner )
+                   .writeRows( table, getRowCount(),
+                               estimateRowBytes( encoders ),
+                               () -> createRowEncoder(
+                                         getEncoders( table, magicNulls_,
+                                                      false ) ),
+                               out );
+            }
+            else {
+                RowBlockWriter.RowEncoder rowEncoder =
+                    createRowEncoder( encoders );
+                DataBufferedOutputStream dout =
+                    new DataBufferedOutputStream( out );
+                try ( RowSequence rseq = getRowSequence() ) {
+                    while ( rseq.next() ) {
+                        rowEncoder.encodeRow( rseq.getRow(), dout );
+                    }
+                }
+                dout.flush();
+            }
+        }
+
+        /**
+         * Returns a row encoder based on a given set of cell encoders.
+         *
+         * @param  encs  cell encoders, one per table column
+         * @return  new row encoder
+         */
+        private static RowBlockWriter.RowEncoder
+                createRowEncoder( Encoder[] encs ) {
 
             /* Restrict attention to columns with non-null encoders,
              * that is those which we will actually be writing out. */
-            IntList icolList = new IntList( encoders.length );
-            for ( int icol = 0; icol < encoders.length; icol++ ) {
-                if ( encoders[ icol ] != null ) {
+            IntList icolList = new IntList( encs.length );
+            for ( int icol = 0; icol < encs.length; icol++ ) {
+                if ( encs[ icol ] != null ) {
                     icolList.add( icol );
                 }
             }
             int[] icols = icolList.toIntArray();
             int ncol = icols.length;
             boolean[] nullFlags = new boolean[ ncol ];
+            return ( row, dout ) -> {
 
-            /* Read data from table. */
-            DataBufferedOutputStream dout = new DataBufferedOutputStream( out );
-            try ( RowSequence rseq = getRowSequence() ) {
-                while ( rseq.next() ) {
- 
-                    /* Prepare and write the null-flag array. */
-                    Object[] row = rseq.getRow();
-                    for ( int jcol = 0; jcol < ncol; jcol++ ) {
-                        int icol = icols[ jcol ];
-                        Object cell = row[ icol ];
-                        nullFlags[ jcol ] = cell == null;
-                    }
-                    FlagIO.writeFlags( dout, nullFlags );
+                /* Prepare and write the null-flag array. */
+                for ( int jcol = 0; jcol < ncol; jcol++ ) {
+                    int icol = icols[ jcol ];
+                    Object cell = row[ icol ];
+                    nullFlags[ jcol ] = cell == null;
+                }
+                FlagIO.writeFlags( dout, nullFlags );
 
-                    /* Write the data cells. */
-                    for ( int jcol = 0; jcol < ncol; jcol++ ) {
-                        int icol = icols[ jcol ];
-                        Object cell = row[ icol ];
-                        encoders[ icol ].encodeToStream( cell, dout );
-                    }
+                /* Write the data cells. */
+                for ( int jcol = 0; jcol < ncol; jcol++ ) {
+                    int icol = icols[ jcol ];
+                    Object cell = row[ icol ];
+                    encs[ icol ].encodeToStream( cell, dout );
                 }
-            }
-            dout.flush();
+            };
         }
     }
 
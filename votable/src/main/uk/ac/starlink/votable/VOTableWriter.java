@@ -12,6 +12,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import uk.ac.starlink.fits.AbstractFitsTableWriter;
 import uk.ac.starlink.table.MultiStarTableWriter;
+import uk.ac.starlink.table.ParallelStarTableWriter;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableOutput;
 import uk.ac.starlink.table.StarTableWriter;
@@ -56,7 +58,8 @@ import uk.ac.starlink.util.IOUtils;
  * @author   Mark Taylor (Starlink)
  */
 public class VOTableWriter
-        implements StarTableWriter, MultiStarTableWriter, DocumentedIOHandler {
+        implements StarTableWriter, MultiStarTableWriter,
+                   ParallelStarTableWriter, DocumentedIOHandler {
 
     private DataFormat dataFormat_;
     private boolean inline_;
@@ -65,6 +68,7 @@ public class VOTableWriter
     private Charset encoding_;
     private boolean writeSchemaLocation_;
     private boolean writeDate_;
+    private RowRunner rowRunner_;
     private String xmlDeclaration_ = DEFAULT_XML_DECLARATION;
 
     /** Default XML declaration in written documents. */
@@ -234,6 +238,7 @@ public class VOTableWriter
             if ( compact_ != null ) {
                 serializer.setCompact( compact_.booleanValue() );
             }
+            serializer.setRowRunner( rowRunner_ );
 
             /* Begin TABLE element including FIELDs etc. */
             serializer.writePreDataXML( writer );
@@ -317,8 +322,11 @@ public class VOTableWriter
             if ( i > 0 ) {
                 writeBetweenTableXML( writer );
             }
-            VOSerializer.makeSerializer( dataFormat_, version_, startabs[ i ] )
-                        .writeInlineTableElement( writer );
+            VOSerializer serializer =
+                VOSerializer.makeSerializer( dataFormat_, version_,
+                                             startabs[ i ] );
+            serializer.setRowRunner( rowRunner_ );
+            serializer.writeInlineTableElement( writer );
         }
         writePostTableXML( writer );
         writer.flush();
@@ -718,6 +726,21 @@ public class VOTableWriter
         return writeSchemaLocation_;
     }
 
+    /**
+     * Sets the runner used to control parallel encoding of row data.
+     * This currently only has an effect for BINARY and BINARY2 output.
+     * The output is the same in any case.
+     *
+     * @param  runner  row runner, or null for sequential output
+     */
+    public void setRowRunner( RowRunner runner ) {
+        rowRunner_ = runner;
+    }
+
+    public RowRunner getRowRunner() {
+        return rowRunner_;
+    }
+
     @Override
     public String toString() {
         StringBuffer sbuf = new StringBuffer();
@@ -0,0 +1,62 @@
+package uk.ac.starlink.votable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import uk.ac.starlink.util.TestCase;
+
+public class DecoderTest extends TestCase {
+
+    private static final String[] TEXTS = {
+        "", " ", "0", "-0", "+0", "1", "-1", " 23 ", "\t42\n", "007",
+        "32767", "32768", "-32768", "-32769", "9999", "99999",
+        "2147483647", "2147483648", "-2147483648", "999999999",
+        "9223372036854775807", "-9223372036854775808", "999999999999999999",
+        "0x1F", "0xff", "-", "+", "--1", "1-", "12a", "1 2",
+        "1.5", "-1.5", ".5", "5.", ".", "1e5", "1E-5", "1e+05", "1.e3",
+        "e3", "1e", "1e+", "1.2.3", "0.1", "0.3", "-0.0", "0e999",
+        "1e22", "1e23", "1e-22", "1e-23", "123456789012345",
+        "1234567890123456", "0.000000000000123456789012345",
+        "3.4028235e38", "1.4e-45", "4.9e-324", "1.7976931348623157e308",
+        "NaN", "Infinity", "-Infinity", "+Inf", "-Inf", "1.5f", "2d",
+        "1234567", "12345678", "1.234567e10", "1.234567e11",
+        "١٢",
+    };
+
+    public void testDecodeChars() {
+        String[] types = { "short", "unsignedByte", "int", "long",
+                           "float", "double", "boolean", "char",
+                           "unicodeChar", };
+        Random rnd = new Random( 88123L );
+        List<String> texts = new ArrayList<String>();
+        for ( String txt : TEXTS ) {
+            texts.add( txt );
+        }
+        for ( int i = 0; i < 5000; i++ ) {
+            texts.add( Double.toString( rnd.nextGaussian()
+                                      * Math.pow( 10, rnd.nextInt( 40 )
+                                                    - 20 ) ) );
+            texts.add( Float.toString( (float) rnd.nextGaussian() ) );
+            texts.add( String.format( "%.6f", rnd.nextDouble() * 360 ) );
+            texts.add( String.format( "%.3e", rnd.nextDouble() ) );
+            texts.add( Long.toString( rnd.nextLong()
+                                      >> rnd.nextInt( 64 ) ) );
+        }
+        for ( String type : types ) {
+            for ( String blank : new String[] { null, "-1" } ) {
+                if ( blank != null && ( type.equals( "boolean" ) ||
+                                        type.endsWith( "har" ) ) ) {
+                    continue;
+                }
+                Decoder dec =
+                    Decoder.makeDecoder( type, new long[ 0 ], blank );
+                for ( String txt : texts ) {
+                    char[] buf = ( "<<" + txt + ">>" ).toCharArray();
+                    Object v0 = dec.decodeString( txt );
+                    Object v1 = dec.decodeChars( buf, 2, txt.length() );
+                    assertEquals( type + ": \"" + txt + "\"", v0, v1 );
+                }
+            }
+        }
+    }
+}
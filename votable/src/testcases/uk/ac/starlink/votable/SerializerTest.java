@@ -31,6 +31,7 @@ import uk.ac.starlink.table.ArrayColumn;
 import uk.ac.starlink.table.ColumnInfo;
 import uk.ac.starlink.table.ColumnStarTable;
 import uk.ac.starlink.table.PrimitiveArrayColumn;
+import uk.ac.starlink.table.RowRunner;
 import uk.ac.starlink.table.RowSequence;
 import uk.ac.starlink.table.StarTable;
 import uk.ac.starlink.table.StarTableWriter;
@@ -220,6 +221,30 @@ public class SerializerTest extends TestCase {
         assertEquals( nrow0, cfpt2r.getRowCount() );
     }
 
+    public void testParallel() throws IOException {
+        int nrow = 200000;
+        int[] ivals = new int[ nrow ];
+        String[] svals = new String[ nrow ];
+        for ( int i = 0; i < nrow; i++ ) {
+            ivals[ i ] = i * 7;
+            svals[ i ] = i % 3 == 0 ? null : Integer.toString( i );
+        }
+        ColumnStarTable table = ColumnStarTable.makeTableWithRows( nrow );
+        table.addColumn( ArrayColumn.makeColumn( "i", ivals ) );
+        table.addColumn( ArrayColumn.makeColumn( "s", svals ) );
+        for ( DataFormat format :
+              new DataFormat[] { DataFormat.BINARY, DataFormat.BINARY2 } ) {
+            VOTableWriter writer = new VOTableWriter( format, true );
+            writer.setWriteDate( false );
+            ByteArrayOutputStream seqOut = new ByteArrayOutputStream();
+            writer.writeStarTable( table, seqOut );
+            writer.setRowRunner( RowRunner.PARTEST );
+            ByteArrayOutputStream parOut = new ByteArrayOutputStream();
+            writer.writeStarTable( table, parOut );
+            assertArrayEquals( seqOut.toByteArray(), parOut.toByteArray() );
+        }
+    }
+
     private void exerciseSerializers( VOTableVersion version )
             throws IOException, SAXException, TransformerException {
         try {